@@ -30,6 +30,7 @@ import com.facebook.presto.spi.type.Type;
 import com.facebook.presto.spi.type.VarcharType;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
@@ -42,10 +43,12 @@ import javax.annotation.PreDestroy;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -55,6 +58,7 @@ import java.util.Set;
 import java.util.UUID;
 
 import static com.facebook.presto.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
+import static com.facebook.presto.plugin.jdbc.JdbcSplitRange.createSplitRanges;
 import static com.facebook.presto.plugin.jdbc.StandardReadMappings.jdbcTypeToPrestoType;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_FOUND;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
@@ -76,6 +80,7 @@ import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Iterables.getOnlyElement;
@@ -114,11 +119,14 @@ public class BaseJdbcClient
     protected final boolean caseInsensitiveNameMatching;
     protected final Cache<JdbcIdentity, Map<String, String>> remoteSchemaNames;
     protected final Cache<RemoteTableNameCacheKey, Map<String, String>> remoteTableNames;
+    protected final int maxSplitsPerTable;
+    protected final Map<SchemaTableName, String> splitColumns;
+    protected final Optional<Integer> fetchSize;
 
     public BaseJdbcClient(JdbcConnectorId connectorId, BaseJdbcConfig config, String identifierQuote, ConnectionFactory connectionFactory)
     {
         this.connectorId = requireNonNull(connectorId, "connectorId is null").toString();
-        requireNonNull(config, "config is null"); // currently unused, retained as parameter for future extensions
+        requireNonNull(config, "config is null");
         this.identifierQuote = requireNonNull(identifierQuote, "identifierQuote is null");
         this.connectionFactory = requireNonNull(connectionFactory, "connectionFactory is null");
 
@@ -127,6 +135,21 @@ public class BaseJdbcClient
                 .expireAfterWrite(config.getCaseInsensitiveNameMatchingCacheTtl().toMillis(), MILLISECONDS);
         this.remoteSchemaNames = remoteNamesCacheBuilder.build();
         this.remoteTableNames = remoteNamesCacheBuilder.build();
+
+        this.maxSplitsPerTable = config.getMaxSplitsPerTable();
+        this.splitColumns = parseSplitColumns(config.getSplitColumns());
+        this.fetchSize = Optional.ofNullable(config.getFetchSize());
+    }
+
+    private static Map<SchemaTableName, String> parseSplitColumns(List<String> splitColumns)
+    {
+        ImmutableMap.Builder<SchemaTableName, String> columns = ImmutableMap.builder();
+        for (String splitColumn : splitColumns) {
+            List<String> parts = Splitter.on('.').splitToList(splitColumn);
+            checkArgument(parts.size() == 3, "Split column must be in the form schema.table.column: %s", splitColumn);
+            columns.put(new SchemaTableName(parts.get(0), parts.get(1)), parts.get(2));
+        }
+        return columns.build();
     }
 
     @PreDestroy
@@ -259,14 +282,114 @@ public class BaseJdbcClient
     public ConnectorSplitSource getSplits(JdbcIdentity identity, JdbcTableLayoutHandle layoutHandle)
     {
         JdbcTableHandle tableHandle = layoutHandle.getTable();
-        JdbcSplit jdbcSplit = new JdbcSplit(
+        List<JdbcSplitRange> splitRanges = maxSplitsPerTable > 1 ? getSplitRanges(identity, tableHandle) : ImmutableList.of();
+        if (splitRanges.isEmpty()) {
+            return new FixedSplitSource(ImmutableList.of(createSplit(layoutHandle, Optional.empty())));
+        }
+        return new FixedSplitSource(splitRanges.stream()
+                .map(splitRange -> createSplit(layoutHandle, Optional.of(splitRange)))
+                .collect(toImmutableList()));
+    }
+
+    private JdbcSplit createSplit(JdbcTableLayoutHandle layoutHandle, Optional<JdbcSplitRange> splitRange)
+    {
+        JdbcTableHandle tableHandle = layoutHandle.getTable();
+        return new JdbcSplit(
                 connectorId,
                 tableHandle.getCatalogName(),
                 tableHandle.getSchemaName(),
                 tableHandle.getTableName(),
                 layoutHandle.getTupleDomain(),
-                Optional.empty());
-        return new FixedSplitSource(ImmutableList.of(jdbcSplit));
+                Optional.empty(),
+                splitRange,
+                layoutHandle.getGroupingColumns());
+    }
+
+    /**
+     * Divides the table into ranges of the values of its split column, which are read by separate splits.
+     * Returns no ranges if the table has no split column, the split column is not of a signed integer or date type,
+     * or the table is empty.
+     */
+    protected List<JdbcSplitRange> getSplitRanges(JdbcIdentity identity, JdbcTableHandle tableHandle)
+    {
+        try (Connection connection = connectionFactory.openConnection(identity)) {
+            Optional<String> splitColumn = getSplitColumn(connection, tableHandle);
+            if (!splitColumn.isPresent()) {
+                return ImmutableList.of();
+            }
+            String columnName = splitColumn.get();
+            String sql = format(
+                    "SELECT min(%s), max(%s) FROM %s",
+                    quoted(columnName),
+                    quoted(columnName),
+                    quoted(tableHandle.getCatalogName(), tableHandle.getSchemaName(), tableHandle.getTableName()));
+            try (Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery(sql)) {
+                if (!resultSet.next()) {
+                    return ImmutableList.of();
+                }
+                switch (resultSet.getMetaData().getColumnType(1)) {
+                    case Types.TINYINT:
+                    case Types.SMALLINT:
+                    case Types.INTEGER:
+                    case Types.BIGINT:
+                        if (!resultSet.getMetaData().isSigned(1)) {
+                            // the values of an unsigned column may not fit in a signed long
+                            return ImmutableList.of();
+                        }
+                        long min = resultSet.getLong(1);
+                        long max = resultSet.getLong(2);
+                        if (resultSet.wasNull()) {
+                            return ImmutableList.of();
+                        }
+                        return createSplitRanges(columnName, BIGINT, min, max, maxSplitsPerTable);
+                    case Types.DATE:
+                        Date minDate = resultSet.getDate(1);
+                        Date maxDate = resultSet.getDate(2);
+                        if (minDate == null || maxDate == null) {
+                            return ImmutableList.of();
+                        }
+                        return createSplitRanges(columnName, DATE, minDate.toLocalDate().toEpochDay(), maxDate.toLocalDate().toEpochDay(), maxSplitsPerTable);
+                    default:
+                        return ImmutableList.of();
+                }
+            }
+        }
+        catch (SQLException e) {
+            throw new PrestoException(JDBC_ERROR, e);
+        }
+    }
+
+    /**
+     * Returns the configured split column of the table, or else its primary key if the key has a single column.
+     */
+    protected Optional<String> getSplitColumn(Connection connection, JdbcTableHandle tableHandle)
+            throws SQLException
+    {
+        DatabaseMetaData metadata = connection.getMetaData();
+        String configuredColumn = splitColumns.get(tableHandle.getSchemaTableName());
+        if (configuredColumn != null) {
+            try (ResultSet resultSet = getColumns(tableHandle, metadata)) {
+                while (resultSet.next()) {
+                    String columnName = resultSet.getString("COLUMN_NAME");
+                    if (columnName.equalsIgnoreCase(configuredColumn)) {
+                        return Optional.of(columnName);
+                    }
+                }
+            }
+            throw new PrestoException(NOT_FOUND, format("Split column %s not found in table %s", configuredColumn, tableHandle.getSchemaTableName()));
+        }
+
+        List<String> keyColumns = new ArrayList<>();
+        try (ResultSet resultSet = metadata.getPrimaryKeys(tableHandle.getCatalogName(), tableHandle.getSchemaName(), tableHandle.getTableName())) {
+            while (resultSet.next()) {
+                keyColumns.add(resultSet.getString("COLUMN_NAME"));
+            }
+        }
+        if (keyColumns.size() != 1) {
+            return Optional.empty();
+        }
+        return Optional.of(getOnlyElement(keyColumns));
     }
 
     @Override
@@ -288,7 +411,7 @@ public class BaseJdbcClient
     public PreparedStatement buildSql(Connection connection, JdbcSplit split, List<JdbcColumnHandle> columnHandles)
             throws SQLException
     {
-        return new QueryBuilder(identifierQuote).buildSql(
+        PreparedStatement statement = new QueryBuilder(identifierQuote).buildSql(
                 this,
                 connection,
                 split.getCatalogName(),
@@ -296,7 +419,13 @@ public class BaseJdbcClient
                 split.getTableName(),
                 columnHandles,
                 split.getTupleDomain(),
-                split.getAdditionalPredicate());
+                split.getAdditionalPredicate(),
+                split.getSplitRange(),
+                split.getGroupingColumns());
+        if (fetchSize.isPresent()) {
+            statement.setFetchSize(fetchSize.get());
+        }
+        return statement;
     }
 
     @Override
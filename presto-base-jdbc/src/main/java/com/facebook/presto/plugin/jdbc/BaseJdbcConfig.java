@@ -13,22 +13,32 @@
  */
 package com.facebook.presto.plugin.jdbc;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
 import io.airlift.configuration.Config;
 import io.airlift.configuration.ConfigSecuritySensitive;
 import io.airlift.units.Duration;
 import io.airlift.units.MinDuration;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
+import java.util.List;
+
 import static java.util.concurrent.TimeUnit.MINUTES;
 
 public class BaseJdbcConfig
 {
+    private static final Splitter SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+
     private String connectionUrl;
     private String connectionUser;
     private String connectionPassword;
     private boolean caseInsensitiveNameMatching;
     private Duration caseInsensitiveNameMatchingCacheTtl = new Duration(1, MINUTES);
+    private int maxSplitsPerTable = 1;
+    private List<String> splitColumns = ImmutableList.of();
+    private Integer fetchSize;
 
     @NotNull
     public String getConnectionUrl()
@@ -93,4 +103,54 @@ public class BaseJdbcConfig
         this.caseInsensitiveNameMatchingCacheTtl = caseInsensitiveNameMatchingCacheTtl;
         return this;
     }
+
+    @Min(1)
+    public int getMaxSplitsPerTable()
+    {
+        return maxSplitsPerTable;
+    }
+
+    /**
+     * Tables are read with up to this many splits, each reading a range of the values of the split column.
+     */
+    @Config("max-splits-per-table")
+    public BaseJdbcConfig setMaxSplitsPerTable(int maxSplitsPerTable)
+    {
+        this.maxSplitsPerTable = maxSplitsPerTable;
+        return this;
+    }
+
+    @NotNull
+    public List<String> getSplitColumns()
+    {
+        return splitColumns;
+    }
+
+    /**
+     * The split columns of tables, as a comma separated list of schema.table.column entries.
+     * Tables that are not listed are split by their primary key if it has a single column.
+     */
+    @Config("split-columns")
+    public BaseJdbcConfig setSplitColumns(String splitColumns)
+    {
+        this.splitColumns = SPLITTER.splitToList(splitColumns);
+        return this;
+    }
+
+    @Min(0)
+    public Integer getFetchSize()
+    {
+        return fetchSize;
+    }
+
+    /**
+     * The number of rows that the JDBC driver fetches from the database at once when reading a table.
+     * If it is not set, the default of the driver or the connector is used.
+     */
+    @Config("fetch-size")
+    public BaseJdbcConfig setFetchSize(Integer fetchSize)
+    {
+        this.fetchSize = fetchSize;
+        return this;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.plugin.jdbc;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An aggregate function that is computed by the remote database. A column without an argument is {@code count(*)}.
+ */
+public class JdbcAggregate
+{
+    public enum Function
+    {
+        COUNT,
+        SUM,
+        MIN,
+        MAX
+    }
+
+    private final Function function;
+    private final Optional<String> argumentColumnName;
+
+    @JsonCreator
+    public JdbcAggregate(
+            @JsonProperty("function") Function function,
+            @JsonProperty("argumentColumnName") Optional<String> argumentColumnName)
+    {
+        this.function = requireNonNull(function, "function is null");
+        this.argumentColumnName = requireNonNull(argumentColumnName, "argumentColumnName is null");
+        checkArgument(function == Function.COUNT || argumentColumnName.isPresent(), "%s requires an argument", function);
+    }
+
+    @JsonProperty
+    public Function getFunction()
+    {
+        return function;
+    }
+
+    @JsonProperty
+    public Optional<String> getArgumentColumnName()
+    {
+        return argumentColumnName;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JdbcAggregate that = (JdbcAggregate) o;
+        return function == that.function &&
+                Objects.equals(argumentColumnName, that.argumentColumnName);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(function, argumentColumnName);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("function", function)
+                .add("argumentColumnName", argumentColumnName.orElse("*"))
+                .toString();
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.plugin.jdbc;
+
+import com.facebook.presto.spi.ColumnHandle;
+import com.facebook.presto.spi.ConnectorPlanOptimizer;
+import com.facebook.presto.spi.ConnectorSession;
+import com.facebook.presto.spi.TableHandle;
+import com.facebook.presto.spi.VariableAllocator;
+import com.facebook.presto.spi.function.FunctionHandle;
+import com.facebook.presto.spi.function.StandardFunctionResolution;
+import com.facebook.presto.spi.plan.AggregationNode;
+import com.facebook.presto.spi.plan.AggregationNode.Aggregation;
+import com.facebook.presto.spi.plan.FilterNode;
+import com.facebook.presto.spi.plan.PlanNode;
+import com.facebook.presto.spi.plan.PlanNodeIdAllocator;
+import com.facebook.presto.spi.plan.PlanVisitor;
+import com.facebook.presto.spi.plan.ProjectNode;
+import com.facebook.presto.spi.plan.TableScanNode;
+import com.facebook.presto.spi.predicate.TupleDomain;
+import com.facebook.presto.spi.relation.DomainTranslator.ExtractionResult;
+import com.facebook.presto.spi.relation.RowExpression;
+import com.facebook.presto.spi.relation.RowExpressionService;
+import com.facebook.presto.spi.relation.VariableReferenceExpression;
+import com.facebook.presto.spi.type.Type;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.facebook.presto.spi.plan.AggregationNode.Step.PARTIAL;
+import static com.facebook.presto.spi.relation.DomainTranslator.BASIC_COLUMN_EXTRACTOR;
+import static com.facebook.presto.spi.relation.LogicalRowExpressions.TRUE_CONSTANT;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.DateType.DATE;
+import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.spi.type.IntegerType.INTEGER;
+import static com.facebook.presto.spi.type.RealType.REAL;
+import static com.facebook.presto.spi.type.SmallintType.SMALLINT;
+import static com.facebook.presto.spi.type.TimestampType.TIMESTAMP;
+import static com.facebook.presto.spi.type.TinyintType.TINYINT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Replaces partial aggregations over a table scan with a scan of a query that computes the aggregation
+ * in the remote database. The aggregation may read the columns through projections that only rename them,
+ * and through a filter that is fully described by a {@link TupleDomain}, which is then applied by the query.
+ * The aggregations are combined by the final step of the aggregation in the engine, so the table can still
+ * be read by multiple splits.
+ */
+public class JdbcAggregationPushdown
+        implements ConnectorPlanOptimizer
+{
+    private static final JdbcTypeHandle BIGINT_TYPE_HANDLE = new JdbcTypeHandle(Types.BIGINT, 8, 0);
+    private static final JdbcTypeHandle DOUBLE_TYPE_HANDLE = new JdbcTypeHandle(Types.DOUBLE, 8, 0);
+    private static final Set<Type> INTEGRAL_TYPES = ImmutableSet.of(BIGINT, INTEGER, SMALLINT, TINYINT);
+    // string comparisons depend on the collation of the remote database, so min and max are only pushed down for numbers and dates
+    private static final Set<Type> ORDERED_TYPES = ImmutableSet.of(BIGINT, INTEGER, SMALLINT, TINYINT, DOUBLE, DATE);
+    // for the same reason, grouping keys and filters are only pushed down for types that the remote database compares exactly
+    private static final Set<Type> EXACT_COMPARISON_TYPES = ImmutableSet.of(BIGINT, INTEGER, SMALLINT, TINYINT, REAL, DOUBLE, DATE, TIMESTAMP);
+
+    private final StandardFunctionResolution functionResolution;
+    private final RowExpressionService rowExpressionService;
+
+    public JdbcAggregationPushdown(StandardFunctionResolution functionResolution, RowExpressionService rowExpressionService)
+    {
+        this.functionResolution = requireNonNull(functionResolution, "functionResolution is null");
+        this.rowExpressionService = requireNonNull(rowExpressionService, "rowExpressionService is null");
+    }
+
+    @Override
+    public PlanNode optimize(PlanNode maxSubplan, ConnectorSession session, VariableAllocator variableAllocator, PlanNodeIdAllocator idAllocator)
+    {
+        return maxSubplan.accept(new Visitor(session, idAllocator), null);
+    }
+
+    private class Visitor
+            extends PlanVisitor<PlanNode, Void>
+    {
+        private final ConnectorSession session;
+        private final PlanNodeIdAllocator idAllocator;
+
+        public Visitor(ConnectorSession session, PlanNodeIdAllocator idAllocator)
+        {
+            this.session = requireNonNull(session, "session is null");
+            this.idAllocator = requireNonNull(idAllocator, "idAllocator is null");
+        }
+
+        @Override
+        public PlanNode visitPlan(PlanNode node, Void context)
+        {
+            ImmutableList.Builder<PlanNode> children = ImmutableList.builder();
+            boolean changed = false;
+            for (PlanNode child : node.getSources()) {
+                PlanNode newChild = child.accept(this, null);
+                if (newChild != child) {
+                    changed = true;
+                }
+                children.add(newChild);
+            }
+            if (!changed) {
+                return node;
+            }
+            return node.replaceChildren(children.build());
+        }
+
+        @Override
+        public PlanNode visitAggregation(AggregationNode node, Void context)
+        {
+            Optional<PlanNode> rewritten = pushDownAggregation(node, session, idAllocator);
+            if (rewritten.isPresent()) {
+                return rewritten.get();
+            }
+            return visitPlan(node, context);
+        }
+    }
+
+    private Optional<PlanNode> pushDownAggregation(AggregationNode node, ConnectorSession session, PlanNodeIdAllocator idAllocator)
+    {
+        if (node.getStep() != PARTIAL || node.getGroupingSetCount() != 1 || node.getHashVariable().isPresent() || node.getGroupIdVariable().isPresent()) {
+            return Optional.empty();
+        }
+
+        PlanNode source = node.getSource();
+        List<ProjectNode> projections = new ArrayList<>();
+        while (source instanceof ProjectNode) {
+            projections.add((ProjectNode) source);
+            source = ((ProjectNode) source).getSource();
+        }
+        Optional<RowExpression> filter = Optional.empty();
+        if (source instanceof FilterNode) {
+            filter = Optional.of(((FilterNode) source).getPredicate());
+            source = ((FilterNode) source).getSource();
+        }
+        if (!(source instanceof TableScanNode)) {
+            return Optional.empty();
+        }
+        TableScanNode tableScan = (TableScanNode) source;
+        TableHandle table = tableScan.getTable();
+        if (!table.getLayout().isPresent()) {
+            return Optional.empty();
+        }
+        JdbcTableLayoutHandle layout = (JdbcTableLayoutHandle) table.getLayout().get();
+        if (layout.getGroupingColumns().isPresent()) {
+            return Optional.empty();
+        }
+
+        Optional<TupleDomain<ColumnHandle>> tupleDomain = getTupleDomain(layout.getTupleDomain(), filter, tableScan, session);
+        if (!tupleDomain.isPresent()) {
+            return Optional.empty();
+        }
+
+        ImmutableMap.Builder<VariableReferenceExpression, ColumnHandle> assignments = ImmutableMap.builder();
+        ImmutableList.Builder<JdbcColumnHandle> groupingColumns = ImmutableList.builder();
+        for (VariableReferenceExpression groupingKey : node.getGroupingKeys()) {
+            Optional<JdbcColumnHandle> column = getColumn(groupingKey, projections, tableScan);
+            if (!column.isPresent() || !EXACT_COMPARISON_TYPES.contains(column.get().getColumnType())) {
+                return Optional.empty();
+            }
+            assignments.put(groupingKey, column.get());
+            groupingColumns.add(column.get());
+        }
+        for (Map.Entry<VariableReferenceExpression, Aggregation> entry : node.getAggregations().entrySet()) {
+            Optional<JdbcColumnHandle> column = getAggregateColumn(entry.getKey(), entry.getValue(), layout.getTable().getConnectorId(), projections, tableScan);
+            if (!column.isPresent()) {
+                return Optional.empty();
+            }
+            assignments.put(entry.getKey(), column.get());
+        }
+
+        JdbcTableLayoutHandle newLayout = new JdbcTableLayoutHandle(layout.getTable(), tupleDomain.get(), Optional.of(groupingColumns.build()));
+        return Optional.of(new TableScanNode(
+                idAllocator.getNextId(),
+                new TableHandle(table.getConnectorId(), table.getConnectorHandle(), table.getTransaction(), Optional.of(newLayout)),
+                node.getOutputVariables(),
+                assignments.build(),
+                TupleDomain.all(),
+                TupleDomain.all()));
+    }
+
+    /**
+     * Returns the predicate that the query of the aggregation applies, or empty if the filter cannot be fully applied by the query.
+     */
+    private Optional<TupleDomain<ColumnHandle>> getTupleDomain(TupleDomain<ColumnHandle> layoutTupleDomain, Optional<RowExpression> filter, TableScanNode tableScan, ConnectorSession session)
+    {
+        TupleDomain<ColumnHandle> tupleDomain = layoutTupleDomain;
+        if (filter.isPresent()) {
+            ExtractionResult<VariableReferenceExpression> extractionResult = rowExpressionService.getDomainTranslator()
+                    .fromPredicate(session, filter.get(), BASIC_COLUMN_EXTRACTOR);
+            if (!extractionResult.getRemainingExpression().equals(TRUE_CONSTANT)) {
+                return Optional.empty();
+            }
+            TupleDomain<VariableReferenceExpression> filterTupleDomain = extractionResult.getTupleDomain();
+            if (filterTupleDomain.getDomains().isPresent() && !tableScan.getAssignments().keySet().containsAll(filterTupleDomain.getDomains().get().keySet())) {
+                return Optional.empty();
+            }
+            tupleDomain = tupleDomain.intersect(filterTupleDomain.transform(tableScan.getAssignments()::get));
+        }
+        if (tupleDomain.isNone()) {
+            return Optional.empty();
+        }
+        for (ColumnHandle column : tupleDomain.getDomains().get().keySet()) {
+            if (!EXACT_COMPARISON_TYPES.contains(((JdbcColumnHandle) column).getColumnType())) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(tupleDomain);
+    }
+
+    private Optional<JdbcColumnHandle> getAggregateColumn(
+            VariableReferenceExpression variable,
+            Aggregation aggregation,
+            String connectorId,
+            List<ProjectNode> projections,
+            TableScanNode tableScan)
+    {
+        if (aggregation.getFilter().isPresent() || aggregation.getOrderBy().isPresent() || aggregation.isDistinct() || aggregation.getMask().isPresent()) {
+            return Optional.empty();
+        }
+        FunctionHandle function = aggregation.getFunctionHandle();
+        List<RowExpression> arguments = aggregation.getArguments();
+        if (arguments.isEmpty()) {
+            if (functionResolution.isCountFunction(function) && variable.getType().equals(BIGINT)) {
+                return Optional.of(createAggregateColumn(connectorId, variable, BIGINT_TYPE_HANDLE, false, new JdbcAggregate(JdbcAggregate.Function.COUNT, Optional.empty())));
+            }
+            return Optional.empty();
+        }
+        if (arguments.size() != 1 || !(arguments.get(0) instanceof VariableReferenceExpression)) {
+            return Optional.empty();
+        }
+        Optional<JdbcColumnHandle> argument = getColumn((VariableReferenceExpression) arguments.get(0), projections, tableScan);
+        if (!argument.isPresent()) {
+            return Optional.empty();
+        }
+
+        // the output of a partial aggregation is its intermediate state, which is only a plain value for these functions
+        Type argumentType = argument.get().getColumnType();
+        Type outputType = variable.getType();
+        Optional<String> argumentColumnName = Optional.of(argument.get().getColumnName());
+        if (functionResolution.isCountFunction(function) && outputType.equals(BIGINT)) {
+            return Optional.of(createAggregateColumn(connectorId, variable, BIGINT_TYPE_HANDLE, false, new JdbcAggregate(JdbcAggregate.Function.COUNT, argumentColumnName)));
+        }
+        if (functionResolution.isSumFunction(function) && INTEGRAL_TYPES.contains(argumentType) && outputType.equals(BIGINT)) {
+            return Optional.of(createAggregateColumn(connectorId, variable, BIGINT_TYPE_HANDLE, true, new JdbcAggregate(JdbcAggregate.Function.SUM, argumentColumnName)));
+        }
+        if (functionResolution.isSumFunction(function) && argumentType.equals(DOUBLE) && outputType.equals(DOUBLE)) {
+            return Optional.of(createAggregateColumn(connectorId, variable, DOUBLE_TYPE_HANDLE, true, new JdbcAggregate(JdbcAggregate.Function.SUM, argumentColumnName)));
+        }
+        if (ORDERED_TYPES.contains(argumentType) && outputType.equals(argumentType)) {
+            JdbcTypeHandle typeHandle = argument.get().getJdbcTypeHandle();
+            if (functionResolution.isMinFunction(function)) {
+                return Optional.of(createAggregateColumn(connectorId, variable, typeHandle, true, new JdbcAggregate(JdbcAggregate.Function.MIN, argumentColumnName)));
+            }
+            if (functionResolution.isMaxFunction(function)) {
+                return Optional.of(createAggregateColumn(connectorId, variable, typeHandle, true, new JdbcAggregate(JdbcAggregate.Function.MAX, argumentColumnName)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static JdbcColumnHandle createAggregateColumn(String connectorId, VariableReferenceExpression variable, JdbcTypeHandle typeHandle, boolean nullable, JdbcAggregate aggregate)
+    {
+        return new JdbcColumnHandle(connectorId, variable.getName(), typeHandle, variable.getType(), nullable, Optional.of(aggregate));
+    }
+
+    /**
+     * Returns the column of the table that the variable refers to, if the projections only rename it.
+     */
+    private static Optional<JdbcColumnHandle> getColumn(VariableReferenceExpression variable, List<ProjectNode> projections, TableScanNode tableScan)
+    {
+        VariableReferenceExpression current = variable;
+        for (ProjectNode projection : projections) {
+            RowExpression expression = projection.getAssignments().get(current);
+            if (!(expression instanceof VariableReferenceExpression)) {
+                return Optional.empty();
+            }
+            current = (VariableReferenceExpression) expression;
+        }
+        return Optional.ofNullable((JdbcColumnHandle) tableScan.getAssignments().get(current));
+    }
+}
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Collections.emptyMap;
@@ -33,6 +34,12 @@ public final class JdbcColumnHandle
     private final JdbcTypeHandle jdbcTypeHandle;
     private final Type columnType;
     private final boolean nullable;
+    private final Optional<JdbcAggregate> aggregate;
+
+    public JdbcColumnHandle(String connectorId, String columnName, JdbcTypeHandle jdbcTypeHandle, Type columnType, boolean nullable)
+    {
+        this(connectorId, columnName, jdbcTypeHandle, columnType, nullable, Optional.empty());
+    }
 
     @JsonCreator
     public JdbcColumnHandle(
@@ -40,13 +47,15 @@ public final class JdbcColumnHandle
             @JsonProperty("columnName") String columnName,
             @JsonProperty("jdbcTypeHandle") JdbcTypeHandle jdbcTypeHandle,
             @JsonProperty("columnType") Type columnType,
-            @JsonProperty("nullable") boolean nullable)
+            @JsonProperty("nullable") boolean nullable,
+            @JsonProperty("aggregate") Optional<JdbcAggregate> aggregate)
     {
         this.connectorId = requireNonNull(connectorId, "connectorId is null");
         this.columnName = requireNonNull(columnName, "columnName is null");
         this.jdbcTypeHandle = requireNonNull(jdbcTypeHandle, "jdbcTypeHandle is null");
         this.columnType = requireNonNull(columnType, "columnType is null");
         this.nullable = nullable;
+        this.aggregate = requireNonNull(aggregate, "aggregate is null");
     }
 
     @JsonProperty
@@ -79,6 +88,16 @@ public final class JdbcColumnHandle
         return nullable;
     }
 
+    /**
+     * The aggregate function that the remote database computes for this column, if the column is the
+     * result of an aggregation that was pushed down. Such columns are named after the variable they produce.
+     */
+    @JsonProperty
+    public Optional<JdbcAggregate> getAggregate()
+    {
+        return aggregate;
+    }
+
     public ColumnMetadata getColumnMetadata()
     {
         return new ColumnMetadata(columnName, columnType, nullable, null, null, false, emptyMap());
@@ -95,24 +114,27 @@ public final class JdbcColumnHandle
         }
         JdbcColumnHandle o = (JdbcColumnHandle) obj;
         return Objects.equals(this.connectorId, o.connectorId) &&
-                Objects.equals(this.columnName, o.columnName);
+                Objects.equals(this.columnName, o.columnName) &&
+                Objects.equals(this.aggregate, o.aggregate);
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(connectorId, columnName);
+        return Objects.hash(connectorId, columnName, aggregate);
     }
 
     @Override
     public String toString()
     {
         return toStringHelper(this)
+                .omitNullValues()
                 .add("connectorId", connectorId)
                 .add("columnName", columnName)
                 .add("jdbcTypeHandle", jdbcTypeHandle)
                 .add("columnType", columnType)
                 .add("nullable", nullable)
+                .add("aggregate", aggregate.orElse(null))
                 .toString();
     }
 }
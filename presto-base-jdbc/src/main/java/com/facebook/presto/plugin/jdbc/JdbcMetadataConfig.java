@@ -19,6 +19,7 @@ import io.airlift.configuration.ConfigDescription;
 public class JdbcMetadataConfig
 {
     private boolean allowDropTable;
+    private boolean aggregationPushdownEnabled = true;
 
     public boolean isAllowDropTable()
     {
@@ -32,4 +33,17 @@ public class JdbcMetadataConfig
         this.allowDropTable = allowDropTable;
         return this;
     }
+
+    public boolean isAggregationPushdownEnabled()
+    {
+        return aggregationPushdownEnabled;
+    }
+
+    @Config("aggregation-pushdown-enabled")
+    @ConfigDescription("Compute partial aggregations in the remote database")
+    public JdbcMetadataConfig setAggregationPushdownEnabled(boolean aggregationPushdownEnabled)
+    {
+        this.aggregationPushdownEnabled = aggregationPushdownEnabled;
+        return this;
+    }
 }
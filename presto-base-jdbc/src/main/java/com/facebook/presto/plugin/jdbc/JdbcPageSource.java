@@ -0,0 +1,249 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.plugin.jdbc;
+
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.ConnectorSession;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.PageBuilder;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.type.Type;
+import com.google.common.base.VerifyException;
+import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static com.facebook.presto.plugin.jdbc.JdbcErrorCode.JDBC_ERROR;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads the rows of a split from the {@link ResultSet} in batches, and writes the values directly
+ * into the blocks of the page, instead of going through a {@link com.facebook.presto.spi.RecordCursor}.
+ */
+public class JdbcPageSource
+        implements ConnectorPageSource
+{
+    private static final Logger log = Logger.get(JdbcPageSource.class);
+
+    private static final int ROWS_PER_REQUEST = 4096;
+
+    private final List<Type> types;
+    private final BooleanReadFunction[] booleanReadFunctions;
+    private final DoubleReadFunction[] doubleReadFunctions;
+    private final LongReadFunction[] longReadFunctions;
+    private final SliceReadFunction[] sliceReadFunctions;
+    private final PageBuilder pageBuilder;
+
+    private final JdbcClient jdbcClient;
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+
+    private long completedBytes;
+    private long readTimeNanos;
+    private boolean closed;
+
+    public JdbcPageSource(JdbcClient jdbcClient, ConnectorSession session, JdbcSplit split, List<JdbcColumnHandle> columnHandles)
+    {
+        this.jdbcClient = requireNonNull(jdbcClient, "jdbcClient is null");
+
+        ImmutableList.Builder<Type> types = ImmutableList.builder();
+        booleanReadFunctions = new BooleanReadFunction[columnHandles.size()];
+        doubleReadFunctions = new DoubleReadFunction[columnHandles.size()];
+        longReadFunctions = new LongReadFunction[columnHandles.size()];
+        sliceReadFunctions = new SliceReadFunction[columnHandles.size()];
+
+        for (int i = 0; i < columnHandles.size(); i++) {
+            JdbcColumnHandle columnHandle = columnHandles.get(i);
+            types.add(columnHandle.getColumnType());
+            ReadMapping readMapping = jdbcClient.toPrestoType(session, columnHandle.getJdbcTypeHandle())
+                    .orElseThrow(() -> new VerifyException("Unsupported column type"));
+            Class<?> javaType = readMapping.getType().getJavaType();
+            ReadFunction readFunction = readMapping.getReadFunction();
+
+            if (javaType == boolean.class) {
+                booleanReadFunctions[i] = (BooleanReadFunction) readFunction;
+            }
+            else if (javaType == double.class) {
+                doubleReadFunctions[i] = (DoubleReadFunction) readFunction;
+            }
+            else if (javaType == long.class) {
+                longReadFunctions[i] = (LongReadFunction) readFunction;
+            }
+            else if (javaType == Slice.class) {
+                sliceReadFunctions[i] = (SliceReadFunction) readFunction;
+            }
+            else {
+                throw new IllegalStateException(format("Unsupported java type %s", javaType));
+            }
+        }
+        this.types = types.build();
+        this.pageBuilder = new PageBuilder(this.types);
+
+        try {
+            connection = jdbcClient.getConnection(JdbcIdentity.from(session), split);
+            statement = jdbcClient.buildSql(connection, split, columnHandles);
+            log.debug("Executing: %s", statement.toString());
+            resultSet = statement.executeQuery();
+        }
+        catch (SQLException | RuntimeException e) {
+            throw handleSqlException(e);
+        }
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return completedBytes;
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return pageBuilder.getRetainedSizeInBytes();
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return closed && pageBuilder.isEmpty();
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        if (!closed) {
+            long start = System.nanoTime();
+            try {
+                for (int i = 0; i < ROWS_PER_REQUEST && !pageBuilder.isFull(); i++) {
+                    if (!resultSet.next()) {
+                        close();
+                        break;
+                    }
+                    pageBuilder.declarePosition();
+                    for (int column = 0; column < types.size(); column++) {
+                        appendValue(column, pageBuilder.getBlockBuilder(column));
+                    }
+                }
+            }
+            catch (SQLException | RuntimeException e) {
+                throw handleSqlException(e);
+            }
+            readTimeNanos += System.nanoTime() - start;
+        }
+
+        // only return a page if the buffer is full or we are finishing
+        if (pageBuilder.isEmpty() || (!closed && !pageBuilder.isFull())) {
+            return null;
+        }
+
+        Page page = pageBuilder.build();
+        pageBuilder.reset();
+        completedBytes += page.getSizeInBytes();
+        return page;
+    }
+
+    private void appendValue(int column, BlockBuilder output)
+            throws SQLException
+    {
+        int columnIndex = column + 1;
+        Type type = types.get(column);
+        // the typed getters return a default for SQL NULL, so wasNull is checked after each read
+        if (longReadFunctions[column] != null) {
+            long value = longReadFunctions[column].readLong(resultSet, columnIndex);
+            if (resultSet.wasNull()) {
+                output.appendNull();
+            }
+            else {
+                type.writeLong(output, value);
+            }
+        }
+        else if (doubleReadFunctions[column] != null) {
+            double value = doubleReadFunctions[column].readDouble(resultSet, columnIndex);
+            if (resultSet.wasNull()) {
+                output.appendNull();
+            }
+            else {
+                type.writeDouble(output, value);
+            }
+        }
+        else if (booleanReadFunctions[column] != null) {
+            boolean value = booleanReadFunctions[column].readBoolean(resultSet, columnIndex);
+            if (resultSet.wasNull()) {
+                output.appendNull();
+            }
+            else {
+                type.writeBoolean(output, value);
+            }
+        }
+        else {
+            Slice value = sliceReadFunctions[column].readSlice(resultSet, columnIndex);
+            if (resultSet.wasNull()) {
+                output.appendNull();
+            }
+            else {
+                type.writeSlice(output, value, 0, value.length());
+            }
+        }
+    }
+
+    @SuppressWarnings("UnusedDeclaration")
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // use try with resources to close everything properly
+        try (Connection connection = this.connection;
+                Statement statement = this.statement;
+                ResultSet resultSet = this.resultSet) {
+            jdbcClient.abortReadConnection(connection);
+        }
+        catch (SQLException e) {
+            // ignore exception from close
+        }
+    }
+
+    private RuntimeException handleSqlException(Exception e)
+    {
+        try {
+            close();
+        }
+        catch (Exception closeException) {
+            // Self-suppression not permitted
+            if (e != closeException) {
+                e.addSuppressed(closeException);
+            }
+        }
+        return new PrestoException(JDBC_ERROR, e);
+    }
+}
@@ -23,6 +23,10 @@ import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Reads a split row by row through {@link JdbcRecordCursor}. The connector itself reads
+ * through {@link JdbcPageSource}; see {@link JdbcRecordSetProvider} for why this is kept.
+ */
 public class JdbcRecordSet
         implements RecordSet
 {
@@ -27,6 +27,11 @@ import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Not bound by {@link JdbcModule}, which reads splits through {@link JdbcPageSourceProvider}.
+ * Kept for connectors built on this module that still bind a record set provider, and as the
+ * baseline in {@code BenchmarkJdbcPageSource}.
+ */
 public class JdbcRecordSetProvider
         implements ConnectorRecordSetProvider
 {
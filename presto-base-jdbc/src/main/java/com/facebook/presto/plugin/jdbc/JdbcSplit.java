@@ -37,6 +37,8 @@ public class JdbcSplit
     private final String tableName;
     private final TupleDomain<ColumnHandle> tupleDomain;
     private final Optional<String> additionalPredicate;
+    private final Optional<JdbcSplitRange> splitRange;
+    private final Optional<List<JdbcColumnHandle>> groupingColumns;
 
     @JsonCreator
     public JdbcSplit(
@@ -45,7 +47,9 @@ public class JdbcSplit
             @JsonProperty("schemaName") @Nullable String schemaName,
             @JsonProperty("tableName") String tableName,
             @JsonProperty("tupleDomain") TupleDomain<ColumnHandle> tupleDomain,
-            @JsonProperty("additionalProperty") Optional<String> additionalPredicate)
+            @JsonProperty("additionalProperty") Optional<String> additionalPredicate,
+            @JsonProperty("splitRange") Optional<JdbcSplitRange> splitRange,
+            @JsonProperty("groupingColumns") Optional<List<JdbcColumnHandle>> groupingColumns)
     {
         this.connectorId = requireNonNull(connectorId, "connector id is null");
         this.catalogName = catalogName;
@@ -53,6 +57,8 @@ public class JdbcSplit
         this.tableName = requireNonNull(tableName, "table name is null");
         this.tupleDomain = requireNonNull(tupleDomain, "tupleDomain is null");
         this.additionalPredicate = requireNonNull(additionalPredicate, "additionalPredicate is null");
+        this.splitRange = requireNonNull(splitRange, "splitRange is null");
+        this.groupingColumns = requireNonNull(groupingColumns, "groupingColumns is null").map(ImmutableList::copyOf);
     }
 
     @JsonProperty
@@ -93,6 +99,18 @@ public class JdbcSplit
         return additionalPredicate;
     }
 
+    @JsonProperty
+    public Optional<JdbcSplitRange> getSplitRange()
+    {
+        return splitRange;
+    }
+
+    @JsonProperty
+    public Optional<List<JdbcColumnHandle>> getGroupingColumns()
+    {
+        return groupingColumns;
+    }
+
     @Override
     public boolean isRemotelyAccessible()
     {
@@ -0,0 +1,150 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.plugin.jdbc;
+
+import com.facebook.presto.spi.type.Type;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.DateType.DATE;
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The range of values of the split column that a split reads. The lower bound is inclusive and the upper
+ * bound is exclusive. The first range of a table has no lower bound and also contains the nulls, and the
+ * last range has no upper bound, so that the ranges cover all rows even if the table changes after the
+ * ranges were computed.
+ */
+public class JdbcSplitRange
+{
+    private final String columnName;
+    private final Type columnType;
+    private final Optional<Long> lowerBound;
+    private final Optional<Long> upperBound;
+
+    @JsonCreator
+    public JdbcSplitRange(
+            @JsonProperty("columnName") String columnName,
+            @JsonProperty("columnType") Type columnType,
+            @JsonProperty("lowerBound") Optional<Long> lowerBound,
+            @JsonProperty("upperBound") Optional<Long> upperBound)
+    {
+        this.columnName = requireNonNull(columnName, "columnName is null");
+        this.columnType = requireNonNull(columnType, "columnType is null");
+        checkArgument(columnType.equals(BIGINT) || columnType.equals(DATE), "Unsupported split column type: %s", columnType);
+        this.lowerBound = requireNonNull(lowerBound, "lowerBound is null");
+        this.upperBound = requireNonNull(upperBound, "upperBound is null");
+        checkArgument(lowerBound.isPresent() || upperBound.isPresent(), "range is not bounded");
+    }
+
+    /**
+     * Divides the values between min and max, both inclusive, into at most {@code maxRanges} ranges of about the same width.
+     * Returns no ranges if min is greater than max, which happens when the values of an unsigned column are read as signed.
+     */
+    public static List<JdbcSplitRange> createSplitRanges(String columnName, Type columnType, long min, long max, int maxRanges)
+    {
+        checkArgument(maxRanges > 0, "maxRanges must be positive");
+        if (min > max) {
+            return ImmutableList.of();
+        }
+
+        BigInteger valueCount = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+        int rangeCount = valueCount.min(BigInteger.valueOf(maxRanges)).intValueExact();
+        if (rangeCount == 1) {
+            return ImmutableList.of();
+        }
+        // round down, so that all bounds are between min and max and the last range takes the remainder
+        BigInteger rangeWidth = valueCount.divide(BigInteger.valueOf(rangeCount));
+
+        ImmutableList.Builder<JdbcSplitRange> ranges = ImmutableList.builder();
+        Optional<Long> lowerBound = Optional.empty();
+        for (int i = 1; i < rangeCount; i++) {
+            long upperBound = BigInteger.valueOf(min).add(rangeWidth.multiply(BigInteger.valueOf(i))).longValueExact();
+            ranges.add(new JdbcSplitRange(columnName, columnType, lowerBound, Optional.of(upperBound)));
+            lowerBound = Optional.of(upperBound);
+        }
+        ranges.add(new JdbcSplitRange(columnName, columnType, lowerBound, Optional.empty()));
+        return ranges.build();
+    }
+
+    @JsonProperty
+    public String getColumnName()
+    {
+        return columnName;
+    }
+
+    /**
+     * The values of {@link com.facebook.presto.spi.type.BigintType#BIGINT} columns are the numbers themselves,
+     * and the values of {@link com.facebook.presto.spi.type.DateType#DATE} columns are days since the epoch.
+     */
+    @JsonProperty
+    public Type getColumnType()
+    {
+        return columnType;
+    }
+
+    @JsonProperty
+    public Optional<Long> getLowerBound()
+    {
+        return lowerBound;
+    }
+
+    @JsonProperty
+    public Optional<Long> getUpperBound()
+    {
+        return upperBound;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JdbcSplitRange that = (JdbcSplitRange) o;
+        return Objects.equals(columnName, that.columnName) &&
+                Objects.equals(columnType, that.columnType) &&
+                Objects.equals(lowerBound, that.lowerBound) &&
+                Objects.equals(upperBound, that.upperBound);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(columnName, columnType, lowerBound, upperBound);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("columnName", columnName)
+                .add("columnType", columnType)
+                .add("lowerBound", lowerBound.orElse(null))
+                .add("upperBound", upperBound.orElse(null))
+                .toString();
+    }
+}
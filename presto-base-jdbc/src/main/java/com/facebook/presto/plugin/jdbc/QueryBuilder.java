@@ -51,6 +51,7 @@ import static com.facebook.presto.spi.type.DateTimeEncoding.unpackMillisUtc;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static java.lang.Float.intBitsToFloat;
 import static java.util.Collections.nCopies;
@@ -102,14 +103,15 @@ public class QueryBuilder
             String table,
             List<JdbcColumnHandle> columns,
             TupleDomain<ColumnHandle> tupleDomain,
-            Optional<String> additionalPredicate)
+            Optional<String> additionalPredicate,
+            Optional<JdbcSplitRange> splitRange,
+            Optional<List<JdbcColumnHandle>> groupingColumns)
             throws SQLException
     {
         StringBuilder sql = new StringBuilder();
 
         String columnNames = columns.stream()
-                .map(JdbcColumnHandle::getColumnName)
-                .map(this::quote)
+                .map(this::toSelectExpression)
                 .collect(joining(", "));
 
         sql.append("SELECT ");
@@ -129,17 +131,32 @@ public class QueryBuilder
 
         List<TypeAndValue> accumulator = new ArrayList<>();
 
-        List<String> clauses = toConjuncts(columns, tupleDomain, accumulator);
+        // the rows of an aggregation are not filtered again by the engine, so all predicates are applied, and not only those on the selected columns
+        List<JdbcColumnHandle> constrainedColumns = groupingColumns.isPresent() ? getConstrainedColumns(tupleDomain) : columns;
+        List<String> clauses = toConjuncts(constrainedColumns, tupleDomain, accumulator);
         if (additionalPredicate.isPresent()) {
             clauses = ImmutableList.<String>builder()
                     .addAll(clauses)
                     .add(additionalPredicate.get())
                     .build();
         }
+        if (splitRange.isPresent()) {
+            clauses = ImmutableList.<String>builder()
+                    .addAll(clauses)
+                    .add(toPredicate(splitRange.get(), accumulator))
+                    .build();
+        }
         if (!clauses.isEmpty()) {
             sql.append(" WHERE ")
                     .append(Joiner.on(" AND ").join(clauses));
         }
+        if (groupingColumns.isPresent() && !groupingColumns.get().isEmpty()) {
+            sql.append(" GROUP BY ")
+                    .append(groupingColumns.get().stream()
+                            .map(JdbcColumnHandle::getColumnName)
+                            .map(this::quote)
+                            .collect(joining(", ")));
+        }
 
         PreparedStatement statement = client.getPreparedStatement(connection, sql.toString());
 
@@ -196,7 +213,16 @@ public class QueryBuilder
         return statement;
     }
 
-    private static boolean isAcceptedType(Type type)
+    private static List<JdbcColumnHandle> getConstrainedColumns(TupleDomain<ColumnHandle> tupleDomain)
+    {
+        return tupleDomain.getDomains()
+                .map(domains -> domains.keySet().stream()
+                        .map(JdbcColumnHandle.class::cast)
+                        .collect(toImmutableList()))
+                .orElse(ImmutableList.of());
+    }
+
+    static boolean isAcceptedType(Type type)
     {
         Type validType = requireNonNull(type, "type is null");
         return validType.equals(BigintType.BIGINT) ||
@@ -220,7 +246,7 @@ public class QueryBuilder
         ImmutableList.Builder<String> builder = ImmutableList.builder();
         for (JdbcColumnHandle column : columns) {
             Type type = column.getColumnType();
-            if (isAcceptedType(type)) {
+            if (!column.getAggregate().isPresent() && isAcceptedType(type)) {
                 Domain domain = tupleDomain.getDomains().get().get(column);
                 if (domain != null) {
                     builder.add(toPredicate(column.getColumnName(), domain, type, accumulator));
@@ -306,12 +332,37 @@ public class QueryBuilder
         return "(" + Joiner.on(" OR ").join(disjuncts) + ")";
     }
 
+    private String toPredicate(JdbcSplitRange splitRange, List<TypeAndValue> accumulator)
+    {
+        String columnName = splitRange.getColumnName();
+        List<String> conjuncts = new ArrayList<>();
+        splitRange.getLowerBound().ifPresent(bound -> conjuncts.add(toPredicate(columnName, ">=", bound, splitRange.getColumnType(), accumulator)));
+        splitRange.getUpperBound().ifPresent(bound -> conjuncts.add(toPredicate(columnName, "<", bound, splitRange.getColumnType(), accumulator)));
+        String predicate = Joiner.on(" AND ").join(conjuncts);
+
+        // the first range also reads the rows where the split column is null
+        if (!splitRange.getLowerBound().isPresent()) {
+            return "(" + predicate + " OR " + quote(columnName) + " IS NULL)";
+        }
+        return "(" + predicate + ")";
+    }
+
     private String toPredicate(String columnName, String operator, Object value, Type type, List<TypeAndValue> accumulator)
     {
         bindValue(value, type, accumulator);
         return quote(columnName) + " " + operator + " ?";
     }
 
+    private String toSelectExpression(JdbcColumnHandle column)
+    {
+        if (!column.getAggregate().isPresent()) {
+            return quote(column.getColumnName());
+        }
+        // the result is read by position, so the expression needs no alias
+        JdbcAggregate aggregate = column.getAggregate().get();
+        return aggregate.getFunction() + "(" + aggregate.getArgumentColumnName().map(this::quote).orElse("*") + ")";
+    }
+
     private String quote(String name)
     {
         name = name.replace(quote, quote + quote);
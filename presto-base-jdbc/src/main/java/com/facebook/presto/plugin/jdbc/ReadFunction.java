@@ -20,4 +20,7 @@ public interface ReadFunction
     // This should be considered to have a method as below (it doesn't to avoid autoboxing)
     //    T read(ResultSet resultSet, int columnIndex)
     //            throws SQLException;
+    //
+    // The value may be read before ResultSet#wasNull is checked, so a read function
+    // must return some value, rather than fail, when the column is SQL NULL.
 }
@@ -20,6 +20,8 @@ import com.facebook.presto.spi.type.VarcharType;
 import com.google.common.base.CharMatcher;
 import org.joda.time.chrono.ISOChronology;
 
+import java.math.BigDecimal;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.Time;
 import java.sql.Timestamp;
@@ -45,6 +47,7 @@ import static com.facebook.presto.spi.type.TinyintType.TINYINT;
 import static com.facebook.presto.spi.type.VarbinaryType.VARBINARY;
 import static com.facebook.presto.spi.type.VarcharType.createUnboundedVarcharType;
 import static com.facebook.presto.spi.type.VarcharType.createVarcharType;
+import static io.airlift.slice.Slices.EMPTY_SLICE;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.airlift.slice.Slices.wrappedBuffer;
 import static java.lang.Float.floatToRawIntBits;
@@ -100,25 +103,40 @@ public final class StandardReadMappings
         // JDBC driver can return BigDecimal with lower scale than column's scale when there are trailing zeroes
         int scale = decimalType.getScale();
         if (decimalType.isShort()) {
-            return longReadMapping(decimalType, (resultSet, columnIndex) -> encodeShortScaledValue(resultSet.getBigDecimal(columnIndex), scale));
+            return longReadMapping(decimalType, (resultSet, columnIndex) -> {
+                BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                return value == null ? 0 : encodeShortScaledValue(value, scale);
+            });
         }
-        return sliceReadMapping(decimalType, (resultSet, columnIndex) -> encodeScaledValue(resultSet.getBigDecimal(columnIndex), scale));
+        return sliceReadMapping(decimalType, (resultSet, columnIndex) -> {
+            BigDecimal value = resultSet.getBigDecimal(columnIndex);
+            return value == null ? EMPTY_SLICE : encodeScaledValue(value, scale);
+        });
     }
 
     public static ReadMapping charReadMapping(CharType charType)
     {
         requireNonNull(charType, "charType is null");
-        return sliceReadMapping(charType, (resultSet, columnIndex) -> utf8Slice(CharMatcher.is(' ').trimTrailingFrom(resultSet.getString(columnIndex))));
+        return sliceReadMapping(charType, (resultSet, columnIndex) -> {
+            String value = resultSet.getString(columnIndex);
+            return value == null ? EMPTY_SLICE : utf8Slice(CharMatcher.is(' ').trimTrailingFrom(value));
+        });
     }
 
     public static ReadMapping varcharReadMapping(VarcharType varcharType)
     {
-        return sliceReadMapping(varcharType, (resultSet, columnIndex) -> utf8Slice(resultSet.getString(columnIndex)));
+        return sliceReadMapping(varcharType, (resultSet, columnIndex) -> {
+            String value = resultSet.getString(columnIndex);
+            return value == null ? EMPTY_SLICE : utf8Slice(value);
+        });
     }
 
     public static ReadMapping varbinaryReadMapping()
     {
-        return sliceReadMapping(VARBINARY, (resultSet, columnIndex) -> wrappedBuffer(resultSet.getBytes(columnIndex)));
+        return sliceReadMapping(VARBINARY, (resultSet, columnIndex) -> {
+            byte[] value = resultSet.getBytes(columnIndex);
+            return value == null ? EMPTY_SLICE : wrappedBuffer(value);
+        });
     }
 
     public static ReadMapping dateReadMapping()
@@ -132,7 +150,11 @@ public final class StandardReadMappings
              * `return resultSet.getObject(columnIndex, LocalDate.class).toEpochDay()` avoids these problems but
              * is currently known not to work with Redshift (old Postgres connector) and SQL Server.
              */
-            long localMillis = resultSet.getDate(columnIndex).getTime();
+            Date date = resultSet.getDate(columnIndex);
+            if (date == null) {
+                return 0;
+            }
+            long localMillis = date.getTime();
             // Convert it to a ~midnight in UTC.
             long utcMillis = ISOChronology.getInstance().getZone().getMillisKeepLocal(UTC, localMillis);
             // convert to days
@@ -149,6 +171,9 @@ public final class StandardReadMappings
              * The problem can be averted by using `resultSet.getObject(columnIndex, LocalTime.class)` -- but this is not universally supported by JDBC drivers.
              */
             Time time = resultSet.getTime(columnIndex);
+            if (time == null) {
+                return 0;
+            }
             return UTC_CHRONOLOGY.millisOfDay().get(time.getTime());
         });
     }
@@ -163,6 +188,9 @@ public final class StandardReadMappings
              * The problem can be averted by using `resultSet.getObject(columnIndex, LocalDateTime.class)` -- but this is not universally supported by JDBC drivers.
              */
             Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+            if (timestamp == null) {
+                return 0;
+            }
             return timestamp.getTime();
         });
     }
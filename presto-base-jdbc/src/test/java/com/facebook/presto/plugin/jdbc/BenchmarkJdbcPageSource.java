@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.plugin.jdbc;
+
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.ConnectorSession;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.RecordPageSource;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.facebook.presto.testing.TestingSession.testSessionBuilder;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Compares the rows per second read from an embedded H2 database through
+ * {@link JdbcPageSource} and through a {@link RecordPageSource} over {@link JdbcRecordSet}.
+ */
+@SuppressWarnings("MethodMayBeStatic")
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class BenchmarkJdbcPageSource
+{
+    private static final int ROWS = 100_000;
+    private static final ConnectorSession SESSION = testSessionBuilder().build().toConnectorSession();
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long recordCursor(BenchmarkData data)
+    {
+        return readPositions(new RecordPageSource(new JdbcRecordSet(data.jdbcClient, SESSION, data.split, data.columns)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long pageSource(BenchmarkData data)
+    {
+        return readPositions(new JdbcPageSource(data.jdbcClient, SESSION, data.split, data.columns));
+    }
+
+    private static long readPositions(ConnectorPageSource pageSource)
+    {
+        long positions = 0;
+        while (!pageSource.isFinished()) {
+            Page page = pageSource.getNextPage();
+            if (page != null) {
+                positions += page.getPositionCount();
+            }
+        }
+        pageSource.close();
+        return positions;
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        private TestingDatabase database;
+        private JdbcClient jdbcClient;
+        private JdbcSplit split;
+        private List<JdbcColumnHandle> columns;
+
+        @Setup
+        public void setup()
+                throws SQLException
+        {
+            database = new TestingDatabase();
+            try (Statement statement = database.getConnection().createStatement()) {
+                statement.execute("CREATE TABLE example.benchmark(id bigint primary key, text varchar, value double)");
+                statement.execute("INSERT INTO example.benchmark(id, text, value) " +
+                        "SELECT x, CASE WHEN MOD(x, 10) = 0 THEN NULL ELSE 'text ' || x END, x / 3.0 FROM SYSTEM_RANGE(1, " + ROWS + ")");
+            }
+            database.getConnection().commit();
+
+            jdbcClient = database.getJdbcClient();
+            split = database.getSplit("example", "benchmark");
+            Map<String, JdbcColumnHandle> columnHandles = database.getColumnHandles("example", "benchmark");
+            columns = ImmutableList.of(columnHandles.get("id"), columnHandles.get("text"), columnHandles.get("value"));
+        }
+
+        @TearDown
+        public void tearDown()
+                throws SQLException
+        {
+            database.close();
+        }
+    }
+
+    public static void main(String[] args)
+            throws Throwable
+    {
+        // assure the benchmarks are valid before running
+        BenchmarkData data = new BenchmarkData();
+        data.setup();
+        BenchmarkJdbcPageSource benchmark = new BenchmarkJdbcPageSource();
+        checkState(benchmark.recordCursor(data) == ROWS);
+        checkState(benchmark.pageSource(data) == ROWS);
+        data.tearDown();
+
+        Options options = new OptionsBuilder()
+                .verbosity(VerboseMode.NORMAL)
+                .include(".*" + BenchmarkJdbcPageSource.class.getSimpleName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -37,6 +37,7 @@ final class MetadataUtil
     public static final JsonCodec<JdbcColumnHandle> COLUMN_CODEC;
     public static final JsonCodec<JdbcTableHandle> TABLE_CODEC;
     public static final JsonCodec<JdbcOutputTableHandle> OUTPUT_TABLE_CODEC;
+    public static final JsonCodec<JdbcSplitRange> SPLIT_RANGE_CODEC;
 
     static {
         ObjectMapperProvider provider = new ObjectMapperProvider();
@@ -45,6 +46,7 @@ final class MetadataUtil
         COLUMN_CODEC = codecFactory.jsonCodec(JdbcColumnHandle.class);
         TABLE_CODEC = codecFactory.jsonCodec(JdbcTableHandle.class);
         OUTPUT_TABLE_CODEC = codecFactory.jsonCodec(JdbcOutputTableHandle.class);
+        SPLIT_RANGE_CODEC = codecFactory.jsonCodec(JdbcSplitRange.class);
     }
 
     public static final class TestingTypeDeserializer
@@ -33,7 +33,10 @@ public class TestBaseJdbcConfig
                 .setConnectionUser(null)
                 .setConnectionPassword(null)
                 .setCaseInsensitiveNameMatching(false)
-                .setCaseInsensitiveNameMatchingCacheTtl(new Duration(1, MINUTES)));
+                .setCaseInsensitiveNameMatchingCacheTtl(new Duration(1, MINUTES))
+                .setMaxSplitsPerTable(1)
+                .setSplitColumns("")
+                .setFetchSize(null));
     }
 
     @Test
@@ -45,6 +48,9 @@ public class TestBaseJdbcConfig
                 .put("connection-password", "password")
                 .put("case-insensitive-name-matching", "true")
                 .put("case-insensitive-name-matching.cache-ttl", "1s")
+                .put("max-splits-per-table", "16")
+                .put("split-columns", "tpch.orders.orderkey, tpch.lineitem.shipdate")
+                .put("fetch-size", "1000")
                 .build();
 
         BaseJdbcConfig expected = new BaseJdbcConfig()
@@ -52,7 +58,10 @@ public class TestBaseJdbcConfig
                 .setConnectionUser("user")
                 .setConnectionPassword("password")
                 .setCaseInsensitiveNameMatching(true)
-                .setCaseInsensitiveNameMatchingCacheTtl(new Duration(1, SECONDS));
+                .setCaseInsensitiveNameMatchingCacheTtl(new Duration(1, SECONDS))
+                .setMaxSplitsPerTable(16)
+                .setSplitColumns("tpch.orders.orderkey,tpch.lineitem.shipdate")
+                .setFetchSize(1000);
 
         ConfigAssertions.assertFullMapping(properties, expected);
     }
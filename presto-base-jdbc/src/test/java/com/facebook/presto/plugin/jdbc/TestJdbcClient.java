@@ -41,6 +41,8 @@ import static com.facebook.presto.spi.type.RealType.REAL;
 import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
 import static com.facebook.presto.spi.type.VarcharType.createVarcharType;
 import static com.facebook.presto.testing.TestingSession.testSessionBuilder;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static java.util.Collections.emptyMap;
 import static java.util.Locale.ENGLISH;
 import static java.util.UUID.randomUUID;
@@ -99,6 +101,34 @@ public class TestJdbcClient
                 new JdbcColumnHandle(CONNECTOR_ID, "VALUE", JDBC_BIGINT, BIGINT, true)));
     }
 
+    @Test
+    public void testSplitRanges()
+            throws Exception
+    {
+        // a single split is created unless the table is split
+        assertEquals(database.getSplits("example", "numbers").size(), 1);
+
+        BaseJdbcConfig config = new BaseJdbcConfig()
+                .setMaxSplitsPerTable(4)
+                .setSplitColumns("example.numbers.value");
+        try (TestingDatabase splitDatabase = new TestingDatabase(config)) {
+            List<Optional<JdbcSplitRange>> splitRanges = splitDatabase.getSplits("example", "numbers").stream()
+                    .map(JdbcSplit::getSplitRange)
+                    .collect(toImmutableList());
+            assertEquals(splitRanges, ImmutableList.of(
+                    Optional.of(new JdbcSplitRange("VALUE", BIGINT, Optional.empty(), Optional.of(4L))),
+                    Optional.of(new JdbcSplitRange("VALUE", BIGINT, Optional.of(4L), Optional.of(7L))),
+                    Optional.of(new JdbcSplitRange("VALUE", BIGINT, Optional.of(7L), Optional.of(10L))),
+                    Optional.of(new JdbcSplitRange("VALUE", BIGINT, Optional.of(10L), Optional.empty()))));
+
+            // the primary key of the table is not an integer
+            assertEquals(splitDatabase.getSplits("exa_ple", "num_ers").size(), 1);
+
+            // the table is split by its primary key, but it is empty
+            assertEquals(getOnlyElement(splitDatabase.getSplits("tpch", "orders")).getSplitRange(), Optional.empty());
+        }
+    }
+
     @Test
     public void testMetadataWithSchemaPattern()
     {
@@ -16,6 +16,10 @@ package com.facebook.presto.plugin.jdbc;
 import io.airlift.testing.EquivalenceTester;
 import org.testng.annotations.Test;
 
+import java.util.Optional;
+
+import static com.facebook.presto.plugin.jdbc.JdbcAggregate.Function.COUNT;
+import static com.facebook.presto.plugin.jdbc.JdbcAggregate.Function.SUM;
 import static com.facebook.presto.plugin.jdbc.MetadataUtil.COLUMN_CODEC;
 import static com.facebook.presto.plugin.jdbc.MetadataUtil.assertJsonRoundTrip;
 import static com.facebook.presto.plugin.jdbc.TestingJdbcTypeHandle.JDBC_BIGINT;
@@ -29,6 +33,8 @@ public class TestJdbcColumnHandle
     public void testJsonRoundTrip()
     {
         assertJsonRoundTrip(COLUMN_CODEC, new JdbcColumnHandle("connectorId", "columnName", JDBC_VARCHAR, VARCHAR, true));
+        assertJsonRoundTrip(COLUMN_CODEC, new JdbcColumnHandle("connectorId", "count", JDBC_BIGINT, BIGINT, false, Optional.of(new JdbcAggregate(COUNT, Optional.empty()))));
+        assertJsonRoundTrip(COLUMN_CODEC, new JdbcColumnHandle("connectorId", "sum", JDBC_BIGINT, BIGINT, true, Optional.of(new JdbcAggregate(SUM, Optional.of("columnName")))));
     }
 
     @Test
@@ -50,6 +56,9 @@ public class TestJdbcColumnHandle
                         new JdbcColumnHandle("connectorId", "columnNameX", JDBC_VARCHAR, VARCHAR, true),
                         new JdbcColumnHandle("connectorId", "columnNameX", JDBC_BIGINT, BIGINT, true),
                         new JdbcColumnHandle("connectorId", "columnNameX", JDBC_VARCHAR, VARCHAR, true))
+                .addEquivalentGroup(
+                        new JdbcColumnHandle("connectorId", "columnName", JDBC_BIGINT, BIGINT, true, Optional.of(new JdbcAggregate(SUM, Optional.of("columnName")))),
+                        new JdbcColumnHandle("connectorId", "columnName", JDBC_BIGINT, BIGINT, true, Optional.of(new JdbcAggregate(SUM, Optional.of("columnName")))))
                 .check();
     }
 }
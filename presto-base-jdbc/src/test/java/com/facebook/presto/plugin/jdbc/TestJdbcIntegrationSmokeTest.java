@@ -14,9 +14,12 @@
 package com.facebook.presto.plugin.jdbc;
 
 import com.facebook.presto.tests.AbstractTestIntegrationSmokeTest;
+import org.testng.annotations.Test;
 
 import static com.facebook.presto.plugin.jdbc.JdbcQueryRunner.createJdbcQueryRunner;
+import static io.airlift.testing.Assertions.assertContains;
 import static io.airlift.tpch.TpchTable.ORDERS;
+import static org.testng.Assert.assertFalse;
 
 public class TestJdbcIntegrationSmokeTest
         extends AbstractTestIntegrationSmokeTest
@@ -25,4 +28,37 @@ public class TestJdbcIntegrationSmokeTest
     {
         super(() -> createJdbcQueryRunner(ORDERS));
     }
+
+    @Test
+    public void testAggregationPushdown()
+    {
+        assertAggregationPushedDown("SELECT shippriority, count(*), count(clerk), sum(custkey), sum(totalprice), min(orderdate), max(shippriority) FROM orders GROUP BY shippriority");
+        assertAggregationPushedDown("SELECT count(*), max(orderkey) FROM orders");
+        assertAggregationPushedDown("SELECT orderdate, count(*) FROM orders WHERE orderkey < 1000 AND custkey > 10 GROUP BY orderdate");
+        assertAggregationPushedDown("SELECT key, count(*) FROM (SELECT custkey key FROM orders) GROUP BY key");
+
+        // string comparisons depend on the collation of the remote database
+        assertAggregationNotPushedDown("SELECT orderstatus, count(*) FROM orders GROUP BY orderstatus");
+        assertAggregationNotPushedDown("SELECT count(*) FROM orders WHERE orderstatus = 'F'");
+
+        // the functions and filters that the remote database cannot compute are left to the engine
+        assertQuery("SELECT shippriority, count(DISTINCT custkey) FROM orders GROUP BY shippriority");
+        assertQuery("SELECT shippriority, max(clerk) FROM orders GROUP BY shippriority");
+        assertQuery("SELECT count(*) FROM orders WHERE orderkey % 2 = 0");
+    }
+
+    private void assertAggregationPushedDown(String sql)
+    {
+        String plan = (String) computeActual("EXPLAIN (TYPE DISTRIBUTED) " + sql).getOnlyValue();
+        assertContains(plan, "Aggregate(FINAL)");
+        assertFalse(plan.contains("Aggregate(PARTIAL)"), "partial aggregation is not pushed down:\n" + plan);
+        assertQuery(sql);
+    }
+
+    private void assertAggregationNotPushedDown(String sql)
+    {
+        String plan = (String) computeActual("EXPLAIN (TYPE DISTRIBUTED) " + sql).getOnlyValue();
+        assertContains(plan, "Aggregate(PARTIAL)");
+        assertQuery(sql);
+    }
 }
@@ -0,0 +1,151 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.plugin.jdbc;
+
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.ConnectorSession;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.block.Block;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.DateType.DATE;
+import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
+import static com.facebook.presto.testing.TestingSession.testSessionBuilder;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
+public class TestJdbcPageSource
+{
+    private static final ConnectorSession session = testSessionBuilder().build().toConnectorSession();
+
+    private TestingDatabase database;
+    private JdbcClient jdbcClient;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        database = new TestingDatabase();
+        jdbcClient = database.getJdbcClient();
+
+        try (Statement statement = database.getConnection().createStatement()) {
+            statement.execute("CREATE TABLE example.nullable(id bigint primary key, text varchar, value bigint, day date)");
+            statement.execute("INSERT INTO example.nullable(id, text, value, day) VALUES (1, 'one', NULL, NULL), (2, NULL, 2, DATE '1970-01-11')");
+        }
+        database.getConnection().commit();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws Exception
+    {
+        database.close();
+    }
+
+    @Test
+    public void testReadPages()
+    {
+        Map<String, JdbcColumnHandle> columnHandles = database.getColumnHandles("example", "numbers");
+        ConnectorPageSource pageSource = new JdbcPageSource(jdbcClient, session, database.getSplit("example", "numbers"), ImmutableList.of(
+                columnHandles.get("text"),
+                columnHandles.get("text_short"),
+                columnHandles.get("value")));
+
+        Map<String, Long> data = new LinkedHashMap<>();
+        while (!pageSource.isFinished()) {
+            Page page = pageSource.getNextPage();
+            if (page == null) {
+                continue;
+            }
+            assertEquals(page.getChannelCount(), 3);
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                String text = VARCHAR.getSlice(page.getBlock(0), position).toStringUtf8();
+                assertEquals(VARCHAR.getSlice(page.getBlock(1), position).toStringUtf8(), text);
+                data.put(text, BIGINT.getLong(page.getBlock(2), position));
+            }
+        }
+
+        assertEquals(data, ImmutableMap.<String, Long>builder()
+                .put("one", 1L)
+                .put("two", 2L)
+                .put("three", 3L)
+                .put("ten", 10L)
+                .put("eleven", 11L)
+                .put("twelve", 12L)
+                .build());
+        assertTrue(pageSource.getCompletedBytes() > 0);
+        pageSource.close();
+    }
+
+    @Test
+    public void testReadNulls()
+    {
+        Map<String, JdbcColumnHandle> columnHandles = database.getColumnHandles("example", "nullable");
+        ConnectorPageSource pageSource = new JdbcPageSource(jdbcClient, session, database.getSplit("example", "nullable"), ImmutableList.of(
+                columnHandles.get("id"),
+                columnHandles.get("text"),
+                columnHandles.get("value"),
+                columnHandles.get("day")));
+
+        Map<Long, String> texts = new LinkedHashMap<>();
+        Map<Long, Long> values = new LinkedHashMap<>();
+        Map<Long, Long> days = new LinkedHashMap<>();
+        while (!pageSource.isFinished()) {
+            Page page = pageSource.getNextPage();
+            if (page == null) {
+                continue;
+            }
+            for (int position = 0; position < page.getPositionCount(); position++) {
+                long id = BIGINT.getLong(page.getBlock(0), position);
+                Block text = page.getBlock(1);
+                Block value = page.getBlock(2);
+                Block day = page.getBlock(3);
+                texts.put(id, text.isNull(position) ? null : VARCHAR.getSlice(text, position).toStringUtf8());
+                values.put(id, value.isNull(position) ? null : BIGINT.getLong(value, position));
+                days.put(id, day.isNull(position) ? null : DATE.getLong(day, position));
+            }
+        }
+
+        assertEquals(texts.size(), 2);
+        assertEquals(texts.get(1L), "one");
+        assertNull(texts.get(2L));
+        assertNull(values.get(1L));
+        assertEquals(values.get(2L), Long.valueOf(2));
+        assertNull(days.get(1L));
+        assertEquals(days.get(2L), Long.valueOf(10));
+        pageSource.close();
+    }
+
+    @Test
+    public void testIdempotentClose()
+    {
+        Map<String, JdbcColumnHandle> columnHandles = database.getColumnHandles("example", "numbers");
+        ConnectorPageSource pageSource = new JdbcPageSource(jdbcClient, session, database.getSplit("example", "numbers"), ImmutableList.of(columnHandles.get("value")));
+
+        pageSource.close();
+        assertTrue(pageSource.isFinished());
+        pageSource.close();
+    }
+}
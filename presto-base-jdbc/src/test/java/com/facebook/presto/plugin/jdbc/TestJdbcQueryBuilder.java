@@ -38,6 +38,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static com.facebook.presto.plugin.jdbc.TestingJdbcTypeHandle.JDBC_BIGINT;
 import static com.facebook.presto.plugin.jdbc.TestingJdbcTypeHandle.JDBC_BOOLEAN;
@@ -62,6 +63,7 @@ import static com.facebook.presto.spi.type.TimeType.TIME;
 import static com.facebook.presto.spi.type.TimestampType.TIMESTAMP;
 import static com.facebook.presto.spi.type.TinyintType.TINYINT;
 import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static io.airlift.slice.Slices.utf8Slice;
 import static io.airlift.testing.Assertions.assertContains;
 import static java.lang.Float.floatToRawIntBits;
@@ -197,7 +199,7 @@ public class TestJdbcQueryBuilder
                 .build());
 
         Connection connection = database.getConnection();
-        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty());
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty(), Optional.empty(), Optional.empty());
                 ResultSet resultSet = preparedStatement.executeQuery()) {
             ImmutableSet.Builder<Long> builder = ImmutableSet.builder();
             while (resultSet.next()) {
@@ -220,7 +222,7 @@ public class TestJdbcQueryBuilder
                         false)));
 
         Connection connection = database.getConnection();
-        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty());
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty(), Optional.empty(), Optional.empty());
                 ResultSet resultSet = preparedStatement.executeQuery()) {
             ImmutableSet.Builder<Long> longBuilder = ImmutableSet.builder();
             ImmutableSet.Builder<Float> floatBuilder = ImmutableSet.builder();
@@ -246,7 +248,7 @@ public class TestJdbcQueryBuilder
                         false)));
 
         Connection connection = database.getConnection();
-        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty());
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty(), Optional.empty(), Optional.empty());
                 ResultSet resultSet = preparedStatement.executeQuery()) {
             ImmutableSet.Builder<String> builder = ImmutableSet.builder();
             while (resultSet.next()) {
@@ -274,7 +276,7 @@ public class TestJdbcQueryBuilder
                         false)));
 
         Connection connection = database.getConnection();
-        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty());
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty(), Optional.empty(), Optional.empty());
                 ResultSet resultSet = preparedStatement.executeQuery()) {
             ImmutableSet.Builder<String> builder = ImmutableSet.builder();
             while (resultSet.next()) {
@@ -307,7 +309,7 @@ public class TestJdbcQueryBuilder
                         false)));
 
         Connection connection = database.getConnection();
-        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty());
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty(), Optional.empty(), Optional.empty());
                 ResultSet resultSet = preparedStatement.executeQuery()) {
             ImmutableSet.Builder<Date> dateBuilder = ImmutableSet.builder();
             ImmutableSet.Builder<Time> timeBuilder = ImmutableSet.builder();
@@ -340,7 +342,7 @@ public class TestJdbcQueryBuilder
                         false)));
 
         Connection connection = database.getConnection();
-        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty());
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty(), Optional.empty(), Optional.empty());
                 ResultSet resultSet = preparedStatement.executeQuery()) {
             ImmutableSet.Builder<Timestamp> builder = ImmutableSet.builder();
             while (resultSet.next()) {
@@ -358,6 +360,83 @@ public class TestJdbcQueryBuilder
         }
     }
 
+    @Test
+    public void testBuildSqlWithSplitRange()
+            throws SQLException
+    {
+        // every row is read by exactly one of the ranges
+        ImmutableSet.Builder<Long> builder = ImmutableSet.builder();
+        int rowCount = 0;
+        Connection connection = database.getConnection();
+        for (JdbcSplitRange splitRange : JdbcSplitRange.createSplitRanges("col_0", BIGINT, 100, 899, 4)) {
+            try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, TupleDomain.all(), Optional.empty(), Optional.of(splitRange), Optional.empty());
+                    ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    builder.add((Long) resultSet.getObject("col_0"));
+                    rowCount++;
+                }
+            }
+        }
+        assertEquals(rowCount, 1000);
+        assertEquals(builder.build().size(), 1000);
+
+        JdbcSplitRange splitRange = new JdbcSplitRange("col_0", BIGINT, Optional.of(300L), Optional.of(310L));
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, TupleDomain.all(), Optional.empty(), Optional.of(splitRange), Optional.empty());
+                ResultSet resultSet = preparedStatement.executeQuery()) {
+            assertContains(preparedStatement.toString(), "(\"col_0\" >= ? AND \"col_0\" < ?)");
+            ImmutableSet.Builder<Long> values = ImmutableSet.builder();
+            while (resultSet.next()) {
+                values.add((Long) resultSet.getObject("col_0"));
+            }
+            assertEquals(values.build(), LongStream.range(300, 310).boxed().collect(toImmutableSet()));
+        }
+    }
+
+    @Test
+    public void testBuildSqlWithDateSplitRange()
+            throws SQLException
+    {
+        JdbcSplitRange splitRange = new JdbcSplitRange("col_4", DATE, Optional.empty(), Optional.of(toDays(2016, 3, 26)));
+        Connection connection = database.getConnection();
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, TupleDomain.all(), Optional.empty(), Optional.of(splitRange), Optional.empty());
+                ResultSet resultSet = preparedStatement.executeQuery()) {
+            assertContains(preparedStatement.toString(), "(\"col_4\" < ? OR \"col_4\" IS NULL)");
+            ImmutableSet.Builder<Date> dateBuilder = ImmutableSet.builder();
+            while (resultSet.next()) {
+                dateBuilder.add((Date) resultSet.getObject("col_4"));
+            }
+            assertEquals(dateBuilder.build(), ImmutableSet.of(toDate(2016, 3, 23), toDate(2016, 3, 24), toDate(2016, 3, 25)));
+        }
+    }
+
+    @Test
+    public void testBuildSqlWithAggregation()
+            throws SQLException
+    {
+        List<JdbcColumnHandle> aggregationColumns = ImmutableList.of(
+                columns.get(2),
+                new JdbcColumnHandle("test_id", "count", JDBC_BIGINT, BIGINT, false, Optional.of(new JdbcAggregate(JdbcAggregate.Function.COUNT, Optional.empty()))),
+                new JdbcColumnHandle("test_id", "sum", JDBC_BIGINT, BIGINT, true, Optional.of(new JdbcAggregate(JdbcAggregate.Function.SUM, Optional.of("col_0")))),
+                new JdbcColumnHandle("test_id", "max", JDBC_INTEGER, INTEGER, true, Optional.of(new JdbcAggregate(JdbcAggregate.Function.MAX, Optional.of("col_9")))));
+        // the predicate is applied even though its column is not selected
+        TupleDomain<ColumnHandle> tupleDomain = TupleDomain.withColumnDomains(ImmutableMap.of(
+                columns.get(0), Domain.create(SortedRangeSet.copyOf(BIGINT, ImmutableList.of(Range.lessThan(BIGINT, 100L))), false)));
+
+        Connection connection = database.getConnection();
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", aggregationColumns, tupleDomain, Optional.empty(), Optional.empty(), Optional.of(ImmutableList.of(columns.get(2))));
+                ResultSet resultSet = preparedStatement.executeQuery()) {
+            assertContains(preparedStatement.toString(), "SELECT \"col_2\", COUNT(*), SUM(\"col_0\"), MAX(\"col_9\") FROM");
+            assertContains(preparedStatement.toString(), "GROUP BY \"col_2\"");
+            ImmutableMap.Builder<Boolean, List<Object>> builder = ImmutableMap.builder();
+            while (resultSet.next()) {
+                builder.put(resultSet.getBoolean(1), ImmutableList.of(resultSet.getLong(2), resultSet.getLong(3), resultSet.getInt(4)));
+            }
+            assertEquals(builder.build(), ImmutableMap.of(
+                    true, ImmutableList.of(50L, 2450L, -2),
+                    false, ImmutableList.of(50L, 2500L, -1)));
+        }
+    }
+
     @Test
     public void testEmptyBuildSql()
             throws SQLException
@@ -367,7 +446,7 @@ public class TestJdbcQueryBuilder
                 columns.get(1), Domain.onlyNull(DOUBLE)));
 
         Connection connection = database.getConnection();
-        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty());
+        try (PreparedStatement preparedStatement = new QueryBuilder("\"").buildSql(jdbcClient, connection, "", "", "test_table", columns, tupleDomain, Optional.empty(), Optional.empty(), Optional.empty());
                 ResultSet resultSet = preparedStatement.executeQuery()) {
             assertEquals(resultSet.next(), false);
         }
@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.plugin.jdbc;
+
+import com.facebook.presto.spi.type.Type;
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.plugin.jdbc.JdbcSplitRange.createSplitRanges;
+import static com.facebook.presto.plugin.jdbc.MetadataUtil.SPLIT_RANGE_CODEC;
+import static com.facebook.presto.plugin.jdbc.MetadataUtil.assertJsonRoundTrip;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.DateType.DATE;
+import static org.testng.Assert.assertEquals;
+
+public class TestJdbcSplitRange
+{
+    @Test
+    public void testJsonRoundTrip()
+    {
+        assertJsonRoundTrip(SPLIT_RANGE_CODEC, new JdbcSplitRange("columnName", BIGINT, Optional.of(10L), Optional.of(20L)));
+        assertJsonRoundTrip(SPLIT_RANGE_CODEC, new JdbcSplitRange("columnName", BIGINT, Optional.empty(), Optional.of(20L)));
+        assertJsonRoundTrip(SPLIT_RANGE_CODEC, new JdbcSplitRange("columnName", BIGINT, Optional.of(10L), Optional.empty()));
+    }
+
+    @Test
+    public void testCreateSplitRanges()
+    {
+        assertEquals(createSplitRanges("id", BIGINT, 0, 99, 4), ImmutableList.of(
+                range(BIGINT, null, 25L),
+                range(BIGINT, 25L, 50L),
+                range(BIGINT, 50L, 75L),
+                range(BIGINT, 75L, null)));
+
+        // the last range takes the remainder
+        assertEquals(createSplitRanges("id", DATE, -10, 10, 3), ImmutableList.of(
+                range(DATE, null, -3L),
+                range(DATE, -3L, 4L),
+                range(DATE, 4L, null)));
+
+        // there are never more ranges than values
+        assertEquals(createSplitRanges("id", BIGINT, 5, 7, 10), ImmutableList.of(
+                range(BIGINT, null, 6L),
+                range(BIGINT, 6L, 7L),
+                range(BIGINT, 7L, null)));
+    }
+
+    @Test
+    public void testCreateSingleSplitRange()
+    {
+        assertEquals(createSplitRanges("id", BIGINT, 42, 42, 10), ImmutableList.of());
+        assertEquals(createSplitRanges("id", BIGINT, 0, 100, 1), ImmutableList.of());
+    }
+
+    @Test
+    public void testCreateSplitRangesWithMinGreaterThanMax()
+    {
+        assertEquals(createSplitRanges("id", BIGINT, 10, -10, 4), ImmutableList.of());
+        // min of 2^63 - 1 and max of 2^64 - 1 in an unsigned BIGINT column, read as signed values
+        assertEquals(createSplitRanges("id", BIGINT, Long.MAX_VALUE, -1, 4), ImmutableList.of());
+    }
+
+    @Test
+    public void testCreateSplitRangesOverFullDomain()
+    {
+        List<JdbcSplitRange> ranges = createSplitRanges("id", BIGINT, Long.MIN_VALUE, Long.MAX_VALUE, 4);
+        assertEquals(ranges, ImmutableList.of(
+                range(BIGINT, null, Long.MIN_VALUE / 2),
+                range(BIGINT, Long.MIN_VALUE / 2, 0L),
+                range(BIGINT, 0L, Long.MAX_VALUE / 2 + 1),
+                range(BIGINT, Long.MAX_VALUE / 2 + 1, null)));
+    }
+
+    private static JdbcSplitRange range(Type type, Long lowerBound, Long upperBound)
+    {
+        return new JdbcSplitRange("id", type, Optional.ofNullable(lowerBound), Optional.ofNullable(upperBound));
+    }
+}
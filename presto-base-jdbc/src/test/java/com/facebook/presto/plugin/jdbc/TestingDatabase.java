@@ -30,6 +30,7 @@ import java.util.Properties;
 import static com.facebook.presto.spi.connector.NotPartitionedPartitionHandle.NOT_PARTITIONED;
 import static com.facebook.presto.testing.TestingSession.testSessionBuilder;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static io.airlift.concurrent.MoreFutures.getFutureValue;
 
@@ -44,11 +45,17 @@ final class TestingDatabase
 
     public TestingDatabase()
             throws SQLException
+    {
+        this(new BaseJdbcConfig());
+    }
+
+    public TestingDatabase(BaseJdbcConfig config)
+            throws SQLException
     {
         String connectionUrl = "jdbc:h2:mem:test" + System.nanoTime();
         jdbcClient = new BaseJdbcClient(
                 new JdbcConnectorId(CONNECTOR_ID),
-                new BaseJdbcConfig(),
+                config,
                 "\"",
                 new DriverConnectionFactory(new Driver(), connectionUrl, new Properties()));
 
@@ -96,12 +103,19 @@ final class TestingDatabase
     }
 
     public JdbcSplit getSplit(String schemaName, String tableName)
+    {
+        return getOnlyElement(getSplits(schemaName, tableName));
+    }
+
+    public List<JdbcSplit> getSplits(String schemaName, String tableName)
     {
         JdbcIdentity identity = JdbcIdentity.from(session);
         JdbcTableHandle jdbcTableHandle = jdbcClient.getTableHandle(identity, new SchemaTableName(schemaName, tableName));
         JdbcTableLayoutHandle jdbcLayoutHandle = new JdbcTableLayoutHandle(jdbcTableHandle, TupleDomain.all());
         ConnectorSplitSource splits = jdbcClient.getSplits(identity, jdbcLayoutHandle);
-        return (JdbcSplit) getOnlyElement(getFutureValue(splits.getNextBatch(NOT_PARTITIONED, 1000)).getSplits());
+        return getFutureValue(splits.getNextBatch(NOT_PARTITIONED, 1000)).getSplits().stream()
+                .map(JdbcSplit.class::cast)
+                .collect(toImmutableList());
     }
 
     public Map<String, JdbcColumnHandle> getColumnHandles(String schemaName, String tableName)
@@ -32,6 +32,7 @@ public class ElasticsearchConnectorConfig
     private String defaultSchema = "default";
     private File tableDescriptionDirectory = new File("etc/elasticsearch/");
     private int scrollSize = 1_000;
+    private int scrollSlicesPerShard = 1;
     private Duration scrollTimeout = new Duration(1, SECONDS);
     private int maxHits = 1_000;
     private Duration requestTimeout = new Duration(100, MILLISECONDS);
@@ -90,6 +91,20 @@ public class ElasticsearchConnectorConfig
         return this;
     }
 
+    @Min(1)
+    public int getScrollSlicesPerShard()
+    {
+        return scrollSlicesPerShard;
+    }
+
+    @Config("elasticsearch.scroll-slices-per-shard")
+    @ConfigDescription("Number of sliced scrolls, each read by a separate split, that a shard is read with")
+    public ElasticsearchConnectorConfig setScrollSlicesPerShard(int scrollSlicesPerShard)
+    {
+        this.scrollSlicesPerShard = scrollSlicesPerShard;
+        return this;
+    }
+
     @NotNull
     public Duration getScrollTimeout()
     {
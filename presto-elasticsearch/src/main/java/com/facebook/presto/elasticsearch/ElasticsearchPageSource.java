@@ -13,13 +13,13 @@
  */
 package com.facebook.presto.elasticsearch;
 
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.PageBuilder;
 import com.facebook.presto.spi.PrestoException;
-import com.facebook.presto.spi.RecordCursor;
+import com.facebook.presto.spi.block.BlockBuilder;
 import com.facebook.presto.spi.type.Type;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 import io.airlift.json.JsonCodec;
-import io.airlift.slice.Slice;
 import io.airlift.units.Duration;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.search.SearchHit;
@@ -30,10 +30,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Callable;
 
 import static com.facebook.presto.elasticsearch.ElasticsearchErrorCode.ELASTICSEARCH_MAX_HITS_EXCEEDED;
 import static com.facebook.presto.elasticsearch.ElasticsearchUtils.serializeObject;
@@ -44,212 +43,239 @@ import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
 import static com.facebook.presto.spi.type.IntegerType.INTEGER;
 import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.json.JsonCodec.jsonCodec;
-import static io.airlift.slice.Slices.EMPTY_SLICE;
 import static io.airlift.slice.Slices.utf8Slice;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
-public class ElasticsearchRecordCursor
-        implements RecordCursor
+/**
+ * Reads the hits of a split one scroll response at a time, and writes the values directly into
+ * the blocks of the page. When the split only counts the documents, the page source returns a
+ * single row with the number of matching documents in every column.
+ */
+public class ElasticsearchPageSource
+        implements ConnectorPageSource
 {
     private static final JsonCodec<Object> VALUE_CODEC = jsonCodec(Object.class);
 
-    private final List<ElasticsearchColumnHandle> columnHandles;
+    private final List<Type> types;
     private final Map<String, Integer> jsonPathToIndex = new HashMap<>();
     private final int maxHits;
-    private final Iterator<SearchHit> searchHits;
     private final Duration requestTimeout;
     private final int maxAttempts;
     private final Duration maxRetryTime;
+    private final long limit;
+    private final boolean count;
     private final ElasticsearchQueryBuilder builder;
-
-    private long totalBytes;
-    private List<Object> fields;
-
-    public ElasticsearchRecordCursor(List<ElasticsearchColumnHandle> columnHandles, ElasticsearchConnectorConfig config, ElasticsearchSplit split)
+    private final PageBuilder pageBuilder;
+    private final Object[] values;
+
+    private String scrollId;
+    private SearchHit[] hits;
+    private int hitPosition;
+    private long hitCount;
+    private long completedBytes;
+    private long readTimeNanos;
+    private boolean finished;
+
+    public ElasticsearchPageSource(List<ElasticsearchColumnHandle> columnHandles, ElasticsearchConnectorConfig config, ElasticsearchSplit split)
     {
         requireNonNull(columnHandles, "columnHandle is null");
         requireNonNull(config, "config is null");
+        requireNonNull(split, "split is null");
 
-        this.columnHandles = columnHandles;
+        this.types = columnHandles.stream()
+                .map(ElasticsearchColumnHandle::getColumnType)
+                .collect(toImmutableList());
         this.maxHits = config.getMaxHits();
         this.requestTimeout = config.getRequestTimeout();
         this.maxAttempts = config.getMaxRequestRetries();
         this.maxRetryTime = config.getMaxRetryTime();
+        this.limit = split.getLimit().orElse(Long.MAX_VALUE);
+        this.count = split.isCount();
 
         for (int i = 0; i < columnHandles.size(); i++) {
             jsonPathToIndex.put(columnHandles.get(i).getColumnJsonPath(), i);
         }
         this.builder = new ElasticsearchQueryBuilder(columnHandles, config, split);
-        this.searchHits = sendElasticsearchQuery(builder).iterator();
+        this.pageBuilder = new PageBuilder(types);
+        this.values = new Object[columnHandles.size()];
     }
 
     @Override
     public long getCompletedBytes()
     {
-        return totalBytes;
+        return completedBytes;
     }
 
     @Override
     public long getReadTimeNanos()
     {
-        return 0;
+        return readTimeNanos;
     }
 
     @Override
-    public Type getType(int field)
+    public long getSystemMemoryUsage()
     {
-        checkArgument(field < columnHandles.size(), "Invalid field index");
-        return columnHandles.get(field).getColumnType();
+        return pageBuilder.getRetainedSizeInBytes();
     }
 
     @Override
-    public boolean advanceNextPosition()
+    public boolean isFinished()
     {
-        if (!searchHits.hasNext()) {
-            return false;
-        }
-
-        SearchHit hit = searchHits.next();
-        fields = new ArrayList<>(Collections.nCopies(columnHandles.size(), null));
-
-        setFieldIfExists("_id", hit.getId());
-        setFieldIfExists("_index", hit.getIndex());
-
-        extractFromSource(hit);
-        if (hit.getSourceRef() != null) {
-            totalBytes += hit.getSourceRef().length();
-        }
-        return true;
+        return finished;
     }
 
     @Override
-    public boolean getBoolean(int field)
+    public Page getNextPage()
     {
-        checkFieldType(field, ImmutableSet.of(BOOLEAN));
-        return Boolean.parseBoolean(getFieldValue(field).toString());
-    }
-
-    @Override
-    public long getLong(int field)
-    {
-        checkFieldType(field, ImmutableSet.of(BIGINT, INTEGER));
-        return Long.parseLong(getFieldValue(field).toString());
-    }
-
-    @Override
-    public double getDouble(int field)
-    {
-        checkFieldType(field, ImmutableSet.of(DOUBLE));
-        return Double.parseDouble(getFieldValue(field).toString());
-    }
-
-    @Override
-    public Slice getSlice(int field)
-    {
-        checkFieldType(field, ImmutableSet.of(VARCHAR));
+        if (finished) {
+            return null;
+        }
 
-        Object value = getFieldValue(field);
-        if (value instanceof Collection) {
-            return utf8Slice(VALUE_CODEC.toJson(value));
+        long start = System.nanoTime();
+        if (count) {
+            appendCount(getSearchResponse("countRequest", () -> builder.buildCountSearchRequest().execute().actionGet(requestTimeout.toMillis())));
+            finished = true;
         }
-        if (value == null) {
-            return EMPTY_SLICE;
+        else {
+            while (!pageBuilder.isFull() && hitCount < limit) {
+                if (hits == null || hitPosition == hits.length) {
+                    if (!fetchHits()) {
+                        break;
+                    }
+                }
+                appendHit(hits[hitPosition]);
+                hitPosition++;
+                hitCount++;
+            }
+            finished = finished || hitCount >= limit;
         }
-        return utf8Slice(value.toString());
-    }
+        readTimeNanos += System.nanoTime() - start;
 
-    @Override
-    public Object getObject(int field)
-    {
-        return serializeObject(columnHandles.get(field).getColumnType(), null, getFieldValue(field));
+        if (pageBuilder.isEmpty()) {
+            return null;
+        }
+        Page page = pageBuilder.build();
+        pageBuilder.reset();
+        return page;
     }
 
     @Override
-    public boolean isNull(int field)
-    {
-        checkArgument(field < columnHandles.size(), "Invalid field index");
-        return getFieldValue(field) == null;
-    }
-
-    private void checkFieldType(int field, Set<Type> expectedTypes)
+    public void close()
     {
-        checkArgument(expectedTypes.contains(getType(field)), "Field %s has unexpected type %s", field, getType(field));
+        try {
+            if (scrollId != null) {
+                // the scroll is kept open until it times out, unless it is cleared
+                builder.clearScroll(scrollId);
+            }
+        }
+        finally {
+            builder.close();
+        }
     }
 
-    @Override
-    public void close()
+    /**
+     * Reads the next batch of hits of the scroll. Returns false when all the hits have been read.
+     */
+    private boolean fetchHits()
     {
-        builder.close();
+        SearchResponse response;
+        if (scrollId == null) {
+            response = getSearchResponse("searchRequest", () -> builder.buildScrollSearchRequest().execute().actionGet(requestTimeout.toMillis()));
+            long totalHits = response.getHits().getTotalHits();
+            if (min(totalHits, limit) > maxHits) {
+                throw new PrestoException(ELASTICSEARCH_MAX_HITS_EXCEEDED,
+                        format("The number of hits for the query (%d) exceeds the configured max hits (%d)", totalHits, maxHits));
+            }
+        }
+        else {
+            String currentScrollId = scrollId;
+            response = getSearchResponse("scrollRequest", () -> builder.prepareSearchScroll(currentScrollId).execute().actionGet(requestTimeout.toMillis()));
+        }
+        scrollId = response.getScrollId();
+        hits = response.getHits().getHits();
+        hitPosition = 0;
+        if (hits.length == 0) {
+            finished = true;
+            return false;
+        }
+        return true;
     }
 
-    private SearchResponse getSearchResponse(ElasticsearchQueryBuilder queryBuilder)
+    private SearchResponse getSearchResponse(String callableName, Callable<SearchResponse> request)
     {
         try {
             return retry()
                     .maxAttempts(maxAttempts)
                     .exponentialBackoff(maxRetryTime)
-                    .run("searchRequest", () -> queryBuilder.buildScrollSearchRequest()
-                            .execute()
-                            .actionGet(requestTimeout.toMillis()));
+                    .run(callableName, request);
         }
         catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
-    private SearchResponse getScrollResponse(ElasticsearchQueryBuilder queryBuilder, String scrollId)
+    private void appendCount(SearchResponse response)
     {
-        try {
-            return retry()
-                    .maxAttempts(maxAttempts)
-                    .exponentialBackoff(maxRetryTime)
-                    .run("scrollRequest", () -> queryBuilder.prepareSearchScroll(scrollId)
-                            .execute()
-                            .actionGet(requestTimeout.toMillis()));
-        }
-        catch (Exception e) {
-            throw new RuntimeException(e);
+        pageBuilder.declarePosition();
+        for (int column = 0; column < types.size(); column++) {
+            BIGINT.writeLong(pageBuilder.getBlockBuilder(column), response.getHits().getTotalHits());
         }
     }
 
-    private List<SearchHit> sendElasticsearchQuery(ElasticsearchQueryBuilder queryBuilder)
+    private void appendHit(SearchHit hit)
     {
-        SearchResponse response = getSearchResponse(queryBuilder);
+        Arrays.fill(values, null);
+        setFieldIfExists("_id", hit.getId());
+        setFieldIfExists("_index", hit.getIndex());
+        extractFromSource(hit);
+        if (hit.getSourceRef() != null) {
+            completedBytes += hit.getSourceRef().length();
+        }
 
-        if (response.getHits().getTotalHits() > maxHits) {
-            throw new PrestoException(ELASTICSEARCH_MAX_HITS_EXCEEDED,
-                    format("The number of hits for the query (%d) exceeds the configured max hits (%d)", response.getHits().getTotalHits(), maxHits));
+        pageBuilder.declarePosition();
+        for (int column = 0; column < types.size(); column++) {
+            appendValue(types.get(column), values[column], pageBuilder.getBlockBuilder(column));
         }
+    }
 
-        ImmutableList.Builder<SearchHit> result = ImmutableList.builder();
-        while (true) {
-            for (SearchHit hit : response.getHits().getHits()) {
-                result.add(hit);
+    private static void appendValue(Type type, Object value, BlockBuilder output)
+    {
+        if (value == null) {
+            output.appendNull();
+        }
+        else if (type.equals(BOOLEAN)) {
+            type.writeBoolean(output, Boolean.parseBoolean(value.toString()));
+        }
+        else if (type.equals(BIGINT) || type.equals(INTEGER)) {
+            type.writeLong(output, Long.parseLong(value.toString()));
+        }
+        else if (type.equals(DOUBLE)) {
+            type.writeDouble(output, Double.parseDouble(value.toString()));
+        }
+        else if (type.equals(VARCHAR)) {
+            if (value instanceof Collection) {
+                type.writeSlice(output, utf8Slice(VALUE_CODEC.toJson(value)));
             }
-            response = getScrollResponse(queryBuilder, response.getScrollId());
-            if (response.getHits().getHits().length == 0) {
-                break;
+            else {
+                type.writeSlice(output, utf8Slice(value.toString()));
             }
         }
-        return result.build();
+        else {
+            serializeObject(type, output, value);
+        }
     }
 
     private void setFieldIfExists(String jsonPath, Object jsonValue)
     {
         if (jsonPathToIndex.containsKey(jsonPath)) {
-            fields.set(jsonPathToIndex.get(jsonPath), jsonValue);
+            values[jsonPathToIndex.get(jsonPath)] = jsonValue;
         }
     }
 
-    private Object getFieldValue(int field)
-    {
-        checkState(fields != null, "Cursor has not been advanced yet");
-        return fields.get(field);
-    }
-
     private void extractFromSource(SearchHit hit)
     {
         List<Field> fields = new ArrayList<>();
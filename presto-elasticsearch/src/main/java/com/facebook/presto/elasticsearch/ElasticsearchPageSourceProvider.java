@@ -14,10 +14,11 @@
 package com.facebook.presto.elasticsearch;
 
 import com.facebook.presto.spi.ColumnHandle;
+import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.ConnectorSplit;
-import com.facebook.presto.spi.RecordSet;
-import com.facebook.presto.spi.connector.ConnectorRecordSetProvider;
+import com.facebook.presto.spi.ConnectorTableLayoutHandle;
+import com.facebook.presto.spi.connector.ConnectorPageSourceProvider;
 import com.facebook.presto.spi.connector.ConnectorTransactionHandle;
 import com.google.common.collect.ImmutableList;
 
@@ -27,19 +28,19 @@ import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
-public class ElasticsearchRecordSetProvider
-        implements ConnectorRecordSetProvider
+public class ElasticsearchPageSourceProvider
+        implements ConnectorPageSourceProvider
 {
     private final ElasticsearchConnectorConfig config;
 
     @Inject
-    public ElasticsearchRecordSetProvider(ElasticsearchConnectorConfig config)
+    public ElasticsearchPageSourceProvider(ElasticsearchConnectorConfig config)
     {
         this.config = requireNonNull(config, "config is null");
     }
 
     @Override
-    public RecordSet getRecordSet(ConnectorTransactionHandle transactionHandle, ConnectorSession session, ConnectorSplit split, List<? extends ColumnHandle> columns)
+    public ConnectorPageSource createPageSource(ConnectorTransactionHandle transactionHandle, ConnectorSession session, ConnectorSplit split, ConnectorTableLayoutHandle layout, List<ColumnHandle> columns)
     {
         requireNonNull(split, "split is null");
         ElasticsearchSplit elasticsearchSplit = (ElasticsearchSplit) split;
@@ -49,6 +50,6 @@ public class ElasticsearchRecordSetProvider
             handles.add((ElasticsearchColumnHandle) handle);
         }
 
-        return new ElasticsearchRecordSet(elasticsearchSplit, config, handles.build());
+        return new ElasticsearchPageSource(handles.build(), config, elasticsearchSplit);
     }
 }
@@ -0,0 +1,277 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.elasticsearch;
+
+import com.facebook.presto.spi.ColumnHandle;
+import com.facebook.presto.spi.ConnectorPlanOptimizer;
+import com.facebook.presto.spi.ConnectorSession;
+import com.facebook.presto.spi.TableHandle;
+import com.facebook.presto.spi.VariableAllocator;
+import com.facebook.presto.spi.function.StandardFunctionResolution;
+import com.facebook.presto.spi.plan.AggregationNode;
+import com.facebook.presto.spi.plan.AggregationNode.Aggregation;
+import com.facebook.presto.spi.plan.FilterNode;
+import com.facebook.presto.spi.plan.LimitNode;
+import com.facebook.presto.spi.plan.PlanNode;
+import com.facebook.presto.spi.plan.PlanNodeIdAllocator;
+import com.facebook.presto.spi.plan.PlanVisitor;
+import com.facebook.presto.spi.plan.ProjectNode;
+import com.facebook.presto.spi.plan.TableScanNode;
+import com.facebook.presto.spi.predicate.Domain;
+import com.facebook.presto.spi.predicate.TupleDomain;
+import com.facebook.presto.spi.relation.DomainTranslator.ExtractionResult;
+import com.facebook.presto.spi.relation.RowExpressionService;
+import com.facebook.presto.spi.relation.VariableReferenceExpression;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static com.facebook.presto.spi.plan.AggregationNode.Step.PARTIAL;
+import static com.facebook.presto.spi.relation.DomainTranslator.BASIC_COLUMN_EXTRACTOR;
+import static com.facebook.presto.spi.relation.LogicalRowExpressions.TRUE_CONSTANT;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Pushes limits and partial {@code count(*)} aggregations over a table scan down into the Elasticsearch query,
+ * so that a split reads only as many documents as the limit, or only counts the documents of its shard.
+ * The operators are pushed down through a filter only when the query selects exactly the rows that the filter does.
+ */
+public class ElasticsearchPushdown
+        implements ConnectorPlanOptimizer
+{
+    private final StandardFunctionResolution functionResolution;
+    private final RowExpressionService rowExpressionService;
+
+    public ElasticsearchPushdown(StandardFunctionResolution functionResolution, RowExpressionService rowExpressionService)
+    {
+        this.functionResolution = requireNonNull(functionResolution, "functionResolution is null");
+        this.rowExpressionService = requireNonNull(rowExpressionService, "rowExpressionService is null");
+    }
+
+    @Override
+    public PlanNode optimize(PlanNode maxSubplan, ConnectorSession session, VariableAllocator variableAllocator, PlanNodeIdAllocator idAllocator)
+    {
+        return maxSubplan.accept(new Visitor(session, idAllocator), null);
+    }
+
+    private class Visitor
+            extends PlanVisitor<PlanNode, Void>
+    {
+        private final ConnectorSession session;
+        private final PlanNodeIdAllocator idAllocator;
+
+        public Visitor(ConnectorSession session, PlanNodeIdAllocator idAllocator)
+        {
+            this.session = requireNonNull(session, "session is null");
+            this.idAllocator = requireNonNull(idAllocator, "idAllocator is null");
+        }
+
+        @Override
+        public PlanNode visitPlan(PlanNode node, Void context)
+        {
+            ImmutableList.Builder<PlanNode> children = ImmutableList.builder();
+            boolean changed = false;
+            for (PlanNode child : node.getSources()) {
+                PlanNode newChild = child.accept(this, null);
+                if (newChild != child) {
+                    changed = true;
+                }
+                children.add(newChild);
+            }
+            if (!changed) {
+                return node;
+            }
+            return node.replaceChildren(children.build());
+        }
+
+        @Override
+        public PlanNode visitAggregation(AggregationNode node, Void context)
+        {
+            Optional<PlanNode> rewritten = pushDownCount(node, session, idAllocator);
+            if (rewritten.isPresent()) {
+                return rewritten.get();
+            }
+            return visitPlan(node, context);
+        }
+
+        @Override
+        public PlanNode visitLimit(LimitNode node, Void context)
+        {
+            Optional<PlanNode> rewritten = pushDownLimit(node.getSource(), node.getCount(), session, idAllocator);
+            if (rewritten.isPresent()) {
+                return node.replaceChildren(ImmutableList.of(rewritten.get()));
+            }
+            return visitPlan(node, context);
+        }
+    }
+
+    private Optional<PlanNode> pushDownCount(AggregationNode node, ConnectorSession session, PlanNodeIdAllocator idAllocator)
+    {
+        if (node.getStep() != PARTIAL || node.getGroupingSetCount() != 1 || !node.getGroupingKeys().isEmpty() || node.getAggregations().isEmpty() || node.getHashVariable().isPresent() || node.getGroupIdVariable().isPresent()) {
+            return Optional.empty();
+        }
+        for (Map.Entry<VariableReferenceExpression, Aggregation> entry : node.getAggregations().entrySet()) {
+            if (!isCountAll(entry.getKey(), entry.getValue())) {
+                return Optional.empty();
+            }
+        }
+
+        // projections do not change the number of rows, and count(*) does not read any of their outputs
+        PlanNode source = node.getSource();
+        while (source instanceof ProjectNode) {
+            source = ((ProjectNode) source).getSource();
+        }
+        Optional<FilterNode> filter = Optional.empty();
+        if (source instanceof FilterNode) {
+            filter = Optional.of((FilterNode) source);
+            source = ((FilterNode) source).getSource();
+        }
+        if (!(source instanceof TableScanNode)) {
+            return Optional.empty();
+        }
+        TableScanNode tableScan = (TableScanNode) source;
+        TableHandle table = tableScan.getTable();
+        if (!table.getLayout().isPresent()) {
+            return Optional.empty();
+        }
+        ElasticsearchTableLayoutHandle layout = (ElasticsearchTableLayoutHandle) table.getLayout().get();
+        if (layout.getLimit().isPresent() || layout.isCount()) {
+            return Optional.empty();
+        }
+        Optional<TupleDomain<ColumnHandle>> tupleDomain = getTupleDomain(layout.getTupleDomain(), filter, tableScan, session);
+        if (!tupleDomain.isPresent()) {
+            return Optional.empty();
+        }
+
+        // every count is read from a column of the split that holds the number of matching documents
+        ImmutableMap.Builder<VariableReferenceExpression, ColumnHandle> assignments = ImmutableMap.builder();
+        for (VariableReferenceExpression variable : node.getAggregations().keySet()) {
+            assignments.put(variable, new ElasticsearchColumnHandle(variable.getName(), BIGINT, variable.getName(), BIGINT.getDisplayName(), -1, false));
+        }
+        ElasticsearchTableLayoutHandle newLayout = new ElasticsearchTableLayoutHandle(layout.getTable(), tupleDomain.get(), OptionalLong.empty(), true);
+        return Optional.of(new TableScanNode(
+                idAllocator.getNextId(),
+                new TableHandle(table.getConnectorId(), table.getConnectorHandle(), table.getTransaction(), Optional.of(newLayout)),
+                node.getOutputVariables(),
+                assignments.build(),
+                TupleDomain.all(),
+                TupleDomain.all()));
+    }
+
+    private boolean isCountAll(VariableReferenceExpression variable, Aggregation aggregation)
+    {
+        return aggregation.getArguments().isEmpty()
+                && functionResolution.isCountFunction(aggregation.getFunctionHandle())
+                && variable.getType().equals(BIGINT)
+                && !aggregation.getFilter().isPresent()
+                && !aggregation.getOrderBy().isPresent()
+                && !aggregation.isDistinct()
+                && !aggregation.getMask().isPresent();
+    }
+
+    /**
+     * Returns the source with the limit pushed down into the table scan, or empty if the limit cannot be applied by the query.
+     */
+    private Optional<PlanNode> pushDownLimit(PlanNode source, long limit, ConnectorSession session, PlanNodeIdAllocator idAllocator)
+    {
+        if (source instanceof ProjectNode) {
+            return pushDownLimit(((ProjectNode) source).getSource(), limit, session, idAllocator)
+                    .map(newSource -> source.replaceChildren(ImmutableList.of(newSource)));
+        }
+        Optional<FilterNode> filter = Optional.empty();
+        PlanNode scan = source;
+        if (source instanceof FilterNode) {
+            filter = Optional.of((FilterNode) source);
+            scan = ((FilterNode) source).getSource();
+        }
+        if (!(scan instanceof TableScanNode)) {
+            return Optional.empty();
+        }
+        TableScanNode tableScan = (TableScanNode) scan;
+        TableHandle table = tableScan.getTable();
+        if (!table.getLayout().isPresent()) {
+            return Optional.empty();
+        }
+        ElasticsearchTableLayoutHandle layout = (ElasticsearchTableLayoutHandle) table.getLayout().get();
+        if (layout.isCount() || (layout.getLimit().isPresent() && layout.getLimit().getAsLong() <= limit)) {
+            return Optional.empty();
+        }
+        // the filter is still applied by the engine, but a split must not stop at documents that the filter then removes
+        Optional<TupleDomain<ColumnHandle>> tupleDomain = getTupleDomain(layout.getTupleDomain(), filter, tableScan, session);
+        if (!tupleDomain.isPresent()) {
+            return Optional.empty();
+        }
+
+        long newLimit = layout.getLimit().isPresent() ? min(layout.getLimit().getAsLong(), limit) : limit;
+        ElasticsearchTableLayoutHandle newLayout = new ElasticsearchTableLayoutHandle(layout.getTable(), tupleDomain.get(), OptionalLong.of(newLimit), false);
+        PlanNode newScan = new TableScanNode(
+                idAllocator.getNextId(),
+                new TableHandle(table.getConnectorId(), table.getConnectorHandle(), table.getTransaction(), Optional.of(newLayout)),
+                tableScan.getOutputVariables(),
+                tableScan.getAssignments(),
+                tableScan.getCurrentConstraint(),
+                tableScan.getEnforcedConstraint());
+        if (filter.isPresent()) {
+            return Optional.of(filter.get().replaceChildren(ImmutableList.of(newScan)));
+        }
+        return Optional.of(newScan);
+    }
+
+    /**
+     * Returns the predicate that the query applies to select exactly the rows of the filter, or empty if the query cannot do so.
+     */
+    private Optional<TupleDomain<ColumnHandle>> getTupleDomain(TupleDomain<ColumnHandle> layoutTupleDomain, Optional<FilterNode> filter, TableScanNode tableScan, ConnectorSession session)
+    {
+        TupleDomain<ColumnHandle> tupleDomain = layoutTupleDomain;
+        if (filter.isPresent()) {
+            ExtractionResult<VariableReferenceExpression> extractionResult = rowExpressionService.getDomainTranslator()
+                    .fromPredicate(session, filter.get().getPredicate(), BASIC_COLUMN_EXTRACTOR);
+            if (!extractionResult.getRemainingExpression().equals(TRUE_CONSTANT)) {
+                return Optional.empty();
+            }
+            TupleDomain<VariableReferenceExpression> filterTupleDomain = extractionResult.getTupleDomain();
+            if (filterTupleDomain.getDomains().isPresent() && !tableScan.getAssignments().keySet().containsAll(filterTupleDomain.getDomains().get().keySet())) {
+                return Optional.empty();
+            }
+            tupleDomain = tupleDomain.intersect(filterTupleDomain.transform(tableScan.getAssignments()::get));
+        }
+        if (tupleDomain.isNone()) {
+            return Optional.empty();
+        }
+        for (Map.Entry<ColumnHandle, Domain> entry : tupleDomain.getDomains().get().entrySet()) {
+            if (!isExactlyTranslated((ElasticsearchColumnHandle) entry.getKey(), entry.getValue())) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(tupleDomain);
+    }
+
+    private static boolean isExactlyTranslated(ElasticsearchColumnHandle column, Domain domain)
+    {
+        // text fields are analyzed, so their terms do not match the values, floating point fields may be indexed with less precision
+        // than the values, and the query ignores the nulls of a domain that also has values
+        return ElasticsearchQueryBuilder.isSupportedType(column.getColumnType())
+                && !column.getColumnType().equals(DOUBLE)
+                && !column.getIsList()
+                && (!column.getColumnType().equals(VARCHAR) || column.getColumnJsonType().equals("keyword"))
+                && (!domain.isNullAllowed() || domain.getValues().isNone());
+    }
+}
@@ -19,6 +19,7 @@ import com.facebook.presto.spi.predicate.Domain;
 import com.facebook.presto.spi.predicate.Range;
 import com.facebook.presto.spi.predicate.TupleDomain;
 import com.facebook.presto.spi.type.Type;
+import com.google.common.collect.ImmutableMap;
 import io.airlift.log.Logger;
 import io.airlift.slice.Slice;
 import io.airlift.units.Duration;
@@ -33,11 +34,14 @@ import org.elasticsearch.index.query.MatchAllQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.RangeQueryBuilder;
 import org.elasticsearch.index.query.TermQueryBuilder;
+import org.elasticsearch.search.slice.SliceBuilder;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
 
 import static com.facebook.presto.elasticsearch.ElasticsearchClient.createTransportClient;
@@ -52,6 +56,7 @@ import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Iterables.getOnlyElement;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -65,6 +70,9 @@ public class ElasticsearchQueryBuilder
     private final int scrollSize;
     private final TransportClient client;
     private final int shard;
+    private final int slice;
+    private final int sliceCount;
+    private final OptionalLong limit;
     private final TupleDomain<ColumnHandle> tupleDomain;
     private final List<ElasticsearchColumnHandle> columns;
     private final String index;
@@ -80,6 +88,9 @@ public class ElasticsearchQueryBuilder
         tupleDomain = split.getTupleDomain();
         index = split.getIndex();
         shard = split.getShard();
+        slice = split.getSlice();
+        sliceCount = split.getSliceCount();
+        limit = split.getLimit();
         type = split.getType();
         InetAddress address;
         try {
@@ -100,18 +111,38 @@ public class ElasticsearchQueryBuilder
 
     public SearchRequestBuilder buildScrollSearchRequest()
     {
-        String indices = index != null && !index.isEmpty() ? index : "_all";
         List<String> fields = columns.stream()
                 .map(ElasticsearchColumnHandle::getColumnName)
                 .collect(toList());
-        SearchRequestBuilder searchRequestBuilder = client.prepareSearch(indices)
+        SearchRequestBuilder searchRequestBuilder = client.prepareSearch(getIndices())
                 .setTypes(type)
                 .setSearchType(QUERY_THEN_FETCH)
                 .setScroll(new TimeValue(scrollTimeout.toMillis()))
                 .setFetchSource(fields.toArray(new String[0]), null)
                 .setQuery(buildSearchQuery())
+                .setSize(limit.isPresent() ? (int) min(scrollSize, limit.getAsLong()) : scrollSize);
+        if (sliceCount > 1) {
+            // the slices of the scroll are spread over the shards by Elasticsearch, so the shard is not set as the preference
+            searchRequestBuilder.slice(new SliceBuilder(slice, sliceCount));
+        }
+        else {
+            searchRequestBuilder.setPreference("_shards:" + shard);
+        }
+        LOG.debug("Elasticsearch Request: %s", searchRequestBuilder);
+        return searchRequestBuilder;
+    }
+
+    /**
+     * Returns a request for the number of documents of the shard that match the query, without fetching any of them.
+     */
+    public SearchRequestBuilder buildCountSearchRequest()
+    {
+        SearchRequestBuilder searchRequestBuilder = client.prepareSearch(getIndices())
+                .setTypes(type)
+                .setSearchType(QUERY_THEN_FETCH)
+                .setQuery(buildSearchQuery())
                 .setPreference("_shards:" + shard)
-                .setSize(scrollSize);
+                .setSize(0);
         LOG.debug("Elasticsearch Request: %s", searchRequestBuilder);
         return searchRequestBuilder;
     }
@@ -122,18 +153,39 @@ public class ElasticsearchQueryBuilder
                 .setScroll(new TimeValue(scrollTimeout.toMillis()));
     }
 
+    public void clearScroll(String scrollId)
+    {
+        client.prepareClearScroll()
+                .addScrollId(scrollId)
+                .execute()
+                .actionGet();
+    }
+
+    /**
+     * Returns whether predicates on columns of the type are translated to the query.
+     */
+    public static boolean isSupportedType(Type type)
+    {
+        return type.equals(BIGINT) || type.equals(INTEGER) || type.equals(DOUBLE) || type.equals(BOOLEAN) || type.equals(VARCHAR);
+    }
+
+    private String getIndices()
+    {
+        return index != null && !index.isEmpty() ? index : "_all";
+    }
+
     private QueryBuilder buildSearchQuery()
     {
         BoolQueryBuilder boolQueryBuilder = new BoolQueryBuilder();
-        for (ElasticsearchColumnHandle column : columns) {
-            BoolQueryBuilder columnQueryBuilder = new BoolQueryBuilder();
+        // the predicate may also be on columns that are not read, when the documents are only counted
+        for (Map.Entry<ColumnHandle, Domain> entry : tupleDomain.getDomains().orElse(ImmutableMap.of()).entrySet()) {
+            ElasticsearchColumnHandle column = (ElasticsearchColumnHandle) entry.getKey();
             Type type = column.getColumnType();
-            if (tupleDomain.getDomains().isPresent()) {
-                Domain domain = tupleDomain.getDomains().get().get(column);
-                if (domain != null) {
-                    columnQueryBuilder.should(buildPredicate(column.getColumnJsonPath(), domain, type));
-                }
+            if (!isSupportedType(type)) {
+                continue;
             }
+            BoolQueryBuilder columnQueryBuilder = new BoolQueryBuilder();
+            columnQueryBuilder.should(buildPredicate(column.getColumnJsonPath(), entry.getValue(), type));
             boolQueryBuilder.must(columnQueryBuilder);
         }
         if (boolQueryBuilder.hasClauses()) {
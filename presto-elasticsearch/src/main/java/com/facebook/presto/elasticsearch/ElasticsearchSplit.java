@@ -22,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
 
 import java.util.List;
+import java.util.OptionalLong;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Objects.requireNonNull;
@@ -35,6 +36,10 @@ public class ElasticsearchSplit
     private final String searchNode;
     private final int port;
     private final TupleDomain<ColumnHandle> tupleDomain;
+    private final int slice;
+    private final int sliceCount;
+    private final OptionalLong limit;
+    private final boolean count;
 
     @JsonCreator
     public ElasticsearchSplit(
@@ -43,7 +48,11 @@ public class ElasticsearchSplit
             @JsonProperty("shard") int shard,
             @JsonProperty("searchNode") String searchNode,
             @JsonProperty("port") int port,
-            @JsonProperty("tupleDomain") TupleDomain<ColumnHandle> tupleDomain)
+            @JsonProperty("tupleDomain") TupleDomain<ColumnHandle> tupleDomain,
+            @JsonProperty("slice") int slice,
+            @JsonProperty("sliceCount") int sliceCount,
+            @JsonProperty("limit") OptionalLong limit,
+            @JsonProperty("count") boolean count)
     {
         this.index = requireNonNull(index, "index is null");
         this.type = requireNonNull(type, "index is null");
@@ -51,6 +60,10 @@ public class ElasticsearchSplit
         this.port = port;
         this.shard = shard;
         this.tupleDomain = requireNonNull(tupleDomain, "tupleDomain is null");
+        this.slice = slice;
+        this.sliceCount = sliceCount;
+        this.limit = requireNonNull(limit, "limit is null");
+        this.count = count;
     }
 
     @JsonProperty
@@ -89,6 +102,34 @@ public class ElasticsearchSplit
         return tupleDomain;
     }
 
+    /**
+     * The slice of the scroll that the split reads, if {@link #getSliceCount()} is greater than one.
+     * Otherwise the split reads the whole shard.
+     */
+    @JsonProperty
+    public int getSlice()
+    {
+        return slice;
+    }
+
+    @JsonProperty
+    public int getSliceCount()
+    {
+        return sliceCount;
+    }
+
+    @JsonProperty
+    public OptionalLong getLimit()
+    {
+        return limit;
+    }
+
+    @JsonProperty
+    public boolean isCount()
+    {
+        return count;
+    }
+
     @Override
     public boolean isRemotelyAccessible()
     {
@@ -117,6 +158,10 @@ public class ElasticsearchSplit
                 .addValue(port)
                 .addValue(searchNode)
                 .addValue(tupleDomain)
+                .add("slice", slice)
+                .add("sliceCount", sliceCount)
+                .add("limit", limit)
+                .add("count", count)
                 .toString();
     }
 }
@@ -36,11 +36,13 @@ public class ElasticsearchSplitManager
         implements ConnectorSplitManager
 {
     private final ElasticsearchClient client;
+    private final int scrollSlicesPerShard;
 
     @Inject
-    public ElasticsearchSplitManager(ElasticsearchClient client)
+    public ElasticsearchSplitManager(ElasticsearchClient client, ElasticsearchConnectorConfig config)
     {
         this.client = requireNonNull(client, "client is null");
+        this.scrollSlicesPerShard = requireNonNull(config, "config is null").getScrollSlicesPerShard();
     }
 
     @Override
@@ -60,18 +62,43 @@ public class ElasticsearchSplitManager
         for (String index : indices) {
             ClusterSearchShardsResponse response = client.getSearchShards(index, table);
             DiscoveryNode[] nodes = response.getNodes();
-            for (ClusterSearchShardsGroup group : response.getGroups()) {
-                int nodeIndex = group.getShardId().getId() % nodes.length;
-                ElasticsearchSplit split = new ElasticsearchSplit(
-                        index,
-                        table.getType(),
-                        group.getShardId().getId(),
-                        nodes[nodeIndex].getHostName(),
-                        nodes[nodeIndex].getAddress().getPort(),
-                        layoutHandle.getTupleDomain());
-                splits.add(split);
+            ClusterSearchShardsGroup[] groups = response.getGroups();
+            // the count of the documents is not read with a scroll, so it cannot be sliced
+            if (scrollSlicesPerShard == 1 || layoutHandle.isCount()) {
+                for (ClusterSearchShardsGroup group : groups) {
+                    splits.add(createSplit(index, table, layoutHandle, group.getShardId().getId(), nodes, 0, 1));
+                }
+                continue;
+            }
+            // a sliced scroll over the whole index reads slice i from shard i % shards, so the shard is only used to pick the node
+            int sliceCount = groups.length * scrollSlicesPerShard;
+            for (int slice = 0; slice < sliceCount; slice++) {
+                splits.add(createSplit(index, table, layoutHandle, slice % groups.length, nodes, slice, sliceCount));
             }
         }
         return new FixedSplitSource(splits.build());
     }
+
+    private static ElasticsearchSplit createSplit(
+            String index,
+            ElasticsearchTableDescription table,
+            ElasticsearchTableLayoutHandle layoutHandle,
+            int shard,
+            DiscoveryNode[] nodes,
+            int slice,
+            int sliceCount)
+    {
+        int nodeIndex = shard % nodes.length;
+        return new ElasticsearchSplit(
+                index,
+                table.getType(),
+                shard,
+                nodes[nodeIndex].getHostName(),
+                nodes[nodeIndex].getAddress().getPort(),
+                layoutHandle.getTupleDomain(),
+                slice,
+                sliceCount,
+                layoutHandle.getLimit(),
+                layoutHandle.isCount());
+    }
 }
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.Objects;
+import java.util.OptionalLong;
 
 import static java.util.Objects.requireNonNull;
 
@@ -28,14 +29,29 @@ public class ElasticsearchTableLayoutHandle
 {
     private final ElasticsearchTableHandle table;
     private final TupleDomain<ColumnHandle> tupleDomain;
+    private final OptionalLong limit;
+    private final boolean count;
 
+    public ElasticsearchTableLayoutHandle(ElasticsearchTableHandle table, TupleDomain<ColumnHandle> domain)
+    {
+        this(table, domain, OptionalLong.empty(), false);
+    }
+
+    /**
+     * @param limit the maximum number of documents that each split reads
+     * @param count whether each split only returns the number of documents that match the tuple domain, in every column
+     */
     @JsonCreator
     public ElasticsearchTableLayoutHandle(
             @JsonProperty("table") ElasticsearchTableHandle table,
-            @JsonProperty("tupleDomain") TupleDomain<ColumnHandle> domain)
+            @JsonProperty("tupleDomain") TupleDomain<ColumnHandle> domain,
+            @JsonProperty("limit") OptionalLong limit,
+            @JsonProperty("count") boolean count)
     {
         this.table = requireNonNull(table, "table is null");
         this.tupleDomain = requireNonNull(domain, "tupleDomain is null");
+        this.limit = requireNonNull(limit, "limit is null");
+        this.count = count;
     }
 
     @JsonProperty
@@ -50,6 +66,18 @@ public class ElasticsearchTableLayoutHandle
         return tupleDomain;
     }
 
+    @JsonProperty
+    public OptionalLong getLimit()
+    {
+        return limit;
+    }
+
+    @JsonProperty
+    public boolean isCount()
+    {
+        return count;
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -61,13 +89,15 @@ public class ElasticsearchTableLayoutHandle
         }
         ElasticsearchTableLayoutHandle that = (ElasticsearchTableLayoutHandle) o;
         return Objects.equals(table, that.table) &&
-                Objects.equals(tupleDomain, that.tupleDomain);
+                Objects.equals(tupleDomain, that.tupleDomain) &&
+                Objects.equals(limit, that.limit) &&
+                count == that.count;
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(table, tupleDomain);
+        return Objects.hash(table, tupleDomain, limit, count);
     }
 
     @Override
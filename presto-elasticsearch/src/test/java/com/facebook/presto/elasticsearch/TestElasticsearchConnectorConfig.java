@@ -37,6 +37,7 @@ public class TestElasticsearchConnectorConfig
                 .setTableDescriptionDirectory(new File("etc/elasticsearch/"))
                 .setDefaultSchema("default")
                 .setScrollSize(1000)
+                .setScrollSlicesPerShard(1)
                 .setScrollTimeout(new Duration(1, SECONDS))
                 .setMaxHits(1000)
                 .setRequestTimeout(new Duration(100, MILLISECONDS))
@@ -60,6 +61,7 @@ public class TestElasticsearchConnectorConfig
                 .put("elasticsearch.table-description-directory", "/etc/elasticsearch/")
                 .put("elasticsearch.default-schema-name", "test")
                 .put("elasticsearch.scroll-size", "4000")
+                .put("elasticsearch.scroll-slices-per-shard", "4")
                 .put("elasticsearch.scroll-timeout", "20s")
                 .put("elasticsearch.max-hits", "20000")
                 .put("elasticsearch.request-timeout", "1s")
@@ -80,6 +82,7 @@ public class TestElasticsearchConnectorConfig
                 .setTableDescriptionDirectory(new File("/etc/elasticsearch/"))
                 .setDefaultSchema("test")
                 .setScrollSize(4000)
+                .setScrollSlicesPerShard(4)
                 .setScrollTimeout(new Duration(20, SECONDS))
                 .setMaxHits(20000)
                 .setRequestTimeout(new Duration(1, SECONDS))
@@ -31,8 +31,10 @@ import static com.facebook.presto.elasticsearch.EmbeddedElasticsearchNode.create
 import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
 import static com.facebook.presto.testing.MaterializedResult.resultBuilder;
 import static com.facebook.presto.testing.assertions.Assert.assertEquals;
+import static io.airlift.testing.Assertions.assertContains;
 import static java.lang.String.format;
 import static org.elasticsearch.client.Requests.refreshRequest;
+import static org.testng.Assert.assertFalse;
 
 public class TestElasticsearchIntegrationSmokeTest
         extends AbstractTestIntegrationSmokeTest
@@ -116,4 +118,33 @@ public class TestElasticsearchIntegrationSmokeTest
                 "SELECT name, fields.fielda, fields.fieldb FROM nested.data",
                 "VALUES ('nestfield', 32, 'valueb')");
     }
+
+    @Test
+    public void testCountPushdown()
+    {
+        assertCountPushedDown("SELECT count(*) FROM orders");
+        assertCountPushedDown("SELECT count(*) FROM orders WHERE orderkey < 1000");
+        assertCountPushedDown("SELECT count(*) FROM orders WHERE custkey BETWEEN 100 AND 200 AND shippriority = 0");
+
+        // text fields, floating point fields and predicates that the query cannot express are counted by the engine
+        assertQuery("SELECT count(*) FROM orders WHERE orderstatus = 'F'");
+        assertQuery("SELECT count(*) FROM orders WHERE totalprice > 1000");
+        assertQuery("SELECT count(*) FROM orders WHERE orderkey % 2 = 0");
+    }
+
+    @Test
+    public void testLimitPushdown()
+    {
+        assertEquals(computeActual("SELECT * FROM orders LIMIT 10").getRowCount(), 10);
+        assertEquals(computeActual("SELECT orderkey FROM orders WHERE orderkey < 1000 LIMIT 5").getRowCount(), 5);
+        assertQuery("SELECT count(*) FROM (SELECT orderkey FROM orders WHERE orderstatus = 'F' LIMIT 5)", "VALUES 5");
+    }
+
+    private void assertCountPushedDown(String sql)
+    {
+        String plan = (String) computeActual("EXPLAIN (TYPE DISTRIBUTED) " + sql).getOnlyValue();
+        assertContains(plan, "Aggregate(FINAL)");
+        assertFalse(plan.contains("Aggregate(PARTIAL)"), "count is not pushed down:\n" + plan);
+        assertQuery(sql);
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.elasticsearch;
+
+import com.facebook.presto.metadata.MetadataManager;
+import com.facebook.presto.spi.ColumnHandle;
+import com.facebook.presto.spi.ConnectorId;
+import com.facebook.presto.spi.TableHandle;
+import com.facebook.presto.spi.plan.FilterNode;
+import com.facebook.presto.spi.plan.LimitNode;
+import com.facebook.presto.spi.plan.PlanNode;
+import com.facebook.presto.spi.plan.PlanNodeIdAllocator;
+import com.facebook.presto.spi.plan.TableScanNode;
+import com.facebook.presto.spi.predicate.Domain;
+import com.facebook.presto.spi.predicate.TupleDomain;
+import com.facebook.presto.spi.relation.CallExpression;
+import com.facebook.presto.spi.relation.RowExpression;
+import com.facebook.presto.spi.relation.VariableReferenceExpression;
+import com.facebook.presto.sql.gen.RowExpressionPredicateCompiler;
+import com.facebook.presto.sql.planner.planPrinter.RowExpressionFormatter;
+import com.facebook.presto.sql.relational.ConnectorRowExpressionService;
+import com.facebook.presto.sql.relational.FunctionResolution;
+import com.facebook.presto.sql.relational.RowExpressionDeterminismEvaluator;
+import com.facebook.presto.sql.relational.RowExpressionDomainTranslator;
+import com.facebook.presto.sql.relational.RowExpressionOptimizer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static com.facebook.presto.spi.function.OperatorType.EQUAL;
+import static com.facebook.presto.spi.plan.LimitNode.Step.FINAL;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.sql.relational.Expressions.constant;
+import static com.facebook.presto.testing.TestingConnectorSession.SESSION;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestElasticsearchPushdown
+{
+    private static final MetadataManager METADATA = MetadataManager.createTestMetadataManager();
+    private static final FunctionResolution FUNCTION_RESOLUTION = new FunctionResolution(METADATA.getFunctionManager());
+
+    private static final ElasticsearchTableHandle TABLE = new ElasticsearchTableHandle("tpch", "orders");
+    private static final ElasticsearchColumnHandle CUSTKEY = new ElasticsearchColumnHandle("custkey", BIGINT, "custkey", "long", 0, false);
+    private static final VariableReferenceExpression CUSTKEY_VARIABLE = new VariableReferenceExpression("custkey", BIGINT);
+
+    private final ElasticsearchPushdown pushdown = new ElasticsearchPushdown(
+            FUNCTION_RESOLUTION,
+            new ConnectorRowExpressionService(
+                    new RowExpressionDomainTranslator(METADATA),
+                    new RowExpressionOptimizer(METADATA),
+                    new RowExpressionPredicateCompiler(METADATA),
+                    new RowExpressionDeterminismEvaluator(METADATA),
+                    new RowExpressionFormatter(METADATA.getFunctionManager())));
+
+    @Test
+    public void testLimitOverFilterNotInLayout()
+    {
+        PlanNodeIdAllocator idAllocator = new PlanNodeIdAllocator();
+        RowExpression predicate = new CallExpression(
+                EQUAL.name(),
+                FUNCTION_RESOLUTION.comparisonFunction(EQUAL, BIGINT, BIGINT),
+                BOOLEAN,
+                ImmutableList.of(CUSTKEY_VARIABLE, constant(1L, BIGINT)));
+        PlanNode plan = new LimitNode(
+                idAllocator.getNextId(),
+                new FilterNode(idAllocator.getNextId(), tableScan(idAllocator, new ElasticsearchTableLayoutHandle(TABLE, TupleDomain.all())), predicate),
+                10,
+                FINAL);
+
+        ElasticsearchTableLayoutHandle layout = getLayout(pushdown.optimize(plan, SESSION, null, idAllocator));
+
+        // a split that stops after the limit must only count the documents that the filter keeps
+        assertEquals(layout.getLimit(), OptionalLong.of(10));
+        assertEquals(layout.getTupleDomain(), TupleDomain.withColumnDomains(ImmutableMap.<ColumnHandle, Domain>of(CUSTKEY, Domain.singleValue(BIGINT, 1L))));
+    }
+
+    @Test
+    public void testLimitWithoutFilter()
+    {
+        PlanNodeIdAllocator idAllocator = new PlanNodeIdAllocator();
+        TupleDomain<ColumnHandle> tupleDomain = TupleDomain.withColumnDomains(ImmutableMap.of(CUSTKEY, Domain.singleValue(BIGINT, 2L)));
+        PlanNode plan = new LimitNode(
+                idAllocator.getNextId(),
+                tableScan(idAllocator, new ElasticsearchTableLayoutHandle(TABLE, tupleDomain, OptionalLong.of(100), false)),
+                10,
+                FINAL);
+
+        ElasticsearchTableLayoutHandle layout = getLayout(pushdown.optimize(plan, SESSION, null, idAllocator));
+
+        assertEquals(layout.getLimit(), OptionalLong.of(10));
+        assertEquals(layout.getTupleDomain(), tupleDomain);
+    }
+
+    private static TableScanNode tableScan(PlanNodeIdAllocator idAllocator, ElasticsearchTableLayoutHandle layout)
+    {
+        return new TableScanNode(
+                idAllocator.getNextId(),
+                new TableHandle(new ConnectorId("elasticsearch"), TABLE, ElasticsearchTransactionHandle.INSTANCE, Optional.of(layout)),
+                ImmutableList.of(CUSTKEY_VARIABLE),
+                ImmutableMap.of(CUSTKEY_VARIABLE, CUSTKEY),
+                TupleDomain.all(),
+                TupleDomain.all());
+    }
+
+    private static ElasticsearchTableLayoutHandle getLayout(PlanNode plan)
+    {
+        PlanNode node = plan;
+        while (!(node instanceof TableScanNode)) {
+            assertEquals(node.getSources().size(), 1);
+            node = node.getSources().get(0);
+        }
+        Optional<?> layout = ((TableScanNode) node).getTable().getLayout();
+        assertTrue(layout.isPresent());
+        return (ElasticsearchTableLayoutHandle) layout.get();
+    }
+}
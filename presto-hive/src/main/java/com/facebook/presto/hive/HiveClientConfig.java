@@ -66,6 +66,7 @@ public class HiveClientConfig
     private int domainCompactionThreshold = 100;
     private DataSize writerSortBufferSize = new DataSize(64, MEGABYTE);
     private boolean forceLocalScheduling;
+    private boolean softAffinitySchedulingEnabled;
     private boolean recursiveDirWalkerEnabled;
 
     private int maxConcurrentFileRenames = 20;
@@ -104,6 +105,8 @@ public class HiveClientConfig
 
     private boolean useParquetColumnNames;
     private boolean failOnCorruptedParquetStatistics = true;
+    private boolean parquetMetadataCacheEnabled;
+    private DataSize parquetMetadataCacheSize = new DataSize(256, MEGABYTE);
 
     private boolean assumeCanonicalPartitionKeys;
 
@@ -115,6 +118,8 @@ public class HiveClientConfig
     private DataSize orcTinyStripeThreshold = new DataSize(8, MEGABYTE);
     private DataSize orcStreamBufferSize = new DataSize(8, MEGABYTE);
     private DataSize orcMaxReadBlockSize = new DataSize(16, MEGABYTE);
+    private boolean orcMetadataCacheEnabled;
+    private DataSize orcMetadataCacheSize = new DataSize(256, MEGABYTE);
     private boolean orcLazyReadSmallRanges = true;
     private boolean orcOptimizedWriterEnabled = true;
     private double orcWriterValidationPercentage;
@@ -242,6 +247,19 @@ public class HiveClientConfig
         return this;
     }
 
+    public boolean isSoftAffinitySchedulingEnabled()
+    {
+        return softAffinitySchedulingEnabled;
+    }
+
+    @Config("hive.soft-affinity-scheduling-enabled")
+    @ConfigDescription("Prefer scheduling the splits of a file on the same worker, so that the worker local data cache can be reused")
+    public HiveClientConfig setSoftAffinitySchedulingEnabled(boolean softAffinitySchedulingEnabled)
+    {
+        this.softAffinitySchedulingEnabled = softAffinitySchedulingEnabled;
+        return this;
+    }
+
     @Min(1)
     public int getMaxConcurrentFileRenames()
     {
@@ -781,6 +799,33 @@ public class HiveClientConfig
         return this;
     }
 
+    public boolean isOrcMetadataCacheEnabled()
+    {
+        return orcMetadataCacheEnabled;
+    }
+
+    @Config("hive.orc.metadata-cache-enabled")
+    @ConfigDescription("Cache the footers, stripe footers and row group indexes of ORC files on the worker")
+    public HiveClientConfig setOrcMetadataCacheEnabled(boolean orcMetadataCacheEnabled)
+    {
+        this.orcMetadataCacheEnabled = orcMetadataCacheEnabled;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getOrcMetadataCacheSize()
+    {
+        return orcMetadataCacheSize;
+    }
+
+    @Config("hive.orc.metadata-cache-size")
+    @ConfigDescription("Maximum estimated memory size of the cached ORC metadata")
+    public HiveClientConfig setOrcMetadataCacheSize(DataSize orcMetadataCacheSize)
+    {
+        this.orcMetadataCacheSize = orcMetadataCacheSize;
+        return this;
+    }
+
     @Deprecated
     public boolean isOrcLazyReadSmallRanges()
     {
@@ -946,6 +991,33 @@ public class HiveClientConfig
         return this;
     }
 
+    public boolean isParquetMetadataCacheEnabled()
+    {
+        return parquetMetadataCacheEnabled;
+    }
+
+    @Config("hive.parquet.metadata-cache-enabled")
+    @ConfigDescription("Cache the footers of Parquet files on the worker")
+    public HiveClientConfig setParquetMetadataCacheEnabled(boolean parquetMetadataCacheEnabled)
+    {
+        this.parquetMetadataCacheEnabled = parquetMetadataCacheEnabled;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getParquetMetadataCacheSize()
+    {
+        return parquetMetadataCacheSize;
+    }
+
+    @Config("hive.parquet.metadata-cache-size")
+    @ConfigDescription("Maximum estimated memory size of the cached Parquet footers")
+    public HiveClientConfig setParquetMetadataCacheSize(DataSize parquetMetadataCacheSize)
+    {
+        this.parquetMetadataCacheSize = parquetMetadataCacheSize;
+        return this;
+    }
+
     @Deprecated
     public boolean isOptimizeMismatchedBucketCount()
     {
@@ -13,15 +13,27 @@
  */
 package com.facebook.presto.hive;
 
+import com.facebook.presto.hive.cache.CacheConfig;
+import com.facebook.presto.hive.cache.CacheStats;
+import com.facebook.presto.hive.cache.FileRangeCache;
+import com.facebook.presto.hive.cache.LocalFileRangeCache;
+import com.facebook.presto.hive.cache.NoopFileRangeCache;
 import com.facebook.presto.hive.metastore.SemiTransactionalHiveMetastore;
 import com.facebook.presto.hive.orc.DwrfBatchPageSourceFactory;
 import com.facebook.presto.hive.orc.DwrfSelectivePageSourceFactory;
 import com.facebook.presto.hive.orc.OrcBatchPageSourceFactory;
 import com.facebook.presto.hive.orc.OrcSelectivePageSourceFactory;
 import com.facebook.presto.hive.parquet.ParquetPageSourceFactory;
+import com.facebook.presto.hive.parquet.ParquetSelectivePageSourceFactory;
 import com.facebook.presto.hive.rcfile.RcFilePageSourceFactory;
 import com.facebook.presto.hive.rule.HivePlanOptimizerProvider;
 import com.facebook.presto.hive.s3.PrestoS3ClientFactory;
+import com.facebook.presto.orc.cache.InMemoryOrcMetadataCache;
+import com.facebook.presto.orc.cache.NoopOrcMetadataCache;
+import com.facebook.presto.orc.cache.OrcMetadataCache;
+import com.facebook.presto.parquet.cache.InMemoryParquetMetadataCache;
+import com.facebook.presto.parquet.cache.NoopParquetMetadataCache;
+import com.facebook.presto.parquet.cache.ParquetMetadataCache;
 import com.facebook.presto.spi.connector.ConnectorNodePartitioningProvider;
 import com.facebook.presto.spi.connector.ConnectorPageSinkProvider;
 import com.facebook.presto.spi.connector.ConnectorPageSourceProvider;
@@ -115,6 +127,12 @@ public class HiveClientModule
         binder.bind(FileFormatDataSourceStats.class).in(Scopes.SINGLETON);
         newExporter(binder).export(FileFormatDataSourceStats.class).as(generatedNameOf(FileFormatDataSourceStats.class, connectorId));
 
+        configBinder(binder).bindConfig(CacheConfig.class);
+        binder.bind(CacheStats.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(CacheStats.class).as(generatedNameOf(CacheStats.class, connectorId));
+        newExporter(binder).export(OrcMetadataCache.class).as(generatedNameOf(OrcMetadataCache.class, connectorId));
+        newExporter(binder).export(ParquetMetadataCache.class).as(generatedNameOf(ParquetMetadataCache.class, connectorId));
+
         Multibinder<HiveBatchPageSourceFactory> pageSourceFactoryBinder = newSetBinder(binder, HiveBatchPageSourceFactory.class);
         pageSourceFactoryBinder.addBinding().to(OrcBatchPageSourceFactory.class).in(Scopes.SINGLETON);
         pageSourceFactoryBinder.addBinding().to(DwrfBatchPageSourceFactory.class).in(Scopes.SINGLETON);
@@ -124,6 +142,7 @@ public class HiveClientModule
         Multibinder<HiveSelectivePageSourceFactory> selectivePageSourceFactoryBinder = newSetBinder(binder, HiveSelectivePageSourceFactory.class);
         selectivePageSourceFactoryBinder.addBinding().to(OrcSelectivePageSourceFactory.class).in(Scopes.SINGLETON);
         selectivePageSourceFactoryBinder.addBinding().to(DwrfSelectivePageSourceFactory.class).in(Scopes.SINGLETON);
+        selectivePageSourceFactoryBinder.addBinding().to(ParquetSelectivePageSourceFactory.class).in(Scopes.SINGLETON);
 
         Multibinder<HiveFileWriterFactory> fileWriterFactoryBinder = newSetBinder(binder, HiveFileWriterFactory.class);
         binder.bind(OrcFileWriterFactory.class).in(Scopes.SINGLETON);
@@ -131,6 +150,7 @@ public class HiveClientModule
         configBinder(binder).bindConfig(OrcFileWriterConfig.class);
         fileWriterFactoryBinder.addBinding().to(OrcFileWriterFactory.class).in(Scopes.SINGLETON);
         fileWriterFactoryBinder.addBinding().to(RcFileFileWriterFactory.class).in(Scopes.SINGLETON);
+        fileWriterFactoryBinder.addBinding().to(ParquetFileWriterFactory.class).in(Scopes.SINGLETON);
 
         configBinder(binder).bindConfig(ParquetFileWriterConfig.class);
     }
@@ -177,6 +197,41 @@ public class HiveClientModule
                                 hiveClientConfig.getMaxConcurrentZeroRowFileCreations())));
     }
 
+    @Singleton
+    @Provides
+    public FileRangeCache createFileRangeCache(HiveConnectorId hiveClientId, CacheConfig cacheConfig, CacheStats cacheStats)
+    {
+        if (!cacheConfig.isEnabled()) {
+            return new NoopFileRangeCache();
+        }
+        return new LocalFileRangeCache(
+                cacheConfig.getBaseDirectory().resolve(hiveClientId.toString()),
+                cacheConfig.getMaxCacheSize(),
+                cacheConfig.getPageSize(),
+                cacheConfig.getEvictionPolicy(),
+                cacheStats);
+    }
+
+    @Singleton
+    @Provides
+    public OrcMetadataCache createOrcMetadataCache(HiveClientConfig hiveClientConfig)
+    {
+        if (!hiveClientConfig.isOrcMetadataCacheEnabled()) {
+            return new NoopOrcMetadataCache();
+        }
+        return new InMemoryOrcMetadataCache(hiveClientConfig.getOrcMetadataCacheSize());
+    }
+
+    @Singleton
+    @Provides
+    public ParquetMetadataCache createParquetMetadataCache(HiveClientConfig hiveClientConfig)
+    {
+        if (!hiveClientConfig.isParquetMetadataCacheEnabled()) {
+            return new NoopParquetMetadataCache();
+        }
+        return new InMemoryParquetMetadataCache(hiveClientConfig.getParquetMetadataCacheSize());
+    }
+
     @Singleton
     @Provides
     public Function<HiveTransactionHandle, SemiTransactionalHiveMetastore> createMetastoreGetter(HiveTransactionManager transactionManager)
@@ -98,6 +98,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
 import io.airlift.json.JsonCodec;
 import io.airlift.slice.Slice;
 import org.apache.hadoop.fs.Path;
@@ -200,6 +201,7 @@ import static com.facebook.presto.hive.metastore.PrestoTableType.TEMPORARY_TABLE
 import static com.facebook.presto.hive.metastore.PrestoTableType.VIRTUAL_VIEW;
 import static com.facebook.presto.hive.metastore.StorageFormat.VIEW_STORAGE_FORMAT;
 import static com.facebook.presto.hive.metastore.StorageFormat.fromHiveStorageFormat;
+import static com.facebook.presto.hive.metastore.thrift.ThriftMetastoreUtil.STATS_PROPERTIES;
 import static com.facebook.presto.hive.metastore.thrift.ThriftMetastoreUtil.listEnabledPrincipals;
 import static com.facebook.presto.hive.security.SqlStandardAccessControl.ADMIN_ROLE_NAME;
 import static com.facebook.presto.hive.util.Statistics.ReduceOperator.ADD;
@@ -227,7 +229,9 @@ import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Streams.stream;
+import static com.google.common.hash.Hashing.sha256;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.UUID.randomUUID;
@@ -235,6 +239,7 @@ import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
+import static org.apache.hadoop.hive.metastore.api.hive_metastoreConstants.DDL_TIME;
 
 public class HiveMetadata
         implements TransactionalMetadata
@@ -251,6 +256,12 @@ public class HiveMetadata
     private static final String PRESTO_TEMPORARY_TABLE_NAME_PREFIX = "__presto_temporary_table_";
     public static final String AVRO_SCHEMA_URL_KEY = "avro.schema.url";
 
+    // the parameters of a table or partition that determine the version of its data
+    private static final List<String> VERSION_PARAMETERS = ImmutableList.<String>builder()
+            .add(DDL_TIME)
+            .addAll(STATS_PROPERTIES)
+            .build();
+
     private final boolean allowCorruptWritesForTesting;
     private final SemiTransactionalHiveMetastore metastore;
     private final HdfsEnvironment hdfsEnvironment;
@@ -535,6 +546,62 @@ public class HiveMetadata
         return Optional.empty();
     }
 
+    @Override
+    public Optional<String> getTableLayoutVersion(ConnectorSession session, ConnectorTableLayoutHandle layoutHandle)
+    {
+        // every write through the metastore updates the basic statistics of the table or of the written partitions,
+        // while the last DDL time is only set by the metastore when it is missing, so it only covers schema changes
+        HiveTableLayoutHandle tableLayoutHandle = (HiveTableLayoutHandle) layoutHandle;
+        if (!tableLayoutHandle.getPartitions().isPresent()) {
+            return Optional.empty();
+        }
+
+        SchemaTableName tableName = tableLayoutHandle.getSchemaTableName();
+        Optional<Table> table = metastore.getTable(tableName.getSchemaName(), tableName.getTableName());
+        if (!table.isPresent()) {
+            return Optional.empty();
+        }
+
+        Hasher version = sha256().newHasher();
+        putVersionParameters(version, table.get().getParameters());
+
+        List<String> partitionNames = tableLayoutHandle.getPartitions().get().stream()
+                .map(HivePartition::getPartitionId)
+                .filter(partitionId -> !partitionId.equals(UNPARTITIONED_ID))
+                .sorted()
+                .collect(toImmutableList());
+        if (partitionNames.isEmpty()) {
+            return hasStatisticsParameters(table.get().getParameters()) ? Optional.of(version.hash().toString()) : Optional.empty();
+        }
+
+        Map<String, Optional<Partition>> partitions = metastore.getPartitionsByNames(tableName.getSchemaName(), tableName.getTableName(), partitionNames);
+        for (String partitionName : partitionNames) {
+            Optional<Partition> partition = partitions.getOrDefault(partitionName, Optional.empty());
+            if (!partition.isPresent() || !hasStatisticsParameters(partition.get().getParameters())) {
+                return Optional.empty();
+            }
+            version.putString(partitionName, UTF_8);
+            putVersionParameters(version, partition.get().getParameters());
+        }
+        return Optional.of(version.hash().toString());
+    }
+
+    private static boolean hasStatisticsParameters(Map<String, String> parameters)
+    {
+        return STATS_PROPERTIES.stream().anyMatch(parameters::containsKey);
+    }
+
+    private static void putVersionParameters(Hasher version, Map<String, String> parameters)
+    {
+        for (String key : VERSION_PARAMETERS) {
+            String value = parameters.get(key);
+            if (value != null) {
+                version.putString(key, UTF_8)
+                        .putString(value, UTF_8);
+            }
+        }
+    }
+
     @Override
     public List<SchemaTableName> listTables(ConnectorSession session, String schemaNameOrNull)
     {
@@ -20,11 +20,14 @@ import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.ConnectorSplit;
 import com.facebook.presto.spi.ConnectorTableLayoutHandle;
+import com.facebook.presto.spi.FixedPageSource;
 import com.facebook.presto.spi.RecordCursor;
 import com.facebook.presto.spi.RecordPageSource;
 import com.facebook.presto.spi.Subfield;
 import com.facebook.presto.spi.connector.ConnectorPageSourceProvider;
 import com.facebook.presto.spi.connector.ConnectorTransactionHandle;
+import com.facebook.presto.spi.predicate.Domain;
+import com.facebook.presto.spi.predicate.NullableValue;
 import com.facebook.presto.spi.predicate.TupleDomain;
 import com.facebook.presto.spi.relation.RowExpression;
 import com.facebook.presto.spi.relation.RowExpressionService;
@@ -45,6 +48,7 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import static com.facebook.presto.hive.HiveColumnHandle.ColumnType.PARTITION_KEY;
 import static com.facebook.presto.hive.HiveColumnHandle.ColumnType.REGULAR;
@@ -52,6 +56,7 @@ import static com.facebook.presto.hive.HiveColumnHandle.ColumnType.SYNTHESIZED;
 import static com.facebook.presto.hive.HivePageSourceProvider.ColumnMapping.toColumnHandles;
 import static com.facebook.presto.hive.HiveSessionProperties.isPushdownFilterEnabled;
 import static com.facebook.presto.hive.HiveUtil.getPrefilledColumnValue;
+import static com.facebook.presto.hive.HiveUtil.parsePartitionValue;
 import static com.facebook.presto.spi.relation.ExpressionOptimizer.Level.MOST_OPTIMIZED;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
@@ -95,6 +100,24 @@ public class HivePageSourceProvider
 
     @Override
     public ConnectorPageSource createPageSource(ConnectorTransactionHandle transaction, ConnectorSession session, ConnectorSplit split, ConnectorTableLayoutHandle layout, List<ColumnHandle> columns)
+    {
+        return createPageSource(session, split, layout, columns, TupleDomain.all());
+    }
+
+    @Override
+    public ConnectorPageSource createPageSource(ConnectorTransactionHandle transaction, ConnectorSession session, ConnectorSplit split, ConnectorTableLayoutHandle layout, List<ColumnHandle> columns, TupleDomain<ColumnHandle> dynamicFilter)
+    {
+        HiveSplit hiveSplit = (HiveSplit) split;
+        TupleDomain<HiveColumnHandle> hiveDynamicFilter = dynamicFilter.transform(HiveColumnHandle.class::cast);
+        if (!partitionMatchesDynamicFilter(hiveSplit, hiveDynamicFilter)) {
+            return new FixedPageSource(ImmutableList.of());
+        }
+
+        // partition keys are prefilled, so only the domains of the data columns are useful to the file readers
+        return createPageSource(session, split, layout, columns, filterColumns(hiveDynamicFilter, column -> column.getColumnType() == REGULAR));
+    }
+
+    private ConnectorPageSource createPageSource(ConnectorSession session, ConnectorSplit split, ConnectorTableLayoutHandle layout, List<ColumnHandle> columns, TupleDomain<HiveColumnHandle> dynamicFilter)
     {
         HiveTableLayoutHandle hiveLayout = (HiveTableLayoutHandle) layout;
 
@@ -108,7 +131,15 @@ public class HivePageSourceProvider
         Configuration configuration = hdfsEnvironment.getConfiguration(new HdfsContext(session, hiveSplit.getDatabase(), hiveSplit.getTable()), path);
 
         if (isPushdownFilterEnabled(session)) {
-            return createSelectivePageSource(selectivePageSourceFactories, configuration, session, hiveSplit, hiveLayout, hiveColumns, hiveStorageTimeZone, rowExpressionService);
+            return createSelectivePageSource(selectivePageSourceFactories, configuration, session, hiveSplit, hiveLayout, hiveColumns, dynamicFilter, hiveStorageTimeZone, rowExpressionService);
+        }
+
+        TupleDomain<HiveColumnHandle> effectivePredicate = hiveLayout.getDomainPredicate()
+                .transform(Subfield::getRootName)
+                .transform(hiveLayout.getPredicateColumns()::get)
+                .intersect(dynamicFilter);
+        if (effectivePredicate.isNone()) {
+            return new FixedPageSource(ImmutableList.of());
         }
 
         Optional<ConnectorPageSource> pageSource = createHivePageSource(
@@ -121,10 +152,9 @@ public class HivePageSourceProvider
                 hiveSplit.getStart(),
                 hiveSplit.getLength(),
                 hiveSplit.getFileSize(),
+                hiveSplit.getFileModifiedTime(),
                 hiveSplit.getSchema(),
-                hiveLayout.getDomainPredicate()
-                        .transform(Subfield::getRootName)
-                        .transform(hiveLayout.getPredicateColumns()::get),
+                effectivePredicate,
                 hiveColumns,
                 hiveSplit.getPartitionKeys(),
                 hiveStorageTimeZone,
@@ -138,6 +168,37 @@ public class HivePageSourceProvider
         throw new IllegalStateException("Could not find a file reader for split " + hiveSplit);
     }
 
+    private boolean partitionMatchesDynamicFilter(HiveSplit split, TupleDomain<HiveColumnHandle> dynamicFilter)
+    {
+        if (dynamicFilter.isNone()) {
+            return false;
+        }
+        Map<HiveColumnHandle, Domain> domains = dynamicFilter.getDomains().get();
+        for (HivePartitionKey partitionKey : split.getPartitionKeys()) {
+            for (Map.Entry<HiveColumnHandle, Domain> entry : domains.entrySet()) {
+                HiveColumnHandle column = entry.getKey();
+                if (column.getColumnType() == PARTITION_KEY && column.getName().equals(partitionKey.getName())) {
+                    Type type = typeManager.getType(column.getTypeSignature());
+                    NullableValue value = parsePartitionValue(split.getPartitionName(), partitionKey.getValue(), type, hiveStorageTimeZone);
+                    if (!entry.getValue().includesNullableValue(value.getValue())) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static TupleDomain<HiveColumnHandle> filterColumns(TupleDomain<HiveColumnHandle> tupleDomain, Predicate<HiveColumnHandle> predicate)
+    {
+        if (tupleDomain.isNone()) {
+            return tupleDomain;
+        }
+        return TupleDomain.withColumnDomains(tupleDomain.getDomains().get().entrySet().stream()
+                .filter(entry -> predicate.test(entry.getKey()))
+                .collect(toImmutableMap(Map.Entry::getKey, Map.Entry::getValue)));
+    }
+
     private static ConnectorPageSource createSelectivePageSource(
             Set<HiveSelectivePageSourceFactory> selectivePageSourceFactories,
             Configuration configuration,
@@ -145,9 +206,16 @@ public class HivePageSourceProvider
             HiveSplit split,
             HiveTableLayoutHandle layout,
             List<HiveColumnHandle> columns,
+            TupleDomain<HiveColumnHandle> dynamicFilter,
             DateTimeZone hiveStorageTimeZone,
             RowExpressionService rowExpressionService)
     {
+        TupleDomain<Subfield> domainPredicate = layout.getDomainPredicate()
+                .intersect(dynamicFilter.transform(column -> new Subfield(column.getName(), ImmutableList.of())));
+        if (domainPredicate.isNone()) {
+            return new FixedPageSource(ImmutableList.of());
+        }
+
         Set<HiveColumnHandle> interimColumns = ImmutableSet.<HiveColumnHandle>builder()
                 .addAll(layout.getPredicateColumns().values())
                 .addAll(split.getBucketConversion().map(BucketConversion::getBucketColumnHandles).orElse(ImmutableList.of()))
@@ -190,11 +258,12 @@ public class HivePageSourceProvider
                     split.getStart(),
                     split.getLength(),
                     split.getFileSize(),
+                    split.getFileModifiedTime(),
                     split.getSchema(),
                     toColumnHandles(columnMappings, true),
                     prefilledValues,
                     outputColumns,
-                    layout.getDomainPredicate(),
+                    domainPredicate,
                     optimizedRemainingPredicate,
                     hiveStorageTimeZone);
             if (pageSource.isPresent()) {
@@ -215,6 +284,7 @@ public class HivePageSourceProvider
             long start,
             long length,
             long fileSize,
+            long fileModifiedTime,
             Properties schema,
             TupleDomain<HiveColumnHandle> effectivePredicate,
             List<HiveColumnHandle> hiveColumns,
@@ -244,6 +314,7 @@ public class HivePageSourceProvider
                     start,
                     length,
                     fileSize,
+                    fileModifiedTime,
                     schema,
                     toColumnHandles(regularAndInterimColumnMappings, true),
                     effectivePredicate,
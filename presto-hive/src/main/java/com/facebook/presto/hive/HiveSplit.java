@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import io.airlift.slice.XxHash64;
 
 import java.util.List;
 import java.util.Map;
@@ -26,9 +27,11 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Properties;
+import java.util.TreeMap;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.slice.Slices.utf8Slice;
 import static java.util.Objects.requireNonNull;
 
 public class HiveSplit
@@ -38,6 +41,7 @@ public class HiveSplit
     private final long start;
     private final long length;
     private final long fileSize;
+    private final long fileModifiedTime;
     private final Properties schema;
     private final List<HivePartitionKey> partitionKeys;
     private final List<HostAddress> addresses;
@@ -47,6 +51,7 @@ public class HiveSplit
     private final OptionalInt readBucketNumber;
     private final OptionalInt tableBucketNumber;
     private final boolean forceLocalScheduling;
+    private final boolean softAffinitySchedulingEnabled;
     private final Map<Integer, HiveType> columnCoercions; // key: hiveColumnIndex
     private final Optional<BucketConversion> bucketConversion;
     private final boolean s3SelectPushdownEnabled;
@@ -60,12 +65,14 @@ public class HiveSplit
             @JsonProperty("start") long start,
             @JsonProperty("length") long length,
             @JsonProperty("fileSize") long fileSize,
+            @JsonProperty("fileModifiedTime") long fileModifiedTime,
             @JsonProperty("schema") Properties schema,
             @JsonProperty("partitionKeys") List<HivePartitionKey> partitionKeys,
             @JsonProperty("addresses") List<HostAddress> addresses,
             @JsonProperty("readBucketNumber") OptionalInt readBucketNumber,
             @JsonProperty("tableBucketNumber") OptionalInt tableBucketNumber,
             @JsonProperty("forceLocalScheduling") boolean forceLocalScheduling,
+            @JsonProperty("softAffinitySchedulingEnabled") boolean softAffinitySchedulingEnabled,
             @JsonProperty("columnCoercions") Map<Integer, HiveType> columnCoercions,
             @JsonProperty("bucketConversion") Optional<BucketConversion> bucketConversion,
             @JsonProperty("s3SelectPushdownEnabled") boolean s3SelectPushdownEnabled)
@@ -92,12 +99,14 @@ public class HiveSplit
         this.start = start;
         this.length = length;
         this.fileSize = fileSize;
+        this.fileModifiedTime = fileModifiedTime;
         this.schema = schema;
         this.partitionKeys = ImmutableList.copyOf(partitionKeys);
         this.addresses = ImmutableList.copyOf(addresses);
         this.readBucketNumber = readBucketNumber;
         this.tableBucketNumber = tableBucketNumber;
         this.forceLocalScheduling = forceLocalScheduling;
+        this.softAffinitySchedulingEnabled = softAffinitySchedulingEnabled;
         this.columnCoercions = columnCoercions;
         this.bucketConversion = bucketConversion;
         this.s3SelectPushdownEnabled = s3SelectPushdownEnabled;
@@ -145,6 +154,12 @@ public class HiveSplit
         return fileSize;
     }
 
+    @JsonProperty
+    public long getFileModifiedTime()
+    {
+        return fileModifiedTime;
+    }
+
     @JsonProperty
     public Properties getSchema()
     {
@@ -182,6 +197,12 @@ public class HiveSplit
         return forceLocalScheduling;
     }
 
+    @JsonProperty
+    public boolean isSoftAffinitySchedulingEnabled()
+    {
+        return softAffinitySchedulingEnabled;
+    }
+
     @JsonProperty
     public Map<Integer, HiveType> getColumnCoercions()
     {
@@ -200,12 +221,62 @@ public class HiveSplit
         return !forceLocalScheduling;
     }
 
+    @Override
+    public List<HostAddress> getPreferredNodes(List<HostAddress> candidates)
+    {
+        if (!softAffinitySchedulingEnabled || candidates.isEmpty()) {
+            return ImmutableList.of();
+        }
+
+        // rendezvous hashing: a file keeps going to the same node as long as that node is alive
+        long pathHash = XxHash64.hash(utf8Slice(path));
+        HostAddress preferredNode = null;
+        long maxHash = Long.MIN_VALUE;
+        for (HostAddress candidate : candidates) {
+            long hash = XxHash64.hash(pathHash, utf8Slice(candidate.toString()));
+            if (preferredNode == null || hash > maxHash) {
+                preferredNode = candidate;
+                maxHash = hash;
+            }
+        }
+        return ImmutableList.of(preferredNode);
+    }
+
     @JsonProperty
     public boolean isS3SelectPushdownEnabled()
     {
         return s3SelectPushdownEnabled;
     }
 
+    @Override
+    public Optional<String> getSplitIdentifier()
+    {
+        // the modification time is unknown on some file systems, so a rewritten file cannot be detected
+        if (fileModifiedTime <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(toStringHelper(this)
+                .add("database", database)
+                .add("table", table)
+                .add("partitionName", partitionName)
+                .add("path", path)
+                .add("start", start)
+                .add("length", length)
+                .add("fileSize", fileSize)
+                .add("fileModifiedTime", fileModifiedTime)
+                .add("schema", new TreeMap<>(schema))
+                .add("readBucketNumber", readBucketNumber)
+                .add("tableBucketNumber", tableBucketNumber)
+                .add("columnCoercions", new TreeMap<>(columnCoercions))
+                .add("bucketConversion", bucketConversion.map(conversion -> toStringHelper(conversion)
+                        .add("tableBucketCount", conversion.getTableBucketCount())
+                        .add("partitionBucketCount", conversion.getPartitionBucketCount())
+                        .add("bucketColumnHandles", conversion.getBucketColumnHandles())
+                        .toString()))
+                .add("s3SelectPushdownEnabled", s3SelectPushdownEnabled)
+                .toString());
+    }
+
     @Override
     public Object getInfo()
     {
@@ -214,10 +285,12 @@ public class HiveSplit
                 .put("start", start)
                 .put("length", length)
                 .put("fileSize", fileSize)
+                .put("fileModifiedTime", fileModifiedTime)
                 .put("hosts", addresses)
                 .put("database", database)
                 .put("table", table)
                 .put("forceLocalScheduling", forceLocalScheduling)
+                .put("softAffinitySchedulingEnabled", softAffinitySchedulingEnabled)
                 .put("partitionName", partitionName)
                 .put("s3SelectPushdownEnabled", s3SelectPushdownEnabled)
                 .build();
@@ -23,6 +23,7 @@ public class ParquetFileWriterConfig
 {
     private DataSize blockSize = new DataSize(ParquetWriter.DEFAULT_BLOCK_SIZE, BYTE);
     private DataSize pageSize = new DataSize(ParquetWriter.DEFAULT_PAGE_SIZE, BYTE);
+    private boolean parquetOptimizedWriterEnabled;
 
     public DataSize getBlockSize()
     {
@@ -47,4 +48,16 @@ public class ParquetFileWriterConfig
         this.pageSize = pageSize;
         return this;
     }
+
+    public boolean isParquetOptimizedWriterEnabled()
+    {
+        return parquetOptimizedWriterEnabled;
+    }
+
+    @Config("hive.parquet.optimized-writer.enabled")
+    public ParquetFileWriterConfig setParquetOptimizedWriterEnabled(boolean parquetOptimizedWriterEnabled)
+    {
+        this.parquetOptimizedWriterEnabled = parquetOptimizedWriterEnabled;
+        return this;
+    }
 }
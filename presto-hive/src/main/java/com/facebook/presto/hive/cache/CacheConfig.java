@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.DataSize;
+import io.airlift.units.MaxDataSize;
+import io.airlift.units.MinDataSize;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotNull;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+
+public class CacheConfig
+{
+    private static final String CACHE_ENABLED = "hive.cache.enabled";
+    private static final String CACHE_BASE_DIRECTORY = "hive.cache.base-directory";
+
+    public enum EvictionPolicy
+    {
+        LRU,
+        LFU,
+    }
+
+    private boolean enabled;
+    private Path baseDirectory;
+    private DataSize maxCacheSize = new DataSize(10, GIGABYTE);
+    private DataSize pageSize = new DataSize(1, MEGABYTE);
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    @Config(CACHE_ENABLED)
+    @ConfigDescription("Cache the data read from remote files on the local disk of workers")
+    public CacheConfig setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public Path getBaseDirectory()
+    {
+        return baseDirectory;
+    }
+
+    @Config(CACHE_BASE_DIRECTORY)
+    @ConfigDescription("Local directory where the cached data is stored")
+    public CacheConfig setBaseDirectory(String baseDirectory)
+    {
+        this.baseDirectory = baseDirectory == null ? null : Paths.get(baseDirectory);
+        return this;
+    }
+
+    @AssertTrue(message = CACHE_BASE_DIRECTORY + " must be configured when " + CACHE_ENABLED + " is set to true")
+    public boolean isBaseDirectoryConfiguredIfCacheEnabled()
+    {
+        return !enabled || baseDirectory != null;
+    }
+
+    @NotNull
+    public DataSize getMaxCacheSize()
+    {
+        return maxCacheSize;
+    }
+
+    @Config("hive.cache.max-size")
+    @ConfigDescription("Maximum size of the cached data on the local disk")
+    public CacheConfig setMaxCacheSize(DataSize maxCacheSize)
+    {
+        this.maxCacheSize = maxCacheSize;
+        return this;
+    }
+
+    @NotNull
+    @MinDataSize("4kB")
+    @MaxDataSize("64MB")
+    public DataSize getPageSize()
+    {
+        return pageSize;
+    }
+
+    @Config("hive.cache.page-size")
+    @ConfigDescription("Granularity of the cached file ranges")
+    public CacheConfig setPageSize(DataSize pageSize)
+    {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    @NotNull
+    public EvictionPolicy getEvictionPolicy()
+    {
+        return evictionPolicy;
+    }
+
+    @Config("hive.cache.eviction-policy")
+    public CacheConfig setEvictionPolicy(EvictionPolicy evictionPolicy)
+    {
+        this.evictionPolicy = evictionPolicy;
+        return this;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import io.airlift.stats.CounterStat;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CacheStats
+{
+    private final CounterStat hits = new CounterStat();
+    private final CounterStat misses = new CounterStat();
+    private final CounterStat evictions = new CounterStat();
+    private final CounterStat writeFailures = new CounterStat();
+    private final CounterStat cacheReadBytes = new CounterStat();
+    private final CounterStat remoteReadBytes = new CounterStat();
+    private final AtomicLong cachedPages = new AtomicLong();
+    private final AtomicLong cachedBytes = new AtomicLong();
+
+    @Managed
+    @Nested
+    public CounterStat getHits()
+    {
+        return hits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getMisses()
+    {
+        return misses;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getEvictions()
+    {
+        return evictions;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getWriteFailures()
+    {
+        return writeFailures;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getCacheReadBytes()
+    {
+        return cacheReadBytes;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getRemoteReadBytes()
+    {
+        return remoteReadBytes;
+    }
+
+    @Managed
+    public long getCachedPages()
+    {
+        return cachedPages.get();
+    }
+
+    @Managed
+    public long getCachedBytes()
+    {
+        return cachedBytes.get();
+    }
+
+    public void hit(long bytes)
+    {
+        hits.update(1);
+        cacheReadBytes.update(bytes);
+    }
+
+    public void miss(long bytes)
+    {
+        misses.update(1);
+        remoteReadBytes.update(bytes);
+    }
+
+    public void pageAdded(long bytes)
+    {
+        cachedPages.incrementAndGet();
+        cachedBytes.addAndGet(bytes);
+    }
+
+    public void pageEvicted(long bytes)
+    {
+        evictions.update(1);
+        cachedPages.decrementAndGet();
+        cachedBytes.addAndGet(-bytes);
+    }
+
+    public void writeFailed()
+    {
+        writeFailures.update(1);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSInputStream;
+import org.apache.hadoop.fs.Path;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves positional reads from a {@link LocalFileRangeCache}, and delegates sequential reads to the remote file.
+ */
+class CachingInputStream
+        extends FSInputStream
+{
+    private final LocalFileRangeCache cache;
+    private final Path path;
+    private final long fileSize;
+    private final long fileModifiedTime;
+    private final FSDataInputStream inputStream;
+
+    public CachingInputStream(LocalFileRangeCache cache, Path path, long fileSize, long fileModifiedTime, FSDataInputStream inputStream)
+    {
+        this.cache = requireNonNull(cache, "cache is null");
+        this.path = requireNonNull(path, "path is null");
+        this.fileSize = fileSize;
+        this.fileModifiedTime = fileModifiedTime;
+        this.inputStream = requireNonNull(inputStream, "inputStream is null");
+    }
+
+    @Override
+    public int read(long position, byte[] buffer, int offset, int length)
+            throws IOException
+    {
+        if (position >= fileSize) {
+            return -1;
+        }
+        int readLength = (int) min(length, fileSize - position);
+        readFully(position, buffer, offset, readLength);
+        return readLength;
+    }
+
+    @Override
+    public void readFully(long position, byte[] buffer, int offset, int length)
+            throws IOException
+    {
+        if (position < 0 || position + length > fileSize) {
+            throw new EOFException("Read past the end of " + path);
+        }
+        cache.read(path, fileSize, fileModifiedTime, inputStream, position, buffer, offset, length);
+    }
+
+    @Override
+    public void seek(long position)
+            throws IOException
+    {
+        inputStream.seek(position);
+    }
+
+    @Override
+    public long getPos()
+            throws IOException
+    {
+        return inputStream.getPos();
+    }
+
+    @Override
+    public boolean seekToNewSource(long targetPosition)
+            throws IOException
+    {
+        return inputStream.seekToNewSource(targetPosition);
+    }
+
+    @Override
+    public int read()
+            throws IOException
+    {
+        return inputStream.read();
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length)
+            throws IOException
+    {
+        return inputStream.read(buffer, offset, length);
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        inputStream.close();
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * Cache of file ranges read by the file format readers, shared by all queries running on a worker.
+ */
+public interface FileRangeCache
+{
+    /**
+     * Returns a stream whose positional reads go through the cache. A file is identified by its
+     * path, size and modification time, so that a file rewritten in place is not read from the cache.
+     */
+    FSDataInputStream wrap(Path path, long fileSize, long fileModifiedTime, FSDataInputStream inputStream);
+}
@@ -0,0 +1,353 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import com.facebook.presto.hive.cache.CacheConfig.EvictionPolicy;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
+import io.airlift.units.DataSize;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.Path;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.exists;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches fixed size pages of remote files in a local directory. The index of the cached
+ * pages is kept in memory only, so the directory is emptied when the cache is created.
+ */
+public class LocalFileRangeCache
+        implements FileRangeCache
+{
+    private static final Logger log = Logger.get(LocalFileRangeCache.class);
+
+    private final File directory;
+    private final long maxCacheSize;
+    private final int pageSize;
+    private final CacheStats stats;
+    private final AtomicLong nextPageId = new AtomicLong();
+
+    @GuardedBy("this")
+    private final Map<PageKey, CachedPage> pages = new HashMap<>();
+    @GuardedBy("this")
+    private final TreeSet<CachedPage> evictionQueue;
+    @GuardedBy("this")
+    private long cachedBytes;
+    @GuardedBy("this")
+    private long accessClock;
+
+    public LocalFileRangeCache(java.nio.file.Path directory, DataSize maxCacheSize, DataSize pageSize, EvictionPolicy evictionPolicy, CacheStats stats)
+    {
+        requireNonNull(directory, "directory is null");
+        this.maxCacheSize = requireNonNull(maxCacheSize, "maxCacheSize is null").toBytes();
+        this.pageSize = toIntExact(requireNonNull(pageSize, "pageSize is null").toBytes());
+        checkArgument(this.pageSize > 0, "pageSize must be positive");
+        this.stats = requireNonNull(stats, "stats is null");
+
+        switch (requireNonNull(evictionPolicy, "evictionPolicy is null")) {
+            case LRU:
+                evictionQueue = new TreeSet<>(Comparator.<CachedPage>comparingLong(page -> page.lastAccess)
+                        .thenComparingLong(page -> page.id));
+                break;
+            case LFU:
+                evictionQueue = new TreeSet<>(Comparator.<CachedPage>comparingLong(page -> page.accessCount)
+                        .thenComparingLong(page -> page.lastAccess)
+                        .thenComparingLong(page -> page.id));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported eviction policy: " + evictionPolicy);
+        }
+
+        try {
+            // pages left by a previous process are not in the index
+            if (exists(directory)) {
+                deleteRecursively(directory, ALLOW_INSECURE);
+            }
+            createDirectories(directory);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed to create cache directory " + directory, e);
+        }
+        this.directory = directory.toFile();
+    }
+
+    @Override
+    public FSDataInputStream wrap(Path path, long fileSize, long fileModifiedTime, FSDataInputStream inputStream)
+    {
+        return new FSDataInputStream(new CachingInputStream(this, path, fileSize, fileModifiedTime, inputStream));
+    }
+
+    /**
+     * Reads a range of a remote file. Cached pages are read from the local directory, and the
+     * missing pages are read from the remote file with as few reads as possible and then cached.
+     */
+    public void read(Path path, long fileSize, long fileModifiedTime, FSDataInputStream inputStream, long position, byte[] buffer, int offset, int length)
+            throws IOException
+    {
+        checkPositionIndexes(offset, offset + length, buffer.length);
+        checkArgument(position >= 0 && position + length <= fileSize, "range is outside of the file");
+        if (length == 0) {
+            return;
+        }
+
+        String file = path.toString();
+        long end = position + length;
+        long firstPage = position / pageSize;
+        long lastPage = (end - 1) / pageSize;
+        long firstMissingPage = -1;
+        for (long page = firstPage; page <= lastPage; page++) {
+            PageKey key = new PageKey(file, fileSize, fileModifiedTime, page);
+            if (readCachedPage(key, position, buffer, offset, end)) {
+                if (firstMissingPage >= 0) {
+                    readRemotePages(file, fileSize, fileModifiedTime, inputStream, firstMissingPage, page - 1, position, buffer, offset, end);
+                    firstMissingPage = -1;
+                }
+            }
+            else if (firstMissingPage < 0) {
+                firstMissingPage = page;
+            }
+        }
+        if (firstMissingPage >= 0) {
+            readRemotePages(file, fileSize, fileModifiedTime, inputStream, firstMissingPage, lastPage, position, buffer, offset, end);
+        }
+    }
+
+    private boolean readCachedPage(PageKey key, long position, byte[] buffer, int offset, long end)
+    {
+        CachedPage page = getPage(key);
+        if (page == null) {
+            return false;
+        }
+
+        long pageStart = key.getPage() * pageSize;
+        long readStart = max(position, pageStart);
+        int readLength = toIntExact(min(end, pageStart + page.length) - readStart);
+        try (RandomAccessFile file = new RandomAccessFile(getPageFile(page.id), "r")) {
+            file.seek(readStart - pageStart);
+            file.readFully(buffer, toIntExact(offset + readStart - position), readLength);
+        }
+        catch (IOException e) {
+            // the page was evicted after it was found in the index
+            return false;
+        }
+        stats.hit(readLength);
+        return true;
+    }
+
+    private void readRemotePages(String file, long fileSize, long fileModifiedTime, FSDataInputStream inputStream, long firstPage, long lastPage, long position, byte[] buffer, int offset, long end)
+            throws IOException
+    {
+        long rangeStart = firstPage * pageSize;
+        long rangeEnd = min((lastPage + 1) * pageSize, fileSize);
+        byte[] data = new byte[toIntExact(rangeEnd - rangeStart)];
+        inputStream.readFully(rangeStart, data, 0, data.length);
+
+        long copyStart = max(position, rangeStart);
+        long copyEnd = min(end, rangeEnd);
+        System.arraycopy(data, toIntExact(copyStart - rangeStart), buffer, toIntExact(offset + copyStart - position), toIntExact(copyEnd - copyStart));
+
+        for (long page = firstPage; page <= lastPage; page++) {
+            int pageOffset = toIntExact((page - firstPage) * pageSize);
+            int pageLength = min(pageSize, data.length - pageOffset);
+            stats.miss(pageLength);
+            addPage(new PageKey(file, fileSize, fileModifiedTime, page), data, pageOffset, pageLength);
+        }
+    }
+
+    private void addPage(PageKey key, byte[] data, int offset, int length)
+    {
+        if (length > maxCacheSize) {
+            return;
+        }
+
+        long id = nextPageId.getAndIncrement();
+        File pageFile = getPageFile(id);
+        try (OutputStream output = new FileOutputStream(pageFile)) {
+            output.write(data, offset, length);
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to write cache page %s", pageFile);
+            stats.writeFailed();
+            deletePageFile(id);
+            return;
+        }
+
+        List<CachedPage> evictedPages = ImmutableList.of();
+        boolean added;
+        synchronized (this) {
+            added = !pages.containsKey(key);
+            if (added) {
+                // make room before adding the page, so that a new page is never evicted right away
+                evictedPages = evictPages(length);
+                CachedPage page = new CachedPage(key, id, length);
+                page.recordAccess(++accessClock);
+                pages.put(key, page);
+                evictionQueue.add(page);
+                cachedBytes += length;
+            }
+        }
+
+        if (added) {
+            stats.pageAdded(length);
+        }
+        else {
+            // another reader cached the same page concurrently
+            deletePageFile(id);
+        }
+        for (CachedPage page : evictedPages) {
+            stats.pageEvicted(page.length);
+            deletePageFile(page.id);
+        }
+    }
+
+    @GuardedBy("this")
+    private List<CachedPage> evictPages(long requiredBytes)
+    {
+        ImmutableList.Builder<CachedPage> evictedPages = ImmutableList.builder();
+        while (cachedBytes + requiredBytes > maxCacheSize && !evictionQueue.isEmpty()) {
+            CachedPage page = evictionQueue.pollFirst();
+            pages.remove(page.key);
+            cachedBytes -= page.length;
+            evictedPages.add(page);
+        }
+        return evictedPages.build();
+    }
+
+    private synchronized CachedPage getPage(PageKey key)
+    {
+        CachedPage page = pages.get(key);
+        if (page != null) {
+            // the position of the page in the eviction queue depends on its accesses
+            evictionQueue.remove(page);
+            page.recordAccess(++accessClock);
+            evictionQueue.add(page);
+        }
+        return page;
+    }
+
+    @VisibleForTesting
+    synchronized long getCachedBytes()
+    {
+        return cachedBytes;
+    }
+
+    @VisibleForTesting
+    synchronized boolean isCached(Path path, long fileSize, long fileModifiedTime, long position)
+    {
+        return pages.containsKey(new PageKey(path.toString(), fileSize, fileModifiedTime, position / pageSize));
+    }
+
+    private File getPageFile(long id)
+    {
+        return new File(directory, id + ".page");
+    }
+
+    private void deletePageFile(long id)
+    {
+        File pageFile = getPageFile(id);
+        if (!pageFile.delete() && pageFile.exists()) {
+            log.warn("Failed to delete cache page %s", pageFile);
+        }
+    }
+
+    private static final class PageKey
+    {
+        private final String path;
+        private final long fileSize;
+        private final long fileModifiedTime;
+        private final long page;
+
+        public PageKey(String path, long fileSize, long fileModifiedTime, long page)
+        {
+            this.path = requireNonNull(path, "path is null");
+            this.fileSize = fileSize;
+            this.fileModifiedTime = fileModifiedTime;
+            this.page = page;
+        }
+
+        public long getPage()
+        {
+            return page;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PageKey other = (PageKey) o;
+            return fileSize == other.fileSize &&
+                    fileModifiedTime == other.fileModifiedTime &&
+                    page == other.page &&
+                    path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, fileSize, fileModifiedTime, page);
+        }
+    }
+
+    private static final class CachedPage
+    {
+        private final PageKey key;
+        private final long id;
+        private final int length;
+        private long accessCount;
+        private long lastAccess;
+
+        public CachedPage(PageKey key, long id, int length)
+        {
+            this.key = requireNonNull(key, "key is null");
+            this.id = id;
+            this.length = length;
+        }
+
+        public void recordAccess(long time)
+        {
+            accessCount++;
+            lastAccess = time;
+        }
+    }
+}
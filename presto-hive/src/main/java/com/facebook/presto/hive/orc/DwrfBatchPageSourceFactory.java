@@ -19,6 +19,8 @@ import com.facebook.presto.hive.HdfsEnvironment;
 import com.facebook.presto.hive.HiveBatchPageSourceFactory;
 import com.facebook.presto.hive.HiveClientConfig;
 import com.facebook.presto.hive.HiveColumnHandle;
+import com.facebook.presto.hive.cache.FileRangeCache;
+import com.facebook.presto.orc.cache.OrcMetadataCache;
 import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.PrestoException;
@@ -52,14 +54,18 @@ public class DwrfBatchPageSourceFactory
     private final TypeManager typeManager;
     private final HdfsEnvironment hdfsEnvironment;
     private final FileFormatDataSourceStats stats;
+    private final FileRangeCache fileRangeCache;
+    private final OrcMetadataCache orcMetadataCache;
     private final int domainCompactionThreshold;
 
     @Inject
-    public DwrfBatchPageSourceFactory(TypeManager typeManager, HiveClientConfig config, HdfsEnvironment hdfsEnvironment, FileFormatDataSourceStats stats)
+    public DwrfBatchPageSourceFactory(TypeManager typeManager, HiveClientConfig config, HdfsEnvironment hdfsEnvironment, FileFormatDataSourceStats stats, FileRangeCache fileRangeCache, OrcMetadataCache orcMetadataCache)
     {
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.stats = requireNonNull(stats, "stats is null");
+        this.fileRangeCache = requireNonNull(fileRangeCache, "fileRangeCache is null");
+        this.orcMetadataCache = requireNonNull(orcMetadataCache, "orcMetadataCache is null");
         this.domainCompactionThreshold = requireNonNull(config, "config is null").getDomainCompactionThreshold();
     }
 
@@ -70,6 +76,7 @@ public class DwrfBatchPageSourceFactory
             long start,
             long length,
             long fileSize,
+            long fileModifiedTime,
             Properties schema,
             List<HiveColumnHandle> columns,
             TupleDomain<HiveColumnHandle> effectivePredicate,
@@ -92,6 +99,7 @@ public class DwrfBatchPageSourceFactory
                 start,
                 length,
                 fileSize,
+                fileModifiedTime,
                 columns,
                 false,
                 effectivePredicate,
@@ -105,6 +113,8 @@ public class DwrfBatchPageSourceFactory
                 getOrcLazyReadSmallRanges(session),
                 false,
                 stats,
+                fileRangeCache,
+                orcMetadataCache,
                 domainCompactionThreshold));
     }
 }
@@ -19,6 +19,8 @@ import com.facebook.presto.hive.HdfsEnvironment;
 import com.facebook.presto.hive.HiveClientConfig;
 import com.facebook.presto.hive.HiveColumnHandle;
 import com.facebook.presto.hive.HiveSelectivePageSourceFactory;
+import com.facebook.presto.hive.cache.FileRangeCache;
+import com.facebook.presto.orc.cache.OrcMetadataCache;
 import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.PrestoException;
@@ -53,16 +55,20 @@ public class DwrfSelectivePageSourceFactory
     private final RowExpressionService rowExpressionService;
     private final HdfsEnvironment hdfsEnvironment;
     private final FileFormatDataSourceStats stats;
+    private final FileRangeCache fileRangeCache;
+    private final OrcMetadataCache orcMetadataCache;
     private final int domainCompactionThreshold;
 
     @Inject
-    public DwrfSelectivePageSourceFactory(TypeManager typeManager, StandardFunctionResolution functionResolution, RowExpressionService rowExpressionService, HiveClientConfig config, HdfsEnvironment hdfsEnvironment, FileFormatDataSourceStats stats)
+    public DwrfSelectivePageSourceFactory(TypeManager typeManager, StandardFunctionResolution functionResolution, RowExpressionService rowExpressionService, HiveClientConfig config, HdfsEnvironment hdfsEnvironment, FileFormatDataSourceStats stats, FileRangeCache fileRangeCache, OrcMetadataCache orcMetadataCache)
     {
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.functionResolution = requireNonNull(functionResolution, "functionResolution is null");
         this.rowExpressionService = requireNonNull(rowExpressionService, "rowExpressionService is null");
         this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
         this.stats = requireNonNull(stats, "stats is null");
+        this.fileRangeCache = requireNonNull(fileRangeCache, "fileRangeCache is null");
+        this.orcMetadataCache = requireNonNull(orcMetadataCache, "orcMetadataCache is null");
         this.domainCompactionThreshold = requireNonNull(config, "config is null").getDomainCompactionThreshold();
     }
 
@@ -74,6 +80,7 @@ public class DwrfSelectivePageSourceFactory
             long start,
             long length,
             long fileSize,
+            long fileModifiedTime,
             Properties schema,
             List<HiveColumnHandle> columns,
             Map<Integer, String> prefilledValues,
@@ -99,6 +106,7 @@ public class DwrfSelectivePageSourceFactory
                 start,
                 length,
                 fileSize,
+                fileModifiedTime,
                 columns,
                 prefilledValues,
                 outputColumns,
@@ -111,6 +119,8 @@ public class DwrfSelectivePageSourceFactory
                 rowExpressionService,
                 false,
                 stats,
+                fileRangeCache,
+                orcMetadataCache,
                 domainCompactionThreshold));
     }
 }
@@ -0,0 +1,346 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.parquet;
+
+import com.facebook.presto.hive.FileFormatDataSourceStats;
+import com.facebook.presto.hive.HdfsEnvironment;
+import com.facebook.presto.hive.HiveColumnHandle;
+import com.facebook.presto.hive.HiveSelectivePageSourceFactory;
+import com.facebook.presto.hive.cache.FileRangeCache;
+import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.facebook.presto.orc.FilterFunction;
+import com.facebook.presto.orc.TupleDomainFilter;
+import com.facebook.presto.orc.TupleDomainFilterUtils;
+import com.facebook.presto.parquet.Field;
+import com.facebook.presto.parquet.ParquetCorruptionException;
+import com.facebook.presto.parquet.ParquetDataSource;
+import com.facebook.presto.parquet.RichColumnDescriptor;
+import com.facebook.presto.parquet.cache.ParquetMetadataCache;
+import com.facebook.presto.parquet.predicate.Predicate;
+import com.facebook.presto.parquet.reader.MetadataReader;
+import com.facebook.presto.parquet.reader.ParquetReader;
+import com.facebook.presto.parquet.reader.ParquetSelectiveReader;
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.ConnectorSession;
+import com.facebook.presto.spi.FixedPageSource;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.Subfield;
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.predicate.Domain;
+import com.facebook.presto.spi.predicate.TupleDomain;
+import com.facebook.presto.spi.relation.InputReferenceExpression;
+import com.facebook.presto.spi.relation.RowExpression;
+import com.facebook.presto.spi.relation.RowExpressionService;
+import com.facebook.presto.spi.relation.VariableReferenceExpression;
+import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spi.type.TypeManager;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.schema.MessageType;
+import org.joda.time.DateTimeZone;
+
+import javax.inject.Inject;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import static com.facebook.presto.hive.HiveErrorCode.HIVE_BAD_DATA;
+import static com.facebook.presto.hive.HiveErrorCode.HIVE_CANNOT_OPEN_SPLIT;
+import static com.facebook.presto.hive.HiveErrorCode.HIVE_MISSING_DATA;
+import static com.facebook.presto.hive.HiveSessionProperties.isFailOnCorruptedParquetStatistics;
+import static com.facebook.presto.hive.HiveSessionProperties.isUseParquetColumnNames;
+import static com.facebook.presto.hive.HiveUtil.getDeserializerClassName;
+import static com.facebook.presto.hive.HiveUtil.typedPartitionKey;
+import static com.facebook.presto.hive.orc.OrcSelectivePageSourceFactory.toFilterFunctions;
+import static com.facebook.presto.hive.parquet.HdfsParquetDataSource.buildHdfsParquetDataSource;
+import static com.facebook.presto.hive.parquet.ParquetPageSourceFactory.PARQUET_SERDE_CLASS_NAMES;
+import static com.facebook.presto.hive.parquet.ParquetPageSourceFactory.getParquetTupleDomain;
+import static com.facebook.presto.hive.parquet.ParquetPageSourceFactory.getParquetType;
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.facebook.presto.parquet.ParquetTypeUtils.getColumnIO;
+import static com.facebook.presto.parquet.ParquetTypeUtils.getDescriptors;
+import static com.facebook.presto.parquet.ParquetTypeUtils.lookupColumnByName;
+import static com.facebook.presto.parquet.predicate.PredicateUtils.buildPredicate;
+import static com.facebook.presto.parquet.predicate.PredicateUtils.predicateMatches;
+import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
+import static com.facebook.presto.spi.predicate.Utils.nativeValueToBlock;
+import static com.facebook.presto.spi.relation.RowExpressionNodeInliner.replaceExpression;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Strings.nullToEmpty;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static org.apache.parquet.io.ColumnIOConverter.constructField;
+
+public class ParquetSelectivePageSourceFactory
+        implements HiveSelectivePageSourceFactory
+{
+    private final TypeManager typeManager;
+    private final RowExpressionService rowExpressionService;
+    private final HdfsEnvironment hdfsEnvironment;
+    private final FileFormatDataSourceStats stats;
+    private final FileRangeCache fileRangeCache;
+    private final ParquetMetadataCache parquetMetadataCache;
+
+    @Inject
+    public ParquetSelectivePageSourceFactory(TypeManager typeManager, RowExpressionService rowExpressionService, HdfsEnvironment hdfsEnvironment, FileFormatDataSourceStats stats, FileRangeCache fileRangeCache, ParquetMetadataCache parquetMetadataCache)
+    {
+        this.typeManager = requireNonNull(typeManager, "typeManager is null");
+        this.rowExpressionService = requireNonNull(rowExpressionService, "rowExpressionService is null");
+        this.hdfsEnvironment = requireNonNull(hdfsEnvironment, "hdfsEnvironment is null");
+        this.stats = requireNonNull(stats, "stats is null");
+        this.fileRangeCache = requireNonNull(fileRangeCache, "fileRangeCache is null");
+        this.parquetMetadataCache = requireNonNull(parquetMetadataCache, "parquetMetadataCache is null");
+    }
+
+    @Override
+    public Optional<? extends ConnectorPageSource> createPageSource(
+            Configuration configuration,
+            ConnectorSession session,
+            Path path,
+            long start,
+            long length,
+            long fileSize,
+            long fileModifiedTime,
+            Properties schema,
+            List<HiveColumnHandle> columns,
+            Map<Integer, String> prefilledValues,
+            List<Integer> outputColumns,
+            TupleDomain<Subfield> domainPredicate,
+            RowExpression remainingPredicate,
+            DateTimeZone hiveStorageTimeZone)
+    {
+        if (!PARQUET_SERDE_CLASS_NAMES.contains(getDeserializerClassName(schema))) {
+            return Optional.empty();
+        }
+
+        checkArgument(!domainPredicate.isNone(), "Unexpected NONE domain");
+
+        // constant columns are partition keys and hidden columns; their filters are evaluated once per split
+        Map<Integer, Object> constantValues = new HashMap<>();
+        for (HiveColumnHandle column : columns) {
+            if (prefilledValues.containsKey(column.getHiveColumnIndex())) {
+                Type type = typeManager.getType(column.getTypeSignature());
+                constantValues.put(column.getHiveColumnIndex(), typedPartitionKey(prefilledValues.get(column.getHiveColumnIndex()), type, column.getName(), hiveStorageTimeZone));
+            }
+        }
+
+        Map<String, HiveColumnHandle> columnsByName = columns.stream()
+                .collect(toImmutableMap(HiveColumnHandle::getName, column -> column));
+        for (Map.Entry<Subfield, Domain> entry : domainPredicate.getDomains().get().entrySet()) {
+            Subfield subfield = entry.getKey();
+            if (!subfield.getPath().isEmpty()) {
+                throw new PrestoException(NOT_SUPPORTED, "Parquet reader does not support filters on subfields: " + subfield);
+            }
+            HiveColumnHandle column = columnsByName.get(subfield.getRootName());
+            if (constantValues.containsKey(column.getHiveColumnIndex()) && !entry.getValue().includesNullableValue(constantValues.get(column.getHiveColumnIndex()))) {
+                return Optional.of(new FixedPageSource(ImmutableList.of()));
+            }
+        }
+
+        return Optional.of(createParquetPageSource(
+                hdfsEnvironment,
+                session,
+                configuration,
+                path,
+                start,
+                length,
+                fileSize,
+                fileModifiedTime,
+                columns,
+                constantValues,
+                outputColumns,
+                domainPredicate,
+                remainingPredicate,
+                isUseParquetColumnNames(session),
+                isFailOnCorruptedParquetStatistics(session),
+                typeManager,
+                rowExpressionService,
+                stats,
+                fileRangeCache,
+                parquetMetadataCache));
+    }
+
+    private static ConnectorPageSource createParquetPageSource(
+            HdfsEnvironment hdfsEnvironment,
+            ConnectorSession session,
+            Configuration configuration,
+            Path path,
+            long start,
+            long length,
+            long fileSize,
+            long fileModifiedTime,
+            List<HiveColumnHandle> columns,
+            Map<Integer, Object> constantValues,
+            List<Integer> outputColumns,
+            TupleDomain<Subfield> domainPredicate,
+            RowExpression remainingPredicate,
+            boolean useParquetColumnNames,
+            boolean failOnCorruptedParquetStatistics,
+            TypeManager typeManager,
+            RowExpressionService rowExpressionService,
+            FileFormatDataSourceStats stats,
+            FileRangeCache fileRangeCache,
+            ParquetMetadataCache parquetMetadataCache)
+    {
+        AggregatedMemoryContext systemMemoryContext = newSimpleAggregatedMemoryContext();
+
+        ParquetDataSource dataSource = null;
+        try {
+            FileSystem fileSystem = hdfsEnvironment.getFileSystem(session.getUser(), path, configuration);
+            FSDataInputStream inputStream = fileRangeCache.wrap(path, fileSize, fileModifiedTime, fileSystem.open(path));
+            ParquetMetadata parquetMetadata = parquetMetadataCache.getParquetMetadata(path.toString(), fileModifiedTime, () -> MetadataReader.readFooter(inputStream, path, fileSize));
+            MessageType fileSchema = parquetMetadata.getFileMetaData().getSchema();
+            dataSource = buildHdfsParquetDataSource(inputStream, path, fileSize, stats);
+
+            // columns are identified by their position in the list of columns, since hive column indices
+            // of partition keys and hidden columns are negative
+            List<Type> columnTypes = columns.stream()
+                    .map(column -> typeManager.getType(column.getTypeSignature()))
+                    .collect(toImmutableList());
+
+            ImmutableList.Builder<org.apache.parquet.schema.Type> requestedFields = ImmutableList.builder();
+            ImmutableMap.Builder<Integer, String> parquetColumnNames = ImmutableMap.builder();
+            for (int i = 0; i < columns.size(); i++) {
+                HiveColumnHandle column = columns.get(i);
+                if (constantValues.containsKey(column.getHiveColumnIndex())) {
+                    continue;
+                }
+                Optional<org.apache.parquet.schema.Type> parquetType = getParquetType(columnTypes.get(i), fileSchema, useParquetColumnNames, column.getName(), column.getHiveColumnIndex(), column.getHiveType());
+                if (parquetType.isPresent()) {
+                    requestedFields.add(parquetType.get());
+                    parquetColumnNames.put(i, parquetType.get().getName());
+                }
+            }
+            MessageType requestedSchema = new MessageType(fileSchema.getName(), requestedFields.build());
+            Map<Integer, String> columnsInFile = parquetColumnNames.build();
+
+            Map<String, HiveColumnHandle> columnsByName = columns.stream()
+                    .collect(toImmutableMap(HiveColumnHandle::getName, column -> column));
+            TupleDomain<HiveColumnHandle> effectivePredicate = domainPredicate.transform(subfield -> columnsByName.get(subfield.getRootName()));
+            Map<List<String>, RichColumnDescriptor> descriptorsByPath = getDescriptors(fileSchema, requestedSchema);
+            TupleDomain<ColumnDescriptor> parquetTupleDomain = getParquetTupleDomain(descriptorsByPath, effectivePredicate);
+            Predicate parquetPredicate = buildPredicate(requestedSchema, parquetTupleDomain, descriptorsByPath);
+
+            ImmutableList.Builder<BlockMetaData> blocks = ImmutableList.builder();
+            for (BlockMetaData block : parquetMetadata.getBlocks()) {
+                long firstDataPage = block.getColumns().get(0).getFirstDataPageOffset();
+                if (firstDataPage >= start && firstDataPage < start + length &&
+                        predicateMatches(parquetPredicate, block, dataSource, descriptorsByPath, parquetTupleDomain, failOnCorruptedParquetStatistics)) {
+                    blocks.add(block);
+                }
+            }
+
+            MessageColumnIO messageColumnIO = getColumnIO(fileSchema, requestedSchema);
+            ParquetReader parquetReader = new ParquetReader(messageColumnIO, blocks.build(), dataSource, systemMemoryContext, parquetPredicate);
+
+            ImmutableList.Builder<Optional<Field>> fields = ImmutableList.builder();
+            ImmutableMap.Builder<Integer, Block> constantBlocks = ImmutableMap.builder();
+            ImmutableMap.Builder<Integer, Integer> columnIndices = ImmutableMap.builder();
+            ImmutableMap.Builder<VariableReferenceExpression, InputReferenceExpression> variableToInput = ImmutableMap.builder();
+            for (int i = 0; i < columns.size(); i++) {
+                HiveColumnHandle column = columns.get(i);
+                Type type = columnTypes.get(i);
+                if (columnsInFile.containsKey(i)) {
+                    fields.add(constructField(type, lookupColumnByName(messageColumnIO, columnsInFile.get(i))));
+                }
+                else {
+                    fields.add(Optional.empty());
+                }
+                if (constantValues.containsKey(column.getHiveColumnIndex())) {
+                    constantBlocks.put(i, nativeValueToBlock(type, constantValues.get(column.getHiveColumnIndex())));
+                }
+                columnIndices.put(column.getHiveColumnIndex(), i);
+                variableToInput.put(new VariableReferenceExpression(column.getName(), type), new InputReferenceExpression(i, type));
+            }
+            Map<Integer, Integer> indexByHiveColumnIndex = columnIndices.build();
+
+            // filters on constant columns were evaluated when the split was opened
+            ImmutableMap.Builder<Integer, TupleDomainFilter> filters = ImmutableMap.builder();
+            for (Map.Entry<Subfield, Domain> entry : domainPredicate.getDomains().get().entrySet()) {
+                HiveColumnHandle column = columnsByName.get(entry.getKey().getRootName());
+                int index = indexByHiveColumnIndex.get(column.getHiveColumnIndex());
+                if (constantValues.containsKey(column.getHiveColumnIndex())) {
+                    continue;
+                }
+                if (!columnsInFile.containsKey(index)) {
+                    // column is missing from the file, so all of its values are null
+                    if (!entry.getValue().isNullAllowed()) {
+                        parquetReader.close();
+                        return new FixedPageSource(ImmutableList.of());
+                    }
+                    continue;
+                }
+                filters.put(index, TupleDomainFilterUtils.toFilter(entry.getValue()));
+            }
+
+            List<FilterFunction> filterFunctions = toFilterFunctions(
+                    replaceExpression(remainingPredicate, variableToInput.build()),
+                    session,
+                    rowExpressionService.getDeterminismEvaluator(),
+                    rowExpressionService.getPredicateCompiler());
+
+            ParquetSelectiveReader reader = new ParquetSelectiveReader(
+                    parquetReader,
+                    columnTypes,
+                    fields.build(),
+                    constantBlocks.build(),
+                    outputColumns.stream()
+                            .map(indexByHiveColumnIndex::get)
+                            .collect(toImmutableList()),
+                    filters.build(),
+                    filterFunctions);
+
+            return new ParquetSelectivePageSource(reader, dataSource);
+        }
+        catch (Exception e) {
+            try {
+                if (dataSource != null) {
+                    dataSource.close();
+                }
+            }
+            catch (IOException ignored) {
+            }
+            if (e instanceof PrestoException) {
+                throw (PrestoException) e;
+            }
+            if (e instanceof ParquetCorruptionException) {
+                throw new PrestoException(HIVE_BAD_DATA, e);
+            }
+            if (nullToEmpty(e.getMessage()).trim().equals("Filesystem closed") ||
+                    e instanceof FileNotFoundException) {
+                throw new PrestoException(HIVE_CANNOT_OPEN_SPLIT, e);
+            }
+            String message = format("Error opening Hive split %s (offset=%s, length=%s): %s", path, start, length, e.getMessage());
+            if (e.getClass().getSimpleName().equals("BlockMissingException")) {
+                throw new PrestoException(HIVE_MISSING_DATA, message, e);
+            }
+            throw new PrestoException(HIVE_CANNOT_OPEN_SPLIT, message, e);
+        }
+    }
+}
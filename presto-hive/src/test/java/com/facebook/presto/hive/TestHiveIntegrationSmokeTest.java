@@ -26,6 +26,7 @@ import com.facebook.presto.spi.ColumnMetadata;
 import com.facebook.presto.spi.ConnectorId;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.Constraint;
+import com.facebook.presto.spi.QueryId;
 import com.facebook.presto.spi.TableHandle;
 import com.facebook.presto.spi.security.Identity;
 import com.facebook.presto.spi.security.SelectedRole;
@@ -73,6 +74,7 @@ import java.util.stream.LongStream;
 import static com.facebook.presto.SystemSessionProperties.COLOCATED_JOIN;
 import static com.facebook.presto.SystemSessionProperties.CONCURRENT_LIFESPANS_PER_NODE;
 import static com.facebook.presto.SystemSessionProperties.DYNAMIC_SCHEDULE_FOR_GROUPED_EXECUTION;
+import static com.facebook.presto.SystemSessionProperties.ENABLE_DYNAMIC_FILTERING;
 import static com.facebook.presto.SystemSessionProperties.EXCHANGE_MATERIALIZATION_STRATEGY;
 import static com.facebook.presto.SystemSessionProperties.GROUPED_EXECUTION_FOR_AGGREGATION;
 import static com.facebook.presto.SystemSessionProperties.GROUPED_EXECUTION_FOR_ELIGIBLE_TABLE_SCANS;
@@ -125,6 +127,7 @@ import static com.google.common.io.Files.createTempDir;
 import static com.google.common.io.MoreFiles.deleteRecursively;
 import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
 import static io.airlift.json.JsonCodec.jsonCodec;
+import static io.airlift.testing.Assertions.assertLessThan;
 import static io.airlift.tpch.TpchTable.CUSTOMER;
 import static io.airlift.tpch.TpchTable.LINE_ITEM;
 import static io.airlift.tpch.TpchTable.ORDERS;
@@ -2435,6 +2438,58 @@ public class TestHiveIntegrationSmokeTest
         }
     }
 
+    @Test
+    public void testDynamicFiltering()
+    {
+        try {
+            assertUpdate(
+                    "CREATE TABLE test_dynamic_filtering\n" +
+                            "WITH (partitioned_by = ARRAY['orderstatus']) AS\n" +
+                            "SELECT orderkey, custkey, totalprice, orderstatus FROM orders",
+                    15000);
+
+            Session withoutDynamicFiltering = Session.builder(getSession())
+                    .setSystemProperty(JOIN_DISTRIBUTION_TYPE, "BROADCAST")
+                    .setSystemProperty(ENABLE_DYNAMIC_FILTERING, "false")
+                    .build();
+            Session withDynamicFiltering = Session.builder(withoutDynamicFiltering)
+                    .setSystemProperty(ENABLE_DYNAMIC_FILTERING, "true")
+                    .build();
+
+            @Language("SQL") String partitionKeyJoin = "SELECT count(*), sum(totalprice)\n" +
+                    "FROM test_dynamic_filtering o\n" +
+                    "JOIN (SELECT orderstatus FROM orders WHERE orderkey = 1) t\n" +
+                    "ON o.orderstatus = t.orderstatus";
+            @Language("SQL") String partitionKeyExpected = "SELECT count(*), sum(totalprice) FROM orders WHERE orderstatus = 'O'";
+            assertQuery(withoutDynamicFiltering, partitionKeyJoin, partitionKeyExpected);
+            assertQuery(withDynamicFiltering, partitionKeyJoin, partitionKeyExpected);
+
+            // partitions that cannot match the build side are not read
+            assertLessThan(getRawInputPositions(withDynamicFiltering, partitionKeyJoin), getRawInputPositions(withoutDynamicFiltering, partitionKeyJoin));
+
+            @Language("SQL") String dataColumnJoin = "SELECT count(*), sum(totalprice)\n" +
+                    "FROM test_dynamic_filtering o\n" +
+                    "JOIN (SELECT custkey FROM customer WHERE custkey BETWEEN 10 AND 20) c\n" +
+                    "ON o.custkey = c.custkey";
+            @Language("SQL") String dataColumnExpected = "SELECT count(*), sum(totalprice) FROM orders WHERE custkey BETWEEN 10 AND 20";
+            assertQuery(withoutDynamicFiltering, dataColumnJoin, dataColumnExpected);
+            assertQuery(withDynamicFiltering, dataColumnJoin, dataColumnExpected);
+
+            // empty build side
+            assertQuery(withDynamicFiltering, "SELECT count(*) FROM test_dynamic_filtering o JOIN (SELECT custkey FROM customer WHERE custkey < 0) c ON o.custkey = c.custkey", "SELECT 0");
+        }
+        finally {
+            assertUpdate("DROP TABLE IF EXISTS test_dynamic_filtering");
+        }
+    }
+
+    private long getRawInputPositions(Session session, @Language("SQL") String sql)
+    {
+        DistributedQueryRunner queryRunner = (DistributedQueryRunner) getQueryRunner();
+        QueryId queryId = queryRunner.executeWithQueryId(session, sql).getQueryId();
+        return queryRunner.getQueryInfo(queryId).getQueryStats().getRawInputPositions();
+    }
+
     @Test
     public void testMismatchedBucketing()
     {
@@ -4424,6 +4479,9 @@ public class TestHiveIntegrationSmokeTest
         formats.add(new TestingHiveStorageFormat(
                 Session.builder(session).setCatalogSessionProperty(session.getCatalog().get(), "orc_optimized_writer_enabled", "true").build(),
                 HiveStorageFormat.DWRF));
+        formats.add(new TestingHiveStorageFormat(
+                Session.builder(session).setCatalogSessionProperty(session.getCatalog().get(), "parquet_optimized_writer_enabled", "true").build(),
+                HiveStorageFormat.PARQUET));
         return formats.build();
     }
 
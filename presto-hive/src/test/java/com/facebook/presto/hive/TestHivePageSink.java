@@ -229,12 +229,14 @@ public class TestHivePageSink
                 0,
                 outputFile.length(),
                 outputFile.length(),
+                outputFile.lastModified(),
                 splitProperties,
                 ImmutableList.of(),
                 ImmutableList.of(),
                 OptionalInt.empty(),
                 OptionalInt.empty(),
                 false,
+                false,
                 ImmutableMap.of(),
                 Optional.empty(),
                 false);
@@ -0,0 +1,193 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.Session;
+import com.facebook.presto.testing.MaterializedResult;
+import com.facebook.presto.testing.QueryRunner;
+import com.facebook.presto.tests.AbstractTestQueryFramework;
+import com.facebook.presto.tests.DistributedQueryRunner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.intellij.lang.annotations.Language;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static com.facebook.presto.hive.HiveQueryRunner.HIVE_CATALOG;
+import static com.facebook.presto.hive.HiveSessionProperties.PUSHDOWN_FILTER_ENABLED;
+import static com.facebook.presto.tests.QueryAssertions.assertEqualsIgnoreOrder;
+import static io.airlift.tpch.TpchTable.LINE_ITEM;
+import static io.airlift.tpch.TpchTable.ORDERS;
+
+public class TestHiveParquetPushdownFilterQueries
+        extends AbstractTestQueryFramework
+{
+    protected TestHiveParquetPushdownFilterQueries()
+    {
+        super(TestHiveParquetPushdownFilterQueries::createQueryRunner);
+    }
+
+    private static QueryRunner createQueryRunner()
+            throws Exception
+    {
+        DistributedQueryRunner queryRunner = HiveQueryRunner.createQueryRunner(
+                ImmutableList.of(LINE_ITEM, ORDERS),
+                ImmutableMap.of(),
+                "sql-standard",
+                ImmutableMap.of("hive.pushdown-filter-enabled", "true"),
+                Optional.empty());
+
+        Session session = noPushdownFilter(queryRunner.getDefaultSession());
+        queryRunner.execute(session,
+                "CREATE TABLE lineitem_parquet WITH (format = 'PARQUET') AS " +
+                        "SELECT orderkey, partkey, linenumber, quantity, shipmode, shipdate, comment, " +
+                        "   IF (linenumber % 5 = 0, null, returnflag = 'R') AS is_returned, " +
+                        "   IF (linenumber % 4 = 0, null, CAST(day(shipdate) AS TINYINT)) AS ship_day, " +
+                        "   IF (linenumber % 3 = 0, null, CAST(shipdate AS TIMESTAMP)) AS ship_timestamp, " +
+                        "   IF (orderkey % 5 = 0, null, CAST(discount AS REAL)) AS discount_real, " +
+                        "   IF (orderkey % 7 = 0, null, CAST(tax AS DECIMAL(12, 2))) AS tax, " +
+                        "   IF (orderkey % 11 = 0, null, CAST(extendedprice AS DECIMAL(38, 2))) AS extendedprice, " +
+                        "   IF (orderkey % 13 = 0, null, ARRAY[orderkey, partkey]) AS keys " +
+                        "FROM lineitem");
+        queryRunner.execute(session,
+                "CREATE TABLE orders_parquet WITH (format = 'PARQUET', partitioned_by = ARRAY['orderstatus']) AS " +
+                        "SELECT orderkey, custkey, totalprice, orderdate, orderpriority, orderstatus FROM orders");
+        return queryRunner;
+    }
+
+    @Test
+    public void testNumeric()
+    {
+        assertPushdownQuery("SELECT orderkey, linenumber FROM lineitem_parquet WHERE orderkey BETWEEN 100 AND 1000");
+        assertPushdownQuery("SELECT count(*) FROM lineitem_parquet WHERE orderkey < 5000 AND linenumber = 3");
+        assertPushdownQuery("SELECT ship_day, quantity FROM lineitem_parquet WHERE ship_day > 15 AND quantity < 10");
+        assertPushdownQuery("SELECT count(*) FROM lineitem_parquet WHERE ship_day IS NULL");
+        assertPushdownQuery("SELECT partkey, discount_real FROM lineitem_parquet WHERE discount_real > 0.05");
+        assertPushdownQuery("SELECT count(*) FROM lineitem_parquet WHERE discount_real IS NOT NULL AND quantity IN (1, 2, 3)");
+    }
+
+    @Test
+    public void testBooleans()
+    {
+        assertPushdownQuery("SELECT orderkey, is_returned FROM lineitem_parquet WHERE is_returned = true");
+        assertPushdownQuery("SELECT count(*) FROM lineitem_parquet WHERE is_returned IS NULL");
+    }
+
+    @Test
+    public void testStrings()
+    {
+        assertPushdownQuery("SELECT orderkey, shipmode FROM lineitem_parquet WHERE shipmode = 'AIR'");
+        assertPushdownQuery("SELECT orderkey, comment FROM lineitem_parquet WHERE shipmode IN ('MAIL', 'SHIP') AND comment > 'f'");
+        assertPushdownQuery("SELECT count(*) FROM lineitem_parquet WHERE comment LIKE '%fur%'");
+    }
+
+    @Test
+    public void testDatesAndTimestamps()
+    {
+        assertPushdownQuery("SELECT orderkey, shipdate FROM lineitem_parquet WHERE shipdate BETWEEN DATE '1994-01-01' AND DATE '1994-03-31'");
+        assertPushdownQuery("SELECT ship_timestamp FROM lineitem_parquet WHERE ship_timestamp < TIMESTAMP '1993-01-01 01:00:00'");
+        assertPushdownQuery("SELECT count(*) FROM lineitem_parquet WHERE ship_timestamp IS NOT NULL");
+    }
+
+    @Test
+    public void testDecimals()
+    {
+        assertPushdownQuery("SELECT orderkey, tax FROM lineitem_parquet WHERE tax = 0.02");
+        assertPushdownQuery("SELECT orderkey, extendedprice FROM lineitem_parquet WHERE extendedprice > 90000");
+        assertPushdownQuery("SELECT count(*) FROM lineitem_parquet WHERE tax IS NULL AND extendedprice IS NOT NULL");
+    }
+
+    @Test
+    public void testFilterFunctions()
+    {
+        assertPushdownQuery("SELECT orderkey, linenumber FROM lineitem_parquet WHERE orderkey % 3 = 1 AND linenumber + partkey > 100");
+        assertPushdownQuery("SELECT orderkey, ship_day FROM lineitem_parquet WHERE ship_day > 10 AND ship_day + linenumber < 20");
+        assertPushdownQuery("SELECT count(*) FROM lineitem_parquet WHERE length(comment) > 20 AND orderkey < 10000");
+    }
+
+    @Test
+    public void testNestedColumns()
+    {
+        assertPushdownQuery("SELECT orderkey, keys FROM lineitem_parquet WHERE orderkey < 1000 AND linenumber = 2");
+        assertPushdownQuery("SELECT count(*) FROM lineitem_parquet WHERE keys IS NULL");
+        assertPushdownQuery("SELECT keys[2] FROM lineitem_parquet WHERE orderkey < 100");
+    }
+
+    @Test
+    public void testPartitionKeys()
+    {
+        assertPushdownQuery("SELECT orderkey, orderstatus FROM orders_parquet WHERE orderstatus = 'F' AND custkey < 100");
+        assertPushdownQuery("SELECT count(*) FROM orders_parquet WHERE orderstatus <> 'O' AND totalprice > 100000");
+        assertPushdownQuery("SELECT orderkey FROM orders_parquet WHERE orderstatus = 'F' OR custkey < 10");
+    }
+
+    @Test
+    public void testMissingColumns()
+    {
+        Session session = noPushdownFilter(getSession());
+        getQueryRunner().execute(session, "CREATE TABLE orders_parquet_evolved WITH (format = 'PARQUET') AS SELECT orderkey, custkey FROM orders");
+        getQueryRunner().execute(session, "ALTER TABLE orders_parquet_evolved ADD COLUMN comment varchar");
+        getQueryRunner().execute(session, "INSERT INTO orders_parquet_evolved SELECT orderkey, custkey, comment FROM orders WHERE orderkey < 1000");
+
+        assertPushdownQuery("SELECT orderkey, comment FROM orders_parquet_evolved WHERE custkey < 100");
+        assertPushdownQuery("SELECT count(*) FROM orders_parquet_evolved WHERE comment IS NULL");
+        assertPushdownQuery("SELECT orderkey FROM orders_parquet_evolved WHERE comment > 'f'");
+    }
+
+    @Test
+    public void testPageSkipping()
+    {
+        // small pages, so that filters on the clustered orderkey column can skip most of the pages of each row group
+        Session session = Session.builder(noPushdownFilter(getSession()))
+                .setCatalogSessionProperty(HIVE_CATALOG, "parquet_writer_page_size", "1kB")
+                .build();
+        getQueryRunner().execute(session, "CREATE TABLE lineitem_parquet_small_pages WITH (format = 'PARQUET') AS " +
+                "SELECT orderkey, linenumber, shipmode, comment FROM lineitem");
+        getQueryRunner().execute(
+                Session.builder(session).setCatalogSessionProperty(HIVE_CATALOG, "parquet_optimized_writer_enabled", "true").build(),
+                "CREATE TABLE lineitem_parquet_small_pages_optimized WITH (format = 'PARQUET') AS " +
+                        "SELECT orderkey, linenumber, shipmode, comment FROM lineitem");
+
+        for (String table : ImmutableList.of("lineitem_parquet_small_pages", "lineitem_parquet_small_pages_optimized")) {
+            assertPageSkippingQuery(table, "SELECT orderkey, linenumber, comment FROM %s WHERE orderkey = 100");
+            assertPageSkippingQuery(table, "SELECT orderkey, shipmode FROM %s WHERE orderkey BETWEEN 1000 AND 1100 OR orderkey > 59000");
+            assertPageSkippingQuery(table, "SELECT comment FROM %s WHERE orderkey IN (7, 3000, 30000) AND linenumber < 3");
+            assertPageSkippingQuery(table, "SELECT count(*) FROM %s WHERE orderkey < 0");
+        }
+    }
+
+    private void assertPageSkippingQuery(String table, @Language("SQL") String sqlFormat)
+    {
+        MaterializedResult expected = computeActual(noPushdownFilter(getSession()), String.format(sqlFormat, "lineitem"));
+        MaterializedResult actual = computeActual(String.format(sqlFormat, table));
+        assertEqualsIgnoreOrder(actual.getMaterializedRows(), expected.getMaterializedRows());
+        actual = computeActual(noPushdownFilter(getSession()), String.format(sqlFormat, table));
+        assertEqualsIgnoreOrder(actual.getMaterializedRows(), expected.getMaterializedRows());
+    }
+
+    private void assertPushdownQuery(@Language("SQL") String sql)
+    {
+        MaterializedResult actual = computeActual(sql);
+        MaterializedResult expected = computeActual(noPushdownFilter(getSession()), sql);
+        assertEqualsIgnoreOrder(actual.getMaterializedRows(), expected.getMaterializedRows());
+    }
+
+    private static Session noPushdownFilter(Session session)
+    {
+        return Session.builder(session)
+                .setCatalogSessionProperty(HIVE_CATALOG, PUSHDOWN_FILTER_ENABLED, "false")
+                .build();
+    }
+}
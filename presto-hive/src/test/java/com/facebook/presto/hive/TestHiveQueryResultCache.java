@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive;
+
+import com.facebook.presto.execution.resultcache.QueryResultCache;
+import com.facebook.presto.tests.AbstractTestQueryFramework;
+import com.facebook.presto.tests.DistributedQueryRunner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Key;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static com.facebook.presto.hive.HiveQueryRunner.createQueryRunner;
+import static com.google.common.io.Files.createTempDir;
+import static org.testng.Assert.assertEquals;
+
+@Test(singleThreaded = true)
+public class TestHiveQueryResultCache
+        extends AbstractTestQueryFramework
+{
+    public TestHiveQueryResultCache()
+    {
+        super(() -> createQueryRunner(
+                ImmutableList.of(),
+                ImmutableMap.of(
+                        "experimental.query-result-cache-enabled", "true",
+                        "experimental.query-result-cache-path", createTempDir().getAbsolutePath()),
+                Optional.empty()));
+    }
+
+    @Test
+    public void testCachedResultIsServed()
+    {
+        assertUpdate("CREATE TABLE test_cached_result AS SELECT * FROM (VALUES 1, 2, 3) t(x)", 3);
+
+        long hits = getCacheHits();
+        assertSum("SELECT sum(x) FROM test_cached_result", 6);
+        assertEquals(getCacheHits(), hits);
+        assertSum("SELECT sum(x) FROM test_cached_result", 6);
+        assertEquals(getCacheHits(), hits + 1);
+
+        assertUpdate("DROP TABLE test_cached_result");
+    }
+
+    @Test
+    public void testInsertInvalidatesCachedResult()
+    {
+        assertUpdate("CREATE TABLE test_insert_cached_result AS SELECT * FROM (VALUES 1, 2, 3) t(x)", 3);
+        assertSum("SELECT sum(x) FROM test_insert_cached_result", 6);
+        assertSum("SELECT sum(x) FROM test_insert_cached_result", 6);
+
+        long hits = getCacheHits();
+        assertUpdate("INSERT INTO test_insert_cached_result VALUES 4", 1);
+        assertSum("SELECT sum(x) FROM test_insert_cached_result", 10);
+        assertEquals(getCacheHits(), hits);
+        assertSum("SELECT sum(x) FROM test_insert_cached_result", 10);
+        assertEquals(getCacheHits(), hits + 1);
+
+        assertUpdate("DROP TABLE test_insert_cached_result");
+    }
+
+    @Test
+    public void testInsertIntoPartitionInvalidatesCachedResult()
+    {
+        assertUpdate("CREATE TABLE test_partition_cached_result WITH (partitioned_by = ARRAY['p']) AS SELECT * FROM (VALUES (1, 'a'), (2, 'b')) t(x, p)", 2);
+        assertSum("SELECT sum(x) FROM test_partition_cached_result", 3);
+        assertSum("SELECT sum(x) FROM test_partition_cached_result", 3);
+
+        // a write to an existing partition does not change the table or the list of partitions
+        long hits = getCacheHits();
+        assertUpdate("INSERT INTO test_partition_cached_result VALUES (10, 'a')", 1);
+        assertSum("SELECT sum(x) FROM test_partition_cached_result", 13);
+        assertEquals(getCacheHits(), hits);
+
+        assertUpdate("INSERT INTO test_partition_cached_result VALUES (100, 'c')", 1);
+        assertSum("SELECT sum(x) FROM test_partition_cached_result", 113);
+        assertEquals(getCacheHits(), hits);
+
+        assertUpdate("DROP TABLE test_partition_cached_result");
+    }
+
+    private void assertSum(String sql, long expected)
+    {
+        assertEquals(computeActual(sql).getOnlyValue(), expected);
+    }
+
+    private long getCacheHits()
+    {
+        return ((DistributedQueryRunner) getQueryRunner()).getCoordinator()
+                .getInstance(Key.get(QueryResultCache.class))
+                .getHits()
+                .getTotalCount();
+    }
+}
@@ -38,18 +38,26 @@ import io.airlift.json.JsonCodec;
 import io.airlift.json.JsonModule;
 import org.testng.annotations.Test;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static com.facebook.presto.hive.HiveType.HIVE_LONG;
 import static com.facebook.presto.hive.HiveType.HIVE_STRING;
 import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.inject.multibindings.Multibinder.newSetBinder;
 import static io.airlift.configuration.ConfigBinder.configBinder;
 import static io.airlift.json.JsonBinder.jsonBinder;
 import static io.airlift.json.JsonCodecBinder.jsonCodecBinder;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
 
 public class TestHiveSplit
 {
@@ -71,12 +79,14 @@ public class TestHiveSplit
                 42,
                 87,
                 88,
+                1234,
                 schema,
                 partitionKeys,
                 addresses,
                 OptionalInt.empty(),
                 OptionalInt.empty(),
                 true,
+                true,
                 ImmutableMap.of(1, HIVE_STRING),
                 Optional.of(new HiveSplit.BucketConversion(
                         32,
@@ -95,15 +105,85 @@ public class TestHiveSplit
         assertEquals(actual.getStart(), expected.getStart());
         assertEquals(actual.getLength(), expected.getLength());
         assertEquals(actual.getFileSize(), expected.getFileSize());
+        assertEquals(actual.getFileModifiedTime(), expected.getFileModifiedTime());
         assertEquals(actual.getSchema(), expected.getSchema());
         assertEquals(actual.getPartitionKeys(), expected.getPartitionKeys());
         assertEquals(actual.getAddresses(), expected.getAddresses());
         assertEquals(actual.getColumnCoercions(), expected.getColumnCoercions());
         assertEquals(actual.getBucketConversion(), expected.getBucketConversion());
         assertEquals(actual.isForceLocalScheduling(), expected.isForceLocalScheduling());
+        assertEquals(actual.isSoftAffinitySchedulingEnabled(), expected.isSoftAffinitySchedulingEnabled());
         assertEquals(actual.isS3SelectPushdownEnabled(), expected.isS3SelectPushdownEnabled());
     }
 
+    @Test
+    public void testPreferredNodes()
+    {
+        List<HostAddress> nodes = IntStream.range(0, 10)
+                .mapToObj(i -> HostAddress.fromParts("10.0.0." + i, 8080))
+                .collect(toImmutableList());
+
+        assertEquals(createSplit("path", false).getPreferredNodes(nodes), ImmutableList.of());
+        assertEquals(createSplit("path", true).getPreferredNodes(ImmutableList.of()), ImmutableList.of());
+
+        Set<HostAddress> preferredNodes = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            HiveSplit split = createSplit("path" + i, true);
+            List<HostAddress> preferred = split.getPreferredNodes(nodes);
+            assertEquals(preferred.size(), 1);
+            preferredNodes.add(preferred.get(0));
+
+            // the preferred node does not change when other nodes leave the cluster
+            List<HostAddress> remainingNodes = nodes.stream()
+                    .filter(node -> node.equals(preferred.get(0)) || node.getHostText().hashCode() % 2 == 0)
+                    .collect(toImmutableList());
+            assertEquals(split.getPreferredNodes(remainingNodes), preferred);
+        }
+        // files are spread over the nodes
+        assertTrue(preferredNodes.size() > 1);
+    }
+
+    @Test
+    public void testSplitIdentifier()
+    {
+        // the file version is unknown
+        assertFalse(createSplit("path", false).getSplitIdentifier().isPresent());
+
+        Optional<String> identifier = createSplit("path", 1234, false).getSplitIdentifier();
+        assertTrue(identifier.isPresent());
+        assertEquals(createSplit("path", 1234, true).getSplitIdentifier(), identifier);
+        assertNotEquals(createSplit("path", 1235, false).getSplitIdentifier(), identifier);
+        assertNotEquals(createSplit("other_path", 1234, false).getSplitIdentifier(), identifier);
+    }
+
+    private static HiveSplit createSplit(String path, boolean softAffinitySchedulingEnabled)
+    {
+        return createSplit(path, 0, softAffinitySchedulingEnabled);
+    }
+
+    private static HiveSplit createSplit(String path, long fileModifiedTime, boolean softAffinitySchedulingEnabled)
+    {
+        return new HiveSplit(
+                "db",
+                "table",
+                "partitionId",
+                path,
+                0,
+                10,
+                10,
+                fileModifiedTime,
+                new Properties(),
+                ImmutableList.of(),
+                ImmutableList.of(),
+                OptionalInt.empty(),
+                OptionalInt.empty(),
+                false,
+                softAffinitySchedulingEnabled,
+                ImmutableMap.of(),
+                Optional.empty(),
+                false);
+    }
+
     private JsonCodec<HiveSplit> getJsonCodec()
             throws Exception
     {
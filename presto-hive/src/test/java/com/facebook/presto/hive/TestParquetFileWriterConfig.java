@@ -33,7 +33,8 @@ public class TestParquetFileWriterConfig
     {
         assertRecordedDefaults(recordDefaults(ParquetFileWriterConfig.class)
                 .setBlockSize(new DataSize(ParquetWriter.DEFAULT_BLOCK_SIZE, BYTE))
-                .setPageSize(new DataSize(ParquetWriter.DEFAULT_PAGE_SIZE, BYTE)));
+                .setPageSize(new DataSize(ParquetWriter.DEFAULT_PAGE_SIZE, BYTE))
+                .setParquetOptimizedWriterEnabled(false));
     }
 
     @Test
@@ -42,11 +43,13 @@ public class TestParquetFileWriterConfig
         Map<String, String> properties = new ImmutableMap.Builder<String, String>()
                 .put("hive.parquet.writer.block-size", "234MB")
                 .put("hive.parquet.writer.page-size", "11MB")
+                .put("hive.parquet.optimized-writer.enabled", "true")
                 .build();
 
         ParquetFileWriterConfig expected = new ParquetFileWriterConfig()
                 .setBlockSize(new DataSize(234, MEGABYTE))
-                .setPageSize(new DataSize(11, MEGABYTE));
+                .setPageSize(new DataSize(11, MEGABYTE))
+                .setParquetOptimizedWriterEnabled(true);
 
         assertFullMapping(properties, expected);
     }
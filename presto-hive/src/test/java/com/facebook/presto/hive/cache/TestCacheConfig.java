@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import com.facebook.presto.hive.cache.CacheConfig.EvictionPolicy;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static com.facebook.presto.testing.assertions.Assert.assertEquals;
+import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
+import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
+import static io.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+
+public class TestCacheConfig
+{
+    @Test
+    public void testDefaults()
+    {
+        assertRecordedDefaults(recordDefaults(CacheConfig.class)
+                .setEnabled(false)
+                .setBaseDirectory(null)
+                .setMaxCacheSize(new DataSize(10, GIGABYTE))
+                .setPageSize(new DataSize(1, MEGABYTE))
+                .setEvictionPolicy(EvictionPolicy.LRU));
+    }
+
+    @Test
+    public void testExplicitPropertyMappings()
+    {
+        Map<String, String> properties = new ImmutableMap.Builder<String, String>()
+                .put("hive.cache.enabled", "true")
+                .put("hive.cache.base-directory", "/mnt/ssd/cache")
+                .put("hive.cache.max-size", "100GB")
+                .put("hive.cache.page-size", "256kB")
+                .put("hive.cache.eviction-policy", "LFU")
+                .build();
+
+        CacheConfig expected = new CacheConfig()
+                .setEnabled(true)
+                .setBaseDirectory("/mnt/ssd/cache")
+                .setMaxCacheSize(new DataSize(100, GIGABYTE))
+                .setPageSize(new DataSize(256, KILOBYTE))
+                .setEvictionPolicy(EvictionPolicy.LFU);
+
+        assertFullMapping(properties, expected);
+        assertEquals(expected.getBaseDirectory(), Paths.get("/mnt/ssd/cache"));
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.hive.cache;
+
+import com.facebook.presto.hive.cache.CacheConfig.EvictionPolicy;
+import io.airlift.units.DataSize;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSInputStream;
+import org.apache.hadoop.fs.Path;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.io.Files.createTempDir;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static java.lang.Math.toIntExact;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestLocalFileRangeCache
+{
+    private static final int PAGE_SIZE = 100;
+    private static final Path PATH = new Path("hdfs://namenode/table/file");
+    private static final long MODIFIED_TIME = 1_000;
+
+    private File tempDirectory;
+
+    @BeforeClass
+    public void setUp()
+    {
+        tempDirectory = createTempDir();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(tempDirectory.toPath(), ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testRead()
+            throws IOException
+    {
+        byte[] data = randomData(1050);
+        CacheStats stats = new CacheStats();
+        LocalFileRangeCache cache = createCache(new DataSize(10_000, BYTE), EvictionPolicy.LRU, stats);
+        CountingInputStream remote = new CountingInputStream(data);
+        FSDataInputStream inputStream = cache.wrap(PATH, data.length, MODIFIED_TIME, new FSDataInputStream(remote));
+
+        // pages 1 and 2 are read from the remote file with a single read
+        assertRead(inputStream, data, 150, 100);
+        assertEquals(remote.getReadCount(), 1);
+        assertEquals(remote.getReadBytes(), 200);
+        assertEquals(stats.getMisses().getTotalCount(), 2);
+
+        // page 1 is cached
+        assertRead(inputStream, data, 120, 30);
+        assertEquals(remote.getReadCount(), 1);
+        assertEquals(stats.getHits().getTotalCount(), 1);
+
+        // pages 0 and 3 are missing, pages 1 and 2 are cached
+        assertRead(inputStream, data, 50, 300);
+        assertEquals(remote.getReadCount(), 3);
+        assertEquals(remote.getReadBytes(), 400);
+
+        // the last page is shorter
+        assertRead(inputStream, data, 1000, 50);
+        assertRead(inputStream, data, 1010, 40);
+        assertEquals(remote.getReadBytes(), 450);
+        assertEquals(stats.getCachedPages(), 5);
+        assertEquals(stats.getCachedBytes(), 450);
+        assertEquals(cache.getCachedBytes(), 450);
+
+        // the same path with a different size is a different file
+        byte[] otherData = randomData(500);
+        FSDataInputStream otherInputStream = cache.wrap(PATH, otherData.length, MODIFIED_TIME, new FSDataInputStream(new CountingInputStream(otherData)));
+        assertRead(otherInputStream, otherData, 150, 100);
+        assertEquals(stats.getCachedPages(), 7);
+
+        assertEquals(inputStream.read(data.length, new byte[10], 0, 10), -1);
+    }
+
+    @Test
+    public void testFileRewrittenInPlace()
+            throws IOException
+    {
+        byte[] data = randomData(1000);
+        CacheStats stats = new CacheStats();
+        LocalFileRangeCache cache = createCache(new DataSize(10_000, BYTE), EvictionPolicy.LRU, stats);
+        FSDataInputStream inputStream = cache.wrap(PATH, data.length, MODIFIED_TIME, new FSDataInputStream(new CountingInputStream(data)));
+        assertRead(inputStream, data, 0, 300);
+        assertRead(inputStream, data, 0, 300);
+        assertEquals(stats.getHits().getTotalCount(), 3);
+
+        // the file is rewritten with the same length, so only its modification time tells it apart
+        byte[] newData = randomData(data.length);
+        CountingInputStream remote = new CountingInputStream(newData);
+        FSDataInputStream newInputStream = cache.wrap(PATH, newData.length, MODIFIED_TIME + 1, new FSDataInputStream(remote));
+        assertRead(newInputStream, newData, 0, 300);
+        assertEquals(remote.getReadBytes(), 300);
+        assertEquals(stats.getHits().getTotalCount(), 3);
+        assertTrue(cache.isCached(PATH, newData.length, MODIFIED_TIME + 1, 0));
+    }
+
+    @Test
+    public void testLruEviction()
+            throws IOException
+    {
+        byte[] data = randomData(1000);
+        CacheStats stats = new CacheStats();
+        LocalFileRangeCache cache = createCache(new DataSize(300, BYTE), EvictionPolicy.LRU, stats);
+        FSDataInputStream inputStream = cache.wrap(PATH, data.length, MODIFIED_TIME, new FSDataInputStream(new CountingInputStream(data)));
+
+        assertRead(inputStream, data, 0, 300);
+        assertRead(inputStream, data, 0, 10);
+        assertRead(inputStream, data, 300, 10);
+        assertEquals(stats.getEvictions().getTotalCount(), 1);
+        assertEquals(cache.getCachedBytes(), 300);
+
+        // the least recently used page is evicted
+        assertTrue(cache.isCached(PATH, data.length, MODIFIED_TIME, 0));
+        assertFalse(cache.isCached(PATH, data.length, MODIFIED_TIME, 100));
+        assertTrue(cache.isCached(PATH, data.length, MODIFIED_TIME, 200));
+        assertTrue(cache.isCached(PATH, data.length, MODIFIED_TIME, 300));
+    }
+
+    @Test
+    public void testLfuEviction()
+            throws IOException
+    {
+        byte[] data = randomData(1000);
+        CacheStats stats = new CacheStats();
+        LocalFileRangeCache cache = createCache(new DataSize(300, BYTE), EvictionPolicy.LFU, stats);
+        FSDataInputStream inputStream = cache.wrap(PATH, data.length, MODIFIED_TIME, new FSDataInputStream(new CountingInputStream(data)));
+
+        assertRead(inputStream, data, 0, 300);
+        assertRead(inputStream, data, 100, 200);
+        assertRead(inputStream, data, 100, 200);
+        assertRead(inputStream, data, 0, 10);
+        assertRead(inputStream, data, 300, 10);
+        assertEquals(stats.getEvictions().getTotalCount(), 1);
+
+        // the least frequently used page is evicted, even though it was used recently
+        assertFalse(cache.isCached(PATH, data.length, MODIFIED_TIME, 0));
+        assertTrue(cache.isCached(PATH, data.length, MODIFIED_TIME, 100));
+        assertTrue(cache.isCached(PATH, data.length, MODIFIED_TIME, 200));
+        assertTrue(cache.isCached(PATH, data.length, MODIFIED_TIME, 300));
+    }
+
+    private LocalFileRangeCache createCache(DataSize maxCacheSize, EvictionPolicy evictionPolicy, CacheStats stats)
+    {
+        return new LocalFileRangeCache(new File(tempDirectory, evictionPolicy.name()).toPath(), maxCacheSize, new DataSize(PAGE_SIZE, BYTE), evictionPolicy, stats);
+    }
+
+    private static void assertRead(FSDataInputStream inputStream, byte[] data, long position, int length)
+            throws IOException
+    {
+        byte[] buffer = new byte[length + 2];
+        inputStream.readFully(position, buffer, 1, length);
+        assertEquals(Arrays.copyOfRange(buffer, 1, length + 1), Arrays.copyOfRange(data, toIntExact(position), toIntExact(position + length)));
+    }
+
+    private static byte[] randomData(int length)
+    {
+        byte[] data = new byte[length];
+        ThreadLocalRandom.current().nextBytes(data);
+        return data;
+    }
+
+    private static class CountingInputStream
+            extends FSInputStream
+    {
+        private final byte[] data;
+        private int position;
+        private int readCount;
+        private long readBytes;
+
+        public CountingInputStream(byte[] data)
+        {
+            this.data = data;
+        }
+
+        public int getReadCount()
+        {
+            return readCount;
+        }
+
+        public long getReadBytes()
+        {
+            return readBytes;
+        }
+
+        @Override
+        public void readFully(long position, byte[] buffer, int offset, int length)
+        {
+            readCount++;
+            readBytes += length;
+            System.arraycopy(data, toIntExact(position), buffer, offset, length);
+        }
+
+        @Override
+        public void seek(long position)
+        {
+            this.position = toIntExact(position);
+        }
+
+        @Override
+        public long getPos()
+        {
+            return position;
+        }
+
+        @Override
+        public boolean seekToNewSource(long targetPosition)
+        {
+            return false;
+        }
+
+        @Override
+        public int read()
+        {
+            if (position >= data.length) {
+                return -1;
+            }
+            return data[position++] & 0xFF;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import io.airlift.units.DataSize.Unit;
 import io.airlift.units.Duration;
 import io.airlift.units.MinDuration;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
@@ -69,6 +70,11 @@ public class KafkaConnectorConfig
      */
     private boolean hideInternalColumns = true;
 
+    /**
+     * Maximum number of messages read by a single split. Larger segments are split into multiple offset ranges.
+     */
+    private int messagesPerSplit = 100_000;
+
     @NotNull
     public File getTableDescriptionDir()
     {
@@ -158,6 +164,19 @@ public class KafkaConnectorConfig
         return this;
     }
 
+    @Min(1)
+    public int getMessagesPerSplit()
+    {
+        return messagesPerSplit;
+    }
+
+    @Config("kafka.messages-per-split")
+    public KafkaConnectorConfig setMessagesPerSplit(int messagesPerSplit)
+    {
+        this.messagesPerSplit = messagesPerSplit;
+        return this;
+    }
+
     public static ImmutableSet<HostAddress> parseNodes(String nodes)
     {
         Splitter splitter = Splitter.on(',').omitEmptyStrings().trimResults();
@@ -43,7 +43,7 @@ public class KafkaConnectorModule
 
         binder.bind(KafkaMetadata.class).in(Scopes.SINGLETON);
         binder.bind(KafkaSplitManager.class).in(Scopes.SINGLETON);
-        binder.bind(KafkaRecordSetProvider.class).in(Scopes.SINGLETON);
+        binder.bind(KafkaPageSourceProvider.class).in(Scopes.SINGLETON);
 
         binder.bind(KafkaSimpleConsumerManager.class).in(Scopes.SINGLETON);
 
@@ -27,6 +27,7 @@ import com.facebook.presto.spi.SchemaTableName;
 import com.facebook.presto.spi.SchemaTablePrefix;
 import com.facebook.presto.spi.TableNotFoundException;
 import com.facebook.presto.spi.connector.ConnectorMetadata;
+import com.facebook.presto.spi.predicate.TupleDomain;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -42,6 +43,9 @@ import java.util.function.Supplier;
 
 import static com.facebook.presto.kafka.KafkaHandleResolver.convertColumnHandle;
 import static com.facebook.presto.kafka.KafkaHandleResolver.convertTableHandle;
+import static com.facebook.presto.kafka.KafkaInternalFieldDescription.PARTITION_ID_FIELD;
+import static com.facebook.presto.kafka.KafkaInternalFieldDescription.PARTITION_OFFSET_FIELD;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
@@ -204,7 +208,13 @@ public class KafkaMetadata
     public List<ConnectorTableLayoutResult> getTableLayouts(ConnectorSession session, ConnectorTableHandle table, Constraint<ColumnHandle> constraint, Optional<Set<ColumnHandle>> desiredColumns)
     {
         KafkaTableHandle handle = convertTableHandle(table);
-        ConnectorTableLayout layout = new ConnectorTableLayout(new KafkaTableLayoutHandle(handle));
+        // the partitions and offsets are only used to limit the messages that are read, so the whole constraint remains unenforced
+        TupleDomain<ColumnHandle> offsetConstraint = constraint.getSummary().getDomains()
+                .map(domains -> TupleDomain.withColumnDomains(domains.entrySet().stream()
+                        .filter(entry -> isOffsetColumn(convertColumnHandle(entry.getKey())))
+                        .collect(toImmutableMap(Map.Entry::getKey, Map.Entry::getValue))))
+                .orElse(TupleDomain.none());
+        ConnectorTableLayout layout = new ConnectorTableLayout(new KafkaTableLayoutHandle(handle, offsetConstraint));
         return ImmutableList.of(new ConnectorTableLayoutResult(layout, constraint.getSummary()));
     }
 
@@ -214,6 +224,12 @@ public class KafkaMetadata
         return new ConnectorTableLayout(handle);
     }
 
+    private static boolean isOffsetColumn(KafkaColumnHandle column)
+    {
+        return column.isInternal()
+                && (column.getName().equals(PARTITION_ID_FIELD.getColumnName()) || column.getName().equals(PARTITION_OFFSET_FIELD.getColumnName()));
+    }
+
     @SuppressWarnings("ValueOfIncrementOrDecrementUsed")
     private ConnectorTableMetadata getTableMetadata(SchemaTableName schemaTableName)
     {
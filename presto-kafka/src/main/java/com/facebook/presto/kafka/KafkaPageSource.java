@@ -0,0 +1,344 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.kafka;
+
+import com.facebook.presto.decoder.DecoderColumnHandle;
+import com.facebook.presto.decoder.FieldValueProvider;
+import com.facebook.presto.decoder.RowDecoder;
+import com.facebook.presto.spi.ConnectorPageSource;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.PageBuilder;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.type.Type;
+import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
+import io.airlift.slice.Slice;
+import kafka.api.FetchRequest;
+import kafka.api.FetchRequestBuilder;
+import kafka.javaapi.FetchResponse;
+import kafka.javaapi.consumer.SimpleConsumer;
+import kafka.message.MessageAndOffset;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.facebook.presto.decoder.FieldValueProviders.booleanValueProvider;
+import static com.facebook.presto.decoder.FieldValueProviders.bytesValueProvider;
+import static com.facebook.presto.decoder.FieldValueProviders.longValueProvider;
+import static com.facebook.presto.kafka.KafkaErrorCode.KAFKA_SPLIT_ERROR;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Reads the messages of a Kafka split. The messages of each fetch response are decoded one after the other
+ * and the values are written directly into the blocks of the page, which is returned once it is full, holds
+ * a bounded number of rows, or has been read for a bounded time.
+ */
+public class KafkaPageSource
+        implements ConnectorPageSource
+{
+    private static final Logger log = Logger.get(KafkaPageSource.class);
+
+    private static final int KAFKA_READ_BUFFER_SIZE = 100_000;
+    // a page is returned after a bounded amount of rows or time, so that the driver can yield and the rows
+    // are passed on while a large or slow partition is still being read
+    private static final int MAX_ROWS_PER_PAGE = 4096;
+    private static final long MAX_READ_NANOS_PER_PAGE = SECONDS.toNanos(1);
+    private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
+
+    private final KafkaSplit split;
+    private final KafkaSimpleConsumerManager consumerManager;
+
+    private final RowDecoder keyDecoder;
+    private final RowDecoder messageDecoder;
+
+    private final List<KafkaColumnHandle> columnHandles;
+    private final List<Type> columnTypes;
+    // the internal field of each column, or null for the columns that are decoded from the key or the message
+    private final KafkaInternalFieldDescription[] internalFields;
+    private final PageBuilder pageBuilder;
+
+    private long totalBytes;
+    private long totalMessages;
+    private long cursorOffset;
+    private long readTimeNanos;
+    private Iterator<MessageAndOffset> messageAndOffsetIterator;
+    private boolean finished;
+
+    KafkaPageSource(
+            KafkaSplit split,
+            KafkaSimpleConsumerManager consumerManager,
+            List<KafkaColumnHandle> columnHandles,
+            RowDecoder keyDecoder,
+            RowDecoder messageDecoder)
+    {
+        this.split = requireNonNull(split, "split is null");
+        this.consumerManager = requireNonNull(consumerManager, "consumerManager is null");
+
+        this.keyDecoder = requireNonNull(keyDecoder, "keyDecoder is null");
+        this.messageDecoder = requireNonNull(messageDecoder, "messageDecoder is null");
+
+        this.columnHandles = ImmutableList.copyOf(requireNonNull(columnHandles, "columnHandles is null"));
+
+        ImmutableList.Builder<Type> typeBuilder = ImmutableList.builder();
+        this.internalFields = new KafkaInternalFieldDescription[columnHandles.size()];
+        for (int i = 0; i < columnHandles.size(); i++) {
+            KafkaColumnHandle handle = columnHandles.get(i);
+            typeBuilder.add(handle.getType());
+            if (handle.isInternal()) {
+                internalFields[i] = KafkaInternalFieldDescription.forColumnName(handle.getName());
+            }
+        }
+        this.columnTypes = typeBuilder.build();
+        this.pageBuilder = new PageBuilder(columnTypes);
+
+        this.cursorOffset = split.getStart();
+    }
+
+    @Override
+    public long getCompletedBytes()
+    {
+        return totalBytes;
+    }
+
+    @Override
+    public long getReadTimeNanos()
+    {
+        return readTimeNanos;
+    }
+
+    @Override
+    public long getSystemMemoryUsage()
+    {
+        return pageBuilder.getRetainedSizeInBytes();
+    }
+
+    @Override
+    public boolean isFinished()
+    {
+        return finished && pageBuilder.isEmpty();
+    }
+
+    @Override
+    public Page getNextPage()
+    {
+        if (!finished) {
+            long start = System.nanoTime();
+            while (!pageBuilder.isFull() && pageBuilder.getPositionCount() < MAX_ROWS_PER_PAGE && System.nanoTime() - start < MAX_READ_NANOS_PER_PAGE) {
+                MessageAndOffset messageAndOffset = nextMessage();
+                if (messageAndOffset == null) {
+                    endOfData();
+                    break;
+                }
+                appendMessage(messageAndOffset);
+            }
+            readTimeNanos += System.nanoTime() - start;
+        }
+
+        if (pageBuilder.isEmpty()) {
+            return null;
+        }
+
+        Page page = pageBuilder.build();
+        pageBuilder.reset();
+        return page;
+    }
+
+    private MessageAndOffset nextMessage()
+    {
+        while (true) {
+            if (cursorOffset >= split.getEnd()) {
+                return null; // Split end is exclusive.
+            }
+            // Create a fetch request
+            openFetchRequest();
+
+            while (messageAndOffsetIterator.hasNext()) {
+                MessageAndOffset currentMessageAndOffset = messageAndOffsetIterator.next();
+                long messageOffset = currentMessageAndOffset.offset();
+
+                if (messageOffset >= split.getEnd()) {
+                    return null; // Past our split end. Bail.
+                }
+
+                if (messageOffset >= cursorOffset) {
+                    return currentMessageAndOffset;
+                }
+            }
+            messageAndOffsetIterator = null;
+        }
+    }
+
+    private void endOfData()
+    {
+        finished = true;
+        log.debug("Found a total of %d messages with %d bytes (%d messages expected). Last Offset: %d (%d, %d)",
+                totalMessages, totalBytes, split.getEnd() - split.getStart(),
+                cursorOffset, split.getStart(), split.getEnd());
+    }
+
+    private void appendMessage(MessageAndOffset messageAndOffset)
+    {
+        cursorOffset = messageAndOffset.offset() + 1; // Cursor now points to the next message.
+        totalBytes += messageAndOffset.message().payloadSize();
+        totalMessages++;
+
+        byte[] keyData = EMPTY_BYTE_ARRAY;
+        byte[] messageData = EMPTY_BYTE_ARRAY;
+        ByteBuffer key = messageAndOffset.message().key();
+        if (key != null) {
+            keyData = new byte[key.remaining()];
+            key.get(keyData);
+        }
+
+        ByteBuffer message = messageAndOffset.message().payload();
+        if (message != null) {
+            messageData = new byte[message.remaining()];
+            message.get(messageData);
+        }
+
+        Optional<Map<DecoderColumnHandle, FieldValueProvider>> decodedKey = keyDecoder.decodeRow(keyData, null);
+        Optional<Map<DecoderColumnHandle, FieldValueProvider>> decodedValue = messageDecoder.decodeRow(messageData, null);
+
+        pageBuilder.declarePosition();
+        for (int i = 0; i < columnHandles.size(); i++) {
+            KafkaColumnHandle columnHandle = columnHandles.get(i);
+            FieldValueProvider value;
+            if (internalFields[i] != null) {
+                value = getInternalFieldValue(internalFields[i], messageAndOffset, keyData, messageData, decodedKey.isPresent(), decodedValue.isPresent());
+            }
+            else {
+                Optional<Map<DecoderColumnHandle, FieldValueProvider>> decodedRow = columnHandle.isKeyDecoder() ? decodedKey : decodedValue;
+                value = decodedRow.map(values -> values.get(columnHandle)).orElse(null);
+            }
+            writeValue(columnTypes.get(i), value, pageBuilder.getBlockBuilder(i));
+        }
+    }
+
+    private FieldValueProvider getInternalFieldValue(
+            KafkaInternalFieldDescription fieldDescription,
+            MessageAndOffset messageAndOffset,
+            byte[] keyData,
+            byte[] messageData,
+            boolean keyDecoded,
+            boolean messageDecoded)
+    {
+        switch (fieldDescription) {
+            case SEGMENT_COUNT_FIELD:
+                // the running count starts at the beginning of the segment, also when the split starts in the middle of it
+                return longValueProvider(split.getStart() - split.getSegmentStart() + totalMessages);
+            case PARTITION_OFFSET_FIELD:
+                return longValueProvider(messageAndOffset.offset());
+            case MESSAGE_FIELD:
+                return bytesValueProvider(messageData);
+            case MESSAGE_LENGTH_FIELD:
+                return longValueProvider(messageData.length);
+            case KEY_FIELD:
+                return bytesValueProvider(keyData);
+            case KEY_LENGTH_FIELD:
+                return longValueProvider(keyData.length);
+            case KEY_CORRUPT_FIELD:
+                return booleanValueProvider(!keyDecoded);
+            case MESSAGE_CORRUPT_FIELD:
+                return booleanValueProvider(!messageDecoded);
+            case PARTITION_ID_FIELD:
+                return longValueProvider(split.getPartitionId());
+            case SEGMENT_START_FIELD:
+                return longValueProvider(split.getSegmentStart());
+            case SEGMENT_END_FIELD:
+                return longValueProvider(split.getSegmentEnd());
+            default:
+                throw new IllegalArgumentException("unknown internal field " + fieldDescription);
+        }
+    }
+
+    private static void writeValue(Type type, FieldValueProvider value, BlockBuilder output)
+    {
+        if (value == null || value.isNull()) {
+            output.appendNull();
+            return;
+        }
+
+        Class<?> javaType = type.getJavaType();
+        if (javaType == boolean.class) {
+            type.writeBoolean(output, value.getBoolean());
+        }
+        else if (javaType == long.class) {
+            type.writeLong(output, value.getLong());
+        }
+        else if (javaType == double.class) {
+            type.writeDouble(output, value.getDouble());
+        }
+        else if (javaType == Slice.class) {
+            Slice slice = value.getSlice();
+            type.writeSlice(output, slice, 0, slice.length());
+        }
+        else {
+            type.writeObject(output, value.getBlock());
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        finished = true;
+        pageBuilder.reset();
+    }
+
+    private void openFetchRequest()
+    {
+        try {
+            if (messageAndOffsetIterator == null) {
+                log.debug("Fetching %d bytes from offset %d (%d - %d). %d messages read so far", KAFKA_READ_BUFFER_SIZE, cursorOffset, split.getStart(), split.getEnd(), totalMessages);
+                FetchRequest req = new FetchRequestBuilder()
+                        .clientId("presto-worker-" + Thread.currentThread().getName())
+                        .addFetch(split.getTopicName(), split.getPartitionId(), cursorOffset, KAFKA_READ_BUFFER_SIZE)
+                        .build();
+
+                // TODO - this should look at the actual node this is running on and prefer
+                // that copy if running locally. - look into NodeInfo
+                SimpleConsumer consumer = consumerManager.getConsumer(split.getLeader());
+
+                FetchResponse fetchResponse = consumer.fetch(req);
+                if (fetchResponse.hasError()) {
+                    short errorCode = fetchResponse.errorCode(split.getTopicName(), split.getPartitionId());
+                    log.warn("Fetch response has error: %d", errorCode);
+                    throw new RuntimeException("could not fetch data from Kafka, error code is '" + errorCode + "'");
+                }
+
+                messageAndOffsetIterator = fetchResponse.messageSet(split.getTopicName(), split.getPartitionId()).iterator();
+            }
+        }
+        catch (Exception e) { // Catch all exceptions because Kafka library is written in scala and checked exceptions are not declared in method signature.
+            if (e instanceof PrestoException) {
+                throw e;
+            }
+            throw new PrestoException(
+                    KAFKA_SPLIT_ERROR,
+                    format(
+                            "Cannot read data from topic '%s', partition '%s', startOffset %s, endOffset %s, leader %s ",
+                            split.getTopicName(),
+                            split.getPartitionId(),
+                            split.getStart(),
+                            split.getEnd(),
+                            split.getLeader()),
+                    e);
+        }
+    }
+}
@@ -26,10 +26,11 @@ import static com.google.common.base.MoreObjects.toStringHelper;
 import static java.util.Objects.requireNonNull;
 
 /**
- * Represents a kafka specific {@link ConnectorSplit}. Each split is mapped to a segment file on disk (based off the segment offset start() and end() values) so that
- * a partition can be processed by reading segment files from partition leader. Otherwise, a Kafka topic could only be processed along partition boundaries.
+ * Represents a kafka specific {@link ConnectorSplit}. Each split is mapped to a range of offsets (start() and end()) within a segment file on disk (segmentStart()
+ * and segmentEnd()) so that a partition can be processed by reading segment files from partition leader. Otherwise, a Kafka topic could only be processed along
+ * partition boundaries.
  * <p/>
- * When planning to process a Kafka topic with Presto, using smaller than the recommended segment size (default is 1G) allows Presto to optimize early and process a topic
+ * Segments with more than {@link KafkaConnectorConfig#getMessagesPerSplit()} messages are split into multiple ranges, which allows Presto to process a topic
  * with more workers in parallel.
  */
 public class KafkaSplit
@@ -44,6 +45,8 @@ public class KafkaSplit
     private final int partitionId;
     private final long start;
     private final long end;
+    private final long segmentStart;
+    private final long segmentEnd;
     private final HostAddress leader;
 
     @JsonCreator
@@ -57,6 +60,8 @@ public class KafkaSplit
             @JsonProperty("partitionId") int partitionId,
             @JsonProperty("start") long start,
             @JsonProperty("end") long end,
+            @JsonProperty("segmentStart") long segmentStart,
+            @JsonProperty("segmentEnd") long segmentEnd,
             @JsonProperty("leader") HostAddress leader)
     {
         this.connectorId = requireNonNull(connectorId, "connector id is null");
@@ -68,6 +73,8 @@ public class KafkaSplit
         this.partitionId = partitionId;
         this.start = start;
         this.end = end;
+        this.segmentStart = segmentStart;
+        this.segmentEnd = segmentEnd;
         this.leader = requireNonNull(leader, "leader address is null");
     }
 
@@ -89,6 +96,18 @@ public class KafkaSplit
         return end;
     }
 
+    @JsonProperty
+    public long getSegmentStart()
+    {
+        return segmentStart;
+    }
+
+    @JsonProperty
+    public long getSegmentEnd()
+    {
+        return segmentEnd;
+    }
+
     @JsonProperty
     public String getTopicName()
     {
@@ -162,6 +181,8 @@ public class KafkaSplit
                 .add("partitionId", partitionId)
                 .add("start", start)
                 .add("end", end)
+                .add("segmentStart", segmentStart)
+                .add("segmentEnd", segmentEnd)
                 .add("leader", leader)
                 .toString();
     }
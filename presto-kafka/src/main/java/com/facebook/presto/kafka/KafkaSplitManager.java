@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.kafka;
 
+import com.facebook.presto.spi.ColumnHandle;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.ConnectorSplit;
 import com.facebook.presto.spi.ConnectorSplitSource;
@@ -22,6 +23,10 @@ import com.facebook.presto.spi.HostAddress;
 import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.connector.ConnectorSplitManager;
 import com.facebook.presto.spi.connector.ConnectorTransactionHandle;
+import com.facebook.presto.spi.predicate.Domain;
+import com.facebook.presto.spi.predicate.Marker;
+import com.facebook.presto.spi.predicate.Range;
+import com.facebook.presto.spi.predicate.TupleDomain;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -48,12 +53,19 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static com.facebook.presto.kafka.KafkaErrorCode.KAFKA_SPLIT_ERROR;
+import static com.facebook.presto.kafka.KafkaHandleResolver.convertColumnHandle;
 import static com.facebook.presto.kafka.KafkaHandleResolver.convertLayout;
+import static com.facebook.presto.kafka.KafkaInternalFieldDescription.PARTITION_ID_FIELD;
+import static com.facebook.presto.kafka.KafkaInternalFieldDescription.PARTITION_OFFSET_FIELD;
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Locale.ENGLISH;
@@ -70,6 +82,7 @@ public class KafkaSplitManager
     private final String connectorId;
     private final KafkaSimpleConsumerManager consumerManager;
     private final Set<HostAddress> nodes;
+    private final int messagesPerSplit;
 
     @Inject
     public KafkaSplitManager(
@@ -82,6 +95,7 @@ public class KafkaSplitManager
 
         requireNonNull(kafkaConnectorConfig, "kafkaConfig is null");
         this.nodes = ImmutableSet.copyOf(kafkaConnectorConfig.getNodes());
+        this.messagesPerSplit = kafkaConnectorConfig.getMessagesPerSplit();
     }
 
     @Override
@@ -91,17 +105,34 @@ public class KafkaSplitManager
             ConnectorTableLayoutHandle layout,
             SplitSchedulingContext splitSchedulingContext)
     {
-        KafkaTableHandle kafkaTableHandle = convertLayout(layout).getTable();
+        KafkaTableLayoutHandle layoutHandle = convertLayout(layout);
+        KafkaTableHandle kafkaTableHandle = layoutHandle.getTable();
+        Optional<Domain> partitionIds = getDomain(layoutHandle.getConstraint(), PARTITION_ID_FIELD);
+        Optional<Domain> partitionOffsets = getDomain(layoutHandle.getConstraint(), PARTITION_OFFSET_FIELD);
+        if (layoutHandle.getConstraint().isNone() || (partitionOffsets.isPresent() && partitionOffsets.get().getValues().isNone())) {
+            return new FixedSplitSource(ImmutableList.of());
+        }
+        // the offsets that can match the constraint, the end is exclusive
+        long minOffset = partitionOffsets.map(domain -> getStartOffset(domain.getValues().getRanges().getSpan())).orElse(0L);
+        long maxOffset = partitionOffsets.map(domain -> getEndOffset(domain.getValues().getRanges().getSpan())).orElse(Long.MAX_VALUE);
+
         try {
             SimpleConsumer simpleConsumer = consumerManager.getConsumer(selectRandom(nodes));
 
             TopicMetadataRequest topicMetadataRequest = new TopicMetadataRequest(ImmutableList.of(kafkaTableHandle.getTopicName()));
             TopicMetadataResponse topicMetadataResponse = simpleConsumer.send(topicMetadataRequest);
 
+            Optional<String> keyDataSchemaContents = kafkaTableHandle.getKeyDataSchemaLocation().map(KafkaSplitManager::readSchema);
+            Optional<String> messageDataSchemaContents = kafkaTableHandle.getMessageDataSchemaLocation().map(KafkaSplitManager::readSchema);
+
             ImmutableList.Builder<ConnectorSplit> splits = ImmutableList.builder();
 
             for (TopicMetadata metadata : topicMetadataResponse.topicsMetadata()) {
                 for (PartitionMetadata part : metadata.partitionsMetadata()) {
+                    if (partitionIds.isPresent() && !partitionIds.get().includesNullableValue((long) part.partitionId())) {
+                        log.debug("Skipping Partition %s/%s", metadata.topic(), part.partitionId());
+                        continue;
+                    }
                     log.debug("Adding Partition %s/%s", metadata.topic(), part.partitionId());
 
                     BrokerEndPoint leader = part.leader();
@@ -117,18 +148,25 @@ public class KafkaSplitManager
                     long[] offsets = findAllOffsets(leaderConsumer, metadata.topic(), part.partitionId());
 
                     for (int i = offsets.length - 1; i > 0; i--) {
-                        KafkaSplit split = new KafkaSplit(
-                                connectorId,
-                                metadata.topic(),
-                                kafkaTableHandle.getKeyDataFormat(),
-                                kafkaTableHandle.getMessageDataFormat(),
-                                kafkaTableHandle.getKeyDataSchemaLocation().map(KafkaSplitManager::readSchema),
-                                kafkaTableHandle.getMessageDataSchemaLocation().map(KafkaSplitManager::readSchema),
-                                part.partitionId(),
-                                offsets[i],
-                                offsets[i - 1],
-                                partitionLeader);
-                        splits.add(split);
+                        long segmentStart = offsets[i];
+                        long segmentEnd = offsets[i - 1];
+                        long end = min(segmentEnd, maxOffset);
+                        for (long start = max(segmentStart, minOffset); start < end; start += messagesPerSplit) {
+                            KafkaSplit split = new KafkaSplit(
+                                    connectorId,
+                                    metadata.topic(),
+                                    kafkaTableHandle.getKeyDataFormat(),
+                                    kafkaTableHandle.getMessageDataFormat(),
+                                    keyDataSchemaContents,
+                                    messageDataSchemaContents,
+                                    part.partitionId(),
+                                    start,
+                                    min(end, start + messagesPerSplit),
+                                    segmentStart,
+                                    segmentEnd,
+                                    partitionLeader);
+                            splits.add(split);
+                        }
                     }
                 }
             }
@@ -143,6 +181,34 @@ public class KafkaSplitManager
         }
     }
 
+    private static Optional<Domain> getDomain(TupleDomain<ColumnHandle> constraint, KafkaInternalFieldDescription field)
+    {
+        return constraint.getDomains().flatMap(domains -> domains.entrySet().stream()
+                .filter(entry -> convertColumnHandle(entry.getKey()).getName().equals(field.getColumnName()))
+                .map(Map.Entry::getValue)
+                .findFirst());
+    }
+
+    private static long getStartOffset(Range range)
+    {
+        Marker low = range.getLow();
+        if (low.isLowerUnbounded()) {
+            return 0;
+        }
+        long offset = (long) low.getValue();
+        return low.getBound() == Marker.Bound.ABOVE ? offset + 1 : offset;
+    }
+
+    private static long getEndOffset(Range range)
+    {
+        Marker high = range.getHigh();
+        if (high.isUpperUnbounded()) {
+            return Long.MAX_VALUE;
+        }
+        long offset = (long) high.getValue();
+        return high.getBound() == Marker.Bound.EXACTLY ? offset + 1 : offset;
+    }
+
     private static String readSchema(String dataSchemaLocation)
     {
         InputStream inputStream = null;
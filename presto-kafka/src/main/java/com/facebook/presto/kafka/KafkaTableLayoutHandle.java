@@ -13,7 +13,9 @@
  */
 package com.facebook.presto.kafka;
 
+import com.facebook.presto.spi.ColumnHandle;
 import com.facebook.presto.spi.ConnectorTableLayoutHandle;
+import com.facebook.presto.spi.predicate.TupleDomain;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -23,11 +25,24 @@ public class KafkaTableLayoutHandle
         implements ConnectorTableLayoutHandle
 {
     private final KafkaTableHandle table;
+    private final TupleDomain<ColumnHandle> constraint;
 
+    public KafkaTableLayoutHandle(KafkaTableHandle table)
+    {
+        this(table, TupleDomain.all());
+    }
+
+    /**
+     * @param constraint the domains of the {@code _partition_id} and {@code _partition_offset} columns,
+     * which are used to skip partitions and to seek to the first offset that can match
+     */
     @JsonCreator
-    public KafkaTableLayoutHandle(@JsonProperty("table") KafkaTableHandle table)
+    public KafkaTableLayoutHandle(
+            @JsonProperty("table") KafkaTableHandle table,
+            @JsonProperty("constraint") TupleDomain<ColumnHandle> constraint)
     {
         this.table = requireNonNull(table, "table is null");
+        this.constraint = requireNonNull(constraint, "constraint is null");
     }
 
     @JsonProperty
@@ -36,6 +51,12 @@ public class KafkaTableLayoutHandle
         return table;
     }
 
+    @JsonProperty
+    public TupleDomain<ColumnHandle> getConstraint()
+    {
+        return constraint;
+    }
+
     @Override
     public String toString()
     {
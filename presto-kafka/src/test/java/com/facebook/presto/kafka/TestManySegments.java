@@ -114,4 +114,28 @@ public class TestManySegments
 
         assertEquals(result, expected);
     }
+
+    @Test
+    public void testPartitionOffsetPredicate()
+    {
+        MaterializedResult result = queryRunner.execute("SELECT count(_message) from " + topicName + " WHERE _partition_offset >= 1000 AND _partition_offset < 51000");
+
+        MaterializedResult expected = MaterializedResult.resultBuilder(SESSION, BigintType.BIGINT)
+                .row(50000L)
+                .build();
+
+        assertEquals(result, expected);
+    }
+
+    @Test
+    public void testPartitionIdPredicate()
+    {
+        MaterializedResult result = queryRunner.execute("SELECT count(_message) from " + topicName + " WHERE _partition_id = 1");
+
+        MaterializedResult expected = MaterializedResult.resultBuilder(SESSION, BigintType.BIGINT)
+                .row(0L)
+                .build();
+
+        assertEquals(result, expected);
+    }
 }
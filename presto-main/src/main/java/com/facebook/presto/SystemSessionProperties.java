@@ -38,6 +38,7 @@ import static com.facebook.presto.spi.StandardErrorCode.INVALID_SESSION_PROPERTY
 import static com.facebook.presto.spi.session.PropertyMetadata.booleanProperty;
 import static com.facebook.presto.spi.session.PropertyMetadata.doubleProperty;
 import static com.facebook.presto.spi.session.PropertyMetadata.integerProperty;
+import static com.facebook.presto.spi.session.PropertyMetadata.longProperty;
 import static com.facebook.presto.spi.session.PropertyMetadata.stringProperty;
 import static com.facebook.presto.spi.type.BigintType.BIGINT;
 import static com.facebook.presto.spi.type.BooleanType.BOOLEAN;
@@ -133,6 +134,13 @@ public final class SystemSessionProperties
     public static final String TABLE_WRITER_MERGE_OPERATOR_ENABLED = "table_writer_merge_operator_enabled";
     public static final String CONCURRENT_WRITES_TO_PARTITIONED_TABLE_ENABLED = "concurrent_writes_to_partitioned_table_enabled";
     public static final String OPTIMIZE_FULL_OUTER_JOIN_WITH_COALESCE = "optimize_full_outer_join_with_coalesce";
+    public static final String ENABLE_DYNAMIC_FILTERING = "enable_dynamic_filtering";
+    public static final String QUERY_RESULT_CACHE_ENABLED = "query_result_cache_enabled";
+    public static final String FRAGMENT_RESULT_CACHE_ENABLED = "fragment_result_cache_enabled";
+    public static final String ADAPTIVE_PARTIAL_AGGREGATION_ENABLED = "adaptive_partial_aggregation_enabled";
+    public static final String ADAPTIVE_PARTIAL_AGGREGATION_MIN_ROWS = "adaptive_partial_aggregation_min_rows";
+    public static final String ADAPTIVE_PARTIAL_AGGREGATION_UNIQUE_ROWS_RATIO_THRESHOLD = "adaptive_partial_aggregation_unique_rows_ratio_threshold";
+    public static final String PARTITIONED_OUTPUT_DIRECT_SERIALIZATION_ENABLED = "partitioned_output_direct_serialization_enabled";
 
     private final List<PropertyMetadata<?>> sessionProperties;
 
@@ -644,6 +652,41 @@ public final class SystemSessionProperties
                         OPTIMIZE_FULL_OUTER_JOIN_WITH_COALESCE,
                         "optimize partition properties for queries using COALESCE + FULL OUTER JOIN",
                         featuresConfig.isOptimizeFullOuterJoinWithCoalesce(),
+                        false),
+                booleanProperty(
+                        ENABLE_DYNAMIC_FILTERING,
+                        "Experimental: filter probe side table scans of a join using the join keys collected from the build side",
+                        featuresConfig.isEnableDynamicFiltering(),
+                        false),
+                booleanProperty(
+                        QUERY_RESULT_CACHE_ENABLED,
+                        "Experimental: serve the results of deterministic queries over unchanged tables from the coordinator result cache",
+                        featuresConfig.isQueryResultCacheEnabled(),
+                        false),
+                booleanProperty(
+                        FRAGMENT_RESULT_CACHE_ENABLED,
+                        "Experimental: reuse the output of deterministic leaf pipelines computed on the same split by earlier queries",
+                        featuresConfig.isFragmentResultCacheEnabled(),
+                        false),
+                booleanProperty(
+                        ADAPTIVE_PARTIAL_AGGREGATION_ENABLED,
+                        "Experimental: pass the input of partial aggregations through to the final aggregation when they do not reduce the data",
+                        featuresConfig.isAdaptivePartialAggregationEnabled(),
+                        false),
+                longProperty(
+                        ADAPTIVE_PARTIAL_AGGREGATION_MIN_ROWS,
+                        "Experimental: number of input rows a partial aggregation processes before its reduction is evaluated",
+                        featuresConfig.getAdaptivePartialAggregationMinRows(),
+                        false),
+                doubleProperty(
+                        ADAPTIVE_PARTIAL_AGGREGATION_UNIQUE_ROWS_RATIO_THRESHOLD,
+                        "Experimental: partial aggregation is disabled when the ratio of groups to input rows exceeds this threshold",
+                        featuresConfig.getAdaptivePartialAggregationUniqueRowsRatioThreshold(),
+                        false),
+                booleanProperty(
+                        PARTITIONED_OUTPUT_DIRECT_SERIALIZATION_ENABLED,
+                        "Experimental: write the rows of partitioned output straight into serialized pages instead of building pages first",
+                        featuresConfig.isPartitionedOutputDirectSerializationEnabled(),
                         false));
     }
 
@@ -1096,4 +1139,39 @@ public final class SystemSessionProperties
     {
         return session.getSystemProperty(OPTIMIZE_FULL_OUTER_JOIN_WITH_COALESCE, Boolean.class);
     }
+
+    public static boolean isEnableDynamicFiltering(Session session)
+    {
+        return session.getSystemProperty(ENABLE_DYNAMIC_FILTERING, Boolean.class);
+    }
+
+    public static boolean isQueryResultCacheEnabled(Session session)
+    {
+        return session.getSystemProperty(QUERY_RESULT_CACHE_ENABLED, Boolean.class);
+    }
+
+    public static boolean isFragmentResultCacheEnabled(Session session)
+    {
+        return session.getSystemProperty(FRAGMENT_RESULT_CACHE_ENABLED, Boolean.class);
+    }
+
+    public static boolean isAdaptivePartialAggregationEnabled(Session session)
+    {
+        return session.getSystemProperty(ADAPTIVE_PARTIAL_AGGREGATION_ENABLED, Boolean.class);
+    }
+
+    public static long getAdaptivePartialAggregationMinRows(Session session)
+    {
+        return session.getSystemProperty(ADAPTIVE_PARTIAL_AGGREGATION_MIN_ROWS, Long.class);
+    }
+
+    public static double getAdaptivePartialAggregationUniqueRowsRatioThreshold(Session session)
+    {
+        return session.getSystemProperty(ADAPTIVE_PARTIAL_AGGREGATION_UNIQUE_ROWS_RATIO_THRESHOLD, Double.class);
+    }
+
+    public static boolean isPartitionedOutputDirectSerializationEnabled(Session session)
+    {
+        return session.getSystemProperty(PARTITIONED_OUTPUT_DIRECT_SERIALIZATION_ENABLED, Boolean.class);
+    }
 }
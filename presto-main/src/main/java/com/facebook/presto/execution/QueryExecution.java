@@ -17,6 +17,7 @@ import com.facebook.presto.Session;
 import com.facebook.presto.execution.QueryPreparer.PreparedQuery;
 import com.facebook.presto.execution.QueryTracker.TrackedQuery;
 import com.facebook.presto.execution.StateMachine.StateChangeListener;
+import com.facebook.presto.execution.resultcache.CachedQueryResult;
 import com.facebook.presto.execution.warnings.WarningCollector;
 import com.facebook.presto.memory.VersionedMemoryPoolId;
 import com.facebook.presto.spi.resourceGroups.QueryType;
@@ -81,6 +82,7 @@ public interface QueryExecution
      * contain the full location set, but may be empty.  Users of this data should keep a private copy of the seen buffers to
      * handle out of order events from the listener.  Once noMoreBufferLocations is set the locations will never change, and
      * it is guaranteed that all previously sent locations are contained in the buffer locations.
+     * When the result of the query is served from the result cache, the cached result is set and there are no buffer locations.
      */
     class QueryOutputInfo
     {
@@ -88,13 +90,28 @@ public interface QueryExecution
         private final List<Type> columnTypes;
         private final Map<URI, TaskId> bufferLocations;
         private final boolean noMoreBufferLocations;
+        private final Optional<String> resultCacheKey;
+        private final Optional<CachedQueryResult> cachedResult;
 
         public QueryOutputInfo(List<String> columnNames, List<Type> columnTypes, Map<URI, TaskId> bufferLocations, boolean noMoreBufferLocations)
+        {
+            this(columnNames, columnTypes, bufferLocations, noMoreBufferLocations, Optional.empty(), Optional.empty());
+        }
+
+        public QueryOutputInfo(
+                List<String> columnNames,
+                List<Type> columnTypes,
+                Map<URI, TaskId> bufferLocations,
+                boolean noMoreBufferLocations,
+                Optional<String> resultCacheKey,
+                Optional<CachedQueryResult> cachedResult)
         {
             this.columnNames = ImmutableList.copyOf(requireNonNull(columnNames, "columnNames is null"));
             this.columnTypes = ImmutableList.copyOf(requireNonNull(columnTypes, "columnTypes is null"));
             this.bufferLocations = ImmutableMap.copyOf(requireNonNull(bufferLocations, "bufferLocations is null"));
             this.noMoreBufferLocations = noMoreBufferLocations;
+            this.resultCacheKey = requireNonNull(resultCacheKey, "resultCacheKey is null");
+            this.cachedResult = requireNonNull(cachedResult, "cachedResult is null");
         }
 
         public List<String> getColumnNames()
@@ -116,5 +133,18 @@ public interface QueryExecution
         {
             return noMoreBufferLocations;
         }
+
+        /**
+         * Key under which the result of the query should be stored in the result cache, if it can be cached.
+         */
+        public Optional<String> getResultCacheKey()
+        {
+            return resultCacheKey;
+        }
+
+        public Optional<CachedQueryResult> getCachedResult()
+        {
+            return cachedResult;
+        }
     }
 }
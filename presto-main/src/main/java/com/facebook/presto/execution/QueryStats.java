@@ -566,4 +566,20 @@ public class QueryStats
                 .mapToLong(stats -> stats.getSpilledDataSize().toBytes())
                 .sum());
     }
+
+    @JsonProperty
+    public long getFragmentResultCacheHits()
+    {
+        return operatorSummaries.stream()
+                .mapToLong(OperatorStats::getFragmentResultCacheHits)
+                .sum();
+    }
+
+    @JsonProperty
+    public long getFragmentResultCacheMisses()
+    {
+        return operatorSummaries.stream()
+                .mapToLong(OperatorStats::getFragmentResultCacheMisses)
+                .sum();
+    }
 }
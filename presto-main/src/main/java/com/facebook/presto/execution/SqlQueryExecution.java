@@ -21,6 +21,8 @@ import com.facebook.presto.execution.QueryPreparer.PreparedQuery;
 import com.facebook.presto.execution.StateMachine.StateChangeListener;
 import com.facebook.presto.execution.buffer.OutputBuffers;
 import com.facebook.presto.execution.buffer.OutputBuffers.OutputBufferId;
+import com.facebook.presto.execution.resultcache.CachedQueryResult;
+import com.facebook.presto.execution.resultcache.QueryResultCache;
 import com.facebook.presto.execution.scheduler.ExecutionPolicy;
 import com.facebook.presto.execution.scheduler.NodeScheduler;
 import com.facebook.presto.execution.scheduler.SplitSchedulerStats;
@@ -59,6 +61,7 @@ import com.facebook.presto.sql.planner.SubPlan;
 import com.facebook.presto.sql.planner.optimizations.PlanOptimizer;
 import com.facebook.presto.sql.planner.plan.OutputNode;
 import com.facebook.presto.sql.tree.Explain;
+import com.facebook.presto.sql.tree.Query;
 import com.facebook.presto.transaction.TransactionManager;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -82,10 +85,12 @@ import java.util.function.Consumer;
 
 import static com.facebook.presto.execution.buffer.OutputBuffers.BROADCAST_PARTITION_ID;
 import static com.facebook.presto.execution.buffer.OutputBuffers.createInitialEmptyOutputBuffers;
+import static com.facebook.presto.execution.resultcache.QueryResultCacheKeys.computeResultCacheKey;
 import static com.facebook.presto.execution.scheduler.SqlQueryScheduler.createSqlQueryScheduler;
 import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.MoreFutures.addExceptionCallback;
 import static io.airlift.concurrent.MoreFutures.addSuccessCallback;
 import static io.airlift.units.DataSize.Unit.BYTE;
@@ -115,6 +120,7 @@ public class SqlQueryExecution
     private final ExecutorService queryExecutor;
     private final ScheduledExecutorService schedulerExecutor;
     private final FailureDetector failureDetector;
+    private final QueryResultCache queryResultCache;
 
     private final AtomicReference<SqlQueryScheduler> queryScheduler = new AtomicReference<>();
     private final AtomicReference<Plan> queryPlan = new AtomicReference<>();
@@ -154,6 +160,7 @@ public class SqlQueryExecution
             SplitSchedulerStats schedulerStats,
             StatsCalculator statsCalculator,
             CostCalculator costCalculator,
+            QueryResultCache queryResultCache,
             WarningCollector warningCollector)
     {
         try (SetThreadName ignored = new SetThreadName("Query-%s", session.getQueryId())) {
@@ -174,6 +181,7 @@ public class SqlQueryExecution
             this.schedulerStats = requireNonNull(schedulerStats, "schedulerStats is null");
             this.statsCalculator = requireNonNull(statsCalculator, "statsCalculator is null");
             this.costCalculator = requireNonNull(costCalculator, "costCalculator is null");
+            this.queryResultCache = requireNonNull(queryResultCache, "queryResultCache is null");
 
             checkArgument(scheduleSplitBatchSize > 0, "scheduleSplitBatchSize must be greater than 0");
             this.scheduleSplitBatchSize = scheduleSplitBatchSize;
@@ -361,6 +369,13 @@ public class SqlQueryExecution
 
                 metadata.beginQuery(getSession(), plan.getConnectors());
 
+                // serve the result from the result cache if the same query already ran over the same table versions
+                Optional<CachedQueryResult> cachedResult = plan.getResultCacheKey().flatMap(queryResultCache::get);
+                if (cachedResult.isPresent()) {
+                    startCachedResult(plan, cachedResult.get());
+                    return;
+                }
+
                 // plan distribution of query
                 planDistribution(plan);
 
@@ -384,6 +399,34 @@ public class SqlQueryExecution
         }
     }
 
+    private void startCachedResult(PlanRoot plan, CachedQueryResult cachedResult)
+    {
+        // release the cached result when the query finishes, even if the client did not read all of it
+        stateMachine.addStateChangeListener(state -> {
+            if (state.isDone()) {
+                cachedResult.close();
+            }
+        });
+
+        // if query was canceled, skip serving the result
+        if (stateMachine.isDone()) {
+            return;
+        }
+
+        SubPlan outputStagePlan = plan.getRoot();
+        stateMachine.setCachedResult(cachedResult);
+        stateMachine.setColumns(((OutputNode) outputStagePlan.getFragment().getRoot()).getColumnNames(), outputStagePlan.getFragment().getTypes());
+
+        if (!stateMachine.transitionToStarting()) {
+            // query already started or finished
+            return;
+        }
+        stateMachine.transitionToRunning();
+
+        // the query is finished once the client has read the whole result
+        cachedResult.getFinishedFuture().addListener(stateMachine::transitionToFinishing, directExecutor());
+    }
+
     @Override
     public void addStateChangeListener(StateChangeListener<QueryState> stateChangeListener)
     {
@@ -439,6 +482,12 @@ public class SqlQueryExecution
         Optional<Output> output = new OutputExtractor().extractOutput(plan.getRoot());
         stateMachine.setOutput(output);
 
+        // compute the result cache key before fragmenting, as the key is derived from the optimized plan
+        Optional<String> resultCacheKey = Optional.empty();
+        if (analysis.getStatement() instanceof Query) {
+            resultCacheKey = computeResultCacheKey(stateMachine.getSession(), metadata, plan);
+        }
+
         // fragment the plan
         SubPlan fragmentedPlan = planFragmenter.createSubPlans(stateMachine.getSession(), plan, false, idAllocator, stateMachine.getWarningCollector());
 
@@ -446,7 +495,7 @@ public class SqlQueryExecution
         stateMachine.endAnalysis();
 
         boolean explainAnalyze = analysis.getStatement() instanceof Explain && ((Explain) analysis.getStatement()).isAnalyze();
-        return new PlanRoot(fragmentedPlan, !explainAnalyze, extractConnectors(analysis));
+        return new PlanRoot(fragmentedPlan, !explainAnalyze, extractConnectors(analysis), resultCacheKey);
     }
 
     private static Set<ConnectorId> extractConnectors(Analysis analysis)
@@ -484,6 +533,7 @@ public class SqlQueryExecution
         SubPlan outputStagePlan = plan.getRoot();
 
         // record output field
+        plan.getResultCacheKey().ifPresent(stateMachine::setResultCacheKey);
         stateMachine.setColumns(((OutputNode) outputStagePlan.getFragment().getRoot()).getColumnNames(), outputStagePlan.getFragment().getTypes());
 
         PartitioningHandle partitioningHandle = outputStagePlan.getFragment().getPartitioningScheme().getPartitioning().getHandle();
@@ -631,12 +681,14 @@ public class SqlQueryExecution
         private final SubPlan root;
         private final boolean summarizeTaskInfos;
         private final Set<ConnectorId> connectors;
+        private final Optional<String> resultCacheKey;
 
-        public PlanRoot(SubPlan root, boolean summarizeTaskInfos, Set<ConnectorId> connectors)
+        public PlanRoot(SubPlan root, boolean summarizeTaskInfos, Set<ConnectorId> connectors, Optional<String> resultCacheKey)
         {
             this.root = requireNonNull(root, "root is null");
             this.summarizeTaskInfos = summarizeTaskInfos;
             this.connectors = ImmutableSet.copyOf(connectors);
+            this.resultCacheKey = requireNonNull(resultCacheKey, "resultCacheKey is null");
         }
 
         public SubPlan getRoot()
@@ -653,6 +705,11 @@ public class SqlQueryExecution
         {
             return connectors;
         }
+
+        public Optional<String> getResultCacheKey()
+        {
+            return resultCacheKey;
+        }
     }
 
     public static class SqlQueryExecutionFactory
@@ -680,6 +737,7 @@ public class SqlQueryExecution
         private final ClusterSizeMonitor clusterSizeMonitor;
         private final StatsCalculator statsCalculator;
         private final CostCalculator costCalculator;
+        private final QueryResultCache queryResultCache;
 
         @Inject
         SqlQueryExecutionFactory(QueryManagerConfig config,
@@ -703,7 +761,8 @@ public class SqlQueryExecution
                 SplitSchedulerStats schedulerStats,
                 ClusterSizeMonitor clusterSizeMonitor,
                 StatsCalculator statsCalculator,
-                CostCalculator costCalculator)
+                CostCalculator costCalculator,
+                QueryResultCache queryResultCache)
         {
             requireNonNull(config, "config is null");
             this.schedulerStats = requireNonNull(schedulerStats, "schedulerStats is null");
@@ -729,6 +788,7 @@ public class SqlQueryExecution
             this.planOptimizers = planOptimizers.get();
             this.statsCalculator = requireNonNull(statsCalculator, "statsCalculator is null");
             this.costCalculator = requireNonNull(costCalculator, "costCalculator is null");
+            this.queryResultCache = requireNonNull(queryResultCache, "queryResultCache is null");
         }
 
         @Override
@@ -773,6 +833,7 @@ public class SqlQueryExecution
                     schedulerStats,
                     statsCalculator,
                     costCalculator,
+                    queryResultCache,
                     warningCollector);
 
             return execution;
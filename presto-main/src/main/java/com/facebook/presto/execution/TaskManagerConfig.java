@@ -76,6 +76,7 @@ public class TaskManagerConfig
     private int taskYieldThreads = 3;
 
     private BigDecimal levelTimeMultiplier = new BigDecimal(2.0);
+    private boolean workStealingSplitQueueEnabled;
 
     private boolean legacyLifespanCompletionCondition;
 
@@ -228,6 +229,19 @@ public class TaskManagerConfig
         return this;
     }
 
+    public boolean isWorkStealingSplitQueueEnabled()
+    {
+        return workStealingSplitQueueEnabled;
+    }
+
+    @Config("task.work-stealing-split-queue-enabled")
+    @ConfigDescription("Keep the waiting splits in one queue per worker thread, which other worker threads steal from when idle")
+    public TaskManagerConfig setWorkStealingSplitQueueEnabled(boolean workStealingSplitQueueEnabled)
+    {
+        this.workStealingSplitQueueEnabled = workStealingSplitQueueEnabled;
+        return this;
+    }
+
     @Min(1)
     public int getMaxWorkerThreads()
     {
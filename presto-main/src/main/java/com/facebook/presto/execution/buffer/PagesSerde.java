@@ -66,9 +66,17 @@ public class PagesSerde
     {
         SliceOutput serializationBuffer = new DynamicSliceOutput(toIntExact(page.getSizeInBytes() + Integer.BYTES)); // block length is an int
         writeRawPage(page, serializationBuffer, blockEncodingSerde);
-        Slice slice = serializationBuffer.slice();
+        return serialize(serializationBuffer.slice(), page.getPositionCount());
+    }
+
+    /**
+     * Serializes a page that is already written in the raw page format, compressing and encrypting it when enabled.
+     */
+    public SerializedPage serialize(Slice rawPage, int positionCount)
+    {
+        Slice slice = rawPage;
 
-        int uncompressedSize = serializationBuffer.size();
+        int uncompressedSize = rawPage.length();
         byte markers = PageCodecMarker.none();
 
         if (compressor.isPresent()) {
@@ -92,13 +100,13 @@ public class PagesSerde
             slice = Slices.wrappedBuffer(spillCipher.get().encrypt(slice.toByteBuffer()));
             markers = ENCRYPTED.set(markers);
         }
-        else {
+        else if (!slice.isCompact()) {
             //  Encryption disabled, slice data is likely much smaller than its backing buffer
             //  either because of compression or dynamic sizing of the initial output slice
             slice = Slices.copyOf(slice);
         }
 
-        return new SerializedPage(slice, markers, page.getPositionCount(), uncompressedSize);
+        return new SerializedPage(slice, markers, positionCount, uncompressedSize);
     }
 
     public Page deserialize(SerializedPage serializedPage)
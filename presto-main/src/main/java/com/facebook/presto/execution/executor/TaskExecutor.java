@@ -308,17 +308,21 @@ public class TaskExecutor
     {
         List<PrioritizedSplitRunner> splitsToDestroy = new ArrayList<>();
         List<ListenableFuture<?>> finishedFutures = new ArrayList<>(taskSplits.size());
+        boolean leafSplitsEnqueued = false;
+        // the runners only use thread safe state of the task handle, so they are created before taking the lock
+        List<PrioritizedSplitRunner> prioritizedSplitRunners = new ArrayList<>(taskSplits.size());
+        for (SplitRunner taskSplit : taskSplits) {
+            prioritizedSplitRunners.add(new PrioritizedSplitRunner(
+                    taskHandle,
+                    taskSplit,
+                    ticker,
+                    globalCpuTimeMicros,
+                    globalScheduledTimeMicros,
+                    blockedQuantaWallTime,
+                    unblockedQuantaWallTime));
+        }
         synchronized (this) {
-            for (SplitRunner taskSplit : taskSplits) {
-                PrioritizedSplitRunner prioritizedSplitRunner = new PrioritizedSplitRunner(
-                        taskHandle,
-                        taskSplit,
-                        ticker,
-                        globalCpuTimeMicros,
-                        globalScheduledTimeMicros,
-                        blockedQuantaWallTime,
-                        unblockedQuantaWallTime);
-
+            for (PrioritizedSplitRunner prioritizedSplitRunner : prioritizedSplitRunners) {
                 if (taskHandle.isDestroyed()) {
                     // If the handle is destroyed, we destroy the task splits to complete the future
                     splitsToDestroy.add(prioritizedSplitRunner);
@@ -334,12 +338,15 @@ public class TaskExecutor
                     taskHandle.enqueueSplit(prioritizedSplitRunner);
                     // if task is under the limit for guaranteed splits, start one
                     scheduleTaskIfNecessary(taskHandle);
-                    // if globally we have more resources, start more
-                    addNewEntrants();
+                    leafSplitsEnqueued = true;
                 }
 
                 finishedFutures.add(prioritizedSplitRunner.getFinishedFuture());
             }
+            if (leafSplitsEnqueued) {
+                // if globally we have more resources, start more
+                addNewEntrants();
+            }
         }
         for (PrioritizedSplitRunner split : splitsToDestroy) {
             split.destroy();
@@ -350,32 +357,37 @@ public class TaskExecutor
     private void splitFinished(PrioritizedSplitRunner split)
     {
         completedSplitsPerLevel.incrementAndGet(split.getPriority().getLevel());
+        // the task handle has its own lock, and completing the split reads the utilization of the output buffer of the task
+        // to adjust its concurrency, so it is done before taking the lock of the task executor
+        TaskHandle taskHandle = split.getTaskHandle();
+        taskHandle.splitComplete(split);
+
+        boolean intermediate;
         synchronized (this) {
             allSplits.remove(split);
-
-            long wallNanos = System.nanoTime() - split.getCreatedNanos();
-            splitWallTime.add(Duration.succinctNanos(wallNanos));
-
-            if (intermediateSplits.remove(split)) {
-                intermediateSplitWallTime.add(wallNanos);
-                intermediateSplitScheduledTime.add(split.getScheduledNanos());
-                intermediateSplitWaitTime.add(split.getWaitNanos());
-                intermediateSplitCpuTime.add(split.getCpuTimeNanos());
-            }
-            else {
-                leafSplitWallTime.add(wallNanos);
-                leafSplitScheduledTime.add(split.getScheduledNanos());
-                leafSplitWaitTime.add(split.getWaitNanos());
-                leafSplitCpuTime.add(split.getCpuTimeNanos());
-            }
-
-            TaskHandle taskHandle = split.getTaskHandle();
-            taskHandle.splitComplete(split);
+            intermediate = intermediateSplits.remove(split);
 
             scheduleTaskIfNecessary(taskHandle);
 
             addNewEntrants();
         }
+
+        // the stats are thread safe, so record them outside of the synchronized block to keep it short
+        long wallNanos = System.nanoTime() - split.getCreatedNanos();
+        splitWallTime.add(Duration.succinctNanos(wallNanos));
+        if (intermediate) {
+            intermediateSplitWallTime.add(wallNanos);
+            intermediateSplitScheduledTime.add(split.getScheduledNanos());
+            intermediateSplitWaitTime.add(split.getWaitNanos());
+            intermediateSplitCpuTime.add(split.getCpuTimeNanos());
+        }
+        else {
+            leafSplitWallTime.add(wallNanos);
+            leafSplitScheduledTime.add(split.getScheduledNanos());
+            leafSplitWaitTime.add(split.getWaitNanos());
+            leafSplitCpuTime.add(split.getCpuTimeNanos());
+        }
+
         // call destroy outside of synchronized block as it is expensive and doesn't need a lock on the task executor
         split.destroy();
     }
@@ -0,0 +1,299 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.executor;
+
+import com.facebook.presto.execution.TaskManagerConfig;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.floorMod;
+
+/**
+ * A {@link MultilevelSplitQueue} that keeps the waiting splits in one queue per runner thread
+ * instead of a single queue behind a single lock.
+ * <p>
+ * Each thread is assigned a home queue. Splits offered by a thread go to its home queue, and a
+ * thread taking a split first looks in its home queue and then steals from the other queues.
+ * The level to take from is selected with the same scheduled time accounting as the
+ * {@link MultilevelSplitQueue}, using the global number of waiting splits per level, so the
+ * fairness between levels is preserved. Within a level, splits are ordered by priority in
+ * each queue separately.
+ */
+@ThreadSafe
+public class WorkStealingSplitQueue
+        extends MultilevelSplitQueue
+{
+    private final List<Stripe> stripes;
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    private final ThreadLocal<Integer> homeStripe = ThreadLocal.withInitial(() -> floorMod(nextStripe.getAndIncrement(), getStripeCount()));
+
+    private final AtomicInteger[] levelWaitingSplitCounts = new AtomicInteger[LEVEL_THRESHOLD_SECONDS.length];
+    private final AtomicInteger waitingSplitCount = new AtomicInteger();
+
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition notEmpty = idleLock.newCondition();
+    private final AtomicInteger idleRunners = new AtomicInteger();
+
+    public WorkStealingSplitQueue(TaskManagerConfig taskManagerConfig)
+    {
+        this(taskManagerConfig.getLevelTimeMultiplier().doubleValue(), taskManagerConfig.getMaxWorkerThreads());
+    }
+
+    public WorkStealingSplitQueue(double levelTimeMultiplier, int stripeCount)
+    {
+        super(levelTimeMultiplier);
+        checkArgument(stripeCount > 0, "stripeCount must be positive");
+
+        List<Stripe> stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new Stripe());
+        }
+        this.stripes = stripes;
+
+        for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
+            levelWaitingSplitCounts[level] = new AtomicInteger();
+        }
+    }
+
+    @Override
+    public void offer(PrioritizedSplitRunner split)
+    {
+        checkArgument(split != null, "split is null");
+
+        split.setReady();
+        int level = split.getPriority().getLevel();
+        if (levelWaitingSplitCounts[level].get() <= 0) {
+            catchUpLevelTime(level);
+        }
+
+        stripes.get(homeStripe.get()).offer(level, split);
+        levelWaitingSplitCounts[level].incrementAndGet();
+        waitingSplitCount.incrementAndGet();
+
+        // the count is incremented before checking for idle runners, and an idle runner
+        // registers itself before checking the count, so the wake up cannot be lost
+        if (idleRunners.get() > 0) {
+            idleLock.lock();
+            try {
+                notEmpty.signal();
+            }
+            finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public PrioritizedSplitRunner take()
+            throws InterruptedException
+    {
+        int home = homeStripe.get();
+        while (true) {
+            int selectedLevel = selectLevel(level -> levelWaitingSplitCounts[level].get() > 0);
+            if (selectedLevel == -1) {
+                awaitSplits();
+                continue;
+            }
+
+            PrioritizedSplitRunner result = poll(home, selectedLevel);
+            if (result == null) {
+                // another runner took the last split of this level
+                continue;
+            }
+
+            if (result.updateLevelPriority()) {
+                offer(result);
+                continue;
+            }
+
+            recordSelectedSplit(result);
+            return result;
+        }
+    }
+
+    private PrioritizedSplitRunner poll(int home, int level)
+    {
+        PrioritizedSplitRunner result = stripes.get(home).poll(level);
+        if (result == null) {
+            result = steal(home, level);
+        }
+        if (result != null) {
+            levelWaitingSplitCounts[level].decrementAndGet();
+            waitingSplitCount.decrementAndGet();
+        }
+        return result;
+    }
+
+    private PrioritizedSplitRunner steal(int home, int level)
+    {
+        // skip the queues that are busy first, and only wait for them if there is nothing else to take
+        for (int i = 1; i < stripes.size(); i++) {
+            PrioritizedSplitRunner result = stripes.get((home + i) % stripes.size()).tryPoll(level);
+            if (result != null) {
+                return result;
+            }
+        }
+        for (int i = 1; i < stripes.size(); i++) {
+            PrioritizedSplitRunner result = stripes.get((home + i) % stripes.size()).poll(level);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private void awaitSplits()
+            throws InterruptedException
+    {
+        idleLock.lockInterruptibly();
+        try {
+            idleRunners.incrementAndGet();
+            try {
+                while (waitingSplitCount.get() <= 0) {
+                    notEmpty.await();
+                }
+            }
+            finally {
+                idleRunners.decrementAndGet();
+            }
+        }
+        finally {
+            idleLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(PrioritizedSplitRunner split)
+    {
+        checkArgument(split != null, "split is null");
+        for (Stripe stripe : stripes) {
+            stripe.remove(split);
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<PrioritizedSplitRunner> splits)
+    {
+        for (Stripe stripe : stripes) {
+            stripe.removeAll(splits);
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        // the count can briefly go below zero when a split is taken before its offer is counted
+        return Math.max(waitingSplitCount.get(), 0);
+    }
+
+    private int getStripeCount()
+    {
+        return stripes.size();
+    }
+
+    @ThreadSafe
+    private class Stripe
+    {
+        private final ReentrantLock lock = new ReentrantLock();
+        @GuardedBy("lock")
+        private final List<PriorityQueue<PrioritizedSplitRunner>> levelWaitingSplits;
+
+        public Stripe()
+        {
+            levelWaitingSplits = new ArrayList<>(LEVEL_THRESHOLD_SECONDS.length);
+            for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
+                levelWaitingSplits.add(new PriorityQueue<>());
+            }
+        }
+
+        public void offer(int level, PrioritizedSplitRunner split)
+        {
+            lock.lock();
+            try {
+                levelWaitingSplits.get(level).offer(split);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public PrioritizedSplitRunner poll(int level)
+        {
+            lock.lock();
+            try {
+                return levelWaitingSplits.get(level).poll();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public PrioritizedSplitRunner tryPoll(int level)
+        {
+            if (!lock.tryLock()) {
+                return null;
+            }
+            try {
+                return levelWaitingSplits.get(level).poll();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public void remove(PrioritizedSplitRunner split)
+        {
+            lock.lock();
+            try {
+                for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
+                    if (levelWaitingSplits.get(level).remove(split)) {
+                        levelWaitingSplitCounts[level].decrementAndGet();
+                        waitingSplitCount.decrementAndGet();
+                    }
+                }
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        public void removeAll(Collection<PrioritizedSplitRunner> splits)
+        {
+            lock.lock();
+            try {
+                for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
+                    PriorityQueue<PrioritizedSplitRunner> queue = levelWaitingSplits.get(level);
+                    int removed = queue.size();
+                    queue.removeAll(splits);
+                    removed -= queue.size();
+                    levelWaitingSplitCounts[level].addAndGet(-removed);
+                    waitingSplitCount.addAndGet(-removed);
+                }
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.resultcache;
+
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.spi.PrestoException;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.airlift.slice.InputStreamSliceInput;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+import static com.facebook.presto.execution.buffer.PagesSerdeUtil.readSerializedPages;
+import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The pages of a cached query result, read from the cache file as the client fetches them.
+ */
+@ThreadSafe
+public class CachedQueryResult
+        implements Closeable
+{
+    private final InputStream input;
+    @GuardedBy("this")
+    private final Iterator<SerializedPage> pages;
+    @GuardedBy("this")
+    private boolean closed;
+    private final SettableFuture<?> finished = SettableFuture.create();
+
+    CachedQueryResult(InputStream input)
+    {
+        this.input = requireNonNull(input, "input is null");
+        this.pages = readSerializedPages(new InputStreamSliceInput(input));
+    }
+
+    /**
+     * Returns the next page of the result, or null when all pages have been read.
+     */
+    @Nullable
+    public synchronized SerializedPage pollPage()
+    {
+        if (closed) {
+            return null;
+        }
+        try {
+            if (pages.hasNext()) {
+                return pages.next();
+            }
+        }
+        catch (UncheckedIOException e) {
+            close();
+            throw new PrestoException(GENERIC_INTERNAL_ERROR, "Failed to read cached query result", e);
+        }
+        close();
+        return null;
+    }
+
+    public synchronized boolean isFinished()
+    {
+        return closed;
+    }
+
+    /**
+     * Completes when all pages of the result have been read, or the result is closed.
+     */
+    public ListenableFuture<?> getFinishedFuture()
+    {
+        return finished;
+    }
+
+    @Override
+    public void close()
+    {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                input.close();
+            }
+            catch (IOException ignored) {
+            }
+        }
+        finished.set(null);
+    }
+}
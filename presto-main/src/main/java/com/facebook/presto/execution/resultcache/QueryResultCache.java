@@ -0,0 +1,254 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.resultcache;
+
+import io.airlift.log.Logger;
+import io.airlift.stats.CounterStat;
+import io.airlift.units.DataSize;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches the final output pages of queries in files on the local disk of the coordinator.
+ * Results are keyed by {@link QueryResultCacheKeys#computeResultCacheKey}, and the least
+ * recently used results are evicted when the total size of the cached results is exceeded.
+ */
+@ThreadSafe
+public class QueryResultCache
+{
+    private static final Logger log = Logger.get(QueryResultCache.class);
+
+    private static final String RESULT_FILE_SUFFIX = ".result";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final Path path;
+    private final long maxSizeInBytes;
+    private final long maxEntrySizeInBytes;
+
+    // sizes of the cached results in access order, so the first entry is the least recently used
+    @GuardedBy("this")
+    private final Map<String, Long> resultSizes = new LinkedHashMap<>(16, 0.75f, true);
+    @GuardedBy("this")
+    private final Set<String> keysBeingWritten = new HashSet<>();
+    @GuardedBy("this")
+    private long sizeInBytes;
+    @GuardedBy("this")
+    private boolean initialized;
+
+    private final CounterStat hits = new CounterStat();
+    private final CounterStat misses = new CounterStat();
+    private final CounterStat evictions = new CounterStat();
+
+    @Inject
+    public QueryResultCache(QueryResultCacheConfig config)
+    {
+        this(config.getPath(), config.getMaxSize(), config.getMaxEntrySize());
+    }
+
+    public QueryResultCache(Path path, DataSize maxSize, DataSize maxEntrySize)
+    {
+        this.path = requireNonNull(path, "path is null");
+        this.maxSizeInBytes = requireNonNull(maxSize, "maxSize is null").toBytes();
+        this.maxEntrySizeInBytes = requireNonNull(maxEntrySize, "maxEntrySize is null").toBytes();
+        checkArgument(maxEntrySizeInBytes <= maxSizeInBytes, "maxEntrySize is larger than maxSize");
+    }
+
+    /**
+     * Opens the cached result for the key. Once opened, the result can be read to the end
+     * even if it is evicted from the cache in the meantime.
+     */
+    public Optional<CachedQueryResult> get(String key)
+    {
+        requireNonNull(key, "key is null");
+        synchronized (this) {
+            if (resultSizes.containsKey(key)) {
+                try {
+                    InputStream input = newInputStream(resultFile(key));
+                    hits.update(1);
+                    return Optional.of(new CachedQueryResult(input));
+                }
+                catch (IOException e) {
+                    log.warn(e, "Failed to open cached query result %s", key);
+                    evict(key);
+                }
+            }
+        }
+        misses.update(1);
+        return Optional.empty();
+    }
+
+    /**
+     * Starts caching the result for the key, unless it is already cached or being cached by another query.
+     */
+    public synchronized Optional<QueryResultCacheWriter> startWriting(String key)
+    {
+        requireNonNull(key, "key is null");
+        if (resultSizes.containsKey(key) || !keysBeingWritten.add(key)) {
+            return Optional.empty();
+        }
+        try {
+            initializeIfNecessary();
+            return Optional.of(new QueryResultCacheWriter(this, key, temporaryFile(key), maxEntrySizeInBytes));
+        }
+        catch (IOException | RuntimeException e) {
+            log.warn(e, "Failed to create query result cache file for %s", key);
+            keysBeingWritten.remove(key);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Creates the directory of the cache when the first result is written, so that a server on which
+     * the cache is never used does not touch the disk.
+     */
+    @GuardedBy("this")
+    private void initializeIfNecessary()
+            throws IOException
+    {
+        if (initialized) {
+            return;
+        }
+        // the cache is not persistent, so remove the results left behind by a previous run
+        createDirectories(path);
+        try (DirectoryStream<Path> files = newDirectoryStream(path, "*{" + RESULT_FILE_SUFFIX + "," + TEMPORARY_FILE_SUFFIX + "}")) {
+            for (Path file : files) {
+                deleteIfExists(file);
+            }
+        }
+        initialized = true;
+    }
+
+    void commit(String key, long resultSizeInBytes)
+    {
+        try {
+            move(temporaryFile(key), resultFile(key), ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to commit cached query result %s", key);
+            abort(key);
+            return;
+        }
+
+        synchronized (this) {
+            keysBeingWritten.remove(key);
+            resultSizes.put(key, resultSizeInBytes);
+            sizeInBytes += resultSizeInBytes;
+
+            Iterator<String> leastRecentlyUsed = resultSizes.keySet().iterator();
+            while (sizeInBytes > maxSizeInBytes && leastRecentlyUsed.hasNext()) {
+                String evictedKey = leastRecentlyUsed.next();
+                sizeInBytes -= resultSizes.get(evictedKey);
+                leastRecentlyUsed.remove();
+                deleteQuietly(resultFile(evictedKey));
+                evictions.update(1);
+            }
+        }
+    }
+
+    void abort(String key)
+    {
+        deleteQuietly(temporaryFile(key));
+        synchronized (this) {
+            keysBeingWritten.remove(key);
+        }
+    }
+
+    @GuardedBy("this")
+    private void evict(String key)
+    {
+        Long resultSize = resultSizes.remove(key);
+        if (resultSize != null) {
+            sizeInBytes -= resultSize;
+            deleteQuietly(resultFile(key));
+            evictions.update(1);
+        }
+    }
+
+    private Path resultFile(String key)
+    {
+        return path.resolve(key + RESULT_FILE_SUFFIX);
+    }
+
+    private Path temporaryFile(String key)
+    {
+        return path.resolve(key + TEMPORARY_FILE_SUFFIX);
+    }
+
+    private static void deleteQuietly(Path file)
+    {
+        try {
+            deleteIfExists(file);
+        }
+        catch (IOException e) {
+            log.warn(e, "Failed to delete query result cache file %s", file);
+        }
+    }
+
+    @Managed
+    public synchronized long getSizeInBytes()
+    {
+        return sizeInBytes;
+    }
+
+    @Managed
+    public synchronized int getCachedResults()
+    {
+        return resultSizes.size();
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getHits()
+    {
+        return hits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getMisses()
+    {
+        return misses;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getEvictions()
+    {
+        return evictions;
+    }
+}
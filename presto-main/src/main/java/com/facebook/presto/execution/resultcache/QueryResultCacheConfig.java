@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.resultcache;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.DataSize;
+
+import javax.validation.constraints.NotNull;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+
+public class QueryResultCacheConfig
+{
+    private Path path = Paths.get(System.getProperty("java.io.tmpdir"), "presto-query-result-cache");
+    private DataSize maxSize = new DataSize(10, GIGABYTE);
+    private DataSize maxEntrySize = new DataSize(100, MEGABYTE);
+
+    @NotNull
+    public Path getPath()
+    {
+        return path;
+    }
+
+    @Config("experimental.query-result-cache-path")
+    @ConfigDescription("Directory on the coordinator where cached query results are stored")
+    public QueryResultCacheConfig setPath(String path)
+    {
+        this.path = Paths.get(path);
+        return this;
+    }
+
+    @NotNull
+    public DataSize getMaxSize()
+    {
+        return maxSize;
+    }
+
+    @Config("experimental.query-result-cache-max-size")
+    @ConfigDescription("Total size of the cached query results, beyond which the least recently used results are evicted")
+    public QueryResultCacheConfig setMaxSize(DataSize maxSize)
+    {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getMaxEntrySize()
+    {
+        return maxEntrySize;
+    }
+
+    @Config("experimental.query-result-cache-max-entry-size")
+    @ConfigDescription("Results of queries that are larger than this are not cached")
+    public QueryResultCacheConfig setMaxEntrySize(DataSize maxEntrySize)
+    {
+        this.maxEntrySize = maxEntrySize;
+        return this;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.resultcache;
+
+import com.facebook.presto.Session;
+import com.facebook.presto.cost.StatsAndCosts;
+import com.facebook.presto.metadata.FunctionManager;
+import com.facebook.presto.metadata.Metadata;
+import com.facebook.presto.spi.plan.AggregationNode;
+import com.facebook.presto.spi.plan.PlanNode;
+import com.facebook.presto.spi.plan.TableScanNode;
+import com.facebook.presto.spi.relation.CallExpression;
+import com.facebook.presto.spi.relation.ConstantExpression;
+import com.facebook.presto.spi.relation.InputReferenceExpression;
+import com.facebook.presto.spi.relation.LambdaDefinitionExpression;
+import com.facebook.presto.spi.relation.RowExpression;
+import com.facebook.presto.spi.relation.RowExpressionVisitor;
+import com.facebook.presto.spi.relation.SpecialFormExpression;
+import com.facebook.presto.spi.relation.VariableReferenceExpression;
+import com.facebook.presto.sql.planner.Plan;
+import com.facebook.presto.sql.planner.plan.IndexSourceNode;
+import com.facebook.presto.sql.planner.plan.SampleNode;
+import com.facebook.presto.sql.planner.plan.WindowNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hasher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.facebook.presto.SystemSessionProperties.isQueryResultCacheEnabled;
+import static com.facebook.presto.sql.planner.ExpressionExtractor.extractExpressions;
+import static com.facebook.presto.sql.planner.optimizations.PlanNodeSearcher.searchFrom;
+import static com.facebook.presto.sql.planner.planPrinter.PlanPrinter.textLogicalPlan;
+import static com.google.common.hash.Hashing.sha256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class QueryResultCacheKeys
+{
+    // deterministic functions whose result depends on the start time of the query
+    private static final Set<String> SESSION_TIME_FUNCTIONS = ImmutableSet.of(
+            "current_date",
+            "current_time",
+            "current_timestamp",
+            "localtime",
+            "localtimestamp",
+            "now");
+
+    private QueryResultCacheKeys() {}
+
+    /**
+     * Computes the key of the query result in the {@link QueryResultCache}, or empty if the result
+     * cannot be cached because the cache is disabled for the session, the query is not deterministic,
+     * or it reads a table without a version. The key covers the optimized plan, the versions of the
+     * tables read by the query, and the session settings that can change the result.
+     */
+    public static Optional<String> computeResultCacheKey(Session session, Metadata metadata, Plan plan)
+    {
+        // the table versions may require metastore calls, so nothing is computed unless the cache is used
+        if (!isQueryResultCacheEnabled(session)) {
+            return Optional.empty();
+        }
+
+        PlanNode root = plan.getRoot();
+        FunctionManager functionManager = metadata.getFunctionManager();
+
+        if (searchFrom(root).where(node -> node instanceof IndexSourceNode || node instanceof SampleNode).matches()) {
+            return Optional.empty();
+        }
+
+        if (!isDeterministic(root, functionManager)) {
+            return Optional.empty();
+        }
+
+        Hasher hasher = sha256().newHasher();
+        for (TableScanNode tableScan : searchFrom(root).where(TableScanNode.class::isInstance).<TableScanNode>findAll()) {
+            Optional<String> version = metadata.getTableVersion(session, tableScan.getTable());
+            if (!version.isPresent()) {
+                return Optional.empty();
+            }
+            hasher.putString(tableScan.getTable().getConnectorId().toString(), UTF_8)
+                    .putString(version.get(), UTF_8);
+        }
+
+        Map<String, Map<String, String>> catalogProperties = new TreeMap<>();
+        session.getConnectorProperties().forEach((connectorId, properties) -> catalogProperties.put(connectorId.toString(), new TreeMap<>(properties)));
+
+        hasher.putString(session.getIdentity().getUser(), UTF_8)
+                .putString(session.getTimeZoneKey().getId(), UTF_8)
+                .putString(session.getLocale().toLanguageTag(), UTF_8)
+                .putString(new TreeMap<>(session.getSystemProperties()).toString(), UTF_8)
+                .putString(catalogProperties.toString(), UTF_8)
+                .putString(textLogicalPlan(root, plan.getTypes(), functionManager, StatsAndCosts.empty(), session, 0), UTF_8);
+        return Optional.of(hasher.hash().toString());
+    }
+
+    /**
+     * Returns true if all expressions and functions of the plan are deterministic and do not depend on the start time of the query.
+     */
+    public static boolean isDeterministic(PlanNode root, FunctionManager functionManager)
+    {
+        DeterminismVisitor determinismVisitor = new DeterminismVisitor(functionManager);
+        return extractAllExpressions(root).stream().allMatch(expression -> expression.accept(determinismVisitor, null));
+    }
+
+    private static List<RowExpression> extractAllExpressions(PlanNode root)
+    {
+        ImmutableList.Builder<RowExpression> expressions = ImmutableList.<RowExpression>builder()
+                .addAll(extractExpressions(root));
+        for (AggregationNode aggregation : searchFrom(root).where(AggregationNode.class::isInstance).<AggregationNode>findAll()) {
+            aggregation.getAggregations().values().forEach(value -> expressions.add(value.getCall()));
+        }
+        for (WindowNode window : searchFrom(root).where(WindowNode.class::isInstance).<WindowNode>findAll()) {
+            window.getWindowFunctions().values().forEach(function -> expressions.add(function.getFunctionCall()));
+        }
+        return expressions.build();
+    }
+
+    private static class DeterminismVisitor
+            implements RowExpressionVisitor<Boolean, Void>
+    {
+        private final FunctionManager functionManager;
+
+        public DeterminismVisitor(FunctionManager functionManager)
+        {
+            this.functionManager = functionManager;
+        }
+
+        @Override
+        public Boolean visitCall(CallExpression call, Void context)
+        {
+            if (SESSION_TIME_FUNCTIONS.contains(call.getDisplayName()) || !functionManager.getFunctionMetadata(call.getFunctionHandle()).isDeterministic()) {
+                return false;
+            }
+            return call.getArguments().stream().allMatch(argument -> argument.accept(this, context));
+        }
+
+        @Override
+        public Boolean visitInputReference(InputReferenceExpression reference, Void context)
+        {
+            return true;
+        }
+
+        @Override
+        public Boolean visitConstant(ConstantExpression literal, Void context)
+        {
+            return true;
+        }
+
+        @Override
+        public Boolean visitLambda(LambdaDefinitionExpression lambda, Void context)
+        {
+            return lambda.getBody().accept(this, context);
+        }
+
+        @Override
+        public Boolean visitVariableReference(VariableReferenceExpression reference, Void context)
+        {
+            return true;
+        }
+
+        @Override
+        public Boolean visitSpecialForm(SpecialFormExpression specialForm, Void context)
+        {
+            return specialForm.getArguments().stream().allMatch(argument -> argument.accept(this, context));
+        }
+    }
+}
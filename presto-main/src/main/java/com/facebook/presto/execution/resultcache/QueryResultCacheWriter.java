@@ -0,0 +1,111 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.resultcache;
+
+import com.facebook.presto.execution.buffer.SerializedPage;
+import io.airlift.log.Logger;
+import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.SliceOutput;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static com.facebook.presto.execution.buffer.PagesSerdeUtil.writeSerializedPage;
+import static java.nio.file.Files.newOutputStream;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes the pages of a query result to a temporary file, which becomes visible in the
+ * {@link QueryResultCache} only when the result is committed.
+ */
+@NotThreadSafe
+public class QueryResultCacheWriter
+{
+    private static final Logger log = Logger.get(QueryResultCacheWriter.class);
+
+    private final QueryResultCache cache;
+    private final String key;
+    private final long maxSizeInBytes;
+    private final SliceOutput output;
+    private boolean done;
+
+    QueryResultCacheWriter(QueryResultCache cache, String key, Path file, long maxSizeInBytes)
+            throws IOException
+    {
+        this.cache = requireNonNull(cache, "cache is null");
+        this.key = requireNonNull(key, "key is null");
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.output = new OutputStreamSliceOutput(newOutputStream(requireNonNull(file, "file is null")));
+    }
+
+    /**
+     * Appends a page to the result. The result is abandoned if it grows beyond the maximum entry size.
+     */
+    public void append(SerializedPage page)
+    {
+        if (done) {
+            return;
+        }
+        try {
+            writeSerializedPage(output, page);
+        }
+        catch (UncheckedIOException e) {
+            log.warn(e, "Failed to write cached query result %s", key);
+            abort();
+            return;
+        }
+        if (output.longSize() > maxSizeInBytes) {
+            abort();
+        }
+    }
+
+    public void commit()
+    {
+        if (done) {
+            return;
+        }
+        done = true;
+        try {
+            output.close();
+        }
+        catch (IOException | UncheckedIOException e) {
+            log.warn(e, "Failed to write cached query result %s", key);
+            cache.abort(key);
+            return;
+        }
+        cache.commit(key, output.longSize());
+    }
+
+    public void abort()
+    {
+        if (done) {
+            return;
+        }
+        done = true;
+        try {
+            output.close();
+        }
+        catch (IOException | UncheckedIOException ignored) {
+        }
+        cache.abort(key);
+    }
+
+    public boolean isDone()
+    {
+        return done;
+    }
+}
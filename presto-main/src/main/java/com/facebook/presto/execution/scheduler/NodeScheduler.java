@@ -31,6 +31,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.stats.CounterStat;
 
+import javax.annotation.Nullable;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
@@ -54,6 +55,7 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static io.airlift.concurrent.MoreFutures.whenAnyCompleteCancelOthers;
 import static java.lang.Math.min;
+import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 
 public class NodeScheduler
@@ -201,6 +203,43 @@ public class NodeScheduler
         return new ResettableRandomizedIterator<>(nodes);
     }
 
+    /**
+     * Returns the addresses of the nodes that splits may prefer, sorted so that every
+     * split sees the same list.
+     */
+    public static List<HostAddress> preferredNodeCandidates(NodeMap nodeMap, boolean includeCoordinator)
+    {
+        return nodeMap.getNodesByHostAndPort().values().stream()
+                .filter(node -> includeCoordinator || !nodeMap.getCoordinatorNodeIds().contains(node.getNodeIdentifier()))
+                .map(InternalNode::getHostAndPort)
+                .distinct()
+                .sorted(comparing(HostAddress::toString))
+                .collect(toImmutableList());
+    }
+
+    /**
+     * Returns the least loaded of the nodes preferred by a split, or null if the split
+     * has no preferred node that can accept more splits.
+     */
+    @Nullable
+    public static InternalNode selectPreferredNode(NodeMap nodeMap, List<HostAddress> preferredHosts, boolean includeCoordinator, NodeAssignmentStats assignmentStats, int maxSplitsPerNode)
+    {
+        if (preferredHosts.isEmpty()) {
+            return null;
+        }
+
+        InternalNode chosenNode = null;
+        int min = maxSplitsPerNode;
+        for (InternalNode node : selectExactNodes(nodeMap, preferredHosts, includeCoordinator)) {
+            int totalSplitCount = assignmentStats.getTotalSplitCount(node);
+            if (totalSplitCount < min) {
+                chosenNode = node;
+                min = totalSplitCount;
+            }
+        }
+        return chosenNode;
+    }
+
     public static List<InternalNode> selectExactNodes(NodeMap nodeMap, List<HostAddress> hosts, boolean includeCoordinator)
     {
         Set<InternalNode> chosen = new LinkedHashSet<>();
@@ -18,6 +18,7 @@ import com.facebook.presto.execution.RemoteTask;
 import com.facebook.presto.metadata.InternalNode;
 import com.facebook.presto.metadata.InternalNodeManager;
 import com.facebook.presto.metadata.Split;
+import com.facebook.presto.spi.HostAddress;
 import com.facebook.presto.spi.PrestoException;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
@@ -34,10 +35,12 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.facebook.presto.execution.scheduler.NodeScheduler.calculateLowWatermark;
+import static com.facebook.presto.execution.scheduler.NodeScheduler.preferredNodeCandidates;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.randomizedNodes;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.selectDistributionNodes;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.selectExactNodes;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.selectNodes;
+import static com.facebook.presto.execution.scheduler.NodeScheduler.selectPreferredNode;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.toWhenHasSplitQueueSpaceFuture;
 import static com.facebook.presto.spi.StandardErrorCode.NO_NODES_AVAILABLE;
 import static java.util.Objects.requireNonNull;
@@ -106,9 +109,19 @@ public class SimpleNodeSelector
         NodeAssignmentStats assignmentStats = new NodeAssignmentStats(nodeTaskMap, nodeMap, existingTasks);
 
         ResettableRandomizedIterator<InternalNode> randomCandidates = randomizedNodes(nodeMap, includeCoordinator, ImmutableSet.of());
+        Supplier<List<HostAddress>> preferredNodeCandidates = Suppliers.memoize(() -> preferredNodeCandidates(nodeMap, includeCoordinator));
         Set<InternalNode> blockedExactNodes = new HashSet<>();
         boolean splitWaitingForAnyNode = false;
         for (Split split : splits) {
+            if (split.isRemotelyAccessible()) {
+                InternalNode preferredNode = selectPreferredNode(nodeMap, split.getPreferredNodes(preferredNodeCandidates.get()), includeCoordinator, assignmentStats, maxSplitsPerNode);
+                if (preferredNode != null) {
+                    assignment.put(preferredNode, split);
+                    assignmentStats.addAssignedSplit(preferredNode);
+                    continue;
+                }
+            }
+
             randomCandidates.reset();
 
             List<InternalNode> candidateNodes;
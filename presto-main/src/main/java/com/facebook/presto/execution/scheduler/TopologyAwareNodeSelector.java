@@ -39,10 +39,12 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import static com.facebook.presto.execution.scheduler.NetworkLocation.ROOT_LOCATION;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.calculateLowWatermark;
+import static com.facebook.presto.execution.scheduler.NodeScheduler.preferredNodeCandidates;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.randomizedNodes;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.selectDistributionNodes;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.selectExactNodes;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.selectNodes;
+import static com.facebook.presto.execution.scheduler.NodeScheduler.selectPreferredNode;
 import static com.facebook.presto.execution.scheduler.NodeScheduler.toWhenHasSplitQueueSpaceFuture;
 import static com.facebook.presto.spi.StandardErrorCode.NO_NODES_AVAILABLE;
 import static java.util.Objects.requireNonNull;
@@ -121,6 +123,7 @@ public class TopologyAwareNodeSelector
 
         int[] topologicCounters = new int[topologicalSplitCounters.size()];
         Set<NetworkLocation> filledLocations = new HashSet<>();
+        Supplier<List<HostAddress>> preferredNodeCandidates = Suppliers.memoize(() -> preferredNodeCandidates(nodeMap, includeCoordinator));
         Set<InternalNode> blockedExactNodes = new HashSet<>();
         boolean splitWaitingForAnyNode = false;
         for (Split split : splits) {
@@ -142,6 +145,13 @@ public class TopologyAwareNodeSelector
                 continue;
             }
 
+            InternalNode preferredNode = selectPreferredNode(nodeMap, split.getPreferredNodes(preferredNodeCandidates.get()), includeCoordinator, assignmentStats, maxSplitsPerNode);
+            if (preferredNode != null) {
+                assignment.put(preferredNode, split);
+                assignmentStats.addAssignedSplit(preferredNode);
+                continue;
+            }
+
             InternalNode chosenNode = null;
             int depth = networkLocationSegmentNames.size();
             int chosenDepth = 0;
@@ -136,6 +136,11 @@ public interface Metadata
 
     Optional<Object> getInfo(Session session, TableHandle handle);
 
+    /**
+     * Return a token that changes whenever the data read from the specified table changes, or empty if the connector can not tell.
+     */
+    Optional<String> getTableVersion(Session session, TableHandle handle);
+
     /**
      * Return the metadata for the specified table handle.
      *
@@ -503,6 +503,14 @@ public class MetadataManager
         return handle.getLayout().flatMap(tableLayout -> metadata.getInfo(tableLayout));
     }
 
+    @Override
+    public Optional<String> getTableVersion(Session session, TableHandle handle)
+    {
+        ConnectorId connectorId = handle.getConnectorId();
+        ConnectorMetadata metadata = getMetadata(session, connectorId);
+        return handle.getLayout().flatMap(tableLayout -> metadata.getTableLayoutVersion(session.toConnectorSession(connectorId), tableLayout));
+    }
+
     @Override
     public TableMetadata getTableMetadata(Session session, TableHandle tableHandle)
     {
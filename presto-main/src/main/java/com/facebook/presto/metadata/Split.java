@@ -91,6 +91,11 @@ public final class Split
         return connectorSplit.isRemotelyAccessible();
     }
 
+    public List<HostAddress> getPreferredNodes(List<HostAddress> candidates)
+    {
+        return connectorSplit.getPreferredNodes(candidates);
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,261 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.PageBuilder;
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.block.DictionaryBlock;
+import com.facebook.presto.spi.block.RunLengthEncodedBlock;
+import com.facebook.presto.spi.type.Type;
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.airlift.slice.SizeOf.sizeOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builds pages from positions of input pages without flattening their dictionary and run-length encoded blocks.
+ * While the appended pages share the dictionary of a channel, the output page refers to that dictionary with the
+ * ids of the appended positions. While they share the value of a run-length encoded channel, the output page
+ * repeats that value. A channel is copied once it is appended from a page that encodes it differently, and all
+ * other channels are always copied.
+ */
+@NotThreadSafe
+public class DictionaryAwarePageBuilder
+{
+    private final List<Type> types;
+    private final int maxPageSizeInBytes;
+    private final PageBuilder pageBuilder;
+
+    // the encoding of each channel is chosen by the first page appended after the builder is reset
+    private final Block[] dictionaries;
+    private final IntArrayList[] dictionaryIds;
+    private final Block[] runLengthValues;
+    private final long[] estimatedPositionSizes;
+    private long estimatedSizeInBytes;
+
+    public DictionaryAwarePageBuilder(List<Type> types, int maxPageSizeInBytes)
+    {
+        this.types = ImmutableList.copyOf(requireNonNull(types, "types is null"));
+        this.maxPageSizeInBytes = maxPageSizeInBytes;
+        this.pageBuilder = PageBuilder.withMaxPageSize(maxPageSizeInBytes, types);
+        this.dictionaries = new Block[types.size()];
+        this.dictionaryIds = new IntArrayList[types.size()];
+        this.runLengthValues = new Block[types.size()];
+        this.estimatedPositionSizes = new long[types.size()];
+    }
+
+    public boolean isEmpty()
+    {
+        return pageBuilder.isEmpty();
+    }
+
+    public boolean isFull()
+    {
+        return pageBuilder.isFull() || getSizeInBytes() >= maxPageSizeInBytes;
+    }
+
+    public int getPositionCount()
+    {
+        return pageBuilder.getPositionCount();
+    }
+
+    /**
+     * The size of the dictionary and run-length encoded channels is estimated as if they were copied, so that
+     * the pages hold about as many positions as pages of copied blocks would.
+     */
+    public long getSizeInBytes()
+    {
+        return pageBuilder.getSizeInBytes() + estimatedSizeInBytes;
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        // the dictionaries and run-length encoded values are retained until the page is built, even after the input pages are released
+        long sizeInBytes = pageBuilder.getRetainedSizeInBytes();
+        for (int channel = 0; channel < types.size(); channel++) {
+            if (dictionaryIds[channel] != null) {
+                sizeInBytes += sizeOf(dictionaryIds[channel].elements());
+            }
+            if (dictionaries[channel] != null) {
+                sizeInBytes += dictionaries[channel].getRetainedSizeInBytes();
+            }
+            else if (runLengthValues[channel] != null) {
+                sizeInBytes += runLengthValues[channel].getRetainedSizeInBytes();
+            }
+        }
+        return sizeInBytes;
+    }
+
+    public void appendPositions(Page page, int[] positions, int offset, int length)
+    {
+        if (isEmpty()) {
+            chooseEncodings(page);
+        }
+
+        for (int channel = 0; channel < types.size(); channel++) {
+            Block block = page.getBlock(channel);
+            if (dictionaries[channel] != null && !isSameDictionary(channel, block)) {
+                flattenChannel(channel);
+            }
+            else if (runLengthValues[channel] != null && !isSameRunLengthValue(channel, block)) {
+                flattenChannel(channel);
+            }
+
+            if (dictionaries[channel] != null) {
+                DictionaryBlock dictionaryBlock = (DictionaryBlock) block;
+                IntArrayList ids = dictionaryIds[channel];
+                for (int i = offset; i < offset + length; i++) {
+                    ids.add(dictionaryBlock.getId(positions[i]));
+                }
+                estimatedSizeInBytes += estimatedPositionSizes[channel] * length;
+            }
+            else if (runLengthValues[channel] != null) {
+                estimatedSizeInBytes += estimatedPositionSizes[channel] * length;
+            }
+            else {
+                Type type = types.get(channel);
+                BlockBuilder blockBuilder = pageBuilder.getBlockBuilder(channel);
+                for (int i = offset; i < offset + length; i++) {
+                    type.appendTo(block, positions[i], blockBuilder);
+                }
+            }
+        }
+        pageBuilder.declarePositions(length);
+    }
+
+    public Page build()
+    {
+        int positionCount = pageBuilder.getPositionCount();
+        Block[] blocks = new Block[types.size()];
+        for (int channel = 0; channel < types.size(); channel++) {
+            if (dictionaries[channel] != null) {
+                blocks[channel] = buildDictionaryBlock(channel, positionCount);
+            }
+            else if (runLengthValues[channel] != null) {
+                blocks[channel] = new RunLengthEncodedBlock(runLengthValues[channel], positionCount);
+            }
+            else {
+                blocks[channel] = pageBuilder.getBlockBuilder(channel).build();
+            }
+        }
+        return new Page(positionCount, blocks);
+    }
+
+    public void reset()
+    {
+        pageBuilder.reset();
+        for (IntArrayList ids : dictionaryIds) {
+            if (ids != null) {
+                ids.clear();
+            }
+        }
+        Arrays.fill(dictionaries, null);
+        Arrays.fill(runLengthValues, null);
+        estimatedSizeInBytes = 0;
+    }
+
+    private void chooseEncodings(Page page)
+    {
+        for (int channel = 0; channel < types.size(); channel++) {
+            Block block = page.getBlock(channel);
+            if (block instanceof DictionaryBlock) {
+                Block dictionary = ((DictionaryBlock) block).getDictionary();
+                dictionaries[channel] = dictionary;
+                estimatedPositionSizes[channel] = dictionary.getPositionCount() == 0 ? 0 : dictionary.getSizeInBytes() / dictionary.getPositionCount();
+                if (dictionaryIds[channel] == null) {
+                    dictionaryIds[channel] = new IntArrayList();
+                }
+            }
+            else if (block instanceof RunLengthEncodedBlock && types.get(channel).isComparable()) {
+                runLengthValues[channel] = ((RunLengthEncodedBlock) block).getValue();
+                estimatedPositionSizes[channel] = runLengthValues[channel].getSizeInBytes();
+            }
+        }
+    }
+
+    private boolean isSameDictionary(int channel, Block block)
+    {
+        return block instanceof DictionaryBlock && ((DictionaryBlock) block).getDictionary() == dictionaries[channel];
+    }
+
+    private boolean isSameRunLengthValue(int channel, Block block)
+    {
+        if (!(block instanceof RunLengthEncodedBlock)) {
+            return false;
+        }
+        Block runLengthValue = runLengthValues[channel];
+        Block value = ((RunLengthEncodedBlock) block).getValue();
+        if (runLengthValue == value) {
+            return true;
+        }
+        if (runLengthValue.isNull(0) || value.isNull(0)) {
+            return runLengthValue.isNull(0) && value.isNull(0);
+        }
+        return types.get(channel).equalTo(runLengthValue, 0, value, 0);
+    }
+
+    /**
+     * Copies the positions appended so far to the block builder of the channel, so that positions
+     * of pages that encode the channel differently can be appended without building the page.
+     */
+    private void flattenChannel(int channel)
+    {
+        Type type = types.get(channel);
+        BlockBuilder blockBuilder = pageBuilder.getBlockBuilder(channel);
+        int positionCount = pageBuilder.getPositionCount();
+        if (dictionaries[channel] != null) {
+            Block dictionary = dictionaries[channel];
+            IntArrayList ids = dictionaryIds[channel];
+            for (int i = 0; i < positionCount; i++) {
+                type.appendTo(dictionary, ids.getInt(i), blockBuilder);
+            }
+            ids.clear();
+            dictionaries[channel] = null;
+        }
+        else {
+            Block runLengthValue = runLengthValues[channel];
+            for (int i = 0; i < positionCount; i++) {
+                type.appendTo(runLengthValue, 0, blockBuilder);
+            }
+            runLengthValues[channel] = null;
+        }
+        // the block builder accounts for the copied positions from now on
+        estimatedSizeInBytes -= estimatedPositionSizes[channel] * positionCount;
+    }
+
+    private Block buildDictionaryBlock(int channel, int positionCount)
+    {
+        Block dictionary = dictionaries[channel];
+        DictionaryBlock dictionaryBlock = new DictionaryBlock(positionCount, dictionary, dictionaryIds[channel].toIntArray());
+        if (dictionary.getPositionCount() <= positionCount) {
+            return dictionaryBlock;
+        }
+
+        // The dictionary is sparse, so only the referenced entries are copied. This only looks at
+        // the ids of the page, unlike compacting the dictionary which looks at the whole dictionary.
+        int[] positions = new int[positionCount];
+        for (int i = 0; i < positionCount; i++) {
+            positions[i] = i;
+        }
+        return dictionaryBlock.copyPositions(positions, 0, positionCount);
+    }
+}
@@ -16,6 +16,8 @@ package com.facebook.presto.operator;
 import com.facebook.presto.execution.ScheduledSplit;
 import com.facebook.presto.execution.TaskSource;
 import com.facebook.presto.metadata.Split;
+import com.facebook.presto.operator.fragmentresultcache.FragmentResultCacheContext;
+import com.facebook.presto.operator.fragmentresultcache.FragmentResultRecorder;
 import com.facebook.presto.spi.Page;
 import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.UpdatablePageSource;
@@ -35,6 +37,7 @@ import javax.annotation.concurrent.GuardedBy;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,6 +52,7 @@ import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static java.lang.Boolean.TRUE;
@@ -72,6 +76,7 @@ public class Driver
     private final List<Operator> allOperators;
     private final Optional<SourceOperator> sourceOperator;
     private final Optional<DeleteOperator> deleteOperator;
+    private final Optional<FragmentResultCacheContext> fragmentResultCacheContext;
 
     // This variable acts as a staging area. When new splits (encapsulated in TaskSource) are
     // provided to a Driver, the Driver will not process them right away. Instead, the splits are
@@ -87,6 +92,13 @@ public class Driver
     @GuardedBy("exclusiveLock")
     private TaskSource currentTaskSource;
 
+    // the output of the pipeline for its split, read from the fragment result cache instead of running the pipeline
+    @GuardedBy("exclusiveLock")
+    private Iterator<Page> cachedOutputPages;
+
+    @GuardedBy("exclusiveLock")
+    private FragmentResultRecorder fragmentResultRecorder;
+
     private final AtomicReference<SettableFuture<?>> driverBlockedFuture = new AtomicReference<>();
 
     private enum State
@@ -95,10 +107,16 @@ public class Driver
     }
 
     public static Driver createDriver(DriverContext driverContext, List<Operator> operators)
+    {
+        return createDriver(driverContext, operators, Optional.empty());
+    }
+
+    public static Driver createDriver(DriverContext driverContext, List<Operator> operators, Optional<FragmentResultCacheContext> fragmentResultCacheContext)
     {
         requireNonNull(driverContext, "driverContext is null");
         requireNonNull(operators, "operators is null");
-        Driver driver = new Driver(driverContext, operators);
+        requireNonNull(fragmentResultCacheContext, "fragmentResultCacheContext is null");
+        Driver driver = new Driver(driverContext, operators, fragmentResultCacheContext);
         driver.initialize();
         return driver;
     }
@@ -116,7 +134,7 @@ public class Driver
         return createDriver(driverContext, operators);
     }
 
-    private Driver(DriverContext driverContext, List<Operator> operators)
+    private Driver(DriverContext driverContext, List<Operator> operators, Optional<FragmentResultCacheContext> fragmentResultCacheContext)
     {
         this.driverContext = requireNonNull(driverContext, "driverContext is null");
         this.allOperators = ImmutableList.copyOf(requireNonNull(operators, "operators is null"));
@@ -138,6 +156,8 @@ public class Driver
         }
         this.sourceOperator = sourceOperator;
         this.deleteOperator = deleteOperator;
+        this.fragmentResultCacheContext = fragmentResultCacheContext;
+        checkArgument(!fragmentResultCacheContext.isPresent() || sourceOperator.isPresent(), "fragment result cache requires a source operator");
 
         currentTaskSource = sourceOperator.map(operator -> new TaskSource(operator.getSourceId(), ImmutableSet.of(), false)).orElse(null);
         // initially the driverBlockedFuture is not blocked (it is completed)
@@ -242,8 +262,19 @@ public class Driver
         // determine new splits to add
         Set<ScheduledSplit> newSplits = Sets.difference(newSource.getSplits(), currentTaskSource.getSplits());
 
-        // add new splits
         SourceOperator sourceOperator = this.sourceOperator.orElseThrow(VerifyException::new);
+
+        // a driver of a cacheable pipeline processes a single split
+        if (fragmentResultCacheContext.isPresent() && currentTaskSource.getSplits().isEmpty() && newSplits.size() == 1 && newSource.isNoMoreSplits()) {
+            if (readFragmentResultCache(getOnlyElement(newSplits).getSplit())) {
+                // the output of the pipeline is replayed from the cache, so the split is not read at all
+                sourceOperator.noMoreSplits();
+                currentTaskSource = newSource;
+                return;
+            }
+        }
+
+        // add new splits
         for (ScheduledSplit newSplit : newSplits) {
             Split split = newSplit.getSplit();
 
@@ -259,6 +290,39 @@ public class Driver
         currentTaskSource = newSource;
     }
 
+    @GuardedBy("exclusiveLock")
+    private boolean readFragmentResultCache(Split split)
+    {
+        FragmentResultCacheContext cacheContext = fragmentResultCacheContext.get();
+        Optional<String> key = cacheContext.getCacheKey(split);
+        if (!key.isPresent()) {
+            return false;
+        }
+
+        OperatorContext sourceOperatorContext = sourceOperator.get().getOperatorContext();
+        Optional<List<Page>> cachedResult = cacheContext.getCachedResult(key.get());
+        if (cachedResult.isPresent()) {
+            sourceOperatorContext.recordFragmentResultCacheHit();
+            cachedOutputPages = cachedResult.get().iterator();
+            return true;
+        }
+        sourceOperatorContext.recordFragmentResultCacheMiss();
+
+        // record the pages received by the output operator, which is the last operator of the pipeline
+        OperatorContext outputOperatorContext = allOperators.get(allOperators.size() - 1).getOperatorContext();
+        fragmentResultRecorder = cacheContext.startRecording(key.get(), outputOperatorContext.newLocalSystemMemoryContext(FragmentResultRecorder.class.getSimpleName()));
+        return false;
+    }
+
+    @GuardedBy("exclusiveLock")
+    private void abortFragmentResultRecording()
+    {
+        if (fragmentResultRecorder != null) {
+            fragmentResultRecorder.abort();
+            fragmentResultRecorder = null;
+        }
+    }
+
     public ListenableFuture<?> processFor(Duration duration)
     {
         checkLockNotHeld("Can not process for a duration while holding the driver lock");
@@ -353,6 +417,10 @@ public class Driver
         try {
             processNewSources();
 
+            if (cachedOutputPages != null) {
+                return processCachedOutput(operationTimer);
+            }
+
             // If there is only one operator, finish it
             // Some operators (LookupJoinOperator and HashBuildOperator) are broken and requires finish to be called continuously
             // TODO remove the second part of the if statement, when these operators are fixed
@@ -384,6 +452,10 @@ public class Driver
                         next.addInput(page);
                         next.getOperatorContext().recordAddInput(operationTimer, page);
                         movedPage = true;
+
+                        if (fragmentResultRecorder != null && i + 1 == activeOperators.size() - 1) {
+                            fragmentResultRecorder.add(page);
+                        }
                     }
 
                     if (current instanceof SourceOperator) {
@@ -396,12 +468,21 @@ public class Driver
                     // let next operator know there will be no more data
                     next.finish();
                     next.getOperatorContext().recordFinish(operationTimer);
+
+                    // the output operator has received the complete output of the pipeline
+                    if (fragmentResultRecorder != null && i + 1 == activeOperators.size() - 1) {
+                        fragmentResultRecorder.commit();
+                        fragmentResultRecorder = null;
+                    }
                 }
             }
 
             for (int index = activeOperators.size() - 1; index >= 0; index--) {
                 if (activeOperators.get(index).isFinished()) {
                     // close and remove this operator and all source operators
+                    if (index == activeOperators.size() - 1) {
+                        abortFragmentResultRecording();
+                    }
                     List<Operator> finishedOperators = this.activeOperators.subList(0, index + 1);
                     Throwable throwable = closeAndDestroyOperators(finishedOperators);
                     finishedOperators.clear();
@@ -465,6 +546,45 @@ public class Driver
         }
     }
 
+    @GuardedBy("exclusiveLock")
+    private ListenableFuture<?> processCachedOutput(OperationTimer operationTimer)
+    {
+        // the output operator replaces the rest of the pipeline, as its input is read from the cache
+        if (activeOperators.size() > 1) {
+            List<Operator> skippedOperators = activeOperators.subList(0, activeOperators.size() - 1);
+            Throwable throwable = closeAndDestroyOperators(skippedOperators);
+            skippedOperators.clear();
+            if (throwable != null) {
+                throwIfUnchecked(throwable);
+                throw new RuntimeException(throwable);
+            }
+        }
+        if (activeOperators.isEmpty()) {
+            return NOT_BLOCKED;
+        }
+
+        Operator outputOperator = activeOperators.get(0);
+        Optional<ListenableFuture<?>> blocked = getBlockedFuture(outputOperator);
+        if (blocked.isPresent()) {
+            driverContext.recordBlocked(blocked.get());
+            outputOperator.getOperatorContext().recordBlocked(blocked.get());
+            return blocked.get();
+        }
+
+        if (!outputOperator.isFinished() && outputOperator.needsInput()) {
+            if (cachedOutputPages.hasNext()) {
+                Page page = cachedOutputPages.next();
+                outputOperator.addInput(page);
+                outputOperator.getOperatorContext().recordAddInput(operationTimer, page);
+            }
+            else {
+                outputOperator.finish();
+                outputOperator.getOperatorContext().recordFinish(operationTimer);
+            }
+        }
+        return NOT_BLOCKED;
+    }
+
     @GuardedBy("exclusiveLock")
     private void handleMemoryRevoke()
     {
@@ -506,6 +626,7 @@ public class Driver
         // if we get an error while closing a driver, record it and we will throw it at the end
         Throwable inFlightException = null;
         try {
+            abortFragmentResultRecording();
             inFlightException = closeAndDestroyOperators(activeOperators);
             if (driverContext.getMemoryUsage() > 0) {
                 log.error("Driver still has memory reserved after freeing all operator memory.");
@@ -0,0 +1,222 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.predicate.Domain;
+import com.facebook.presto.spi.predicate.Range;
+import com.facebook.presto.spi.predicate.TupleDomain;
+import com.facebook.presto.spi.predicate.ValueSet;
+import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spi.type.VarcharType;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.slice.Slice;
+import io.airlift.slice.Slices;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.facebook.presto.spi.type.RealType.REAL;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Accumulates the domain of the join keys seen by a single build side partition of a hash join.
+ * <p>
+ * Exact values are tracked as long as there are few of them, after which only the minimum
+ * and maximum value of each key is kept.
+ */
+@NotThreadSafe
+public class DynamicFilterCollector
+{
+    private static final int MAX_DISTINCT_VALUES = 1_000;
+
+    private final Map<Integer, KeyCollector> collectors;
+    private boolean finished;
+
+    public DynamicFilterCollector(Map<Integer, Integer> channelsByKey, List<Type> types)
+    {
+        requireNonNull(channelsByKey, "channelsByKey is null");
+        requireNonNull(types, "types is null");
+
+        ImmutableMap.Builder<Integer, KeyCollector> collectors = ImmutableMap.builder();
+        for (Map.Entry<Integer, Integer> entry : channelsByKey.entrySet()) {
+            int channel = entry.getValue();
+            Type type = types.get(channel);
+            checkArgument(isSupportedType(type), "Unsupported dynamic filter type: %s", type);
+            if (type.getJavaType() == long.class) {
+                collectors.put(entry.getKey(), new LongKeyCollector(type, channel));
+            }
+            else {
+                collectors.put(entry.getKey(), new SliceKeyCollector(type, channel));
+            }
+        }
+        this.collectors = collectors.build();
+    }
+
+    /**
+     * Types for which the ordering and equality used by {@link Domain} match the semantics of join key equality.
+     */
+    public static boolean isSupportedType(Type type)
+    {
+        if (type.getJavaType() == long.class) {
+            // REAL is stored as int bits, whose ordering does not match the ordering of floating point values
+            return !type.equals(REAL) && type.isOrderable();
+        }
+        return type instanceof VarcharType;
+    }
+
+    public void add(Page page)
+    {
+        checkState(!finished, "collector is finished");
+        for (KeyCollector collector : collectors.values()) {
+            collector.add(page);
+        }
+    }
+
+    public TupleDomain<Integer> getTupleDomain()
+    {
+        finished = true;
+        ImmutableMap.Builder<Integer, Domain> domains = ImmutableMap.builder();
+        for (Map.Entry<Integer, KeyCollector> entry : collectors.entrySet()) {
+            domains.put(entry.getKey(), entry.getValue().getDomain());
+        }
+        return TupleDomain.withColumnDomains(domains.build());
+    }
+
+    private interface KeyCollector
+    {
+        void add(Page page);
+
+        Domain getDomain();
+    }
+
+    private static class LongKeyCollector
+            implements KeyCollector
+    {
+        private final Type type;
+        private final int channel;
+
+        private Set<Object> values = new HashSet<>();
+        private boolean empty = true;
+        private long min;
+        private long max;
+
+        public LongKeyCollector(Type type, int channel)
+        {
+            this.type = requireNonNull(type, "type is null");
+            this.channel = channel;
+        }
+
+        @Override
+        public void add(Page page)
+        {
+            Block block = page.getBlock(channel);
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                // null keys never match, so they are not part of the domain
+                if (block.isNull(position)) {
+                    continue;
+                }
+                long value = type.getLong(block, position);
+                if (empty) {
+                    min = value;
+                    max = value;
+                    empty = false;
+                }
+                else {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                if (values != null) {
+                    values.add(value);
+                    if (values.size() > MAX_DISTINCT_VALUES) {
+                        values = null;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public Domain getDomain()
+        {
+            if (empty) {
+                return Domain.none(type);
+            }
+            if (values != null) {
+                return Domain.create(ValueSet.copyOf(type, values), false);
+            }
+            return Domain.create(ValueSet.ofRanges(Range.range(type, min, true, max, true)), false);
+        }
+    }
+
+    private static class SliceKeyCollector
+            implements KeyCollector
+    {
+        private final Type type;
+        private final int channel;
+
+        private Set<Object> values = new HashSet<>();
+        private Slice min;
+        private Slice max;
+
+        public SliceKeyCollector(Type type, int channel)
+        {
+            this.type = requireNonNull(type, "type is null");
+            this.channel = channel;
+        }
+
+        @Override
+        public void add(Page page)
+        {
+            Block block = page.getBlock(channel);
+            for (int position = 0; position < block.getPositionCount(); position++) {
+                if (block.isNull(position)) {
+                    continue;
+                }
+                // retained values are copied, so that they do not hold on to the memory of the input block
+                Slice value = type.getSlice(block, position);
+                if (min == null || value.compareTo(min) < 0) {
+                    min = Slices.copyOf(value);
+                }
+                if (max == null || value.compareTo(max) > 0) {
+                    max = Slices.copyOf(value);
+                }
+                if (values != null && !values.contains(value)) {
+                    values.add(Slices.copyOf(value));
+                    if (values.size() > MAX_DISTINCT_VALUES) {
+                        values = null;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public Domain getDomain()
+        {
+            if (min == null) {
+                return Domain.none(type);
+            }
+            if (values != null) {
+                return Domain.create(ValueSet.copyOf(type, values), false);
+            }
+            return Domain.create(ValueSet.ofRanges(Range.range(type, min, true, max, true)), false);
+        }
+    }
+}
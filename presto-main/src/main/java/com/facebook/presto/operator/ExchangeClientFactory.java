@@ -14,6 +14,9 @@
 package com.facebook.presto.operator;
 
 import com.facebook.presto.memory.context.LocalMemoryContext;
+import com.facebook.presto.operator.streaming.StreamingExchangeConfig;
+import com.facebook.presto.operator.streaming.StreamingExchangeConnector;
+import com.facebook.presto.server.InternalCommunicationConfig;
 import io.airlift.concurrent.ThreadPoolExecutorMBean;
 import io.airlift.http.client.HttpClient;
 import io.airlift.units.DataSize;
@@ -24,6 +27,7 @@ import org.weakref.jmx.Nested;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -41,15 +45,26 @@ public class ExchangeClientFactory
     private final int concurrentRequestMultiplier;
     private final Duration maxErrorDuration;
     private final HttpClient httpClient;
+    private final Optional<StreamingExchangeConnector> streamingConnector;
     private final DataSize maxResponseSize;
     private final boolean acknowledgePages;
     private final ScheduledExecutorService scheduler;
     private final ThreadPoolExecutorMBean executorMBean;
     private final ExecutorService pageBufferClientCallbackExecutor;
 
+    public ExchangeClientFactory(
+            ExchangeClientConfig config,
+            HttpClient httpClient,
+            ScheduledExecutorService scheduler)
+    {
+        this(config, new StreamingExchangeConfig(), new InternalCommunicationConfig(), httpClient, scheduler);
+    }
+
     @Inject
     public ExchangeClientFactory(
             ExchangeClientConfig config,
+            StreamingExchangeConfig streamingConfig,
+            InternalCommunicationConfig internalCommunicationConfig,
             @ForExchange HttpClient httpClient,
             @ForExchange ScheduledExecutorService scheduler)
     {
@@ -61,6 +76,7 @@ public class ExchangeClientFactory
                 config.isAcknowledgePages(),
                 config.getPageBufferClientMaxCallbackThreads(),
                 httpClient,
+                streamingConfig.isEnabled() ? Optional.of(new StreamingExchangeConnector(streamingConfig, internalCommunicationConfig)) : Optional.empty(),
                 scheduler);
     }
 
@@ -72,6 +88,7 @@ public class ExchangeClientFactory
             boolean acknowledgePages,
             int pageBufferClientMaxCallbackThreads,
             HttpClient httpClient,
+            Optional<StreamingExchangeConnector> streamingConnector,
             ScheduledExecutorService scheduler)
     {
         this.maxBufferedBytes = requireNonNull(maxBufferedBytes, "maxBufferedBytes is null");
@@ -79,11 +96,15 @@ public class ExchangeClientFactory
         this.maxErrorDuration = requireNonNull(maxErrorDuration, "maxErrorDuration is null");
         this.acknowledgePages = acknowledgePages;
         this.httpClient = requireNonNull(httpClient, "httpClient is null");
+        this.streamingConnector = requireNonNull(streamingConnector, "streamingConnector is null");
 
         // Use only 0.75 of the maxResponseSize to leave room for additional bytes from the encoding
         // TODO figure out a better way to compute the size of data that will be transferred over the network
         requireNonNull(maxResponseSize, "maxResponseSize is null");
-        long maxResponseSizeBytes = (long) (Math.min(httpClient.getMaxContentLength(), maxResponseSize.toBytes()) * 0.75);
+        long maxContentLength = streamingConnector
+                .map(connector -> connector.getMaxFrameSize().toBytes())
+                .orElseGet(httpClient::getMaxContentLength);
+        long maxResponseSizeBytes = (long) (Math.min(maxContentLength, maxResponseSize.toBytes()) * 0.75);
         this.maxResponseSize = new DataSize(maxResponseSizeBytes, BYTE);
 
         this.scheduler = requireNonNull(scheduler, "scheduler is null");
@@ -100,6 +121,7 @@ public class ExchangeClientFactory
     public void stop()
     {
         pageBufferClientCallbackExecutor.shutdownNow();
+        streamingConnector.ifPresent(StreamingExchangeConnector::close);
     }
 
     @Managed
@@ -119,6 +141,7 @@ public class ExchangeClientFactory
                 maxErrorDuration,
                 acknowledgePages,
                 httpClient,
+                streamingConnector,
                 scheduler,
                 systemMemoryContext,
                 pageBufferClientCallbackExecutor);
@@ -0,0 +1,580 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.array.IntBigArray;
+import com.facebook.presto.array.LongBigArray;
+import com.facebook.presto.operator.scalar.CombineHashFunction;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.PageBuilder;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.block.DictionaryBlock;
+import com.facebook.presto.spi.block.LongArrayBlock;
+import com.facebook.presto.spi.block.RunLengthEncodedBlock;
+import com.facebook.presto.spi.type.FixedWidthType;
+import com.facebook.presto.spi.type.Type;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INSUFFICIENT_RESOURCES;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.DateType.DATE;
+import static com.facebook.presto.spi.type.IntegerType.INTEGER;
+import static com.facebook.presto.spi.type.SmallintType.SMALLINT;
+import static com.facebook.presto.spi.type.TimestampType.TIMESTAMP;
+import static com.facebook.presto.spi.type.TinyintType.TINYINT;
+import static com.facebook.presto.sql.planner.optimizations.HashGenerationOptimizer.INITIAL_HASH_VALUE;
+import static com.facebook.presto.type.TypeUtils.hashPosition;
+import static com.facebook.presto.util.HashCollisionsEstimator.estimateNumberOfHashCollisions;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static it.unimi.dsi.fastutil.HashCommon.arraySize;
+import static it.unimi.dsi.fastutil.HashCommon.murmurHash3;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Group by hash for keys made of fixed width integer columns. The key of each row is packed
+ * into a row of longs, preceded by a mask of the null columns, so that keys are compared and
+ * hashed without going through the blocks. Pages are processed in batches: the keys of a
+ * batch are first copied column by column, reading dictionary and run length encoded blocks
+ * without unwrapping them, then hashed, and then looked up in the hash table.
+ */
+public class FixedWidthGroupByHash
+        implements GroupByHash
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(FixedWidthGroupByHash.class).instanceSize();
+
+    private static final float FILL_RATIO = 0.75f;
+    private static final int BATCH_SIZE = 1024;
+
+    // types whose values are equal exactly when their long representations are equal
+    private static final Set<Type> SUPPORTED_TYPES = ImmutableSet.of(BIGINT, INTEGER, SMALLINT, TINYINT, DATE, TIMESTAMP);
+
+    private final List<Type> types;
+    private final List<Type> outputTypes;
+    private final int[] channels;
+    private final int[] fixedSizes;
+    private final Optional<Integer> inputHashChannel;
+    // the null mask followed by the value of each channel
+    private final int rowWidth;
+
+    private int hashCapacity;
+    private int maxFill;
+    private int mask;
+
+    // the hash table from the hashes of the keys to groupIds
+    private IntBigArray groupIdsByHash;
+
+    // the packed keys, the hash of the keys and the hash of the values of each group
+    private final LongBigArray keysByGroupId;
+    private final LongBigArray hashesByGroupId;
+    private final LongBigArray rawHashesByGroupId;
+
+    private int nextGroupId;
+    private long hashCollisions;
+    private double expectedHashCollisions;
+
+    // the keys and hashes of the batch being processed
+    private final long[] batchKeys;
+    private final long[] batchHashes;
+
+    // reserve enough memory before rehash
+    private final UpdateMemory updateMemory;
+    private long preallocatedMemoryInBytes;
+    private long currentPageSizeInBytes;
+
+    public static boolean isSupportedType(List<? extends Type> types)
+    {
+        // the null mask of a row has a bit for each channel
+        return types.size() < Long.SIZE && SUPPORTED_TYPES.containsAll(types);
+    }
+
+    public FixedWidthGroupByHash(List<? extends Type> types, int[] channels, Optional<Integer> inputHashChannel, int expectedSize, UpdateMemory updateMemory)
+    {
+        requireNonNull(types, "types is null");
+        requireNonNull(channels, "channels is null");
+        checkArgument(types.size() == channels.length, "types and channels must have the same size");
+        checkArgument(isSupportedType(types), "unsupported types %s", types);
+        checkArgument(expectedSize > 0, "expectedSize must be greater than zero");
+
+        this.types = ImmutableList.copyOf(types);
+        this.channels = channels.clone();
+        this.fixedSizes = types.stream()
+                .mapToInt(type -> ((FixedWidthType) type).getFixedSize())
+                .toArray();
+        this.inputHashChannel = requireNonNull(inputHashChannel, "inputHashChannel is null");
+        this.outputTypes = inputHashChannel.isPresent() ? ImmutableList.<Type>builder().addAll(types).add(BIGINT).build() : this.types;
+        this.rowWidth = channels.length + 1;
+
+        hashCapacity = arraySize(expectedSize, FILL_RATIO);
+        maxFill = calculateMaxFill(hashCapacity);
+        mask = hashCapacity - 1;
+        groupIdsByHash = new IntBigArray(-1);
+        groupIdsByHash.ensureCapacity(hashCapacity);
+
+        keysByGroupId = new LongBigArray();
+        keysByGroupId.ensureCapacity((long) maxFill * rowWidth);
+        hashesByGroupId = new LongBigArray();
+        hashesByGroupId.ensureCapacity(maxFill);
+        rawHashesByGroupId = new LongBigArray();
+        rawHashesByGroupId.ensureCapacity(maxFill);
+
+        batchKeys = new long[BATCH_SIZE * rowWidth];
+        batchHashes = new long[BATCH_SIZE];
+
+        // This interface is used for actively reserving memory (push model) for rehash.
+        // The caller can also query memory usage on this object (pull model)
+        this.updateMemory = requireNonNull(updateMemory, "updateMemory is null");
+    }
+
+    @Override
+    public long getEstimatedSize()
+    {
+        return INSTANCE_SIZE +
+                groupIdsByHash.sizeOf() +
+                keysByGroupId.sizeOf() +
+                hashesByGroupId.sizeOf() +
+                rawHashesByGroupId.sizeOf() +
+                sizeOf(batchKeys) +
+                sizeOf(batchHashes) +
+                preallocatedMemoryInBytes;
+    }
+
+    @Override
+    public long getHashCollisions()
+    {
+        return hashCollisions;
+    }
+
+    @Override
+    public double getExpectedHashCollisions()
+    {
+        return expectedHashCollisions + estimateNumberOfHashCollisions(getGroupCount(), hashCapacity);
+    }
+
+    @Override
+    public List<Type> getTypes()
+    {
+        return outputTypes;
+    }
+
+    @Override
+    public int getGroupCount()
+    {
+        return nextGroupId;
+    }
+
+    @Override
+    public void appendValuesTo(int groupId, PageBuilder pageBuilder, int outputChannelOffset)
+    {
+        checkArgument(groupId >= 0, "groupId is negative");
+        long keyOffset = (long) groupId * rowWidth;
+        long nullMask = keysByGroupId.get(keyOffset);
+        for (int channel = 0; channel < types.size(); channel++) {
+            BlockBuilder blockBuilder = pageBuilder.getBlockBuilder(outputChannelOffset + channel);
+            if ((nullMask & (1L << channel)) != 0) {
+                blockBuilder.appendNull();
+            }
+            else {
+                types.get(channel).writeLong(blockBuilder, keysByGroupId.get(keyOffset + channel + 1));
+            }
+        }
+        if (inputHashChannel.isPresent()) {
+            BIGINT.writeLong(pageBuilder.getBlockBuilder(outputChannelOffset + types.size()), rawHashesByGroupId.get(groupId));
+        }
+    }
+
+    @Override
+    public Work<?> addPage(Page page)
+    {
+        currentPageSizeInBytes = page.getRetainedSizeInBytes();
+        return new AddPageWork(page);
+    }
+
+    @Override
+    public Work<GroupByIdBlock> getGroupIds(Page page)
+    {
+        currentPageSizeInBytes = page.getRetainedSizeInBytes();
+        return new GetGroupIdsWork(page);
+    }
+
+    @Override
+    public boolean contains(int position, Page page, int[] hashChannels)
+    {
+        loadKeys(page, hashChannels, position, 1);
+        return findGroupId(0) >= 0;
+    }
+
+    @Override
+    public long getRawHash(int groupId)
+    {
+        return rawHashesByGroupId.get(groupId);
+    }
+
+    @VisibleForTesting
+    @Override
+    public int getCapacity()
+    {
+        return hashCapacity;
+    }
+
+    /**
+     * Copies the keys of the positions [start, start + length) into the batch, and hashes them.
+     */
+    private void loadKeys(Page page, int[] keyChannels, int start, int length)
+    {
+        Arrays.fill(batchKeys, 0, length * rowWidth, 0);
+        for (int channel = 0; channel < keyChannels.length; channel++) {
+            Block block = page.getBlock(keyChannels[channel]);
+            int fixedSize = fixedSizes[channel];
+            long nullBit = 1L << channel;
+            int valueOffset = channel + 1;
+
+            if (block instanceof RunLengthEncodedBlock) {
+                Block value = ((RunLengthEncodedBlock) block).getValue();
+                boolean isNull = value.isNull(0);
+                long key = isNull ? 0 : readValue(value, 0, fixedSize);
+                for (int position = 0, row = 0; position < length; position++, row += rowWidth) {
+                    if (isNull) {
+                        batchKeys[row] |= nullBit;
+                    }
+                    batchKeys[row + valueOffset] = key;
+                }
+            }
+            else if (block instanceof DictionaryBlock) {
+                DictionaryBlock dictionaryBlock = (DictionaryBlock) block;
+                Block dictionary = dictionaryBlock.getDictionary();
+                for (int position = 0, row = 0; position < length; position++, row += rowWidth) {
+                    int id = dictionaryBlock.getId(start + position);
+                    if (dictionary.isNull(id)) {
+                        batchKeys[row] |= nullBit;
+                    }
+                    else {
+                        batchKeys[row + valueOffset] = readValue(dictionary, id, fixedSize);
+                    }
+                }
+            }
+            else {
+                boolean mayHaveNull = block.mayHaveNull();
+                for (int position = 0, row = 0; position < length; position++, row += rowWidth) {
+                    if (mayHaveNull && block.isNull(start + position)) {
+                        batchKeys[row] |= nullBit;
+                    }
+                    else {
+                        batchKeys[row + valueOffset] = readValue(block, start + position, fixedSize);
+                    }
+                }
+            }
+        }
+
+        for (int position = 0, row = 0; position < length; position++, row += rowWidth) {
+            long hash = 0;
+            for (int i = row; i < row + rowWidth; i++) {
+                hash = murmurHash3(hash + batchKeys[i]);
+            }
+            batchHashes[position] = hash;
+        }
+    }
+
+    private static long readValue(Block block, int position, int fixedSize)
+    {
+        switch (fixedSize) {
+            case Long.BYTES:
+                return block.getLong(position);
+            case Integer.BYTES:
+                return block.getInt(position);
+            case Short.BYTES:
+                return block.getShort(position);
+            case Byte.BYTES:
+                return block.getByte(position);
+            default:
+                throw new IllegalArgumentException("Unsupported fixed size: " + fixedSize);
+        }
+    }
+
+    private int findGroupId(int batchPosition)
+    {
+        long hash = batchHashes[batchPosition];
+        long hashPosition = hash & mask;
+        while (true) {
+            int groupId = groupIdsByHash.get(hashPosition);
+            if (groupId == -1) {
+                return -1;
+            }
+            if (hashesByGroupId.get(groupId) == hash && keyEquals(groupId, batchPosition)) {
+                return groupId;
+            }
+            // increment position and mask to handle wrap around
+            hashPosition = (hashPosition + 1) & mask;
+        }
+    }
+
+    private int putIfAbsent(int batchPosition, Page page, int position)
+    {
+        long hash = batchHashes[batchPosition];
+        long hashPosition = hash & mask;
+
+        // look for an empty slot or a slot containing this key
+        while (true) {
+            int groupId = groupIdsByHash.get(hashPosition);
+            if (groupId == -1) {
+                break;
+            }
+            if (hashesByGroupId.get(groupId) == hash && keyEquals(groupId, batchPosition)) {
+                return groupId;
+            }
+            // increment position and mask to handle wrap around
+            hashPosition = (hashPosition + 1) & mask;
+            hashCollisions++;
+        }
+
+        return addNewGroup(hashPosition, batchPosition, page, position);
+    }
+
+    private boolean keyEquals(int groupId, int batchPosition)
+    {
+        long keyOffset = (long) groupId * rowWidth;
+        int row = batchPosition * rowWidth;
+        for (int i = 0; i < rowWidth; i++) {
+            if (keysByGroupId.get(keyOffset + i) != batchKeys[row + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int addNewGroup(long hashPosition, int batchPosition, Page page, int position)
+    {
+        // record group id in hash
+        int groupId = nextGroupId++;
+
+        long keyOffset = (long) groupId * rowWidth;
+        int row = batchPosition * rowWidth;
+        for (int i = 0; i < rowWidth; i++) {
+            keysByGroupId.set(keyOffset + i, batchKeys[row + i]);
+        }
+        hashesByGroupId.set(groupId, batchHashes[batchPosition]);
+        rawHashesByGroupId.set(groupId, getRawHash(page, position));
+        groupIdsByHash.set(hashPosition, groupId);
+        return groupId;
+    }
+
+    private long getRawHash(Page page, int position)
+    {
+        if (inputHashChannel.isPresent()) {
+            return BIGINT.getLong(page.getBlock(inputHashChannel.get()), position);
+        }
+        // same as the hash computed by the planner for the hash channel
+        long result = INITIAL_HASH_VALUE;
+        for (int channel = 0; channel < channels.length; channel++) {
+            result = CombineHashFunction.getHash(result, hashPosition(types.get(channel), page.getBlock(channels[channel]), position));
+        }
+        return result;
+    }
+
+    /**
+     * Makes room for the given number of new groups, rehashing if needed.
+     *
+     * @return false if there is not enough memory to rehash
+     */
+    private boolean ensureCapacity(int newGroups)
+    {
+        while ((long) nextGroupId + newGroups > maxFill) {
+            if (!tryRehash()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean tryRehash()
+    {
+        long newCapacityLong = hashCapacity * 2L;
+        if (newCapacityLong > Integer.MAX_VALUE) {
+            throw new PrestoException(GENERIC_INSUFFICIENT_RESOURCES, "Size of hash table cannot exceed 1 billion entries");
+        }
+        int newCapacity = toIntExact(newCapacityLong);
+        int newMaxFill = calculateMaxFill(newCapacity);
+
+        // An estimate of how much extra memory is needed before we can go ahead and expand the hash table.
+        // This includes the new capacity for the hash table and the keys and hashes of the groups as well as the size of the current page
+        preallocatedMemoryInBytes = (newCapacity - hashCapacity) * (long) Integer.BYTES + (newMaxFill - maxFill) * (long) (rowWidth + 2) * Long.BYTES + currentPageSizeInBytes;
+        if (!updateMemory.update()) {
+            // reserved memory but has exceeded the limit
+            return false;
+        }
+        preallocatedMemoryInBytes = 0;
+
+        expectedHashCollisions += estimateNumberOfHashCollisions(getGroupCount(), hashCapacity);
+
+        int newMask = newCapacity - 1;
+        IntBigArray newGroupIdsByHash = new IntBigArray(-1);
+        newGroupIdsByHash.ensureCapacity(newCapacity);
+
+        for (int groupId = 0; groupId < nextGroupId; groupId++) {
+            // find an empty slot for the group
+            long hashPosition = hashesByGroupId.get(groupId) & newMask;
+            while (newGroupIdsByHash.get(hashPosition) != -1) {
+                hashPosition = (hashPosition + 1) & newMask;
+                hashCollisions++;
+            }
+            newGroupIdsByHash.set(hashPosition, groupId);
+        }
+
+        mask = newMask;
+        hashCapacity = newCapacity;
+        maxFill = newMaxFill;
+        groupIdsByHash = newGroupIdsByHash;
+
+        keysByGroupId.ensureCapacity((long) maxFill * rowWidth);
+        hashesByGroupId.ensureCapacity(maxFill);
+        rawHashesByGroupId.ensureCapacity(maxFill);
+        return true;
+    }
+
+    private static int calculateMaxFill(int hashSize)
+    {
+        checkArgument(hashSize > 0, "hashSize must be greater than 0");
+        int maxFill = (int) Math.ceil(hashSize * FILL_RATIO);
+        if (maxFill == hashSize) {
+            maxFill--;
+        }
+        checkArgument(hashSize > maxFill, "hashSize must be larger than maxFill");
+        return maxFill;
+    }
+
+    private boolean isRunLengthEncoded(Page page)
+    {
+        for (int channel : channels) {
+            if (!(page.getBlock(channel) instanceof RunLengthEncodedBlock)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class AddPageWork
+            implements Work<Void>
+    {
+        private final Page page;
+        private final int positionCount;
+
+        private int lastPosition;
+
+        public AddPageWork(Page page)
+        {
+            this.page = requireNonNull(page, "page is null");
+            // all the rows of a page with run length encoded keys belong to the same group
+            this.positionCount = isRunLengthEncoded(page) ? min(page.getPositionCount(), 1) : page.getPositionCount();
+        }
+
+        @Override
+        public boolean process()
+        {
+            while (lastPosition < positionCount) {
+                int length = min(BATCH_SIZE, positionCount - lastPosition);
+                // ensureCapacity() == false indicates there is not enough memory to rehash, so the work must yield
+                if (!ensureCapacity(length)) {
+                    return false;
+                }
+                loadKeys(page, channels, lastPosition, length);
+                for (int position = 0; position < length; position++) {
+                    putIfAbsent(position, page, lastPosition + position);
+                }
+                lastPosition += length;
+            }
+            return true;
+        }
+
+        @Override
+        public Void getResult()
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class GetGroupIdsWork
+            implements Work<GroupByIdBlock>
+    {
+        private final Page page;
+        private final long[] groupIds;
+        private final boolean runLengthEncoded;
+
+        private boolean finished;
+        private int lastPosition;
+
+        public GetGroupIdsWork(Page page)
+        {
+            this.page = requireNonNull(page, "page is null");
+            // we know the exact size required for the block
+            this.groupIds = new long[page.getPositionCount()];
+            this.runLengthEncoded = isRunLengthEncoded(page);
+        }
+
+        @Override
+        public boolean process()
+        {
+            checkState(!finished);
+
+            if (runLengthEncoded && groupIds.length > 0) {
+                // all the rows belong to the group of the first row
+                if (lastPosition == 0) {
+                    if (!ensureCapacity(1)) {
+                        return false;
+                    }
+                    loadKeys(page, channels, 0, 1);
+                    Arrays.fill(groupIds, putIfAbsent(0, page, 0));
+                    lastPosition = groupIds.length;
+                }
+                return true;
+            }
+
+            while (lastPosition < groupIds.length) {
+                int length = min(BATCH_SIZE, groupIds.length - lastPosition);
+                // ensureCapacity() == false indicates there is not enough memory to rehash, so the work must yield
+                if (!ensureCapacity(length)) {
+                    return false;
+                }
+                loadKeys(page, channels, lastPosition, length);
+                for (int position = 0; position < length; position++) {
+                    // output the group id for this row
+                    groupIds[lastPosition + position] = putIfAbsent(position, page, lastPosition + position);
+                }
+                lastPosition += length;
+            }
+            return true;
+        }
+
+        @Override
+        public GroupByIdBlock getResult()
+        {
+            checkState(lastPosition == groupIds.length, "process has not yet finished");
+            checkState(!finished, "result has produced");
+            finished = true;
+            return new GroupByIdBlock(nextGroupId, new LongArrayBlock(groupIds.length, Optional.empty(), groupIds));
+        }
+    }
+}
@@ -22,7 +22,9 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Ordering;
+import it.unimi.dsi.fastutil.ints.AbstractIntComparator;
 import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
@@ -104,7 +106,33 @@ public class GroupedTopNBuilder
 
     public Iterator<Page> buildResult()
     {
-        return new ResultIterator();
+        return new ResultIterator(IntStream.range(0, groupByHash.getGroupCount()).toArray(), produceRowNumber);
+    }
+
+    /**
+     * Returns the top N rows of all the groups, without row numbers, ordered by the hash value of the group.
+     * The rows of a group are ordered by {@param comparator}.
+     */
+    public Iterator<Page> buildHashSortedResult(HashGenerator hashGenerator)
+    {
+        int groupCount = groupByHash.getGroupCount();
+        long[] groupHashes = new long[groupCount];
+        for (int groupId = 0; groupId < groupCount; groupId++) {
+            // all rows of a group have the same values in the group by channels
+            Row row = groupedRows.get(groupId).first();
+            groupHashes[groupId] = hashGenerator.hashPosition(row.getPosition(), pageReferences.get(row.getPageId()).getPage());
+        }
+
+        int[] groupIds = IntStream.range(0, groupCount).toArray();
+        IntArrays.quickSort(groupIds, new AbstractIntComparator()
+        {
+            @Override
+            public int compare(int left, int right)
+            {
+                return Long.compare(groupHashes[left], groupHashes[right]);
+            }
+        });
+        return new ResultIterator(groupIds, false);
     }
 
     public long getEstimatedSizeInBytes()
@@ -376,8 +404,9 @@ public class GroupedTopNBuilder
             extends AbstractIterator<Page>
     {
         private final PageBuilder pageBuilder;
-        // we may have 0 groups if there is no input page processed
-        private final int groupCount = groupByHash.getGroupCount();
+        // the groups in output order; we may have 0 groups if there is no input page processed
+        private final int[] groupIds;
+        private final boolean produceRowNumber;
 
         private int currentGroupNumber;
         private long currentGroupSizeInBytes;
@@ -387,10 +416,13 @@ public class GroupedTopNBuilder
         // number of rows in the group
         private int currentGroupSize;
 
-        private ObjectBigArray<Row> currentRows = nextGroupedRows();
+        private ObjectBigArray<Row> currentRows;
 
-        ResultIterator()
+        ResultIterator(int[] groupIds, boolean produceRowNumber)
         {
+            this.groupIds = requireNonNull(groupIds, "groupIds is null");
+            this.produceRowNumber = produceRowNumber;
+            this.currentRows = nextGroupedRows();
             if (produceRowNumber) {
                 pageBuilder = new PageBuilder(new ImmutableList.Builder<Type>().addAll(sourceTypes).add(BIGINT).build());
             }
@@ -444,10 +476,11 @@ public class GroupedTopNBuilder
 
         private ObjectBigArray<Row> nextGroupedRows()
         {
-            if (currentGroupNumber < groupCount) {
-                RowHeap rows = groupedRows.get(currentGroupNumber);
+            if (currentGroupNumber < groupIds.length) {
+                int groupId = groupIds[currentGroupNumber];
+                RowHeap rows = groupedRows.get(groupId);
                 verify(rows != null && !rows.isEmpty(), "impossible to have inserted a group without a witness row");
-                groupedRows.set(currentGroupNumber, null);
+                groupedRows.set(groupId, null);
                 currentGroupSizeInBytes = rows.getEstimatedSizeInBytes();
                 currentGroupNumber++;
                 currentGroupSize = rows.size();
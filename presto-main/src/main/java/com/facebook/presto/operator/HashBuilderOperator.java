@@ -17,20 +17,28 @@ import com.facebook.presto.execution.Lifespan;
 import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.spi.Page;
 import com.facebook.presto.spi.plan.PlanNodeId;
+import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spiller.PartitioningSpiller;
+import com.facebook.presto.spiller.PartitioningSpillerFactory;
 import com.facebook.presto.spiller.SingleStreamSpiller;
 import com.facebook.presto.spiller.SingleStreamSpillerFactory;
 import com.facebook.presto.sql.gen.JoinFilterFunctionCompiler.JoinFilterFunctionFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import com.google.common.io.Closer;
 import com.google.common.util.concurrent.ListenableFuture;
+import it.unimi.dsi.fastutil.HashCommon;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -41,11 +49,20 @@ import java.util.Queue;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.util.concurrent.Futures.immediateFuture;
 import static io.airlift.concurrent.MoreFutures.checkSuccess;
 import static io.airlift.concurrent.MoreFutures.getDone;
+import static io.airlift.concurrent.MoreFutures.whenAnyComplete;
+import static io.airlift.slice.SizeOf.sizeOfByteArray;
+import static io.airlift.slice.SizeOf.sizeOfIntArray;
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
+import static java.util.Collections.emptyIterator;
 import static java.util.Objects.requireNonNull;
+import static java.util.function.Function.identity;
 
 @ThreadSafe
 public class HashBuilderOperator
@@ -68,6 +85,8 @@ public class HashBuilderOperator
         private final int expectedPositions;
         private final boolean spillEnabled;
         private final SingleStreamSpillerFactory singleStreamSpillerFactory;
+        private final PartitioningSpillerFactory partitioningSpillerFactory;
+        private final Optional<LocalDynamicFilter> dynamicFilter;
 
         private final Map<Lifespan, Integer> partitionIndexManager = new HashMap<>();
 
@@ -86,7 +105,9 @@ public class HashBuilderOperator
                 int expectedPositions,
                 PagesIndex.Factory pagesIndexFactory,
                 boolean spillEnabled,
-                SingleStreamSpillerFactory singleStreamSpillerFactory)
+                SingleStreamSpillerFactory singleStreamSpillerFactory,
+                PartitioningSpillerFactory partitioningSpillerFactory,
+                Optional<LocalDynamicFilter> dynamicFilter)
         {
             this.operatorId = operatorId;
             this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
@@ -104,6 +125,8 @@ public class HashBuilderOperator
             this.pagesIndexFactory = requireNonNull(pagesIndexFactory, "pagesIndexFactory is null");
             this.spillEnabled = spillEnabled;
             this.singleStreamSpillerFactory = requireNonNull(singleStreamSpillerFactory, "singleStreamSpillerFactory is null");
+            this.partitioningSpillerFactory = requireNonNull(partitioningSpillerFactory, "partitioningSpillerFactory is null");
+            this.dynamicFilter = requireNonNull(dynamicFilter, "dynamicFilter is null");
 
             this.expectedPositions = expectedPositions;
         }
@@ -130,7 +153,9 @@ public class HashBuilderOperator
                     expectedPositions,
                     pagesIndexFactory,
                     spillEnabled,
-                    singleStreamSpillerFactory);
+                    singleStreamSpillerFactory,
+                    partitioningSpillerFactory,
+                    dynamicFilter);
         }
 
         @Override
@@ -180,7 +205,22 @@ public class HashBuilderOperator
         INPUT_UNSPILLING,
 
         /**
-         * Spilled input has been unspilled, LookupSource built from it
+         * Spilled input did not fit in memory, and is being unspilled one {@link JoinSubPartition} at a time
+         */
+        INPUT_UNSPILLING_SUB_PARTITION,
+
+        /**
+         * Sub-partition being unspilled did not fit in memory, and is being split into smaller sub-partitions
+         */
+        INPUT_REPARTITIONING,
+
+        /**
+         * LookupSource built from a sub-partition of the spilled input, which is not the last one, has been passed on
+         */
+        SUB_PARTITION_UNSPILLED_AND_BUILT,
+
+        /**
+         * Spilled input (or its last sub-partition) has been unspilled, LookupSource built from it
          */
         INPUT_UNSPILLED_AND_BUILT,
 
@@ -210,9 +250,14 @@ public class HashBuilderOperator
 
     private final boolean spillEnabled;
     private final SingleStreamSpillerFactory singleStreamSpillerFactory;
+    private final PartitioningSpillerFactory partitioningSpillerFactory;
+    private final HashGenerator hashGenerator;
 
     private final HashCollisionsCounter hashCollisionsCounter;
 
+    private final Optional<LocalDynamicFilter> dynamicFilter;
+    private final Optional<DynamicFilterCollector> dynamicFilterCollector;
+
     private State state = State.CONSUMING_INPUT;
     private Optional<ListenableFuture<?>> lookupSourceNotNeeded = Optional.empty();
     private final SpilledLookupSourceHandle spilledLookupSourceHandle = new SpilledLookupSourceHandle();
@@ -225,6 +270,20 @@ public class HashBuilderOperator
 
     private Optional<Runnable> finishMemoryRevoke = Optional.empty();
 
+    // sub-partitions of the spilled input not unspilled yet, the next one first
+    private final Deque<SpilledSubPartition> pendingSubPartitions = new ArrayDeque<>();
+    private final List<PartitioningSpiller> subPartitionSpillers = new ArrayList<>();
+    private Optional<JoinSubPartition> currentSubPartition = Optional.empty();
+    private Iterator<Page> unspilledPages = emptyIterator();
+    private Optional<PartitioningSpiller> repartitioningSpiller = Optional.empty();
+    private Optional<ListenableFuture<?>> subPartitionNotNeeded = Optional.empty();
+    private long spilledPositionCount;
+
+    // statistics of the sub-partitions of the spilled input
+    private int repartitionCount;
+    private int builtSubPartitionCount;
+    private int maxSubPartitionLevel;
+
     public HashBuilderOperator(
             OperatorContext operatorContext,
             PartitionedLookupSourceFactory lookupSourceFactory,
@@ -238,7 +297,9 @@ public class HashBuilderOperator
             int expectedPositions,
             PagesIndex.Factory pagesIndexFactory,
             boolean spillEnabled,
-            SingleStreamSpillerFactory singleStreamSpillerFactory)
+            SingleStreamSpillerFactory singleStreamSpillerFactory,
+            PartitioningSpillerFactory partitioningSpillerFactory,
+            Optional<LocalDynamicFilter> dynamicFilter)
     {
         requireNonNull(pagesIndexFactory, "pagesIndexFactory is null");
 
@@ -263,6 +324,23 @@ public class HashBuilderOperator
 
         this.spillEnabled = spillEnabled;
         this.singleStreamSpillerFactory = requireNonNull(singleStreamSpillerFactory, "singleStreamSpillerFactory is null");
+        this.partitioningSpillerFactory = requireNonNull(partitioningSpillerFactory, "partitioningSpillerFactory is null");
+        // must hash the same way as the probe side, which partitions its spilled rows by the same sub-partitions
+        if (preComputedHashChannel.isPresent()) {
+            this.hashGenerator = new PrecomputedHashGenerator(preComputedHashChannel.getAsInt());
+        }
+        else {
+            List<Type> hashTypes = hashChannels.stream()
+                    .map(lookupSourceFactory.getTypes()::get)
+                    .collect(toImmutableList());
+            this.hashGenerator = new InterpretedHashGenerator(hashTypes, hashChannels);
+        }
+
+        this.dynamicFilter = requireNonNull(dynamicFilter, "dynamicFilter is null");
+        this.dynamicFilterCollector = dynamicFilter.map(filter -> new DynamicFilterCollector(
+                filter.getKeys().stream()
+                        .collect(toImmutableMap(identity(), hashChannels::get)),
+                lookupSourceFactory.getTypes()));
     }
 
     @Override
@@ -277,6 +355,30 @@ public class HashBuilderOperator
         return state;
     }
 
+    /**
+     * Returns the number of times a (sub-)partition of the spilled input did not fit in memory and was re-partitioned.
+     */
+    @VisibleForTesting
+    public int getRepartitionCount()
+    {
+        return repartitionCount;
+    }
+
+    /**
+     * Returns the number of lookup sources built from sub-partitions of the spilled input, rather than from the whole partition.
+     */
+    @VisibleForTesting
+    public int getBuiltSubPartitionCount()
+    {
+        return builtSubPartitionCount;
+    }
+
+    @VisibleForTesting
+    public int getMaxSubPartitionLevel()
+    {
+        return maxSubPartitionLevel;
+    }
+
     @Override
     public ListenableFuture<?> isBlocked()
     {
@@ -296,6 +398,15 @@ public class HashBuilderOperator
             case INPUT_UNSPILLING:
                 return unspillInProgress.orElseThrow(() -> new IllegalStateException("Unspilling in progress, but unspilling future not set"));
 
+            case INPUT_UNSPILLING_SUB_PARTITION:
+                return NOT_BLOCKED;
+
+            case INPUT_REPARTITIONING:
+                return spillInProgress;
+
+            case SUB_PARTITION_UNSPILLED_AND_BUILT:
+                return subPartitionNotNeeded.orElseThrow(() -> new IllegalStateException("Sub-partition built, but disposal future not set"));
+
             case INPUT_UNSPILLED_AND_BUILT:
                 return spilledLookupSourceHandle.getDisposeRequested();
 
@@ -324,6 +435,8 @@ public class HashBuilderOperator
             return;
         }
 
+        dynamicFilterCollector.ifPresent(collector -> collector.add(page));
+
         if (state == State.SPILLING_INPUT) {
             spillInput(page);
             return;
@@ -354,6 +467,7 @@ public class HashBuilderOperator
         checkState(spillInProgress.isDone(), "Previous spill still in progress");
         checkSuccess(spillInProgress, "spilling failed");
         spillInProgress = getSpiller().spill(page);
+        spilledPositionCount += page.getPositionCount();
     }
 
     @Override
@@ -408,6 +522,7 @@ public class HashBuilderOperator
                 index.getTypes(),
                 operatorContext.getSpillContext().newLocalSpillContext(),
                 operatorContext.newLocalSystemMemoryContext(HashBuilderOperator.class.getSimpleName())));
+        spilledPositionCount = index.getPositionCount();
         return getSpiller().spill(index.getPages());
     }
 
@@ -463,6 +578,18 @@ public class HashBuilderOperator
                 finishLookupSourceUnspilling();
                 return;
 
+            case INPUT_UNSPILLING_SUB_PARTITION:
+                unspillSubPartition();
+                return;
+
+            case INPUT_REPARTITIONING:
+                finishRepartitioning();
+                return;
+
+            case SUB_PARTITION_UNSPILLED_AND_BUILT:
+                unspillNextSubPartitionIfReleased();
+                return;
+
             case INPUT_UNSPILLED_AND_BUILT:
                 disposeUnspilledLookupSourceIfRequested();
                 return;
@@ -483,6 +610,8 @@ public class HashBuilderOperator
             return;
         }
 
+        publishDynamicFilter();
+
         LookupSourceSupplier partition = buildLookupSource();
         if (spillEnabled) {
             localRevocableMemoryContext.setBytes(partition.get().getInMemorySizeInBytes());
@@ -518,9 +647,16 @@ public class HashBuilderOperator
             return;
         }
         checkSuccess(spillInProgress, "spilling failed");
+        publishDynamicFilter();
         state = State.INPUT_SPILLED;
     }
 
+    private void publishDynamicFilter()
+    {
+        // the domain has to be published before the lookup source, since the probe side scan may start as soon as the lookup source is ready
+        dynamicFilter.ifPresent(filter -> filter.addPartition(dynamicFilterCollector.get().getTupleDomain()));
+    }
+
     private void unspillLookupSourceIfRequested()
     {
         checkState(state == State.INPUT_SPILLED);
@@ -532,7 +668,18 @@ public class HashBuilderOperator
         verify(spiller.isPresent());
         verify(!unspillInProgress.isPresent());
 
-        localUserMemoryContext.setBytes(getSpiller().getSpilledPagesInMemorySize() + index.getEstimatedSize().toBytes());
+        long unspilledBytes = getSpiller().getSpilledPagesInMemorySize() + index.getEstimatedSize().toBytes();
+        long lookupSourceBytes = unspilledBytes + estimateHashTableSize(spilledPositionCount);
+        // A partition spilled after its lookup source was built is always unspilled as a whole, since the probe side
+        // may have saved rows referring to positions within it
+        if (!lookupSourceChecksum.isPresent() && !localUserMemoryContext.trySetBytes(lookupSourceBytes)) {
+            currentSubPartition = Optional.of(JoinSubPartition.wholePartition());
+            unspilledPages = getSpiller().getSpilledPages();
+            state = State.INPUT_UNSPILLING_SUB_PARTITION;
+            return;
+        }
+
+        localUserMemoryContext.setBytes(unspilledBytes);
         unspillInProgress = Optional.of(getSpiller().getAllSpilledPages());
 
         state = State.INPUT_UNSPILLING;
@@ -584,6 +731,116 @@ public class HashBuilderOperator
         close();
     }
 
+    private void unspillSubPartition()
+    {
+        checkState(state == State.INPUT_UNSPILLING_SUB_PARTITION);
+        JoinSubPartition subPartition = currentSubPartition.orElseThrow(() -> new IllegalStateException("Sub-partition not set"));
+
+        while (unspilledPages.hasNext()) {
+            index.addPage(unspilledPages.next());
+            if (!localUserMemoryContext.trySetBytes(index.getEstimatedSize().toBytes() + estimateHashTableSize(index.getPositionCount()))) {
+                if (subPartition.canSplit()) {
+                    startRepartitioning(subPartition);
+                    return;
+                }
+                // Splitting does not help when most of the rows have the same join key
+                localUserMemoryContext.setBytes(index.getEstimatedSize().toBytes());
+            }
+        }
+
+        LookupSourceSupplier lookupSource = buildLookupSource();
+        localUserMemoryContext.setBytes(lookupSource.get().getInMemorySizeInBytes());
+        currentSubPartition = Optional.empty();
+        if (!subPartition.isWholePartition()) {
+            builtSubPartitionCount++;
+            maxSubPartitionLevel = max(maxSubPartitionLevel, subPartition.getLevel());
+        }
+
+        boolean last = pendingSubPartitions.isEmpty();
+        ListenableFuture<?> lookupSourceNotNeeded = spilledLookupSourceHandle.setLookupSource(subPartition, lookupSource, last);
+        if (last) {
+            state = State.INPUT_UNSPILLED_AND_BUILT;
+            return;
+        }
+        subPartitionNotNeeded = Optional.of(whenAnyComplete(ImmutableList.of(lookupSourceNotNeeded, spilledLookupSourceHandle.getDisposeRequested())));
+        state = State.SUB_PARTITION_UNSPILLED_AND_BUILT;
+    }
+
+    private void startRepartitioning(JoinSubPartition subPartition)
+    {
+        PartitioningSpiller spiller = partitioningSpillerFactory.create(
+                index.getTypes(),
+                subPartition.childPartitionFunction(hashGenerator),
+                operatorContext.getSpillContext().newLocalSpillContext(),
+                operatorContext.newAggregateSystemMemoryContext());
+        subPartitionSpillers.add(spiller);
+        repartitioningSpiller = Optional.of(spiller);
+        repartitionCount++;
+
+        List<JoinSubPartition> children = subPartition.split();
+        for (int child = children.size() - 1; child >= 0; child--) {
+            pendingSubPartitions.push(new SpilledSubPartition(children.get(child), spiller, child));
+        }
+
+        // Pages already added to the index are spilled again, followed by the rest of the sub-partition
+        unspilledPages = Iterators.concat(index.getPages(), unspilledPages);
+        currentSubPartition = Optional.empty();
+        state = State.INPUT_REPARTITIONING;
+    }
+
+    private void finishRepartitioning()
+    {
+        checkState(state == State.INPUT_REPARTITIONING);
+        PartitioningSpiller spiller = repartitioningSpiller.orElseThrow(() -> new IllegalStateException("Repartitioning spiller not set"));
+
+        while (spillInProgress.isDone()) {
+            checkSuccess(spillInProgress, "spilling failed");
+            if (!unspilledPages.hasNext()) {
+                repartitioningSpiller = Optional.empty();
+                index.clear();
+                localUserMemoryContext.setBytes(index.getEstimatedSize().toBytes());
+                unspillNextSubPartition();
+                return;
+            }
+            spillInProgress = spiller.partitionAndSpill(unspilledPages.next(), partition -> true).getSpillingFuture();
+        }
+    }
+
+    private void unspillNextSubPartitionIfReleased()
+    {
+        checkState(state == State.SUB_PARTITION_UNSPILLED_AND_BUILT);
+        if (spilledLookupSourceHandle.getDisposeRequested().isDone()) {
+            close();
+            return;
+        }
+        if (!subPartitionNotNeeded.get().isDone()) {
+            return;
+        }
+
+        subPartitionNotNeeded = Optional.empty();
+        lookupSourceSupplier = null;
+        index.clear();
+        localUserMemoryContext.setBytes(index.getEstimatedSize().toBytes());
+        unspillNextSubPartition();
+    }
+
+    private void unspillNextSubPartition()
+    {
+        SpilledSubPartition next = pendingSubPartitions.pop();
+        currentSubPartition = Optional.of(next.getSubPartition());
+        unspilledPages = next.getPages();
+        state = State.INPUT_UNSPILLING_SUB_PARTITION;
+    }
+
+    /**
+     * Estimates the memory needed by the hash table of a lookup source built on top of the index, see {@link PagesHash} and {@link ArrayPositionLinks}
+     */
+    private static long estimateHashTableSize(long positionCount)
+    {
+        int positions = toIntExact(positionCount);
+        return sizeOfIntArray(HashCommon.arraySize(positions, 0.75f)) + sizeOfByteArray(positions) + sizeOfIntArray(positions);
+    }
+
     private LookupSourceSupplier buildLookupSource()
     {
         LookupSourceSupplier partition = index.createLookupSourceSupplier(operatorContext.getSession(), hashChannels, preComputedHashChannel, filterFunctionFactory, sortChannel, searchFunctionFactories, Optional.of(outputChannels));
@@ -619,12 +876,15 @@ public class HashBuilderOperator
         // close() can be called in any state, due for example to query failure, and must clean resource up unconditionally
 
         lookupSourceSupplier = null;
+        unspilledPages = emptyIterator();
+        pendingSubPartitions.clear();
         state = State.CLOSED;
         finishMemoryRevoke = finishMemoryRevoke.map(ifPresent -> () -> {});
 
         try (Closer closer = Closer.create()) {
             closer.register(index::clear);
             spiller.ifPresent(closer::register);
+            subPartitionSpillers.forEach(closer::register);
             closer.register(() -> localUserMemoryContext.setBytes(0));
             closer.register(() -> localRevocableMemoryContext.setBytes(0));
         }
@@ -632,4 +892,28 @@ public class HashBuilderOperator
             throw new RuntimeException(e);
         }
     }
+
+    private static class SpilledSubPartition
+    {
+        private final JoinSubPartition subPartition;
+        private final PartitioningSpiller spiller;
+        private final int spillerPartition;
+
+        public SpilledSubPartition(JoinSubPartition subPartition, PartitioningSpiller spiller, int spillerPartition)
+        {
+            this.subPartition = requireNonNull(subPartition, "subPartition is null");
+            this.spiller = requireNonNull(spiller, "spiller is null");
+            this.spillerPartition = spillerPartition;
+        }
+
+        public JoinSubPartition getSubPartition()
+        {
+            return subPartition;
+        }
+
+        public Iterator<Page> getPages()
+        {
+            return spiller.getSpilledPages(spillerPartition);
+        }
+    }
 }
@@ -21,6 +21,7 @@ import javax.annotation.Nullable;
 
 import java.util.Optional;
 
+import static com.facebook.presto.array.Arrays.ensureCapacity;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
 
@@ -41,6 +42,11 @@ public final class JoinHash
     @Nullable
     private final PositionLinks positionLinks;
 
+    // scratch buffers of the batch lookups, which are reused across calls since a lookup source is only used by one thread
+    private long[] rawHashBuffer = new long[0];
+    private int[] hashPositions = new int[0];
+    private int[] addressIndexes = new int[0];
+
     public JoinHash(PagesHash pagesHash, Optional<JoinFilterFunction> filterFunction, Optional<PositionLinks> positionLinks)
     {
         this.pagesHash = requireNonNull(pagesHash, "pagesHash is null");
@@ -92,6 +98,28 @@ public final class JoinHash
         return startJoinPosition(addressIndex, position, allChannelsPage);
     }
 
+    @Override
+    public void getJoinPositions(int[] positions, int positionCount, Page hashChannelsPage, Page allChannelsPage, long[] joinPositions)
+    {
+        rawHashBuffer = ensureCapacity(rawHashBuffer, hashChannelsPage.getPositionCount());
+        for (int i = 0; i < positionCount; i++) {
+            rawHashBuffer[positions[i]] = pagesHash.hashRow(positions[i], hashChannelsPage);
+        }
+        getJoinPositions(positions, positionCount, hashChannelsPage, allChannelsPage, rawHashBuffer, joinPositions);
+    }
+
+    @Override
+    public void getJoinPositions(int[] positions, int positionCount, Page hashChannelsPage, Page allChannelsPage, long[] rawHashes, long[] joinPositions)
+    {
+        hashPositions = ensureCapacity(hashPositions, positionCount);
+        addressIndexes = ensureCapacity(addressIndexes, positionCount);
+        pagesHash.getAddressIndexes(positions, positionCount, hashChannelsPage, rawHashes, hashPositions, addressIndexes);
+        for (int i = 0; i < positionCount; i++) {
+            int position = positions[i];
+            joinPositions[position] = startJoinPosition(addressIndexes[i], position, allChannelsPage);
+        }
+    }
+
     private long startJoinPosition(int currentJoinPosition, int probePosition, Page allProbeChannelsPage)
     {
         if (currentJoinPosition == -1) {
@@ -29,17 +29,24 @@ public class JoinProbe
         private final int[] probeOutputChannels;
         private final List<Integer> probeJoinChannels;
         private final OptionalInt probeHashChannel;
+        private final boolean batchProbe;
 
         public JoinProbeFactory(int[] probeOutputChannels, List<Integer> probeJoinChannels, OptionalInt probeHashChannel)
+        {
+            this(probeOutputChannels, probeJoinChannels, probeHashChannel, false);
+        }
+
+        public JoinProbeFactory(int[] probeOutputChannels, List<Integer> probeJoinChannels, OptionalInt probeHashChannel, boolean batchProbe)
         {
             this.probeOutputChannels = probeOutputChannels;
             this.probeJoinChannels = probeJoinChannels;
             this.probeHashChannel = probeHashChannel;
+            this.batchProbe = batchProbe;
         }
 
         public JoinProbe createJoinProbe(Page page)
         {
-            return new JoinProbe(probeOutputChannels, page, probeJoinChannels, probeHashChannel);
+            return new JoinProbe(probeOutputChannels, page, probeJoinChannels, probeHashChannel, batchProbe);
         }
     }
 
@@ -49,10 +56,15 @@ public class JoinProbe
     private final Page page;
     private final Page probePage;
     private final Optional<Block> probeHashBlock;
+    private final boolean batchProbe;
 
     private int position = -1;
 
-    private JoinProbe(int[] probeOutputChannels, Page page, List<Integer> probeJoinChannels, OptionalInt probeHashChannel)
+    // in batch mode, the first join positions of the remaining rows of the page, looked up in the lookup source they were computed for
+    private long[] joinPositions;
+    private LookupSource joinPositionsLookupSource;
+
+    private JoinProbe(int[] probeOutputChannels, Page page, List<Integer> probeJoinChannels, OptionalInt probeHashChannel, boolean batchProbe)
     {
         this.probeOutputChannels = probeOutputChannels;
         this.positionCount = page.getPositionCount();
@@ -64,6 +76,7 @@ public class JoinProbe
         this.page = page;
         this.probePage = new Page(page.getPositionCount(), probeBlocks);
         this.probeHashBlock = probeHashChannel.isPresent() ? Optional.of(page.getBlock(probeHashChannel.getAsInt())) : Optional.empty();
+        this.batchProbe = batchProbe;
     }
 
     public int[] getOutputChannels()
@@ -77,8 +90,20 @@ public class JoinProbe
         return position < positionCount;
     }
 
+    public boolean isBatchProbe()
+    {
+        return batchProbe;
+    }
+
     public long getCurrentJoinPosition(LookupSource lookupSource)
     {
+        if (batchProbe) {
+            // the lookup source changes when the build side is spilled or unspilled
+            if (joinPositionsLookupSource != lookupSource) {
+                loadJoinPositions(lookupSource);
+            }
+            return joinPositions[position];
+        }
         if (currentRowContainsNull()) {
             return -1;
         }
@@ -99,6 +124,51 @@ public class JoinProbe
         return page;
     }
 
+    /**
+     * Looks up the first join positions of all the remaining rows of the page at once, so that hashing the rows
+     * and probing the hash table are each done in a tight loop over the page.
+     */
+    private void loadJoinPositions(LookupSource lookupSource)
+    {
+        if (joinPositions == null) {
+            joinPositions = new long[positionCount];
+        }
+
+        // rows with a null in any of the join channels never match
+        boolean[] containsNull = new boolean[positionCount];
+        for (Block probeBlock : probeBlocks) {
+            if (probeBlock.mayHaveNull()) {
+                for (int i = position; i < positionCount; i++) {
+                    containsNull[i] |= probeBlock.isNull(i);
+                }
+            }
+        }
+        int[] positions = new int[positionCount - position];
+        int positionsCount = 0;
+        for (int i = position; i < positionCount; i++) {
+            if (containsNull[i]) {
+                joinPositions[i] = -1;
+            }
+            else {
+                positions[positionsCount] = i;
+                positionsCount++;
+            }
+        }
+
+        if (probeHashBlock.isPresent()) {
+            Block hashBlock = probeHashBlock.get();
+            long[] rawHashes = new long[positionCount];
+            for (int i = 0; i < positionsCount; i++) {
+                rawHashes[positions[i]] = BIGINT.getLong(hashBlock, positions[i]);
+            }
+            lookupSource.getJoinPositions(positions, positionsCount, probePage, page, rawHashes, joinPositions);
+        }
+        else {
+            lookupSource.getJoinPositions(positions, positionsCount, probePage, page, joinPositions);
+        }
+        joinPositionsLookupSource = lookupSource;
+    }
+
     private boolean currentRowContainsNull()
     {
         for (Block probeBlock : probeBlocks) {
@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.spi.Page;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.XxHash64;
+
+import javax.annotation.concurrent.Immutable;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A subset of the rows of a spilled hash join partition, selected by bits of the join key hash.
+ * <p>
+ * When a spilled partition does not fit in memory when it is unspilled, the build side splits it into
+ * {@link #FAN_OUT} sub-partitions, which are unspilled (and split again, if they still do not fit) one
+ * at a time. Sub-partitions use the upper bits of the mixed hash, while {@link com.facebook.presto.operator.exchange.LocalPartitionGenerator}
+ * assigns the partitions using the lower bits, so that rows of a partition are spread evenly among its sub-partitions.
+ */
+@Immutable
+public final class JoinSubPartition
+{
+    private static final int BITS_PER_LEVEL = 2;
+    public static final int FAN_OUT = 1 << BITS_PER_LEVEL;
+    public static final int MAX_LEVEL = 8;
+
+    private static final JoinSubPartition WHOLE_PARTITION = new JoinSubPartition(0, 0);
+
+    private final int level;
+    private final int value;
+
+    private JoinSubPartition(int level, int value)
+    {
+        checkArgument(level >= 0 && level <= MAX_LEVEL, "level must be between 0 and %s", MAX_LEVEL);
+        this.level = level;
+        this.value = value;
+    }
+
+    public static JoinSubPartition wholePartition()
+    {
+        return WHOLE_PARTITION;
+    }
+
+    public boolean isWholePartition()
+    {
+        return level == 0;
+    }
+
+    public int getLevel()
+    {
+        return level;
+    }
+
+    public boolean canSplit()
+    {
+        return level < MAX_LEVEL;
+    }
+
+    /**
+     * Returns the sub-partitions of this sub-partition, in the order of {@link #getChildIndex(long)}.
+     */
+    public List<JoinSubPartition> split()
+    {
+        checkState(canSplit(), "%s can not be split", this);
+        ImmutableList.Builder<JoinSubPartition> children = ImmutableList.builder();
+        for (int child = 0; child < FAN_OUT; child++) {
+            children.add(new JoinSubPartition(level + 1, value | (child << (level * BITS_PER_LEVEL))));
+        }
+        return children.build();
+    }
+
+    public boolean contains(long rawHash)
+    {
+        int mask = (1 << (level * BITS_PER_LEVEL)) - 1;
+        return (subPartitionHash(rawHash) & mask) == value;
+    }
+
+    /**
+     * Returns the index of the sub-partition of this sub-partition, to which a row with the given hash belongs.
+     */
+    public int getChildIndex(long rawHash)
+    {
+        return (subPartitionHash(rawHash) >>> (level * BITS_PER_LEVEL)) & (FAN_OUT - 1);
+    }
+
+    /**
+     * Partitions rows into the sub-partitions of this sub-partition.
+     */
+    public PartitionFunction childPartitionFunction(HashGenerator hashGenerator)
+    {
+        requireNonNull(hashGenerator, "hashGenerator is null");
+        return new PartitionFunction()
+        {
+            @Override
+            public int getPartitionCount()
+            {
+                return FAN_OUT;
+            }
+
+            @Override
+            public int getPartition(Page page, int position)
+            {
+                return getChildIndex(hashGenerator.hashPosition(position, page));
+            }
+        };
+    }
+
+    /**
+     * Assigns rows of this sub-partition to partition 0 and all other rows to partition 1.
+     */
+    public PartitionFunction membershipPartitionFunction(HashGenerator hashGenerator)
+    {
+        requireNonNull(hashGenerator, "hashGenerator is null");
+        return new PartitionFunction()
+        {
+            @Override
+            public int getPartitionCount()
+            {
+                return 2;
+            }
+
+            @Override
+            public int getPartition(Page page, int position)
+            {
+                return contains(hashGenerator.hashPosition(position, page)) ? 0 : 1;
+            }
+        };
+    }
+
+    private static int subPartitionHash(long rawHash)
+    {
+        // same mix as LocalPartitionGenerator, but the upper half of the bits
+        return (int) (XxHash64.hash(Long.reverse(rawHash)) >>> 32);
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JoinSubPartition that = (JoinSubPartition) o;
+        return level == that.level &&
+                value == that.value;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(level, value);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("level", level)
+                .add("value", value)
+                .toString();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.spi.ColumnHandle;
+import com.facebook.presto.spi.predicate.TupleDomain;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Combines the join key domains collected by all build side partitions of a hash join
+ * within a task, and exposes the result to the probe side table scan of the same task.
+ * <p>
+ * The filter never leaves the task, so it only applies when the probe side table scan runs in
+ * the same stage as the join, as it does for broadcast joins. Partitioned joins read the probe
+ * side through an exchange and are not filtered, and splits are still enumerated for partitions
+ * that the filter excludes; they are only skipped when their page source is created.
+ */
+@ThreadSafe
+public class LocalDynamicFilter
+{
+    // probe side columns, indexed by the position of the key in the join criteria
+    private final Map<Integer, ColumnHandle> probeColumns;
+    private final SettableFuture<TupleDomain<ColumnHandle>> resultFuture = SettableFuture.create();
+
+    @GuardedBy("this")
+    private int partitionCount;
+    @GuardedBy("this")
+    private int collectedPartitions;
+    @GuardedBy("this")
+    private TupleDomain<Integer> result = TupleDomain.none();
+
+    public LocalDynamicFilter(Map<Integer, ColumnHandle> probeColumns)
+    {
+        this.probeColumns = ImmutableMap.copyOf(requireNonNull(probeColumns, "probeColumns is null"));
+        checkArgument(!probeColumns.isEmpty(), "probeColumns is empty");
+    }
+
+    public Set<Integer> getKeys()
+    {
+        return probeColumns.keySet();
+    }
+
+    public synchronized void setPartitionCount(int partitionCount)
+    {
+        checkArgument(partitionCount > 0, "partitionCount must be positive");
+        checkState(this.partitionCount == 0, "partitionCount is already set");
+        this.partitionCount = partitionCount;
+    }
+
+    public synchronized void addPartition(TupleDomain<Integer> partitionDomain)
+    {
+        requireNonNull(partitionDomain, "partitionDomain is null");
+        checkState(partitionCount > 0, "partitionCount is not set");
+        checkState(collectedPartitions < partitionCount, "all partitions are already collected");
+
+        result = TupleDomain.columnWiseUnion(result, partitionDomain);
+        collectedPartitions++;
+        if (collectedPartitions == partitionCount) {
+            resultFuture.set(result.transform(probeColumns::get));
+        }
+    }
+
+    public ListenableFuture<TupleDomain<ColumnHandle>> getResultFuture()
+    {
+        return resultFuture;
+    }
+
+    /**
+     * Returns the combined domain of the join keys, or {@link TupleDomain#all()} if
+     * some build side partitions are not yet finished.
+     */
+    public TupleDomain<ColumnHandle> getCurrentPredicate()
+    {
+        if (!resultFuture.isDone()) {
+            return TupleDomain.all();
+        }
+        return getFutureValue(resultFuture);
+    }
+}
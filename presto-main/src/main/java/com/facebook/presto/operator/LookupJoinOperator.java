@@ -30,6 +30,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -37,12 +38,13 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.function.IntPredicate;
-import java.util.function.Supplier;
 
 import static com.facebook.presto.operator.LookupJoinOperators.JoinType.FULL_OUTER;
 import static com.facebook.presto.operator.LookupJoinOperators.JoinType.PROBE_OUTER;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
+import static com.google.common.util.concurrent.Futures.transform;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.MoreFutures.addSuccessCallback;
 import static io.airlift.concurrent.MoreFutures.checkSuccess;
 import static io.airlift.concurrent.MoreFutures.getDone;
@@ -53,6 +55,9 @@ import static java.util.Objects.requireNonNull;
 public class LookupJoinOperator
         implements Operator
 {
+    // partition of the rows not belonging to a sub-partition, see JoinSubPartition#membershipPartitionFunction
+    private static final int OTHER_SUB_PARTITIONS = 1;
+
     private final OperatorContext operatorContext;
     private final List<Type> probeTypes;
     private final JoinProbeFactory joinProbeFactory;
@@ -89,12 +94,16 @@ public class LookupJoinOperator
 
     private final Map<Integer, SavedRow> savedRows = new HashMap<>();
     @Nullable
-    private ListenableFuture<PartitionedConsumption<Supplier<LookupSource>>> partitionedConsumption;
+    private ListenableFuture<PartitionedConsumption<UnspilledLookupSource>> partitionedConsumption;
     @Nullable
-    private Iterator<Partition<Supplier<LookupSource>>> lookupPartitions;
-    private Optional<Partition<Supplier<LookupSource>>> currentPartition = Optional.empty();
-    private Optional<ListenableFuture<Supplier<LookupSource>>> unspilledLookupSource = Optional.empty();
+    private Iterator<Partition<UnspilledLookupSource>> lookupPartitions;
+    private Optional<Partition<UnspilledLookupSource>> currentPartition = Optional.empty();
+    private Optional<ListenableFuture<Optional<UnspilledLookupSource>>> unspilledLookupSource = Optional.empty();
+    private Optional<UnspilledLookupSource> currentSubPartition = Optional.empty();
     private Iterator<Page> unspilledInputPages = emptyIterator();
+    // holds the probe rows of the current partition which belong to sub-partitions not unspilled yet
+    private Optional<PartitioningSpiller> remainingInputSpiller = Optional.empty();
+    private Optional<PartitioningSpiller> unspilledInputSpiller = Optional.empty();
 
     public LookupJoinOperator(
             OperatorContext operatorContext,
@@ -337,7 +346,7 @@ public class LookupJoinOperator
         }
 
         if (unspilledInputPages.hasNext()) {
-            addInput(unspilledInputPages.next());
+            addUnspilledInput(unspilledInputPages.next());
             return;
         }
 
@@ -346,35 +355,27 @@ public class LookupJoinOperator
                 // Not unspilled yet
                 return;
             }
-            LookupSource lookupSource = getDone(unspilledLookupSource.get()).get();
+            Optional<UnspilledLookupSource> subPartition = getDone(unspilledLookupSource.get());
             unspilledLookupSource = Optional.empty();
-
-            // Close previous lookupSourceProvider (either supplied initially or for the previous partition)
-            lookupSourceProvider.close();
-            lookupSourceProvider = new StaticLookupSourceProvider(lookupSource);
-            // If the partition was spilled during processing, its position count will be considered twice.
-            statisticsCounter.updateLookupSourcePositions(lookupSource.getJoinPositionCount());
-
-            int partition = currentPartition.get().number();
-            unspilledInputPages = spiller.map(spiller -> spiller.getSpilledPages(partition))
-                    .orElse(emptyIterator());
-
-            Optional.ofNullable(savedRows.remove(partition)).ifPresent(savedRow -> {
-                restoreProbe(
-                        savedRow.row,
-                        savedRow.joinPositionWithinPartition,
-                        savedRow.currentProbePositionProducedRow,
-                        savedRow.joinSourcePositions,
-                        SpillInfoSnapshot.noSpill());
-            });
-
+            if (subPartition.isPresent()) {
+                startSubPartition(subPartition.get());
+                return;
+            }
+            // All sub-partitions of the current partition were processed
+        }
+        else if (currentSubPartition.isPresent()) {
+            // All probe rows of the current sub-partition were processed, so the build side can move on to the next one
+            UnspilledLookupSource subPartition = currentSubPartition.get();
+            currentSubPartition = Optional.empty();
+            subPartition.release();
+            unspilledLookupSource = Optional.of(subPartition.getNext());
             return;
         }
 
         if (lookupPartitions.hasNext()) {
             currentPartition.ifPresent(Partition::release);
             currentPartition = Optional.of(lookupPartitions.next());
-            unspilledLookupSource = Optional.of(currentPartition.get().load());
+            unspilledLookupSource = Optional.of(transform(currentPartition.get().load(), Optional::of, directExecutor()));
 
             return;
         }
@@ -386,9 +387,80 @@ public class LookupJoinOperator
             lookupSourceProvider = null;
         }
         spiller.ifPresent(PartitioningSpiller::verifyAllPartitionsRead);
+        closeUnspilledInputSpiller();
         finished = true;
     }
 
+    private void startSubPartition(UnspilledLookupSource subPartition)
+    {
+        LookupSource lookupSource = subPartition.getLookupSource();
+
+        // Close previous lookupSourceProvider (either supplied initially or for the previous (sub-)partition)
+        lookupSourceProvider.close();
+        lookupSourceProvider = new StaticLookupSourceProvider(lookupSource);
+        // If the partition was spilled during processing, its position count will be considered twice.
+        statisticsCounter.updateLookupSourcePositions(lookupSource.getJoinPositionCount());
+
+        int partition = currentPartition.get().number();
+        closeUnspilledInputSpiller();
+        if (remainingInputSpiller.isPresent()) {
+            // Rows of the previous sub-partitions were already probed
+            unspilledInputSpiller = remainingInputSpiller;
+            remainingInputSpiller = Optional.empty();
+            unspilledInputPages = unspilledInputSpiller.get().getSpilledPages(OTHER_SUB_PARTITIONS);
+        }
+        else {
+            unspilledInputPages = spiller.map(spiller -> spiller.getSpilledPages(partition))
+                    .orElse(emptyIterator());
+        }
+
+        if (!subPartition.isLast()) {
+            remainingInputSpiller = Optional.of(partitioningSpillerFactory.create(
+                    probeTypes,
+                    subPartition.getSubPartition().membershipPartitionFunction(hashGenerator),
+                    operatorContext.getSpillContext().newLocalSpillContext(),
+                    operatorContext.newAggregateSystemMemoryContext()));
+        }
+        currentSubPartition = Optional.of(subPartition);
+
+        Optional.ofNullable(savedRows.remove(partition)).ifPresent(savedRow -> {
+            // The join position of the saved row refers to the lookup source of the whole partition
+            verify(subPartition.getSubPartition().isWholePartition(), "Partition %s with saved rows was split", partition);
+            restoreProbe(
+                    savedRow.row,
+                    savedRow.joinPositionWithinPartition,
+                    savedRow.currentProbePositionProducedRow,
+                    savedRow.joinSourcePositions,
+                    SpillInfoSnapshot.noSpill());
+        });
+    }
+
+    private void addUnspilledInput(Page page)
+    {
+        if (remainingInputSpiller.isPresent()) {
+            PartitioningSpillResult result = remainingInputSpiller.get().partitionAndSpill(page, subPartition -> subPartition == OTHER_SUB_PARTITIONS);
+            spillInProgress = result.getSpillingFuture();
+            page = result.getRetained();
+            if (page.getPositionCount() == 0) {
+                return;
+            }
+        }
+        addInput(page);
+    }
+
+    private void closeUnspilledInputSpiller()
+    {
+        unspilledInputSpiller.ifPresent(spiller -> {
+            try {
+                spiller.close();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        unspilledInputSpiller = Optional.empty();
+    }
+
     private void processProbe()
     {
         verify(probe != null);
@@ -517,6 +589,8 @@ public class LookupJoinOperator
             closer.register(pageBuilder::reset);
             closer.register(() -> Optional.ofNullable(lookupSourceProvider).ifPresent(LookupSourceProvider::close));
             spiller.ifPresent(closer::register);
+            remainingInputSpiller.ifPresent(closer::register);
+            unspilledInputSpiller.ifPresent(closer::register);
         }
         catch (IOException e) {
             throw new RuntimeException(e);
@@ -17,6 +17,7 @@ import com.facebook.presto.operator.JoinProbe.JoinProbeFactory;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.facebook.presto.spi.type.Type;
 import com.facebook.presto.spiller.PartitioningSpillerFactory;
+import com.facebook.presto.sql.analyzer.FeaturesConfig;
 
 import javax.inject.Inject;
 
@@ -37,9 +38,17 @@ public class LookupJoinOperators
         FULL_OUTER,
     }
 
-    @Inject
+    private final boolean batchProbeEnabled;
+
     public LookupJoinOperators()
     {
+        this(new FeaturesConfig());
+    }
+
+    @Inject
+    public LookupJoinOperators(FeaturesConfig featuresConfig)
+    {
+        this.batchProbeEnabled = featuresConfig.isJoinBatchProbeEnabled();
     }
 
     public OperatorFactory innerJoin(int operatorId, PlanNodeId planNodeId, JoinBridgeManager<? extends LookupSourceFactory> lookupSourceFactory, List<Type> probeTypes, List<Integer> probeJoinChannel, OptionalInt probeHashChannel, Optional<List<Integer>> probeOutputChannels, OptionalInt totalOperatorsCount, PartitioningSpillerFactory partitioningSpillerFactory)
@@ -93,7 +102,7 @@ public class LookupJoinOperators
                 probeOutputChannelTypes,
                 lookupSourceFactoryManager.getBuildOutputTypes(),
                 joinType,
-                new JoinProbeFactory(probeOutputChannels.stream().mapToInt(i -> i).toArray(), probeJoinChannel, probeHashChannel),
+                new JoinProbeFactory(probeOutputChannels.stream().mapToInt(i -> i).toArray(), probeJoinChannel, probeHashChannel, batchProbeEnabled),
                 totalOperatorsCount,
                 probeJoinChannel,
                 probeHashChannel,
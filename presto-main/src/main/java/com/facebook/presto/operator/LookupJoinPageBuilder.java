@@ -28,7 +28,7 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * This page builder creates pages with dictionary blocks:
- * normal dictionary blocks for the probe side and the original blocks for the build side.
+ * normal dictionary blocks (or copied blocks for a batch probe) for the probe side and the original blocks for the build side.
  * <p>
  * TODO use dictionary blocks (probably extended kind) to avoid data copying for build side
  */
@@ -103,9 +103,13 @@ public class LookupJoinPageBuilder
         Block[] blocks = new Block[probeOutputChannels.length + buildOutputChannelCount];
         for (int i = 0; i < probeOutputChannels.length; i++) {
             Block probeBlock = probe.getPage().getBlock(probeOutputChannels[i]);
-            if (!isSequentialProbeIndices || length == 0) {
+            if (length == 0) {
                 blocks[i] = probeBlock.getPositions(probeIndices, 0, probeIndices.length);
             }
+            else if (!isSequentialProbeIndices) {
+                // a batch probe copies the matched rows into compact blocks, instead of wrapping the whole probe block in a dictionary
+                blocks[i] = probe.isBatchProbe() ? probeBlock.copyPositions(probeIndices, 0, length) : probeBlock.getPositions(probeIndices, 0, length);
+            }
             else if (length == probeBlock.getPositionCount()) {
                 // probeIndices are a simple covering of the block
                 verify(probeIndices[0] == 0);
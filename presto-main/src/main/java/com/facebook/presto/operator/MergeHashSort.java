@@ -49,7 +49,15 @@ public class MergeHashSort
      */
     public WorkProcessor<Page> merge(List<Type> keyTypes, List<Type> allTypes, List<WorkProcessor<Page>> channels, DriverYieldSignal driverYieldSignal)
     {
-        InterpretedHashGenerator hashGenerator = createHashGenerator(keyTypes);
+        return merge(keyTypes, IntStream.range(0, keyTypes.size()).boxed().collect(toImmutableList()), allTypes, channels, driverYieldSignal);
+    }
+
+    /**
+     * Rows with same hash value of the {@param keyChannels} are guaranteed to be in the same result page.
+     */
+    public WorkProcessor<Page> merge(List<Type> keyTypes, List<Integer> keyChannels, List<Type> allTypes, List<WorkProcessor<Page>> channels, DriverYieldSignal driverYieldSignal)
+    {
+        InterpretedHashGenerator hashGenerator = new InterpretedHashGenerator(keyTypes, keyChannels);
         return mergeSortedPages(
                 channels,
                 createHashPageWithPositionComparator(hashGenerator),
@@ -86,13 +94,4 @@ public class MergeHashSort
             return Long.compare(leftHash, rightHash);
         };
     }
-
-    private static InterpretedHashGenerator createHashGenerator(List<Type> keyTypes)
-    {
-        int[] hashChannels = new int[keyTypes.size()];
-        for (int i = 0; i < keyTypes.size(); i++) {
-            hashChannels[i] = i;
-        }
-        return new InterpretedHashGenerator(keyTypes, hashChannels);
-    }
 }
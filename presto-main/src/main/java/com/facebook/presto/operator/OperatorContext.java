@@ -72,6 +72,12 @@ public class OperatorContext
 
     private final AtomicLong physicalWrittenDataSize = new AtomicLong();
 
+    private final AtomicLong fragmentResultCacheHits = new AtomicLong();
+    private final AtomicLong fragmentResultCacheMisses = new AtomicLong();
+
+    private final AtomicLong partialAggregationsDisabled = new AtomicLong();
+    private final AtomicLong partialAggregationPassThroughPositions = new AtomicLong();
+
     private final AtomicReference<SettableFuture<?>> memoryFuture;
     private final AtomicReference<SettableFuture<?>> revocableMemoryFuture;
     private final AtomicReference<BlockedMonitor> blockedMonitor = new AtomicReference<>();
@@ -201,6 +207,26 @@ public class OperatorContext
         physicalWrittenDataSize.getAndAdd(sizeInBytes);
     }
 
+    public void recordFragmentResultCacheHit()
+    {
+        fragmentResultCacheHits.incrementAndGet();
+    }
+
+    public void recordFragmentResultCacheMiss()
+    {
+        fragmentResultCacheMisses.incrementAndGet();
+    }
+
+    public void recordPartialAggregationDisabled()
+    {
+        partialAggregationsDisabled.incrementAndGet();
+    }
+
+    public void recordPartialAggregationPassThrough(int positions)
+    {
+        partialAggregationPassThroughPositions.getAndAdd(positions);
+    }
+
     public void recordBlocked(ListenableFuture<?> blocked)
     {
         requireNonNull(blocked, "blocked is null");
@@ -478,6 +504,12 @@ public class OperatorContext
 
                 succinctBytes(spillContext.getSpilledBytes()),
 
+                fragmentResultCacheHits.get(),
+                fragmentResultCacheMisses.get(),
+
+                partialAggregationsDisabled.get(),
+                partialAggregationPassThroughPositions.get(),
+
                 memoryFuture.get().isDone() ? Optional.empty() : Optional.of(WAITING_FOR_MEMORY),
                 info);
     }
@@ -75,6 +75,12 @@ public class OperatorStats
 
     private final DataSize spilledDataSize;
 
+    private final long fragmentResultCacheHits;
+    private final long fragmentResultCacheMisses;
+
+    private final long partialAggregationsDisabled;
+    private final long partialAggregationPassThroughPositions;
+
     private final Optional<BlockedReason> blockedReason;
 
     private final OperatorInfo info;
@@ -120,6 +126,12 @@ public class OperatorStats
 
             @JsonProperty("spilledDataSize") DataSize spilledDataSize,
 
+            @JsonProperty("fragmentResultCacheHits") long fragmentResultCacheHits,
+            @JsonProperty("fragmentResultCacheMisses") long fragmentResultCacheMisses,
+
+            @JsonProperty("partialAggregationsDisabled") long partialAggregationsDisabled,
+            @JsonProperty("partialAggregationPassThroughPositions") long partialAggregationPassThroughPositions,
+
             @JsonProperty("blockedReason") Optional<BlockedReason> blockedReason,
 
             @JsonProperty("info") OperatorInfo info)
@@ -168,6 +180,16 @@ public class OperatorStats
 
         this.spilledDataSize = requireNonNull(spilledDataSize, "spilledDataSize is null");
 
+        checkArgument(fragmentResultCacheHits >= 0, "fragmentResultCacheHits is negative");
+        this.fragmentResultCacheHits = fragmentResultCacheHits;
+        checkArgument(fragmentResultCacheMisses >= 0, "fragmentResultCacheMisses is negative");
+        this.fragmentResultCacheMisses = fragmentResultCacheMisses;
+
+        checkArgument(partialAggregationsDisabled >= 0, "partialAggregationsDisabled is negative");
+        this.partialAggregationsDisabled = partialAggregationsDisabled;
+        checkArgument(partialAggregationPassThroughPositions >= 0, "partialAggregationPassThroughPositions is negative");
+        this.partialAggregationPassThroughPositions = partialAggregationPassThroughPositions;
+
         this.blockedReason = blockedReason;
 
         this.info = info;
@@ -353,6 +375,30 @@ public class OperatorStats
         return spilledDataSize;
     }
 
+    @JsonProperty
+    public long getFragmentResultCacheHits()
+    {
+        return fragmentResultCacheHits;
+    }
+
+    @JsonProperty
+    public long getFragmentResultCacheMisses()
+    {
+        return fragmentResultCacheMisses;
+    }
+
+    @JsonProperty
+    public long getPartialAggregationsDisabled()
+    {
+        return partialAggregationsDisabled;
+    }
+
+    @JsonProperty
+    public long getPartialAggregationPassThroughPositions()
+    {
+        return partialAggregationPassThroughPositions;
+    }
+
     @JsonProperty
     public Optional<BlockedReason> getBlockedReason()
     {
@@ -406,6 +452,12 @@ public class OperatorStats
 
         long spilledDataSize = this.spilledDataSize.toBytes();
 
+        long fragmentResultCacheHits = this.fragmentResultCacheHits;
+        long fragmentResultCacheMisses = this.fragmentResultCacheMisses;
+
+        long partialAggregationsDisabled = this.partialAggregationsDisabled;
+        long partialAggregationPassThroughPositions = this.partialAggregationPassThroughPositions;
+
         Optional<BlockedReason> blockedReason = this.blockedReason;
 
         Mergeable<OperatorInfo> base = getMergeableInfoOrNull(info);
@@ -446,6 +498,12 @@ public class OperatorStats
 
             spilledDataSize += operator.getSpilledDataSize().toBytes();
 
+            fragmentResultCacheHits += operator.getFragmentResultCacheHits();
+            fragmentResultCacheMisses += operator.getFragmentResultCacheMisses();
+
+            partialAggregationsDisabled += operator.getPartialAggregationsDisabled();
+            partialAggregationPassThroughPositions += operator.getPartialAggregationPassThroughPositions();
+
             if (operator.getBlockedReason().isPresent()) {
                 blockedReason = operator.getBlockedReason();
             }
@@ -496,6 +554,12 @@ public class OperatorStats
 
                 succinctBytes(spilledDataSize),
 
+                fragmentResultCacheHits,
+                fragmentResultCacheMisses,
+
+                partialAggregationsDisabled,
+                partialAggregationPassThroughPositions,
+
                 blockedReason,
 
                 (OperatorInfo) base);
@@ -550,6 +614,10 @@ public class OperatorStats
                 peakSystemMemoryReservation,
                 peakTotalMemoryReservation,
                 spilledDataSize,
+                fragmentResultCacheHits,
+                fragmentResultCacheMisses,
+                partialAggregationsDisabled,
+                partialAggregationPassThroughPositions,
                 blockedReason,
                 (info != null && info.isFinal()) ? info : null);
     }
@@ -19,12 +19,19 @@ import com.facebook.presto.spi.PageBuilder;
 import com.facebook.presto.spi.block.SortOrder;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spiller.Spiller;
+import com.facebook.presto.spiller.SpillerFactory;
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ListenableFuture;
 
 import java.util.List;
+import java.util.Optional;
 
+import static com.facebook.presto.util.MergeSortedPages.mergeSortedPages;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static java.util.Objects.requireNonNull;
 
 public class OrderByOperator
@@ -42,6 +49,8 @@ public class OrderByOperator
         private final List<SortOrder> sortOrder;
         private boolean closed;
         private final PagesIndex.Factory pagesIndexFactory;
+        private final boolean spillEnabled;
+        private final SpillerFactory spillerFactory;
 
         public OrderByOperatorFactory(
                 int operatorId,
@@ -52,6 +61,32 @@ public class OrderByOperator
                 List<Integer> sortChannels,
                 List<SortOrder> sortOrder,
                 PagesIndex.Factory pagesIndexFactory)
+        {
+            this(operatorId,
+                    planNodeId,
+                    sourceTypes,
+                    outputChannels,
+                    expectedPositions,
+                    sortChannels,
+                    sortOrder,
+                    pagesIndexFactory,
+                    false,
+                    (types, spillContext, memoryContext) -> {
+                        throw new UnsupportedOperationException();
+                    });
+        }
+
+        public OrderByOperatorFactory(
+                int operatorId,
+                PlanNodeId planNodeId,
+                List<? extends Type> sourceTypes,
+                List<Integer> outputChannels,
+                int expectedPositions,
+                List<Integer> sortChannels,
+                List<SortOrder> sortOrder,
+                PagesIndex.Factory pagesIndexFactory,
+                boolean spillEnabled,
+                SpillerFactory spillerFactory)
         {
             this.operatorId = operatorId;
             this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
@@ -62,6 +97,8 @@ public class OrderByOperator
             this.sortOrder = ImmutableList.copyOf(requireNonNull(sortOrder, "sortOrder is null"));
 
             this.pagesIndexFactory = requireNonNull(pagesIndexFactory, "pagesIndexFactory is null");
+            this.spillEnabled = spillEnabled;
+            this.spillerFactory = requireNonNull(spillerFactory, "spillerFactory is null");
         }
 
         @Override
@@ -77,7 +114,9 @@ public class OrderByOperator
                     expectedPositions,
                     sortChannels,
                     sortOrder,
-                    pagesIndexFactory);
+                    pagesIndexFactory,
+                    spillEnabled,
+                    spillerFactory);
         }
 
         @Override
@@ -89,7 +128,7 @@ public class OrderByOperator
         @Override
         public OperatorFactory duplicate()
         {
-            return new OrderByOperatorFactory(operatorId, planNodeId, sourceTypes, outputChannels, expectedPositions, sortChannels, sortOrder, pagesIndexFactory);
+            return new OrderByOperatorFactory(operatorId, planNodeId, sourceTypes, outputChannels, expectedPositions, sortChannels, sortOrder, pagesIndexFactory, spillEnabled, spillerFactory);
         }
     }
 
@@ -101,16 +140,26 @@ public class OrderByOperator
     }
 
     private final OperatorContext operatorContext;
+    private final List<Type> sourceTypes;
     private final List<Integer> sortChannels;
     private final List<SortOrder> sortOrder;
     private final int[] outputChannels;
+    private final List<Type> outputTypes;
     private final LocalMemoryContext localUserMemoryContext;
+    private final LocalMemoryContext localRevocableMemoryContext;
 
     private final PagesIndex pageIndex;
 
     private final PageBuilder pageBuilder;
     private int currentPosition;
 
+    private final boolean spillEnabled;
+    private final SpillerFactory spillerFactory;
+    private Optional<Spiller> spiller = Optional.empty();
+    private Optional<ListenableFuture<?>> spillInProgress = Optional.empty();
+    // merged output of the spilled runs and of the rows in memory
+    private WorkProcessor<Page> mergedPages;
+
     private State state = State.NEEDS_INPUT;
 
     public OrderByOperator(
@@ -120,7 +169,9 @@ public class OrderByOperator
             int expectedPositions,
             List<Integer> sortChannels,
             List<SortOrder> sortOrder,
-            PagesIndex.Factory pagesIndexFactory)
+            PagesIndex.Factory pagesIndexFactory,
+            boolean spillEnabled,
+            SpillerFactory spillerFactory)
     {
         requireNonNull(pagesIndexFactory, "pagesIndexFactory is null");
 
@@ -129,10 +180,16 @@ public class OrderByOperator
         this.sortChannels = ImmutableList.copyOf(requireNonNull(sortChannels, "sortChannels is null"));
         this.sortOrder = ImmutableList.copyOf(requireNonNull(sortOrder, "sortOrder is null"));
         this.localUserMemoryContext = operatorContext.localUserMemoryContext();
+        this.localRevocableMemoryContext = operatorContext.localRevocableMemoryContext();
+        this.sourceTypes = ImmutableList.copyOf(requireNonNull(sourceTypes, "sourceTypes is null"));
 
         this.pageIndex = pagesIndexFactory.newPagesIndex(sourceTypes, expectedPositions);
 
-        this.pageBuilder = new PageBuilder(toTypes(sourceTypes, outputChannels));
+        this.outputTypes = toTypes(sourceTypes, outputChannels);
+        this.pageBuilder = new PageBuilder(outputTypes);
+
+        this.spillEnabled = spillEnabled;
+        this.spillerFactory = requireNonNull(spillerFactory, "spillerFactory is null");
     }
 
     @Override
@@ -149,6 +206,28 @@ public class OrderByOperator
 
             // sort the index
             pageIndex.sort(sortChannels, sortOrder);
+
+            if (spiller.isPresent()) {
+                // the sorted runs on disk and the sorted rows in memory are merged while producing the output
+                mergedPages = mergeSortedPages(
+                        ImmutableList.<WorkProcessor<Page>>builder()
+                                .addAll(spiller.get().getSpills().stream()
+                                        .map(WorkProcessor::fromIterator)
+                                        .collect(toImmutableList()))
+                                .add(WorkProcessor.fromIterator(pageIndex.getSortedPages()))
+                                .build(),
+                        new SimplePageWithPositionComparator(sourceTypes, sortChannels, sortOrder),
+                        Ints.asList(outputChannels),
+                        outputTypes,
+                        (builder, pageWithPosition) -> builder.isFull(),
+                        false,
+                        operatorContext.newAggregateSystemMemoryContext(),
+                        operatorContext.getDriverContext().getYieldSignal());
+            }
+
+            // the rows in memory can no longer be spilled
+            localRevocableMemoryContext.setBytes(0);
+            localUserMemoryContext.setBytes(pageIndex.getEstimatedSize().toBytes());
         }
     }
 
@@ -171,11 +250,37 @@ public class OrderByOperator
         requireNonNull(page, "page is null");
 
         pageIndex.addPage(page);
+        updateMemoryUsage();
+    }
 
-        if (!localUserMemoryContext.trySetBytes(pageIndex.getEstimatedSize().toBytes())) {
-            pageIndex.compact();
-            localUserMemoryContext.setBytes(pageIndex.getEstimatedSize().toBytes());
+    @Override
+    public ListenableFuture<?> startMemoryRevoke()
+    {
+        if (!spillEnabled || state != State.NEEDS_INPUT || pageIndex.getPositionCount() == 0) {
+            return NOT_BLOCKED;
         }
+
+        if (!spiller.isPresent()) {
+            spiller = Optional.of(spillerFactory.create(sourceTypes, operatorContext.getSpillContext(), operatorContext.newAggregateSystemMemoryContext()));
+        }
+        pageIndex.sort(sortChannels, sortOrder);
+        spillInProgress = Optional.of(spiller.get().spill(pageIndex.getSortedPages()));
+        return spillInProgress.get();
+    }
+
+    @Override
+    public void finishMemoryRevoke()
+    {
+        if (!spillInProgress.isPresent()) {
+            return;
+        }
+        // fail early if spilling has failed
+        getFutureValue(spillInProgress.get());
+        spillInProgress = Optional.empty();
+
+        // the spilled rows are no longer needed in memory
+        pageIndex.clear();
+        updateMemoryUsage();
     }
 
     @Override
@@ -185,6 +290,17 @@ public class OrderByOperator
             return null;
         }
 
+        if (mergedPages != null) {
+            if (!mergedPages.process()) {
+                return null;
+            }
+            if (mergedPages.isFinished()) {
+                state = State.FINISHED;
+                return null;
+            }
+            return mergedPages.getResult();
+        }
+
         if (currentPosition >= pageIndex.getPositionCount()) {
             state = State.FINISHED;
             return null;
@@ -208,6 +324,19 @@ public class OrderByOperator
     public void close()
     {
         pageIndex.clear();
+        spiller.ifPresent(Spiller::close);
+    }
+
+    private void updateMemoryUsage()
+    {
+        if (spillEnabled) {
+            // the rows are spilled instead when memory is needed
+            localRevocableMemoryContext.setBytes(pageIndex.getEstimatedSize().toBytes());
+        }
+        else if (!localUserMemoryContext.trySetBytes(pageIndex.getEstimatedSize().toBytes())) {
+            pageIndex.compact();
+            localUserMemoryContext.setBytes(pageIndex.getEstimatedSize().toBytes());
+        }
     }
 
     private static List<Type> toTypes(List<? extends Type> sourceTypes, List<Integer> outputChannels)
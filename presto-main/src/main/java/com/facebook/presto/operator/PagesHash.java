@@ -149,6 +149,11 @@ public final class PagesHash
         return expectedHashCollisions;
     }
 
+    public long hashRow(int position, Page hashChannelsPage)
+    {
+        return pagesHashStrategy.hashRow(position, hashChannelsPage);
+    }
+
     public int getAddressIndex(int position, Page hashChannelsPage)
     {
         return getAddressIndex(position, hashChannelsPage, pagesHashStrategy.hashRow(position, hashChannelsPage));
@@ -168,6 +173,41 @@ public final class PagesHash
         return -1;
     }
 
+    /**
+     * Looks up the address index of each of the selected positions of the page, storing the address index of {@code positions[i]}
+     * at {@code addressIndexes[i]}. The slots of all positions are computed before any of them is probed, so that the loads
+     * from the hash table do not depend on each other and can be overlapped by the CPU. {@code hashPositions} is scratch space,
+     * and both arrays must hold at least {@code positionCount} elements.
+     */
+    public void getAddressIndexes(int[] positions, int positionCount, Page hashChannelsPage, long[] rawHashes, int[] hashPositions, int[] addressIndexes)
+    {
+        for (int i = 0; i < positionCount; i++) {
+            hashPositions[i] = getHashPosition(rawHashes[positions[i]], mask);
+        }
+
+        // the first candidate of each position is kept in its address index until the position is probed
+        for (int i = 0; i < positionCount; i++) {
+            addressIndexes[i] = key[hashPositions[i]];
+        }
+
+        for (int i = 0; i < positionCount; i++) {
+            int position = positions[i];
+            byte rawHash = (byte) rawHashes[position];
+            int pos = hashPositions[i];
+            int candidate = addressIndexes[i];
+            addressIndexes[i] = -1;
+            while (candidate != -1) {
+                if (positionEqualsCurrentRowIgnoreNulls(candidate, rawHash, position, hashChannelsPage)) {
+                    addressIndexes[i] = candidate;
+                    break;
+                }
+                // increment position and mask to handler wrap around
+                pos = (pos + 1) & mask;
+                candidate = key[pos];
+            }
+        }
+    }
+
     public void appendTo(long position, PageBuilder pageBuilder, int outputChannelOffset)
     {
         long pageAddress = addresses.getLong(toIntExact(position));
@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Decides whether the partial aggregations of a pipeline are worth their cost. Once the partial
+ * aggregations have seen enough input, and the number of groups they produced is too close to the
+ * number of input rows, they are disabled and the input rows are passed through to the final
+ * aggregation instead.
+ */
+@ThreadSafe
+public class PartialAggregationController
+{
+    private final long minRows;
+    private final double uniqueRowsRatioThreshold;
+
+    private volatile boolean partialAggregationDisabled;
+    @GuardedBy("this")
+    private long totalRows;
+    @GuardedBy("this")
+    private long totalUniqueRows;
+
+    public PartialAggregationController(long minRows, double uniqueRowsRatioThreshold)
+    {
+        checkArgument(minRows >= 0, "minRows is negative");
+        checkArgument(uniqueRowsRatioThreshold >= 0 && uniqueRowsRatioThreshold <= 1, "uniqueRowsRatioThreshold must be between 0 and 1");
+        this.minRows = minRows;
+        this.uniqueRowsRatioThreshold = uniqueRowsRatioThreshold;
+    }
+
+    public boolean isPartialAggregationDisabled()
+    {
+        return partialAggregationDisabled;
+    }
+
+    /**
+     * Returns true if a partial aggregation that produced the given number of groups from the given number of rows does not reduce the data enough.
+     */
+    public boolean isIneffective(long rows, long uniqueRows)
+    {
+        return rows >= minRows && uniqueRows > rows * uniqueRowsRatioThreshold;
+    }
+
+    /**
+     * Records the number of groups a partial aggregation produced from the given number of rows.
+     */
+    public synchronized void onFlush(long rows, long uniqueRows)
+    {
+        if (partialAggregationDisabled) {
+            return;
+        }
+        totalRows += rows;
+        totalUniqueRows += uniqueRows;
+        if (isIneffective(totalRows, totalUniqueRows)) {
+            partialAggregationDisabled = true;
+        }
+    }
+
+    public PartialAggregationController duplicate()
+    {
+        return new PartialAggregationController(minRows, uniqueRowsRatioThreshold);
+    }
+}
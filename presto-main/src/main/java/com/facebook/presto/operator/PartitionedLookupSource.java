@@ -32,6 +32,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
+import static com.facebook.presto.array.Arrays.ensureCapacity;
 import static com.google.common.base.Verify.verify;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.lang.Integer.numberOfTrailingZeros;
@@ -84,6 +85,13 @@ public class PartitionedLookupSource
     @Nullable
     private final OuterPositionTracker outerPositionTracker;
 
+    // scratch buffers of the batch lookups, which are reused across calls since a lookup source is only used by one thread
+    private final int[] partitionOffsets;
+    private long[] rawHashBuffer = new long[0];
+    private int[] partitions = new int[0];
+    private int[] partitionPositions = new int[0];
+    private int[] batch = new int[0];
+
     private boolean closed;
 
     private PartitionedLookupSource(List<? extends LookupSource> lookupSources, List<Type> hashChannelTypes, Optional<OuterPositionTracker> outerPositionTracker)
@@ -101,6 +109,7 @@ public class PartitionedLookupSource
         this.partitionMask = lookupSources.size() - 1;
         this.shiftSize = numberOfTrailingZeros(lookupSources.size()) + 1;
         this.outerPositionTracker = outerPositionTracker.orElse(null);
+        this.partitionOffsets = new int[lookupSources.size() + 1];
     }
 
     @Override
@@ -147,6 +156,55 @@ public class PartitionedLookupSource
         return encodePartitionedJoinPosition(partition, toIntExact(joinPosition));
     }
 
+    @Override
+    public void getJoinPositions(int[] positions, int positionCount, Page hashChannelsPage, Page allChannelsPage, long[] joinPositions)
+    {
+        rawHashBuffer = ensureCapacity(rawHashBuffer, hashChannelsPage.getPositionCount());
+        for (int i = 0; i < positionCount; i++) {
+            rawHashBuffer[positions[i]] = partitionGenerator.getRawHash(hashChannelsPage, positions[i]);
+        }
+        getJoinPositions(positions, positionCount, hashChannelsPage, allChannelsPage, rawHashBuffer, joinPositions);
+    }
+
+    @Override
+    public void getJoinPositions(int[] positions, int positionCount, Page hashChannelsPage, Page allChannelsPage, long[] rawHashes, long[] joinPositions)
+    {
+        // group the positions by partition, so that each partition is probed in a single batch
+        partitions = ensureCapacity(partitions, positionCount);
+        partitionPositions = ensureCapacity(partitionPositions, positionCount);
+        Arrays.fill(partitionOffsets, 0);
+        for (int i = 0; i < positionCount; i++) {
+            partitions[i] = partitionGenerator.getPartition(rawHashes[positions[i]]);
+            partitionOffsets[partitions[i] + 1]++;
+        }
+        for (int partition = 0; partition < lookupSources.length; partition++) {
+            partitionOffsets[partition + 1] += partitionOffsets[partition];
+        }
+        // the offsets are advanced while the positions are placed, so that each ends at the start of the next partition
+        for (int i = 0; i < positionCount; i++) {
+            partitionPositions[partitionOffsets[partitions[i]]++] = positions[i];
+        }
+
+        int start = 0;
+        for (int partition = 0; partition < lookupSources.length; partition++) {
+            int end = partitionOffsets[partition];
+            int batchSize = end - start;
+            if (batchSize == 0) {
+                continue;
+            }
+            batch = ensureCapacity(batch, batchSize);
+            System.arraycopy(partitionPositions, start, batch, 0, batchSize);
+            lookupSources[partition].getJoinPositions(batch, batchSize, hashChannelsPage, allChannelsPage, rawHashes, joinPositions);
+            for (int i = 0; i < batchSize; i++) {
+                int position = batch[i];
+                if (joinPositions[position] >= 0) {
+                    joinPositions[position] = encodePartitionedJoinPosition(partition, toIntExact(joinPositions[position]));
+                }
+            }
+            start = end;
+        }
+    }
+
     @Override
     public long getNextJoinPosition(long currentJoinPosition, int probePosition, Page allProbeChannelsPage)
     {
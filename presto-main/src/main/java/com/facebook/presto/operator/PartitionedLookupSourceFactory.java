@@ -95,7 +95,7 @@ public final class PartitionedLookupSourceFactory
     private OptionalInt partitionedConsumptionParticipants = OptionalInt.empty();
 
     @GuardedBy("lock")
-    private final SettableFuture<PartitionedConsumption<Supplier<LookupSource>>> partitionedConsumption = SettableFuture.create();
+    private final SettableFuture<PartitionedConsumption<UnspilledLookupSource>> partitionedConsumption = SettableFuture.create();
 
     /**
      * Cached LookupSource on behalf of LookupJoinOperator (represented by SpillAwareLookupSourceProvider). LookupSource instantiation has non-negligible cost.
@@ -300,7 +300,7 @@ public final class PartitionedLookupSourceFactory
     }
 
     @Override
-    public ListenableFuture<PartitionedConsumption<Supplier<LookupSource>>> finishProbeOperator(OptionalInt lookupJoinsCount)
+    public ListenableFuture<PartitionedConsumption<UnspilledLookupSource>> finishProbeOperator(OptionalInt lookupJoinsCount)
     {
         lock.writeLock().lock();
         try {
@@ -343,9 +343,17 @@ public final class PartitionedLookupSourceFactory
         }
     }
 
-    private ListenableFuture<Supplier<LookupSource>> loadSpilledLookupSource(int partitionNumber)
+    private ListenableFuture<UnspilledLookupSource> loadSpilledLookupSource(int partitionNumber)
     {
-        return getSpilledLookupSourceHandle(partitionNumber).getLookupSource();
+        int consumersCount;
+        lock.readLock().lock();
+        try {
+            consumersCount = partitionedConsumptionParticipants.getAsInt();
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+        return getSpilledLookupSourceHandle(partitionNumber).getLookupSource(consumersCount);
     }
 
     private void disposeSpilledLookupSource(int partitionNumber)
@@ -19,7 +19,6 @@ import com.facebook.presto.execution.buffer.PagesSerdeFactory;
 import com.facebook.presto.execution.buffer.SerializedPage;
 import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.spi.Page;
-import com.facebook.presto.spi.PageBuilder;
 import com.facebook.presto.spi.block.Block;
 import com.facebook.presto.spi.block.RunLengthEncodedBlock;
 import com.facebook.presto.spi.plan.PlanNodeId;
@@ -28,8 +27,10 @@ import com.facebook.presto.spi.type.Type;
 import com.facebook.presto.util.Mergeable;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.airlift.units.DataSize;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 
 import java.util.List;
 import java.util.Optional;
@@ -58,6 +59,7 @@ public class PartitionedOutputOperator
         private final boolean replicatesAnyRow;
         private final OptionalInt nullChannel;
         private final DataSize maxMemory;
+        private final boolean directSerialization;
 
         public PartitionedOutputFactory(
                 PartitionFunction partitionFunction,
@@ -67,6 +69,19 @@ public class PartitionedOutputOperator
                 OptionalInt nullChannel,
                 OutputBuffer outputBuffer,
                 DataSize maxMemory)
+        {
+            this(partitionFunction, partitionChannels, partitionConstants, replicatesAnyRow, nullChannel, outputBuffer, maxMemory, false);
+        }
+
+        public PartitionedOutputFactory(
+                PartitionFunction partitionFunction,
+                List<Integer> partitionChannels,
+                List<Optional<ConstantExpression>> partitionConstants,
+                boolean replicatesAnyRow,
+                OptionalInt nullChannel,
+                OutputBuffer outputBuffer,
+                DataSize maxMemory,
+                boolean directSerialization)
         {
             this.partitionFunction = requireNonNull(partitionFunction, "partitionFunction is null");
             this.partitionChannels = requireNonNull(partitionChannels, "partitionChannels is null");
@@ -75,6 +90,7 @@ public class PartitionedOutputOperator
             this.nullChannel = requireNonNull(nullChannel, "nullChannel is null");
             this.outputBuffer = requireNonNull(outputBuffer, "outputBuffer is null");
             this.maxMemory = requireNonNull(maxMemory, "maxMemory is null");
+            this.directSerialization = directSerialization;
         }
 
         @Override
@@ -97,7 +113,8 @@ public class PartitionedOutputOperator
                     nullChannel,
                     outputBuffer,
                     serdeFactory,
-                    maxMemory);
+                    maxMemory,
+                    directSerialization);
         }
     }
 
@@ -116,6 +133,7 @@ public class PartitionedOutputOperator
         private final OutputBuffer outputBuffer;
         private final PagesSerdeFactory serdeFactory;
         private final DataSize maxMemory;
+        private final boolean directSerialization;
 
         public PartitionedOutputOperatorFactory(
                 int operatorId,
@@ -129,7 +147,8 @@ public class PartitionedOutputOperator
                 OptionalInt nullChannel,
                 OutputBuffer outputBuffer,
                 PagesSerdeFactory serdeFactory,
-                DataSize maxMemory)
+                DataSize maxMemory,
+                boolean directSerialization)
         {
             this.operatorId = operatorId;
             this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
@@ -143,6 +162,7 @@ public class PartitionedOutputOperator
             this.outputBuffer = requireNonNull(outputBuffer, "outputBuffer is null");
             this.serdeFactory = requireNonNull(serdeFactory, "serdeFactory is null");
             this.maxMemory = requireNonNull(maxMemory, "maxMemory is null");
+            this.directSerialization = directSerialization;
         }
 
         @Override
@@ -160,7 +180,8 @@ public class PartitionedOutputOperator
                     nullChannel,
                     outputBuffer,
                     serdeFactory,
-                    maxMemory);
+                    maxMemory,
+                    directSerialization);
         }
 
         @Override
@@ -183,7 +204,8 @@ public class PartitionedOutputOperator
                     nullChannel,
                     outputBuffer,
                     serdeFactory,
-                    maxMemory);
+                    maxMemory,
+                    directSerialization);
         }
     }
 
@@ -205,7 +227,8 @@ public class PartitionedOutputOperator
             OptionalInt nullChannel,
             OutputBuffer outputBuffer,
             PagesSerdeFactory serdeFactory,
-            DataSize maxMemory)
+            DataSize maxMemory,
+            boolean directSerialization)
     {
         this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
         this.pagePreprocessor = requireNonNull(pagePreprocessor, "pagePreprocessor is null");
@@ -219,6 +242,7 @@ public class PartitionedOutputOperator
                 serdeFactory,
                 sourceTypes,
                 maxMemory,
+                directSerialization,
                 operatorContext);
 
         operatorContext.setInfoSupplier(this::getInfo);
@@ -294,12 +318,14 @@ public class PartitionedOutputOperator
     private static class PagePartitioner
     {
         private final OutputBuffer outputBuffer;
-        private final List<Type> sourceTypes;
         private final PartitionFunction partitionFunction;
         private final List<Integer> partitionChannels;
         private final List<Optional<Block>> partitionConstants;
         private final PagesSerde serde;
-        private final PageBuilder[] pageBuilders;
+        // only one of the builders is used for each partition, depending on whether the pages are serialized directly
+        private final DictionaryAwarePageBuilder[] pageBuilders;
+        private final SerializedPageBuilder[] serializedPageBuilders;
+        private final IntArrayList[] partitionPositions;
         private final boolean replicatesAnyRow;
         private final OptionalInt nullChannel; // when present, send the position to every partition if this channel is null.
         private final AtomicLong rowsAdded = new AtomicLong();
@@ -317,6 +343,7 @@ public class PartitionedOutputOperator
                 PagesSerdeFactory serdeFactory,
                 List<Type> sourceTypes,
                 DataSize maxMemory,
+                boolean directSerialization,
                 OperatorContext operatorContext)
         {
             this.partitionFunction = requireNonNull(partitionFunction, "partitionFunction is null");
@@ -327,7 +354,6 @@ public class PartitionedOutputOperator
             this.replicatesAnyRow = replicatesAnyRow;
             this.nullChannel = requireNonNull(nullChannel, "nullChannel is null");
             this.outputBuffer = requireNonNull(outputBuffer, "outputBuffer is null");
-            this.sourceTypes = requireNonNull(sourceTypes, "sourceTypes is null");
             this.serde = requireNonNull(serdeFactory, "serdeFactory is null").createPagesSerde();
             this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
 
@@ -335,9 +361,19 @@ public class PartitionedOutputOperator
             int pageSize = min(DEFAULT_MAX_PAGE_SIZE_IN_BYTES, ((int) maxMemory.toBytes()) / partitionCount);
             pageSize = max(1, pageSize);
 
-            this.pageBuilders = new PageBuilder[partitionCount];
+            // pages with types that cannot be serialized directly are built as blocks first
+            boolean serializeDirectly = directSerialization && sourceTypes.stream().allMatch(SerializedPageBuilder::isSupportedType);
+            this.pageBuilders = new DictionaryAwarePageBuilder[serializeDirectly ? 0 : partitionCount];
+            this.serializedPageBuilders = new SerializedPageBuilder[serializeDirectly ? partitionCount : 0];
+            this.partitionPositions = new IntArrayList[partitionCount];
             for (int i = 0; i < partitionCount; i++) {
-                pageBuilders[i] = PageBuilder.withMaxPageSize(pageSize, sourceTypes);
+                if (serializeDirectly) {
+                    serializedPageBuilders[i] = new SerializedPageBuilder(sourceTypes, pageSize, serde);
+                }
+                else {
+                    pageBuilders[i] = new DictionaryAwarePageBuilder(sourceTypes, pageSize);
+                }
+                partitionPositions[i] = new IntArrayList();
             }
         }
 
@@ -351,7 +387,10 @@ public class PartitionedOutputOperator
             // We use a foreach loop instead of streams
             // as it has much better performance.
             long sizeInBytes = serde.getSizeInBytes();
-            for (PageBuilder pageBuilder : pageBuilders) {
+            for (DictionaryAwarePageBuilder pageBuilder : pageBuilders) {
+                sizeInBytes += pageBuilder.getSizeInBytes();
+            }
+            for (SerializedPageBuilder pageBuilder : serializedPageBuilders) {
                 sizeInBytes += pageBuilder.getSizeInBytes();
             }
             return sizeInBytes;
@@ -363,7 +402,10 @@ public class PartitionedOutputOperator
         public long getRetainedSizeInBytes()
         {
             long sizeInBytes = serde.getRetainedSizeInBytes();
-            for (PageBuilder pageBuilder : pageBuilders) {
+            for (DictionaryAwarePageBuilder pageBuilder : pageBuilders) {
+                sizeInBytes += pageBuilder.getRetainedSizeInBytes();
+            }
+            for (SerializedPageBuilder pageBuilder : serializedPageBuilders) {
                 sizeInBytes += pageBuilder.getRetainedSizeInBytes();
             }
             return sizeInBytes;
@@ -378,24 +420,62 @@ public class PartitionedOutputOperator
         {
             requireNonNull(page, "page is null");
 
+            // assign the positions to the partitions first, so that each partition copies its positions in a single pass
+            for (IntArrayList positions : partitionPositions) {
+                positions.clear();
+            }
             Page partitionFunctionArgs = getPartitionFunctionArguments(page);
             for (int position = 0; position < page.getPositionCount(); position++) {
                 boolean shouldReplicate = (replicatesAnyRow && !hasAnyRowBeenReplicated) ||
                         nullChannel.isPresent() && page.getBlock(nullChannel.getAsInt()).isNull(position);
                 if (shouldReplicate) {
-                    for (PageBuilder pageBuilder : pageBuilders) {
-                        appendRow(pageBuilder, page, position);
+                    for (IntArrayList positions : partitionPositions) {
+                        positions.add(position);
                     }
                     hasAnyRowBeenReplicated = true;
                 }
                 else {
                     int partition = partitionFunction.getPartition(partitionFunctionArgs, position);
-                    appendRow(pageBuilders[partition], page, position);
+                    partitionPositions[partition].add(position);
+                }
+            }
+
+            if (serializedPageBuilders.length > 0) {
+                serializePositions(page);
+                return;
+            }
+
+            for (int partition = 0; partition < pageBuilders.length; partition++) {
+                IntArrayList positions = partitionPositions[partition];
+                if (positions.isEmpty()) {
+                    continue;
                 }
+                pageBuilders[partition].appendPositions(page, positions.elements(), 0, positions.size());
             }
             flush(false);
         }
 
+        private void serializePositions(Page page)
+        {
+            // the positions are appended in batches that are expected to fit into the remaining space of the page being built,
+            // because serialized pages cannot be split like the pages that are built as blocks
+            long positionSizeInBytes = max(1, page.getLogicalSizeInBytes() / page.getPositionCount());
+            for (int partition = 0; partition < serializedPageBuilders.length; partition++) {
+                IntArrayList positions = partitionPositions[partition];
+                SerializedPageBuilder pageBuilder = serializedPageBuilders[partition];
+                int offset = 0;
+                while (offset < positions.size()) {
+                    long remainingSizeInBytes = pageBuilder.getMaxPageSizeInBytes() - pageBuilder.getSizeInBytes();
+                    int length = (int) min(positions.size() - offset, max(1, remainingSizeInBytes / positionSizeInBytes));
+                    pageBuilder.appendPositions(page, positions.elements(), offset, length);
+                    offset += length;
+                    if (pageBuilder.isFull()) {
+                        flushSerializedPartition(partition);
+                    }
+                }
+            }
+        }
+
         private Page getPartitionFunctionArguments(Page page)
         {
             Block[] blocks = new Block[partitionChannels.size()];
@@ -411,36 +491,52 @@ public class PartitionedOutputOperator
             return new Page(page.getPositionCount(), blocks);
         }
 
-        private void appendRow(PageBuilder pageBuilder, Page page, int position)
-        {
-            pageBuilder.declarePosition();
-
-            for (int channel = 0; channel < sourceTypes.size(); channel++) {
-                Type type = sourceTypes.get(channel);
-                type.appendTo(page.getBlock(channel), position, pageBuilder.getBlockBuilder(channel));
-            }
-        }
-
         public void flush(boolean force)
         {
             // add all full pages to output buffer
             for (int partition = 0; partition < pageBuilders.length; partition++) {
-                PageBuilder partitionPageBuilder = pageBuilders[partition];
+                DictionaryAwarePageBuilder partitionPageBuilder = pageBuilders[partition];
+                if (!partitionPageBuilder.isEmpty() && (force || partitionPageBuilder.isFull())) {
+                    flushPartition(partition);
+                }
+            }
+            for (int partition = 0; partition < serializedPageBuilders.length; partition++) {
+                SerializedPageBuilder partitionPageBuilder = serializedPageBuilders[partition];
                 if (!partitionPageBuilder.isEmpty() && (force || partitionPageBuilder.isFull())) {
-                    Page pagePartition = partitionPageBuilder.build();
-                    partitionPageBuilder.reset();
+                    flushSerializedPartition(partition);
+                }
+            }
+        }
 
-                    operatorContext.recordOutput(pagePartition.getSizeInBytes(), pagePartition.getPositionCount());
+        private void flushPartition(int partition)
+        {
+            DictionaryAwarePageBuilder partitionPageBuilder = pageBuilders[partition];
+            Page pagePartition = partitionPageBuilder.build();
+            partitionPageBuilder.reset();
 
-                    List<SerializedPage> serializedPages = splitPage(pagePartition, DEFAULT_MAX_PAGE_SIZE_IN_BYTES).stream()
-                            .map(serde::serialize)
-                            .collect(toImmutableList());
+            // the dictionaries are shared between the pages of all partitions, so the size of the data is recorded as if it were copied
+            operatorContext.recordOutput(pagePartition.getLogicalSizeInBytes(), pagePartition.getPositionCount());
 
-                    outputBuffer.enqueue(operatorContext.getDriverContext().getLifespan(), partition, serializedPages);
-                    pagesAdded.incrementAndGet();
-                    rowsAdded.addAndGet(pagePartition.getPositionCount());
-                }
-            }
+            List<SerializedPage> serializedPages = splitPage(pagePartition, DEFAULT_MAX_PAGE_SIZE_IN_BYTES).stream()
+                    .map(serde::serialize)
+                    .collect(toImmutableList());
+
+            outputBuffer.enqueue(operatorContext.getDriverContext().getLifespan(), partition, serializedPages);
+            pagesAdded.incrementAndGet();
+            rowsAdded.addAndGet(pagePartition.getPositionCount());
+        }
+
+        private void flushSerializedPartition(int partition)
+        {
+            SerializedPageBuilder partitionPageBuilder = serializedPageBuilders[partition];
+            SerializedPage serializedPage = partitionPageBuilder.build();
+            partitionPageBuilder.reset();
+
+            operatorContext.recordOutput(serializedPage.getUncompressedSizeInBytes(), serializedPage.getPositionCount());
+
+            outputBuffer.enqueue(operatorContext.getDriverContext().getLifespan(), partition, ImmutableList.of(serializedPage));
+            pagesAdded.incrementAndGet();
+            rowsAdded.addAndGet(serializedPage.getPositionCount());
         }
     }
 
@@ -0,0 +1,407 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.execution.buffer.PagesSerde;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.block.ByteArrayBlockEncoding;
+import com.facebook.presto.spi.block.Int128ArrayBlockEncoding;
+import com.facebook.presto.spi.block.IntArrayBlockEncoding;
+import com.facebook.presto.spi.block.LongArrayBlockEncoding;
+import com.facebook.presto.spi.block.ShortArrayBlockEncoding;
+import com.facebook.presto.spi.block.VariableWidthBlockEncoding;
+import com.facebook.presto.spi.type.Type;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
+import io.airlift.slice.Slices;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.array.Arrays.ensureCapacity;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Verify.verify;
+import static io.airlift.slice.SizeOf.sizeOf;
+import static java.lang.Math.toIntExact;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builds serialized pages from positions of input pages without building the blocks of the pages first.
+ * The values of each channel are written into a buffer in the format of its block encoding, so that
+ * building a page only concatenates the buffers. Only types whose blocks are fixed width arrays or
+ * variable width slices are supported, see {@link #isSupportedType(Type)}.
+ */
+@NotThreadSafe
+public class SerializedPageBuilder
+{
+    private final PagesSerde serde;
+    private final long maxPageSizeInBytes;
+    private final ColumnBuffer[] columns;
+    private int positionCount;
+
+    public SerializedPageBuilder(List<Type> types, long maxPageSizeInBytes, PagesSerde serde)
+    {
+        requireNonNull(types, "types is null");
+        checkArgument(maxPageSizeInBytes > 0, "maxPageSizeInBytes must be positive");
+        this.serde = requireNonNull(serde, "serde is null");
+        this.maxPageSizeInBytes = maxPageSizeInBytes;
+        this.columns = new ColumnBuffer[types.size()];
+        for (int channel = 0; channel < columns.length; channel++) {
+            Type type = types.get(channel);
+            columns[channel] = createColumnBuffer(type).orElseThrow(() -> new IllegalArgumentException("Unsupported type: " + type));
+        }
+    }
+
+    public static boolean isSupportedType(Type type)
+    {
+        return createColumnBuffer(type).isPresent();
+    }
+
+    private static Optional<ColumnBuffer> createColumnBuffer(Type type)
+    {
+        String encodingName = type.createBlockBuilder(null, 0).getEncodingName();
+        switch (encodingName) {
+            case ByteArrayBlockEncoding.NAME:
+                return Optional.of(new FixedWidthColumnBuffer(encodingName, Byte.BYTES));
+            case ShortArrayBlockEncoding.NAME:
+                return Optional.of(new FixedWidthColumnBuffer(encodingName, Short.BYTES));
+            case IntArrayBlockEncoding.NAME:
+                return Optional.of(new FixedWidthColumnBuffer(encodingName, Integer.BYTES));
+            case LongArrayBlockEncoding.NAME:
+                return Optional.of(new FixedWidthColumnBuffer(encodingName, Long.BYTES));
+            case Int128ArrayBlockEncoding.NAME:
+                return Optional.of(new FixedWidthColumnBuffer(encodingName, Long.BYTES * 2));
+            case VariableWidthBlockEncoding.NAME:
+                return Optional.of(new VariableWidthColumnBuffer(encodingName));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    public boolean isEmpty()
+    {
+        return positionCount == 0;
+    }
+
+    public long getMaxPageSizeInBytes()
+    {
+        return maxPageSizeInBytes;
+    }
+
+    public boolean isFull()
+    {
+        return getSizeInBytes() >= maxPageSizeInBytes;
+    }
+
+    public int getPositionCount()
+    {
+        return positionCount;
+    }
+
+    /**
+     * Returns the size of the page when it is serialized without compression.
+     */
+    public long getSizeInBytes()
+    {
+        long sizeInBytes = Integer.BYTES;
+        for (ColumnBuffer column : columns) {
+            sizeInBytes += column.getSizeInBytes();
+        }
+        return sizeInBytes;
+    }
+
+    public long getRetainedSizeInBytes()
+    {
+        long sizeInBytes = 0;
+        for (ColumnBuffer column : columns) {
+            sizeInBytes += column.getRetainedSizeInBytes();
+        }
+        return sizeInBytes;
+    }
+
+    public void appendPositions(Page page, int[] positions, int offset, int length)
+    {
+        requireNonNull(page, "page is null");
+        checkArgument(page.getChannelCount() == columns.length, "page has %s channels, but %s are expected", page.getChannelCount(), columns.length);
+        for (int channel = 0; channel < columns.length; channel++) {
+            columns[channel].append(page.getBlock(channel), positions, offset, length);
+        }
+        positionCount += length;
+    }
+
+    /**
+     * Builds the serialized page of the appended positions. The builder must be reset before appending more positions.
+     */
+    public SerializedPage build()
+    {
+        // the size of the page is known up front, so the raw page is written into a buffer of the exact size
+        Slice rawPage = Slices.allocate(toIntExact(getSizeInBytes()));
+        SliceOutput output = rawPage.getOutput();
+        output.appendInt(columns.length);
+        for (ColumnBuffer column : columns) {
+            column.writeTo(output);
+        }
+        verify(output.size() == rawPage.length(), "raw page size is %s, but %s was expected", output.size(), rawPage.length());
+        return serde.serialize(rawPage, positionCount);
+    }
+
+    public void reset()
+    {
+        for (ColumnBuffer column : columns) {
+            column.reset();
+        }
+        positionCount = 0;
+    }
+
+    private abstract static class ColumnBuffer
+    {
+        private final byte[] encodingName;
+        private boolean[] valueIsNull = new boolean[0];
+        private boolean hasNull;
+        protected int positionCount;
+
+        protected ColumnBuffer(String encodingName)
+        {
+            this.encodingName = encodingName.getBytes(UTF_8);
+        }
+
+        public void append(Block block, int[] positions, int offset, int length)
+        {
+            valueIsNull = ensureCapacity(valueIsNull, positionCount + length);
+            if (block.mayHaveNull()) {
+                for (int i = 0; i < length; i++) {
+                    boolean isNull = block.isNull(positions[offset + i]);
+                    valueIsNull[positionCount + i] = isNull;
+                    hasNull |= isNull;
+                }
+            }
+            else {
+                Arrays.fill(valueIsNull, positionCount, positionCount + length, false);
+            }
+            appendValues(block, positions, offset, length);
+            positionCount += length;
+        }
+
+        /**
+         * Appends the values of the positions. The positions are appended at {@code positionCount}, which is not yet updated.
+         */
+        protected abstract void appendValues(Block block, int[] positions, int offset, int length);
+
+        protected boolean isNull(int position)
+        {
+            return hasNull && valueIsNull[position];
+        }
+
+        public long getSizeInBytes()
+        {
+            // the encoding name is prefixed with its length
+            long nullsSize = Byte.BYTES + (hasNull ? (positionCount + 7) / 8 : 0);
+            return Integer.BYTES + encodingName.length + nullsSize + getValuesSizeInBytes();
+        }
+
+        protected abstract long getValuesSizeInBytes();
+
+        public long getRetainedSizeInBytes()
+        {
+            return sizeOf(valueIsNull) + getValuesRetainedSizeInBytes();
+        }
+
+        protected abstract long getValuesRetainedSizeInBytes();
+
+        public void writeTo(SliceOutput output)
+        {
+            output.appendInt(encodingName.length);
+            output.appendBytes(encodingName);
+            writeValuesTo(output);
+        }
+
+        /**
+         * Writes the block in its encoding, using {@link #writeNullsTo(SliceOutput)} for the nulls.
+         */
+        protected abstract void writeValuesTo(SliceOutput output);
+
+        // the same format as EncoderUtil.encodeNullsAsBits
+        @SuppressWarnings({"NarrowingCompoundAssignment", "ImplicitNumericConversion"})
+        protected void writeNullsTo(SliceOutput output)
+        {
+            output.writeBoolean(hasNull);
+            if (!hasNull) {
+                return;
+            }
+            for (int position = 0; position < (positionCount & ~0b111); position += 8) {
+                byte value = 0;
+                value |= valueIsNull[position] ? 0b1000_0000 : 0;
+                value |= valueIsNull[position + 1] ? 0b0100_0000 : 0;
+                value |= valueIsNull[position + 2] ? 0b0010_0000 : 0;
+                value |= valueIsNull[position + 3] ? 0b0001_0000 : 0;
+                value |= valueIsNull[position + 4] ? 0b0000_1000 : 0;
+                value |= valueIsNull[position + 5] ? 0b0000_0100 : 0;
+                value |= valueIsNull[position + 6] ? 0b0000_0010 : 0;
+                value |= valueIsNull[position + 7] ? 0b0000_0001 : 0;
+                output.appendByte(value);
+            }
+            if ((positionCount & 0b111) > 0) {
+                byte value = 0;
+                int mask = 0b1000_0000;
+                for (int position = positionCount & ~0b111; position < positionCount; position++) {
+                    value |= valueIsNull[position] ? mask : 0;
+                    mask >>>= 1;
+                }
+                output.appendByte(value);
+            }
+        }
+
+        public void reset()
+        {
+            hasNull = false;
+            positionCount = 0;
+        }
+    }
+
+    private static class FixedWidthColumnBuffer
+            extends ColumnBuffer
+    {
+        private final int fixedSize;
+        private Slice values = Slices.EMPTY_SLICE;
+        private int valuesSize;
+
+        public FixedWidthColumnBuffer(String encodingName, int fixedSize)
+        {
+            super(encodingName);
+            this.fixedSize = fixedSize;
+        }
+
+        @Override
+        protected void appendValues(Block block, int[] positions, int offset, int length)
+        {
+            // only the values of non-null positions are written
+            values = Slices.ensureSize(values, valuesSize + length * fixedSize);
+            for (int i = 0; i < length; i++) {
+                if (isNull(positionCount + i)) {
+                    continue;
+                }
+                int position = positions[offset + i];
+                switch (fixedSize) {
+                    case Byte.BYTES:
+                        values.setByte(valuesSize, block.getByte(position));
+                        break;
+                    case Short.BYTES:
+                        values.setShort(valuesSize, block.getShort(position));
+                        break;
+                    case Integer.BYTES:
+                        values.setInt(valuesSize, block.getInt(position));
+                        break;
+                    case Long.BYTES:
+                        values.setLong(valuesSize, block.getLong(position));
+                        break;
+                    default:
+                        values.setLong(valuesSize, block.getLong(position, 0));
+                        values.setLong(valuesSize + Long.BYTES, block.getLong(position, Long.BYTES));
+                }
+                valuesSize += fixedSize;
+            }
+        }
+
+        @Override
+        protected long getValuesSizeInBytes()
+        {
+            // the position count is followed by the nulls and the values
+            return Integer.BYTES + valuesSize;
+        }
+
+        @Override
+        protected long getValuesRetainedSizeInBytes()
+        {
+            return values.getRetainedSize();
+        }
+
+        @Override
+        protected void writeValuesTo(SliceOutput output)
+        {
+            output.appendInt(positionCount);
+            writeNullsTo(output);
+            output.writeBytes(values, 0, valuesSize);
+        }
+
+        @Override
+        public void reset()
+        {
+            super.reset();
+            valuesSize = 0;
+        }
+    }
+
+    private static class VariableWidthColumnBuffer
+            extends ColumnBuffer
+    {
+        private int[] offsets = new int[0];
+        private final DynamicSliceOutput values = new DynamicSliceOutput(0);
+
+        public VariableWidthColumnBuffer(String encodingName)
+        {
+            super(encodingName);
+        }
+
+        @Override
+        protected void appendValues(Block block, int[] positions, int offset, int length)
+        {
+            offsets = ensureCapacity(offsets, positionCount + length);
+            // the bytes are copied from the block without creating a slice for every value
+            for (int i = 0; i < length; i++) {
+                if (!isNull(positionCount + i)) {
+                    int position = positions[offset + i];
+                    block.writeBytesTo(position, 0, block.getSliceLength(position), values);
+                }
+                offsets[positionCount + i] = values.size();
+            }
+        }
+
+        @Override
+        protected long getValuesSizeInBytes()
+        {
+            // the position count is followed by the end offsets, the nulls, the size of the values and the values
+            return Integer.BYTES + (long) positionCount * Integer.BYTES + Integer.BYTES + values.size();
+        }
+
+        @Override
+        protected long getValuesRetainedSizeInBytes()
+        {
+            return sizeOf(offsets) + values.getRetainedSize();
+        }
+
+        @Override
+        protected void writeValuesTo(SliceOutput output)
+        {
+            output.appendInt(positionCount);
+            output.writeBytes(Slices.wrappedIntArray(offsets, 0, positionCount));
+            writeNullsTo(output);
+            output.appendInt(values.size());
+            output.writeBytes(values.getUnderlyingSlice(), 0, values.size());
+        }
+
+        @Override
+        public void reset()
+        {
+            super.reset();
+            values.reset();
+        }
+    }
+}
@@ -45,7 +45,14 @@ final class SpilledLookupSourceHandle
 
     @GuardedBy("this")
     @Nullable
-    private SettableFuture<Supplier<LookupSource>> unspilledLookupSource;
+    private SettableFuture<UnspilledLookupSource> unspilledLookupSource;
+
+    @GuardedBy("this")
+    private int consumersCount;
+
+    @GuardedBy("this")
+    @Nullable
+    private UnspilledLookupSource previousLookupSource;
 
     private final SettableFuture<?> disposeRequested = SettableFuture.create();
 
@@ -56,35 +63,57 @@ final class SpilledLookupSourceHandle
         return unspillingRequested;
     }
 
-    public synchronized ListenableFuture<Supplier<LookupSource>> getLookupSource()
+    public synchronized ListenableFuture<UnspilledLookupSource> getLookupSource(int consumersCount)
     {
         assertState(State.SPILLED);
         unspillingRequested.set(null);
         setState(State.UNSPILLING);
         checkState(unspilledLookupSource == null, "unspilledLookupSource already set");
+        this.consumersCount = consumersCount;
         unspilledLookupSource = SettableFuture.create();
         return unspilledLookupSource;
     }
 
     public synchronized void setLookupSource(Supplier<LookupSource> lookupSource)
     {
+        setLookupSource(JoinSubPartition.wholePartition(), lookupSource, true);
+    }
+
+    /**
+     * Produces the lookup source of the next sub-partition of the spilled partition.
+     *
+     * @return future completed when the lookup source is no longer needed by the probe side
+     */
+    public synchronized ListenableFuture<?> setLookupSource(JoinSubPartition subPartition, Supplier<LookupSource> lookupSource, boolean last)
+    {
+        requireNonNull(subPartition, "subPartition is null");
         requireNonNull(lookupSource, "lookupSource is null");
 
         if (state == State.DISPOSED) {
-            return;
+            return disposeRequested;
         }
 
-        assertState(State.UNSPILLING);
-        checkState(unspilledLookupSource != null, "unspilledLookupSource not set");
-        unspilledLookupSource.set(lookupSource);
-        unspilledLookupSource = null; // let the memory go
-        setState(State.PRODUCED);
+        UnspilledLookupSource produced = new UnspilledLookupSource(subPartition, lookupSource, consumersCount, last);
+        if (state == State.UNSPILLING) {
+            checkState(unspilledLookupSource != null, "unspilledLookupSource not set");
+            unspilledLookupSource.set(produced);
+            unspilledLookupSource = null; // let the memory go
+            setState(State.PRODUCED);
+        }
+        else {
+            assertState(State.PRODUCED);
+            checkState(previousLookupSource != null, "the last sub-partition was already produced");
+            previousLookupSource.setNext(produced);
+        }
+        previousLookupSource = last ? null : produced;
+        return produced.getReleased();
     }
 
     public synchronized void dispose()
     {
         disposeRequested.set(null);
         unspilledLookupSource = null; // let the memory go
+        previousLookupSource = null;
         setState(State.DISPOSED);
     }
 
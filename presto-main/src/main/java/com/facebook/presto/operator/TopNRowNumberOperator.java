@@ -19,20 +19,24 @@ import com.facebook.presto.spi.block.Block;
 import com.facebook.presto.spi.block.SortOrder;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spiller.Spiller;
+import com.facebook.presto.spiller.SpillerFactory;
 import com.facebook.presto.sql.gen.JoinCompiler;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ListenableFuture;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
 import static com.facebook.presto.SystemSessionProperties.isDictionaryAggregationEnabled;
-import static com.facebook.presto.operator.GroupByHash.createGroupByHash;
 import static com.facebook.presto.spi.type.BigintType.BIGINT;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static java.util.Objects.requireNonNull;
 
 public class TopNRowNumberOperator
@@ -59,6 +63,8 @@ public class TopNRowNumberOperator
         private final boolean generateRowNumber;
         private boolean closed;
         private final JoinCompiler joinCompiler;
+        private final boolean spillEnabled;
+        private final SpillerFactory spillerFactory;
 
         public TopNRowNumberOperatorFactory(
                 int operatorId,
@@ -73,7 +79,9 @@ public class TopNRowNumberOperator
                 boolean partial,
                 Optional<Integer> hashChannel,
                 int expectedPositions,
-                JoinCompiler joinCompiler)
+                JoinCompiler joinCompiler,
+                boolean spillEnabled,
+                SpillerFactory spillerFactory)
         {
             this.operatorId = operatorId;
             this.planNodeId = requireNonNull(planNodeId, "planNodeId is null");
@@ -91,6 +99,8 @@ public class TopNRowNumberOperator
             this.generateRowNumber = !partial;
             this.expectedPositions = expectedPositions;
             this.joinCompiler = requireNonNull(joinCompiler, "joinCompiler is null");
+            this.spillEnabled = spillEnabled;
+            this.spillerFactory = requireNonNull(spillerFactory, "spillerFactory is null");
         }
 
         @Override
@@ -110,7 +120,9 @@ public class TopNRowNumberOperator
                     generateRowNumber,
                     hashChannel,
                     expectedPositions,
-                    joinCompiler);
+                    joinCompiler,
+                    spillEnabled && !partial,
+                    spillerFactory);
         }
 
         @Override
@@ -122,21 +134,37 @@ public class TopNRowNumberOperator
         @Override
         public OperatorFactory duplicate()
         {
-            return new TopNRowNumberOperatorFactory(operatorId, planNodeId, sourceTypes, outputChannels, partitionChannels, partitionTypes, sortChannels, sortOrder, maxRowCountPerPartition, partial, hashChannel, expectedPositions, joinCompiler);
+            return new TopNRowNumberOperatorFactory(operatorId, planNodeId, sourceTypes, outputChannels, partitionChannels, partitionTypes, sortChannels, sortOrder, maxRowCountPerPartition, partial, hashChannel, expectedPositions, joinCompiler, spillEnabled, spillerFactory);
         }
     }
 
     private final OperatorContext operatorContext;
     private final LocalMemoryContext localUserMemoryContext;
+    private final LocalMemoryContext localRevocableMemoryContext;
 
+    private final List<Type> sourceTypes;
     private final List<Integer> outputChannels;
-
-    private final GroupByHash groupByHash;
-    private final GroupedTopNBuilder groupedTopNBuilder;
+    private final List<Integer> partitionChannels;
+    private final List<Type> partitionTypes;
+    private final PageWithPositionComparator comparator;
+    private final int maxRowCountPerPartition;
+    private final boolean generateRowNumber;
+    private final Optional<Integer> hashChannel;
+    private final int expectedPositions;
+    private final JoinCompiler joinCompiler;
+
+    private GroupByHash groupByHash;
+    private GroupedTopNBuilder groupedTopNBuilder;
+
+    private final boolean spillEnabled;
+    private final SpillerFactory spillerFactory;
+    private Optional<Spiller> spiller = Optional.empty();
+    private ListenableFuture<?> spillInProgress = immediateFuture(null);
+    private Optional<MergeHashSort> mergeHashSort = Optional.empty();
 
     private boolean finishing;
     private Work<?> unfinishedWork;
-    private Iterator<Page> outputIterator;
+    private WorkProcessor<Page> outputPages;
 
     public TopNRowNumberOperator(
             OperatorContext operatorContext,
@@ -150,10 +178,13 @@ public class TopNRowNumberOperator
             boolean generateRowNumber,
             Optional<Integer> hashChannel,
             int expectedPositions,
-            JoinCompiler joinCompiler)
+            JoinCompiler joinCompiler,
+            boolean spillEnabled,
+            SpillerFactory spillerFactory)
     {
         this.operatorContext = requireNonNull(operatorContext, "operatorContext is null");
         this.localUserMemoryContext = operatorContext.localUserMemoryContext();
+        this.localRevocableMemoryContext = operatorContext.localRevocableMemoryContext();
 
         ImmutableList.Builder<Integer> outputChannelsBuilder = ImmutableList.builder();
         for (int channel : requireNonNull(outputChannels, "outputChannels is null")) {
@@ -165,29 +196,24 @@ public class TopNRowNumberOperator
         this.outputChannels = outputChannelsBuilder.build();
 
         checkArgument(maxRowCountPerPartition > 0, "maxRowCountPerPartition must be > 0");
-
         if (!partitionChannels.isEmpty()) {
             checkArgument(expectedPositions > 0, "expectedPositions must be > 0");
-            groupByHash = createGroupByHash(
-                    partitionTypes,
-                    Ints.toArray(partitionChannels),
-                    hashChannel,
-                    expectedPositions,
-                    isDictionaryAggregationEnabled(operatorContext.getSession()),
-                    joinCompiler,
-                    this::updateMemoryReservation);
-        }
-        else {
-            groupByHash = new NoChannelGroupByHash();
         }
 
+        this.sourceTypes = ImmutableList.copyOf(sourceTypes);
+        this.partitionChannels = ImmutableList.copyOf(partitionChannels);
+        this.partitionTypes = ImmutableList.copyOf(partitionTypes);
         List<Type> types = toTypes(sourceTypes, outputChannels, generateRowNumber);
-        this.groupedTopNBuilder = new GroupedTopNBuilder(
-                ImmutableList.copyOf(sourceTypes),
-                new SimplePageWithPositionComparator(types, sortChannels, sortOrders),
-                maxRowCountPerPartition,
-                generateRowNumber,
-                groupByHash);
+        this.comparator = new SimplePageWithPositionComparator(types, sortChannels, sortOrders);
+        this.maxRowCountPerPartition = maxRowCountPerPartition;
+        this.generateRowNumber = generateRowNumber;
+        this.hashChannel = requireNonNull(hashChannel, "hashChannel is null");
+        this.expectedPositions = expectedPositions;
+        this.joinCompiler = requireNonNull(joinCompiler, "joinCompiler is null");
+        this.spillEnabled = spillEnabled;
+        this.spillerFactory = requireNonNull(spillerFactory, "spillerFactory is null");
+
+        rebuildGroupedTopNBuilder();
     }
 
     @Override
@@ -206,14 +232,14 @@ public class TopNRowNumberOperator
     public boolean isFinished()
     {
         // has no more input, has finished flushing, and has no unfinished work
-        return finishing && outputIterator != null && !outputIterator.hasNext() && unfinishedWork == null;
+        return finishing && outputPages != null && outputPages.isFinished() && unfinishedWork == null;
     }
 
     @Override
     public boolean needsInput()
     {
         // still has more input, has not started flushing yet, and has no unfinished work
-        return !finishing && outputIterator == null && unfinishedWork == null;
+        return !finishing && outputPages == null && unfinishedWork == null;
     }
 
     @Override
@@ -221,7 +247,7 @@ public class TopNRowNumberOperator
     {
         checkState(!finishing, "Operator is already finishing");
         checkState(unfinishedWork == null, "Cannot add input with the operator when unfinished work is not empty");
-        checkState(outputIterator == null, "Cannot add input with the operator when flushing");
+        checkState(outputPages == null, "Cannot add input with the operator when flushing");
         requireNonNull(page, "page is null");
         unfinishedWork = groupedTopNBuilder.processPage(page);
         if (unfinishedWork.process()) {
@@ -230,6 +256,24 @@ public class TopNRowNumberOperator
         updateMemoryReservation();
     }
 
+    @Override
+    public ListenableFuture<?> startMemoryRevoke()
+    {
+        // the builder can not be spilled while it is processing a page or producing the output
+        if (!spillEnabled || finishing || unfinishedWork != null || groupByHash.getGroupCount() == 0) {
+            return NOT_BLOCKED;
+        }
+        return spillToDisk();
+    }
+
+    @Override
+    public void finishMemoryRevoke()
+    {
+        // fail early if spilling has failed
+        getFutureValue(spillInProgress);
+        updateMemoryReservation();
+    }
+
     @Override
     public Page getOutput()
     {
@@ -246,14 +290,14 @@ public class TopNRowNumberOperator
             return null;
         }
 
-        if (outputIterator == null) {
+        if (outputPages == null) {
             // start flushing
-            outputIterator = groupedTopNBuilder.buildResult();
+            outputPages = buildResult();
         }
 
         Page output = null;
-        if (outputIterator.hasNext()) {
-            Page page = outputIterator.next();
+        if (outputPages.process() && !outputPages.isFinished()) {
+            Page page = outputPages.getResult();
             // rewrite to expected column ordering
             Block[] blocks = new Block[page.getChannelCount()];
             for (int i = 0; i < outputChannels.size(); i++) {
@@ -265,6 +309,13 @@ public class TopNRowNumberOperator
         return output;
     }
 
+    @Override
+    public void close()
+    {
+        spiller.ifPresent(Spiller::close);
+        mergeHashSort.ifPresent(MergeHashSort::close);
+    }
+
     @VisibleForTesting
     public int getCapacity()
     {
@@ -272,10 +323,97 @@ public class TopNRowNumberOperator
         return groupByHash.getCapacity();
     }
 
+    private WorkProcessor<Page> buildResult()
+    {
+        if (!spiller.isPresent()) {
+            return WorkProcessor.fromIterator(groupedTopNBuilder.buildResult());
+        }
+
+        // The spilled runs and the rows in memory are merged by the hash of the partition channels, which keeps all
+        // rows of a partition within a single page. The top N rows of the partitions in each page are then found independently.
+        checkState(spillInProgress.isDone(), "Previous spill hasn't yet finished");
+        getFutureValue(spillInProgress);
+        mergeHashSort = Optional.of(new MergeHashSort(operatorContext.newAggregateSystemMemoryContext()));
+        WorkProcessor<Page> mergedPages = mergeHashSort.get().merge(
+                partitionTypes,
+                partitionChannels,
+                sourceTypes,
+                ImmutableList.<WorkProcessor<Page>>builder()
+                        .addAll(spiller.get().getSpills().stream()
+                                .map(WorkProcessor::fromIterator)
+                                .collect(toImmutableList()))
+                        .add(WorkProcessor.fromIterator(groupedTopNBuilder.buildHashSortedResult(createPartitionHashGenerator())))
+                        .build(),
+                operatorContext.getDriverContext().getYieldSignal());
+
+        return mergedPages.flatMap(page -> {
+            GroupedTopNBuilder pageTopNBuilder = new GroupedTopNBuilder(
+                    sourceTypes,
+                    comparator,
+                    maxRowCountPerPartition,
+                    generateRowNumber,
+                    createGroupByHash(page.getPositionCount(), UpdateMemory.NOOP));
+            // a merged page holds a bounded number of rows, so its builder is not accounted for and never yields
+            checkState(pageTopNBuilder.processPage(page).process(), "processing a merged page must not yield");
+            return WorkProcessor.fromIterator(pageTopNBuilder.buildResult());
+        });
+    }
+
+    private ListenableFuture<?> spillToDisk()
+    {
+        checkState(spillInProgress.isDone(), "Previous spill hasn't yet finished");
+        if (!spiller.isPresent()) {
+            spiller = Optional.of(spillerFactory.create(sourceTypes, operatorContext.getSpillContext(), operatorContext.newAggregateSystemMemoryContext()));
+        }
+
+        // start spilling the current content of the builder...
+        spillInProgress = spiller.get().spill(groupedTopNBuilder.buildHashSortedResult(createPartitionHashGenerator()));
+        // ... and immediately create a new builder, so that the memory ownership over the old one is transferred to the spilling thread
+        rebuildGroupedTopNBuilder();
+        return spillInProgress;
+    }
+
+    private void rebuildGroupedTopNBuilder()
+    {
+        groupByHash = createGroupByHash(expectedPositions, this::updateMemoryReservation);
+        groupedTopNBuilder = new GroupedTopNBuilder(
+                sourceTypes,
+                comparator,
+                maxRowCountPerPartition,
+                generateRowNumber,
+                groupByHash);
+    }
+
+    private GroupByHash createGroupByHash(int expectedPositions, UpdateMemory updateMemory)
+    {
+        if (partitionChannels.isEmpty()) {
+            return new NoChannelGroupByHash();
+        }
+        return GroupByHash.createGroupByHash(
+                partitionTypes,
+                Ints.toArray(partitionChannels),
+                hashChannel,
+                expectedPositions,
+                isDictionaryAggregationEnabled(operatorContext.getSession()),
+                joinCompiler,
+                updateMemory);
+    }
+
+    private HashGenerator createPartitionHashGenerator()
+    {
+        return new InterpretedHashGenerator(partitionTypes, partitionChannels);
+    }
+
     private boolean updateMemoryReservation()
     {
         // TODO: may need to use trySetMemoryReservation with a compaction to free memory (but that may cause GC pressure)
-        localUserMemoryContext.setBytes(groupedTopNBuilder.getEstimatedSizeInBytes());
+        if (spillEnabled && !finishing) {
+            localRevocableMemoryContext.setBytes(groupedTopNBuilder.getEstimatedSizeInBytes());
+        }
+        else {
+            localRevocableMemoryContext.setBytes(0);
+            localUserMemoryContext.setBytes(groupedTopNBuilder.getEstimatedSizeInBytes());
+        }
         return operatorContext.isWaitingForMemory().isDone();
     }
 
@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Lookup source built from (a sub-partition of) a spilled partition.
+ * <p>
+ * A spilled partition which does not fit in memory is unspilled one {@link JoinSubPartition} at a time.
+ * Each probe operator must {@link #release()} a sub-partition once it has probed all its rows belonging to it,
+ * and the next sub-partition, if any, is produced only after all of them did.
+ */
+@ThreadSafe
+public final class UnspilledLookupSource
+{
+    private final JoinSubPartition subPartition;
+    private final boolean last;
+    private final SettableFuture<?> released = SettableFuture.create();
+    private final SettableFuture<Optional<UnspilledLookupSource>> next = SettableFuture.create();
+
+    @GuardedBy("this")
+    @Nullable
+    private Supplier<LookupSource> lookupSource;
+
+    @GuardedBy("this")
+    private int pendingReleases;
+
+    public UnspilledLookupSource(JoinSubPartition subPartition, Supplier<LookupSource> lookupSource, int consumersCount, boolean last)
+    {
+        this.subPartition = requireNonNull(subPartition, "subPartition is null");
+        checkArgument(!subPartition.isWholePartition() || last, "whole partition must be the last sub-partition");
+        checkArgument(consumersCount > 0, "consumersCount must be positive");
+        this.lookupSource = requireNonNull(lookupSource, "lookupSource is null");
+        this.pendingReleases = consumersCount;
+        this.last = last;
+        if (last) {
+            next.set(Optional.empty());
+        }
+    }
+
+    public JoinSubPartition getSubPartition()
+    {
+        return subPartition;
+    }
+
+    /**
+     * Whether all remaining rows of the partition belong to this sub-partition.
+     */
+    public boolean isLast()
+    {
+        return last;
+    }
+
+    public synchronized LookupSource getLookupSource()
+    {
+        checkState(lookupSource != null, "lookup source already released");
+        return lookupSource.get();
+    }
+
+    public synchronized void release()
+    {
+        checkState(pendingReleases > 0, "already released");
+        pendingReleases--;
+        if (pendingReleases == 0) {
+            // let the memory go
+            lookupSource = null;
+            released.set(null);
+        }
+    }
+
+    public ListenableFuture<?> getReleased()
+    {
+        return released;
+    }
+
+    /**
+     * Returns the next sub-partition of the partition, or empty if this was the last one.
+     */
+    public ListenableFuture<Optional<UnspilledLookupSource>> getNext()
+    {
+        return next;
+    }
+
+    void setNext(UnspilledLookupSource nextLookupSource)
+    {
+        requireNonNull(nextLookupSource, "nextLookupSource is null");
+        checkState(!last, "no sub-partition can follow the last one");
+        checkState(next.set(Optional.of(nextLookupSource)), "next sub-partition already set");
+    }
+}
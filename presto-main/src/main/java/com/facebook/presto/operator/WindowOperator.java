@@ -22,11 +22,14 @@ import com.facebook.presto.spi.block.Block;
 import com.facebook.presto.spi.block.SortOrder;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spiller.Spiller;
+import com.facebook.presto.spiller.SpillerFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ListenableFuture;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,11 +39,13 @@ import java.util.function.BiPredicate;
 import java.util.stream.Stream;
 
 import static com.facebook.presto.spi.block.SortOrder.ASC_NULLS_LAST;
+import static com.facebook.presto.util.MergeSortedPages.mergeSortedPages;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkPositionIndex;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Iterables.concat;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static java.util.Collections.nCopies;
 import static java.util.Objects.requireNonNull;
 
@@ -63,6 +68,8 @@ public class WindowOperator
         private final int expectedPositions;
         private boolean closed;
         private final PagesIndex.Factory pagesIndexFactory;
+        private final boolean spillEnabled;
+        private final SpillerFactory spillerFactory;
 
         public WindowOperatorFactory(
                 int operatorId,
@@ -76,7 +83,9 @@ public class WindowOperator
                 List<SortOrder> sortOrder,
                 int preSortedChannelPrefix,
                 int expectedPositions,
-                PagesIndex.Factory pagesIndexFactory)
+                PagesIndex.Factory pagesIndexFactory,
+                boolean spillEnabled,
+                SpillerFactory spillerFactory)
         {
             requireNonNull(sourceTypes, "sourceTypes is null");
             requireNonNull(planNodeId, "planNodeId is null");
@@ -104,6 +113,8 @@ public class WindowOperator
             this.sortOrder = ImmutableList.copyOf(sortOrder);
             this.preSortedChannelPrefix = preSortedChannelPrefix;
             this.expectedPositions = expectedPositions;
+            this.spillEnabled = spillEnabled;
+            this.spillerFactory = requireNonNull(spillerFactory, "spillerFactory is null");
         }
 
         @Override
@@ -123,7 +134,9 @@ public class WindowOperator
                     sortOrder,
                     preSortedChannelPrefix,
                     expectedPositions,
-                    pagesIndexFactory);
+                    pagesIndexFactory,
+                    spillEnabled,
+                    spillerFactory);
         }
 
         @Override
@@ -147,7 +160,9 @@ public class WindowOperator
                     sortOrder,
                     preSortedChannelPrefix,
                     expectedPositions,
-                    pagesIndexFactory);
+                    pagesIndexFactory,
+                    spillEnabled,
+                    spillerFactory);
         }
     }
 
@@ -160,13 +175,16 @@ public class WindowOperator
     }
 
     private final OperatorContext operatorContext;
+    private final List<Type> sourceTypes;
     private final int[] outputChannels;
     private final List<FramedWindowFunction> windowFunctions;
     private final List<Integer> orderChannels;
     private final List<SortOrder> ordering;
     private final LocalMemoryContext localUserMemoryContext;
+    private final LocalMemoryContext localRevocableMemoryContext;
 
     private final int[] preGroupedChannels;
+    private final int[] unGroupedPartitionChannels;
 
     private final PagesHashStrategy preGroupedPartitionHashStrategy;
     private final PagesHashStrategy unGroupedPartitionHashStrategy;
@@ -186,6 +204,17 @@ public class WindowOperator
 
     private Page pendingInput;
 
+    private final boolean spillEnabled;
+    private final SpillerFactory spillerFactory;
+    // spilled sorted runs of the current pre-grouped partition
+    private Optional<Spiller> spiller = Optional.empty();
+    private Optional<ListenableFuture<?>> spillInProgress = Optional.empty();
+    // values of the pre-grouped channels of the current partition, once some of its rows have been spilled
+    private Page spilledGroupKey;
+    // sorted rows of a spilled pre-grouped partition, which are loaded into pagesIndex one partition at a time
+    private WorkProcessor<Page> mergedSpilledPages;
+    private Page pendingSpilledPage;
+
     public WindowOperator(
             OperatorContext operatorContext,
             List<Type> sourceTypes,
@@ -197,7 +226,9 @@ public class WindowOperator
             List<SortOrder> sortOrder,
             int preSortedChannelPrefix,
             int expectedPositions,
-            PagesIndex.Factory pagesIndexFactory)
+            PagesIndex.Factory pagesIndexFactory,
+            boolean spillEnabled,
+            SpillerFactory spillerFactory)
     {
         requireNonNull(operatorContext, "operatorContext is null");
         requireNonNull(outputChannels, "outputChannels is null");
@@ -214,6 +245,8 @@ public class WindowOperator
 
         this.operatorContext = operatorContext;
         this.localUserMemoryContext = operatorContext.localUserMemoryContext();
+        this.localRevocableMemoryContext = operatorContext.localRevocableMemoryContext();
+        this.sourceTypes = ImmutableList.copyOf(sourceTypes);
         this.outputChannels = Ints.toArray(outputChannels);
         this.windowFunctions = windowFunctionDefinitions.stream()
                 .map(functionDefinition -> new FramedWindowFunction(functionDefinition.createWindowFunction(), functionDefinition.getFrameInfo()))
@@ -232,6 +265,7 @@ public class WindowOperator
         List<Integer> unGroupedPartitionChannels = partitionChannels.stream()
                 .filter(channel -> !preGroupedChannels.contains(channel))
                 .collect(toImmutableList());
+        this.unGroupedPartitionChannels = Ints.toArray(unGroupedPartitionChannels);
         this.unGroupedPartitionHashStrategy = pagesIndex.createPagesHashStrategy(unGroupedPartitionChannels, OptionalInt.empty());
         List<Integer> preSortedChannels = sortChannels.stream()
                 .limit(preSortedChannelPrefix)
@@ -252,6 +286,11 @@ public class WindowOperator
             this.ordering = ImmutableList.copyOf(concat(nCopies(unGroupedPartitionChannels.size(), ASC_NULLS_LAST), sortOrder));
         }
 
+        // Rows of a pre-grouped partition are spilled as sorted runs, which are merged back one partition at a time.
+        // This only helps when a pre-grouped partition consists of multiple partitions, as each partition has to fit in memory.
+        this.spillEnabled = spillEnabled && !unGroupedPartitionChannels.isEmpty();
+        this.spillerFactory = requireNonNull(spillerFactory, "spillerFactory is null");
+
         windowInfo = new WindowInfo.DriverWindowInfoBuilder();
         operatorContext.setInfoSupplier(this::getWindowInfo);
     }
@@ -307,7 +346,7 @@ public class WindowOperator
         if (processPendingInput()) {
             state = State.HAS_OUTPUT;
         }
-        localUserMemoryContext.setBytes(pagesIndex.getEstimatedSize().toBytes());
+        updateMemoryReservation();
     }
 
     /**
@@ -330,7 +369,7 @@ public class WindowOperator
 
     /**
      * @return the unused section of the page, or null if fully applied.
-     * pagesIndex guaranteed to have at least one row after this method returns
+     * pagesIndex guaranteed to have at least one row after this method returns, unless the current group has been spilled
      */
     private Page updatePagesIndex(Page page)
     {
@@ -338,21 +377,8 @@ public class WindowOperator
 
         // TODO: Fix pagesHashStrategy to allow specifying channels for comparison, it currently requires us to rearrange the right side blocks in consecutive channel order
         Page preGroupedPage = rearrangePage(page, preGroupedChannels);
-        if (pagesIndex.getPositionCount() == 0 || pagesIndex.positionEqualsRow(preGroupedPartitionHashStrategy, 0, 0, preGroupedPage)) {
-            // Find the position where the pre-grouped columns change
-            int groupEnd = findGroupEnd(preGroupedPage, preGroupedPartitionHashStrategy, 0);
-
-            // Add the section of the page that contains values for the current group
-            pagesIndex.addPage(page.getRegion(0, groupEnd));
-
-            if (page.getPositionCount() - groupEnd > 0) {
-                // Save the remaining page, which may contain multiple partitions
-                return page.getRegion(groupEnd, page.getPositionCount() - groupEnd);
-            }
-            else {
-                // Page fully consumed
-                return null;
-            }
+        if (isCurrentGroup(preGroupedPage)) {
+            return addGroupToPagesIndex(page, preGroupedPage, preGroupedPartitionHashStrategy);
         }
         else {
             // We had previous results buffered, but the new page starts with new group values
@@ -360,6 +386,40 @@ public class WindowOperator
         }
     }
 
+    private boolean isCurrentGroup(Page preGroupedPage)
+    {
+        if (pagesIndex.getPositionCount() > 0) {
+            return pagesIndex.positionEqualsRow(preGroupedPartitionHashStrategy, 0, 0, preGroupedPage);
+        }
+        if (spilledGroupKey != null) {
+            return preGroupedPartitionHashStrategy.rowEqualsRow(0, spilledGroupKey, 0, preGroupedPage);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the rows at the start of the page that belong to the same group as the first row of groupPage.
+     *
+     * @return the unused section of the page, or null if fully applied
+     */
+    private Page addGroupToPagesIndex(Page page, Page groupPage, PagesHashStrategy groupHashStrategy)
+    {
+        // Find the position where the grouped columns change
+        int groupEnd = findGroupEnd(groupPage, groupHashStrategy, 0);
+
+        // Add the section of the page that contains values for the current group
+        pagesIndex.addPage(page.getRegion(0, groupEnd));
+
+        if (page.getPositionCount() - groupEnd > 0) {
+            // Save the remaining page, which may contain multiple partitions
+            return page.getRegion(groupEnd, page.getPositionCount() - groupEnd);
+        }
+        else {
+            // Page fully consumed
+            return null;
+        }
+    }
+
     private static Page rearrangePage(Page page, int[] channels)
     {
         Block[] newBlocks = new Block[channels.length];
@@ -377,19 +437,32 @@ public class WindowOperator
         }
 
         Page page = extractOutput();
-        localUserMemoryContext.setBytes(pagesIndex.getEstimatedSize().toBytes());
+        updateMemoryReservation();
         return page;
     }
 
     private Page extractOutput()
     {
-        // INVARIANT: pagesIndex contains the full grouped & sorted data for one or more partitions
+        // INVARIANT: pagesIndex contains the full grouped & sorted data for one or more partitions,
+        // or the part of a spilled partition that has been loaded so far
 
         // Iterate through the positions sequentially until we have one full page
         while (!pageBuilder.isFull()) {
             if (partition == null || !partition.hasNext()) {
                 int partitionStart = partition == null ? 0 : partition.getPartitionEnd();
 
+                if (mergedSpilledPages != null && (partition == null || partitionStart >= pagesIndex.getPositionCount())) {
+                    // Load the next partition of the spilled group
+                    if (partition != null) {
+                        partition = null;
+                        pagesIndex.clear();
+                    }
+                    if (!loadSpilledPartition()) {
+                        return null;
+                    }
+                    partitionStart = 0;
+                }
+
                 if (partitionStart >= pagesIndex.getPositionCount()) {
                     // Finished all of the partitions in the current pagesIndex
                     partition = null;
@@ -442,8 +515,125 @@ public class WindowOperator
 
     private void finishPagesIndex()
     {
+        if (spilledGroupKey == null) {
+            sortPagesIndexIfNecessary();
+            windowInfo.addIndex(pagesIndex);
+            return;
+        }
+
+        // Spill the remaining rows of the group as well, so that pagesIndex can hold the partitions as they are merged back
+        if (pagesIndex.getPositionCount() > 0) {
+            getFutureValue(spillPagesIndex());
+            pagesIndex.clear();
+        }
+        spilledGroupKey = null;
+        mergedSpilledPages = mergeSortedPages(
+                spiller.get().getSpills().stream()
+                        .map(WorkProcessor::fromIterator)
+                        .collect(toImmutableList()),
+                new SimplePageWithPositionComparator(sourceTypes, orderChannels, ordering),
+                sourceTypes,
+                operatorContext.newAggregateSystemMemoryContext(),
+                operatorContext.getDriverContext().getYieldSignal());
+    }
+
+    /**
+     * Loads the rows of the next partition of the spilled group into pagesIndex.
+     *
+     * @return false if merging the spilled rows has to yield before the whole partition is loaded
+     */
+    private boolean loadSpilledPartition()
+    {
+        while (true) {
+            if (pendingSpilledPage == null) {
+                if (!mergedSpilledPages.process()) {
+                    return false;
+                }
+                if (mergedSpilledPages.isFinished()) {
+                    closeSpiller();
+                    break;
+                }
+                pendingSpilledPage = mergedSpilledPages.getResult();
+            }
+
+            // The merged rows are sorted by the partition channels, so a partition ends where these change
+            Page partitionPage = rearrangePage(pendingSpilledPage, unGroupedPartitionChannels);
+            if (pagesIndex.getPositionCount() == 0 || pagesIndex.positionEqualsRow(unGroupedPartitionHashStrategy, 0, 0, partitionPage)) {
+                pendingSpilledPage = addGroupToPagesIndex(pendingSpilledPage, partitionPage, unGroupedPartitionHashStrategy);
+            }
+            if (pendingSpilledPage != null) {
+                break;
+            }
+        }
+
+        if (pagesIndex.getPositionCount() > 0) {
+            windowInfo.addIndex(pagesIndex);
+        }
+        return true;
+    }
+
+    @Override
+    public ListenableFuture<?> startMemoryRevoke()
+    {
+        // Only a partially buffered group can be spilled, as the output is produced from the groups that are complete
+        if (!spillEnabled || state != State.NEEDS_INPUT || pagesIndex.getPositionCount() == 0) {
+            return NOT_BLOCKED;
+        }
+
+        if (spilledGroupKey == null) {
+            Block[] keyBlocks = new Block[preGroupedChannels.length];
+            for (int i = 0; i < preGroupedChannels.length; i++) {
+                keyBlocks[i] = pagesIndex.getSingleValueBlock(preGroupedChannels[i], 0);
+            }
+            spilledGroupKey = new Page(1, keyBlocks);
+        }
+        spillInProgress = Optional.of(spillPagesIndex());
+        return spillInProgress.get();
+    }
+
+    @Override
+    public void finishMemoryRevoke()
+    {
+        if (!spillInProgress.isPresent()) {
+            return;
+        }
+        // fail early if spilling has failed
+        getFutureValue(spillInProgress.get());
+        spillInProgress = Optional.empty();
+
+        // the spilled rows are no longer needed in memory
+        pagesIndex.clear();
+        updateMemoryReservation();
+    }
+
+    private ListenableFuture<?> spillPagesIndex()
+    {
+        if (!spiller.isPresent()) {
+            spiller = Optional.of(spillerFactory.create(sourceTypes, operatorContext.getSpillContext(), operatorContext.newAggregateSystemMemoryContext()));
+        }
         sortPagesIndexIfNecessary();
-        windowInfo.addIndex(pagesIndex);
+        return spiller.get().spill(pagesIndex.getSortedPages());
+    }
+
+    private void closeSpiller()
+    {
+        mergedSpilledPages = null;
+        spiller.ifPresent(Spiller::close);
+        spiller = Optional.empty();
+    }
+
+    private void updateMemoryReservation()
+    {
+        long pagesIndexSize = pagesIndex.getEstimatedSize().toBytes();
+        if (spillEnabled && state == State.NEEDS_INPUT) {
+            // the rows of a group that is still being buffered can be spilled
+            localUserMemoryContext.setBytes(0);
+            localRevocableMemoryContext.setBytes(pagesIndexSize);
+        }
+        else {
+            localRevocableMemoryContext.setBytes(0);
+            localUserMemoryContext.setBytes(pagesIndexSize);
+        }
     }
 
     // Assumes input grouped on relevant pagesHashStrategy columns
@@ -497,5 +687,6 @@ public class WindowOperator
     public void close()
     {
         driverWindowInfo.set(Optional.of(windowInfo.build()));
+        closeSpiller();
     }
 }
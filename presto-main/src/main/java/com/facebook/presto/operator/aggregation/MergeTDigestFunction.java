@@ -0,0 +1,75 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.aggregation;
+
+import com.facebook.presto.operator.aggregation.state.TDigestState;
+import com.facebook.presto.operator.aggregation.state.TDigestStateSerializer;
+import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.function.AggregationFunction;
+import com.facebook.presto.spi.function.AggregationState;
+import com.facebook.presto.spi.function.CombineFunction;
+import com.facebook.presto.spi.function.Description;
+import com.facebook.presto.spi.function.InputFunction;
+import com.facebook.presto.spi.function.OutputFunction;
+import com.facebook.presto.spi.function.SqlType;
+import com.facebook.presto.tdigest.TDigest;
+import io.airlift.slice.Slice;
+
+import static com.facebook.presto.spi.StandardErrorCode.INVALID_FUNCTION_ARGUMENT;
+import static com.facebook.presto.tdigest.TDigest.createTDigest;
+import static com.facebook.presto.util.Failures.checkCondition;
+
+@AggregationFunction("merge")
+@Description("Merges the input t-digests into a single t-digest")
+public final class MergeTDigestFunction
+{
+    private static final TDigestStateSerializer SERIALIZER = new TDigestStateSerializer();
+
+    private MergeTDigestFunction() {}
+
+    @InputFunction
+    public static void input(@AggregationState TDigestState state, @SqlType("tdigest(double)") Slice value)
+    {
+        merge(state, createTDigest(value));
+    }
+
+    @CombineFunction
+    public static void combine(@AggregationState TDigestState state, @AggregationState TDigestState otherState)
+    {
+        merge(state, otherState.getTDigest());
+    }
+
+    @OutputFunction("tdigest(double)")
+    public static void output(@AggregationState TDigestState state, BlockBuilder out)
+    {
+        SERIALIZER.serialize(state, out);
+    }
+
+    public static void merge(TDigestState state, TDigest input)
+    {
+        if (input == null) {
+            return;
+        }
+        TDigest previous = state.getTDigest();
+        if (previous == null) {
+            state.setTDigest(input);
+            state.addMemoryUsage(input.estimatedInMemorySizeInBytes());
+        }
+        else {
+            checkCondition(previous.getCompressionFactor() == input.getCompressionFactor(), INVALID_FUNCTION_ARGUMENT,
+                    "Cannot merge tdigests with different compressions (%s vs. %s)", previous.getCompressionFactor(), input.getCompressionFactor());
+            previous.merge(input);
+        }
+    }
+}
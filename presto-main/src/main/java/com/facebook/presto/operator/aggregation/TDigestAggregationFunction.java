@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.aggregation;
+
+import com.facebook.presto.operator.aggregation.state.TDigestState;
+import com.facebook.presto.operator.aggregation.state.TDigestStateSerializer;
+import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.function.AggregationFunction;
+import com.facebook.presto.spi.function.AggregationState;
+import com.facebook.presto.spi.function.CombineFunction;
+import com.facebook.presto.spi.function.Description;
+import com.facebook.presto.spi.function.InputFunction;
+import com.facebook.presto.spi.function.OutputFunction;
+import com.facebook.presto.spi.function.SqlType;
+import com.facebook.presto.spi.type.StandardTypes;
+import com.facebook.presto.tdigest.TDigest;
+
+import static com.facebook.presto.operator.scalar.QuantileDigestFunctions.DEFAULT_WEIGHT;
+import static com.facebook.presto.operator.scalar.QuantileDigestFunctions.verifyWeight;
+import static com.facebook.presto.operator.scalar.TDigestFunctions.DEFAULT_COMPRESSION;
+import static com.facebook.presto.operator.scalar.TDigestFunctions.verifyCompression;
+import static com.facebook.presto.operator.scalar.TDigestFunctions.verifyValue;
+import static com.facebook.presto.tdigest.TDigest.createTDigest;
+
+@AggregationFunction("tdigest_agg")
+@Description("Returns a tdigest from the set of doubles")
+public final class TDigestAggregationFunction
+{
+    private static final TDigestStateSerializer SERIALIZER = new TDigestStateSerializer();
+
+    private TDigestAggregationFunction() {}
+
+    @InputFunction
+    public static void input(@AggregationState TDigestState state, @SqlType(StandardTypes.DOUBLE) double value)
+    {
+        weightedInput(state, value, DEFAULT_WEIGHT, DEFAULT_COMPRESSION);
+    }
+
+    @InputFunction
+    public static void weightedInput(@AggregationState TDigestState state, @SqlType(StandardTypes.DOUBLE) double value, @SqlType(StandardTypes.BIGINT) long weight)
+    {
+        weightedInput(state, value, weight, DEFAULT_COMPRESSION);
+    }
+
+    @InputFunction
+    public static void weightedInput(@AggregationState TDigestState state, @SqlType(StandardTypes.DOUBLE) double value, @SqlType(StandardTypes.BIGINT) long weight, @SqlType(StandardTypes.DOUBLE) double compression)
+    {
+        TDigest tDigest = state.getTDigest();
+        if (tDigest == null) {
+            tDigest = createTDigest(verifyCompression(compression));
+            state.setTDigest(tDigest);
+            // the buffers of a t-digest are allocated up front, so its size does not change while adding values
+            state.addMemoryUsage(tDigest.estimatedInMemorySizeInBytes());
+        }
+        tDigest.add(verifyValue(value), verifyWeight(weight));
+    }
+
+    @CombineFunction
+    public static void combine(@AggregationState TDigestState state, @AggregationState TDigestState otherState)
+    {
+        MergeTDigestFunction.merge(state, otherState.getTDigest());
+    }
+
+    @OutputFunction("tdigest(double)")
+    public static void output(@AggregationState TDigestState state, BlockBuilder out)
+    {
+        SERIALIZER.serialize(state, out);
+    }
+}
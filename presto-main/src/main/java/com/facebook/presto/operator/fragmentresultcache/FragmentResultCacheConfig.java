@@ -0,0 +1,93 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.fragmentresultcache;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.units.DataSize;
+import io.airlift.units.MaxDataSize;
+
+import javax.validation.constraints.NotNull;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+
+public class FragmentResultCacheConfig
+{
+    private DataSize maxMemory = new DataSize(256, MEGABYTE);
+    private DataSize maxEntrySize = new DataSize(16, MEGABYTE);
+    private Optional<Path> path = Optional.empty();
+    private DataSize maxDiskSize = new DataSize(10, GIGABYTE);
+
+    @NotNull
+    public DataSize getMaxMemory()
+    {
+        return maxMemory;
+    }
+
+    @Config("experimental.fragment-result-cache-max-memory")
+    @ConfigDescription("Memory on each worker for the cached results of leaf pipelines, beyond which the least recently used results are evicted")
+    public FragmentResultCacheConfig setMaxMemory(DataSize maxMemory)
+    {
+        this.maxMemory = maxMemory;
+        return this;
+    }
+
+    @NotNull
+    @MaxDataSize("1GB")
+    public DataSize getMaxEntrySize()
+    {
+        return maxEntrySize;
+    }
+
+    @Config("experimental.fragment-result-cache-max-entry-size")
+    @ConfigDescription("Results of a leaf pipeline for a single split that are larger than this are not cached")
+    public FragmentResultCacheConfig setMaxEntrySize(DataSize maxEntrySize)
+    {
+        this.maxEntrySize = maxEntrySize;
+        return this;
+    }
+
+    @NotNull
+    public Optional<Path> getPath()
+    {
+        return path;
+    }
+
+    @Config("experimental.fragment-result-cache-path")
+    @ConfigDescription("Directory on the local disk of each worker where results evicted from memory are stored. Evicted results are dropped if not set")
+    public FragmentResultCacheConfig setPath(String path)
+    {
+        this.path = Optional.ofNullable(path).map(Paths::get);
+        return this;
+    }
+
+    @NotNull
+    public DataSize getMaxDiskSize()
+    {
+        return maxDiskSize;
+    }
+
+    @Config("experimental.fragment-result-cache-max-disk-size")
+    @ConfigDescription("Total size of the results stored on the local disk of each worker")
+    public FragmentResultCacheConfig setMaxDiskSize(DataSize maxDiskSize)
+    {
+        this.maxDiskSize = maxDiskSize;
+        return this;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.fragmentresultcache;
+
+import com.facebook.presto.memory.context.LocalMemoryContext;
+import com.facebook.presto.metadata.Split;
+import com.facebook.presto.spi.Page;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.hash.Hashing.sha256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The fragment result cache of a pipeline whose output only depends on its split.
+ */
+public class FragmentResultCacheContext
+{
+    private final FragmentResultCacheManager cacheManager;
+    private final String canonicalPlanHash;
+
+    public FragmentResultCacheContext(FragmentResultCacheManager cacheManager, String canonicalPlanHash)
+    {
+        this.cacheManager = requireNonNull(cacheManager, "cacheManager is null");
+        this.canonicalPlanHash = requireNonNull(canonicalPlanHash, "canonicalPlanHash is null");
+    }
+
+    /**
+     * Returns the key of the output of the pipeline for the split, or empty if the data read by the split cannot be identified.
+     */
+    public Optional<String> getCacheKey(Split split)
+    {
+        return split.getConnectorSplit().getSplitIdentifier()
+                .map(splitIdentifier -> sha256().newHasher()
+                        .putString(canonicalPlanHash, UTF_8)
+                        .putString(split.getConnectorId().toString(), UTF_8)
+                        .putString(splitIdentifier, UTF_8)
+                        .hash()
+                        .toString());
+    }
+
+    public Optional<List<Page>> getCachedResult(String key)
+    {
+        return cacheManager.get(key);
+    }
+
+    public FragmentResultRecorder startRecording(String key, LocalMemoryContext memoryContext)
+    {
+        return new FragmentResultRecorder(cacheManager, key, memoryContext);
+    }
+}
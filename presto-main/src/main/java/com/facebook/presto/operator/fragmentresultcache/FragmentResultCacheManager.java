@@ -0,0 +1,239 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.fragmentresultcache;
+
+import com.facebook.presto.execution.buffer.PagesSerde;
+import com.facebook.presto.execution.buffer.PagesSerdeFactory;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.execution.resultcache.CachedQueryResult;
+import com.facebook.presto.execution.resultcache.QueryResultCache;
+import com.facebook.presto.execution.resultcache.QueryResultCacheWriter;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.block.BlockEncodingSerde;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
+import io.airlift.log.Logger;
+import io.airlift.stats.CounterStat;
+import io.airlift.units.DataSize;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.DiscardPolicy;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.cache.RemovalCause.SIZE;
+import static com.google.common.primitives.Ints.saturatedCast;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Caches the output pages of leaf pipelines on a worker, keyed by the fragment and the split
+ * they were computed from. The least recently used results are evicted from memory and, when
+ * a cache directory is configured, written to the local disk from where they can still be read.
+ */
+@ThreadSafe
+public class FragmentResultCacheManager
+{
+    private static final Logger log = Logger.get(FragmentResultCacheManager.class);
+
+    // evicted results are dropped instead of queueing up in memory when the disk cannot keep up
+    private static final int MAX_PENDING_DISK_WRITES = 16;
+
+    private final long maxEntrySizeInBytes;
+    private final Cache<String, List<Page>> memoryCache;
+    private final Optional<QueryResultCache> diskCache;
+    private final PagesSerdeFactory pagesSerdeFactory;
+    private final ExecutorService diskWriteExecutor;
+
+    private final CounterStat hits = new CounterStat();
+    private final CounterStat misses = new CounterStat();
+    private final CounterStat diskHits = new CounterStat();
+
+    @Inject
+    public FragmentResultCacheManager(FragmentResultCacheConfig config, BlockEncodingSerde blockEncodingSerde)
+    {
+        this(config.getMaxMemory(), config.getMaxEntrySize(), config.getPath(), config.getMaxDiskSize(), blockEncodingSerde);
+    }
+
+    public FragmentResultCacheManager(DataSize maxMemory, DataSize maxEntrySize, Optional<Path> path, DataSize maxDiskSize, BlockEncodingSerde blockEncodingSerde)
+    {
+        requireNonNull(maxMemory, "maxMemory is null");
+        requireNonNull(maxEntrySize, "maxEntrySize is null");
+        requireNonNull(path, "path is null");
+        requireNonNull(maxDiskSize, "maxDiskSize is null");
+        checkArgument(maxEntrySize.compareTo(maxMemory) <= 0, "maxEntrySize is larger than maxMemory");
+
+        this.maxEntrySizeInBytes = maxEntrySize.toBytes();
+        this.memoryCache = CacheBuilder.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((String key, List<Page> pages) -> saturatedCast(getRetainedSizeInBytes(pages)))
+                .removalListener(this::onRemoval)
+                .build();
+        // the serialized results are usually smaller than in memory, so the size of the entries on disk is not limited separately
+        this.diskCache = path.map(directory -> new QueryResultCache(directory, maxDiskSize, maxDiskSize));
+        this.pagesSerdeFactory = new PagesSerdeFactory(requireNonNull(blockEncodingSerde, "blockEncodingSerde is null"), true);
+        this.diskWriteExecutor = new ThreadPoolExecutor(
+                1,
+                1,
+                0,
+                MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_PENDING_DISK_WRITES),
+                daemonThreadsNamed("fragment-result-cache-writer-%s"),
+                new DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void stop()
+    {
+        diskWriteExecutor.shutdownNow();
+    }
+
+    public long getMaxEntrySizeInBytes()
+    {
+        return maxEntrySizeInBytes;
+    }
+
+    /**
+     * Returns the cached output pages for the key. The pages are shared between all readers and must not be modified.
+     */
+    public Optional<List<Page>> get(String key)
+    {
+        requireNonNull(key, "key is null");
+        List<Page> pages = memoryCache.getIfPresent(key);
+        if (pages == null && diskCache.isPresent()) {
+            pages = readFromDisk(key).orElse(null);
+            if (pages != null) {
+                diskHits.update(1);
+                memoryCache.put(key, pages);
+            }
+        }
+        if (pages == null) {
+            misses.update(1);
+            return Optional.empty();
+        }
+        hits.update(1);
+        return Optional.of(pages);
+    }
+
+    /**
+     * Caches the output pages for the key. The pages should be compact, as they are retained
+     * by the cache until they are evicted.
+     */
+    public void put(String key, List<Page> pages)
+    {
+        requireNonNull(key, "key is null");
+        requireNonNull(pages, "pages is null");
+        if (getRetainedSizeInBytes(pages) > maxEntrySizeInBytes) {
+            return;
+        }
+        memoryCache.put(key, ImmutableList.copyOf(pages));
+    }
+
+    private void onRemoval(RemovalNotification<String, List<Page>> notification)
+    {
+        if (notification.getCause() == SIZE && diskCache.isPresent()) {
+            String key = notification.getKey();
+            List<Page> pages = notification.getValue();
+            diskWriteExecutor.execute(() -> writeToDisk(key, pages));
+        }
+    }
+
+    private void writeToDisk(String key, List<Page> pages)
+    {
+        Optional<QueryResultCacheWriter> writer = diskCache.get().startWriting(key);
+        if (!writer.isPresent()) {
+            return;
+        }
+        PagesSerde serde = pagesSerdeFactory.createPagesSerde();
+        try {
+            for (Page page : pages) {
+                writer.get().append(serde.serialize(page));
+            }
+        }
+        catch (RuntimeException e) {
+            log.warn(e, "Failed to write fragment result %s", key);
+            writer.get().abort();
+            return;
+        }
+        writer.get().commit();
+    }
+
+    private Optional<List<Page>> readFromDisk(String key)
+    {
+        Optional<CachedQueryResult> result = diskCache.get().get(key);
+        if (!result.isPresent()) {
+            return Optional.empty();
+        }
+        PagesSerde serde = pagesSerdeFactory.createPagesSerde();
+        ImmutableList.Builder<Page> pages = ImmutableList.builder();
+        try (CachedQueryResult cachedResult = result.get()) {
+            for (SerializedPage page = cachedResult.pollPage(); page != null; page = cachedResult.pollPage()) {
+                pages.add(serde.deserialize(page));
+            }
+        }
+        catch (PrestoException e) {
+            log.warn(e, "Failed to read fragment result %s", key);
+            return Optional.empty();
+        }
+        return Optional.of(pages.build());
+    }
+
+    private static long getRetainedSizeInBytes(List<Page> pages)
+    {
+        return pages.stream()
+                .mapToLong(Page::getRetainedSizeInBytes)
+                .sum();
+    }
+
+    @Managed
+    public long getCachedResults()
+    {
+        return memoryCache.size();
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getHits()
+    {
+        return hits;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getMisses()
+    {
+        return misses;
+    }
+
+    @Managed
+    @Nested
+    public CounterStat getDiskHits()
+    {
+        return diskHits;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.fragmentresultcache;
+
+import com.facebook.presto.memory.context.LocalMemoryContext;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.block.Block;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects the output pages of a pipeline for a single split, and caches them once the
+ * pipeline has produced all of its output. The result is abandoned if it grows beyond
+ * the maximum entry size of the cache.
+ */
+@NotThreadSafe
+public class FragmentResultRecorder
+{
+    private final FragmentResultCacheManager cacheManager;
+    private final String key;
+    private final LocalMemoryContext memoryContext;
+
+    private List<Page> pages = new ArrayList<>();
+    private long sizeInBytes;
+
+    FragmentResultRecorder(FragmentResultCacheManager cacheManager, String key, LocalMemoryContext memoryContext)
+    {
+        this.cacheManager = requireNonNull(cacheManager, "cacheManager is null");
+        this.key = requireNonNull(key, "key is null");
+        this.memoryContext = requireNonNull(memoryContext, "memoryContext is null");
+    }
+
+    public void add(Page page)
+    {
+        if (pages == null) {
+            return;
+        }
+
+        // the page is shared with the next operator, so compact a copy of it
+        Page loadedPage = page.getLoadedPage();
+        Block[] blocks = new Block[loadedPage.getChannelCount()];
+        for (int channel = 0; channel < blocks.length; channel++) {
+            blocks[channel] = loadedPage.getBlock(channel);
+        }
+        Page compactPage = new Page(loadedPage.getPositionCount(), blocks);
+        compactPage.compact();
+
+        sizeInBytes += compactPage.getRetainedSizeInBytes();
+        if (sizeInBytes > cacheManager.getMaxEntrySizeInBytes()) {
+            abort();
+            return;
+        }
+        pages.add(compactPage);
+        memoryContext.setBytes(sizeInBytes);
+    }
+
+    public void commit()
+    {
+        if (pages != null) {
+            cacheManager.put(key, pages);
+        }
+        abort();
+    }
+
+    public void abort()
+    {
+        pages = null;
+        memoryContext.close();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.scalar;
+
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.function.Description;
+import com.facebook.presto.spi.function.ScalarFunction;
+import com.facebook.presto.spi.function.SqlType;
+import com.facebook.presto.spi.type.StandardTypes;
+import com.facebook.presto.tdigest.TDigest;
+import io.airlift.slice.Slice;
+
+import static com.facebook.presto.spi.StandardErrorCode.INVALID_FUNCTION_ARGUMENT;
+import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.tdigest.TDigest.createTDigest;
+import static com.facebook.presto.util.Failures.checkCondition;
+
+public final class TDigestFunctions
+{
+    public static final double DEFAULT_COMPRESSION = 100;
+    public static final double MAX_COMPRESSION = 1000;
+
+    private TDigestFunctions() {}
+
+    @ScalarFunction("value_at_quantile")
+    @Description("Given an input q between [0, 1], find the value whose rank in the sorted sequence of the n values represented by the tdigest is qn.")
+    @SqlType(StandardTypes.DOUBLE)
+    public static double valueAtQuantileDouble(@SqlType("tdigest(double)") Slice input, @SqlType(StandardTypes.DOUBLE) double quantile)
+    {
+        return createTDigest(input).getQuantile(verifyQuantile(quantile));
+    }
+
+    @ScalarFunction("values_at_quantiles")
+    @Description("For each input q between [0, 1], find the value whose rank in the sorted sequence of the n values represented by the tdigest is qn.")
+    @SqlType("array(double)")
+    public static Block valuesAtQuantilesDouble(@SqlType("tdigest(double)") Slice input, @SqlType("array(double)") Block percentilesArrayBlock)
+    {
+        TDigest tDigest = createTDigest(input);
+        BlockBuilder output = DOUBLE.createBlockBuilder(null, percentilesArrayBlock.getPositionCount());
+        for (int i = 0; i < percentilesArrayBlock.getPositionCount(); i++) {
+            DOUBLE.writeDouble(output, tDigest.getQuantile(verifyQuantile(DOUBLE.getDouble(percentilesArrayBlock, i))));
+        }
+        return output.build();
+    }
+
+    @ScalarFunction("quantile_at_value")
+    @Description("Given an input x, find the approximate fraction of the values represented by the tdigest that are smaller than x.")
+    @SqlType(StandardTypes.DOUBLE)
+    public static double quantileAtValueDouble(@SqlType("tdigest(double)") Slice input, @SqlType(StandardTypes.DOUBLE) double value)
+    {
+        return createTDigest(input).getCdf(verifyValue(value));
+    }
+
+    public static double verifyQuantile(double quantile)
+    {
+        checkCondition(quantile >= 0 && quantile <= 1, INVALID_FUNCTION_ARGUMENT, "Quantile must be between 0 and 1, was %s", quantile);
+        return quantile;
+    }
+
+    public static double verifyValue(double value)
+    {
+        checkCondition(!Double.isNaN(value), INVALID_FUNCTION_ARGUMENT, "Cannot add NaN to t-digest");
+        return value;
+    }
+
+    public static double verifyCompression(double compression)
+    {
+        checkCondition(compression > 0 && compression <= MAX_COMPRESSION, INVALID_FUNCTION_ARGUMENT, "Compression factor must be between 0 (exclusive) and %s, was %s", MAX_COMPRESSION, compression);
+        return compression;
+    }
+}
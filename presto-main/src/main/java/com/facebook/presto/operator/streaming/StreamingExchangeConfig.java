@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
+import io.airlift.configuration.ConfigSecuritySensitive;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.airlift.units.MinDataSize;
+import io.airlift.units.MinDuration;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class StreamingExchangeConfig
+{
+    private boolean enabled;
+    private int port = 8091;
+    private int serverThreads = Runtime.getRuntime().availableProcessors();
+    private int clientThreads = Runtime.getRuntime().availableProcessors();
+    private DataSize maxFrameSize = new DataSize(32, MEGABYTE);
+    private Duration connectTimeout = new Duration(10, SECONDS);
+    private String sharedSecret;
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    @Config("exchange.streaming.enabled")
+    @ConfigDescription("Transfer exchange pages over a persistent binary stream instead of HTTP requests")
+    public StreamingExchangeConfig setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+        return this;
+    }
+
+    @Min(1)
+    @Max(65535)
+    public int getPort()
+    {
+        return port;
+    }
+
+    @Config("exchange.streaming.port")
+    @ConfigDescription("Port of the streaming exchange server, which must be the same on all nodes")
+    public StreamingExchangeConfig setPort(int port)
+    {
+        this.port = port;
+        return this;
+    }
+
+    @Min(1)
+    public int getServerThreads()
+    {
+        return serverThreads;
+    }
+
+    @Config("exchange.streaming.server-threads")
+    public StreamingExchangeConfig setServerThreads(int serverThreads)
+    {
+        this.serverThreads = serverThreads;
+        return this;
+    }
+
+    @Min(1)
+    public int getClientThreads()
+    {
+        return clientThreads;
+    }
+
+    @Config("exchange.streaming.client-threads")
+    public StreamingExchangeConfig setClientThreads(int clientThreads)
+    {
+        this.clientThreads = clientThreads;
+        return this;
+    }
+
+    @NotNull
+    @MinDataSize("1MB")
+    public DataSize getMaxFrameSize()
+    {
+        return maxFrameSize;
+    }
+
+    @Config("exchange.streaming.max-frame-size")
+    public StreamingExchangeConfig setMaxFrameSize(DataSize maxFrameSize)
+    {
+        this.maxFrameSize = maxFrameSize;
+        return this;
+    }
+
+    @NotNull
+    @MinDuration("1ms")
+    public Duration getConnectTimeout()
+    {
+        return connectTimeout;
+    }
+
+    @Config("exchange.streaming.connect-timeout")
+    public StreamingExchangeConfig setConnectTimeout(Duration connectTimeout)
+    {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    public String getSharedSecret()
+    {
+        return sharedSecret;
+    }
+
+    @Config("exchange.streaming.shared-secret")
+    @ConfigDescription("Secret that clients of the streaming exchange server must present, which must be the same on all nodes")
+    @ConfigSecuritySensitive
+    public StreamingExchangeConfig setSharedSecret(String sharedSecret)
+    {
+        this.sharedSecret = sharedSecret;
+        return this;
+    }
+
+    @AssertTrue(message = "exchange.streaming.shared-secret must be configured when exchange.streaming.enabled is set to true")
+    public boolean isSharedSecretConfiguredWhenEnabled()
+    {
+        return !enabled || (sharedSecret != null && !sharedSecret.isEmpty());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import com.facebook.presto.server.InternalCommunicationConfig;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+
+import javax.annotation.concurrent.ThreadSafe;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
+import java.io.Closeable;
+import java.util.Optional;
+
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.initializePipeline;
+import static com.facebook.presto.operator.streaming.StreamingExchangeSsl.createClientSslContext;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Opens the connections used by {@link StreamingPageBufferClient}s. All connections share
+ * a single event loop group, and the streaming exchange server of every node is expected to
+ * listen on the same port and to share the same secret. Connections use TLS when internal communication
+ * is required to use HTTPS.
+ */
+@ThreadSafe
+public class StreamingExchangeConnector
+        implements Closeable
+{
+    private final int port;
+    private final DataSize maxFrameSize;
+    private final String sharedSecret;
+    private final Optional<SslContext> sslContext;
+    private final EventLoopGroup eventLoopGroup;
+    private final Bootstrap bootstrap;
+
+    public StreamingExchangeConnector(StreamingExchangeConfig config, InternalCommunicationConfig internalCommunicationConfig)
+    {
+        this(
+                config.getPort(),
+                config.getClientThreads(),
+                config.getMaxFrameSize(),
+                config.getConnectTimeout(),
+                config.getSharedSecret(),
+                createClientSslContext(internalCommunicationConfig));
+    }
+
+    public StreamingExchangeConnector(int port, int threads, DataSize maxFrameSize, Duration connectTimeout, String sharedSecret, Optional<SslContext> sslContext)
+    {
+        checkArgument(port > 0, "port must be positive");
+        checkArgument(threads > 0, "threads must be positive");
+        this.port = port;
+        this.maxFrameSize = requireNonNull(maxFrameSize, "maxFrameSize is null");
+        requireNonNull(connectTimeout, "connectTimeout is null");
+        this.sharedSecret = requireNonNull(sharedSecret, "sharedSecret is null");
+        checkArgument(!sharedSecret.isEmpty(), "sharedSecret is empty");
+        this.sslContext = requireNonNull(sslContext, "sslContext is null");
+
+        this.eventLoopGroup = new NioEventLoopGroup(threads, daemonThreadsNamed("streaming-exchange-client-%s"));
+        this.bootstrap = new Bootstrap()
+                .group(eventLoopGroup)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, toIntExact(connectTimeout.toMillis()));
+    }
+
+    /**
+     * Connects to the streaming exchange server on the given host. Frames received on the
+     * connection are passed to the handler on the event loop thread of the connection.
+     */
+    public ChannelFuture connect(String host, ChannelHandler handler)
+    {
+        requireNonNull(host, "host is null");
+        requireNonNull(handler, "handler is null");
+        return bootstrap.clone()
+                .handler(new ChannelInitializer<SocketChannel>()
+                {
+                    @Override
+                    protected void initChannel(SocketChannel channel)
+                    {
+                        sslContext.ifPresent(context -> channel.pipeline().addLast(createSslHandler(context, channel, host)));
+                        initializePipeline(channel.pipeline(), maxFrameSize, handler);
+                    }
+                })
+                .connect(host, port);
+    }
+
+    public DataSize getMaxFrameSize()
+    {
+        return maxFrameSize;
+    }
+
+    public String getSharedSecret()
+    {
+        return sharedSecret;
+    }
+
+    @Override
+    public void close()
+    {
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    private SslHandler createSslHandler(SslContext context, SocketChannel channel, String host)
+    {
+        SslHandler handler = context.newHandler(channel.alloc(), host, port);
+        // verify that the certificate of the server matches its host name, like the HTTP client does
+        SSLEngine engine = handler.engine();
+        SSLParameters parameters = engine.getSSLParameters();
+        parameters.setEndpointIdentificationAlgorithm("HTTPS");
+        engine.setSSLParameters(parameters);
+        return handler;
+    }
+}
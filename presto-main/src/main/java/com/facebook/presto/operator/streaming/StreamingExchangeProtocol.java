@@ -0,0 +1,157 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import com.facebook.presto.execution.TaskId;
+import com.facebook.presto.execution.buffer.BufferResult;
+import com.facebook.presto.execution.buffer.OutputBuffers.OutputBufferId;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.google.common.collect.ImmutableList;
+import io.airlift.slice.InputStreamSliceInput;
+import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.SliceInput;
+import io.airlift.slice.SliceOutput;
+import io.airlift.units.DataSize;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static com.facebook.presto.execution.buffer.PagesSerdeUtil.readSerializedPages;
+import static com.facebook.presto.execution.buffer.PagesSerdeUtil.writeSerializedPages;
+import static java.lang.Math.toIntExact;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Frames exchanged between a {@link StreamingPageBufferClient} and the {@link StreamingExchangeServer}.
+ * Every frame is prefixed with its length and starts with a type byte.
+ * <p>
+ * The client opens a stream for a single output buffer by presenting the shared secret of the
+ * cluster, and then grants credits in bytes.
+ * The server sends pages as soon as they are available, for as long as the client has credit left.
+ * Pages are written in the same {@link SerializedPage} format that is used by the HTTP exchange.
+ */
+final class StreamingExchangeProtocol
+{
+    // client to server
+    static final byte OPEN = 1;
+    static final byte CREDIT = 2;
+    static final byte ABORT = 3;
+
+    // server to client
+    static final byte PAGES = 11;
+    static final byte ABORTED = 12;
+    static final byte ERROR = 13;
+
+    private static final int LENGTH_FIELD_SIZE = Integer.BYTES;
+
+    private StreamingExchangeProtocol() {}
+
+    static void initializePipeline(ChannelPipeline pipeline, DataSize maxFrameSize, ChannelHandler handler)
+    {
+        pipeline.addLast(new LengthFieldBasedFrameDecoder(toIntExact(maxFrameSize.toBytes()), 0, LENGTH_FIELD_SIZE, 0, LENGTH_FIELD_SIZE));
+        pipeline.addLast(new LengthFieldPrepender(LENGTH_FIELD_SIZE));
+        pipeline.addLast(handler);
+    }
+
+    static ByteBuf createOpenFrame(ByteBufAllocator allocator, String sharedSecret, TaskId taskId, OutputBufferId bufferId, long token)
+    {
+        ByteBuf frame = allocator.buffer();
+        frame.writeByte(OPEN);
+        writeString(frame, sharedSecret);
+        writeString(frame, taskId.toString());
+        writeString(frame, bufferId.toString());
+        frame.writeLong(token);
+        return frame;
+    }
+
+    static ByteBuf createCreditFrame(ByteBufAllocator allocator, long bytes)
+    {
+        ByteBuf frame = allocator.buffer(Byte.BYTES + Long.BYTES);
+        frame.writeByte(CREDIT);
+        frame.writeLong(bytes);
+        return frame;
+    }
+
+    static ByteBuf createAbortFrame(ByteBufAllocator allocator)
+    {
+        return allocator.buffer(Byte.BYTES).writeByte(ABORT);
+    }
+
+    static ByteBuf createPagesFrame(ByteBufAllocator allocator, BufferResult result)
+    {
+        ByteBuf frame = allocator.buffer();
+        frame.writeByte(PAGES);
+        writeString(frame, result.getTaskInstanceId());
+        frame.writeLong(result.getToken());
+        frame.writeLong(result.getNextToken());
+        frame.writeBoolean(result.isBufferComplete());
+        try (SliceOutput output = new OutputStreamSliceOutput(new ByteBufOutputStream(frame))) {
+            writeSerializedPages(output, result.getSerializedPages());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return frame;
+    }
+
+    static BufferResult readPagesFrame(ByteBuf frame)
+    {
+        String taskInstanceId = readString(frame);
+        long token = frame.readLong();
+        long nextToken = frame.readLong();
+        boolean complete = frame.readBoolean();
+        try (SliceInput input = new InputStreamSliceInput(new ByteBufInputStream(frame))) {
+            // pages are copied out of the frame, so they do not retain the network buffer
+            List<SerializedPage> pages = ImmutableList.copyOf(readSerializedPages(input));
+            return new BufferResult(taskInstanceId, token, nextToken, complete, pages);
+        }
+    }
+
+    static ByteBuf createAbortedFrame(ByteBufAllocator allocator)
+    {
+        return allocator.buffer(Byte.BYTES).writeByte(ABORTED);
+    }
+
+    static ByteBuf createErrorFrame(ByteBufAllocator allocator, String message)
+    {
+        ByteBuf frame = allocator.buffer();
+        frame.writeByte(ERROR);
+        writeString(frame, message);
+        return frame;
+    }
+
+    static void writeString(ByteBuf buffer, String value)
+    {
+        byte[] bytes = value.getBytes(UTF_8);
+        buffer.writeInt(bytes.length);
+        buffer.writeBytes(bytes);
+    }
+
+    static String readString(ByteBuf buffer)
+    {
+        int length = buffer.readInt();
+        String value = buffer.toString(buffer.readerIndex(), length, UTF_8);
+        buffer.skipBytes(length);
+        return value;
+    }
+}
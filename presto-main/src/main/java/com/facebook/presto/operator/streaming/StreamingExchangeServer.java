@@ -0,0 +1,302 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import com.facebook.presto.execution.TaskId;
+import com.facebook.presto.execution.TaskManager;
+import com.facebook.presto.execution.buffer.BufferResult;
+import com.facebook.presto.execution.buffer.OutputBuffers.OutputBufferId;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.server.InternalCommunicationConfig;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.log.Logger;
+import io.airlift.units.DataSize;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.ssl.SslContext;
+import org.weakref.jmx.Managed;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+import java.net.InetSocketAddress;
+import java.security.MessageDigest;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.ABORT;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.CREDIT;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.OPEN;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.createAbortedFrame;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.createErrorFrame;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.createPagesFrame;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.initializePipeline;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.readString;
+import static com.facebook.presto.operator.streaming.StreamingExchangeSsl.createServerSslContext;
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves the output buffers of the tasks running on this node to {@link StreamingPageBufferClient}s.
+ * <p>
+ * Each connection streams a single output buffer. Pages are read from the buffer as long as the client
+ * has credit left, and are sent without waiting for a request. Reading the next token from the buffer
+ * acknowledges the pages that were sent before, so the stream cannot be resumed once it is broken.
+ * <p>
+ * A stream is only opened for clients that present the shared secret of the cluster, and connections
+ * use TLS when internal communication is required to use HTTPS.
+ */
+@ThreadSafe
+public class StreamingExchangeServer
+{
+    private static final Logger log = Logger.get(StreamingExchangeServer.class);
+
+    private final TaskManager taskManager;
+    private final int port;
+    private final int threads;
+    private final DataSize maxFrameSize;
+    private final byte[] sharedSecret;
+    private final Optional<SslContext> sslContext;
+
+    private final AtomicLong activeStreams = new AtomicLong();
+    private final AtomicLong sentFrames = new AtomicLong();
+    private final AtomicLong sentBytes = new AtomicLong();
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private Channel serverChannel;
+
+    @Inject
+    public StreamingExchangeServer(TaskManager taskManager, StreamingExchangeConfig config, InternalCommunicationConfig internalCommunicationConfig)
+    {
+        this(
+                taskManager,
+                config.getPort(),
+                config.getServerThreads(),
+                config.getMaxFrameSize(),
+                config.getSharedSecret(),
+                createServerSslContext(internalCommunicationConfig));
+    }
+
+    public StreamingExchangeServer(TaskManager taskManager, int port, int threads, DataSize maxFrameSize, String sharedSecret, Optional<SslContext> sslContext)
+    {
+        checkArgument(port >= 0, "port is negative");
+        checkArgument(threads > 0, "threads must be positive");
+        this.taskManager = requireNonNull(taskManager, "taskManager is null");
+        this.port = port;
+        this.threads = threads;
+        this.maxFrameSize = requireNonNull(maxFrameSize, "maxFrameSize is null");
+        requireNonNull(sharedSecret, "sharedSecret is null");
+        checkArgument(!sharedSecret.isEmpty(), "sharedSecret is empty");
+        this.sharedSecret = sharedSecret.getBytes(UTF_8);
+        this.sslContext = requireNonNull(sslContext, "sslContext is null");
+    }
+
+    @PostConstruct
+    public synchronized void start()
+            throws InterruptedException
+    {
+        checkState(serverChannel == null, "server is already started");
+        bossGroup = new NioEventLoopGroup(1, daemonThreadsNamed("streaming-exchange-boss-%s"));
+        workerGroup = new NioEventLoopGroup(threads, daemonThreadsNamed("streaming-exchange-server-%s"));
+        serverChannel = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childHandler(new ChannelInitializer<SocketChannel>()
+                {
+                    @Override
+                    protected void initChannel(SocketChannel channel)
+                    {
+                        sslContext.ifPresent(context -> channel.pipeline().addLast(context.newHandler(channel.alloc())));
+                        initializePipeline(channel.pipeline(), maxFrameSize, new BufferStreamHandler());
+                    }
+                })
+                .bind(port)
+                .sync()
+                .channel();
+    }
+
+    @PreDestroy
+    public synchronized void stop()
+    {
+        if (serverChannel != null) {
+            serverChannel.close();
+            bossGroup.shutdownGracefully();
+            workerGroup.shutdownGracefully();
+        }
+    }
+
+    /**
+     * Returns the port the server is listening on, which differs from the configured port when it is zero.
+     */
+    public synchronized int getPort()
+    {
+        checkState(serverChannel != null, "server is not started");
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    @Managed
+    public long getActiveStreams()
+    {
+        return activeStreams.get();
+    }
+
+    @Managed
+    public long getSentFrames()
+    {
+        return sentFrames.get();
+    }
+
+    @Managed
+    public long getSentBytes()
+    {
+        return sentBytes.get();
+    }
+
+    /**
+     * All state is only accessed from the event loop thread of the connection.
+     */
+    private class BufferStreamHandler
+            extends SimpleChannelInboundHandler<ByteBuf>
+    {
+        private ChannelHandlerContext context;
+        private TaskId taskId;
+        private OutputBufferId bufferId;
+        private long token;
+        private long credit;
+        private boolean reading;
+        private boolean complete;
+        private ListenableFuture<BufferResult> pendingRead;
+
+        @Override
+        public void channelActive(ChannelHandlerContext context)
+        {
+            this.context = context;
+            activeStreams.incrementAndGet();
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext context)
+        {
+            activeStreams.decrementAndGet();
+            if (pendingRead != null) {
+                pendingRead.cancel(true);
+            }
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext context, ByteBuf frame)
+        {
+            byte type = frame.readByte();
+            switch (type) {
+                case OPEN:
+                    checkState(taskId == null, "stream is already open");
+                    if (!MessageDigest.isEqual(readString(frame).getBytes(UTF_8), sharedSecret)) {
+                        throw new IllegalArgumentException("Invalid shared secret");
+                    }
+                    taskId = TaskId.valueOf(readString(frame));
+                    bufferId = OutputBufferId.fromString(readString(frame));
+                    token = frame.readLong();
+                    return;
+                case CREDIT:
+                    checkState(taskId != null, "stream is not open");
+                    credit = Math.max(credit, 0) + frame.readLong();
+                    readIfNecessary();
+                    return;
+                case ABORT:
+                    checkState(taskId != null, "stream is not open");
+                    complete = true;
+                    taskManager.abortTaskResults(taskId, bufferId);
+                    context.writeAndFlush(createAbortedFrame(context.alloc()));
+                    return;
+                default:
+                    throw new IllegalArgumentException("Unknown frame type: " + type);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext context, Throwable cause)
+        {
+            log.debug(cause, "Streaming %s/%s failed", taskId, bufferId);
+            context.writeAndFlush(createErrorFrame(context.alloc(), firstNonNull(cause.getMessage(), cause.toString())))
+                    .addListener(ChannelFutureListener.CLOSE);
+        }
+
+        private void readIfNecessary()
+        {
+            if (reading || complete || credit <= 0 || !context.channel().isActive()) {
+                return;
+            }
+            reading = true;
+            pendingRead = taskManager.getTaskResults(taskId, bufferId, token, new DataSize(credit, BYTE));
+            Futures.addCallback(pendingRead, new FutureCallback<BufferResult>()
+            {
+                @Override
+                public void onSuccess(BufferResult result)
+                {
+                    reading = false;
+                    pendingRead = null;
+                    if (result.isEmpty() && !result.isBufferComplete()) {
+                        // the buffer only returns an empty result after it waited for pages, so it is asked again right away
+                        readIfNecessary();
+                        return;
+                    }
+                    long bytes = result.getSerializedPages().stream()
+                            .mapToLong(SerializedPage::getSizeInBytes)
+                            .sum();
+                    token = result.getNextToken();
+                    credit -= bytes;
+                    complete = result.isBufferComplete();
+
+                    ByteBuf frame = createPagesFrame(context.alloc(), result);
+                    sentFrames.incrementAndGet();
+                    sentBytes.addAndGet(frame.readableBytes());
+                    context.writeAndFlush(frame);
+                    readIfNecessary();
+                }
+
+                @Override
+                public void onFailure(Throwable t)
+                {
+                    reading = false;
+                    pendingRead = null;
+                    if (context.channel().isActive()) {
+                        exceptionCaught(context, t);
+                    }
+                }
+            }, context.executor());
+        }
+    }
+}
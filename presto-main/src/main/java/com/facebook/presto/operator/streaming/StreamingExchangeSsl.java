@@ -0,0 +1,85 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import com.facebook.presto.server.InternalCommunicationConfig;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.TrustManagerFactory;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Creates the TLS contexts of the streaming exchange from the key store used for internal HTTPS
+ * communication, so that the streaming exchange is encrypted whenever the HTTP exchange is.
+ */
+final class StreamingExchangeSsl
+{
+    private StreamingExchangeSsl() {}
+
+    static Optional<SslContext> createServerSslContext(InternalCommunicationConfig config)
+    {
+        if (!config.isHttpsRequired()) {
+            return Optional.empty();
+        }
+        try {
+            KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(loadKeyStore(config), getKeyStorePassword(config));
+            return Optional.of(SslContextBuilder.forServer(keyManagerFactory).build());
+        }
+        catch (IOException | GeneralSecurityException e) {
+            throw new RuntimeException("Failed to create the TLS context of the streaming exchange server", e);
+        }
+    }
+
+    static Optional<SslContext> createClientSslContext(InternalCommunicationConfig config)
+    {
+        if (!config.isHttpsRequired()) {
+            return Optional.empty();
+        }
+        try {
+            TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init(loadKeyStore(config));
+            return Optional.of(SslContextBuilder.forClient().trustManager(trustManagerFactory).build());
+        }
+        catch (IOException | GeneralSecurityException e) {
+            throw new RuntimeException("Failed to create the TLS context of the streaming exchange client", e);
+        }
+    }
+
+    private static KeyStore loadKeyStore(InternalCommunicationConfig config)
+            throws IOException, GeneralSecurityException
+    {
+        checkArgument(config.getKeyStorePath() != null, "internal-communication.https.keystore.path must be set when internal-communication.https.required is true");
+        KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        try (InputStream input = new FileInputStream(config.getKeyStorePath())) {
+            keyStore.load(input, getKeyStorePassword(config));
+        }
+        return keyStore;
+    }
+
+    private static char[] getKeyStorePassword(InternalCommunicationConfig config)
+    {
+        return config.getKeyStorePassword() == null ? null : config.getKeyStorePassword().toCharArray();
+    }
+}
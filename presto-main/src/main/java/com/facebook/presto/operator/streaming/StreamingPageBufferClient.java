@@ -0,0 +1,555 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import com.facebook.presto.execution.TaskId;
+import com.facebook.presto.execution.buffer.BufferResult;
+import com.facebook.presto.execution.buffer.OutputBuffers.OutputBufferId;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.operator.PageBufferClient;
+import com.facebook.presto.operator.PageBufferClientStatus;
+import com.facebook.presto.operator.PageTooLargeException;
+import com.facebook.presto.operator.PageTransportErrorException;
+import com.facebook.presto.operator.PageTransportTimeoutException;
+import com.facebook.presto.server.remotetask.Backoff;
+import com.facebook.presto.spi.PrestoException;
+import com.google.common.base.Ticker;
+import io.airlift.log.Logger;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.TooLongFrameException;
+import org.joda.time.DateTime;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.ABORTED;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.ERROR;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.PAGES;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.createAbortFrame;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.createCreditFrame;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.createOpenFrame;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.readPagesFrame;
+import static com.facebook.presto.operator.streaming.StreamingExchangeProtocol.readString;
+import static com.facebook.presto.spi.HostAddress.fromUri;
+import static com.facebook.presto.spi.StandardErrorCode.REMOTE_TASK_MISMATCH;
+import static com.facebook.presto.util.Failures.REMOTE_TASK_MISMATCH_ERROR;
+import static com.facebook.presto.util.Failures.WORKER_NODE_ERROR;
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Streams the pages of a remote output buffer over a persistent connection to the
+ * {@link StreamingExchangeServer} of the remote node.
+ * <p>
+ * Every scheduled request grants the server credit for {@code maxResponseSize} bytes, which
+ * the server spends by pushing pages as soon as they are produced, possibly in several frames.
+ * The request completes once the credit is spent or the buffer is complete. Pages are
+ * acknowledged implicitly when the server reads the next token from the buffer, so unlike
+ * {@link com.facebook.presto.operator.HttpPageBufferClient} a stream that breaks after it was
+ * opened cannot be retried and fails the client. Failures to connect are retried.
+ */
+@ThreadSafe
+public final class StreamingPageBufferClient
+        implements PageBufferClient
+{
+    private static final Logger log = Logger.get(StreamingPageBufferClient.class);
+
+    private final StreamingExchangeConnector connector;
+    private final long maxResponseSizeInBytes;
+    private final URI location;
+    private final TaskId taskId;
+    private final OutputBufferId bufferId;
+    private final ClientCallback clientCallback;
+    private final ScheduledExecutorService scheduler;
+    private final Backoff backoff;
+
+    @GuardedBy("this")
+    private boolean closed;
+    @GuardedBy("this")
+    private ChannelFuture connectFuture;
+    @GuardedBy("this")
+    private Channel channel;
+    @GuardedBy("this")
+    private DateTime lastUpdate = DateTime.now();
+    @GuardedBy("this")
+    private long token;
+    @GuardedBy("this")
+    private long outstandingCredit;
+    @GuardedBy("this")
+    private boolean scheduled;
+    @GuardedBy("this")
+    private boolean completed;
+    @GuardedBy("this")
+    private boolean aborting;
+    @GuardedBy("this")
+    private boolean failed;
+    @GuardedBy("this")
+    private String taskInstanceId;
+
+    private final AtomicLong rowsReceived = new AtomicLong();
+    private final AtomicInteger pagesReceived = new AtomicInteger();
+
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final AtomicInteger pagesRejected = new AtomicInteger();
+
+    private final AtomicInteger requestsScheduled = new AtomicInteger();
+    private final AtomicInteger requestsCompleted = new AtomicInteger();
+    private final AtomicInteger requestsFailed = new AtomicInteger();
+
+    public StreamingPageBufferClient(
+            StreamingExchangeConnector connector,
+            DataSize maxResponseSize,
+            Duration maxErrorDuration,
+            URI location,
+            ClientCallback clientCallback,
+            ScheduledExecutorService scheduler)
+    {
+        this(connector, maxResponseSize, maxErrorDuration, location, clientCallback, scheduler, Ticker.systemTicker());
+    }
+
+    public StreamingPageBufferClient(
+            StreamingExchangeConnector connector,
+            DataSize maxResponseSize,
+            Duration maxErrorDuration,
+            URI location,
+            ClientCallback clientCallback,
+            ScheduledExecutorService scheduler,
+            Ticker ticker)
+    {
+        this.connector = requireNonNull(connector, "connector is null");
+        this.maxResponseSizeInBytes = requireNonNull(maxResponseSize, "maxResponseSize is null").toBytes();
+        this.location = requireNonNull(location, "location is null");
+        this.clientCallback = requireNonNull(clientCallback, "clientCallback is null");
+        this.scheduler = requireNonNull(scheduler, "scheduler is null");
+        requireNonNull(maxErrorDuration, "maxErrorDuration is null");
+        requireNonNull(ticker, "ticker is null");
+        this.backoff = new Backoff(maxErrorDuration, ticker);
+
+        // location is .../v1/task/{taskId}/results/{bufferId}
+        String[] path = location.getPath().split("/");
+        checkArgument(path.length >= 3 && path[path.length - 2].equals("results"), "Invalid output buffer location: %s", location);
+        this.taskId = TaskId.valueOf(path[path.length - 3]);
+        this.bufferId = OutputBufferId.fromString(path[path.length - 1]);
+    }
+
+    @Override
+    public synchronized PageBufferClientStatus getStatus()
+    {
+        String state;
+        if (closed) {
+            state = "closed";
+        }
+        else if (outstandingCredit > 0 || aborting) {
+            state = "running";
+        }
+        else if (scheduled) {
+            state = "scheduled";
+        }
+        else if (completed) {
+            state = "completed";
+        }
+        else {
+            state = "queued";
+        }
+        String streamState;
+        if (channel != null) {
+            streamState = channel.isActive() ? "connected" : "disconnected";
+        }
+        else if (connectFuture != null) {
+            streamState = "connecting";
+        }
+        else {
+            streamState = "not connected";
+        }
+
+        long rejectedRows = rowsRejected.get();
+        int rejectedPages = pagesRejected.get();
+
+        return new PageBufferClientStatus(
+                location,
+                state,
+                lastUpdate,
+                rowsReceived.get(),
+                pagesReceived.get(),
+                rejectedRows == 0 ? OptionalLong.empty() : OptionalLong.of(rejectedRows),
+                rejectedPages == 0 ? OptionalInt.empty() : OptionalInt.of(rejectedPages),
+                requestsScheduled.get(),
+                requestsCompleted.get(),
+                requestsFailed.get(),
+                streamState);
+    }
+
+    @Override
+    public synchronized boolean isRunning()
+    {
+        return outstandingCredit > 0 || aborting || (connectFuture != null && channel == null);
+    }
+
+    @Override
+    public void close()
+    {
+        boolean shouldAbort;
+        Channel channel;
+        synchronized (this) {
+            shouldAbort = !closed && !aborting;
+            closed = true;
+            channel = this.channel;
+            this.channel = null;
+            outstandingCredit = 0;
+            lastUpdate = DateTime.now();
+        }
+
+        // abort the output buffer on the remote node; the acknowledgement is ignored
+        if (channel != null) {
+            if (shouldAbort && channel.isActive()) {
+                channel.writeAndFlush(createAbortFrame(channel.alloc())).addListener(ChannelFutureListener.CLOSE);
+            }
+            else {
+                channel.close();
+            }
+        }
+        else if (shouldAbort) {
+            connector.connect(location.getHost(), new IgnoringHandler()).addListener((ChannelFuture future) -> {
+                if (future.isSuccess()) {
+                    Channel abortChannel = future.channel();
+                    abortChannel.write(createOpenFrame(abortChannel.alloc(), connector.getSharedSecret(), taskId, bufferId, 0));
+                    abortChannel.writeAndFlush(createAbortFrame(abortChannel.alloc())).addListener(ChannelFutureListener.CLOSE);
+                }
+            });
+        }
+    }
+
+    @Override
+    public synchronized void scheduleRequest()
+    {
+        if (closed || failed || scheduled || aborting || outstandingCredit > 0 || (connectFuture != null && channel == null)) {
+            return;
+        }
+        scheduled = true;
+
+        // start before scheduling to include error delay
+        backoff.startRequest();
+
+        long delayNanos = backoff.getBackoffDelayNanos();
+        scheduler.schedule(() -> {
+            try {
+                initiateRequest();
+            }
+            catch (Throwable t) {
+                // should not happen, but be safe and fail the operator
+                clientCallback.clientFailed(StreamingPageBufferClient.this, t);
+            }
+        }, delayNanos, NANOSECONDS);
+
+        lastUpdate = DateTime.now();
+        requestsScheduled.incrementAndGet();
+    }
+
+    private synchronized void initiateRequest()
+    {
+        scheduled = false;
+        if (closed || failed) {
+            return;
+        }
+
+        if (channel == null) {
+            connect();
+        }
+        else if (completed) {
+            aborting = true;
+            channel.writeAndFlush(createAbortFrame(channel.alloc()));
+        }
+        else {
+            outstandingCredit = maxResponseSizeInBytes;
+            channel.writeAndFlush(createCreditFrame(channel.alloc(), maxResponseSizeInBytes));
+        }
+
+        lastUpdate = DateTime.now();
+    }
+
+    private synchronized void connect()
+    {
+        ChannelFuture future = connector.connect(location.getHost(), new StreamHandler());
+        connectFuture = future;
+        future.addListener((ChannelFuture result) -> {
+            if (!result.isSuccess()) {
+                connectFailed(result.cause());
+                return;
+            }
+            synchronized (StreamingPageBufferClient.this) {
+                if (closed) {
+                    result.channel().close();
+                    return;
+                }
+                channel = result.channel();
+                channel.write(createOpenFrame(channel.alloc(), connector.getSharedSecret(), taskId, bufferId, token));
+                outstandingCredit = maxResponseSizeInBytes;
+                channel.writeAndFlush(createCreditFrame(channel.alloc(), maxResponseSizeInBytes));
+                lastUpdate = DateTime.now();
+            }
+        });
+    }
+
+    private void connectFailed(Throwable cause)
+    {
+        checkNotHoldsLock(this);
+        log.debug("Connecting to %s failed %s", location, cause);
+
+        requestsFailed.incrementAndGet();
+        requestsCompleted.incrementAndGet();
+        if (backoff.failure()) {
+            String message = format("%s (%s - %s failures, failure duration %s, total failed request time %s)",
+                    WORKER_NODE_ERROR,
+                    location,
+                    backoff.getFailureCount(),
+                    backoff.getFailureDuration().convertTo(SECONDS),
+                    backoff.getFailureRequestTimeTotal().convertTo(SECONDS));
+            clientCallback.clientFailed(this, new PageTransportTimeoutException(fromUri(location), message, cause));
+        }
+
+        synchronized (this) {
+            connectFuture = null;
+            lastUpdate = DateTime.now();
+        }
+        clientCallback.requestComplete(this);
+    }
+
+    private void pagesReceived(BufferResult result)
+    {
+        checkNotHoldsLock(this);
+
+        List<SerializedPage> pages;
+        boolean requestComplete;
+        try {
+            synchronized (this) {
+                if (closed || failed) {
+                    return;
+                }
+                if (taskInstanceId == null) {
+                    taskInstanceId = result.getTaskInstanceId();
+                }
+                if (!taskInstanceId.equals(result.getTaskInstanceId())) {
+                    throw new PrestoException(REMOTE_TASK_MISMATCH, format("%s (%s)", REMOTE_TASK_MISMATCH_ERROR, fromUri(location)));
+                }
+                if (result.getToken() != token) {
+                    throw new PageTransportErrorException(format("Expected pages for token %s from %s, but got %s", token, location, result.getToken()));
+                }
+                pages = result.getSerializedPages();
+                token = result.getNextToken();
+                outstandingCredit -= pages.stream()
+                        .mapToLong(SerializedPage::getSizeInBytes)
+                        .sum();
+                if (result.isBufferComplete()) {
+                    completed = true;
+                    outstandingCredit = 0;
+                }
+                requestComplete = outstandingCredit <= 0;
+                if (requestComplete) {
+                    outstandingCredit = 0;
+                }
+                lastUpdate = DateTime.now();
+            }
+        }
+        catch (PrestoException e) {
+            streamFailed(e);
+            return;
+        }
+
+        backoff.success();
+        if (clientCallback.addPages(this, pages)) {
+            pagesReceived.addAndGet(pages.size());
+            rowsReceived.addAndGet(pages.stream().mapToLong(SerializedPage::getPositionCount).sum());
+        }
+        else {
+            pagesRejected.addAndGet(pages.size());
+            rowsRejected.addAndGet(pages.stream().mapToLong(SerializedPage::getPositionCount).sum());
+        }
+
+        if (requestComplete) {
+            requestsCompleted.incrementAndGet();
+            clientCallback.requestComplete(this);
+        }
+    }
+
+    private void aborted()
+    {
+        checkNotHoldsLock(this);
+
+        Channel channel;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            aborting = false;
+            channel = this.channel;
+            this.channel = null;
+            lastUpdate = DateTime.now();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        requestsCompleted.incrementAndGet();
+        clientCallback.clientFinished(this);
+    }
+
+    private void streamFailed(Throwable cause)
+    {
+        checkNotHoldsLock(this);
+
+        Channel channel;
+        synchronized (this) {
+            if (closed || failed) {
+                return;
+            }
+            failed = true;
+            channel = this.channel;
+            this.channel = null;
+            connectFuture = null;
+            outstandingCredit = 0;
+            aborting = false;
+            lastUpdate = DateTime.now();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+
+        log.debug("Stream from %s failed %s", location, cause);
+        if (cause instanceof TooLongFrameException) {
+            cause = new PageTooLargeException();
+        }
+        else if (!(cause instanceof PrestoException)) {
+            cause = new PageTransportErrorException(format("%s (%s)", WORKER_NODE_ERROR, location), cause);
+        }
+        requestsFailed.incrementAndGet();
+        requestsCompleted.incrementAndGet();
+        clientCallback.clientFailed(this, cause);
+    }
+
+    private static void checkNotHoldsLock(Object lock)
+    {
+        checkState(!Thread.holdsLock(lock), "Cannot execute this method while holding a lock");
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        StreamingPageBufferClient that = (StreamingPageBufferClient) o;
+        return location.equals(that.location);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return location.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        String state;
+        synchronized (this) {
+            if (closed) {
+                state = "CLOSED";
+            }
+            else if (outstandingCredit > 0) {
+                state = "RUNNING";
+            }
+            else {
+                state = "QUEUED";
+            }
+        }
+        return toStringHelper(this)
+                .add("location", location)
+                .addValue(state)
+                .toString();
+    }
+
+    /**
+     * Frames are handled on the event loop thread of the connection, in the order they were sent.
+     */
+    private class StreamHandler
+            extends SimpleChannelInboundHandler<ByteBuf>
+    {
+        @Override
+        protected void channelRead0(ChannelHandlerContext context, ByteBuf frame)
+        {
+            byte type = frame.readByte();
+            switch (type) {
+                case PAGES:
+                    pagesReceived(readPagesFrame(frame));
+                    return;
+                case ABORTED:
+                    aborted();
+                    return;
+                case ERROR:
+                    streamFailed(new PageTransportErrorException(format("Error fetching %s: %s", location, readString(frame))));
+                    return;
+                default:
+                    streamFailed(new PageTransportErrorException(format("Unknown frame type %s from %s", type, location)));
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext context, Throwable cause)
+        {
+            streamFailed(cause);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext context)
+        {
+            streamFailed(new PageTransportErrorException(format("Stream from %s was closed", location)));
+        }
+    }
+
+    private static class IgnoringHandler
+            extends SimpleChannelInboundHandler<ByteBuf>
+    {
+        @Override
+        protected void channelRead0(ChannelHandlerContext context, ByteBuf frame) {}
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext context, Throwable cause)
+        {
+            context.close();
+        }
+    }
+}
@@ -38,6 +38,7 @@ import com.facebook.presto.execution.TaskManagerConfig;
 import com.facebook.presto.execution.TaskStatus;
 import com.facebook.presto.execution.executor.MultilevelSplitQueue;
 import com.facebook.presto.execution.executor.TaskExecutor;
+import com.facebook.presto.execution.executor.WorkStealingSplitQueue;
 import com.facebook.presto.execution.scheduler.FlatNetworkTopology;
 import com.facebook.presto.execution.scheduler.LegacyNetworkTopology;
 import com.facebook.presto.execution.scheduler.NetworkTopology;
@@ -79,9 +80,14 @@ import com.facebook.presto.operator.LookupJoinOperators;
 import com.facebook.presto.operator.OperatorStats;
 import com.facebook.presto.operator.PagesIndex;
 import com.facebook.presto.operator.TableCommitContext;
+import com.facebook.presto.operator.fragmentresultcache.FragmentResultCacheConfig;
+import com.facebook.presto.operator.fragmentresultcache.FragmentResultCacheManager;
 import com.facebook.presto.operator.index.IndexJoinLookupStats;
+import com.facebook.presto.operator.streaming.StreamingExchangeConfig;
+import com.facebook.presto.operator.streaming.StreamingExchangeServer;
 import com.facebook.presto.server.remotetask.HttpLocationFactory;
 import com.facebook.presto.spi.ConnectorSplit;
+import com.facebook.presto.spi.ConnectorTableLayoutHandle;
 import com.facebook.presto.spi.PageIndexerFactory;
 import com.facebook.presto.spi.PageSorter;
 import com.facebook.presto.spi.block.Block;
@@ -298,9 +304,12 @@ public class ServerMainModule
         newExporter(binder).export(TaskManager.class).withGeneratedName();
         binder.bind(TaskExecutor.class).in(Scopes.SINGLETON);
         newExporter(binder).export(TaskExecutor.class).withGeneratedName();
-        binder.bind(MultilevelSplitQueue.class).in(Scopes.SINGLETON);
         newExporter(binder).export(MultilevelSplitQueue.class).withGeneratedName();
         binder.bind(LocalExecutionPlanner.class).in(Scopes.SINGLETON);
+        configBinder(binder).bindConfig(FragmentResultCacheConfig.class);
+        binder.bind(FragmentResultCacheManager.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(FragmentResultCacheManager.class).withGeneratedName();
+        jsonCodecBinder(binder).bindJsonCodec(ConnectorTableLayoutHandle.class);
         configBinder(binder).bindConfig(CompilerConfig.class);
         binder.bind(ExpressionCompiler.class).in(Scopes.SINGLETON);
         newExporter(binder).export(ExpressionCompiler.class).withGeneratedName();
@@ -346,6 +355,16 @@ public class ServerMainModule
         binder.bind(ExchangeExecutionMBean.class).in(Scopes.SINGLETON);
         newExporter(binder).export(ExchangeExecutionMBean.class).withGeneratedName();
 
+        // streaming exchange
+        configBinder(binder).bindConfig(StreamingExchangeConfig.class);
+        install(installModuleIf(
+                StreamingExchangeConfig.class,
+                StreamingExchangeConfig::isEnabled,
+                moduleBinder -> {
+                    moduleBinder.bind(StreamingExchangeServer.class).in(Scopes.SINGLETON);
+                    newExporter(moduleBinder).export(StreamingExchangeServer.class).withGeneratedName();
+                }));
+
         // execution
         binder.bind(LocationFactory.class).to(HttpLocationFactory.class).in(Scopes.SINGLETON);
 
@@ -486,6 +505,16 @@ public class ServerMainModule
         binder.bind(ExecutorCleanup.class).in(Scopes.SINGLETON);
     }
 
+    @Provides
+    @Singleton
+    public static MultilevelSplitQueue createSplitQueue(TaskManagerConfig config)
+    {
+        if (config.isWorkStealingSplitQueueEnabled()) {
+            return new WorkStealingSplitQueue(config);
+        }
+        return new MultilevelSplitQueue(config);
+    }
+
     @Provides
     @Singleton
     @ForExchange
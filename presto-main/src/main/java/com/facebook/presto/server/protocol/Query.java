@@ -30,6 +30,9 @@ import com.facebook.presto.execution.TaskInfo;
 import com.facebook.presto.execution.buffer.PagesSerde;
 import com.facebook.presto.execution.buffer.PagesSerdeFactory;
 import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.execution.resultcache.CachedQueryResult;
+import com.facebook.presto.execution.resultcache.QueryResultCache;
+import com.facebook.presto.execution.resultcache.QueryResultCacheWriter;
 import com.facebook.presto.metadata.SessionPropertyManager;
 import com.facebook.presto.operator.ExchangeClient;
 import com.facebook.presto.server.SessionContext;
@@ -75,7 +78,9 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.facebook.presto.SystemSessionProperties.isExchangeCompressionEnabled;
+import static com.facebook.presto.SystemSessionProperties.isQueryResultCacheEnabled;
 import static com.facebook.presto.execution.QueryState.FAILED;
+import static com.facebook.presto.execution.QueryState.FINISHED;
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static com.facebook.presto.util.Failures.toFailure;
 import static com.google.common.base.MoreObjects.firstNonNull;
@@ -101,6 +106,14 @@ class Query
     @GuardedBy("this")
     private final ExchangeClient exchangeClient;
 
+    private final QueryResultCache queryResultCache;
+
+    @GuardedBy("this")
+    private Optional<CachedQueryResult> cachedResult = Optional.empty();
+
+    @GuardedBy("this")
+    private Optional<QueryResultCacheWriter> resultCacheWriter = Optional.empty();
+
     private final Executor resultsProcessorExecutor;
     private final ScheduledExecutorService timeoutExecutor;
 
@@ -167,11 +180,12 @@ class Query
             QueryManager queryManager,
             SessionPropertyManager sessionPropertyManager,
             ExchangeClient exchangeClient,
+            QueryResultCache queryResultCache,
             Executor dataProcessorExecutor,
             ScheduledExecutorService timeoutExecutor,
             BlockEncodingSerde blockEncodingSerde)
     {
-        Query result = new Query(sessionContext, query, queryManager, sessionPropertyManager, exchangeClient, dataProcessorExecutor, timeoutExecutor, blockEncodingSerde);
+        Query result = new Query(sessionContext, query, queryManager, sessionPropertyManager, exchangeClient, queryResultCache, dataProcessorExecutor, timeoutExecutor, blockEncodingSerde);
 
         // register listeners after submission finishes
         addSuccessCallback(result.submissionFuture, () -> {
@@ -194,6 +208,7 @@ class Query
             QueryManager queryManager,
             SessionPropertyManager sessionPropertyManager,
             ExchangeClient exchangeClient,
+            QueryResultCache queryResultCache,
             Executor resultsProcessorExecutor,
             ScheduledExecutorService timeoutExecutor,
             BlockEncodingSerde blockEncodingSerde)
@@ -203,6 +218,7 @@ class Query
         requireNonNull(queryManager, "queryManager is null");
         requireNonNull(sessionPropertyManager, "sessionPropertyManager is null");
         requireNonNull(exchangeClient, "exchangeClient is null");
+        requireNonNull(queryResultCache, "queryResultCache is null");
         requireNonNull(resultsProcessorExecutor, "resultsProcessorExecutor is null");
         requireNonNull(timeoutExecutor, "timeoutExecutor is null");
         requireNonNull(blockEncodingSerde, "serde is null");
@@ -213,6 +229,7 @@ class Query
         queryId = queryManager.createQueryId();
         submissionFuture = new QuerySubmissionFuture(queryId, query, sessionContext, queryManager);
         this.exchangeClient = exchangeClient;
+        this.queryResultCache = queryResultCache;
         this.resultsProcessorExecutor = resultsProcessorExecutor;
         this.timeoutExecutor = timeoutExecutor;
         this.blockEncodingSerde = blockEncodingSerde;
@@ -238,6 +255,7 @@ class Query
     public synchronized void dispose()
     {
         exchangeClient.close();
+        resultCacheWriter.ifPresent(QueryResultCacheWriter::abort);
     }
 
     public QueryId getQueryId()
@@ -331,6 +349,11 @@ class Query
             return submissionFuture;
         }
 
+        // cached results are read from local disk, so there is no need to wait for them
+        if (cachedResult.isPresent() && !cachedResult.get().isFinished()) {
+            return immediateFuture(null);
+        }
+
         // if the exchange client is open, wait for data
         if (!exchangeClient.isClosed()) {
             return exchangeClient.isBlocked();
@@ -412,7 +435,8 @@ class Query
 
         if (session == null) {
             session = queryManager.getFullQueryInfo(queryId).getSession().toSession(sessionPropertyManager);
-            serde = new PagesSerdeFactory(blockEncodingSerde, isExchangeCompressionEnabled(session)).createPagesSerde();
+            // cached results may have been written by a query with exchange compression enabled
+            serde = new PagesSerdeFactory(blockEncodingSerde, isExchangeCompressionEnabled(session) || isQueryResultCacheEnabled(session)).createPagesSerde();
         }
 
         // Remove as many pages as possible from the exchange until just greater than DESIRED_RESULT_BYTES
@@ -427,7 +451,7 @@ class Query
             long rows = 0;
             long targetResultBytes = targetResultSize.toBytes();
             while (bytes < targetResultBytes) {
-                SerializedPage serializedPage = exchangeClient.pollPage();
+                SerializedPage serializedPage = pollPage();
                 if (serializedPage == null) {
                     break;
                 }
@@ -465,9 +489,10 @@ class Query
         }
 
         closeExchangeClientIfNecessary(queryInfo);
+        updateResultCacheWriter(queryInfo);
 
         // for queries with no output, return a fake result for clients that require it
-        if ((queryInfo.getState() == QueryState.FINISHED) && !queryInfo.getOutputStage().isPresent()) {
+        if ((queryInfo.getState() == QueryState.FINISHED) && !queryInfo.getOutputStage().isPresent() && !cachedResult.isPresent()) {
             columns = ImmutableList.of(new Column("result", BooleanType.BOOLEAN));
             data = ImmutableSet.of(ImmutableList.of(true));
         }
@@ -478,7 +503,8 @@ class Query
         // (2)there is more data to send (due to buffering)
         URI nextResultsUri = null;
         if (!queryInfo.isFinalQueryInfo() && !queryInfo.getState().equals(QueryState.FAILED)
-                || !exchangeClient.isClosed()) {
+                || !exchangeClient.isClosed()
+                || (cachedResult.isPresent() && !cachedResult.get().isFinished())) {
             nextResultsUri = createNextResultsUri(scheme, uriInfo);
         }
 
@@ -520,6 +546,36 @@ class Query
         return queryResults;
     }
 
+    private synchronized SerializedPage pollPage()
+    {
+        if (cachedResult.isPresent()) {
+            return cachedResult.get().pollPage();
+        }
+
+        SerializedPage page = exchangeClient.pollPage();
+        if (page != null) {
+            resultCacheWriter.ifPresent(writer -> writer.append(page));
+        }
+        return page;
+    }
+
+    private synchronized void updateResultCacheWriter(QueryInfo queryInfo)
+    {
+        if (!resultCacheWriter.isPresent()) {
+            return;
+        }
+
+        // the result is complete once the query has finished and all of its output has been read
+        if (queryInfo.getState() == FINISHED && exchangeClient.isClosed()) {
+            resultCacheWriter.get().commit();
+            resultCacheWriter = Optional.empty();
+        }
+        else if (queryInfo.getState().isDone()) {
+            resultCacheWriter.get().abort();
+            resultCacheWriter = Optional.empty();
+        }
+    }
+
     private synchronized void cacheLastResults(QueryResults queryResults)
     {
         // cache the last results
@@ -557,6 +613,15 @@ class Query
             }
             columns = list.build();
             types = outputInfo.getColumnTypes();
+
+            if (outputInfo.getCachedResult().isPresent()) {
+                // the result is served from the result cache, so there is no output stage to read from
+                cachedResult = outputInfo.getCachedResult();
+                exchangeClient.close();
+            }
+            else if (!exchangeClient.isClosed()) {
+                resultCacheWriter = outputInfo.getResultCacheKey().flatMap(queryResultCache::startWriting);
+            }
         }
 
         outputInfo.getBufferLocations().forEach(exchangeClient::addLocation);
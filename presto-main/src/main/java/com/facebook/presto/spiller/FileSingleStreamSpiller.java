@@ -20,7 +20,6 @@ import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.operator.SpillContext;
 import com.facebook.presto.spi.Page;
 import com.facebook.presto.spi.PrestoException;
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Closer;
@@ -47,7 +46,10 @@ import static com.facebook.presto.execution.buffer.PagesSerdeUtil.writeSerialize
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static com.facebook.presto.spiller.FileSingleStreamSpillerFactory.SPILL_FILE_PREFIX;
 import static com.facebook.presto.spiller.FileSingleStreamSpillerFactory.SPILL_FILE_SUFFIX;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Iterators.transform;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static java.nio.file.StandardOpenOption.APPEND;
 import static java.util.Objects.requireNonNull;
 
@@ -55,9 +57,6 @@ import static java.util.Objects.requireNonNull;
 public class FileSingleStreamSpiller
         implements SingleStreamSpiller
 {
-    @VisibleForTesting
-    static final int BUFFER_SIZE = 4 * 1024;
-
     private final FileHolder targetFile;
     private final Closer closer = Closer.create();
     private final PagesSerde serde;
@@ -65,6 +64,8 @@ public class FileSingleStreamSpiller
     private final SpillContext localSpillContext;
     private final LocalMemoryContext memoryContext;
     private final Optional<SpillCipher> spillCipher;
+    private final int bufferSize;
+    private final boolean readAheadEnabled;
 
     private final ListeningExecutorService executor;
 
@@ -79,7 +80,9 @@ public class FileSingleStreamSpiller
             SpillerStats spillerStats,
             SpillContext spillContext,
             LocalMemoryContext memoryContext,
-            Optional<SpillCipher> spillCipher)
+            Optional<SpillCipher> spillCipher,
+            int bufferSize,
+            boolean readAheadEnabled)
     {
         this.serde = requireNonNull(serde, "serde is null");
         this.executor = requireNonNull(executor, "executor is null");
@@ -88,6 +91,9 @@ public class FileSingleStreamSpiller
         this.memoryContext = requireNonNull(memoryContext, "memoryContext is null");
         this.spillCipher = requireNonNull(spillCipher, "spillCipher is null");
         checkState(!spillCipher.isPresent() || !spillCipher.get().isDestroyed(), "spillCipher is already destroyed");
+        checkArgument(bufferSize > 0, "bufferSize must be positive");
+        this.bufferSize = bufferSize;
+        this.readAheadEnabled = readAheadEnabled;
         this.spillCipher.ifPresent(cipher -> closer.register(cipher::destroy));
         // HACK!
         // The writePages() method is called in a separate thread pool and it's possible that
@@ -99,7 +105,7 @@ public class FileSingleStreamSpiller
         // This means we start accounting for the memory before the spiller thread allocates it, and we release the memory reservation
         // before/after the spiller thread allocates that memory -- -- whether before or after depends on whether writePages() is in the
         // middle of execution when close() is called (note that this applies to both readPages() and writePages() methods).
-        this.memoryContext.setBytes(BUFFER_SIZE);
+        this.memoryContext.setBytes(bufferSize);
         try {
             this.targetFile = closer.register(new FileHolder(Files.createTempFile(spillPath, SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX)));
         }
@@ -127,19 +133,23 @@ public class FileSingleStreamSpiller
     public Iterator<Page> getSpilledPages()
     {
         checkNoSpillInProgress();
-        return readPages();
+        return readPages(readAheadEnabled);
     }
 
     @Override
     public ListenableFuture<List<Page>> getAllSpilledPages()
     {
-        return executor.submit(() -> ImmutableList.copyOf(getSpilledPages()));
+        checkNoSpillInProgress();
+        // already reading in the background, so there is nothing to read ahead of
+        Iterator<Page> pages = readPages(false);
+        return executor.submit(() -> ImmutableList.copyOf(pages));
     }
 
     private void writePages(Iterator<Page> pageIterator)
     {
         checkState(writable, "Spilling no longer allowed. The spiller has been made non-writable on first read for subsequent reads to be consistent");
-        try (SliceOutput output = new OutputStreamSliceOutput(targetFile.newOutputStream(APPEND), BUFFER_SIZE)) {
+        // Serialized pages are accumulated in the buffer, so that the disk sees few large writes rather than one write per page
+        try (SliceOutput output = new OutputStreamSliceOutput(targetFile.newOutputStream(APPEND), bufferSize)) {
             while (pageIterator.hasNext()) {
                 Page page = pageIterator.next();
                 spilledPagesInMemorySize += page.getSizeInBytes();
@@ -147,6 +157,7 @@ public class FileSingleStreamSpiller
                 long pageSize = serializedPage.getSizeInBytes();
                 localSpillContext.updateBytes(pageSize);
                 spillerStats.addToTotalSpilledBytes(pageSize);
+                spillerStats.addToTotalSpilledUncompressedBytes(serializedPage.getUncompressedSizeInBytes());
                 writeSerializedPage(output, serializedPage);
             }
         }
@@ -155,14 +166,21 @@ public class FileSingleStreamSpiller
         }
     }
 
-    private Iterator<Page> readPages()
+    private Iterator<Page> readPages(boolean readAhead)
     {
         checkState(writable, "Repeated reads are disallowed to prevent potential resource leaks");
         writable = false;
 
         try {
             InputStream input = closer.register(targetFile.newInputStream());
-            Iterator<Page> pages = PagesSerdeUtil.readPages(serde, new InputStreamSliceInput(input, BUFFER_SIZE));
+            Iterator<SerializedPage> serializedPages = PagesSerdeUtil.readSerializedPages(new InputStreamSliceInput(input, bufferSize));
+            Iterator<Page> pages = transform(serializedPages, serializedPage -> {
+                spillerStats.addToTotalUnspilledBytes(serializedPage.getSizeInBytes());
+                return serde.deserialize(serializedPage);
+            });
+            if (readAhead) {
+                pages = new ReadAheadIterator<>(pages, executor);
+            }
             return closeWhenExhausted(pages, input);
         }
         catch (IOException e) {
@@ -211,4 +229,42 @@ public class FileSingleStreamSpiller
             }
         };
     }
+
+    /**
+     * Reads (and decompresses or decrypts) the next page on the spiller executor while the current one is being processed.
+     */
+    private static class ReadAheadIterator<T>
+            extends AbstractIterator<T>
+    {
+        private final Iterator<T> delegate;
+        private final ListeningExecutorService executor;
+        // at most one read is in progress, so the delegate is never accessed concurrently
+        private ListenableFuture<Optional<T>> next;
+
+        public ReadAheadIterator(Iterator<T> delegate, ListeningExecutorService executor)
+        {
+            this.delegate = requireNonNull(delegate, "delegate is null");
+            this.executor = requireNonNull(executor, "executor is null");
+        }
+
+        @Override
+        protected T computeNext()
+        {
+            if (next == null) {
+                next = readNext();
+            }
+            Optional<T> element = getFutureValue(next);
+            if (!element.isPresent()) {
+                next = null;
+                return endOfData();
+            }
+            next = readNext();
+            return element.get();
+        }
+
+        private ListenableFuture<Optional<T>> readNext()
+        {
+            return executor.submit(() -> delegate.hasNext() ? Optional.of(delegate.next()) : Optional.empty());
+        }
+    }
 }
@@ -38,13 +38,17 @@ import java.util.List;
 import java.util.Optional;
 
 import static com.facebook.presto.spi.StandardErrorCode.OUT_OF_SPILL_SPACE;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.util.concurrent.MoreExecutors.listeningDecorator;
 import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static java.lang.Math.max;
+import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
 import static java.nio.file.Files.createDirectories;
 import static java.nio.file.Files.delete;
 import static java.nio.file.Files.getFileStore;
 import static java.nio.file.Files.newDirectoryStream;
+import static java.util.Collections.nCopies;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 
@@ -59,27 +63,30 @@ public class FileSingleStreamSpillerFactory
     static final String SPILL_FILE_SUFFIX = ".bin";
     private static final String SPILL_FILE_GLOB = "spill*.bin";
 
-    private final ListeningExecutorService executor;
     private final PagesSerdeFactory serdeFactory;
     private final List<Path> spillPaths;
+    // executor for each of the spill paths, so that a slow disk does not hold up spilling to the others
+    private final List<ListeningExecutorService> executors;
     private final SpillerStats spillerStats;
     private final double maxUsedSpaceThreshold;
     private final boolean spillEncryptionEnabled;
+    private final int spillBufferSize;
+    private final boolean spillReadAheadEnabled;
     private int roundRobinIndex;
 
     @Inject
     public FileSingleStreamSpillerFactory(BlockEncodingSerde blockEncodingSerde, SpillerStats spillerStats, FeaturesConfig featuresConfig, NodeSpillConfig nodeSpillConfig)
     {
         this(
-                listeningDecorator(newFixedThreadPool(
-                        requireNonNull(featuresConfig, "featuresConfig is null").getSpillerThreads(),
-                        daemonThreadsNamed("binary-spiller-%s"))),
+                createExecutors(requireNonNull(featuresConfig, "featuresConfig is null").getSpillerSpillPaths(), featuresConfig.getSpillerThreads()),
                 blockEncodingSerde,
                 spillerStats,
-                requireNonNull(featuresConfig, "featuresConfig is null").getSpillerSpillPaths(),
-                requireNonNull(featuresConfig, "featuresConfig is null").getSpillMaxUsedSpaceThreshold(),
+                featuresConfig.getSpillerSpillPaths(),
+                featuresConfig.getSpillMaxUsedSpaceThreshold(),
                 requireNonNull(nodeSpillConfig, "nodeSpillConfig is null").isSpillCompressionEnabled(),
-                requireNonNull(nodeSpillConfig, "nodeSpillConfig is null").isSpillEncryptionEnabled());
+                nodeSpillConfig.isSpillEncryptionEnabled(),
+                toIntExact(nodeSpillConfig.getSpillBufferSize().toBytes()),
+                nodeSpillConfig.isSpillReadAheadEnabled());
     }
 
     @VisibleForTesting
@@ -91,9 +98,34 @@ public class FileSingleStreamSpillerFactory
             double maxUsedSpaceThreshold,
             boolean spillCompressionEnabled,
             boolean spillEncryptionEnabled)
+    {
+        this(
+                nCopies(requireNonNull(spillPaths, "spillPaths is null").size(), requireNonNull(executor, "executor is null")),
+                blockEncodingSerde,
+                spillerStats,
+                spillPaths,
+                maxUsedSpaceThreshold,
+                spillCompressionEnabled,
+                spillEncryptionEnabled,
+                toIntExact(new NodeSpillConfig().getSpillBufferSize().toBytes()),
+                new NodeSpillConfig().isSpillReadAheadEnabled());
+    }
+
+    @VisibleForTesting
+    public FileSingleStreamSpillerFactory(
+            List<ListeningExecutorService> executors,
+            BlockEncodingSerde blockEncodingSerde,
+            SpillerStats spillerStats,
+            List<Path> spillPaths,
+            double maxUsedSpaceThreshold,
+            boolean spillCompressionEnabled,
+            boolean spillEncryptionEnabled,
+            int spillBufferSize,
+            boolean spillReadAheadEnabled)
     {
         this.serdeFactory = new PagesSerdeFactory(requireNonNull(blockEncodingSerde, "blockEncodingSerde is null"), spillCompressionEnabled);
-        this.executor = requireNonNull(executor, "executor is null");
+        this.executors = ImmutableList.copyOf(requireNonNull(executors, "executors is null"));
+        checkArgument(executors.size() == spillPaths.size(), "there must be one executor for each spill path");
         this.spillerStats = requireNonNull(spillerStats, "spillerStats can not be null");
         requireNonNull(spillPaths, "spillPaths is null");
         this.spillPaths = ImmutableList.copyOf(spillPaths);
@@ -112,9 +144,22 @@ public class FileSingleStreamSpillerFactory
         });
         this.maxUsedSpaceThreshold = maxUsedSpaceThreshold;
         this.spillEncryptionEnabled = spillEncryptionEnabled;
+        this.spillBufferSize = spillBufferSize;
+        this.spillReadAheadEnabled = spillReadAheadEnabled;
         this.roundRobinIndex = 0;
     }
 
+    private static List<ListeningExecutorService> createExecutors(List<Path> spillPaths, int spillerThreads)
+    {
+        // the spiller threads are divided among the spill paths, which are assumed to be on separate disks
+        int threadsPerPath = max(1, (spillerThreads + spillPaths.size() - 1) / max(1, spillPaths.size()));
+        ImmutableList.Builder<ListeningExecutorService> executors = ImmutableList.builder();
+        for (int i = 0; i < spillPaths.size(); i++) {
+            executors.add(listeningDecorator(newFixedThreadPool(threadsPerPath, daemonThreadsNamed("binary-spiller-" + i + "-%s"))));
+        }
+        return executors.build();
+    }
+
     @PostConstruct
     public void cleanupOldSpillFiles()
     {
@@ -124,7 +169,9 @@ public class FileSingleStreamSpillerFactory
     @PreDestroy
     public void destroy()
     {
-        executor.shutdownNow();
+        executors.stream()
+                .distinct()
+                .forEach(ListeningExecutorService::shutdownNow);
     }
 
     private static void cleanupOldSpillFiles(Path path)
@@ -153,10 +200,20 @@ public class FileSingleStreamSpillerFactory
             spillCipher = Optional.of(new AesSpillCipher());
         }
         PagesSerde serde = serdeFactory.createPagesSerdeForSpill(spillCipher);
-        return new FileSingleStreamSpiller(serde, executor, getNextSpillPath(), spillerStats, spillContext, memoryContext, spillCipher);
+        int pathIndex = getNextSpillPathIndex();
+        return new FileSingleStreamSpiller(
+                serde,
+                executors.get(pathIndex),
+                spillPaths.get(pathIndex),
+                spillerStats,
+                spillContext,
+                memoryContext,
+                spillCipher,
+                spillBufferSize,
+                spillReadAheadEnabled);
     }
 
-    private synchronized Path getNextSpillPath()
+    private synchronized int getNextSpillPathIndex()
     {
         int spillPathsCount = spillPaths.size();
         for (int i = 0; i < spillPathsCount; ++i) {
@@ -164,7 +221,7 @@ public class FileSingleStreamSpillerFactory
             Path path = spillPaths.get(pathIndex);
             if (hasEnoughDiskSpace(path)) {
                 roundRobinIndex = (roundRobinIndex + i + 1) % spillPathsCount;
-                return path;
+                return pathIndex;
             }
         }
         if (spillPaths.isEmpty()) {
@@ -14,7 +14,10 @@
 package com.facebook.presto.spiller;
 
 import io.airlift.configuration.Config;
+import io.airlift.configuration.ConfigDescription;
 import io.airlift.units.DataSize;
+import io.airlift.units.MaxDataSize;
+import io.airlift.units.MinDataSize;
 
 import javax.validation.constraints.NotNull;
 
@@ -25,6 +28,8 @@ public class NodeSpillConfig
 
     private boolean spillCompressionEnabled;
     private boolean spillEncryptionEnabled;
+    private DataSize spillBufferSize = new DataSize(64, DataSize.Unit.KILOBYTE);
+    private boolean spillReadAheadEnabled = true;
 
     @NotNull
     public DataSize getMaxSpillPerNode()
@@ -75,4 +80,33 @@ public class NodeSpillConfig
         this.spillEncryptionEnabled = spillEncryptionEnabled;
         return this;
     }
+
+    @NotNull
+    @MinDataSize("4kB")
+    @MaxDataSize("16MB")
+    public DataSize getSpillBufferSize()
+    {
+        return spillBufferSize;
+    }
+
+    @Config("experimental.spill-buffer-size")
+    @ConfigDescription("Size of the buffer used by each spill file, which is also the size of the writes issued to disk")
+    public NodeSpillConfig setSpillBufferSize(DataSize spillBufferSize)
+    {
+        this.spillBufferSize = spillBufferSize;
+        return this;
+    }
+
+    public boolean isSpillReadAheadEnabled()
+    {
+        return spillReadAheadEnabled;
+    }
+
+    @Config("experimental.spill-read-ahead-enabled")
+    @ConfigDescription("Read and decode the next spilled page in the background while the current one is processed")
+    public NodeSpillConfig setSpillReadAheadEnabled(boolean spillReadAheadEnabled)
+    {
+        this.spillReadAheadEnabled = spillReadAheadEnabled;
+        return this;
+    }
 }
@@ -20,15 +20,58 @@ import java.util.concurrent.atomic.AtomicLong;
 public class SpillerStats
 {
     protected final AtomicLong totalSpilledBytes = new AtomicLong();
+    protected final AtomicLong totalSpilledUncompressedBytes = new AtomicLong();
+    protected final AtomicLong totalUnspilledBytes = new AtomicLong();
 
+    /**
+     * Bytes written to spill files.
+     */
     @Managed
     public long getTotalSpilledBytes()
     {
         return totalSpilledBytes.get();
     }
 
+    /**
+     * Serialized size of the spilled pages, before compression.
+     */
+    @Managed
+    public long getTotalSpilledUncompressedBytes()
+    {
+        return totalSpilledUncompressedBytes.get();
+    }
+
+    /**
+     * Bytes read back from spill files.
+     */
+    @Managed
+    public long getTotalUnspilledBytes()
+    {
+        return totalUnspilledBytes.get();
+    }
+
+    @Managed
+    public double getSpillCompressionRatio()
+    {
+        long spilledBytes = totalSpilledBytes.get();
+        if (spilledBytes == 0) {
+            return 1.0;
+        }
+        return totalSpilledUncompressedBytes.get() / (double) spilledBytes;
+    }
+
     public void addToTotalSpilledBytes(long delta)
     {
         totalSpilledBytes.addAndGet(delta);
     }
+
+    public void addToTotalSpilledUncompressedBytes(long delta)
+    {
+        totalSpilledUncompressedBytes.addAndGet(delta);
+    }
+
+    public void addToTotalUnspilledBytes(long delta)
+    {
+        totalUnspilledBytes.addAndGet(delta);
+    }
 }
@@ -124,6 +124,14 @@ public class FeaturesConfig
     private boolean optimizeTopNRowNumber = true;
     private boolean pushLimitThroughOuterJoin = true;
     private boolean optimizeFullOuterJoinWithCoalesce = true;
+    private boolean enableDynamicFiltering;
+    private boolean queryResultCacheEnabled;
+    private boolean fragmentResultCacheEnabled;
+    private boolean adaptivePartialAggregationEnabled = true;
+    private long adaptivePartialAggregationMinRows = 100_000;
+    private double adaptivePartialAggregationUniqueRowsRatioThreshold = 0.8;
+    private boolean joinBatchProbeEnabled;
+    private boolean partitionedOutputDirectSerializationEnabled;
 
     private Duration iterativeOptimizerTimeout = new Duration(3, MINUTES); // by default let optimizer wait a long time in case it retrieves some data from ConnectorMetadata
 
@@ -1084,4 +1092,111 @@ public class FeaturesConfig
     {
         return this.optimizeFullOuterJoinWithCoalesce;
     }
+
+    public boolean isEnableDynamicFiltering()
+    {
+        return enableDynamicFiltering;
+    }
+
+    @Config("experimental.enable-dynamic-filtering")
+    @ConfigDescription("Filter probe side table scans of a join using the join keys collected from the build side")
+    public FeaturesConfig setEnableDynamicFiltering(boolean enableDynamicFiltering)
+    {
+        this.enableDynamicFiltering = enableDynamicFiltering;
+        return this;
+    }
+
+    public boolean isQueryResultCacheEnabled()
+    {
+        return queryResultCacheEnabled;
+    }
+
+    @Config("experimental.query-result-cache-enabled")
+    @ConfigDescription("Serve the results of deterministic queries over unchanged tables from the coordinator result cache")
+    public FeaturesConfig setQueryResultCacheEnabled(boolean queryResultCacheEnabled)
+    {
+        this.queryResultCacheEnabled = queryResultCacheEnabled;
+        return this;
+    }
+
+    public boolean isFragmentResultCacheEnabled()
+    {
+        return fragmentResultCacheEnabled;
+    }
+
+    @Config("experimental.fragment-result-cache-enabled")
+    @ConfigDescription("Reuse the output of deterministic leaf pipelines computed on the same split by earlier queries")
+    public FeaturesConfig setFragmentResultCacheEnabled(boolean fragmentResultCacheEnabled)
+    {
+        this.fragmentResultCacheEnabled = fragmentResultCacheEnabled;
+        return this;
+    }
+
+    public boolean isAdaptivePartialAggregationEnabled()
+    {
+        return adaptivePartialAggregationEnabled;
+    }
+
+    @Config("experimental.adaptive-partial-aggregation-enabled")
+    @ConfigDescription("Pass the input of partial aggregations through to the final aggregation when they do not reduce the data")
+    public FeaturesConfig setAdaptivePartialAggregationEnabled(boolean adaptivePartialAggregationEnabled)
+    {
+        this.adaptivePartialAggregationEnabled = adaptivePartialAggregationEnabled;
+        return this;
+    }
+
+    @Min(0)
+    public long getAdaptivePartialAggregationMinRows()
+    {
+        return adaptivePartialAggregationMinRows;
+    }
+
+    @Config("experimental.adaptive-partial-aggregation-min-rows")
+    @ConfigDescription("Number of input rows a partial aggregation processes before its reduction is evaluated")
+    public FeaturesConfig setAdaptivePartialAggregationMinRows(long adaptivePartialAggregationMinRows)
+    {
+        this.adaptivePartialAggregationMinRows = adaptivePartialAggregationMinRows;
+        return this;
+    }
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    public double getAdaptivePartialAggregationUniqueRowsRatioThreshold()
+    {
+        return adaptivePartialAggregationUniqueRowsRatioThreshold;
+    }
+
+    @Config("experimental.adaptive-partial-aggregation-unique-rows-ratio-threshold")
+    @ConfigDescription("Partial aggregation is disabled when the ratio of groups to input rows exceeds this threshold")
+    public FeaturesConfig setAdaptivePartialAggregationUniqueRowsRatioThreshold(double adaptivePartialAggregationUniqueRowsRatioThreshold)
+    {
+        this.adaptivePartialAggregationUniqueRowsRatioThreshold = adaptivePartialAggregationUniqueRowsRatioThreshold;
+        return this;
+    }
+
+    public boolean isJoinBatchProbeEnabled()
+    {
+        return joinBatchProbeEnabled;
+    }
+
+    @Config("experimental.join-batch-probe-enabled")
+    @ConfigDescription("Look up the rows of a probe page in the join hash table in a single batch instead of one row at a time")
+    public FeaturesConfig setJoinBatchProbeEnabled(boolean joinBatchProbeEnabled)
+    {
+        this.joinBatchProbeEnabled = joinBatchProbeEnabled;
+        return this;
+    }
+
+    public boolean isPartitionedOutputDirectSerializationEnabled()
+    {
+        return partitionedOutputDirectSerializationEnabled;
+    }
+
+    @Config("experimental.partitioned-output-direct-serialization-enabled")
+    @ConfigDescription("Write the rows of partitioned output straight into serialized pages instead of building pages first")
+    public FeaturesConfig setPartitionedOutputDirectSerializationEnabled(boolean partitionedOutputDirectSerializationEnabled)
+    {
+        this.partitionedOutputDirectSerializationEnabled = partitionedOutputDirectSerializationEnabled;
+        return this;
+    }
 }
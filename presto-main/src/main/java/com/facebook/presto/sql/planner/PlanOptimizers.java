@@ -521,6 +521,7 @@ public class PlanOptimizers
                         new AddIntermediateAggregations(),
                         new RemoveRedundantIdentityProjections())));
 
+        // Connector optimizers usually see aggregations in their partial step. Joins are not accessible to them, as at this point the inputs of a join are usually separated by exchanges
         // TODO: Do not move other PlanNode to SPI until ApplyConnectorOptimization is moved to the end of logical planning (i.e., where AddExchanges lives)
         // TODO: Run PruneUnreferencedOutputs and UnaliasSymbolReferences once we have cleaned it up
         // Pass a supplier so that we pickup connector optimizers that are installed later
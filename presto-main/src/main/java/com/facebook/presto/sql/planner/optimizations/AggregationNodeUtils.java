@@ -14,12 +14,13 @@
 package com.facebook.presto.sql.planner.optimizations;
 
 import com.facebook.presto.metadata.FunctionManager;
+import com.facebook.presto.operator.aggregation.InternalAggregationFunction;
+import com.facebook.presto.spi.plan.AggregationNode;
 import com.facebook.presto.spi.relation.CallExpression;
 import com.facebook.presto.spi.relation.RowExpression;
 import com.facebook.presto.spi.relation.VariableReferenceExpression;
 import com.facebook.presto.sql.planner.TypeProvider;
 import com.facebook.presto.sql.planner.VariablesExtractor;
-import com.facebook.presto.sql.planner.plan.AggregationNode;
 import com.facebook.presto.sql.relational.FunctionResolution;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -50,6 +51,38 @@ public class AggregationNodeUtils
                 Optional.empty());
     }
 
+    public static boolean isDecomposable(AggregationNode node, FunctionManager functionManager)
+    {
+        boolean hasOrderBy = node.getAggregations().values().stream()
+                .map(AggregationNode.Aggregation::getOrderBy)
+                .anyMatch(Optional::isPresent);
+
+        boolean hasDistinct = node.getAggregations().values().stream()
+                .anyMatch(AggregationNode.Aggregation::isDistinct);
+
+        boolean decomposableFunctions = node.getAggregations().values().stream()
+                .map(AggregationNode.Aggregation::getFunctionHandle)
+                .map(functionManager::getAggregateFunctionImplementation)
+                .allMatch(InternalAggregationFunction::isDecomposable);
+
+        return !hasOrderBy && !hasDistinct && decomposableFunctions;
+    }
+
+    public static boolean hasSingleNodeExecutionPreference(AggregationNode node, FunctionManager functionManager)
+    {
+        // There are two kinds of aggregations the have single node execution preference:
+        //
+        // 1. aggregations with only empty grouping sets like
+        //
+        // SELECT count(*) FROM lineitem;
+        //
+        // there is no need for distributed aggregation. Single node FINAL aggregation will suffice,
+        // since all input have to be aggregated into one line output.
+        //
+        // 2. aggregations that must produce default output and are not decomposable, we can not distribute them.
+        return (node.hasEmptyGroupingSet() && !node.hasNonEmptyGroupingSet()) || (node.hasDefaultOutput() && !isDecomposable(node, functionManager));
+    }
+
     public static Set<VariableReferenceExpression> extractAggregationUniqueVariables(AggregationNode.Aggregation aggregation, TypeProvider types)
     {
         // types will be no longer needed once everything is RowExpression.
@@ -290,4 +290,16 @@ public final class FunctionResolution
     {
         return functionManager.lookupFunction("min", fromTypes(valueType));
     }
+
+    @Override
+    public boolean isSumFunction(FunctionHandle functionHandle)
+    {
+        return functionManager.getFunctionMetadata(functionHandle).getName().equals(FullyQualifiedName.of(DEFAULT_NAMESPACE, "sum"));
+    }
+
+    @Override
+    public FunctionHandle sumFunction(Type valueType)
+    {
+        return functionManager.lookupFunction("sum", fromTypes(valueType));
+    }
 }
@@ -444,6 +444,10 @@ public abstract class AbstractTestBlock
             Block segment = blockBuilder.build();
 
             assertTrue(block.equals(position, offset, segment, 0, 0, 3));
+
+            DynamicSliceOutput sliceOutput = new DynamicSliceOutput(3);
+            block.writeBytesTo(position, offset, 3, sliceOutput);
+            assertEquals(sliceOutput.slice(), expectedSliceValue.slice(offset, 3));
         }
     }
 
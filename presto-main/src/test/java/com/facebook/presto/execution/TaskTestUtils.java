@@ -29,8 +29,11 @@ import com.facebook.presto.operator.LookupJoinOperators;
 import com.facebook.presto.operator.PagesIndex;
 import com.facebook.presto.operator.StageExecutionDescriptor;
 import com.facebook.presto.operator.TableCommitContext;
+import com.facebook.presto.operator.fragmentresultcache.FragmentResultCacheConfig;
+import com.facebook.presto.operator.fragmentresultcache.FragmentResultCacheManager;
 import com.facebook.presto.operator.index.IndexJoinLookupStats;
 import com.facebook.presto.spi.ConnectorId;
+import com.facebook.presto.spi.ConnectorTableLayoutHandle;
 import com.facebook.presto.spi.TableHandle;
 import com.facebook.presto.spi.connector.ConnectorTransactionHandle;
 import com.facebook.presto.spi.plan.PlanNodeId;
@@ -159,7 +162,9 @@ public final class TaskTestUtils
                 new JoinCompiler(MetadataManager.createTestMetadataManager(), new FeaturesConfig()),
                 new LookupJoinOperators(),
                 new OrderingCompiler(),
-                jsonCodec(TableCommitContext.class));
+                jsonCodec(TableCommitContext.class),
+                new FragmentResultCacheManager(new FragmentResultCacheConfig(), new BlockEncodingManager(new TestingTypeManager())),
+                jsonCodec(ConnectorTableLayoutHandle.class));
     }
 
     public static TaskInfo updateTask(SqlTask sqlTask, List<TaskSource> taskSources, OutputBuffers outputBuffers)
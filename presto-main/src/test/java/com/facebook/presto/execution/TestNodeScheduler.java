@@ -54,6 +54,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static com.facebook.presto.execution.scheduler.NetworkLocation.ROOT_LOCATION;
+import static com.google.common.collect.MoreCollectors.onlyElement;
 import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.Executors.newCachedThreadPool;
@@ -324,6 +325,39 @@ public class TestNodeScheduler
         assertEquals(nodeTaskMap.getPartitionedSplitsOnNode(newNode), 0);
     }
 
+    @Test
+    public void testSoftAffinity()
+    {
+        TestingTransactionHandle transactionHandle = TestingTransactionHandle.create();
+        InternalNode preferredNode = nodeManager.getActiveConnectorNodes(CONNECTOR_ID).stream()
+                .filter(node -> node.getNodeIdentifier().equals("other3"))
+                .collect(onlyElement());
+
+        Set<Split> splits = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            splits.add(new Split(CONNECTOR_ID, transactionHandle, new TestSplitSoftAffinity(2)));
+        }
+        Multimap<InternalNode, Split> assignments = nodeSelector.computeAssignments(splits, ImmutableList.copyOf(taskMap.values())).getAssignments();
+        assertEquals(assignments.size(), 5);
+        assertEquals(assignments.keySet(), ImmutableSet.of(preferredNode));
+
+        // splits are assigned to other nodes when the preferred node is full
+        MockRemoteTaskFactory remoteTaskFactory = new MockRemoteTaskFactory(remoteTaskExecutor, remoteTaskScheduledExecutor);
+        TaskId taskId = new TaskId("test", 1, 1);
+        ImmutableList.Builder<Split> initialSplits = ImmutableList.builder();
+        for (int i = 0; i < 20; i++) {
+            initialSplits.add(new Split(CONNECTOR_ID, transactionHandle, new TestSplitRemote()));
+        }
+        RemoteTask remoteTask = remoteTaskFactory.createTableScanTask(taskId, preferredNode, initialSplits.build(), nodeTaskMap.createPartitionedSplitCountTracker(preferredNode, taskId));
+        nodeTaskMap.addTask(preferredNode, remoteTask);
+
+        assignments = nodeSelector.computeAssignments(splits, ImmutableList.copyOf(taskMap.values())).getAssignments();
+        assertEquals(assignments.size(), 5);
+        assertFalse(assignments.keySet().contains(preferredNode));
+
+        remoteTask.abort();
+    }
+
     @Test
     public void testMaxSplitsPerNodePerTask()
     {
@@ -480,6 +514,23 @@ public class TestNodeScheduler
         }
     }
 
+    private static class TestSplitSoftAffinity
+            extends TestSplitRemote
+    {
+        private final int preferredCandidate;
+
+        public TestSplitSoftAffinity(int preferredCandidate)
+        {
+            this.preferredCandidate = preferredCandidate;
+        }
+
+        @Override
+        public List<HostAddress> getPreferredNodes(List<HostAddress> candidates)
+        {
+            return ImmutableList.of(candidates.get(preferredCandidate));
+        }
+    }
+
     private static class TestNetworkTopology
             implements NetworkTopology
     {
@@ -69,6 +69,10 @@ public class TestQueryStats
                     succinctBytes(128L),
                     succinctBytes(129L),
                     succinctBytes(130L),
+                    131L,
+                    132L,
+                    133L,
+                    134L,
                     Optional.empty(),
                     null),
             new OperatorStats(
@@ -102,6 +106,10 @@ public class TestQueryStats
                     succinctBytes(228L),
                     succinctBytes(229L),
                     succinctBytes(230L),
+                    231L,
+                    232L,
+                    233L,
+                    234L,
                     Optional.empty(),
                     null),
             new OperatorStats(
@@ -135,6 +143,10 @@ public class TestQueryStats
                     succinctBytes(328L),
                     succinctBytes(329L),
                     succinctBytes(330L),
+                    331L,
+                    332L,
+                    333L,
+                    334L,
                     Optional.empty(),
                     null));
 
@@ -249,6 +261,8 @@ public class TestQueryStats
         assertEquals(actual.getPeakTaskUserMemory(), new DataSize(22, BYTE));
         assertEquals(actual.getPeakTaskTotalMemory(), new DataSize(23, BYTE));
         assertEquals(actual.getSpilledDataSize(), new DataSize(690, BYTE));
+        assertEquals(actual.getFragmentResultCacheHits(), 693);
+        assertEquals(actual.getFragmentResultCacheMisses(), 696);
 
         assertEquals(actual.getTotalScheduledTime(), new Duration(20, NANOSECONDS));
         assertEquals(actual.getTotalCpuTime(), new Duration(21, NANOSECONDS));
@@ -0,0 +1,180 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.executor;
+
+import com.facebook.presto.execution.SplitRunner;
+import com.facebook.presto.execution.TaskId;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.units.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.util.concurrent.Futures.allAsList;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Measures how many short splits the {@link TaskExecutor} can run per second with each split queue.
+ */
+@SuppressWarnings("MethodMayBeStatic")
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.Throughput)
+public class BenchmarkTaskExecutor
+{
+    private static final int TASKS = 16;
+    private static final int SPLITS_PER_TASK = 256;
+    private static final int QUANTA_PER_SPLIT = 4;
+    private static final int WORK_PER_QUANTA = 1_000;
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS * SPLITS_PER_TASK)
+    public Object runSplits(BenchmarkData data)
+    {
+        List<ListenableFuture<?>> futures = new ArrayList<>(TASKS * SPLITS_PER_TASK);
+        for (TaskHandle taskHandle : data.getTaskHandles()) {
+            ImmutableList.Builder<SplitRunner> splits = ImmutableList.builder();
+            for (int i = 0; i < SPLITS_PER_TASK; i++) {
+                splits.add(new ShortSplit());
+            }
+            futures.addAll(data.getTaskExecutor().enqueueSplits(taskHandle, false, splits.build()));
+        }
+        return getFutureValue(allAsList(futures));
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        @Param({"1", "8", "32", "96"})
+        private int threads = 8;
+
+        @Param({"false", "true"})
+        private boolean workStealing;
+
+        private TaskExecutor taskExecutor;
+        private List<TaskHandle> taskHandles;
+
+        @Setup
+        public void setup()
+        {
+            MultilevelSplitQueue splitQueue = workStealing ? new WorkStealingSplitQueue(2, threads) : new MultilevelSplitQueue(2);
+            taskExecutor = new TaskExecutor(threads, threads * 2, 3, Integer.MAX_VALUE, splitQueue, Ticker.systemTicker());
+            taskExecutor.start();
+
+            ImmutableList.Builder<TaskHandle> taskHandles = ImmutableList.builder();
+            for (int i = 0; i < TASKS; i++) {
+                taskHandles.add(taskExecutor.addTask(new TaskId("benchmark", 0, i), () -> 0, 10, new Duration(1, MILLISECONDS), OptionalInt.empty()));
+            }
+            this.taskHandles = taskHandles.build();
+        }
+
+        @TearDown
+        public void tearDown()
+        {
+            for (TaskHandle taskHandle : taskHandles) {
+                taskExecutor.removeTask(taskHandle);
+            }
+            taskExecutor.stop();
+        }
+
+        public TaskExecutor getTaskExecutor()
+        {
+            return taskExecutor;
+        }
+
+        public List<TaskHandle> getTaskHandles()
+        {
+            return taskHandles;
+        }
+    }
+
+    private static class ShortSplit
+            implements SplitRunner
+    {
+        private int remainingQuanta = QUANTA_PER_SPLIT;
+
+        @Override
+        public boolean isFinished()
+        {
+            return remainingQuanta == 0;
+        }
+
+        @Override
+        public ListenableFuture<?> processFor(Duration duration)
+        {
+            Blackhole.consumeCPU(WORK_PER_QUANTA);
+            remainingQuanta--;
+            return Futures.immediateFuture(null);
+        }
+
+        @Override
+        public String getInfo()
+        {
+            return "short split";
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    public static void main(String[] args)
+            throws RunnerException
+    {
+        // assure the benchmarks are valid before running
+        BenchmarkData data = new BenchmarkData();
+        data.setup();
+        try {
+            new BenchmarkTaskExecutor().runSplits(data);
+        }
+        finally {
+            data.tearDown();
+        }
+
+        Options options = new OptionsBuilder()
+                .verbosity(VerboseMode.NORMAL)
+                .include(".*" + BenchmarkTaskExecutor.class.getSimpleName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+}
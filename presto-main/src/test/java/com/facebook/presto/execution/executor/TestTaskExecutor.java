@@ -21,6 +21,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.airlift.testing.TestingTicker;
 import io.airlift.units.Duration;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
@@ -212,12 +213,12 @@ public class TestTaskExecutor
         }
     }
 
-    @Test(invocationCount = 100)
-    public void testLevelMultipliers()
+    @Test(invocationCount = 100, dataProvider = "workStealing")
+    public void testLevelMultipliers(boolean workStealing)
             throws Exception
     {
         TestingTicker ticker = new TestingTicker();
-        TaskExecutor taskExecutor = new TaskExecutor(1, 3, 3, 4, new MultilevelSplitQueue(2), ticker);
+        TaskExecutor taskExecutor = new TaskExecutor(1, 3, 3, 4, createSplitQueue(workStealing, 1), ticker);
         taskExecutor.start();
         ticker.increment(20, MILLISECONDS);
 
@@ -370,11 +371,11 @@ public class TestTaskExecutor
         }
     }
 
-    @Test(timeOut = 30_000)
-    public void testMinMaxDriversPerTask()
+    @Test(timeOut = 30_000, dataProvider = "workStealing")
+    public void testMinMaxDriversPerTask(boolean workStealing)
     {
         int maxDriversPerTask = 2;
-        MultilevelSplitQueue splitQueue = new MultilevelSplitQueue(2);
+        MultilevelSplitQueue splitQueue = createSplitQueue(workStealing, 4);
         TestingTicker ticker = new TestingTicker();
         TaskExecutor taskExecutor = new TaskExecutor(4, 16, 1, maxDriversPerTask, splitQueue, ticker);
         taskExecutor.start();
@@ -449,6 +450,20 @@ public class TestTaskExecutor
         }
     }
 
+    @DataProvider
+    public static Object[][] workStealing()
+    {
+        return new Object[][] {{false}, {true}};
+    }
+
+    private static MultilevelSplitQueue createSplitQueue(boolean workStealing, int runnerThreads)
+    {
+        if (workStealing) {
+            return new WorkStealingSplitQueue(2, runnerThreads);
+        }
+        return new MultilevelSplitQueue(2);
+    }
+
     private void assertSplitStates(int endIndex, TestingJob[] splits)
     {
         // assert that splits up to and including endIndex are all started
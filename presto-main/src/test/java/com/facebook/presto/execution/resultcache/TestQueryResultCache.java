@@ -0,0 +1,178 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.resultcache;
+
+import com.facebook.presto.execution.buffer.PagesSerde;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.spi.Page;
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.SequencePageBuilder.createSequencePage;
+import static com.facebook.presto.execution.buffer.TestingPagesSerdeFactory.testingPagesSerde;
+import static com.facebook.presto.operator.PageAssertions.assertPageEquals;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.Files.exists;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
+public class TestQueryResultCache
+{
+    private final PagesSerde serde = testingPagesSerde();
+    private Path path;
+
+    @BeforeMethod
+    public void setUp()
+            throws IOException
+    {
+        path = createTempDirectory(getClass().getSimpleName());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(path, ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testReadCommittedResult()
+    {
+        QueryResultCache cache = new QueryResultCache(path, new DataSize(10, MEGABYTE), new DataSize(1, MEGABYTE));
+        List<Page> pages = ImmutableList.of(createSequencePage(ImmutableList.of(BIGINT), 100, 0), createSequencePage(ImmutableList.of(BIGINT), 50, 100));
+
+        assertFalse(cache.get("key").isPresent());
+        QueryResultCacheWriter writer = cache.startWriting("key").get();
+
+        // the result is not visible or writable by another query until it is committed
+        assertFalse(cache.startWriting("key").isPresent());
+        assertFalse(cache.get("key").isPresent());
+
+        pages.forEach(page -> writer.append(serde.serialize(page)));
+        writer.commit();
+        assertEquals(cache.getCachedResults(), 1);
+        assertFalse(cache.startWriting("key").isPresent());
+
+        CachedQueryResult result = cache.get("key").get();
+        assertFalse(result.isFinished());
+        for (Page page : pages) {
+            SerializedPage serializedPage = result.pollPage();
+            assertPageEquals(ImmutableList.of(BIGINT), serde.deserialize(serializedPage), page);
+        }
+        assertNull(result.pollPage());
+        assertTrue(result.isFinished());
+        assertTrue(result.getFinishedFuture().isDone());
+
+        assertEquals(cache.getHits().getTotalCount(), 1);
+        assertEquals(cache.getMisses().getTotalCount(), 2);
+    }
+
+    @Test
+    public void testDirectoryCreatedOnFirstWrite()
+    {
+        Path directory = path.resolve("cache");
+        QueryResultCache cache = new QueryResultCache(directory, new DataSize(10, MEGABYTE), new DataSize(1, MEGABYTE));
+        assertFalse(cache.get("key").isPresent());
+        assertFalse(exists(directory));
+
+        QueryResultCacheWriter writer = cache.startWriting("key").get();
+        assertTrue(exists(directory));
+        writer.append(serde.serialize(createSequencePage(ImmutableList.of(BIGINT), 100, 0)));
+        writer.commit();
+        assertTrue(cache.get("key").isPresent());
+    }
+
+    @Test
+    public void testAbort()
+    {
+        QueryResultCache cache = new QueryResultCache(path, new DataSize(10, MEGABYTE), new DataSize(1, MEGABYTE));
+
+        QueryResultCacheWriter writer = cache.startWriting("key").get();
+        writer.append(serde.serialize(createSequencePage(ImmutableList.of(BIGINT), 100, 0)));
+        writer.abort();
+
+        assertFalse(cache.get("key").isPresent());
+        assertEquals(cache.getSizeInBytes(), 0);
+        assertTrue(cache.startWriting("key").isPresent());
+    }
+
+    @Test
+    public void testMaxEntrySize()
+    {
+        QueryResultCache cache = new QueryResultCache(path, new DataSize(10, MEGABYTE), new DataSize(1000, BYTE));
+
+        QueryResultCacheWriter writer = cache.startWriting("key").get();
+        writer.append(serde.serialize(createSequencePage(ImmutableList.of(BIGINT), 1000, 0)));
+        assertTrue(writer.isDone());
+        writer.commit();
+
+        assertFalse(cache.get("key").isPresent());
+        assertEquals(cache.getCachedResults(), 0);
+    }
+
+    @Test
+    public void testEviction()
+    {
+        SerializedPage page = serde.serialize(createSequencePage(ImmutableList.of(BIGINT), 100, 0));
+        long entrySize = writeEntry(new QueryResultCache(path, new DataSize(1, MEGABYTE), new DataSize(1, MEGABYTE)), "size", page);
+
+        // room for two results
+        QueryResultCache cache = new QueryResultCache(path, new DataSize(entrySize * 2, BYTE), new DataSize(entrySize, BYTE));
+        writeEntry(cache, "first", page);
+        writeEntry(cache, "second", page);
+
+        // reading the first result makes the second the least recently used
+        Optional<CachedQueryResult> first = cache.get("first");
+        assertTrue(first.isPresent());
+
+        writeEntry(cache, "third", page);
+        assertEquals(cache.getCachedResults(), 2);
+        assertEquals(cache.getEvictions().getTotalCount(), 1);
+        assertFalse(cache.get("second").isPresent());
+        assertTrue(cache.get("third").isPresent());
+
+        // a result that is being read can be evicted and still be read to the end
+        writeEntry(cache, "fourth", page);
+        writeEntry(cache, "fifth", page);
+        assertFalse(cache.get("first").isPresent());
+        assertEquals(first.get().pollPage().getPositionCount(), 100);
+        assertNull(first.get().pollPage());
+    }
+
+    private static long writeEntry(QueryResultCache cache, String key, SerializedPage page)
+    {
+        long sizeBefore = cache.getSizeInBytes();
+        QueryResultCacheWriter writer = cache.startWriting(key).get();
+        writer.append(page);
+        writer.commit();
+        assertTrue(cache.getSizeInBytes() > 0);
+        return cache.getSizeInBytes() - sizeBefore;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.execution.resultcache;
+
+import com.facebook.presto.Session;
+import com.facebook.presto.execution.warnings.WarningCollector;
+import com.facebook.presto.spi.security.Identity;
+import com.facebook.presto.sql.planner.Plan;
+import com.facebook.presto.testing.LocalQueryRunner;
+import com.facebook.presto.tpch.TpchConnectorFactory;
+import com.google.common.collect.ImmutableMap;
+import org.intellij.lang.annotations.Language;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+import static com.facebook.presto.SystemSessionProperties.QUERY_RESULT_CACHE_ENABLED;
+import static com.facebook.presto.execution.resultcache.QueryResultCacheKeys.computeResultCacheKey;
+import static com.facebook.presto.testing.TestingSession.testSessionBuilder;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestQueryResultCacheKeys
+{
+    private LocalQueryRunner queryRunner;
+
+    @BeforeClass
+    public void setUp()
+    {
+        queryRunner = new LocalQueryRunner(testSessionBuilder()
+                .setCatalog("local")
+                .setSchema("tiny")
+                .setSystemProperty(QUERY_RESULT_CACHE_ENABLED, "true")
+                .build());
+
+        queryRunner.createCatalog(queryRunner.getDefaultSession().getCatalog().get(),
+                new TpchConnectorFactory(1),
+                ImmutableMap.of());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        if (queryRunner != null) {
+            queryRunner.close();
+            queryRunner = null;
+        }
+    }
+
+    @Test
+    public void testKeyIsDeterministic()
+    {
+        Optional<String> key = computeKey("SELECT x + 1 FROM (VALUES 1, 2, 3) t(x) WHERE x > 1");
+        assertTrue(key.isPresent());
+        assertEquals(computeKey("SELECT x + 1 FROM (VALUES 1, 2, 3) t(x) WHERE x > 1"), key);
+    }
+
+    @Test
+    public void testKeyDependsOnQuery()
+    {
+        Optional<String> key = computeKey("SELECT x + 1 FROM (VALUES 1, 2, 3) t(x)");
+        assertTrue(key.isPresent());
+        assertNotEquals(computeKey("SELECT x + 2 FROM (VALUES 1, 2, 3) t(x)"), key);
+    }
+
+    @Test
+    public void testKeyDependsOnSession()
+    {
+        @Language("SQL") String sql = "SELECT x + 1 FROM (VALUES 1, 2, 3) t(x)";
+        Optional<String> key = computeKey(sql);
+        assertTrue(key.isPresent());
+
+        Session otherProperties = Session.builder(queryRunner.getDefaultSession())
+                .setSystemProperty("hash_partition_count", "7")
+                .build();
+        assertNotEquals(computeKey(otherProperties, sql), key);
+
+        Session otherUser = testSessionBuilder()
+                .setCatalog("local")
+                .setSchema("tiny")
+                .setSystemProperty(QUERY_RESULT_CACHE_ENABLED, "true")
+                .setIdentity(new Identity("other_user", Optional.empty()))
+                .build();
+        assertNotEquals(computeKey(otherUser, sql), key);
+    }
+
+    @Test
+    public void testDisabledCacheHasNoKey()
+    {
+        Session disabled = Session.builder(queryRunner.getDefaultSession())
+                .setSystemProperty(QUERY_RESULT_CACHE_ENABLED, "false")
+                .build();
+        assertFalse(computeKey(disabled, "SELECT x + 1 FROM (VALUES 1, 2, 3) t(x)").isPresent());
+    }
+
+    @Test
+    public void testNonDeterministicQueryHasNoKey()
+    {
+        assertFalse(computeKey("SELECT rand()").isPresent());
+        assertFalse(computeKey("SELECT x FROM (VALUES 1, 2, 3) t(x) WHERE rand() > 0.5").isPresent());
+    }
+
+    @Test
+    public void testSessionTimeFunctionIsNotShared()
+    {
+        // the function may be folded into a constant of the query start time, which then becomes part of the key
+        @Language("SQL") String sql = "SELECT now()";
+        Optional<String> key = computeKey(Session.builder(queryRunner.getDefaultSession()).setStartTime(0).build(), sql);
+        Optional<String> laterKey = computeKey(Session.builder(queryRunner.getDefaultSession()).setStartTime(86_400_000).build(), sql);
+        assertTrue(!key.isPresent() || !key.equals(laterKey));
+    }
+
+    @Test
+    public void testTableWithoutVersionHasNoKey()
+    {
+        // the tpch connector does not provide table versions
+        assertFalse(computeKey("SELECT count(*) FROM nation").isPresent());
+    }
+
+    private Optional<String> computeKey(@Language("SQL") String sql)
+    {
+        return computeKey(queryRunner.getDefaultSession(), sql);
+    }
+
+    private Optional<String> computeKey(Session session, @Language("SQL") String sql)
+    {
+        return queryRunner.inTransaction(session, transactionSession -> {
+            Plan plan = queryRunner.createPlan(transactionSession, sql, WarningCollector.NOOP);
+            return computeResultCacheKey(transactionSession, queryRunner.getMetadata(), plan);
+        });
+    }
+}
@@ -21,11 +21,11 @@ import com.facebook.presto.operator.StreamingAggregationOperator.StreamingAggreg
 import com.facebook.presto.operator.aggregation.InternalAggregationFunction;
 import com.facebook.presto.spi.Page;
 import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.plan.AggregationNode;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.facebook.presto.spiller.SpillerFactory;
 import com.facebook.presto.sql.analyzer.FeaturesConfig;
 import com.facebook.presto.sql.gen.JoinCompiler;
-import com.facebook.presto.sql.planner.plan.AggregationNode;
 import com.facebook.presto.testing.TestingTaskContext;
 import com.google.common.collect.ImmutableList;
 import io.airlift.units.DataSize;
@@ -96,7 +96,7 @@ public class BenchmarkHashAndStreamingAggregationOperators
         @Param({"1", "10", "1000"})
         public int rowsPerGroup;
 
-        @Param({"streaming", "hash"})
+        @Param({"streaming", "hash", "partial", "adaptive_partial"})
         public String operatorType;
 
         private ExecutorService executor;
@@ -112,7 +112,7 @@ public class BenchmarkHashAndStreamingAggregationOperators
 
             int groupsPerPage = ROWS_PER_PAGE / rowsPerGroup;
 
-            boolean hashAggregation = operatorType.equalsIgnoreCase("hash");
+            boolean hashAggregation = !operatorType.equalsIgnoreCase("streaming");
 
             RowPagesBuilder pagesBuilder = RowPagesBuilder.rowPagesBuilder(hashAggregation, ImmutableList.of(0), VARCHAR, BIGINT);
             for (int i = 0; i < TOTAL_PAGES; i++) {
@@ -126,8 +126,15 @@ public class BenchmarkHashAndStreamingAggregationOperators
 
             pages = pagesBuilder.build();
 
-            if (hashAggregation) {
-                operatorFactory = createHashAggregationOperatorFactory(pagesBuilder.getHashChannel());
+            if (operatorType.equalsIgnoreCase("hash")) {
+                operatorFactory = createHashAggregationOperatorFactory(pagesBuilder.getHashChannel(), AggregationNode.Step.SINGLE, Optional.empty());
+            }
+            else if (operatorType.equalsIgnoreCase("partial")) {
+                operatorFactory = createHashAggregationOperatorFactory(pagesBuilder.getHashChannel(), AggregationNode.Step.PARTIAL, Optional.empty());
+            }
+            else if (operatorType.equalsIgnoreCase("adaptive_partial")) {
+                PartialAggregationController partialAggregationController = new PartialAggregationController(100_000, 0.8);
+                operatorFactory = createHashAggregationOperatorFactory(pagesBuilder.getHashChannel(), AggregationNode.Step.PARTIAL, Optional.of(partialAggregationController));
             }
             else {
                 operatorFactory = createStreamingAggregationOperatorFactory();
@@ -148,7 +155,7 @@ public class BenchmarkHashAndStreamingAggregationOperators
                     new JoinCompiler(metadata, new FeaturesConfig()));
         }
 
-        private OperatorFactory createHashAggregationOperatorFactory(Optional<Integer> hashChannel)
+        private OperatorFactory createHashAggregationOperatorFactory(Optional<Integer> hashChannel, AggregationNode.Step step, Optional<PartialAggregationController> partialAggregationController)
         {
             JoinCompiler joinCompiler = new JoinCompiler(metadata, new FeaturesConfig());
             SpillerFactory spillerFactory = (types, localSpillContext, aggregatedMemoryContext) -> null;
@@ -159,7 +166,7 @@ public class BenchmarkHashAndStreamingAggregationOperators
                     ImmutableList.of(VARCHAR),
                     ImmutableList.of(0),
                     ImmutableList.of(),
-                    AggregationNode.Step.SINGLE,
+                    step,
                     false,
                     ImmutableList.of(COUNT.bind(ImmutableList.of(0), Optional.empty()),
                             LONG_SUM.bind(ImmutableList.of(1), Optional.empty())),
@@ -169,10 +176,10 @@ public class BenchmarkHashAndStreamingAggregationOperators
                     Optional.of(new DataSize(16, MEGABYTE)),
                     false,
                     succinctBytes(8),
-                    succinctBytes(Integer.MAX_VALUE),
                     spillerFactory,
                     joinCompiler,
-                    false);
+                    false,
+                    partialAggregationController);
         }
 
         private static void repeatToStringBlock(String value, int count, BlockBuilder blockBuilder)
@@ -245,6 +252,22 @@ public class BenchmarkHashAndStreamingAggregationOperators
         verify(1000, "hash");
     }
 
+    @Test
+    public void verifyPartial()
+    {
+        verify(1, "partial");
+        verify(10, "partial");
+        verify(1000, "partial");
+    }
+
+    @Test
+    public void verifyAdaptivePartial()
+    {
+        verify(1, "adaptive_partial");
+        verify(10, "adaptive_partial");
+        verify(1000, "adaptive_partial");
+    }
+
     private void verify(int rowsPerGroup, String operatorType)
     {
         Context context = new Context();
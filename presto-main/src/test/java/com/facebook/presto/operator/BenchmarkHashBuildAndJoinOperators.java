@@ -19,7 +19,9 @@ import com.facebook.presto.operator.HashBuilderOperator.HashBuilderOperatorFacto
 import com.facebook.presto.spi.Page;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spiller.PartitioningSpillerFactory;
 import com.facebook.presto.spiller.SingleStreamSpillerFactory;
+import com.facebook.presto.sql.analyzer.FeaturesConfig;
 import com.facebook.presto.testing.TestingTaskContext;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -79,7 +81,6 @@ public class BenchmarkHashBuildAndJoinOperators
     private static final int HASH_BUILD_OPERATOR_ID = 1;
     private static final int HASH_JOIN_OPERATOR_ID = 2;
     private static final PlanNodeId TEST_PLAN_NODE_ID = new PlanNodeId("test");
-    private static final LookupJoinOperators LOOKUP_JOIN_OPERATORS = new LookupJoinOperators();
 
     @State(Thread)
     public static class BuildContext
@@ -182,6 +183,9 @@ public class BenchmarkHashBuildAndJoinOperators
         @Param({"bigint", "all"})
         protected String outputColumns = "bigint";
 
+        @Param({"true", "false"})
+        protected boolean batchProbe = true;
+
         protected List<Page> probePages;
         protected List<Integer> outputChannels;
 
@@ -226,6 +230,11 @@ public class BenchmarkHashBuildAndJoinOperators
             return outputChannels;
         }
 
+        public LookupJoinOperators getLookupJoinOperators()
+        {
+            return new LookupJoinOperators(new FeaturesConfig().setJoinBatchProbeEnabled(batchProbe));
+        }
+
         protected void initializeProbePages()
         {
             RowPagesBuilder probePagesBuilder = rowPagesBuilder(buildHashEnabled, hashChannels, ImmutableList.of(VARCHAR, BIGINT, BIGINT));
@@ -308,7 +317,9 @@ public class BenchmarkHashBuildAndJoinOperators
                 10_000,
                 new PagesIndex.TestingFactory(false),
                 false,
-                SingleStreamSpillerFactory.unsupportedSingleStreamSpillerFactory());
+                SingleStreamSpillerFactory.unsupportedSingleStreamSpillerFactory(),
+                PartitioningSpillerFactory.unsupportedPartitioningSpillerFactory(),
+                Optional.empty());
 
         Operator operator = hashBuilderOperatorFactory.createOperator(driverContext);
         for (Page page : buildContext.getBuildPages()) {
@@ -329,7 +340,7 @@ public class BenchmarkHashBuildAndJoinOperators
     @Benchmark
     public List<Page> benchmarkJoinHash(JoinContext joinContext)
     {
-        OperatorFactory joinOperatorFactory = LOOKUP_JOIN_OPERATORS.innerJoin(
+        OperatorFactory joinOperatorFactory = joinContext.getLookupJoinOperators().innerJoin(
                 HASH_JOIN_OPERATOR_ID,
                 TEST_PLAN_NODE_ID,
                 joinContext.getLookupSourceFactory(),
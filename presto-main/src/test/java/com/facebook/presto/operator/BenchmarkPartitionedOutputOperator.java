@@ -23,7 +23,9 @@ import com.facebook.presto.operator.PartitionedOutputOperator.PartitionedOutputF
 import com.facebook.presto.operator.exchange.LocalPartitionGenerator;
 import com.facebook.presto.spi.Page;
 import com.facebook.presto.spi.PageBuilder;
+import com.facebook.presto.spi.block.Block;
 import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.block.DictionaryBlock;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.facebook.presto.spi.type.RowType;
 import com.facebook.presto.spi.type.Type;
@@ -39,6 +41,7 @@ import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.runner.Runner;
@@ -85,7 +88,7 @@ public class BenchmarkPartitionedOutputOperator
     {
         PartitionedOutputOperator operator = data.createPartitionedOutputOperator();
         for (int i = 0; i < data.getPageCount(); i++) {
-            operator.addInput(data.getDataPage());
+            operator.addInput(data.getDataPage(i));
         }
         operator.finish();
     }
@@ -96,25 +99,64 @@ public class BenchmarkPartitionedOutputOperator
         private static final int PAGE_COUNT = 5000;
         private static final int PARTITION_COUNT = 512;
         private static final int ENTRIES_PER_PAGE = 256;
+        private static final int DICTIONARY_COUNT = 16;
         private static final DataSize MAX_MEMORY = new DataSize(1, GIGABYTE);
         private static final RowType rowType = RowType.anonymous(ImmutableList.of(VARCHAR, VARCHAR, VARCHAR, VARCHAR));
         private static final List<Type> TYPES = ImmutableList.of(BIGINT, rowType, rowType, rowType);
+        private static final List<Type> VARCHAR_TYPES = ImmutableList.of(BIGINT, VARCHAR, VARCHAR, VARCHAR);
         private static final ExecutorService EXECUTOR = newCachedThreadPool(daemonThreadsNamed("test-EXECUTOR-%s"));
         private static final ScheduledExecutorService SCHEDULER = newScheduledThreadPool(1, daemonThreadsNamed("test-%s"));
 
         @Param({"true", "false"})
         private boolean enableCompression;
 
-        private final Page dataPage = createPage();
+        // SHARED pages refer to the same dictionary, like the pages read from the same stripe of an ORC file, while
+        // PER_PAGE pages have a dictionary of their own, like the output of a join or of a filter over dictionary blocks
+        @Param({"NONE", "SHARED", "PER_PAGE"})
+        private String dictionary = "NONE";
+
+        // the pages of row columns cannot be serialized directly
+        @Param({"ROW", "VARCHAR"})
+        private String columnType = "ROW";
+
+        @Param({"false", "true"})
+        private boolean directSerialization;
+
+        private List<Type> types;
+        private List<Page> dataPages;
+
+        @Setup
+        public void setup()
+        {
+            types = columnType.equals("ROW") ? TYPES : VARCHAR_TYPES;
+            Page dataPage = createPage();
+            switch (dictionary) {
+                case "NONE":
+                    dataPages = ImmutableList.of(dataPage);
+                    break;
+                case "SHARED":
+                    dataPages = ImmutableList.of(createDictionaryPage(dataPage));
+                    break;
+                case "PER_PAGE":
+                    ImmutableList.Builder<Page> pages = ImmutableList.builder();
+                    for (int i = 0; i < DICTIONARY_COUNT; i++) {
+                        pages.add(createDictionaryPage(copyPage(dataPage)));
+                    }
+                    dataPages = pages.build();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported dictionary: " + dictionary);
+            }
+        }
 
         private int getPageCount()
         {
             return PAGE_COUNT;
         }
 
-        public Page getDataPage()
+        public Page getDataPage(int index)
         {
-            return dataPage;
+            return dataPages.get(index % dataPages.size());
         }
 
         private PartitionedOutputOperator createPartitionedOutputOperator()
@@ -136,30 +178,60 @@ public class BenchmarkPartitionedOutputOperator
                     false,
                     OptionalInt.empty(),
                     buffer,
-                    new DataSize(1, GIGABYTE));
+                    new DataSize(1, GIGABYTE),
+                    directSerialization);
             return (PartitionedOutputOperator) operatorFactory
-                    .createOutputOperator(0, new PlanNodeId("plan-node-0"), TYPES, Function.identity(), serdeFactory)
+                    .createOutputOperator(0, new PlanNodeId("plan-node-0"), types, Function.identity(), serdeFactory)
                     .createOperator(createDriverContext());
         }
 
         private Page createPage()
         {
             List<Object>[] testRows = generateTestRows(ImmutableList.of(VARCHAR, VARCHAR, VARCHAR, VARCHAR), ENTRIES_PER_PAGE);
-            PageBuilder pageBuilder = new PageBuilder(TYPES);
+            PageBuilder pageBuilder = new PageBuilder(types);
             BlockBuilder bigintBlockBuilder = pageBuilder.getBlockBuilder(0);
             BlockBuilder rowBlockBuilder = pageBuilder.getBlockBuilder(1);
             BlockBuilder rowBlockBuilder2 = pageBuilder.getBlockBuilder(2);
             BlockBuilder rowBlockBuilder3 = pageBuilder.getBlockBuilder(3);
             for (int i = 0; i < ENTRIES_PER_PAGE; i++) {
                 BIGINT.writeLong(bigintBlockBuilder, i);
-                writeRow(testRows[i], rowBlockBuilder);
-                writeRow(testRows[i], rowBlockBuilder2);
-                writeRow(testRows[i], rowBlockBuilder3);
+                if (types == TYPES) {
+                    writeRow(testRows[i], rowBlockBuilder);
+                    writeRow(testRows[i], rowBlockBuilder2);
+                    writeRow(testRows[i], rowBlockBuilder3);
+                }
+                else {
+                    VARCHAR.writeSlice(rowBlockBuilder, utf8Slice((String) testRows[i].get(0)));
+                    VARCHAR.writeSlice(rowBlockBuilder2, utf8Slice((String) testRows[i].get(1)));
+                    VARCHAR.writeSlice(rowBlockBuilder3, utf8Slice((String) testRows[i].get(2)));
+                }
             }
             pageBuilder.declarePositions(ENTRIES_PER_PAGE);
             return pageBuilder.build();
         }
 
+        private static Page copyPage(Page page)
+        {
+            Block[] blocks = new Block[page.getChannelCount()];
+            for (int channel = 0; channel < blocks.length; channel++) {
+                blocks[channel] = page.getBlock(channel).copyRegion(0, page.getPositionCount());
+            }
+            return new Page(page.getPositionCount(), blocks);
+        }
+
+        private static Page createDictionaryPage(Page page)
+        {
+            Block[] blocks = new Block[page.getChannelCount()];
+            for (int channel = 0; channel < blocks.length; channel++) {
+                int[] ids = new int[ENTRIES_PER_PAGE];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = ThreadLocalRandom.current().nextInt(ENTRIES_PER_PAGE);
+                }
+                blocks[channel] = new DictionaryBlock(page.getBlock(channel), ids);
+            }
+            return new Page(ENTRIES_PER_PAGE, blocks);
+        }
+
         private void writeRow(List<Object> testRow, BlockBuilder rowBlockBuilder)
         {
             BlockBuilder singleRowBlockWriter = rowBlockBuilder.beginBlockEntry();
@@ -222,6 +294,7 @@ public class BenchmarkPartitionedOutputOperator
     {
         // assure the benchmarks are valid before running
         BenchmarkData data = new BenchmarkData();
+        data.setup();
         new BenchmarkPartitionedOutputOperator().addPage(data);
         Options options = new OptionsBuilder()
                 .verbosity(VerboseMode.NORMAL)
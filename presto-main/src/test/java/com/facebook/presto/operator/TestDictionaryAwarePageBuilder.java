@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.block.DictionaryBlock;
+import com.facebook.presto.spi.block.RunLengthEncodedBlock;
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import static com.facebook.presto.block.BlockAssertions.assertBlockEquals;
+import static com.facebook.presto.block.BlockAssertions.createLongSequenceBlock;
+import static com.facebook.presto.block.BlockAssertions.createLongsBlock;
+import static com.facebook.presto.block.BlockAssertions.createRLEBlock;
+import static com.facebook.presto.spi.block.PageBuilderStatus.DEFAULT_MAX_PAGE_SIZE_IN_BYTES;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class TestDictionaryAwarePageBuilder
+{
+    @Test
+    public void testSharedDictionary()
+    {
+        Block dictionary = createLongSequenceBlock(0, 4);
+        Page first = new Page(new DictionaryBlock(dictionary, new int[] {0, 1, 2, 3, 0, 1}), createLongSequenceBlock(0, 6));
+        Page second = new Page(new DictionaryBlock(dictionary, new int[] {3, 2, 1, 0}), createLongSequenceBlock(6, 10));
+
+        DictionaryAwarePageBuilder pageBuilder = new DictionaryAwarePageBuilder(ImmutableList.of(BIGINT, BIGINT), DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        pageBuilder.appendPositions(first, new int[] {1, 3, 4}, 0, 3);
+        pageBuilder.appendPositions(second, new int[] {0, 2}, 0, 2);
+        assertEquals(pageBuilder.getPositionCount(), 5);
+
+        Page output = pageBuilder.build();
+        assertTrue(output.getBlock(0) instanceof DictionaryBlock);
+        assertSame(((DictionaryBlock) output.getBlock(0)).getDictionary(), dictionary);
+        assertBlockEquals(BIGINT, output.getBlock(0), createLongsBlock(1, 3, 0, 3, 1));
+        assertFalse(output.getBlock(1) instanceof DictionaryBlock);
+        assertBlockEquals(BIGINT, output.getBlock(1), createLongsBlock(1, 3, 4, 6, 8));
+
+        pageBuilder.reset();
+        assertTrue(pageBuilder.isEmpty());
+    }
+
+    @Test
+    public void testDifferentDictionary()
+    {
+        Page first = new Page(new DictionaryBlock(createLongSequenceBlock(0, 4), new int[] {0, 1, 2, 3}), createRLEBlock(7, 4));
+        Page second = new Page(new DictionaryBlock(createLongSequenceBlock(10, 14), new int[] {3, 2, 1, 0}), createRLEBlock(7, 4));
+        Page flat = new Page(createLongSequenceBlock(20, 24), createLongSequenceBlock(0, 4));
+
+        DictionaryAwarePageBuilder pageBuilder = new DictionaryAwarePageBuilder(ImmutableList.of(BIGINT, BIGINT), DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        pageBuilder.appendPositions(first, new int[] {0, 1, 2, 3}, 0, 4);
+        long sizeInBytes = pageBuilder.getSizeInBytes();
+
+        // the dictionary channel is copied from now on, while the run-length encoded channel is still shared
+        pageBuilder.appendPositions(second, new int[] {0, 1}, 0, 2);
+        assertEquals(pageBuilder.getPositionCount(), 6);
+        assertTrue(pageBuilder.getSizeInBytes() > sizeInBytes);
+
+        pageBuilder.appendPositions(flat, new int[] {3}, 0, 1);
+        Page output = pageBuilder.build();
+        assertFalse(output.getBlock(0) instanceof DictionaryBlock);
+        assertBlockEquals(BIGINT, output.getBlock(0), createLongsBlock(0, 1, 2, 3, 13, 12, 23));
+        assertFalse(output.getBlock(1) instanceof RunLengthEncodedBlock);
+        assertBlockEquals(BIGINT, output.getBlock(1), createLongsBlock(7, 7, 7, 7, 7, 7, 3));
+    }
+
+    @Test
+    public void testRetainedSizeIncludesDictionary()
+    {
+        Block dictionary = createLongSequenceBlock(0, 1000);
+        Page page = new Page(new DictionaryBlock(dictionary, new int[] {0, 500, 999}));
+
+        DictionaryAwarePageBuilder pageBuilder = new DictionaryAwarePageBuilder(ImmutableList.of(BIGINT), DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        long emptyRetainedSizeInBytes = pageBuilder.getRetainedSizeInBytes();
+        pageBuilder.appendPositions(page, new int[] {0, 1, 2}, 0, 3);
+        assertTrue(pageBuilder.getRetainedSizeInBytes() >= emptyRetainedSizeInBytes + dictionary.getRetainedSizeInBytes());
+    }
+
+    @Test
+    public void testSparseDictionary()
+    {
+        Block dictionary = createLongSequenceBlock(0, 100);
+        int[] ids = new int[100];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 99 - i;
+        }
+        Page page = new Page(new DictionaryBlock(dictionary, ids));
+
+        DictionaryAwarePageBuilder pageBuilder = new DictionaryAwarePageBuilder(ImmutableList.of(BIGINT), DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        pageBuilder.appendPositions(page, new int[] {5, 10, 5}, 0, 3);
+
+        // only the referenced entries of the dictionary are kept
+        Block block = pageBuilder.build().getBlock(0);
+        assertTrue(block instanceof DictionaryBlock);
+        assertEquals(((DictionaryBlock) block).getDictionary().getPositionCount(), 2);
+        assertBlockEquals(BIGINT, block, createLongsBlock(94, 89, 94));
+    }
+
+    @Test
+    public void testRunLength()
+    {
+        Page first = new Page(createRLEBlock(42, 10));
+        Page second = new Page(createRLEBlock(42, 5));
+        Page other = new Page(createRLEBlock(7, 5));
+
+        DictionaryAwarePageBuilder pageBuilder = new DictionaryAwarePageBuilder(ImmutableList.of(BIGINT), DEFAULT_MAX_PAGE_SIZE_IN_BYTES);
+        pageBuilder.appendPositions(first, new int[] {0, 1, 2}, 0, 3);
+        pageBuilder.appendPositions(second, new int[] {4}, 0, 1);
+
+        Block block = pageBuilder.build().getBlock(0);
+        assertTrue(block instanceof RunLengthEncodedBlock);
+        assertBlockEquals(BIGINT, block, createLongsBlock(42, 42, 42, 42));
+
+        pageBuilder.reset();
+        pageBuilder.appendPositions(other, new int[] {0}, 0, 1);
+        pageBuilder.appendPositions(first, new int[] {0, 1}, 0, 2);
+        block = pageBuilder.build().getBlock(0);
+        assertFalse(block instanceof RunLengthEncodedBlock);
+        assertBlockEquals(BIGINT, block, createLongsBlock(7, 42, 42));
+    }
+}
@@ -14,10 +14,14 @@
 package com.facebook.presto.operator;
 
 import com.facebook.presto.Session;
+import com.facebook.presto.block.BlockEncodingManager;
 import com.facebook.presto.execution.ScheduledSplit;
 import com.facebook.presto.execution.TaskSource;
 import com.facebook.presto.memory.context.LocalMemoryContext;
 import com.facebook.presto.metadata.Split;
+import com.facebook.presto.operator.fragmentresultcache.FragmentResultCacheConfig;
+import com.facebook.presto.operator.fragmentresultcache.FragmentResultCacheContext;
+import com.facebook.presto.operator.fragmentresultcache.FragmentResultCacheManager;
 import com.facebook.presto.spi.ColumnHandle;
 import com.facebook.presto.spi.ConnectorId;
 import com.facebook.presto.spi.ConnectorPageSource;
@@ -30,6 +34,7 @@ import com.facebook.presto.spi.PrestoException;
 import com.facebook.presto.spi.TableHandle;
 import com.facebook.presto.spi.connector.ConnectorTransactionHandle;
 import com.facebook.presto.spi.plan.PlanNodeId;
+import com.facebook.presto.spi.type.TestingTypeManager;
 import com.facebook.presto.spi.type.Type;
 import com.facebook.presto.split.PageSourceProvider;
 import com.facebook.presto.testing.MaterializedResult;
@@ -46,6 +51,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
@@ -55,11 +61,13 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import static com.facebook.presto.RowPagesBuilder.rowPagesBuilder;
 import static com.facebook.presto.SessionTestUtils.TEST_SESSION;
+import static com.facebook.presto.operator.PageAssertions.assertPageEquals;
 import static com.facebook.presto.spi.StandardErrorCode.GENERIC_INTERNAL_ERROR;
 import static com.facebook.presto.spi.type.BigintType.BIGINT;
 import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
@@ -211,6 +219,60 @@ public class TestDriver
         assertTrue(source.isFinished());
     }
 
+    @Test
+    public void testFragmentResultCache()
+    {
+        PlanNodeId sourceId = new PlanNodeId("source");
+        List<Type> types = ImmutableList.of(VARCHAR, BIGINT, BIGINT);
+        List<Page> input = rowPagesBuilder(types)
+                .addSequencePage(10, 20, 30, 40)
+                .addSequencePage(10, 30, 40, 50)
+                .build();
+        AtomicInteger pageSourcesCreated = new AtomicInteger();
+        PageSourceProvider pageSourceProvider = new PageSourceProvider()
+        {
+            @Override
+            public ConnectorPageSource createPageSource(Session session, Split split, TableHandle table, List<ColumnHandle> columns)
+            {
+                pageSourcesCreated.incrementAndGet();
+                return new FixedPageSource(input);
+            }
+        };
+        FragmentResultCacheManager cacheManager = new FragmentResultCacheManager(new FragmentResultCacheConfig(), new BlockEncodingManager(new TestingTypeManager()));
+        Optional<FragmentResultCacheContext> cacheContext = Optional.of(new FragmentResultCacheContext(cacheManager, "plan"));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            DriverContext cacheDriverContext = driverContext.getPipelineContext().addDriverContext();
+            TableScanOperator source = new TableScanOperator(
+                    cacheDriverContext.addOperatorContext(0, new PlanNodeId("test"), "values"),
+                    sourceId,
+                    pageSourceProvider,
+                    TESTING_TABLE_HANDLE,
+                    ImmutableList.of());
+            List<Page> output = new ArrayList<>();
+            PageConsumerOperator sink = new PageConsumerOperator(cacheDriverContext.addOperatorContext(1, new PlanNodeId("test"), "sink"), output::add, Function.identity());
+            Driver driver = Driver.createDriver(cacheDriverContext, ImmutableList.of(source, sink), cacheContext);
+
+            driver.updateSource(new TaskSource(sourceId, ImmutableSet.of(new ScheduledSplit(0, sourceId, newMockSplit())), true));
+            assertTrue(driver.processFor(new Duration(1, TimeUnit.SECONDS)).isDone());
+            assertTrue(driver.isFinished());
+            assertTrue(sink.isFinished());
+
+            assertEquals(output.size(), input.size());
+            for (int i = 0; i < input.size(); i++) {
+                assertPageEquals(types, output.get(i), input.get(i));
+            }
+
+            // the split is only read by the first driver, and the second driver replays its output from the cache
+            assertEquals(pageSourcesCreated.get(), 1);
+            OperatorStats sourceStats = source.getOperatorContext().getOperatorStats();
+            assertEquals(sourceStats.getFragmentResultCacheHits(), attempt);
+            assertEquals(sourceStats.getFragmentResultCacheMisses(), 1 - attempt);
+        }
+        assertEquals(cacheManager.getCachedResults(), 1);
+        cacheManager.stop();
+    }
+
     @Test
     public void testBrokenOperatorCloseWhileProcessing()
             throws Exception
@@ -548,6 +610,12 @@ public class TestDriver
             return ImmutableList.of();
         }
 
+        @Override
+        public Optional<String> getSplitIdentifier()
+        {
+            return Optional.of("mock");
+        }
+
         @Override
         public Object getInfo()
         {
@@ -44,9 +44,11 @@ import static com.facebook.presto.operator.GroupByHash.createGroupByHash;
 import static com.facebook.presto.spi.block.DictionaryId.randomDictionaryId;
 import static com.facebook.presto.spi.type.BigintType.BIGINT;
 import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.spi.type.IntegerType.INTEGER;
 import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
 import static com.facebook.presto.type.TypeUtils.getHashBlock;
 import static com.google.common.math.DoubleMath.log2;
+import static java.util.stream.Collectors.toList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
@@ -232,6 +234,78 @@ public class TestGroupByHash
         assertTrue(groupByHash.contains(0, new Page(testValuesBlock, testStringValuesBlock, testHashBlock), hashChannels));
     }
 
+    @Test
+    public void testFixedWidthMultipleColumns()
+    {
+        Block bigintBlock = BlockAssertions.createLongsBlock(1L, 1L, null, 1L, null, 2L);
+        Block integerBlock = BlockAssertions.createIntsBlock(1, 2, 1, 1, 1, null);
+        Page page = new Page(bigintBlock, integerBlock);
+        List<Type> types = ImmutableList.of(BIGINT, INTEGER);
+        int[] hashChannels = {0, 1};
+        GroupByHash groupByHash = createGroupByHash(TEST_SESSION, types, hashChannels, Optional.empty(), 100, JOIN_COMPILER);
+        assertTrue(groupByHash instanceof FixedWidthGroupByHash);
+
+        Work<GroupByIdBlock> work = groupByHash.getGroupIds(page);
+        work.process();
+        GroupByIdBlock groupIds = work.getResult();
+        assertEquals(groupIds.getGroupCount(), 4);
+        long[] expectedGroupIds = {0, 1, 2, 0, 2, 3};
+        for (int position = 0; position < expectedGroupIds.length; position++) {
+            assertEquals(groupIds.getGroupId(position), expectedGroupIds[position]);
+        }
+
+        PageBuilder pageBuilder = new PageBuilder(groupByHash.getTypes());
+        for (int groupId = 0; groupId < groupByHash.getGroupCount(); groupId++) {
+            pageBuilder.declarePosition();
+            groupByHash.appendValuesTo(groupId, pageBuilder, 0);
+        }
+        Page outputPage = pageBuilder.build();
+        InterpretedHashGenerator hashGenerator = new InterpretedHashGenerator(types, hashChannels);
+        int[] firstPositions = {0, 1, 2, 5};
+        for (int groupId = 0; groupId < firstPositions.length; groupId++) {
+            int position = firstPositions[groupId];
+            assertTrue(TypeUtils.positionEqualsPosition(BIGINT, outputPage.getBlock(0), groupId, bigintBlock, position));
+            assertTrue(TypeUtils.positionEqualsPosition(INTEGER, outputPage.getBlock(1), groupId, integerBlock, position));
+            assertEquals(groupByHash.getRawHash(groupId), hashGenerator.hashPosition(position, page));
+        }
+
+        assertTrue(groupByHash.contains(0, new Page(BlockAssertions.createLongsBlock(2L), BlockAssertions.createIntsBlock((Integer) null)), hashChannels));
+        assertFalse(groupByHash.contains(0, new Page(BlockAssertions.createLongsBlock(2L), BlockAssertions.createIntsBlock(1)), hashChannels));
+    }
+
+    @Test
+    public void testFixedWidthDictionaryAndRunLengthEncodedColumns()
+    {
+        int length = 100;
+        Block dictionaryBlock = BlockAssertions.createLongDictionaryBlock(0, length);
+        Block rleBlock = BlockAssertions.createRLEBlock(7, length);
+        List<Long> values = new ArrayList<>();
+        for (int position = 0; position < length; position++) {
+            values.add(BIGINT.getLong(dictionaryBlock, position));
+        }
+        Page flatPage = new Page(BlockAssertions.createLongsBlock(values), BlockAssertions.createLongsBlock(IntStream.range(0, length).mapToObj(i -> 7L).collect(toList())));
+
+        List<Type> types = ImmutableList.of(BIGINT, BIGINT);
+        int[] hashChannels = {0, 1};
+        GroupByHash groupByHash = createGroupByHash(TEST_SESSION, types, hashChannels, Optional.empty(), 10, JOIN_COMPILER);
+        Work<GroupByIdBlock> flatWork = groupByHash.getGroupIds(flatPage);
+        flatWork.process();
+        GroupByIdBlock flatGroupIds = flatWork.getResult();
+
+        Work<GroupByIdBlock> encodedWork = groupByHash.getGroupIds(new Page(dictionaryBlock, rleBlock));
+        encodedWork.process();
+        GroupByIdBlock encodedGroupIds = encodedWork.getResult();
+
+        assertEquals(groupByHash.getGroupCount(), length / 5);
+        for (int position = 0; position < length; position++) {
+            assertEquals(encodedGroupIds.getGroupId(position), flatGroupIds.getGroupId(position));
+        }
+
+        // all the rows of a page with run length encoded keys belong to a single group
+        groupByHash.addPage(new Page(BlockAssertions.createRLEBlock(1000, length), rleBlock)).process();
+        assertEquals(groupByHash.getGroupCount(), length / 5 + 1);
+    }
+
     @Test
     public void testForceRehash()
     {
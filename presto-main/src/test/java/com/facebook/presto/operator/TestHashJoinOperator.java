@@ -36,6 +36,7 @@ import com.facebook.presto.spiller.GenericPartitioningSpillerFactory;
 import com.facebook.presto.spiller.PartitioningSpillerFactory;
 import com.facebook.presto.spiller.SingleStreamSpiller;
 import com.facebook.presto.spiller.SingleStreamSpillerFactory;
+import com.facebook.presto.sql.analyzer.FeaturesConfig;
 import com.facebook.presto.sql.gen.JoinFilterFunctionCompiler.JoinFilterFunctionFactory;
 import com.facebook.presto.sql.planner.PartitioningProviderManager;
 import com.facebook.presto.testing.MaterializedResult;
@@ -55,10 +56,12 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -92,6 +95,8 @@ import static io.airlift.concurrent.MoreFutures.getFutureValue;
 import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static io.airlift.testing.Assertions.assertEqualsIgnoreOrder;
 import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static java.lang.Math.max;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Collections.nCopies;
@@ -202,6 +207,55 @@ public class TestHashJoinOperator
         assertOperatorEquals(joinOperatorFactory, taskContext.addPipelineContext(0, true, true, false).addDriverContext(), probeInput, expected, true, getHashChannels(probePages, buildPages));
     }
 
+    @Test(dataProvider = "hashJoinTestValues")
+    public void testInnerJoinWithBatchProbe(boolean parallelBuild, boolean probeHashEnabled, boolean buildHashEnabled)
+    {
+        TaskContext taskContext = createTaskContext();
+
+        // build factory
+        List<Type> buildTypes = ImmutableList.of(VARCHAR, BIGINT);
+        RowPagesBuilder buildPages = rowPagesBuilder(buildHashEnabled, Ints.asList(0), buildTypes)
+                .row("a", 1L)
+                .row("b", 2L)
+                .row("a", 3L)
+                .row(null, 4L);
+        BuildSideSetup buildSideSetup = setupBuildSide(parallelBuild, taskContext, Ints.asList(0), buildPages, Optional.empty(), false, SINGLE_STREAM_SPILLER_FACTORY);
+        JoinBridgeManager<PartitionedLookupSourceFactory> lookupSourceFactory = buildSideSetup.getLookupSourceFactoryManager();
+
+        // probe factory
+        List<Type> probeTypes = ImmutableList.of(VARCHAR);
+        RowPagesBuilder probePages = rowPagesBuilder(probeHashEnabled, Ints.asList(0), probeTypes);
+        List<Page> probeInput = probePages
+                .row("a")
+                .row((String) null)
+                .row("c")
+                .row("b")
+                .build();
+        OperatorFactory joinOperatorFactory = new LookupJoinOperators(new FeaturesConfig().setJoinBatchProbeEnabled(true)).innerJoin(
+                0,
+                new PlanNodeId("test"),
+                lookupSourceFactory,
+                probePages.getTypes(),
+                Ints.asList(0),
+                getHashChannelAsInt(probePages),
+                Optional.empty(),
+                OptionalInt.of(1),
+                PARTITIONING_SPILLER_FACTORY);
+
+        // build drivers and operators
+        instantiateBuildDrivers(buildSideSetup, taskContext);
+        buildLookupSource(buildSideSetup);
+
+        // expected
+        MaterializedResult expected = MaterializedResult.resultBuilder(taskContext.getSession(), concat(probeTypes, buildPages.getTypesWithoutHash()))
+                .row("a", "a", 1L)
+                .row("a", "a", 3L)
+                .row("b", "b", 2L)
+                .build();
+
+        assertOperatorEquals(joinOperatorFactory, taskContext.addPipelineContext(0, true, true, false).addDriverContext(), probeInput, expected, true, getHashChannels(probePages, buildPages));
+    }
+
     @Test
     public void testYield()
     {
@@ -368,6 +422,104 @@ public class TestHashJoinOperator
         }
     }
 
+    @DataProvider
+    public Object[][] joinWithSpillExceedingMemoryValues()
+    {
+        return new Object[][] {{true}, {false}};
+    }
+
+    @Test(dataProvider = "joinWithSpillExceedingMemoryValues")
+    public void testInnerJoinWithSpillExceedingMemory(boolean probeHashEnabled)
+            throws Exception
+    {
+        TaskStateMachine taskStateMachine = new TaskStateMachine(new TaskId("query", 0, 0), executor);
+        // spilled partitions do not fit in memory as a whole, so they have to be unspilled one sub-partition at a time
+        TaskContext taskContext = TestingTaskContext.builder(executor, scheduledExecutor, TEST_SESSION)
+                .setTaskStateMachine(taskStateMachine)
+                .setQueryMaxMemory(new DataSize(100, KILOBYTE))
+                .build();
+
+        int rowCount = 20_000;
+        RowPagesBuilder buildPages = rowPagesBuilder(ImmutableList.of(VARCHAR, BIGINT))
+                .addSequencePage(rowCount / 2, 0, 0)
+                .addSequencePage(rowCount / 2, rowCount / 2, rowCount / 2);
+        BuildSideSetup buildSideSetup = setupBuildSide(true, taskContext, Ints.asList(0), buildPages, Optional.empty(), true, SINGLE_STREAM_SPILLER_FACTORY);
+        JoinBridgeManager<PartitionedLookupSourceFactory> lookupSourceFactoryManager = buildSideSetup.getLookupSourceFactoryManager();
+
+        RowPagesBuilder probePages = rowPagesBuilder(probeHashEnabled, Ints.asList(0), ImmutableList.of(VARCHAR, BIGINT))
+                .addSequencePage(rowCount / 2, rowCount / 4, 0)
+                .addSequencePage(rowCount / 2, rowCount * 3 / 4, 0);
+        OperatorFactory joinOperatorFactory = innerJoinOperatorFactory(lookupSourceFactoryManager, probePages, PARTITIONING_SPILLER_FACTORY);
+
+        instantiateBuildDrivers(buildSideSetup, taskContext);
+        List<Driver> buildDrivers = buildSideSetup.getBuildDrivers();
+        LookupSourceFactory lookupSourceFactory = lookupSourceFactoryManager.getJoinBridge(Lifespan.taskWide());
+
+        DriverContext joinDriverContext = taskContext.addPipelineContext(2, true, true, false).addDriverContext();
+        try (Operator joinOperator = joinOperatorFactory.createOperator(joinDriverContext)) {
+            // spill all partitions before the lookup source is built
+            ListenableFuture<LookupSourceProvider> lookupSourceProvider = lookupSourceFactory.createLookupSourceProvider();
+            Set<Integer> spilled = new HashSet<>();
+            while (!lookupSourceProvider.isDone()) {
+                for (int i = 0; i < buildDrivers.size(); i++) {
+                    checkErrors(taskStateMachine);
+                    buildDrivers.get(i).process();
+                    HashBuilderOperator buildOperator = buildSideSetup.getBuildOperators().get(i);
+                    if (!spilled.contains(i) && buildOperator.getOperatorContext().getReservedRevocableBytes() > 0) {
+                        revokeMemory(buildOperator);
+                        spilled.add(i);
+                    }
+                }
+            }
+            getFutureValue(lookupSourceProvider).close();
+            assertEquals(spilled.size(), buildDrivers.size());
+
+            for (Driver buildDriver : buildDrivers) {
+                runDriverInThread(executor, buildDriver);
+            }
+
+            ValuesOperatorFactory valuesOperatorFactory = new ValuesOperatorFactory(17, new PlanNodeId("values"), probePages.build());
+            PageBuffer pageBuffer = new PageBuffer(10);
+            PageBufferOperatorFactory pageBufferOperatorFactory = new PageBufferOperatorFactory(18, new PlanNodeId("pageBuffer"), pageBuffer);
+            Driver joinDriver = Driver.createDriver(joinDriverContext,
+                    valuesOperatorFactory.createOperator(joinDriverContext),
+                    joinOperator,
+                    pageBufferOperatorFactory.createOperator(joinDriverContext));
+
+            List<Page> actualPages = new ArrayList<>();
+            while (!joinDriver.isFinished()) {
+                processRow(joinDriver, taskStateMachine);
+                actualPages.addAll(getPages(pageBuffer));
+            }
+            checkErrors(taskStateMachine);
+
+            MaterializedResult.Builder expected = MaterializedResult.resultBuilder(taskContext.getSession(), concat(probePages.getTypesWithoutHash(), buildPages.getTypesWithoutHash()));
+            for (int i = rowCount / 4; i < rowCount; i++) {
+                long probeValue = i < rowCount * 3 / 4 ? i - rowCount / 4 : i - rowCount * 3 / 4;
+                expected.row(String.valueOf(i), probeValue, String.valueOf(i), (long) i);
+            }
+            assertEqualsIgnoreOrder(
+                    getProperColumns(joinOperator, concat(probePages.getTypes(), buildPages.getTypes()), probePages, actualPages).getMaterializedRows(),
+                    expected.build().getMaterializedRows());
+
+            // the output would be the same if the partitions were unspilled as a whole, so check that they were split
+            int repartitionCount = 0;
+            int builtSubPartitionCount = 0;
+            int maxSubPartitionLevel = 0;
+            for (HashBuilderOperator buildOperator : buildSideSetup.getBuildOperators()) {
+                repartitionCount += buildOperator.getRepartitionCount();
+                builtSubPartitionCount += buildOperator.getBuiltSubPartitionCount();
+                maxSubPartitionLevel = max(maxSubPartitionLevel, buildOperator.getMaxSubPartitionLevel());
+            }
+            assertTrue(repartitionCount > 0, "no spilled partition was re-partitioned");
+            assertTrue(builtSubPartitionCount >= JoinSubPartition.FAN_OUT, "built sub-partitions: " + builtSubPartitionCount);
+            assertTrue(maxSubPartitionLevel >= 1, "max sub-partition level: " + maxSubPartitionLevel);
+        }
+        finally {
+            joinOperatorFactory.noMoreOperators();
+        }
+    }
+
     private void innerJoinWithSpill(boolean probeHashEnabled, List<WhenSpill> whenSpill, SingleStreamSpillerFactory buildSpillerFactory, PartitioningSpillerFactory joinSpillerFactory)
             throws Exception
     {
@@ -1357,7 +1509,9 @@ public class TestHashJoinOperator
                 100,
                 new PagesIndex.TestingFactory(false),
                 spillEnabled,
-                singleStreamSpillerFactory);
+                singleStreamSpillerFactory,
+                PARTITIONING_SPILLER_FACTORY,
+                Optional.empty());
         return new BuildSideSetup(lookupSourceFactoryManager, buildOperatorFactory, sourceOperatorFactory, partitionCount);
     }
 
@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.facebook.presto.operator.JoinSubPartition.FAN_OUT;
+import static com.facebook.presto.operator.JoinSubPartition.MAX_LEVEL;
+import static com.facebook.presto.operator.JoinSubPartition.wholePartition;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestJoinSubPartition
+{
+    @Test
+    public void testSplit()
+    {
+        JoinSubPartition subPartition = wholePartition();
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            assertEquals(subPartition.getLevel(), level);
+            assertTrue(subPartition.canSplit());
+            List<JoinSubPartition> children = subPartition.split();
+            assertEquals(children.size(), FAN_OUT);
+
+            for (long rawHash = 0; rawHash < 10_000; rawHash++) {
+                if (!subPartition.contains(rawHash)) {
+                    continue;
+                }
+                // a row of a sub-partition belongs to exactly one of its children
+                int childIndex = subPartition.getChildIndex(rawHash);
+                for (int child = 0; child < FAN_OUT; child++) {
+                    assertEquals(children.get(child).contains(rawHash), child == childIndex);
+                }
+            }
+            subPartition = children.get(level % FAN_OUT);
+        }
+        assertFalse(subPartition.canSplit());
+    }
+
+    @Test
+    public void testWholePartition()
+    {
+        assertTrue(wholePartition().isWholePartition());
+        for (long rawHash = 0; rawHash < 1_000; rawHash++) {
+            assertTrue(wholePartition().contains(rawHash));
+        }
+        for (JoinSubPartition child : wholePartition().split()) {
+            assertFalse(child.isWholePartition());
+        }
+    }
+}
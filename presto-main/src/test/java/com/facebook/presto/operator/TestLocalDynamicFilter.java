@@ -0,0 +1,125 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.spi.ColumnHandle;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.predicate.Domain;
+import com.facebook.presto.spi.predicate.Range;
+import com.facebook.presto.spi.predicate.TupleDomain;
+import com.facebook.presto.spi.predicate.ValueSet;
+import com.facebook.presto.testing.TestingMetadata.TestingColumnHandle;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.facebook.presto.RowPagesBuilder.rowPagesBuilder;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.spi.type.RealType.REAL;
+import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
+import static io.airlift.slice.Slices.utf8Slice;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestLocalDynamicFilter
+{
+    private static final ColumnHandle PROBE_COLUMN_A = new TestingColumnHandle("a");
+    private static final ColumnHandle PROBE_COLUMN_B = new TestingColumnHandle("b");
+
+    @Test
+    public void testSupportedTypes()
+    {
+        assertTrue(DynamicFilterCollector.isSupportedType(BIGINT));
+        assertTrue(DynamicFilterCollector.isSupportedType(VARCHAR));
+        assertFalse(DynamicFilterCollector.isSupportedType(DOUBLE));
+        assertFalse(DynamicFilterCollector.isSupportedType(REAL));
+    }
+
+    @Test
+    public void testCollectDistinctValues()
+    {
+        List<Page> pages = rowPagesBuilder(BIGINT, VARCHAR)
+                .row(1L, "x")
+                .row(3L, null)
+                .pageBreak()
+                .row(null, "y")
+                .row(1L, "x")
+                .build();
+
+        DynamicFilterCollector collector = new DynamicFilterCollector(ImmutableMap.of(0, 0, 1, 1), ImmutableList.of(BIGINT, VARCHAR));
+        pages.forEach(collector::add);
+
+        assertEquals(collector.getTupleDomain(), TupleDomain.withColumnDomains(ImmutableMap.of(
+                0, Domain.create(ValueSet.of(BIGINT, 1L, 3L), false),
+                1, Domain.create(ValueSet.of(VARCHAR, utf8Slice("x"), utf8Slice("y")), false))));
+    }
+
+    @Test
+    public void testCollectRange()
+    {
+        DynamicFilterCollector collector = new DynamicFilterCollector(ImmutableMap.of(0, 0), ImmutableList.of(BIGINT));
+        for (int i = 0; i < 10; i++) {
+            collector.add(rowPagesBuilder(BIGINT).addSequencePage(1000, i * 1000 + 5).build().get(0));
+        }
+
+        assertEquals(collector.getTupleDomain(), TupleDomain.withColumnDomains(ImmutableMap.of(
+                0, Domain.create(ValueSet.ofRanges(Range.range(BIGINT, 5L, true, 10004L, true)), false))));
+    }
+
+    @Test
+    public void testEmptyBuild()
+    {
+        DynamicFilterCollector collector = new DynamicFilterCollector(ImmutableMap.of(0, 0), ImmutableList.of(BIGINT));
+        collector.add(rowPagesBuilder(BIGINT).row((Object) null).build().get(0));
+
+        assertTrue(collector.getTupleDomain().isNone());
+    }
+
+    @Test
+    public void testUnionOfPartitions()
+    {
+        LocalDynamicFilter filter = new LocalDynamicFilter(ImmutableMap.of(0, PROBE_COLUMN_A, 2, PROBE_COLUMN_B));
+        filter.setPartitionCount(2);
+        assertEquals(filter.getKeys(), ImmutableSet.of(0, 2));
+
+        filter.addPartition(TupleDomain.withColumnDomains(ImmutableMap.of(
+                0, Domain.singleValue(BIGINT, 1L),
+                2, Domain.singleValue(BIGINT, 10L))));
+        assertFalse(filter.getResultFuture().isDone());
+        assertEquals(filter.getCurrentPredicate(), TupleDomain.all());
+
+        filter.addPartition(TupleDomain.withColumnDomains(ImmutableMap.of(
+                0, Domain.singleValue(BIGINT, 2L),
+                2, Domain.singleValue(BIGINT, 11L))));
+        assertTrue(filter.getResultFuture().isDone());
+        assertEquals(filter.getCurrentPredicate(), TupleDomain.withColumnDomains(ImmutableMap.of(
+                PROBE_COLUMN_A, Domain.create(ValueSet.of(BIGINT, 1L, 2L), false),
+                PROBE_COLUMN_B, Domain.create(ValueSet.of(BIGINT, 10L, 11L), false))));
+    }
+
+    @Test
+    public void testAllPartitionsEmpty()
+    {
+        LocalDynamicFilter filter = new LocalDynamicFilter(ImmutableMap.of(0, PROBE_COLUMN_A));
+        filter.setPartitionCount(1);
+        filter.addPartition(TupleDomain.none());
+
+        assertTrue(filter.getCurrentPredicate().isNone());
+    }
+}
@@ -19,6 +19,7 @@ import com.facebook.presto.spi.PageBuilder;
 import com.facebook.presto.spi.block.Block;
 import com.facebook.presto.spi.block.BlockBuilder;
 import com.facebook.presto.spi.block.DictionaryBlock;
+import com.facebook.presto.spi.block.RunLengthEncodedBlock;
 import com.facebook.presto.spi.type.Type;
 import com.google.common.collect.ImmutableList;
 import org.testng.annotations.Test;
@@ -29,6 +30,7 @@ import java.util.OptionalInt;
 import static com.facebook.presto.spi.type.BigintType.BIGINT;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 public class TestLookupJoinPageBuilder
@@ -155,6 +157,57 @@ public class TestLookupJoinPageBuilder
         }
     }
 
+    @Test
+    public void testEncodedProbe()
+    {
+        int entries = 100;
+        BlockBuilder dictionaryBuilder = BIGINT.createBlockBuilder(null, 10);
+        for (int i = 0; i < 10; i++) {
+            BIGINT.writeLong(dictionaryBuilder, i);
+        }
+        Block dictionary = dictionaryBuilder.build();
+        int[] ids = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            ids[i] = i % 10;
+        }
+        BlockBuilder valueBuilder = BIGINT.createBlockBuilder(null, 1);
+        BIGINT.writeLong(valueBuilder, 42);
+        Page page = new Page(new DictionaryBlock(dictionary, ids), new RunLengthEncodedBlock(valueBuilder.build(), entries));
+
+        JoinProbeFactory joinProbeFactory = new JoinProbeFactory(new int[] {0, 1}, ImmutableList.of(0), OptionalInt.empty());
+        LookupSource lookupSource = new TestLookupSource(ImmutableList.of(BIGINT), new Page(createSequenceBlock(entries)));
+        LookupJoinPageBuilder lookupJoinPageBuilder = new LookupJoinPageBuilder(ImmutableList.of(BIGINT));
+
+        // the probe covers non-sequential positions
+        JoinProbe probe = joinProbeFactory.createJoinProbe(page);
+        for (int joinPosition = 0; probe.advanceNextPosition(); joinPosition++) {
+            if (joinPosition % 3 == 0) {
+                lookupJoinPageBuilder.appendRow(probe, lookupSource, joinPosition);
+            }
+        }
+        Page output = lookupJoinPageBuilder.build(probe);
+
+        // the probe blocks keep their encoding instead of being copied
+        assertEquals(output.getPositionCount(), 34);
+        assertTrue(output.getBlock(0) instanceof DictionaryBlock);
+        assertSame(((DictionaryBlock) output.getBlock(0)).getDictionary(), dictionary);
+        assertTrue(output.getBlock(1) instanceof RunLengthEncodedBlock);
+        for (int i = 0; i < output.getPositionCount(); i++) {
+            assertEquals(output.getBlock(0).getLong(i), (i * 3) % 10);
+            assertEquals(output.getBlock(1).getLong(i), 42);
+            assertEquals(output.getBlock(2).getLong(i), i * 3);
+        }
+    }
+
+    private static Block createSequenceBlock(int entries)
+    {
+        BlockBuilder blockBuilder = BIGINT.createBlockBuilder(null, entries);
+        for (int i = 0; i < entries; i++) {
+            BIGINT.writeLong(blockBuilder, i);
+        }
+        return blockBuilder.build();
+    }
+
     @Test
     public void testCrossJoinWithEmptyBuild()
     {
@@ -70,6 +70,10 @@ public class TestOperatorStats
             new DataSize(23, BYTE),
             new DataSize(24, BYTE),
             new DataSize(25, BYTE),
+            26,
+            27,
+            28,
+            29,
             Optional.empty(),
             NON_MERGEABLE_INFO);
 
@@ -111,6 +115,10 @@ public class TestOperatorStats
             new DataSize(23, BYTE),
             new DataSize(24, BYTE),
             new DataSize(25, BYTE),
+            26,
+            27,
+            28,
+            29,
             Optional.empty(),
             MERGEABLE_INFO);
 
@@ -161,6 +169,10 @@ public class TestOperatorStats
         assertEquals(actual.getPeakSystemMemoryReservation(), new DataSize(23, BYTE));
         assertEquals(actual.getPeakTotalMemoryReservation(), new DataSize(24, BYTE));
         assertEquals(actual.getSpilledDataSize(), new DataSize(25, BYTE));
+        assertEquals(actual.getFragmentResultCacheHits(), 26);
+        assertEquals(actual.getFragmentResultCacheMisses(), 27);
+        assertEquals(actual.getPartialAggregationsDisabled(), 28);
+        assertEquals(actual.getPartialAggregationPassThroughPositions(), 29);
         assertEquals(actual.getInfo().getClass(), SplitOperatorInfo.class);
         assertEquals(((SplitOperatorInfo) actual.getInfo()).getSplitInfo(), NON_MERGEABLE_INFO.getSplitInfo());
     }
@@ -203,6 +215,10 @@ public class TestOperatorStats
         assertEquals(actual.getPeakSystemMemoryReservation(), new DataSize(23, BYTE));
         assertEquals(actual.getPeakTotalMemoryReservation(), new DataSize(24, BYTE));
         assertEquals(actual.getSpilledDataSize(), new DataSize(3 * 25, BYTE));
+        assertEquals(actual.getFragmentResultCacheHits(), 3 * 26);
+        assertEquals(actual.getFragmentResultCacheMisses(), 3 * 27);
+        assertEquals(actual.getPartialAggregationsDisabled(), 3 * 28);
+        assertEquals(actual.getPartialAggregationPassThroughPositions(), 3 * 29);
         assertNull(actual.getInfo());
     }
 
@@ -244,6 +260,10 @@ public class TestOperatorStats
         assertEquals(actual.getPeakSystemMemoryReservation(), new DataSize(23, BYTE));
         assertEquals(actual.getPeakTotalMemoryReservation(), new DataSize(24, BYTE));
         assertEquals(actual.getSpilledDataSize(), new DataSize(3 * 25, BYTE));
+        assertEquals(actual.getFragmentResultCacheHits(), 3 * 26);
+        assertEquals(actual.getFragmentResultCacheMisses(), 3 * 27);
+        assertEquals(actual.getPartialAggregationsDisabled(), 3 * 28);
+        assertEquals(actual.getPartialAggregationPassThroughPositions(), 3 * 29);
         assertEquals(actual.getInfo().getClass(), PartitionedOutputInfo.class);
         assertEquals(((PartitionedOutputInfo) actual.getInfo()).getPagesAdded(), 3 * MERGEABLE_INFO.getPagesAdded());
     }
@@ -161,7 +161,26 @@ public class TestPartitionedOutputOperator
         assertEquals(operatorContext.getOutputPositions().getTotalCount(), PAGE_COUNT * PARTITION_COUNT * TESTING_PAGE_WITH_NULL_BLOCK.getPositionCount());
     }
 
+    @Test
+    public void testOutputWithDirectSerialization()
+    {
+        PartitionedOutputOperator partitionedOutputOperator = createPartitionedOutputOperator(true, true);
+        for (int i = 0; i < PAGE_COUNT; i++) {
+            partitionedOutputOperator.addInput(new Page(POSITIONS_PER_PAGE, NULL_BLOCK, TESTING_DICTIONARY_BLOCK));
+        }
+        partitionedOutputOperator.finish();
+
+        OperatorContext operatorContext = partitionedOutputOperator.getOperatorContext();
+        assertEquals(operatorContext.getOutputPositions().getTotalCount(), PAGE_COUNT * PARTITION_COUNT * TESTING_PAGE_WITH_NULL_BLOCK.getPositionCount());
+        assertEquals(partitionedOutputOperator.getInfo().getRowsAdded(), PAGE_COUNT * PARTITION_COUNT * TESTING_PAGE_WITH_NULL_BLOCK.getPositionCount());
+    }
+
     private static PartitionedOutputOperator createPartitionedOutputOperator(boolean shouldReplicate)
+    {
+        return createPartitionedOutputOperator(shouldReplicate, false);
+    }
+
+    private static PartitionedOutputOperator createPartitionedOutputOperator(boolean shouldReplicate, boolean directSerialization)
     {
         PartitionFunction partitionFunction = new LocalPartitionGenerator(new InterpretedHashGenerator(ImmutableList.of(BIGINT), new int[] {0}), PARTITION_COUNT);
         PagesSerdeFactory serdeFactory = new PagesSerdeFactory(new BlockEncodingManager(new TypeRegistry()), false);
@@ -195,7 +214,8 @@ public class TestPartitionedOutputOperator
                     true,
                     OptionalInt.of(0),
                     buffer,
-                    PARTITION_MAX_MEMORY);
+                    PARTITION_MAX_MEMORY,
+                    directSerialization);
             return (PartitionedOutputOperator) operatorFactory
                     .createOutputOperator(0, new PlanNodeId("plan-node-0"), REPLICATION_TYPES, Function.identity(), serdeFactory)
                     .createOperator(driverContext);
@@ -208,7 +228,8 @@ public class TestPartitionedOutputOperator
                     false,
                     OptionalInt.empty(),
                     buffer,
-                    PARTITION_MAX_MEMORY);
+                    PARTITION_MAX_MEMORY,
+                    directSerialization);
             return (PartitionedOutputOperator) operatorFactory
                     .createOutputOperator(0, new PlanNodeId("plan-node-0"), TYPES, Function.identity(), serdeFactory)
                     .createOperator(driverContext);
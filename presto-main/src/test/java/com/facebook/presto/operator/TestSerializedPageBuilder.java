@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator;
+
+import com.facebook.presto.block.BlockEncodingManager;
+import com.facebook.presto.execution.buffer.PagesSerde;
+import com.facebook.presto.execution.buffer.PagesSerdeFactory;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.block.DictionaryBlock;
+import com.facebook.presto.spi.block.RunLengthEncodedBlock;
+import com.facebook.presto.spi.type.RowType;
+import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.type.TypeRegistry;
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.facebook.presto.block.BlockAssertions.createBooleansBlock;
+import static com.facebook.presto.block.BlockAssertions.createDoublesBlock;
+import static com.facebook.presto.block.BlockAssertions.createIntsBlock;
+import static com.facebook.presto.block.BlockAssertions.createLongDecimalsBlock;
+import static com.facebook.presto.block.BlockAssertions.createLongsBlock;
+import static com.facebook.presto.block.BlockAssertions.createStringsBlock;
+import static com.facebook.presto.block.BlockAssertions.createTypedLongsBlock;
+import static com.facebook.presto.operator.PageAssertions.assertPageEquals;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.spi.type.DecimalType.createDecimalType;
+import static com.facebook.presto.spi.type.Decimals.MAX_SHORT_PRECISION;
+import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.spi.type.IntegerType.INTEGER;
+import static com.facebook.presto.spi.type.SmallintType.SMALLINT;
+import static com.facebook.presto.spi.type.TinyintType.TINYINT;
+import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestSerializedPageBuilder
+{
+    private static final List<Type> TYPES = ImmutableList.of(BIGINT, INTEGER, SMALLINT, TINYINT, BOOLEAN, DOUBLE, VARCHAR, createDecimalType(MAX_SHORT_PRECISION + 1));
+    private static final Page PAGE = new Page(
+            createLongsBlock(1L, null, 3L, 4L, null, 6L, 7L, 8L, 9L, 10L),
+            createIntsBlock(1, 2, null, 4, 5, 6, 7, 8, 9, null),
+            createTypedLongsBlock(SMALLINT, Arrays.asList(1L, 2L, 3L, null, 5L, 6L, 7L, 8L, 9L, 10L)),
+            createTypedLongsBlock(TINYINT, Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, null, 8L, 9L, 10L)),
+            createBooleansBlock(true, false, null, true, false, true, false, true, false, true),
+            createDoublesBlock(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, null, 9.0, 10.0),
+            createStringsBlock("a", "", null, "bcd", "efghij", null, "k", "lm", "", "nop"),
+            createLongDecimalsBlock("1", "-2", "3", "4", "5", null, "1234567890123456789", "8", "9", "-10"));
+
+    @Test
+    public void testAppendPositions()
+    {
+        SerializedPageBuilder pageBuilder = new SerializedPageBuilder(TYPES, 1024 * 1024, createPagesSerde(false));
+        assertTrue(pageBuilder.isEmpty());
+
+        pageBuilder.appendPositions(PAGE, new int[] {0, 1, 2, 5, 7}, 1, 3);
+        pageBuilder.appendPositions(PAGE, new int[] {3, 4, 6, 8, 9}, 0, 5);
+        assertFalse(pageBuilder.isEmpty());
+        assertEquals(pageBuilder.getPositionCount(), 8);
+
+        SerializedPage serializedPage = pageBuilder.build();
+        assertEquals(serializedPage.getPositionCount(), 8);
+        assertEquals(serializedPage.getUncompressedSizeInBytes(), pageBuilder.getSizeInBytes());
+        assertPageEquals(TYPES, createPagesSerde(false).deserialize(serializedPage), PAGE.getPositions(new int[] {1, 2, 5, 3, 4, 6, 8, 9}, 0, 8));
+    }
+
+    @Test
+    public void testReset()
+    {
+        PagesSerde serde = createPagesSerde(true);
+        SerializedPageBuilder pageBuilder = new SerializedPageBuilder(TYPES, 1024 * 1024, serde);
+
+        pageBuilder.appendPositions(PAGE, new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, 0, 10);
+        assertPageEquals(TYPES, serde.deserialize(pageBuilder.build()), PAGE);
+
+        pageBuilder.reset();
+        assertTrue(pageBuilder.isEmpty());
+
+        // the values of the previous page are not serialized again
+        pageBuilder.appendPositions(PAGE, new int[] {9, 0}, 0, 2);
+        assertPageEquals(TYPES, serde.deserialize(pageBuilder.build()), PAGE.getPositions(new int[] {9, 0}, 0, 2));
+    }
+
+    @Test
+    public void testDictionaryAndRunLength()
+    {
+        List<Type> types = ImmutableList.of(VARCHAR, BIGINT);
+        Page page = new Page(
+                new DictionaryBlock(createStringsBlock("a", null, "bc"), new int[] {2, 1, 0, 2, 2, 0}),
+                new RunLengthEncodedBlock(createLongsBlock(42), 6));
+        SerializedPageBuilder pageBuilder = new SerializedPageBuilder(types, 1024 * 1024, createPagesSerde(false));
+
+        pageBuilder.appendPositions(page, new int[] {0, 1, 3, 5}, 0, 4);
+        assertPageEquals(types, createPagesSerde(false).deserialize(pageBuilder.build()), page.getPositions(new int[] {0, 1, 3, 5}, 0, 4));
+    }
+
+    @Test
+    public void testIsFull()
+    {
+        SerializedPageBuilder pageBuilder = new SerializedPageBuilder(ImmutableList.of(BIGINT), 150, createPagesSerde(false));
+        Page page = new Page(createLongsBlock(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        int[] positions = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        pageBuilder.appendPositions(page, positions, 0, 10);
+        assertFalse(pageBuilder.isFull());
+        pageBuilder.appendPositions(page, positions, 0, 10);
+        assertTrue(pageBuilder.isFull());
+    }
+
+    @Test
+    public void testIsSupportedType()
+    {
+        for (Type type : TYPES) {
+            assertTrue(SerializedPageBuilder.isSupportedType(type));
+        }
+        assertFalse(SerializedPageBuilder.isSupportedType(RowType.anonymous(ImmutableList.of(BIGINT))));
+    }
+
+    private static PagesSerde createPagesSerde(boolean compressionEnabled)
+    {
+        return new PagesSerdeFactory(new BlockEncodingManager(new TypeRegistry()), compressionEnabled).createPagesSerde();
+    }
+}
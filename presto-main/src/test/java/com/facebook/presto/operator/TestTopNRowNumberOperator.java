@@ -39,6 +39,7 @@ import static com.facebook.presto.SessionTestUtils.TEST_SESSION;
 import static com.facebook.presto.operator.GroupByHashYieldAssertion.createPagesWithDistinctHashKeys;
 import static com.facebook.presto.operator.GroupByHashYieldAssertion.finishOperatorWithYieldingGroupByHash;
 import static com.facebook.presto.operator.OperatorAssertion.assertOperatorEquals;
+import static com.facebook.presto.operator.OperatorAssertion.assertOperatorEqualsIgnoreOrder;
 import static com.facebook.presto.operator.TopNRowNumberOperator.TopNRowNumberOperatorFactory;
 import static com.facebook.presto.spi.type.BigintType.BIGINT;
 import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
@@ -76,10 +77,10 @@ public class TestTopNRowNumberOperator
         scheduledExecutor.shutdownNow();
     }
 
-    @DataProvider(name = "hashEnabledValues")
-    public static Object[][] hashEnabledValuesProvider()
+    @DataProvider
+    public static Object[][] hashEnabledAndSpillEnabledValues()
     {
-        return new Object[][] {{true}, {false}};
+        return new Object[][] {{true, false}, {false, false}, {true, true}, {false, true}};
     }
 
     @DataProvider
@@ -88,8 +89,8 @@ public class TestTopNRowNumberOperator
         return new Object[][] {{true}, {false}};
     }
 
-    @Test(dataProvider = "hashEnabledValues")
-    public void testPartitioned(boolean hashEnabled)
+    @Test(dataProvider = "hashEnabledAndSpillEnabledValues")
+    public void testPartitioned(boolean hashEnabled, boolean spillEnabled)
     {
         RowPagesBuilder rowPagesBuilder = rowPagesBuilder(hashEnabled, Ints.asList(0), BIGINT, DOUBLE);
         List<Page> input = rowPagesBuilder
@@ -108,6 +109,7 @@ public class TestTopNRowNumberOperator
                 .row(2L, 0.9)
                 .build();
 
+        DummySpillerFactory spillerFactory = new DummySpillerFactory();
         TopNRowNumberOperatorFactory operatorFactory = new TopNRowNumberOperatorFactory(
                 0,
                 new PlanNodeId("test"),
@@ -121,7 +123,9 @@ public class TestTopNRowNumberOperator
                 false,
                 Optional.empty(),
                 10,
-                joinCompiler);
+                joinCompiler,
+                spillEnabled,
+                spillerFactory);
 
         MaterializedResult expected = resultBuilder(driverContext.getSession(), DOUBLE, BIGINT, BIGINT)
                 .row(0.3, 1L, 1L)
@@ -134,7 +138,14 @@ public class TestTopNRowNumberOperator
                 .row(0.91, 3L, 2L)
                 .build();
 
-        assertOperatorEquals(operatorFactory, driverContext, input, expected);
+        if (spillEnabled) {
+            // the output of a spilled operator is ordered by the hash of the partition
+            assertOperatorEqualsIgnoreOrder(operatorFactory, driverContext, input, expected);
+            assertGreaterThan(spillerFactory.getSpillsCount(), 0L);
+        }
+        else {
+            assertOperatorEquals(operatorFactory, driverContext, input, expected);
+        }
     }
 
     @Test(dataProvider = "partial")
@@ -169,7 +180,9 @@ public class TestTopNRowNumberOperator
                 partial,
                 Optional.empty(),
                 10,
-                joinCompiler);
+                joinCompiler,
+                false,
+                new DummySpillerFactory());
 
         MaterializedResult expected;
         if (partial) {
@@ -208,7 +221,9 @@ public class TestTopNRowNumberOperator
                 false,
                 Optional.empty(),
                 10,
-                joinCompiler);
+                joinCompiler,
+                false,
+                new DummySpillerFactory());
 
         // get result with yield; pick a relatively small buffer for heaps
         GroupByHashYieldAssertion.GroupByHashYieldResult result = finishOperatorWithYieldingGroupByHash(
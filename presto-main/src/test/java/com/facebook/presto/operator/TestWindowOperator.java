@@ -27,6 +27,7 @@ import com.facebook.presto.spi.Page;
 import com.facebook.presto.spi.block.SortOrder;
 import com.facebook.presto.spi.plan.PlanNodeId;
 import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spiller.SpillerFactory;
 import com.facebook.presto.testing.MaterializedResult;
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
@@ -60,6 +61,7 @@ import static io.airlift.concurrent.Threads.daemonThreadsNamed;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 @Test(singleThreaded = true)
 public class TestWindowOperator
@@ -456,6 +458,91 @@ public class TestWindowOperator
         assertOperatorEqualsIgnoreOrder(operatorFactory, driverContext, input, expected);
     }
 
+    @Test
+    public void testRowNumberPartitionSpill()
+    {
+        List<Page> input = rowPagesBuilder(VARCHAR, BIGINT, DOUBLE, BOOLEAN)
+                .row("b", -1L, -0.1, true)
+                .row("a", 2L, 0.3, false)
+                .row("a", 4L, 0.2, true)
+                .pageBreak()
+                .row("b", 5L, 0.4, false)
+                .row("a", 6L, 0.1, true)
+                .pageBreak()
+                .row("c", 3L, 0.5, false)
+                .row("a", 1L, 0.6, true)
+                .build();
+
+        DummySpillerFactory spillerFactory = new DummySpillerFactory();
+        WindowOperatorFactory operatorFactory = createFactoryUnbounded(
+                ImmutableList.of(VARCHAR, BIGINT, DOUBLE, BOOLEAN),
+                Ints.asList(0, 1, 2, 3),
+                ROW_NUMBER,
+                Ints.asList(0),
+                ImmutableList.of(),
+                Ints.asList(1),
+                ImmutableList.of(SortOrder.ASC_NULLS_LAST),
+                0,
+                true,
+                spillerFactory);
+
+        MaterializedResult expected = resultBuilder(driverContext.getSession(), VARCHAR, BIGINT, DOUBLE, BOOLEAN, BIGINT)
+                .row("a", 1L, 0.6, true, 1L)
+                .row("a", 2L, 0.3, false, 2L)
+                .row("a", 4L, 0.2, true, 3L)
+                .row("a", 6L, 0.1, true, 4L)
+                .row("b", -1L, -0.1, true, 1L)
+                .row("b", 5L, 0.4, false, 2L)
+                .row("c", 3L, 0.5, false, 1L)
+                .build();
+
+        assertOperatorEquals(operatorFactory, driverContext, input, expected);
+        assertTrue(spillerFactory.getSpillsCount() > 0, "expected the operator to spill");
+    }
+
+    @Test
+    public void testPartiallyPreGroupedPartitionSpill()
+    {
+        List<Page> input = rowPagesBuilder(BIGINT, VARCHAR, BIGINT, VARCHAR)
+                .row(1L, "a", 100L, "A")
+                .row(2L, "a", 101L, "B")
+                .pageBreak()
+                .row(3L, "b", 102L, "E")
+                .row(1L, "b", 103L, "D")
+                .pageBreak()
+                .row(3L, "b", 104L, "C")
+                .row(1L, "b", 106L, "G")
+                .pageBreak()
+                .row(1L, "c", 105L, "F")
+                .build();
+
+        DummySpillerFactory spillerFactory = new DummySpillerFactory();
+        WindowOperatorFactory operatorFactory = createFactoryUnbounded(
+                ImmutableList.of(BIGINT, VARCHAR, BIGINT, VARCHAR),
+                Ints.asList(0, 1, 2, 3),
+                ROW_NUMBER,
+                Ints.asList(0, 1),
+                Ints.asList(1),
+                Ints.asList(3),
+                ImmutableList.of(SortOrder.ASC_NULLS_LAST),
+                0,
+                true,
+                spillerFactory);
+
+        MaterializedResult expected = resultBuilder(driverContext.getSession(), BIGINT, VARCHAR, BIGINT, VARCHAR, BIGINT)
+                .row(1L, "a", 100L, "A", 1L)
+                .row(2L, "a", 101L, "B", 1L)
+                .row(3L, "b", 104L, "C", 1L)
+                .row(3L, "b", 102L, "E", 2L)
+                .row(1L, "b", 103L, "D", 1L)
+                .row(1L, "b", 106L, "G", 2L)
+                .row(1L, "c", 105L, "F", 1L)
+                .build();
+
+        assertOperatorEqualsIgnoreOrder(operatorFactory, driverContext, input, expected);
+        assertTrue(spillerFactory.getSpillsCount() > 0, "expected the operator to spill");
+    }
+
     @Test
     public void testFullyPreGroupedPartition()
     {
@@ -641,6 +728,31 @@ public class TestWindowOperator
             List<Integer> sortChannels,
             List<SortOrder> sortOrder,
             int preSortedChannelPrefix)
+    {
+        return createFactoryUnbounded(
+                sourceTypes,
+                outputChannels,
+                functions,
+                partitionChannels,
+                preGroupedChannels,
+                sortChannels,
+                sortOrder,
+                preSortedChannelPrefix,
+                false,
+                new DummySpillerFactory());
+    }
+
+    private static WindowOperatorFactory createFactoryUnbounded(
+            List<? extends Type> sourceTypes,
+            List<Integer> outputChannels,
+            List<WindowFunctionDefinition> functions,
+            List<Integer> partitionChannels,
+            List<Integer> preGroupedChannels,
+            List<Integer> sortChannels,
+            List<SortOrder> sortOrder,
+            int preSortedChannelPrefix,
+            boolean spillEnabled,
+            SpillerFactory spillerFactory)
     {
         return new WindowOperatorFactory(
                 0,
@@ -654,6 +766,8 @@ public class TestWindowOperator
                 sortOrder,
                 preSortedChannelPrefix,
                 10,
-                new PagesIndex.TestingFactory(false));
+                new PagesIndex.TestingFactory(false),
+                spillEnabled,
+                spillerFactory);
     }
 }
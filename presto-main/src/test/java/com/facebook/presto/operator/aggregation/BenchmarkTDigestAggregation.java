@@ -0,0 +1,276 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.aggregation;
+
+import com.facebook.presto.metadata.FunctionManager;
+import com.facebook.presto.metadata.MetadataManager;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.tdigest.TDigest;
+import com.google.common.collect.ImmutableList;
+import io.airlift.stats.QuantileDigest;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+import org.openjdk.jmh.runner.options.WarmupMode;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+
+import static com.facebook.presto.block.BlockAssertions.createRLEBlock;
+import static com.facebook.presto.operator.aggregation.FloatingPointBitsConverterUtil.doubleToSortableLong;
+import static com.facebook.presto.operator.aggregation.FloatingPointBitsConverterUtil.sortableLongToDouble;
+import static com.facebook.presto.operator.scalar.QuantileDigestFunctions.DEFAULT_ACCURACY;
+import static com.facebook.presto.operator.scalar.TDigestFunctions.DEFAULT_COMPRESSION;
+import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static com.facebook.presto.tdigest.TDigest.createTDigest;
+import static org.openjdk.jmh.annotations.Level.Invocation;
+
+/**
+ * Compares tdigest_agg with qdigest_agg and approx_percentile, which is also backed by a quantile digest.
+ * Besides the input and merge throughput, {@link #addInput} reports the serialized size of the digest
+ * and its rank error at a few quantiles as secondary results, which {@link #main} prints side by side.
+ */
+@SuppressWarnings("MethodMayBeStatic")
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BenchmarkTDigestAggregation
+{
+    private static final int ROWS = 1_000_000;
+    private static final int PARTIAL_STATES = 100;
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void addInput(BenchmarkData data, DigestCounters counters)
+    {
+        data.getAccumulator().addInput(data.getPage());
+        data.recordDigestCounters(counters);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARTIAL_STATES)
+    public void addIntermediate(BenchmarkData data)
+    {
+        data.getAccumulator().addIntermediate(data.getIntermediateStates());
+    }
+
+    /**
+     * Rank errors are in parts per million of the rows, as the counters are integers.
+     */
+    @SuppressWarnings("PublicField")
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class DigestCounters
+    {
+        public long stateSizeInBytes;
+        public long medianRankErrorPpm;
+        public long p99RankErrorPpm;
+        public long p999RankErrorPpm;
+    }
+
+    @SuppressWarnings("FieldMayBeFinal")
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        @Param({"tdigest_agg", "qdigest_agg", "approx_percentile"})
+        private String name = "tdigest_agg";
+
+        private Page page;
+        private Block intermediateStates;
+        private InternalAggregationFunction function;
+        private Accumulator accumulator;
+
+        private long stateSizeInBytes;
+        private long medianRankErrorPpm;
+        private long p99RankErrorPpm;
+        private long p999RankErrorPpm;
+
+        @Setup
+        public void setupData()
+        {
+            function = getFunction(name);
+            double[] values = createValues(ROWS);
+            page = createPage(values);
+            measureDigest(values);
+
+            // the partial states of one aggregation each cover a slice of the input
+            int rowsPerState = ROWS / PARTIAL_STATES;
+            BlockBuilder intermediateBuilder = null;
+            for (int i = 0; i < PARTIAL_STATES; i++) {
+                Accumulator partial = createAccumulator(function, name);
+                partial.addInput(page.getRegion(i * rowsPerState, rowsPerState));
+                if (intermediateBuilder == null) {
+                    intermediateBuilder = partial.getIntermediateType().createBlockBuilder(null, PARTIAL_STATES);
+                }
+                partial.evaluateIntermediate(intermediateBuilder);
+            }
+            intermediateStates = intermediateBuilder.build();
+        }
+
+        private void measureDigest(double[] values)
+        {
+            DoubleUnaryOperator quantiles;
+            if (name.equals("tdigest_agg")) {
+                TDigest digest = createTDigest(DEFAULT_COMPRESSION);
+                for (double value : values) {
+                    digest.add(value);
+                }
+                stateSizeInBytes = digest.serialize().length();
+                quantiles = digest::getQuantile;
+            }
+            else {
+                // approx_percentile uses the same digest as qdigest_agg, so they share the accuracy and state size
+                QuantileDigest digest = new QuantileDigest(DEFAULT_ACCURACY);
+                for (double value : values) {
+                    digest.add(doubleToSortableLong(value));
+                }
+                stateSizeInBytes = digest.serialize().length();
+                quantiles = quantile -> sortableLongToDouble(digest.getQuantile(quantile));
+            }
+
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            medianRankErrorPpm = rankErrorPpm(sorted, 0.5, quantiles);
+            p99RankErrorPpm = rankErrorPpm(sorted, 0.99, quantiles);
+            p999RankErrorPpm = rankErrorPpm(sorted, 0.999, quantiles);
+        }
+
+        public void recordDigestCounters(DigestCounters counters)
+        {
+            counters.stateSizeInBytes = stateSizeInBytes;
+            counters.medianRankErrorPpm = medianRankErrorPpm;
+            counters.p99RankErrorPpm = p99RankErrorPpm;
+            counters.p999RankErrorPpm = p999RankErrorPpm;
+        }
+
+        @Setup(Invocation)
+        public void setupAccumulator()
+        {
+            accumulator = createAccumulator(function, name);
+        }
+
+        public Accumulator getAccumulator()
+        {
+            return accumulator;
+        }
+
+        public Page getPage()
+        {
+            return page;
+        }
+
+        public Block getIntermediateStates()
+        {
+            return intermediateStates;
+        }
+    }
+
+    private static InternalAggregationFunction getFunction(String name)
+    {
+        FunctionManager functionManager = MetadataManager.createTestMetadataManager().getFunctionManager();
+        List<Type> types = name.equals("approx_percentile") ? ImmutableList.of(DOUBLE, DOUBLE) : ImmutableList.of(DOUBLE);
+        return functionManager.getAggregateFunctionImplementation(functionManager.lookupFunction(name, fromTypes(types)));
+    }
+
+    private static Accumulator createAccumulator(InternalAggregationFunction function, String name)
+    {
+        List<Integer> channels = name.equals("approx_percentile") ? ImmutableList.of(0, 1) : ImmutableList.of(0);
+        return function.bind(channels, Optional.empty()).createAccumulator();
+    }
+
+    private static Page createPage(double[] values)
+    {
+        BlockBuilder blockBuilder = DOUBLE.createBlockBuilder(null, values.length);
+        for (double value : values) {
+            DOUBLE.writeDouble(blockBuilder, value);
+        }
+        return new Page(blockBuilder.build(), createRLEBlock(0.5, values.length));
+    }
+
+    private static double[] createValues(int rows)
+    {
+        // latency-like distribution with a long tail
+        double[] values = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = Math.exp(ThreadLocalRandom.current().nextGaussian());
+        }
+        return values;
+    }
+
+    private static long rankErrorPpm(double[] sorted, double quantile, DoubleUnaryOperator quantiles)
+    {
+        int rank = Arrays.binarySearch(sorted, quantiles.applyAsDouble(quantile));
+        if (rank < 0) {
+            rank = -(rank + 1);
+        }
+        return Math.round(Math.abs((double) rank / sorted.length - quantile) * 1_000_000);
+    }
+
+    public static void main(String[] args)
+            throws Throwable
+    {
+        // assure the benchmarks are valid before running
+        BenchmarkData data = new BenchmarkData();
+        data.setupData();
+        data.setupAccumulator();
+        new BenchmarkTDigestAggregation().addInput(data, new DigestCounters());
+        new BenchmarkTDigestAggregation().addIntermediate(data);
+
+        Options options = new OptionsBuilder()
+                .verbosity(VerboseMode.NORMAL)
+                .warmupMode(WarmupMode.BULK)
+                .include(".*" + BenchmarkTDigestAggregation.class.getSimpleName() + ".*")
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        for (RunResult result : results) {
+            if (!result.getPrimaryResult().getLabel().equals("addInput")) {
+                continue;
+            }
+            System.out.printf("  %-20s  state %8.0f bytes  rank error p50 %6.0f ppm, p99 %6.0f ppm, p99.9 %6.0f ppm%n",
+                    result.getParams().getParam("name"),
+                    result.getSecondaryResults().get("stateSizeInBytes").getStatistics().getMean(),
+                    result.getSecondaryResults().get("medianRankErrorPpm").getStatistics().getMean(),
+                    result.getSecondaryResults().get("p99RankErrorPpm").getStatistics().getMean(),
+                    result.getSecondaryResults().get("p999RankErrorPpm").getStatistics().getMean());
+        }
+    }
+}
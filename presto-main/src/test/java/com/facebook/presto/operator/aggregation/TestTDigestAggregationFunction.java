@@ -0,0 +1,219 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.aggregation;
+
+import com.facebook.presto.metadata.FunctionManager;
+import com.facebook.presto.metadata.MetadataManager;
+import com.facebook.presto.operator.scalar.AbstractTestFunctions;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.type.SqlVarbinary;
+import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.tdigest.TDigest;
+import com.google.common.base.Joiner;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.facebook.presto.block.BlockAssertions.createDoubleSequenceBlock;
+import static com.facebook.presto.block.BlockAssertions.createDoublesBlock;
+import static com.facebook.presto.block.BlockAssertions.createRLEBlock;
+import static com.facebook.presto.operator.aggregation.AggregationTestUtils.assertAggregation;
+import static com.facebook.presto.operator.aggregation.TestMergeTDigestFunction.TDIGEST_EQUALITY;
+import static com.facebook.presto.operator.scalar.TDigestFunctions.DEFAULT_COMPRESSION;
+import static com.facebook.presto.spi.StandardErrorCode.INVALID_FUNCTION_ARGUMENT;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.spi.type.TypeSignature.parseTypeSignature;
+import static com.facebook.presto.sql.analyzer.TypeSignatureProvider.fromTypes;
+import static com.facebook.presto.tdigest.TDigest.createTDigest;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.lang.Integer.max;
+import static java.lang.Integer.min;
+import static java.lang.String.format;
+
+public class TestTDigestAggregationFunction
+        extends AbstractTestFunctions
+{
+    private static final Joiner ARRAY_JOINER = Joiner.on(",");
+    private static final MetadataManager METADATA = MetadataManager.createTestMetadataManager();
+    // allowed error of the rank of a returned value, as a fraction of the number of values
+    private static final double RANK_ERROR = 0.05;
+
+    @Test
+    public void testDoublesWithWeights()
+    {
+        testAggregationDouble(
+                createDoublesBlock(1.0, null, 2.0, null, 3.0, null, 4.0, null, 5.0, null),
+                createRLEBlock(1, 10),
+                1.0, 2.0, 3.0, 4.0, 5.0);
+        testAggregationDouble(
+                createDoublesBlock(null, null, null, null, null),
+                createRLEBlock(1, 5));
+        testAggregationDouble(
+                createDoublesBlock(-1.0, -2.0, -3.0, -4.0, -5.0, -6.0, -7.0, -8.0, -9.0, -10.0),
+                createRLEBlock(1, 10),
+                -1.0, -2.0, -3.0, -4.0, -5.0, -6.0, -7.0, -8.0, -9.0, -10.0);
+        testAggregationDouble(
+                createDoublesBlock(),
+                createRLEBlock(1, 0));
+        testAggregationDouble(
+                createDoublesBlock(1.0),
+                createRLEBlock(1, 1),
+                1.0);
+        testAggregationDouble(
+                createDoubleSequenceBlock(-1000, 1000),
+                createRLEBlock(1, 2000),
+                LongStream.range(-1000, 1000).asDoubleStream().toArray());
+    }
+
+    @Test
+    public void testQuantileAtValue()
+    {
+        SqlVarbinary digest = (SqlVarbinary) AggregationTestUtils.aggregation(
+                getAggregationFunction(DOUBLE),
+                new Page(createDoubleSequenceBlock(0, 1000)));
+        functionAssertions.assertFunction(
+                format("abs(quantile_at_value(%s, 250) - 0.25) <= %s", toSql(digest), RANK_ERROR),
+                BOOLEAN,
+                true);
+        functionAssertions.assertFunction(format("quantile_at_value(%s, -1)", toSql(digest)), DOUBLE, 0.0);
+        functionAssertions.assertFunction(format("quantile_at_value(%s, 1000)", toSql(digest)), DOUBLE, 1.0);
+    }
+
+    @Test
+    public void testInvalidArguments()
+    {
+        SqlVarbinary digest = (SqlVarbinary) AggregationTestUtils.aggregation(
+                getAggregationFunction(DOUBLE),
+                new Page(createDoubleSequenceBlock(0, 10)));
+        functionAssertions.assertInvalidFunction(format("value_at_quantile(%s, 1.5E0)", toSql(digest)), INVALID_FUNCTION_ARGUMENT);
+        functionAssertions.assertInvalidFunction(format("values_at_quantiles(%s, ARRAY[0.5E0, -0.1E0])", toSql(digest)), INVALID_FUNCTION_ARGUMENT);
+    }
+
+    private InternalAggregationFunction getAggregationFunction(Type... type)
+    {
+        FunctionManager functionManager = METADATA.getFunctionManager();
+        return functionManager.getAggregateFunctionImplementation(
+                functionManager.lookupFunction("tdigest_agg", fromTypes(type)));
+    }
+
+    private void testAggregationDouble(Block valuesBlock, Block weightsBlock, double... inputs)
+    {
+        // Test without weights and compression
+        testAggregationDoubles(
+                getAggregationFunction(DOUBLE),
+                new Page(valuesBlock),
+                inputs);
+        // Test with weights and without compression
+        testAggregationDoubles(
+                getAggregationFunction(DOUBLE, BIGINT),
+                new Page(valuesBlock, weightsBlock),
+                inputs);
+        // Test with weights and compression
+        testAggregationDoubles(
+                getAggregationFunction(DOUBLE, BIGINT, DOUBLE),
+                new Page(valuesBlock, weightsBlock, createRLEBlock(DEFAULT_COMPRESSION, valuesBlock.getPositionCount())),
+                inputs);
+    }
+
+    private void testAggregationDoubles(InternalAggregationFunction function, Page page, double... inputs)
+    {
+        assertAggregation(function,
+                TDIGEST_EQUALITY,
+                "test multiple positions",
+                page,
+                getExpectedValueDoubles(inputs));
+
+        // test scalars
+        List<Double> rows = Arrays.stream(inputs).sorted().boxed().collect(toImmutableList());
+
+        SqlVarbinary returned = (SqlVarbinary) AggregationTestUtils.aggregation(function, page);
+        assertPercentileWithinError(returned, rows, 0.1, 0.5, 0.9, 0.99);
+    }
+
+    private Object getExpectedValueDoubles(double... values)
+    {
+        if (values.length == 0) {
+            return null;
+        }
+        TDigest tdigest = createTDigest(DEFAULT_COMPRESSION);
+        Arrays.stream(values).forEach(tdigest::add);
+        return new SqlVarbinary(tdigest.serialize().getBytes());
+    }
+
+    private void assertPercentileWithinError(SqlVarbinary binary, List<Double> rows, double... percentiles)
+    {
+        if (rows.isEmpty()) {
+            // Nothing to assert except that the tdigest is empty
+            return;
+        }
+
+        // Test each quantile individually (value_at_quantile)
+        for (double percentile : percentiles) {
+            functionAssertions.assertFunction(
+                    format("value_at_quantile(%s, %s) >= %s", toSql(binary), percentile, getLowerBound(rows, percentile)),
+                    BOOLEAN,
+                    true);
+            functionAssertions.assertFunction(
+                    format("value_at_quantile(%s, %s) <= %s", toSql(binary), percentile, getUpperBound(rows, percentile)),
+                    BOOLEAN,
+                    true);
+        }
+
+        // Test all the quantiles (values_at_quantiles)
+        List<Double> boxedPercentiles = Arrays.stream(percentiles).sorted().boxed().collect(toImmutableList());
+        List<Double> lowerBounds = boxedPercentiles.stream().map(percentile -> getLowerBound(rows, percentile)).collect(toImmutableList());
+        List<Double> upperBounds = boxedPercentiles.stream().map(percentile -> getUpperBound(rows, percentile)).collect(toImmutableList());
+        functionAssertions.assertFunction(
+                format(
+                        "zip_with(values_at_quantiles(%s, ARRAY[%s]), ARRAY[%s], (value, lowerbound) -> value >= lowerbound)",
+                        toSql(binary),
+                        ARRAY_JOINER.join(boxedPercentiles),
+                        ARRAY_JOINER.join(lowerBounds)),
+                METADATA.getType(parseTypeSignature("array(boolean)")),
+                Collections.nCopies(percentiles.length, true));
+        functionAssertions.assertFunction(
+                format(
+                        "zip_with(values_at_quantiles(%s, ARRAY[%s]), ARRAY[%s], (value, upperbound) -> value <= upperbound)",
+                        toSql(binary),
+                        ARRAY_JOINER.join(boxedPercentiles),
+                        ARRAY_JOINER.join(upperBounds)),
+                METADATA.getType(parseTypeSignature("array(boolean)")),
+                Collections.nCopies(percentiles.length, true));
+    }
+
+    private static String toSql(SqlVarbinary binary)
+    {
+        return format("CAST(X'%s' AS tdigest(double))", binary.toString().replaceAll("\\s+", " "));
+    }
+
+    private static double getLowerBound(List<Double> rows, double percentile)
+    {
+        int medianIndex = (int) (rows.size() * percentile);
+        int marginOfError = (int) Math.ceil(rows.size() * RANK_ERROR);
+        return rows.get(max(medianIndex - marginOfError, 0));
+    }
+
+    private static double getUpperBound(List<Double> rows, double percentile)
+    {
+        int medianIndex = (int) (rows.size() * percentile);
+        int marginOfError = (int) Math.ceil(rows.size() * RANK_ERROR);
+        return rows.get(min(medianIndex + marginOfError, rows.size() - 1));
+    }
+}
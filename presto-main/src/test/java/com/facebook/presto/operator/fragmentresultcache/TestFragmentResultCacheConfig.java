@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.fragmentresultcache;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.configuration.testing.ConfigAssertions;
+import io.airlift.units.DataSize;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
+import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+
+public class TestFragmentResultCacheConfig
+{
+    @Test
+    public void testDefaults()
+    {
+        assertRecordedDefaults(ConfigAssertions.recordDefaults(FragmentResultCacheConfig.class)
+                .setMaxMemory(new DataSize(256, MEGABYTE))
+                .setMaxEntrySize(new DataSize(16, MEGABYTE))
+                .setPath(null)
+                .setMaxDiskSize(new DataSize(10, GIGABYTE)));
+    }
+
+    @Test
+    public void testExplicitPropertyMappings()
+    {
+        Map<String, String> properties = new ImmutableMap.Builder<String, String>()
+                .put("experimental.fragment-result-cache-max-memory", "1GB")
+                .put("experimental.fragment-result-cache-max-entry-size", "32MB")
+                .put("experimental.fragment-result-cache-path", "/tmp/fragment-result-cache")
+                .put("experimental.fragment-result-cache-max-disk-size", "100GB")
+                .build();
+
+        FragmentResultCacheConfig expected = new FragmentResultCacheConfig()
+                .setMaxMemory(new DataSize(1, GIGABYTE))
+                .setMaxEntrySize(new DataSize(32, MEGABYTE))
+                .setPath("/tmp/fragment-result-cache")
+                .setMaxDiskSize(new DataSize(100, GIGABYTE));
+
+        assertFullMapping(properties, expected);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.fragmentresultcache;
+
+import com.facebook.presto.block.BlockEncodingManager;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.type.TestingTypeManager;
+import com.google.common.collect.ImmutableList;
+import io.airlift.units.DataSize;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static com.facebook.presto.SequencePageBuilder.createSequencePage;
+import static com.facebook.presto.operator.PageAssertions.assertPageEquals;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.airlift.units.DataSize.Unit.GIGABYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.lang.Thread.sleep;
+import static java.nio.file.Files.createTempDirectory;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
+public class TestFragmentResultCacheManager
+{
+    private static final List<Page> PAGES = ImmutableList.of(
+            createSequencePage(ImmutableList.of(BIGINT), 100, 0),
+            createSequencePage(ImmutableList.of(BIGINT), 50, 100));
+
+    private Path path;
+
+    @BeforeMethod
+    public void setUp()
+            throws IOException
+    {
+        path = createTempDirectory(getClass().getSimpleName());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown()
+            throws IOException
+    {
+        deleteRecursively(path, ALLOW_INSECURE);
+    }
+
+    @Test
+    public void testMemoryCache()
+    {
+        FragmentResultCacheManager cacheManager = createCacheManager(new DataSize(10, MEGABYTE), new DataSize(1, MEGABYTE), Optional.empty());
+
+        assertFalse(cacheManager.get("key").isPresent());
+        cacheManager.put("key", PAGES);
+        assertPagesEqual(cacheManager.get("key").get(), PAGES);
+        assertFalse(cacheManager.get("other").isPresent());
+
+        assertEquals(cacheManager.getCachedResults(), 1);
+        assertEquals(cacheManager.getHits().getTotalCount(), 1);
+        assertEquals(cacheManager.getMisses().getTotalCount(), 2);
+        cacheManager.stop();
+    }
+
+    @Test
+    public void testMaxEntrySize()
+    {
+        FragmentResultCacheManager cacheManager = createCacheManager(new DataSize(10, MEGABYTE), new DataSize(100, BYTE), Optional.empty());
+
+        cacheManager.put("key", PAGES);
+        assertFalse(cacheManager.get("key").isPresent());
+        assertEquals(cacheManager.getCachedResults(), 0);
+        cacheManager.stop();
+    }
+
+    @Test(timeOut = 30_000)
+    public void testEvictionToDisk()
+            throws InterruptedException
+    {
+        long entrySize = PAGES.stream().mapToLong(Page::getRetainedSizeInBytes).sum();
+        // the memory is split between the segments of the cache, so a single entry does not fit
+        FragmentResultCacheManager cacheManager = createCacheManager(new DataSize(entrySize, BYTE), new DataSize(entrySize, BYTE), Optional.of(path));
+
+        cacheManager.put("key", PAGES);
+        assertEquals(cacheManager.getCachedResults(), 0);
+
+        // the evicted result is written to disk in the background
+        Optional<List<Page>> cachedPages = cacheManager.get("key");
+        while (!cachedPages.isPresent()) {
+            sleep(10);
+            cachedPages = cacheManager.get("key");
+        }
+        assertPagesEqual(cachedPages.get(), PAGES);
+        assertEquals(cacheManager.getDiskHits().getTotalCount(), 1);
+        cacheManager.stop();
+    }
+
+    private static FragmentResultCacheManager createCacheManager(DataSize maxMemory, DataSize maxEntrySize, Optional<Path> path)
+    {
+        return new FragmentResultCacheManager(maxMemory, maxEntrySize, path, new DataSize(1, GIGABYTE), new BlockEncodingManager(new TestingTypeManager()));
+    }
+
+    private static void assertPagesEqual(List<Page> actual, List<Page> expected)
+    {
+        assertEquals(actual.size(), expected.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertPageEquals(ImmutableList.of(BIGINT), actual.get(i), expected.get(i));
+        }
+    }
+}
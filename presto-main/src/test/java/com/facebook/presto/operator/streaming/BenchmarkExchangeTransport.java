@@ -0,0 +1,293 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import com.facebook.presto.block.BlockAssertions;
+import com.facebook.presto.execution.TaskId;
+import com.facebook.presto.execution.TaskManager;
+import com.facebook.presto.execution.buffer.BufferResult;
+import com.facebook.presto.execution.buffer.OutputBuffers.OutputBufferId;
+import com.facebook.presto.execution.buffer.PagesSerde;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.memory.context.SimpleLocalMemoryContext;
+import com.facebook.presto.operator.ExchangeClient;
+import com.facebook.presto.operator.streaming.TestingResultsTaskManager.TestingResultsBuffer;
+import com.facebook.presto.spi.Page;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.http.client.HttpClient;
+import io.airlift.http.client.HttpClientConfig;
+import io.airlift.http.client.jetty.JettyHttpClient;
+import io.airlift.http.server.HttpServerConfig;
+import io.airlift.http.server.HttpServerInfo;
+import io.airlift.http.server.testing.TestingHttpServer;
+import io.airlift.node.NodeInfo;
+import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.facebook.presto.PrestoMediaTypes.PRESTO_PAGES;
+import static com.facebook.presto.client.PrestoHeaders.PRESTO_BUFFER_COMPLETE;
+import static com.facebook.presto.client.PrestoHeaders.PRESTO_MAX_SIZE;
+import static com.facebook.presto.client.PrestoHeaders.PRESTO_PAGE_NEXT_TOKEN;
+import static com.facebook.presto.client.PrestoHeaders.PRESTO_PAGE_TOKEN;
+import static com.facebook.presto.client.PrestoHeaders.PRESTO_TASK_INSTANCE_ID;
+import static com.facebook.presto.execution.buffer.PagesSerdeUtil.writeSerializedPages;
+import static com.facebook.presto.execution.buffer.TestingPagesSerdeFactory.testingPagesSerde;
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.google.common.base.Preconditions.checkState;
+import static io.airlift.concurrent.MoreFutures.getFutureValue;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.Collections.nCopies;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares draining remote output buffers through {@link com.facebook.presto.operator.HttpPageBufferClient}
+ * with draining them through {@link StreamingPageBufferClient}. Both transports are served from the same
+ * in-memory buffers, so the difference is the cost of the transport itself.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(MILLISECONDS)
+@Fork(3)
+@Warmup(iterations = 10, time = 500, timeUnit = MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BenchmarkExchangeTransport
+{
+    @Benchmark
+    public int exchange(BenchmarkData data)
+    {
+        ExchangeClient exchangeClient = data.createExchangeClient();
+        int positions = 0;
+        while (!exchangeClient.isClosed()) {
+            getFutureValue(exchangeClient.isBlocked());
+            SerializedPage page = exchangeClient.pollPage();
+            if (page != null) {
+                positions += page.getPositionCount();
+            }
+        }
+        exchangeClient.close();
+        return positions;
+    }
+
+    @State(Scope.Thread)
+    public static class BenchmarkData
+    {
+        private static final PagesSerde PAGES_SERDE = testingPagesSerde();
+        private static final DataSize MAX_FRAME_SIZE = new DataSize(32, MEGABYTE);
+        private static final DataSize MAX_RESPONSE_SIZE = new DataSize(1, MEGABYTE);
+
+        @Param({"HTTP", "STREAMING"})
+        private String transport = "STREAMING";
+
+        @Param({"1", "8"})
+        private int sourceCount = 8;
+
+        @Param({"16", "1024"})
+        private int positionsPerPage = 1024;
+
+        @Param("500")
+        private int pagesPerSource = 500;
+
+        private final AtomicInteger nextQueryId = new AtomicInteger();
+
+        private ScheduledExecutorService scheduler;
+        private ExecutorService pageBufferClientCallbackExecutor;
+        private TestingResultsTaskManager taskManager;
+        private TestingHttpServer httpServer;
+        private HttpClient httpClient;
+        private StreamingExchangeServer streamingServer;
+        private StreamingExchangeConnector streamingConnector;
+        private List<SerializedPage> pages;
+
+        @Setup
+        public void setup()
+                throws Exception
+        {
+            scheduler = newScheduledThreadPool(4, daemonThreadsNamed("benchmark-scheduler-%s"));
+            pageBufferClientCallbackExecutor = newCachedThreadPool(daemonThreadsNamed("benchmark-callback-%s"));
+            taskManager = new TestingResultsTaskManager();
+
+            HttpServerConfig httpServerConfig = new HttpServerConfig()
+                    .setHttpPort(0)
+                    .setLogEnabled(false);
+            NodeInfo nodeInfo = new NodeInfo("test");
+            httpServer = new TestingHttpServer(new HttpServerInfo(httpServerConfig, nodeInfo), nodeInfo, httpServerConfig, new TaskResultsServlet(taskManager), ImmutableMap.of());
+            httpServer.start();
+            httpClient = new JettyHttpClient(new HttpClientConfig().setMaxContentLength(MAX_FRAME_SIZE));
+
+            streamingServer = new StreamingExchangeServer(taskManager, 0, 4, MAX_FRAME_SIZE, "secret", Optional.empty());
+            streamingServer.start();
+            streamingConnector = new StreamingExchangeConnector(streamingServer.getPort(), 4, MAX_FRAME_SIZE, new Duration(10, SECONDS), "secret", Optional.empty());
+
+            SerializedPage page = PAGES_SERDE.serialize(new Page(BlockAssertions.createLongSequenceBlock(0, positionsPerPage)));
+            pages = ImmutableList.copyOf(nCopies(pagesPerSource, page));
+        }
+
+        @TearDown
+        public void tearDown()
+                throws Exception
+        {
+            streamingConnector.close();
+            streamingServer.stop();
+            httpClient.close();
+            httpServer.stop();
+            pageBufferClientCallbackExecutor.shutdownNow();
+            scheduler.shutdownNow();
+        }
+
+        public ExchangeClient createExchangeClient()
+        {
+            ExchangeClient exchangeClient = new ExchangeClient(
+                    new DataSize(32, MEGABYTE),
+                    MAX_RESPONSE_SIZE,
+                    3,
+                    new Duration(1, MINUTES),
+                    true,
+                    httpClient,
+                    transport.equals("STREAMING") ? Optional.of(streamingConnector) : Optional.empty(),
+                    scheduler,
+                    new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "benchmark"),
+                    pageBufferClientCallbackExecutor);
+
+            String queryId = "query" + nextQueryId.getAndIncrement();
+            for (int source = 0; source < sourceCount; source++) {
+                TaskId taskId = new TaskId(queryId, 0, source);
+                TestingResultsBuffer buffer = taskManager.getBuffer(taskId);
+                buffer.addPages(pages);
+                buffer.setNoMorePages();
+
+                URI location = URI.create("http://localhost:" + httpServer.getPort() + "/v1/task/" + taskId + "/results/0");
+                exchangeClient.addLocation(location, taskId);
+            }
+            exchangeClient.noMoreLocations();
+            return exchangeClient;
+        }
+    }
+
+    /**
+     * Serves the subset of the task results resource used by {@link com.facebook.presto.operator.HttpPageBufferClient}.
+     */
+    private static class TaskResultsServlet
+            extends HttpServlet
+    {
+        private final TaskManager taskManager;
+
+        public TaskResultsServlet(TaskManager taskManager)
+        {
+            this.taskManager = taskManager;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response)
+                throws IOException
+        {
+            // /v1/task/{taskId}/results/{bufferId}/{token}[/acknowledge]
+            String[] path = request.getPathInfo().split("/");
+            TaskId taskId = TaskId.valueOf(path[3]);
+            OutputBufferId bufferId = OutputBufferId.fromString(path[5]);
+            long token = Long.parseLong(path[6]);
+
+            if (path.length > 7) {
+                taskManager.acknowledgeTaskResults(taskId, bufferId, token);
+                response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+                return;
+            }
+
+            DataSize maxSize = DataSize.valueOf(request.getHeader(PRESTO_MAX_SIZE));
+            BufferResult result = getFutureValue(taskManager.getTaskResults(taskId, bufferId, token, maxSize));
+
+            response.setHeader(PRESTO_TASK_INSTANCE_ID, result.getTaskInstanceId());
+            response.setHeader(PRESTO_PAGE_TOKEN, String.valueOf(result.getToken()));
+            response.setHeader(PRESTO_PAGE_NEXT_TOKEN, String.valueOf(result.getNextToken()));
+            response.setHeader(PRESTO_BUFFER_COMPLETE, String.valueOf(result.isBufferComplete()));
+            if (result.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+                return;
+            }
+
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(PRESTO_PAGES);
+            try (OutputStreamSliceOutput output = new OutputStreamSliceOutput(response.getOutputStream())) {
+                writeSerializedPages(output, result.getSerializedPages());
+            }
+        }
+
+        @Override
+        protected void doDelete(HttpServletRequest request, HttpServletResponse response)
+        {
+            // /v1/task/{taskId}/results/{bufferId}
+            String[] path = request.getPathInfo().split("/");
+            taskManager.abortTaskResults(TaskId.valueOf(path[3]), OutputBufferId.fromString(path[5]));
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+        }
+    }
+
+    public static void main(String[] args)
+            throws Exception
+    {
+        // assure the benchmarks are valid before running
+        for (String transport : ImmutableList.of("HTTP", "STREAMING")) {
+            BenchmarkData data = new BenchmarkData();
+            data.transport = transport;
+            data.setup();
+            try {
+                int positions = new BenchmarkExchangeTransport().exchange(data);
+                checkState(positions == data.sourceCount * data.pagesPerSource * data.positionsPerPage, "%s transport returned %s positions", transport, positions);
+            }
+            finally {
+                data.tearDown();
+            }
+        }
+
+        Options options = new OptionsBuilder()
+                .verbosity(VerboseMode.NORMAL)
+                .include(".*" + BenchmarkExchangeTransport.class.getSimpleName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.testng.annotations.Test;
+
+import javax.validation.constraints.AssertTrue;
+
+import java.util.Map;
+
+import static io.airlift.configuration.testing.ConfigAssertions.assertFullMapping;
+import static io.airlift.configuration.testing.ConfigAssertions.assertRecordedDefaults;
+import static io.airlift.configuration.testing.ConfigAssertions.recordDefaults;
+import static io.airlift.testing.ValidationAssertions.assertFailsValidation;
+import static io.airlift.testing.ValidationAssertions.assertValidates;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public class TestStreamingExchangeConfig
+{
+    @Test
+    public void testDefaults()
+    {
+        assertRecordedDefaults(recordDefaults(StreamingExchangeConfig.class)
+                .setEnabled(false)
+                .setPort(8091)
+                .setServerThreads(Runtime.getRuntime().availableProcessors())
+                .setClientThreads(Runtime.getRuntime().availableProcessors())
+                .setMaxFrameSize(new DataSize(32, MEGABYTE))
+                .setConnectTimeout(new Duration(10, SECONDS))
+                .setSharedSecret(null));
+    }
+
+    @Test
+    public void testExplicitPropertyMappings()
+    {
+        Map<String, String> properties = new ImmutableMap.Builder<String, String>()
+                .put("exchange.streaming.enabled", "true")
+                .put("exchange.streaming.port", "9999")
+                .put("exchange.streaming.server-threads", "3")
+                .put("exchange.streaming.client-threads", "5")
+                .put("exchange.streaming.max-frame-size", "64MB")
+                .put("exchange.streaming.connect-timeout", "3s")
+                .put("exchange.streaming.shared-secret", "secret")
+                .build();
+
+        StreamingExchangeConfig expected = new StreamingExchangeConfig()
+                .setEnabled(true)
+                .setPort(9999)
+                .setServerThreads(3)
+                .setClientThreads(5)
+                .setMaxFrameSize(new DataSize(64, MEGABYTE))
+                .setConnectTimeout(new Duration(3, SECONDS))
+                .setSharedSecret("secret");
+
+        assertFullMapping(properties, expected);
+    }
+
+    @Test
+    public void testSharedSecretRequiredWhenEnabled()
+    {
+        assertValidates(new StreamingExchangeConfig());
+        assertValidates(new StreamingExchangeConfig().setEnabled(true).setSharedSecret("secret"));
+        assertFailsValidation(
+                new StreamingExchangeConfig().setEnabled(true),
+                "sharedSecretConfiguredWhenEnabled",
+                "exchange.streaming.shared-secret must be configured when exchange.streaming.enabled is set to true",
+                AssertTrue.class);
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import com.facebook.presto.block.BlockAssertions;
+import com.facebook.presto.execution.TaskId;
+import com.facebook.presto.execution.buffer.PagesSerde;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.memory.context.SimpleLocalMemoryContext;
+import com.facebook.presto.operator.ExchangeClient;
+import com.facebook.presto.operator.PageBufferClient;
+import com.facebook.presto.operator.PageBufferClient.ClientCallback;
+import com.facebook.presto.operator.PageTransportErrorException;
+import com.facebook.presto.operator.PageTransportTimeoutException;
+import com.facebook.presto.operator.streaming.TestingResultsTaskManager.TestingResultsBuffer;
+import com.facebook.presto.spi.Page;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.airlift.http.client.testing.TestingHttpClient;
+import io.airlift.testing.TestingTicker;
+import io.airlift.units.DataSize;
+import io.airlift.units.Duration;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.facebook.presto.execution.buffer.TestingPagesSerdeFactory.testingPagesSerde;
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+import static io.airlift.concurrent.MoreFutures.tryGetFutureValue;
+import static io.airlift.concurrent.Threads.daemonThreadsNamed;
+import static io.airlift.units.DataSize.Unit.KILOBYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(singleThreaded = true)
+public class TestStreamingPageBufferClient
+{
+    private static final PagesSerde PAGES_SERDE = testingPagesSerde();
+    private static final DataSize MAX_FRAME_SIZE = new DataSize(32, MEGABYTE);
+    private static final String SHARED_SECRET = "secret";
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService pageBufferClientCallbackExecutor;
+    private TestingResultsTaskManager taskManager;
+    private StreamingExchangeServer server;
+    private StreamingExchangeConnector connector;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        scheduler = newScheduledThreadPool(4, daemonThreadsNamed("test-%s"));
+        pageBufferClientCallbackExecutor = newCachedThreadPool(daemonThreadsNamed("test-callback-%s"));
+        taskManager = new TestingResultsTaskManager();
+        server = new StreamingExchangeServer(taskManager, 0, 1, MAX_FRAME_SIZE, SHARED_SECRET, Optional.empty());
+        server.start();
+        connector = new StreamingExchangeConnector(server.getPort(), 1, MAX_FRAME_SIZE, new Duration(10, SECONDS), SHARED_SECRET, Optional.empty());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+    {
+        if (connector != null) {
+            connector.close();
+            connector = null;
+        }
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (pageBufferClientCallbackExecutor != null) {
+            pageBufferClientCallbackExecutor.shutdownNow();
+            pageBufferClientCallbackExecutor = null;
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testHappyPath()
+            throws Exception
+    {
+        TaskId taskId = new TaskId("happy", 0, 0);
+        TestingResultsBuffer buffer = taskManager.getBuffer(taskId);
+        buffer.addPages(ImmutableList.of(createSerializedPage(1), createSerializedPage(2), createSerializedPage(3)));
+        buffer.setNoMorePages();
+
+        ExchangeClient exchangeClient = createExchangeClient(connector, new DataSize(10, MEGABYTE));
+        exchangeClient.addLocation(createLocation(taskId), taskId);
+        exchangeClient.noMoreLocations();
+
+        assertPageEquals(getNextPage(exchangeClient), 1);
+        assertPageEquals(getNextPage(exchangeClient), 2);
+        assertPageEquals(getNextPage(exchangeClient), 3);
+        assertNull(getNextPage(exchangeClient));
+        assertTrue(exchangeClient.isClosed());
+
+        // the consumed output buffer is aborted on the remote node
+        while (!buffer.isAborted()) {
+            MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testIncrementalPages()
+            throws Exception
+    {
+        TaskId taskId = new TaskId("incremental", 0, 0);
+        TestingResultsBuffer buffer = taskManager.getBuffer(taskId);
+
+        ExchangeClient exchangeClient = createExchangeClient(connector, new DataSize(10, MEGABYTE));
+        exchangeClient.addLocation(createLocation(taskId), taskId);
+        exchangeClient.noMoreLocations();
+
+        assertFalse(tryGetFutureValue(exchangeClient.isBlocked(), 50, MILLISECONDS).isPresent());
+
+        buffer.addPages(ImmutableList.of(createSerializedPage(1)));
+        assertPageEquals(getNextPage(exchangeClient), 1);
+
+        buffer.addPages(ImmutableList.of(createSerializedPage(2), createSerializedPage(3)));
+        assertPageEquals(getNextPage(exchangeClient), 2);
+        assertPageEquals(getNextPage(exchangeClient), 3);
+        assertFalse(exchangeClient.isClosed());
+
+        buffer.setNoMorePages();
+        assertNull(getNextPage(exchangeClient));
+        assertTrue(exchangeClient.isClosed());
+    }
+
+    @Test(timeOut = 10000)
+    public void testCreditSmallerThanBuffer()
+    {
+        TaskId firstTaskId = new TaskId("credit", 0, 0);
+        TaskId secondTaskId = new TaskId("credit", 0, 1);
+        for (TaskId taskId : ImmutableList.of(firstTaskId, secondTaskId)) {
+            TestingResultsBuffer buffer = taskManager.getBuffer(taskId);
+            for (int i = 0; i < 100; i++) {
+                buffer.addPages(ImmutableList.of(createSerializedPage(100)));
+            }
+            buffer.setNoMorePages();
+        }
+
+        // each credit grant only covers a few pages, so the stream is replenished many times
+        ExchangeClient exchangeClient = createExchangeClient(connector, new DataSize(4, KILOBYTE));
+        exchangeClient.addLocation(createLocation(firstTaskId), firstTaskId);
+        exchangeClient.addLocation(createLocation(secondTaskId), secondTaskId);
+        exchangeClient.noMoreLocations();
+
+        int pages = 0;
+        while (getNextPage(exchangeClient) != null) {
+            pages++;
+        }
+        assertEquals(pages, 200);
+        assertTrue(exchangeClient.isClosed());
+        assertTrue(exchangeClient.getStatus().getPageBufferClientStatuses().stream()
+                .allMatch(status -> status.getPagesReceived() == 100));
+    }
+
+    @Test(timeOut = 10000)
+    public void testClose()
+            throws Exception
+    {
+        TaskId taskId = new TaskId("close", 0, 0);
+        TestingResultsBuffer buffer = taskManager.getBuffer(taskId);
+        buffer.addPages(ImmutableList.of(createSerializedPage(1)));
+
+        ExchangeClient exchangeClient = createExchangeClient(connector, new DataSize(10, MEGABYTE));
+        exchangeClient.addLocation(createLocation(taskId), taskId);
+        exchangeClient.noMoreLocations();
+
+        assertPageEquals(getNextPage(exchangeClient), 1);
+        exchangeClient.close();
+        assertTrue(exchangeClient.isClosed());
+
+        while (!buffer.isAborted()) {
+            MILLISECONDS.sleep(10);
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testConnectionRefused()
+            throws Exception
+    {
+        int unusedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            unusedPort = socket.getLocalPort();
+        }
+
+        TaskId taskId = new TaskId("refused", 0, 0);
+        try (StreamingExchangeConnector refusedConnector = new StreamingExchangeConnector(unusedPort, 1, MAX_FRAME_SIZE, new Duration(10, SECONDS), SHARED_SECRET, Optional.empty())) {
+            ExchangeClient exchangeClient = createExchangeClient(refusedConnector, new DataSize(10, MEGABYTE), new Duration(1, MILLISECONDS));
+            exchangeClient.addLocation(createLocation(taskId), taskId);
+            exchangeClient.noMoreLocations();
+
+            try {
+                while (true) {
+                    getNextPage(exchangeClient);
+                }
+            }
+            catch (PageTransportTimeoutException e) {
+                assertTrue(e.getMessage().contains(createLocation(taskId).toString()), e.getMessage());
+            }
+            exchangeClient.close();
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testInvalidSharedSecret()
+            throws Exception
+    {
+        TaskId taskId = new TaskId("secret", 0, 0);
+        TestingResultsBuffer buffer = taskManager.getBuffer(taskId);
+        buffer.addPages(ImmutableList.of(createSerializedPage(1)));
+        buffer.setNoMorePages();
+
+        try (StreamingExchangeConnector invalidConnector = new StreamingExchangeConnector(server.getPort(), 1, MAX_FRAME_SIZE, new Duration(10, SECONDS), "invalid", Optional.empty())) {
+            ExchangeClient exchangeClient = createExchangeClient(invalidConnector, new DataSize(10, MEGABYTE));
+            exchangeClient.addLocation(createLocation(taskId), taskId);
+            exchangeClient.noMoreLocations();
+
+            try {
+                getNextPage(exchangeClient);
+                fail("expected the stream to be rejected");
+            }
+            catch (PageTransportErrorException e) {
+                assertTrue(e.getMessage().contains("Invalid shared secret"), e.getMessage());
+            }
+            exchangeClient.close();
+        }
+    }
+
+    @Test
+    public void testStatus()
+    {
+        TaskId taskId = new TaskId("status", 0, 0);
+        URI location = createLocation(taskId);
+        StreamingPageBufferClient client = new StreamingPageBufferClient(
+                connector,
+                new DataSize(10, MEGABYTE),
+                new Duration(1, MINUTES),
+                location,
+                new NoopCallback(),
+                scheduler,
+                new TestingTicker());
+
+        assertEquals(client.getStatus().getUri(), location);
+        assertEquals(client.getStatus().getState(), "queued");
+        assertFalse(client.isRunning());
+
+        client.close();
+        assertEquals(client.getStatus().getState(), "closed");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = "Invalid output buffer location: .*")
+    public void testInvalidLocation()
+    {
+        new StreamingPageBufferClient(
+                connector,
+                new DataSize(10, MEGABYTE),
+                new Duration(1, MINUTES),
+                URI.create("http://localhost:8080/v1/task/foo"),
+                new NoopCallback(),
+                scheduler);
+    }
+
+    private ExchangeClient createExchangeClient(StreamingExchangeConnector connector, DataSize maxResponseSize)
+    {
+        return createExchangeClient(connector, maxResponseSize, new Duration(1, MINUTES));
+    }
+
+    private ExchangeClient createExchangeClient(StreamingExchangeConnector connector, DataSize maxResponseSize, Duration maxErrorDuration)
+    {
+        return new ExchangeClient(
+                new DataSize(32, MEGABYTE),
+                maxResponseSize,
+                1,
+                maxErrorDuration,
+                true,
+                new TestingHttpClient(request -> {
+                    throw new UnsupportedOperationException();
+                }),
+                Optional.of(connector),
+                scheduler,
+                new SimpleLocalMemoryContext(newSimpleAggregatedMemoryContext(), "test"),
+                pageBufferClientCallbackExecutor);
+    }
+
+    private static URI createLocation(TaskId taskId)
+    {
+        return URI.create("http://localhost:8080/v1/task/" + taskId + "/results/0");
+    }
+
+    private static SerializedPage createSerializedPage(int size)
+    {
+        return PAGES_SERDE.serialize(new Page(BlockAssertions.createLongSequenceBlock(0, size)));
+    }
+
+    private static SerializedPage getNextPage(ExchangeClient exchangeClient)
+    {
+        ListenableFuture<SerializedPage> futurePage = Futures.transform(exchangeClient.isBlocked(), ignored -> exchangeClient.pollPage(), directExecutor());
+        return tryGetFutureValue(futurePage, 100, SECONDS).orElse(null);
+    }
+
+    private static void assertPageEquals(SerializedPage actualPage, int expectedPositionCount)
+    {
+        assertNotNull(actualPage);
+        assertEquals(actualPage.getPositionCount(), expectedPositionCount);
+        assertEquals(PAGES_SERDE.deserialize(actualPage).getPositionCount(), expectedPositionCount);
+    }
+
+    private static class NoopCallback
+            implements ClientCallback
+    {
+        @Override
+        public boolean addPages(PageBufferClient client, List<SerializedPage> pages)
+        {
+            return true;
+        }
+
+        @Override
+        public void requestComplete(PageBufferClient client)
+        {
+        }
+
+        @Override
+        public void clientFinished(PageBufferClient client)
+        {
+        }
+
+        @Override
+        public void clientFailed(PageBufferClient client, Throwable cause)
+        {
+        }
+    }
+}
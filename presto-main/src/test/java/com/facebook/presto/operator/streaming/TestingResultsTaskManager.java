@@ -0,0 +1,257 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.operator.streaming;
+
+import com.facebook.presto.Session;
+import com.facebook.presto.execution.StateMachine.StateChangeListener;
+import com.facebook.presto.execution.TaskId;
+import com.facebook.presto.execution.TaskInfo;
+import com.facebook.presto.execution.TaskManager;
+import com.facebook.presto.execution.TaskSource;
+import com.facebook.presto.execution.TaskState;
+import com.facebook.presto.execution.TaskStatus;
+import com.facebook.presto.execution.buffer.BufferResult;
+import com.facebook.presto.execution.buffer.OutputBuffers;
+import com.facebook.presto.execution.buffer.OutputBuffers.OutputBufferId;
+import com.facebook.presto.execution.buffer.SerializedPage;
+import com.facebook.presto.memory.MemoryPoolAssignmentsRequest;
+import com.facebook.presto.sql.planner.PlanFragment;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.airlift.units.DataSize;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.util.concurrent.Futures.immediateFuture;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves task results from in-memory buffers, one per task. Only the methods used
+ * by the exchange are implemented.
+ */
+public class TestingResultsTaskManager
+        implements TaskManager
+{
+    private static final String TASK_INSTANCE_ID = "task-instance-id";
+
+    private final Map<TaskId, TestingResultsBuffer> buffers = new ConcurrentHashMap<>();
+
+    public TestingResultsBuffer getBuffer(TaskId taskId)
+    {
+        return buffers.computeIfAbsent(taskId, ignored -> new TestingResultsBuffer());
+    }
+
+    @Override
+    public ListenableFuture<BufferResult> getTaskResults(TaskId taskId, OutputBufferId bufferId, long startingSequenceId, DataSize maxSize)
+    {
+        return getBuffer(taskId).get(startingSequenceId, maxSize);
+    }
+
+    @Override
+    public void acknowledgeTaskResults(TaskId taskId, OutputBufferId bufferId, long sequenceId)
+    {
+    }
+
+    @Override
+    public TaskInfo abortTaskResults(TaskId taskId, OutputBufferId bufferId)
+    {
+        getBuffer(taskId).abort();
+        return null;
+    }
+
+    @Override
+    public String getTaskInstanceId(TaskId taskId)
+    {
+        return TASK_INSTANCE_ID;
+    }
+
+    @Override
+    public List<TaskInfo> getAllTaskInfo()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TaskInfo getTaskInfo(TaskId taskId)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TaskStatus getTaskStatus(TaskId taskId)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListenableFuture<TaskInfo> getTaskInfo(TaskId taskId, TaskState currentState)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ListenableFuture<TaskStatus> getTaskStatus(TaskId taskId, TaskState currentState)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void updateMemoryPoolAssignments(MemoryPoolAssignmentsRequest assignments)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TaskInfo updateTask(Session session, TaskId taskId, Optional<PlanFragment> fragment, List<TaskSource> sources, OutputBuffers outputBuffers, OptionalInt totalPartitions)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TaskInfo cancelTask(TaskId taskId)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TaskInfo abortTask(TaskId taskId)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addStateChangeListener(TaskId taskId, StateChangeListener<TaskState> stateChangeListener)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeRemoteSource(TaskId taskId, TaskId remoteSourceTaskId)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    public static class TestingResultsBuffer
+    {
+        @GuardedBy("this")
+        private final List<SerializedPage> pages = new ArrayList<>();
+        @GuardedBy("this")
+        private final List<PendingRead> pendingReads = new ArrayList<>();
+        @GuardedBy("this")
+        private boolean noMorePages;
+        @GuardedBy("this")
+        private boolean aborted;
+
+        public void addPages(List<SerializedPage> pages)
+        {
+            synchronized (this) {
+                this.pages.addAll(pages);
+            }
+            completePendingReads();
+        }
+
+        public void setNoMorePages()
+        {
+            synchronized (this) {
+                noMorePages = true;
+            }
+            completePendingReads();
+        }
+
+        public synchronized boolean isAborted()
+        {
+            return aborted;
+        }
+
+        private synchronized void abort()
+        {
+            aborted = true;
+            pages.clear();
+        }
+
+        private void completePendingReads()
+        {
+            // futures are completed outside of the lock, since listeners may call back into the buffer
+            Map<SettableFuture<BufferResult>, BufferResult> completed = new HashMap<>();
+            synchronized (this) {
+                Iterator<PendingRead> iterator = pendingReads.iterator();
+                while (iterator.hasNext()) {
+                    PendingRead read = iterator.next();
+                    BufferResult result = tryGet(read.token, read.maxSize);
+                    if (result != null) {
+                        completed.put(read.future, result);
+                        iterator.remove();
+                    }
+                }
+            }
+            completed.forEach(SettableFuture::set);
+        }
+
+        private synchronized ListenableFuture<BufferResult> get(long token, DataSize maxSize)
+        {
+            BufferResult result = tryGet(token, maxSize);
+            if (result != null) {
+                return immediateFuture(result);
+            }
+            PendingRead read = new PendingRead(token, maxSize);
+            pendingReads.add(read);
+            return read.future;
+        }
+
+        private synchronized BufferResult tryGet(long token, DataSize maxSize)
+        {
+            if (aborted || (noMorePages && token >= pages.size())) {
+                return BufferResult.emptyResults(TASK_INSTANCE_ID, token, true);
+            }
+            if (token >= pages.size()) {
+                return null;
+            }
+            ImmutableList.Builder<SerializedPage> result = ImmutableList.builder();
+            long bytes = 0;
+            int position = (int) token;
+            // always return at least one page
+            do {
+                SerializedPage page = pages.get(position);
+                bytes += page.getSizeInBytes();
+                result.add(page);
+                position++;
+            }
+            while (position < pages.size() && bytes + pages.get(position).getSizeInBytes() <= maxSize.toBytes());
+            return new BufferResult(TASK_INSTANCE_ID, token, position, false, result.build());
+        }
+    }
+
+    private static class PendingRead
+    {
+        private final long token;
+        private final DataSize maxSize;
+        private final SettableFuture<BufferResult> future = SettableFuture.create();
+
+        private PendingRead(long token, DataSize maxSize)
+        {
+            this.token = token;
+            this.maxSize = requireNonNull(maxSize, "maxSize is null");
+        }
+    }
+}
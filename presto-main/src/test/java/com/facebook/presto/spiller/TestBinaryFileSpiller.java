@@ -136,6 +136,7 @@ public class TestBinaryFileSpiller
             throws ExecutionException, InterruptedException
     {
         long spilledBytesBefore = spillerStats.getTotalSpilledBytes();
+        long unspilledBytesBefore = spillerStats.getTotalUnspilledBytes();
         long spilledBytes = 0;
 
         assertEquals(memoryContext.getBytes(), 0);
@@ -148,7 +149,7 @@ public class TestBinaryFileSpiller
         assertEquals(spillerStats.getTotalSpilledBytes() - spilledBytesBefore, spilledBytes);
         // At this point, the buffers should still be accounted for in the memory context, because
         // the spiller (FileSingleStreamSpiller) doesn't release its memory reservation until it's closed.
-        assertEquals(memoryContext.getBytes(), spills.length * FileSingleStreamSpiller.BUFFER_SIZE);
+        assertEquals(memoryContext.getBytes(), spills.length * new NodeSpillConfig().getSpillBufferSize().toBytes());
 
         List<Iterator<Page>> actualSpills = spiller.getSpills();
         assertEquals(actualSpills.size(), spills.length);
@@ -162,6 +163,7 @@ public class TestBinaryFileSpiller
                 assertPageEquals(types, actualSpill.get(j), expectedSpill.get(j));
             }
         }
+        assertEquals(spillerStats.getTotalUnspilledBytes() - unspilledBytesBefore, spilledBytes);
         spiller.close();
         assertEquals(memoryContext.getBytes(), 0);
     }
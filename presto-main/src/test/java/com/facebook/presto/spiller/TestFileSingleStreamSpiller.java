@@ -53,6 +53,7 @@ import static org.testng.Assert.assertTrue;
 public class TestFileSingleStreamSpiller
 {
     private static final List<Type> TYPES = ImmutableList.of(BIGINT, DOUBLE, VARBINARY);
+    private static final int BUFFER_SIZE = 4096;
 
     private final ListeningExecutorService executor = listeningDecorator(newCachedThreadPool());
     private final File spillPath = Files.createTempDir();
@@ -69,14 +70,14 @@ public class TestFileSingleStreamSpiller
     public void testSpill()
             throws Exception
     {
-        assertSpill(false, false);
+        assertSpill(false, false, true);
     }
 
     @Test
     public void testSpillCompression()
             throws Exception
     {
-        assertSpill(true, false);
+        assertSpill(true, false, true);
     }
 
     @Test
@@ -84,27 +85,37 @@ public class TestFileSingleStreamSpiller
             throws Exception
     {
         // Both with compression enabled and disabled
-        assertSpill(false, true);
+        assertSpill(false, true, true);
     }
 
     @Test
     public void testSpillEncryptionWithCompression()
             throws Exception
     {
-        assertSpill(true, true);
+        assertSpill(true, true, true);
     }
 
-    private void assertSpill(boolean compression, boolean encryption)
+    @Test
+    public void testSpillWithoutReadAhead()
             throws Exception
     {
+        assertSpill(true, false, false);
+    }
+
+    private void assertSpill(boolean compression, boolean encryption, boolean readAhead)
+            throws Exception
+    {
+        SpillerStats spillerStats = new SpillerStats();
         FileSingleStreamSpillerFactory spillerFactory = new FileSingleStreamSpillerFactory(
-                executor, // executor won't be closed, because we don't call destroy() on the spiller factory
+                ImmutableList.of(executor), // executor won't be closed, because we don't call destroy() on the spiller factory
                 new BlockEncodingManager(new TypeRegistry()),
-                new SpillerStats(),
+                spillerStats,
                 ImmutableList.of(spillPath.toPath()),
                 1.0,
                 compression,
-                encryption);
+                encryption,
+                BUFFER_SIZE,
+                readAhead);
         LocalMemoryContext memoryContext = newSimpleAggregatedMemoryContext().newLocalMemoryContext("test");
         SingleStreamSpiller singleStreamSpiller = spillerFactory.create(TYPES, bytes -> {}, memoryContext);
         assertTrue(singleStreamSpiller instanceof FileSingleStreamSpiller);
@@ -113,7 +124,7 @@ public class TestFileSingleStreamSpiller
         Page page = buildPage();
 
         // The spillers will reserve memory in their constructors
-        assertEquals(memoryContext.getBytes(), 4096);
+        assertEquals(memoryContext.getBytes(), BUFFER_SIZE);
         spiller.spill(page).get();
         spiller.spill(Iterators.forArray(page, page, page)).get();
         assertEquals(listFiles(spillPath.toPath()).size(), 1);
@@ -132,7 +143,7 @@ public class TestFileSingleStreamSpiller
         // assertEquals(memoryContext.getBytes(), 0);
 
         Iterator<Page> spilledPagesIterator = spiller.getSpilledPages();
-        assertEquals(memoryContext.getBytes(), FileSingleStreamSpiller.BUFFER_SIZE);
+        assertEquals(memoryContext.getBytes(), BUFFER_SIZE);
         ImmutableList<Page> spilledPages = ImmutableList.copyOf(spilledPagesIterator);
         // The spillers release their memory reservations when they are closed, therefore at this point
         // they will have non-zero memory reservation.
@@ -143,6 +154,12 @@ public class TestFileSingleStreamSpiller
             PageAssertions.assertPageEquals(TYPES, page, spilledPages.get(i));
         }
 
+        assertTrue(spillerStats.getTotalSpilledBytes() > 0);
+        assertEquals(spillerStats.getTotalUnspilledBytes(), spillerStats.getTotalSpilledBytes());
+        if (!compression) {
+            assertEquals(spillerStats.getSpillCompressionRatio(), 1.0);
+        }
+
         spiller.close();
         assertEquals(listFiles(spillPath.toPath()).size(), 0);
         assertEquals(memoryContext.getBytes(), 0);
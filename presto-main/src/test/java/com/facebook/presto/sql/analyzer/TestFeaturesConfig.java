@@ -120,7 +120,15 @@ public class TestFeaturesConfig
                 .setPushdownSubfieldsEnabled(false)
                 .setTableWriterMergeOperatorEnabled(true)
                 .setConcurrentWritesToPartitionedTableEnabled(true)
-                .setOptimizeFullOuterJoinWithCoalesce(true));
+                .setOptimizeFullOuterJoinWithCoalesce(true)
+                .setEnableDynamicFiltering(false)
+                .setQueryResultCacheEnabled(false)
+                .setFragmentResultCacheEnabled(false)
+                .setAdaptivePartialAggregationEnabled(true)
+                .setAdaptivePartialAggregationMinRows(100_000)
+                .setAdaptivePartialAggregationUniqueRowsRatioThreshold(0.8)
+                .setJoinBatchProbeEnabled(false)
+                .setPartitionedOutputDirectSerializationEnabled(false));
     }
 
     @Test
@@ -200,6 +208,14 @@ public class TestFeaturesConfig
                 .put("experimental.table-writer-merge-operator-enabled", "false")
                 .put("experimental.concurrent-writes-to-partitioned-table-enabled", "false")
                 .put("optimizer.optimize-full-outer-join-with-coalesce", "false")
+                .put("experimental.enable-dynamic-filtering", "true")
+                .put("experimental.query-result-cache-enabled", "true")
+                .put("experimental.fragment-result-cache-enabled", "true")
+                .put("experimental.adaptive-partial-aggregation-enabled", "false")
+                .put("experimental.adaptive-partial-aggregation-min-rows", "1000")
+                .put("experimental.adaptive-partial-aggregation-unique-rows-ratio-threshold", "0.5")
+                .put("experimental.join-batch-probe-enabled", "true")
+                .put("experimental.partitioned-output-direct-serialization-enabled", "true")
                 .build();
 
         FeaturesConfig expected = new FeaturesConfig()
@@ -275,7 +291,15 @@ public class TestFeaturesConfig
                 .setPushdownSubfieldsEnabled(true)
                 .setTableWriterMergeOperatorEnabled(false)
                 .setConcurrentWritesToPartitionedTableEnabled(false)
-                .setOptimizeFullOuterJoinWithCoalesce(false);
+                .setOptimizeFullOuterJoinWithCoalesce(false)
+                .setEnableDynamicFiltering(true)
+                .setQueryResultCacheEnabled(true)
+                .setFragmentResultCacheEnabled(true)
+                .setAdaptivePartialAggregationEnabled(false)
+                .setAdaptivePartialAggregationMinRows(1000)
+                .setAdaptivePartialAggregationUniqueRowsRatioThreshold(0.5)
+                .setJoinBatchProbeEnabled(true)
+                .setPartitionedOutputDirectSerializationEnabled(true);
         assertFullMapping(properties, expected);
     }
 
@@ -22,6 +22,7 @@ import org.testng.annotations.Test;
 
 import java.util.Optional;
 
+import static com.facebook.presto.spi.plan.AggregationNode.Step.SINGLE;
 import static com.facebook.presto.spi.type.BigintType.BIGINT;
 import static com.facebook.presto.spi.type.RealType.REAL;
 import static com.facebook.presto.sql.planner.assertions.PlanMatchPattern.aggregation;
@@ -30,7 +31,6 @@ import static com.facebook.presto.sql.planner.assertions.PlanMatchPattern.global
 import static com.facebook.presto.sql.planner.assertions.PlanMatchPattern.singleGroupingSet;
 import static com.facebook.presto.sql.planner.assertions.PlanMatchPattern.values;
 import static com.facebook.presto.sql.planner.iterative.rule.test.PlanBuilder.expression;
-import static com.facebook.presto.sql.planner.plan.AggregationNode.Step.SINGLE;
 
 public class TestSingleDistinctAggregationToGroupBy
         extends BaseRuleTest
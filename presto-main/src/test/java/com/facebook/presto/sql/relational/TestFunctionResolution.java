@@ -69,5 +69,12 @@ public class TestFunctionResolution
         // subscript
         assertTrue(standardFunctionResolution.isSubscriptFunction(standardFunctionResolution.subscriptFunction(new ArrayType(DOUBLE), BIGINT)));
         assertFalse(standardFunctionResolution.isBetweenFunction(standardFunctionResolution.subscriptFunction(new ArrayType(DOUBLE), BIGINT)));
+
+        // aggregations
+        assertTrue(standardFunctionResolution.isCountFunction(standardFunctionResolution.countFunction()));
+        assertTrue(standardFunctionResolution.isSumFunction(standardFunctionResolution.sumFunction(BIGINT)));
+        assertFalse(standardFunctionResolution.isSumFunction(standardFunctionResolution.maxFunction(BIGINT)));
+        assertTrue(standardFunctionResolution.isMinFunction(standardFunctionResolution.minFunction(DOUBLE)));
+        assertFalse(standardFunctionResolution.isMaxFunction(standardFunctionResolution.minFunction(DOUBLE)));
     }
 }
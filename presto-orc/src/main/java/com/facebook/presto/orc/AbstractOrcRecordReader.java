@@ -14,6 +14,7 @@
 package com.facebook.presto.orc;
 
 import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.facebook.presto.orc.cache.OrcFileMetadataCache;
 import com.facebook.presto.orc.metadata.ColumnEncoding;
 import com.facebook.presto.orc.metadata.MetadataReader;
 import com.facebook.presto.orc.metadata.OrcType;
@@ -129,6 +130,7 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
             DataSize tinyStripeThreshold,
             DataSize maxBlockSize,
             Map<String, Slice> userMetadata,
+            OrcFileMetadataCache metadataCache,
             AggregatedMemoryContext systemMemoryUsage,
             Optional<OrcWriteValidation> writeValidation,
             int initialBatchSize)
@@ -224,6 +226,7 @@ abstract class AbstractOrcRecordReader<T extends StreamReader>
                 predicate,
                 hiveWriterVersion,
                 metadataReader,
+                metadataCache,
                 writeValidation);
 
         this.streamReaders = requireNonNull(streamReaders, "streamReaders is null");
@@ -14,6 +14,7 @@
 package com.facebook.presto.orc;
 
 import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.facebook.presto.orc.cache.OrcFileMetadataCache;
 import com.facebook.presto.orc.metadata.MetadataReader;
 import com.facebook.presto.orc.metadata.OrcType;
 import com.facebook.presto.orc.metadata.PostScript.HiveWriterVersion;
@@ -63,6 +64,7 @@ public class OrcBatchRecordReader
             DataSize tinyStripeThreshold,
             DataSize maxBlockSize,
             Map<String, Slice> userMetadata,
+            OrcFileMetadataCache metadataCache,
             AggregatedMemoryContext systemMemoryUsage,
             Optional<OrcWriteValidation> writeValidation,
             int initialBatchSize)
@@ -92,6 +94,7 @@ public class OrcBatchRecordReader
                 tinyStripeThreshold,
                 maxBlockSize,
                 userMetadata,
+                metadataCache,
                 systemMemoryUsage,
                 writeValidation,
                 initialBatchSize);
@@ -14,6 +14,7 @@
 package com.facebook.presto.orc;
 
 import com.facebook.presto.memory.context.AggregatedMemoryContext;
+import com.facebook.presto.orc.cache.OrcFileMetadataCache;
 import com.facebook.presto.orc.metadata.MetadataReader;
 import com.facebook.presto.orc.metadata.OrcType;
 import com.facebook.presto.orc.metadata.PostScript;
@@ -100,6 +101,7 @@ public class OrcSelectiveRecordReader
             DataSize tinyStripeThreshold,
             DataSize maxBlockSize,
             Map<String, Slice> userMetadata,
+            OrcFileMetadataCache metadataCache,
             AggregatedMemoryContext systemMemoryUsage,
             Optional<OrcWriteValidation> writeValidation,
             int initialBatchSize)
@@ -134,6 +136,7 @@ public class OrcSelectiveRecordReader
                 tinyStripeThreshold,
                 maxBlockSize,
                 userMetadata,
+                metadataCache,
                 systemMemoryUsage,
                 writeValidation,
                 initialBatchSize);
@@ -0,0 +1,213 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.cache;
+
+import com.facebook.presto.orc.StreamId;
+import com.facebook.presto.orc.metadata.RowGroupIndex;
+import com.facebook.presto.orc.metadata.StripeFooter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.airlift.units.DataSize;
+import org.weakref.jmx.Managed;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps decoded file tails, stripe footers and row group indexes in memory, bounded by
+ * the estimated retained size of the entries.
+ */
+public class InMemoryOrcMetadataCache
+        implements OrcMetadataCache
+{
+    private static final long FILE_TAIL = -1;
+
+    private final Cache<MetadataKey, Object> cache;
+
+    public InMemoryOrcMetadataCache(DataSize maxSize)
+    {
+        requireNonNull(maxSize, "maxSize is null");
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((MetadataKey key, Object value) -> Ints.saturatedCast(getRetainedSizeInBytes(value)))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public OrcFileMetadataCache getFileMetadataCache(String path, long modificationTime)
+    {
+        return new FileMetadataCache(path, modificationTime);
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.size();
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return cache.stats().hitCount();
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return cache.stats().missCount();
+    }
+
+    @Managed
+    public double getHitRate()
+    {
+        return cache.stats().hitRate();
+    }
+
+    @Managed
+    public long getEvictionCount()
+    {
+        return cache.stats().evictionCount();
+    }
+
+    @Managed
+    public long getLoadExceptionCount()
+    {
+        return cache.stats().loadExceptionCount();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(MetadataKey key, OrcFileMetadataCache.MetadataLoader<T> loader)
+            throws IOException
+    {
+        try {
+            return (T) cache.get(key, loader::load);
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfInstanceOf(e.getCause(), IOException.class);
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static long getRetainedSizeInBytes(Object value)
+    {
+        if (value instanceof OrcFileTail) {
+            return ((OrcFileTail) value).getRetainedSizeInBytes();
+        }
+        if (value instanceof StripeFooter) {
+            return ((StripeFooter) value).getRetainedSizeInBytes();
+        }
+        long retainedSizeInBytes = 0;
+        for (Object rowGroupIndex : (List<?>) value) {
+            retainedSizeInBytes += ((RowGroupIndex) rowGroupIndex).getRetainedSizeInBytes();
+        }
+        return retainedSizeInBytes;
+    }
+
+    private class FileMetadataCache
+            implements OrcFileMetadataCache
+    {
+        private final String path;
+        private final long modificationTime;
+
+        public FileMetadataCache(String path, long modificationTime)
+        {
+            this.path = requireNonNull(path, "path is null");
+            this.modificationTime = modificationTime;
+        }
+
+        @Override
+        public OrcFileTail getFileTail(MetadataLoader<OrcFileTail> loader)
+                throws IOException
+        {
+            return get(new MetadataKey(path, modificationTime, FILE_TAIL, null), loader);
+        }
+
+        @Override
+        public StripeFooter getStripeFooter(long stripeOffset, MetadataLoader<StripeFooter> loader)
+                throws IOException
+        {
+            return get(new MetadataKey(path, modificationTime, stripeOffset, null), loader);
+        }
+
+        @Override
+        public List<RowGroupIndex> getRowGroupIndexes(long stripeOffset, StreamId streamId, MetadataLoader<List<RowGroupIndex>> loader)
+                throws IOException
+        {
+            return get(new MetadataKey(path, modificationTime, stripeOffset, requireNonNull(streamId, "streamId is null")), loader);
+        }
+    }
+
+    private static final class MetadataKey
+    {
+        private final String path;
+        private final long modificationTime;
+        private final long stripeOffset;
+        @Nullable
+        private final StreamId streamId;
+
+        public MetadataKey(String path, long modificationTime, long stripeOffset, @Nullable StreamId streamId)
+        {
+            this.path = path;
+            this.modificationTime = modificationTime;
+            this.stripeOffset = stripeOffset;
+            this.streamId = streamId;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            MetadataKey that = (MetadataKey) o;
+            return modificationTime == that.modificationTime &&
+                    stripeOffset == that.stripeOffset &&
+                    path.equals(that.path) &&
+                    Objects.equals(streamId, that.streamId);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, modificationTime, stripeOffset, streamId);
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this)
+                    .add("path", path)
+                    .add("modificationTime", modificationTime)
+                    .add("stripeOffset", stripeOffset)
+                    .add("streamId", streamId)
+                    .toString();
+        }
+    }
+}
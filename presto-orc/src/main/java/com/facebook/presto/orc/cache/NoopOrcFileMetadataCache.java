@@ -0,0 +1,46 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.cache;
+
+import com.facebook.presto.orc.StreamId;
+import com.facebook.presto.orc.metadata.RowGroupIndex;
+import com.facebook.presto.orc.metadata.StripeFooter;
+
+import java.io.IOException;
+import java.util.List;
+
+public class NoopOrcFileMetadataCache
+        implements OrcFileMetadataCache
+{
+    @Override
+    public OrcFileTail getFileTail(MetadataLoader<OrcFileTail> loader)
+            throws IOException
+    {
+        return loader.load();
+    }
+
+    @Override
+    public StripeFooter getStripeFooter(long stripeOffset, MetadataLoader<StripeFooter> loader)
+            throws IOException
+    {
+        return loader.load();
+    }
+
+    @Override
+    public List<RowGroupIndex> getRowGroupIndexes(long stripeOffset, StreamId streamId, MetadataLoader<List<RowGroupIndex>> loader)
+            throws IOException
+    {
+        return loader.load();
+    }
+}
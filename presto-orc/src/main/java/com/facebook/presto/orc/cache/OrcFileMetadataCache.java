@@ -0,0 +1,43 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc.cache;
+
+import com.facebook.presto.orc.StreamId;
+import com.facebook.presto.orc.metadata.RowGroupIndex;
+import com.facebook.presto.orc.metadata.StripeFooter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Provides the decoded metadata of a single ORC file, loading it from the file
+ * only when it is not already cached.
+ */
+public interface OrcFileMetadataCache
+{
+    OrcFileTail getFileTail(MetadataLoader<OrcFileTail> loader)
+            throws IOException;
+
+    StripeFooter getStripeFooter(long stripeOffset, MetadataLoader<StripeFooter> loader)
+            throws IOException;
+
+    List<RowGroupIndex> getRowGroupIndexes(long stripeOffset, StreamId streamId, MetadataLoader<List<RowGroupIndex>> loader)
+            throws IOException;
+
+    interface MetadataLoader<T>
+    {
+        T load()
+                throws IOException;
+    }
+}
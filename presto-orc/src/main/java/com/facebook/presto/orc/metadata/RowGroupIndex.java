@@ -15,6 +15,7 @@ package com.facebook.presto.orc.metadata;
 
 import com.facebook.presto.orc.metadata.statistics.ColumnStatistics;
 import com.google.common.collect.ImmutableList;
+import org.openjdk.jol.info.ClassLayout;
 
 import java.util.List;
 
@@ -22,6 +23,9 @@ import static java.util.Objects.requireNonNull;
 
 public class RowGroupIndex
 {
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(RowGroupIndex.class).instanceSize();
+    private static final int INTEGER_INSTANCE_SIZE = ClassLayout.parseClass(Integer.class).instanceSize();
+
     private final List<Integer> positions;
     private final ColumnStatistics statistics;
 
@@ -40,4 +44,9 @@ public class RowGroupIndex
     {
         return statistics;
     }
+
+    public long getRetainedSizeInBytes()
+    {
+        return INSTANCE_SIZE + (long) positions.size() * INTEGER_INSTANCE_SIZE + statistics.getRetainedSizeInBytes();
+    }
 }
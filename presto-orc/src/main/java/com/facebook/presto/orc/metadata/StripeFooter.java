@@ -14,6 +14,7 @@
 package com.facebook.presto.orc.metadata;
 
 import com.google.common.collect.ImmutableList;
+import org.openjdk.jol.info.ClassLayout;
 
 import java.util.List;
 
@@ -21,6 +22,10 @@ import static java.util.Objects.requireNonNull;
 
 public class StripeFooter
 {
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(StripeFooter.class).instanceSize();
+    private static final int STREAM_INSTANCE_SIZE = ClassLayout.parseClass(Stream.class).instanceSize();
+    private static final int COLUMN_ENCODING_INSTANCE_SIZE = ClassLayout.parseClass(ColumnEncoding.class).instanceSize();
+
     private final List<Stream> streams;
     private final List<ColumnEncoding> columnEncodings;
 
@@ -39,4 +44,10 @@ public class StripeFooter
     {
         return streams;
     }
+
+    public long getRetainedSizeInBytes()
+    {
+        // the additional sequence encodings of DWRF flat maps are not accounted
+        return INSTANCE_SIZE + (long) streams.size() * STREAM_INSTANCE_SIZE + (long) columnEncodings.size() * COLUMN_ENCODING_INSTANCE_SIZE;
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.orc;
+
+import com.facebook.presto.orc.cache.InMemoryOrcMetadataCache;
+import com.facebook.presto.orc.cache.OrcFileMetadataCache;
+import com.facebook.presto.spi.block.Block;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.facebook.presto.memory.context.AggregatedMemoryContext.newSimpleAggregatedMemoryContext;
+import static com.facebook.presto.orc.OrcEncoding.ORC;
+import static com.facebook.presto.orc.OrcReader.MAX_BATCH_SIZE;
+import static com.facebook.presto.orc.OrcTester.Format.ORC_12;
+import static com.facebook.presto.orc.OrcTester.HIVE_STORAGE_TIME_ZONE;
+import static com.facebook.presto.orc.OrcTester.writeOrcColumnHive;
+import static com.facebook.presto.orc.metadata.CompressionKind.ZLIB;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class TestInMemoryOrcMetadataCache
+{
+    private static final int ROW_COUNT = 50_000;
+    private static final long EXPECTED_SUM = LongStream.range(0, ROW_COUNT).sum();
+
+    private TempFile tempFile;
+
+    @BeforeClass
+    public void setUp()
+            throws Exception
+    {
+        tempFile = new TempFile();
+        List<Long> values = LongStream.range(0, ROW_COUNT).boxed().collect(Collectors.toList());
+        writeOrcColumnHive(tempFile.getFile(), ORC_12, ZLIB, BIGINT, values);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown()
+            throws Exception
+    {
+        tempFile.close();
+    }
+
+    @Test
+    public void testReadFromCache()
+            throws Exception
+    {
+        InMemoryOrcMetadataCache cache = new InMemoryOrcMetadataCache(new DataSize(1, MEGABYTE));
+
+        int uncachedReads = readFile(cache.getFileMetadataCache("file", 1));
+        long misses = cache.getMissCount();
+        assertTrue(misses > 0);
+        assertEquals(cache.getHitCount(), 0);
+        assertEquals(cache.getSize(), misses);
+
+        // the file tail, the stripe footers and the row group indexes are served from the cache
+        int cachedReads = readFile(cache.getFileMetadataCache("file", 1));
+        assertTrue(cachedReads < uncachedReads);
+        assertEquals(cache.getMissCount(), misses);
+        assertEquals(cache.getHitCount(), misses);
+
+        // a modified file does not use the cached metadata
+        assertEquals(readFile(cache.getFileMetadataCache("file", 2)), uncachedReads);
+        assertEquals(cache.getMissCount(), misses * 2);
+    }
+
+    @Test
+    public void testEviction()
+            throws Exception
+    {
+        InMemoryOrcMetadataCache cache = new InMemoryOrcMetadataCache(new DataSize(1, BYTE));
+
+        readFile(cache.getFileMetadataCache("file", 1));
+        readFile(cache.getFileMetadataCache("file", 1));
+        assertEquals(cache.getSize(), 0);
+        assertEquals(cache.getHitCount(), 0);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    @Test
+    public void testLoadFailure()
+    {
+        OrcFileMetadataCache cache = new InMemoryOrcMetadataCache(new DataSize(1, MEGABYTE)).getFileMetadataCache("file", 1);
+        try {
+            cache.getStripeFooter(3, () -> {
+                throw new IOException("load failed");
+            });
+            fail("expected IOException");
+        }
+        catch (IOException e) {
+            assertEquals(e.getMessage(), "load failed");
+        }
+    }
+
+    private int readFile(OrcFileMetadataCache metadataCache)
+            throws IOException
+    {
+        DataSize tinyStripeThreshold = new DataSize(1, BYTE);
+        TestingOrcDataSource orcDataSource = new TestingOrcDataSource(
+                new FileOrcDataSource(tempFile.getFile(), new DataSize(1, MEGABYTE), new DataSize(1, MEGABYTE), new DataSize(1, MEGABYTE), true));
+        OrcReader orcReader = new OrcReader(orcDataSource, ORC, new DataSize(1, MEGABYTE), tinyStripeThreshold, new DataSize(1, MEGABYTE), metadataCache);
+
+        long sum = 0;
+        try (OrcBatchRecordReader reader = orcReader.createBatchRecordReader(ImmutableMap.of(0, BIGINT), OrcPredicate.TRUE, HIVE_STORAGE_TIME_ZONE, newSimpleAggregatedMemoryContext(), MAX_BATCH_SIZE)) {
+            for (int batchSize = reader.nextBatch(); batchSize >= 0; batchSize = reader.nextBatch()) {
+                Block block = reader.readBlock(BIGINT, 0);
+                for (int position = 0; position < batchSize; position++) {
+                    sum += BIGINT.getLong(block, position);
+                }
+            }
+        }
+        assertEquals(sum, EXPECTED_SUM);
+        return orcDataSource.getReadCount();
+    }
+}
@@ -13,8 +13,10 @@
  */
 package com.facebook.presto.parquet;
 
+import io.airlift.compress.Compressor;
 import io.airlift.compress.Decompressor;
 import io.airlift.compress.lzo.LzoDecompressor;
+import io.airlift.compress.snappy.SnappyCompressor;
 import io.airlift.compress.snappy.SnappyDecompressor;
 import io.airlift.slice.DynamicSliceOutput;
 import io.airlift.slice.Slice;
@@ -22,7 +24,9 @@ import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static io.airlift.slice.SizeOf.SIZE_OF_INT;
@@ -61,6 +65,23 @@ public final class ParquetCompressionUtils
         }
     }
 
+    public static Slice compress(CompressionCodecName codec, Slice input)
+            throws IOException
+    {
+        requireNonNull(input, "input is null");
+
+        switch (codec) {
+            case GZIP:
+                return compressGzip(input);
+            case SNAPPY:
+                return compress(new SnappyCompressor(), input);
+            case UNCOMPRESSED:
+                return input;
+            default:
+                throw new IllegalArgumentException("Codec not supported by the Parquet writer: " + codec);
+        }
+    }
+
     private static Slice decompressSnappy(Slice input, int uncompressedSize)
     {
         byte[] buffer = new byte[uncompressedSize];
@@ -86,6 +107,16 @@ public final class ParquetCompressionUtils
         }
     }
 
+    private static Slice compressGzip(Slice input)
+            throws IOException
+    {
+        DynamicSliceOutput sliceOutput = new DynamicSliceOutput(input.length());
+        try (OutputStream gzipOutputStream = new GZIPOutputStream(sliceOutput, GZIP_BUFFER_SIZE)) {
+            input.getBytes(0, gzipOutputStream, input.length());
+        }
+        return sliceOutput.slice();
+    }
+
     private static Slice decompressLZO(Slice input, int uncompressedSize)
     {
         LzoDecompressor lzoDecompressor = new LzoDecompressor();
@@ -119,4 +150,13 @@ public final class ParquetCompressionUtils
         int size = decompressor.decompress(byteArray, byteArrayOffset, inputLength, output, outputOffset, output.length - outputOffset);
         return size;
     }
+
+    private static Slice compress(Compressor compressor, Slice input)
+    {
+        byte[] inputArray = (byte[]) input.getBase();
+        int inputOffset = (int) (input.getAddress() - ARRAY_BYTE_BASE_OFFSET);
+        byte[] output = new byte[compressor.maxCompressedLength(input.length())];
+        int size = compressor.compress(inputArray, inputOffset, input.length(), output, 0, output.length);
+        return wrappedBuffer(output, 0, size);
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.airlift.units.DataSize;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.openjdk.jol.info.ClassLayout;
+import org.weakref.jmx.Managed;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps decoded footers in memory, bounded by their estimated retained size.
+ */
+public class InMemoryParquetMetadataCache
+        implements ParquetMetadataCache
+{
+    private static final int PARQUET_METADATA_INSTANCE_SIZE = ClassLayout.parseClass(ParquetMetadata.class).instanceSize();
+    private static final int BLOCK_INSTANCE_SIZE = ClassLayout.parseClass(BlockMetaData.class).instanceSize();
+    // the statistics and encodings of a column chunk are accounted as one instance each, ignoring min and max values
+    private static final int COLUMN_CHUNK_INSTANCE_SIZE = ClassLayout.parseClass(ColumnChunkMetaData.class).instanceSize() +
+            ClassLayout.parseClass(Statistics.class).instanceSize();
+
+    private final Cache<FileKey, ParquetMetadata> cache;
+
+    public InMemoryParquetMetadataCache(DataSize maxSize)
+    {
+        requireNonNull(maxSize, "maxSize is null");
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((FileKey key, ParquetMetadata value) -> Ints.saturatedCast(getRetainedSizeInBytes(value)))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public ParquetMetadata getParquetMetadata(String path, long modificationTime, MetadataLoader loader)
+            throws IOException
+    {
+        try {
+            return cache.get(new FileKey(path, modificationTime), loader::load);
+        }
+        catch (ExecutionException | UncheckedExecutionException e) {
+            throwIfInstanceOf(e.getCause(), IOException.class);
+            throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Managed
+    public long getSize()
+    {
+        return cache.size();
+    }
+
+    @Managed
+    public long getHitCount()
+    {
+        return cache.stats().hitCount();
+    }
+
+    @Managed
+    public long getMissCount()
+    {
+        return cache.stats().missCount();
+    }
+
+    @Managed
+    public double getHitRate()
+    {
+        return cache.stats().hitRate();
+    }
+
+    @Managed
+    public long getEvictionCount()
+    {
+        return cache.stats().evictionCount();
+    }
+
+    @Managed
+    public long getLoadExceptionCount()
+    {
+        return cache.stats().loadExceptionCount();
+    }
+
+    private static long getRetainedSizeInBytes(ParquetMetadata metadata)
+    {
+        long retainedSizeInBytes = PARQUET_METADATA_INSTANCE_SIZE;
+        for (BlockMetaData block : metadata.getBlocks()) {
+            retainedSizeInBytes += BLOCK_INSTANCE_SIZE + (long) block.getColumns().size() * COLUMN_CHUNK_INSTANCE_SIZE;
+        }
+        return retainedSizeInBytes;
+    }
+
+    private static final class FileKey
+    {
+        private final String path;
+        private final long modificationTime;
+
+        public FileKey(String path, long modificationTime)
+        {
+            this.path = requireNonNull(path, "path is null");
+            this.modificationTime = modificationTime;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FileKey that = (FileKey) o;
+            return modificationTime == that.modificationTime &&
+                    path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(path, modificationTime);
+        }
+
+        @Override
+        public String toString()
+        {
+            return toStringHelper(this)
+                    .add("path", path)
+                    .add("modificationTime", modificationTime)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.cache;
+
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+
+import java.io.IOException;
+
+/**
+ * Cache of the decoded footers of Parquet files, shared by all readers.
+ * <p>
+ * A file is identified by its path and modification time, so a rewritten file
+ * is never served a stale footer.
+ */
+public interface ParquetMetadataCache
+{
+    ParquetMetadata getParquetMetadata(String path, long modificationTime, MetadataLoader loader)
+            throws IOException;
+
+    interface MetadataLoader
+    {
+        ParquetMetadata load()
+                throws IOException;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.predicate;
+
+import com.facebook.presto.parquet.ParquetCorruptionException;
+import com.google.common.collect.ImmutableList;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.format.ColumnIndex;
+import org.apache.parquet.format.OffsetIndex;
+import org.apache.parquet.format.PageLocation;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static com.facebook.presto.parquet.ParquetValidationUtils.validateParquet;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The first row and the statistics of each data page of a column chunk of a flat column.
+ */
+public class ColumnPageStatistics
+{
+    private final long[] pageFirstRows;
+    private final long rowCount;
+    private final List<Statistics<?>> pageStatistics;
+
+    public ColumnPageStatistics(long[] pageFirstRows, long rowCount, List<Statistics<?>> pageStatistics)
+    {
+        this.pageFirstRows = requireNonNull(pageFirstRows, "pageFirstRows is null");
+        this.rowCount = rowCount;
+        this.pageStatistics = ImmutableList.copyOf(requireNonNull(pageStatistics, "pageStatistics is null"));
+        checkArgument(pageFirstRows.length == pageStatistics.size(), "pageFirstRows and pageStatistics must have the same size");
+    }
+
+    public static ColumnPageStatistics fromColumnIndex(PrimitiveTypeName type, ColumnIndex columnIndex, OffsetIndex offsetIndex, long rowCount)
+            throws ParquetCorruptionException
+    {
+        List<PageLocation> pageLocations = offsetIndex.getPage_locations();
+        int pageCount = pageLocations.size();
+        validateParquet(columnIndex.getNull_pagesSize() == pageCount, "Column index and offset index have a different number of pages");
+        validateParquet(!columnIndex.isSetNull_counts() || columnIndex.getNull_countsSize() == pageCount, "Column index has a wrong number of null counts");
+
+        long[] pageFirstRows = new long[pageCount];
+        ImmutableList.Builder<Statistics<?>> pageStatistics = ImmutableList.builder();
+        for (int page = 0; page < pageCount; page++) {
+            pageFirstRows[page] = pageLocations.get(page).getFirst_row_index();
+            validateParquet(
+                    page == 0 ? pageFirstRows[page] == 0 : pageFirstRows[page] > pageFirstRows[page - 1] && pageFirstRows[page] < rowCount,
+                    "Offset index has an invalid first row index for page %s: %s",
+                    page,
+                    pageFirstRows[page]);
+            long pageRowCount = (page + 1 < pageCount ? pageLocations.get(page + 1).getFirst_row_index() : rowCount) - pageFirstRows[page];
+
+            Statistics<?> statistics = Statistics.getStatsBasedOnType(type);
+            if (columnIndex.getNull_pages().get(page)) {
+                statistics.setNumNulls(pageRowCount);
+            }
+            else {
+                statistics.setMinMaxFromBytes(getBytes(columnIndex.getMin_values().get(page)), getBytes(columnIndex.getMax_values().get(page)));
+                // a negative count marks the number of nulls as unknown
+                statistics.setNumNulls(columnIndex.isSetNull_counts() ? columnIndex.getNull_counts().get(page) : -1);
+            }
+            pageStatistics.add(statistics);
+        }
+        return new ColumnPageStatistics(pageFirstRows, rowCount, pageStatistics.build());
+    }
+
+    public int getPageCount()
+    {
+        return pageFirstRows.length;
+    }
+
+    public long getPageFirstRow(int page)
+    {
+        return pageFirstRows[page];
+    }
+
+    public long getPageRowCount(int page)
+    {
+        long end = page + 1 < pageFirstRows.length ? pageFirstRows[page + 1] : rowCount;
+        return end - pageFirstRows[page];
+    }
+
+    public Statistics<?> getStatistics(int page)
+    {
+        return pageStatistics.get(page);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer)
+    {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
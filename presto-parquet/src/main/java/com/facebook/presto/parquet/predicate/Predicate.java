@@ -18,7 +18,9 @@ import com.facebook.presto.parquet.ParquetDataSourceId;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.statistics.Statistics;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.Optional;
 
 public interface Predicate
 {
@@ -36,6 +38,12 @@ public interface Predicate
         {
             return true;
         }
+
+        @Override
+        public RowRanges getMatchingRows(long numberOfRows, PageStatisticsLoader pageStatisticsLoader, ParquetDataSourceId id)
+        {
+            return RowRanges.all(numberOfRows);
+        }
     };
 
     /**
@@ -56,4 +64,21 @@ public interface Predicate
      * @param dictionaries dictionaries per column
      */
     boolean matches(Map<ColumnDescriptor, DictionaryDescriptor> dictionaries);
+
+    /**
+     * Returns the rows of a file section that the Parquet Reader should process, based on the
+     * statistics of the individual pages of its columns.
+     *
+     * @param numberOfRows the number of rows in the segment
+     * @param pageStatisticsLoader loads the page statistics of a column, if they are available
+     * @param id Parquet file name
+     */
+    RowRanges getMatchingRows(long numberOfRows, PageStatisticsLoader pageStatisticsLoader, ParquetDataSourceId id)
+            throws IOException;
+
+    interface PageStatisticsLoader
+    {
+        Optional<ColumnPageStatistics> load(ColumnDescriptor column)
+                throws IOException;
+    }
 }
@@ -120,12 +120,13 @@ public final class PredicateUtils
             RichColumnDescriptor descriptor = descriptorsByPath.get(Arrays.asList(columnMetaData.getPath().toArray()));
             if (descriptor != null) {
                 if (isOnlyDictionaryEncodingPages(columnMetaData) && isColumnPredicate(descriptor, parquetTupleDomain)) {
-                    int totalSize = toIntExact(columnMetaData.getTotalSize());
-                    byte[] buffer = new byte[totalSize];
+                    // the dictionary page precedes the data pages, so there is no need to read the whole column chunk
+                    long dictionarySize = columnMetaData.getFirstDataPageOffset() - columnMetaData.getStartingPos();
+                    int readSize = toIntExact(dictionarySize > 0 ? dictionarySize : columnMetaData.getTotalSize());
+                    byte[] buffer = new byte[readSize];
                     dataSource.readFully(columnMetaData.getStartingPos(), buffer);
                     Optional<DictionaryPage> dictionaryPage = readDictionaryPage(buffer, columnMetaData.getCodec());
                     dictionaries.put(descriptor, new DictionaryDescriptor(descriptor, dictionaryPage));
-                    break;
                 }
             }
         }
@@ -22,6 +22,7 @@ import com.facebook.presto.spi.predicate.Domain;
 import com.facebook.presto.spi.predicate.Range;
 import com.facebook.presto.spi.predicate.TupleDomain;
 import com.facebook.presto.spi.predicate.ValueSet;
+import com.facebook.presto.spi.type.DecimalType;
 import com.facebook.presto.spi.type.Type;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.VerifyException;
@@ -38,22 +39,33 @@ import org.apache.parquet.column.statistics.LongStatistics;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 
+import java.io.IOException;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
+import static com.facebook.presto.parquet.ParquetTimestampUtils.getTimestampMillis;
+import static com.facebook.presto.parquet.ParquetTypeUtils.createDecimalType;
+import static com.facebook.presto.parquet.ParquetTypeUtils.getShortDecimalValue;
 import static com.facebook.presto.parquet.predicate.PredicateUtils.isStatisticsOverflow;
 import static com.facebook.presto.spi.type.BigintType.BIGINT;
 import static com.facebook.presto.spi.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.spi.type.Chars.isCharType;
+import static com.facebook.presto.spi.type.Chars.truncateToLengthAndTrimSpaces;
 import static com.facebook.presto.spi.type.DateType.DATE;
+import static com.facebook.presto.spi.type.Decimals.encodeUnscaledValue;
 import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
 import static com.facebook.presto.spi.type.IntegerType.INTEGER;
 import static com.facebook.presto.spi.type.RealType.REAL;
 import static com.facebook.presto.spi.type.SmallintType.SMALLINT;
+import static com.facebook.presto.spi.type.TimestampType.TIMESTAMP;
 import static com.facebook.presto.spi.type.TinyintType.TINYINT;
 import static com.facebook.presto.spi.type.Varchars.isVarcharType;
+import static com.facebook.presto.spi.type.Varchars.truncateToLength;
 import static java.lang.Float.floatToRawIntBits;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -129,6 +141,55 @@ public class TupleDomainParquetPredicate
         return true;
     }
 
+    @Override
+    public RowRanges getMatchingRows(long numberOfRows, PageStatisticsLoader pageStatisticsLoader, ParquetDataSourceId id)
+            throws IOException
+    {
+        if (numberOfRows == 0 || effectivePredicate.isNone()) {
+            return RowRanges.empty();
+        }
+
+        Map<ColumnDescriptor, Domain> effectivePredicateDomains = effectivePredicate.getDomains()
+                .orElseThrow(() -> new IllegalStateException("Effective predicate other than none should have domains"));
+
+        RowRanges matchingRows = RowRanges.all(numberOfRows);
+        for (RichColumnDescriptor column : columns) {
+            Domain effectivePredicateDomain = effectivePredicateDomains.get(column);
+            if (effectivePredicateDomain == null) {
+                continue;
+            }
+
+            Optional<ColumnPageStatistics> pageStatistics = pageStatisticsLoader.load(column);
+            if (pageStatistics.isPresent()) {
+                matchingRows = matchingRows.intersect(getMatchingRows(effectivePredicateDomain, pageStatistics.get(), id, column.toString()));
+                if (matchingRows.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        return matchingRows;
+    }
+
+    @VisibleForTesting
+    public static RowRanges getMatchingRows(Domain effectivePredicateDomain, ColumnPageStatistics pageStatistics, ParquetDataSourceId id, String column)
+            throws ParquetCorruptionException
+    {
+        RowRanges.Builder matchingRows = RowRanges.builder();
+        for (int page = 0; page < pageStatistics.getPageCount(); page++) {
+            long pageRowCount = pageStatistics.getPageRowCount(page);
+            if (pageRowCount == 0) {
+                continue;
+            }
+            // corrupted page statistics only prevent the page from being skipped
+            Domain domain = getDomain(effectivePredicateDomain.getType(), pageRowCount, pageStatistics.getStatistics(page), id, column, false);
+            if (!effectivePredicateDomain.intersect(domain).isNone()) {
+                long firstRow = pageStatistics.getPageFirstRow(page);
+                matchingRows.add(firstRow, firstRow + pageRowCount);
+            }
+        }
+        return matchingRows.build();
+    }
+
     @VisibleForTesting
     public static Domain getDomain(Type type, long rowCount, Statistics<?> statistics, ParquetDataSourceId id, String column, boolean failOnCorruptedParquetStatistics)
             throws ParquetCorruptionException
@@ -262,53 +323,109 @@ public class TupleDomainParquetPredicate
             return Domain.all(type);
         }
 
-        int dictionarySize = dictionaryPage.get().getDictionarySize();
-        if (type.equals(BIGINT) && columnDescriptor.getType() == PrimitiveTypeName.INT64) {
-            List<Domain> domains = new ArrayList<>();
-            for (int i = 0; i < dictionarySize; i++) {
-                domains.add(Domain.singleValue(type, dictionary.decodeToLong(i)));
-            }
-            domains.add(Domain.onlyNull(type));
-            return Domain.union(domains);
+        Optional<IntFunction<Object>> decoder = getDictionaryValueDecoder(type, columnDescriptor, dictionary);
+        if (!decoder.isPresent()) {
+            return Domain.all(type);
         }
 
-        if ((type.equals(BIGINT) || type.equals(DATE)) && columnDescriptor.getType() == PrimitiveTypeName.INT32) {
-            List<Domain> domains = new ArrayList<>();
-            for (int i = 0; i < dictionarySize; i++) {
-                domains.add(Domain.singleValue(type, (long) dictionary.decodeToInt(i)));
+        int dictionarySize = dictionaryPage.get().getDictionarySize();
+        List<Object> values = new ArrayList<>(dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            Object value = decoder.get().apply(i);
+            if (isIntegerOverflow(type, value)) {
+                // the reader does not produce these values as they are stored in the file
+                return Domain.all(type);
             }
-            domains.add(Domain.onlyNull(type));
-            return Domain.union(domains);
+            values.add(value);
         }
-
-        if (type.equals(DOUBLE) && columnDescriptor.getType() == PrimitiveTypeName.DOUBLE) {
-            List<Domain> domains = new ArrayList<>();
-            for (int i = 0; i < dictionarySize; i++) {
-                domains.add(Domain.singleValue(type, dictionary.decodeToDouble(i)));
-            }
-            domains.add(Domain.onlyNull(type));
-            return Domain.union(domains);
+        if (values.isEmpty()) {
+            return Domain.onlyNull(type);
         }
+        return Domain.create(ValueSet.copyOf(type, values), true);
+    }
 
-        if (type.equals(DOUBLE) && columnDescriptor.getType() == PrimitiveTypeName.FLOAT) {
-            List<Domain> domains = new ArrayList<>();
-            for (int i = 0; i < dictionarySize; i++) {
-                domains.add(Domain.singleValue(type, (double) dictionary.decodeToFloat(i)));
+    /**
+     * Returns a function that converts a dictionary entry to the value produced for it by the column readers.
+     */
+    private static Optional<IntFunction<Object>> getDictionaryValueDecoder(Type type, ColumnDescriptor columnDescriptor, Dictionary dictionary)
+    {
+        PrimitiveTypeName physicalType = columnDescriptor.getType();
+        if (type instanceof DecimalType) {
+            // unscaled values can only be compared if the scale of the column in the file is the same
+            if (!(columnDescriptor instanceof RichColumnDescriptor) || !createDecimalType((RichColumnDescriptor) columnDescriptor).equals(Optional.of(type))) {
+                return Optional.empty();
+            }
+            if (((DecimalType) type).isShort()) {
+                switch (physicalType) {
+                    case INT32:
+                        return Optional.of(id -> (long) dictionary.decodeToInt(id));
+                    case INT64:
+                        return Optional.of(dictionary::decodeToLong);
+                    case BINARY:
+                    case FIXED_LEN_BYTE_ARRAY:
+                        return Optional.of(id -> getShortDecimalValue(dictionary.decodeToBinary(id).getBytes()));
+                    default:
+                        return Optional.empty();
+                }
+            }
+            if (physicalType == PrimitiveTypeName.BINARY || physicalType == PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY) {
+                return Optional.of(id -> encodeUnscaledValue(new BigInteger(dictionary.decodeToBinary(id).getBytes())));
             }
-            domains.add(Domain.onlyNull(type));
-            return Domain.union(domains);
+            return Optional.empty();
         }
 
-        if (isVarcharType(type) && columnDescriptor.getType() == PrimitiveTypeName.BINARY) {
-            List<Domain> domains = new ArrayList<>();
-            for (int i = 0; i < dictionarySize; i++) {
-                domains.add(Domain.singleValue(type, Slices.wrappedBuffer(dictionary.decodeToBinary(i).getBytes())));
-            }
-            domains.add(Domain.onlyNull(type));
-            return Domain.union(domains);
+        switch (physicalType) {
+            case INT32:
+                if (type.equals(BIGINT) || type.equals(INTEGER) || type.equals(SMALLINT) || type.equals(TINYINT) || type.equals(DATE)) {
+                    return Optional.of(id -> (long) dictionary.decodeToInt(id));
+                }
+                break;
+            case INT64:
+                if (type.equals(BIGINT)) {
+                    return Optional.of(dictionary::decodeToLong);
+                }
+                break;
+            case INT96:
+                if (type.equals(TIMESTAMP)) {
+                    return Optional.of(id -> getTimestampMillis(dictionary.decodeToBinary(id)));
+                }
+                break;
+            case FLOAT:
+                if (type.equals(REAL)) {
+                    return Optional.of(id -> (long) floatToRawIntBits(dictionary.decodeToFloat(id)));
+                }
+                if (type.equals(DOUBLE)) {
+                    return Optional.of(id -> (double) dictionary.decodeToFloat(id));
+                }
+                break;
+            case DOUBLE:
+                if (type.equals(DOUBLE)) {
+                    return Optional.of(dictionary::decodeToDouble);
+                }
+                break;
+            case BINARY:
+                if (isVarcharType(type)) {
+                    return Optional.of(id -> truncateToLength(Slices.wrappedBuffer(dictionary.decodeToBinary(id).getBytes()), type));
+                }
+                if (isCharType(type)) {
+                    return Optional.of(id -> truncateToLengthAndTrimSpaces(Slices.wrappedBuffer(dictionary.decodeToBinary(id).getBytes()), type));
+                }
+                break;
+            default:
+                break;
         }
+        return Optional.empty();
+    }
 
-        return Domain.all(type);
+    private static boolean isIntegerOverflow(Type type, Object value)
+    {
+        if (type.equals(TINYINT)) {
+            return (long) value < Byte.MIN_VALUE || (long) value > Byte.MAX_VALUE;
+        }
+        if (type.equals(SMALLINT)) {
+            return (long) value < Short.MIN_VALUE || (long) value > Short.MAX_VALUE;
+        }
+        return false;
     }
 
     private static void failWithCorruptionException(boolean failOnCorruptedParquetStatistics, String column, ParquetDataSourceId id, Statistics statistics)
@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.parquet.reader;
 
+import com.facebook.presto.orc.TupleDomainFilter;
 import com.facebook.presto.parquet.RichColumnDescriptor;
 import com.facebook.presto.spi.block.BlockBuilder;
 import com.facebook.presto.spi.type.Type;
@@ -59,6 +60,32 @@ public class BinaryColumnReader
         }
     }
 
+    @Override
+    protected boolean readValue(BlockBuilder blockBuilder, Type type, TupleDomainFilter filter)
+    {
+        if (definitionLevel == columnDescriptor.getMaxDefinitionLevel()) {
+            byte[] bytes = valuesReader.readBytes().getBytes();
+            Slice value = bytes.length == 0 ? EMPTY_SLICE : wrappedBuffer(bytes);
+            if (isVarcharType(type)) {
+                value = truncateToLength(value, type);
+            }
+            if (isCharType(type)) {
+                value = truncateToLengthAndTrimSpaces(value, type);
+            }
+            // truncation keeps a prefix of the original bytes
+            if (filter.testBytes(bytes, 0, value.length())) {
+                type.writeSlice(blockBuilder, value);
+                return true;
+            }
+            return false;
+        }
+        if (filter.testNull()) {
+            blockBuilder.appendNull();
+            return true;
+        }
+        return false;
+    }
+
     @Override
     protected void skipValue()
     {
@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.parquet.reader;
 
+import com.facebook.presto.orc.TupleDomainFilter;
 import com.facebook.presto.parquet.RichColumnDescriptor;
 import com.facebook.presto.spi.block.BlockBuilder;
 import com.facebook.presto.spi.type.Type;
@@ -38,6 +39,24 @@ public class FloatColumnReader
         }
     }
 
+    @Override
+    protected boolean readValue(BlockBuilder blockBuilder, Type type, TupleDomainFilter filter)
+    {
+        if (definitionLevel == columnDescriptor.getMaxDefinitionLevel()) {
+            float value = valuesReader.readFloat();
+            if (filter.testFloat(value)) {
+                type.writeLong(blockBuilder, floatToRawIntBits(value));
+                return true;
+            }
+            return false;
+        }
+        if (filter.testNull()) {
+            blockBuilder.appendNull();
+            return true;
+        }
+        return false;
+    }
+
     @Override
     protected void skipValue()
     {
@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.reader;
+
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkProperties;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Column chunk metadata that also records the location of the column index and the offset index
+ * of the chunk, which are not exposed by {@link ColumnChunkMetaData} in the Parquet version we use.
+ */
+public class IndexedColumnChunkMetaData
+        extends ColumnChunkMetaData
+{
+    private final ColumnChunkMetaData delegate;
+    private final long columnIndexOffset;
+    private final int columnIndexLength;
+    private final long offsetIndexOffset;
+    private final int offsetIndexLength;
+
+    public IndexedColumnChunkMetaData(ColumnChunkMetaData delegate, long columnIndexOffset, int columnIndexLength, long offsetIndexOffset, int offsetIndexLength)
+    {
+        super(delegate.getEncodingStats(), ColumnChunkProperties.get(delegate.getPath(), delegate.getPrimitiveType(), delegate.getCodec(), delegate.getEncodings()));
+        this.delegate = requireNonNull(delegate, "delegate is null");
+        this.columnIndexOffset = columnIndexOffset;
+        this.columnIndexLength = columnIndexLength;
+        this.offsetIndexOffset = offsetIndexOffset;
+        this.offsetIndexLength = offsetIndexLength;
+    }
+
+    public boolean hasColumnIndex()
+    {
+        return columnIndexLength > 0;
+    }
+
+    public long getColumnIndexOffset()
+    {
+        return columnIndexOffset;
+    }
+
+    public int getColumnIndexLength()
+    {
+        return columnIndexLength;
+    }
+
+    public boolean hasOffsetIndex()
+    {
+        return offsetIndexLength > 0;
+    }
+
+    public long getOffsetIndexOffset()
+    {
+        return offsetIndexOffset;
+    }
+
+    public int getOffsetIndexLength()
+    {
+        return offsetIndexLength;
+    }
+
+    @Override
+    public long getFirstDataPageOffset()
+    {
+        return delegate.getFirstDataPageOffset();
+    }
+
+    @Override
+    public long getDictionaryPageOffset()
+    {
+        return delegate.getDictionaryPageOffset();
+    }
+
+    @Override
+    public long getValueCount()
+    {
+        return delegate.getValueCount();
+    }
+
+    @Override
+    public long getTotalUncompressedSize()
+    {
+        return delegate.getTotalUncompressedSize();
+    }
+
+    @Override
+    public long getTotalSize()
+    {
+        return delegate.getTotalSize();
+    }
+
+    @Override
+    public Statistics getStatistics()
+    {
+        return delegate.getStatistics();
+    }
+}
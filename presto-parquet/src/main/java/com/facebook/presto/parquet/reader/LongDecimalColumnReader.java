@@ -13,14 +13,18 @@
  */
 package com.facebook.presto.parquet.reader;
 
+import com.facebook.presto.orc.TupleDomainFilter;
 import com.facebook.presto.parquet.RichColumnDescriptor;
 import com.facebook.presto.spi.block.BlockBuilder;
 import com.facebook.presto.spi.type.Decimals;
 import com.facebook.presto.spi.type.Type;
+import io.airlift.slice.Slice;
 import org.apache.parquet.io.api.Binary;
 
 import java.math.BigInteger;
 
+import static io.airlift.slice.SizeOf.SIZE_OF_LONG;
+
 public class LongDecimalColumnReader
         extends PrimitiveColumnReader
 {
@@ -41,6 +45,24 @@ public class LongDecimalColumnReader
         }
     }
 
+    @Override
+    protected boolean readValue(BlockBuilder blockBuilder, Type type, TupleDomainFilter filter)
+    {
+        if (definitionLevel == columnDescriptor.getMaxDefinitionLevel()) {
+            Slice value = Decimals.encodeUnscaledValue(new BigInteger(valuesReader.readBytes().getBytes()));
+            if (filter.testDecimal(value.getLong(0), value.getLong(SIZE_OF_LONG))) {
+                type.writeSlice(blockBuilder, value);
+                return true;
+            }
+            return false;
+        }
+        if (filter.testNull()) {
+            blockBuilder.appendNull();
+            return true;
+        }
+        return false;
+    }
+
     @Override
     protected void skipValue()
     {
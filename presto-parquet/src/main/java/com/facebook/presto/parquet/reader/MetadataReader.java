@@ -13,19 +13,23 @@
  */
 package com.facebook.presto.parquet.reader;
 
+import com.facebook.presto.parquet.ParquetDataSource;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnIndex;
 import org.apache.parquet.format.ColumnMetaData;
 import org.apache.parquet.format.ConvertedType;
 import org.apache.parquet.format.Encoding;
 import org.apache.parquet.format.FileMetaData;
 import org.apache.parquet.format.KeyValue;
+import org.apache.parquet.format.OffsetIndex;
 import org.apache.parquet.format.RowGroup;
 import org.apache.parquet.format.SchemaElement;
 import org.apache.parquet.format.Statistics;
 import org.apache.parquet.format.Type;
+import org.apache.parquet.format.Util;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
@@ -52,6 +56,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import static com.facebook.presto.parquet.ParquetValidationUtils.validateParquet;
@@ -143,6 +148,14 @@ public final class MetadataReader
                             metaData.num_values,
                             metaData.total_compressed_size,
                             metaData.total_uncompressed_size);
+                    if (columnChunk.isSetColumn_index_offset() || columnChunk.isSetOffset_index_offset()) {
+                        column = new IndexedColumnChunkMetaData(
+                                column,
+                                columnChunk.getColumn_index_offset(),
+                                columnChunk.getColumn_index_length(),
+                                columnChunk.getOffset_index_offset(),
+                                columnChunk.getOffset_index_length());
+                    }
                     blockMetaData.addColumn(column);
                 }
                 blockMetaData.setPath(filePath);
@@ -160,6 +173,30 @@ public final class MetadataReader
         return new ParquetMetadata(new org.apache.parquet.hadoop.metadata.FileMetaData(messageType, keyValueMetaData, fileMetaData.getCreated_by()), blocks);
     }
 
+    public static Optional<ColumnIndex> readColumnIndex(ParquetDataSource dataSource, ColumnChunkMetaData metadata)
+            throws IOException
+    {
+        if (!(metadata instanceof IndexedColumnChunkMetaData) || !((IndexedColumnChunkMetaData) metadata).hasColumnIndex()) {
+            return Optional.empty();
+        }
+        IndexedColumnChunkMetaData indexedMetadata = (IndexedColumnChunkMetaData) metadata;
+        byte[] buffer = new byte[indexedMetadata.getColumnIndexLength()];
+        dataSource.readFully(indexedMetadata.getColumnIndexOffset(), buffer);
+        return Optional.of(Util.readColumnIndex(new ByteArrayInputStream(buffer)));
+    }
+
+    public static Optional<OffsetIndex> readOffsetIndex(ParquetDataSource dataSource, ColumnChunkMetaData metadata)
+            throws IOException
+    {
+        if (!(metadata instanceof IndexedColumnChunkMetaData) || !((IndexedColumnChunkMetaData) metadata).hasOffsetIndex()) {
+            return Optional.empty();
+        }
+        IndexedColumnChunkMetaData indexedMetadata = (IndexedColumnChunkMetaData) metadata;
+        byte[] buffer = new byte[indexedMetadata.getOffsetIndexLength()];
+        dataSource.readFully(indexedMetadata.getOffsetIndexOffset(), buffer);
+        return Optional.of(Util.readOffsetIndex(new ByteArrayInputStream(buffer)));
+    }
+
     private static MessageType readParquetSchema(List<SchemaElement> schema)
     {
         Iterator<SchemaElement> schemaIterator = schema.iterator();
@@ -17,26 +17,34 @@ import com.facebook.presto.parquet.DataPage;
 import com.facebook.presto.parquet.DataPageV1;
 import com.facebook.presto.parquet.DataPageV2;
 import com.facebook.presto.parquet.DictionaryPage;
+import com.facebook.presto.parquet.predicate.ColumnPageStatistics;
+import com.google.common.collect.ImmutableList;
+import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
 
 import static com.facebook.presto.parquet.ParquetCompressionUtils.decompress;
+import static com.google.common.base.Verify.verify;
 import static java.lang.Math.toIntExact;
 
 class PageReader
 {
+    private final PrimitiveTypeName columnType;
     private final CompressionCodecName codec;
     private final long valueCount;
     private final List<DataPage> compressedPages;
     private final DictionaryPage compressedDictionaryPage;
 
-    public PageReader(CompressionCodecName codec,
+    public PageReader(PrimitiveTypeName columnType,
+            CompressionCodecName codec,
             List<DataPage> compressedPages,
             DictionaryPage compressedDictionaryPage)
     {
+        this.columnType = columnType;
         this.codec = codec;
         this.compressedPages = new LinkedList<>(compressedPages);
         this.compressedDictionaryPage = compressedDictionaryPage;
@@ -52,12 +60,61 @@ class PageReader
         return valueCount;
     }
 
+    /**
+     * Returns the number of values in the next page, or 0 if all pages have been read.
+     */
+    public int getNextPageValueCount()
+    {
+        if (compressedPages.isEmpty()) {
+            return 0;
+        }
+        return compressedPages.get(0).getValueCount();
+    }
+
+    /**
+     * Skips the next page without decompressing it.
+     *
+     * @return the number of values in the skipped page
+     */
+    public int skipNextPage()
+    {
+        return compressedPages.remove(0).getValueCount();
+    }
+
+    /**
+     * Returns the first row and statistics of each data page. This is only valid for flat columns,
+     * where every value is a separate row.
+     */
+    public ColumnPageStatistics getPageStatistics()
+    {
+        long[] pageFirstRows = new long[compressedPages.size()];
+        ImmutableList.Builder<Statistics<?>> pageStatistics = ImmutableList.builder();
+        long rowCount = 0;
+        int page = 0;
+        for (DataPage compressedPage : compressedPages) {
+            pageFirstRows[page++] = rowCount;
+            rowCount += compressedPage.getValueCount();
+            if (compressedPage instanceof DataPageV1) {
+                pageStatistics.add(((DataPageV1) compressedPage).getStatistics());
+            }
+            else if (compressedPage instanceof DataPageV2) {
+                pageStatistics.add(((DataPageV2) compressedPage).getStatistics());
+            }
+            else {
+                // the page was not read, so nothing is known about its values
+                pageStatistics.add(Statistics.getStatsBasedOnType(columnType));
+            }
+        }
+        return new ColumnPageStatistics(pageFirstRows, rowCount, pageStatistics.build());
+    }
+
     public DataPage readPage()
     {
         if (compressedPages.isEmpty()) {
             return null;
         }
         DataPage compressedPage = compressedPages.remove(0);
+        verify(!(compressedPage instanceof UnreadDataPage), "page was not read from the file");
         try {
             if (compressedPage instanceof DataPageV1) {
                 DataPageV1 dataPageV1 = (DataPageV1) compressedPage;
@@ -111,4 +168,16 @@ class PageReader
             throw new RuntimeException("Error reading dictionary page", e);
         }
     }
+
+    /**
+     * Placeholder for a data page that was not read from the file, because none of its rows are selected.
+     */
+    static final class UnreadDataPage
+            extends DataPage
+    {
+        public UnreadDataPage(int compressedSize, int valueCount)
+        {
+            super(compressedSize, 0, valueCount);
+        }
+    }
 }
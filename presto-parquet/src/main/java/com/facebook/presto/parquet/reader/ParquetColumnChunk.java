@@ -18,12 +18,14 @@ import com.facebook.presto.parquet.DataPageV1;
 import com.facebook.presto.parquet.DataPageV2;
 import com.facebook.presto.parquet.DictionaryPage;
 import com.facebook.presto.parquet.ParquetCorruptionException;
+import com.facebook.presto.parquet.reader.PageReader.UnreadDataPage;
 import io.airlift.slice.Slice;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.format.DataPageHeader;
 import org.apache.parquet.format.DataPageHeaderV2;
 import org.apache.parquet.format.DictionaryPageHeader;
 import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageLocation;
 import org.apache.parquet.format.Util;
 
 import java.io.ByteArrayInputStream;
@@ -33,6 +35,7 @@ import java.util.List;
 
 import static com.facebook.presto.parquet.ParquetTypeUtils.getParquetEncoding;
 import static io.airlift.slice.Slices.wrappedBuffer;
+import static java.lang.Math.toIntExact;
 
 public class ParquetColumnChunk
         extends ByteArrayInputStream
@@ -88,7 +91,66 @@ public class ParquetColumnChunk
                     break;
             }
         }
-        return new PageReader(descriptor.getColumnChunkMetaData().getCodec(), pages, dictionaryPage);
+        return new PageReader(descriptor.getColumnDescriptor().getType(), descriptor.getColumnChunkMetaData().getCodec(), pages, dictionaryPage);
+    }
+
+    /**
+     * Reads the selected data pages of a flat column, which are stored back to back in the buffer,
+     * following the dictionary page if there is one. Pages that are not selected are not present in
+     * the buffer, and are only accounted for by their row counts.
+     *
+     * @param pageLocations the locations of all data pages of the column chunk, from the offset index
+     * @param selectedPages the data pages that are present in the buffer
+     * @param rowCount the number of rows in the row group
+     */
+    public PageReader readPages(List<PageLocation> pageLocations, boolean[] selectedPages, long rowCount)
+            throws IOException
+    {
+        List<DataPage> pages = new ArrayList<>();
+        DictionaryPage dictionaryPage = null;
+        for (int page = 0; page < pageLocations.size(); page++) {
+            long nextPageFirstRow = page + 1 < pageLocations.size() ? pageLocations.get(page + 1).getFirst_row_index() : rowCount;
+            int pageRowCount = toIntExact(nextPageFirstRow - pageLocations.get(page).getFirst_row_index());
+            if (!selectedPages[page]) {
+                pages.add(new UnreadDataPage(pageLocations.get(page).getCompressed_page_size(), pageRowCount));
+                continue;
+            }
+
+            boolean dataPageRead = false;
+            while (!dataPageRead) {
+                PageHeader pageHeader = readPageHeader();
+                int uncompressedPageSize = pageHeader.getUncompressed_page_size();
+                int compressedPageSize = pageHeader.getCompressed_page_size();
+                switch (pageHeader.type) {
+                    case DICTIONARY_PAGE:
+                        if (dictionaryPage != null) {
+                            throw new ParquetCorruptionException("%s has more than one dictionary page in column chunk", descriptor.getColumnDescriptor());
+                        }
+                        dictionaryPage = readDictionaryPage(pageHeader, uncompressedPageSize, compressedPageSize);
+                        break;
+                    case DATA_PAGE:
+                        validatePageRowCount(readDataPageV1(pageHeader, uncompressedPageSize, compressedPageSize, pages), pageRowCount);
+                        dataPageRead = true;
+                        break;
+                    case DATA_PAGE_V2:
+                        validatePageRowCount(readDataPageV2(pageHeader, uncompressedPageSize, compressedPageSize, pages), pageRowCount);
+                        dataPageRead = true;
+                        break;
+                    default:
+                        skip(compressedPageSize);
+                        break;
+                }
+            }
+        }
+        return new PageReader(descriptor.getColumnDescriptor().getType(), descriptor.getColumnChunkMetaData().getCodec(), pages, dictionaryPage);
+    }
+
+    private void validatePageRowCount(long valueCount, int pageRowCount)
+            throws ParquetCorruptionException
+    {
+        if (valueCount != pageRowCount) {
+            throw new ParquetCorruptionException("%s has a data page with %s values, but the offset index implies %s rows", descriptor.getColumnDescriptor(), valueCount, pageRowCount);
+        }
     }
 
     public int getPosition()
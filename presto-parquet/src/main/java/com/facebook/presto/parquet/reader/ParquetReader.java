@@ -15,14 +15,19 @@ package com.facebook.presto.parquet.reader;
 
 import com.facebook.presto.memory.context.AggregatedMemoryContext;
 import com.facebook.presto.memory.context.LocalMemoryContext;
+import com.facebook.presto.orc.TupleDomainFilter;
 import com.facebook.presto.parquet.Field;
 import com.facebook.presto.parquet.GroupField;
 import com.facebook.presto.parquet.ParquetCorruptionException;
 import com.facebook.presto.parquet.ParquetDataSource;
 import com.facebook.presto.parquet.PrimitiveField;
 import com.facebook.presto.parquet.RichColumnDescriptor;
+import com.facebook.presto.parquet.predicate.ColumnPageStatistics;
+import com.facebook.presto.parquet.predicate.Predicate;
+import com.facebook.presto.parquet.predicate.RowRanges;
 import com.facebook.presto.spi.block.ArrayBlock;
 import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.block.BlockBuilder;
 import com.facebook.presto.spi.block.RowBlock;
 import com.facebook.presto.spi.block.RunLengthEncodedBlock;
 import com.facebook.presto.spi.type.MapType;
@@ -33,6 +38,9 @@ import it.unimi.dsi.fastutil.booleans.BooleanList;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.format.ColumnIndex;
+import org.apache.parquet.format.OffsetIndex;
+import org.apache.parquet.format.PageLocation;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
@@ -47,10 +55,13 @@ import java.util.Optional;
 
 import static com.facebook.presto.parquet.ParquetValidationUtils.validateParquet;
 import static com.facebook.presto.parquet.reader.ListColumnReader.calculateCollectionOffsets;
+import static com.facebook.presto.parquet.reader.MetadataReader.readColumnIndex;
+import static com.facebook.presto.parquet.reader.MetadataReader.readOffsetIndex;
 import static com.facebook.presto.spi.type.StandardTypes.ARRAY;
 import static com.facebook.presto.spi.type.StandardTypes.MAP;
 import static com.facebook.presto.spi.type.StandardTypes.ROW;
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
 import static java.util.Objects.requireNonNull;
@@ -72,17 +83,24 @@ public class ParquetReader
     private long nextRowInGroup;
     private int batchSize;
     private final PrimitiveColumnReader[] columnReaders;
+    private final Predicate parquetPredicate;
+
+    // rows of the current row group that may match the predicate, based on page statistics
+    private RowRanges currentGroupRowRanges;
+    private int currentRange;
 
     private AggregatedMemoryContext currentRowGroupMemoryContext;
 
     public ParquetReader(MessageColumnIO messageColumnIO,
             List<BlockMetaData> blocks,
             ParquetDataSource dataSource,
-            AggregatedMemoryContext systemMemoryContext)
+            AggregatedMemoryContext systemMemoryContext,
+            Predicate parquetPredicate)
     {
         this.blocks = blocks;
         this.dataSource = requireNonNull(dataSource, "dataSource is null");
         this.systemMemoryContext = requireNonNull(systemMemoryContext, "systemMemoryContext is null");
+        this.parquetPredicate = requireNonNull(parquetPredicate, "parquetPredicate is null");
         this.currentRowGroupMemoryContext = systemMemoryContext.newAggregatedMemoryContext();
         columns = messageColumnIO.getLeaves();
         columnReaders = new PrimitiveColumnReader[columns.size()];
@@ -102,37 +120,79 @@ public class ParquetReader
     }
 
     public int nextBatch()
+            throws IOException
     {
         if (nextRowInGroup >= currentGroupRowCount && !advanceToNextRowGroup()) {
             return -1;
         }
 
-        batchSize = toIntExact(min(MAX_VECTOR_LENGTH, currentGroupRowCount - nextRowInGroup));
+        // rows before the start of the current range do not match the predicate
+        long batchStart = max(nextRowInGroup, currentGroupRowRanges.getStart(currentRange));
+        int skippedRowCount = toIntExact(batchStart - nextRowInGroup);
+        batchSize = toIntExact(min(MAX_VECTOR_LENGTH, currentGroupRowRanges.getEnd(currentRange) - batchStart));
 
-        nextRowInGroup += batchSize;
+        nextRowInGroup = batchStart + batchSize;
+        if (nextRowInGroup == currentGroupRowRanges.getEnd(currentRange)) {
+            currentRange++;
+            if (currentRange == currentGroupRowRanges.getRangeCount()) {
+                nextRowInGroup = currentGroupRowCount;
+            }
+        }
         currentPosition += batchSize;
         Arrays.stream(columnReaders)
-                .forEach(reader -> reader.prepareNextRead(batchSize));
+                .forEach(reader -> reader.prepareNextRead(skippedRowCount, batchSize));
         return batchSize;
     }
 
     private boolean advanceToNextRowGroup()
+            throws IOException
     {
-        currentRowGroupMemoryContext.close();
-        currentRowGroupMemoryContext = systemMemoryContext.newAggregatedMemoryContext();
+        do {
+            currentRowGroupMemoryContext.close();
+            currentRowGroupMemoryContext = systemMemoryContext.newAggregatedMemoryContext();
 
-        if (currentBlock == blocks.size()) {
-            return false;
-        }
-        currentBlockMetadata = blocks.get(currentBlock);
-        currentBlock = currentBlock + 1;
+            if (currentBlock == blocks.size()) {
+                return false;
+            }
+            currentBlockMetadata = blocks.get(currentBlock);
+            currentBlock = currentBlock + 1;
+
+            nextRowInGroup = 0L;
+            currentGroupRowCount = currentBlockMetadata.getRowCount();
+            initializeColumnReaders();
 
-        nextRowInGroup = 0L;
-        currentGroupRowCount = currentBlockMetadata.getRowCount();
-        initializeColumnReaders();
+            // column chunks read while evaluating the predicate are read in full
+            currentGroupRowRanges = RowRanges.all(currentGroupRowCount);
+            currentGroupRowRanges = parquetPredicate.getMatchingRows(currentGroupRowCount, this::getPageStatistics, dataSource.getId());
+            currentRange = 0;
+        }
+        while (currentGroupRowRanges.isEmpty());
         return true;
     }
 
+    private Optional<ColumnPageStatistics> getPageStatistics(ColumnDescriptor columnDescriptor)
+            throws IOException
+    {
+        if (columnDescriptor.getMaxRepetitionLevel() != 0) {
+            return Optional.empty();
+        }
+        Optional<PrimitiveColumnIO> columnIO = columns.stream()
+                .filter(column -> column.getColumnDescriptor().equals(columnDescriptor))
+                .findFirst();
+        if (!columnIO.isPresent()) {
+            return Optional.empty();
+        }
+
+        ColumnChunkMetaData metadata = getColumnChunkMetaData(columnDescriptor);
+        Optional<ColumnIndex> columnIndex = readColumnIndex(dataSource, metadata);
+        Optional<OffsetIndex> offsetIndex = readOffsetIndex(dataSource, metadata);
+        if (columnIndex.isPresent() && offsetIndex.isPresent()) {
+            return Optional.of(ColumnPageStatistics.fromColumnIndex(columnDescriptor.getType(), columnIndex.get(), offsetIndex.get(), currentGroupRowCount));
+        }
+        // fall back to the statistics in the page headers, which requires reading the column chunk
+        return Optional.of(getColumnReader(columnIO.get().getId(), columnDescriptor).getPageReader().getPageStatistics());
+    }
+
     private ColumnChunk readArray(GroupField field)
             throws IOException
     {
@@ -193,20 +253,102 @@ public class ParquetReader
     private ColumnChunk readPrimitive(PrimitiveField field)
             throws IOException
     {
-        ColumnDescriptor columnDescriptor = field.getDescriptor();
-        PrimitiveColumnReader columnReader = columnReaders[field.getId()];
+        return getColumnReader(field).readPrimitive(field);
+    }
+
+    /**
+     * Reads the values of a flat primitive column at the specified positions of the current batch,
+     * keeping only the values that pass the filter.
+     *
+     * @return the number of positions that passed the filter; these positions are written to outputPositions
+     * @see PrimitiveColumnReader#readPrimitive(Type, int[], int, Optional, BlockBuilder, int[])
+     */
+    public int readPrimitive(PrimitiveField field, int[] positions, int positionCount, Optional<TupleDomainFilter> filter, BlockBuilder blockBuilder, int[] outputPositions)
+            throws IOException
+    {
+        return getColumnReader(field).readPrimitive(field.getType(), positions, positionCount, filter, blockBuilder, outputPositions);
+    }
+
+    private PrimitiveColumnReader getColumnReader(PrimitiveField field)
+            throws IOException
+    {
+        return getColumnReader(field.getId(), field.getDescriptor());
+    }
+
+    private PrimitiveColumnReader getColumnReader(int columnId, ColumnDescriptor columnDescriptor)
+            throws IOException
+    {
+        PrimitiveColumnReader columnReader = columnReaders[columnId];
         if (columnReader.getPageReader() == null) {
             validateParquet(currentBlockMetadata.getRowCount() > 0, "Row group has 0 rows");
             ColumnChunkMetaData metadata = getColumnChunkMetaData(columnDescriptor);
-            long startingPosition = metadata.getStartingPos();
-            int totalSize = toIntExact(metadata.getTotalSize());
-            byte[] buffer = allocateBlock(totalSize);
-            dataSource.readFully(startingPosition, buffer);
-            ColumnChunkDescriptor descriptor = new ColumnChunkDescriptor(columnDescriptor, metadata, totalSize);
-            ParquetColumnChunk columnChunk = new ParquetColumnChunk(descriptor, buffer, 0);
-            columnReader.setPageReader(columnChunk.readAllPages());
+            ColumnChunkDescriptor descriptor = new ColumnChunkDescriptor(columnDescriptor, metadata, toIntExact(metadata.getTotalSize()));
+            columnReader.setPageReader(readColumnChunk(descriptor));
+        }
+        return columnReader;
+    }
+
+    private PageReader readColumnChunk(ColumnChunkDescriptor descriptor)
+            throws IOException
+    {
+        ColumnChunkMetaData metadata = descriptor.getColumnChunkMetaData();
+        if (descriptor.getColumnDescriptor().getMaxRepetitionLevel() == 0 && currentGroupRowRanges.getRowCount() < currentGroupRowCount) {
+            Optional<OffsetIndex> offsetIndex = readOffsetIndex(dataSource, metadata);
+            if (offsetIndex.isPresent()) {
+                return readSelectedPages(descriptor, offsetIndex.get().getPage_locations());
+            }
+        }
+
+        byte[] buffer = allocateBlock(descriptor.getSize());
+        dataSource.readFully(metadata.getStartingPos(), buffer);
+        return new ParquetColumnChunk(descriptor, buffer, 0).readAllPages();
+    }
+
+    /**
+     * Reads the dictionary page and only the data pages that contain rows from the current row ranges.
+     */
+    private PageReader readSelectedPages(ColumnChunkDescriptor descriptor, List<PageLocation> pageLocations)
+            throws IOException
+    {
+        validateParquet(!pageLocations.isEmpty(), "Offset index of column %s has no pages", descriptor.getColumnDescriptor());
+        long startingPosition = descriptor.getColumnChunkMetaData().getStartingPos();
+        long dictionarySize = pageLocations.get(0).getOffset() - startingPosition;
+        validateParquet(dictionarySize >= 0, "Offset index of column %s points before the start of the column chunk", descriptor.getColumnDescriptor());
+
+        boolean[] selectedPages = new boolean[pageLocations.size()];
+        long size = dictionarySize;
+        for (int page = 0; page < pageLocations.size(); page++) {
+            long pageStart = pageLocations.get(page).getFirst_row_index();
+            long pageEnd = page + 1 < pageLocations.size() ? pageLocations.get(page + 1).getFirst_row_index() : currentGroupRowCount;
+            selectedPages[page] = currentGroupRowRanges.overlaps(pageStart, pageEnd);
+            if (selectedPages[page]) {
+                size += pageLocations.get(page).getCompressed_page_size();
+            }
+        }
+
+        // adjacent pages are read together
+        byte[] buffer = allocateBlock(toIntExact(size));
+        long readStart = startingPosition;
+        int readLength = toIntExact(dictionarySize);
+        int bufferOffset = 0;
+        for (int page = 0; page < pageLocations.size(); page++) {
+            if (!selectedPages[page]) {
+                continue;
+            }
+            PageLocation location = pageLocations.get(page);
+            if (location.getOffset() != readStart + readLength) {
+                if (readLength > 0) {
+                    dataSource.readFully(readStart, buffer, bufferOffset, readLength);
+                }
+                bufferOffset += readLength;
+                readStart = location.getOffset();
+                readLength = 0;
+            }
+            readLength += location.getCompressed_page_size();
         }
-        return columnReader.readPrimitive(field);
+        dataSource.readFully(readStart, buffer, bufferOffset, readLength);
+
+        return new ParquetColumnChunk(descriptor, buffer, 0).readPages(pageLocations, selectedPages, currentGroupRowCount);
     }
 
     private byte[] allocateBlock(int length)
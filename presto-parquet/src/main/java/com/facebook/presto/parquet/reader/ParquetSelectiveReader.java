@@ -0,0 +1,331 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.reader;
+
+import com.facebook.presto.orc.FilterFunction;
+import com.facebook.presto.orc.TupleDomainFilter;
+import com.facebook.presto.parquet.Field;
+import com.facebook.presto.parquet.PrimitiveField;
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.block.BlockBuilder;
+import com.facebook.presto.spi.block.RunLengthEncodedBlock;
+import com.facebook.presto.spi.type.Type;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Reads pages from a Parquet file while evaluating filters, in the same manner as
+ * {@link com.facebook.presto.orc.OrcSelectiveRecordReader}. Columns with filters are read first,
+ * and each subsequent column is only decoded at the positions that passed the filters so far.
+ * <p>
+ * Columns are identified by their index in the list of column types. Filter functions refer to
+ * their inputs by the same index.
+ */
+public class ParquetSelectiveReader
+        implements Closeable
+{
+    private final ParquetReader parquetReader;
+    private final List<Type> columnTypes;
+    private final List<Optional<Field>> fields;                    // empty for constant columns
+    private final Block[] constantValues;                          // single position blocks; aligned with columnTypes
+    private final List<Integer> outputColumns;
+    private final Map<Integer, TupleDomainFilter> filters;
+    private final List<FilterFunction> filterFunctions;
+    private final Set<Integer> filterFunctionInputs;
+
+    // Order in which the columns are read
+    private final int[] columnReadOrder;
+
+    // Values extracted during the most recent read of each column, and the positions they belong to
+    private final Block[] columnBlocks;
+    private final int[][] columnPositions;
+    private final int[] columnPositionCounts;
+
+    // An immutable list of initial positions; includes all positions: 0,1,2,3,4,..
+    // This array may grow, but cannot shrink. The values don't change.
+    private int[] positions;
+
+    // Used in applyFilterFunctions; mutable
+    private int[] outputPositions;
+    private RuntimeException[] errors;
+
+    public ParquetSelectiveReader(
+            ParquetReader parquetReader,
+            List<Type> columnTypes,
+            List<Optional<Field>> fields,
+            Map<Integer, Block> constantValues,
+            List<Integer> outputColumns,
+            Map<Integer, TupleDomainFilter> filters,
+            List<FilterFunction> filterFunctions)
+    {
+        this.parquetReader = requireNonNull(parquetReader, "parquetReader is null");
+        this.columnTypes = ImmutableList.copyOf(requireNonNull(columnTypes, "columnTypes is null"));
+        this.fields = ImmutableList.copyOf(requireNonNull(fields, "fields is null"));
+        this.outputColumns = ImmutableList.copyOf(requireNonNull(outputColumns, "outputColumns is null"));
+        this.filters = ImmutableMap.copyOf(requireNonNull(filters, "filters is null"));
+        this.filterFunctions = ImmutableList.copyOf(requireNonNull(filterFunctions, "filterFunctions is null"));
+        checkArgument(columnTypes.size() == fields.size(), "columnTypes and fields must have the same size");
+
+        requireNonNull(constantValues, "constantValues is null");
+        this.constantValues = new Block[columnTypes.size()];
+        for (int column = 0; column < columnTypes.size(); column++) {
+            if (constantValues.containsKey(column)) {
+                this.constantValues[column] = constantValues.get(column);
+            }
+            else if (!fields.get(column).isPresent()) {
+                // column is missing from the file
+                this.constantValues[column] = RunLengthEncodedBlock.create(columnTypes.get(column), null, 1);
+            }
+            checkArgument(this.constantValues[column] == null || !filters.containsKey(column), "Filters on constant columns must be evaluated by the caller");
+        }
+
+        filterFunctionInputs = this.filterFunctions.stream()
+                .flatMapToInt(function -> Arrays.stream(function.getInputChannels()))
+                .boxed()
+                .collect(toImmutableSet());
+
+        columnReadOrder = orderColumns();
+        columnBlocks = new Block[columnTypes.size()];
+        columnPositions = new int[columnTypes.size()][];
+        columnPositionCounts = new int[columnTypes.size()];
+    }
+
+    /**
+     * Initial order of columns is:
+     * - columns with simple filters
+     * - followed by columns that provide input to filter functions
+     * - followed by the remaining output columns
+     */
+    private int[] orderColumns()
+    {
+        int[] order = new int[columnTypes.size()];
+        int count = 0;
+        for (int column : filters.keySet()) {
+            order[count++] = column;
+        }
+        for (int column : filterFunctionInputs) {
+            if (constantValues[column] == null && !filters.containsKey(column)) {
+                order[count++] = column;
+            }
+        }
+        for (int column : outputColumns) {
+            if (constantValues[column] == null && !filters.containsKey(column) && !filterFunctionInputs.contains(column)) {
+                order[count++] = column;
+            }
+        }
+        return Arrays.copyOf(order, count);
+    }
+
+    public Page getNextPage()
+            throws IOException
+    {
+        int batchSize = parquetReader.nextBatch();
+        if (batchSize < 0) {
+            return null;
+        }
+
+        initializePositions(batchSize);
+
+        int[] positionsToRead = positions;
+        int positionCount = batchSize;
+        boolean filterFunctionsApplied = filterFunctions.isEmpty();
+        for (int column : columnReadOrder) {
+            if (!filterFunctionsApplied && !hasAnyFilter(column)) {
+                positionCount = applyFilterFunctions(positionsToRead, positionCount);
+                if (positionCount == 0) {
+                    break;
+                }
+                positionsToRead = outputPositions;
+                filterFunctionsApplied = true;
+            }
+
+            positionCount = readColumn(column, positionsToRead, positionCount);
+            if (positionCount == 0) {
+                break;
+            }
+            positionsToRead = columnPositions[column];
+        }
+
+        if (positionCount > 0 && !filterFunctionsApplied) {
+            positionCount = applyFilterFunctions(positionsToRead, positionCount);
+            positionsToRead = outputPositions;
+        }
+
+        if (positionCount == 0) {
+            return new Page(0);
+        }
+
+        Block[] blocks = new Block[outputColumns.size()];
+        for (int i = 0; i < outputColumns.size(); i++) {
+            blocks[i] = getBlock(outputColumns.get(i), positionsToRead, positionCount);
+        }
+        return new Page(positionCount, blocks);
+    }
+
+    private boolean hasAnyFilter(int column)
+    {
+        return filters.containsKey(column) || filterFunctionInputs.contains(column);
+    }
+
+    private int readColumn(int column, int[] positions, int positionCount)
+            throws IOException
+    {
+        Field field = fields.get(column).get();
+        Optional<TupleDomainFilter> filter = Optional.ofNullable(filters.get(column));
+        if (columnPositions[column] == null || columnPositions[column].length < positionCount) {
+            columnPositions[column] = new int[positionCount];
+        }
+        int[] readPositions = columnPositions[column];
+
+        int readCount;
+        if (field instanceof PrimitiveField && ((PrimitiveField) field).getDescriptor().getMaxRepetitionLevel() == 0) {
+            BlockBuilder blockBuilder = field.getType().createBlockBuilder(null, positionCount);
+            readCount = parquetReader.readPrimitive((PrimitiveField) field, positions, positionCount, filter, blockBuilder, readPositions);
+            columnBlocks[column] = blockBuilder.build();
+        }
+        else {
+            // nested columns are decoded in full and only support null checks
+            Block block = parquetReader.readBlock(field);
+            readCount = 0;
+            for (int i = 0; i < positionCount; i++) {
+                int position = positions[i];
+                if (!filter.isPresent() || (block.isNull(position) ? filter.get().testNull() : filter.get().testNonNull())) {
+                    readPositions[readCount++] = position;
+                }
+            }
+            columnBlocks[column] = block.getPositions(readPositions, 0, readCount);
+        }
+        columnPositionCounts[column] = readCount;
+        return readCount;
+    }
+
+    /**
+     * Returns the values of the column at the specified positions, which must be a subset of the positions
+     * of the most recent read of this column.
+     */
+    private Block getBlock(int column, int[] positions, int positionCount)
+    {
+        if (constantValues[column] != null) {
+            return new RunLengthEncodedBlock(constantValues[column], positionCount);
+        }
+
+        Block block = columnBlocks[column];
+        int[] readPositions = columnPositions[column];
+        int readCount = columnPositionCounts[column];
+        if (readCount == positionCount) {
+            return block;
+        }
+
+        int[] indices = new int[positionCount];
+        int index = 0;
+        for (int i = 0; i < positionCount; i++) {
+            while (readPositions[index] < positions[i]) {
+                index++;
+            }
+            indices[i] = index;
+        }
+        return block.getPositions(indices, 0, positionCount);
+    }
+
+    private void initializePositions(int batchSize)
+    {
+        if (positions == null || positions.length < batchSize) {
+            positions = new int[batchSize];
+            for (int i = 0; i < batchSize; i++) {
+                positions[i] = i;
+            }
+        }
+    }
+
+    private int applyFilterFunctions(int[] positions, int positionCount)
+    {
+        Block[] blocks = new Block[columnTypes.size()];
+        for (int column : filterFunctionInputs) {
+            blocks[column] = getBlock(column, positions, positionCount);
+        }
+
+        initializeOutputPositions(positionCount);
+
+        for (FilterFunction function : filterFunctions) {
+            int[] inputs = function.getInputChannels();
+            Block[] inputBlocks = new Block[inputs.length];
+            for (int i = 0; i < inputs.length; i++) {
+                inputBlocks[i] = blocks[inputs[i]];
+            }
+
+            Page page = new Page(positionCount, inputBlocks);
+            positionCount = function.filter(page, outputPositions, positionCount, errors);
+            if (positionCount == 0) {
+                break;
+            }
+        }
+
+        for (int i = 0; i < positionCount; i++) {
+            if (errors[i] != null) {
+                throw errors[i];
+            }
+        }
+
+        // at this point outputPositions are relative to page, e.g. they are indices into positions array
+        // translate outputPositions to positions relative to the start of the batch,
+        // e.g. make outputPositions a subset of positions array
+        for (int i = 0; i < positionCount; i++) {
+            outputPositions[i] = positions[outputPositions[i]];
+        }
+        return positionCount;
+    }
+
+    private void initializeOutputPositions(int positionCount)
+    {
+        if (outputPositions == null || outputPositions.length < positionCount) {
+            outputPositions = new int[positionCount];
+        }
+
+        for (int i = 0; i < positionCount; i++) {
+            outputPositions[i] = i;
+        }
+
+        if (errors == null || errors.length < positionCount) {
+            errors = new RuntimeException[positionCount];
+        }
+        else {
+            Arrays.fill(errors, null);
+        }
+    }
+
+    public ParquetReader getParquetReader()
+    {
+        return parquetReader;
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        parquetReader.close();
+    }
+}
@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.parquet.reader;
 
+import com.facebook.presto.orc.TupleDomainFilter;
 import com.facebook.presto.parquet.DataPage;
 import com.facebook.presto.parquet.DataPageV1;
 import com.facebook.presto.parquet.DataPageV2;
@@ -74,6 +75,13 @@ public abstract class PrimitiveColumnReader
 
     protected abstract void readValue(BlockBuilder blockBuilder, Type type);
 
+    /**
+     * Reads the next value and writes it to the block builder only if it passes the filter.
+     *
+     * @return true if the value passed the filter
+     */
+    protected abstract boolean readValue(BlockBuilder blockBuilder, Type type, TupleDomainFilter filter);
+
     protected abstract void skipValue();
 
     protected boolean isValueNull()
@@ -147,9 +155,12 @@ public abstract class PrimitiveColumnReader
         totalValueCount = pageReader.getTotalValueCount();
     }
 
-    public void prepareNextRead(int batchSize)
+    /**
+     * @param skippedRowCount the number of rows between the end of the previous batch and the start of the next batch
+     */
+    public void prepareNextRead(int skippedRowCount, int batchSize)
     {
-        readOffset = readOffset + nextBatchSize;
+        readOffset = readOffset + nextBatchSize + skippedRowCount;
         nextBatchSize = batchSize;
     }
 
@@ -181,6 +192,70 @@ public abstract class PrimitiveColumnReader
         return new ColumnChunk(blockBuilder.build(), definitionLevels.toIntArray(), repetitionLevels.toIntArray());
     }
 
+    /**
+     * Reads the values of a flat column at the specified positions of the current batch. Values at
+     * all other positions are skipped without being materialized, and only the values that pass
+     * the filter are written to the block builder.
+     *
+     * @param positions Monotonically increasing positions to read, relative to the start of the batch
+     * @param outputPositions Receives the positions that passed the filter
+     * @return the number of positions that passed the filter
+     */
+    public int readPrimitive(Type type, int[] positions, int positionCount, Optional<TupleDomainFilter> filter, BlockBuilder blockBuilder, int[] outputPositions)
+    {
+        checkArgument(isFlat(), "Selective reads are only supported for flat columns: %s", columnDescriptor);
+        checkArgument(positionCount == 0 || positions[positionCount - 1] < nextBatchSize, "position is outside of the batch");
+
+        seek();
+        TupleDomainFilter valueFilter = filter.orElse(null);
+        int outputPositionCount = 0;
+        int batchPosition = 0;
+        if (positionCount > 0) {
+            int valueCount = 0;
+            for (int i = 0; i < positionCount; i++) {
+                int position = positions[i];
+                for (; batchPosition <= position; batchPosition++) {
+                    if (page == null) {
+                        readNextPage();
+                        definitionLevel = definitionReader.readLevel();
+                        repetitionLevel = repetitionReader.readLevel();
+                    }
+
+                    if (batchPosition < position) {
+                        skipValue();
+                    }
+                    else if (valueFilter == null) {
+                        readValue(blockBuilder, type);
+                        outputPositions[outputPositionCount++] = position;
+                    }
+                    else if (readValue(blockBuilder, type, valueFilter)) {
+                        outputPositions[outputPositionCount++] = position;
+                    }
+
+                    valueCount++;
+                    if (valueCount == remainingValueCountInPage) {
+                        // the next page is read lazily, so that it can be skipped without being decompressed
+                        updateValueCounts(valueCount);
+                        valueCount = 0;
+                        definitionLevel = EMPTY_LEVEL_VALUE;
+                        repetitionLevel = EMPTY_LEVEL_VALUE;
+                        continue;
+                    }
+                    definitionLevel = definitionReader.readLevel();
+                    repetitionLevel = repetitionReader.readLevel();
+                }
+            }
+            if (page != null) {
+                updateValueCounts(valueCount);
+            }
+        }
+
+        // the values after the last requested position are skipped lazily by the next read
+        readOffset = nextBatchSize - batchPosition;
+        nextBatchSize = 0;
+        return outputPositionCount;
+    }
+
     private void readValues(BlockBuilder blockBuilder, int valuesToRead, Type type, IntList definitionLevels, IntList repetitionLevels)
     {
         processValues(valuesToRead, ignored -> {
@@ -208,6 +283,13 @@ public abstract class PrimitiveColumnReader
                 valueCount++;
                 if (valueCount == remainingValueCountInPage) {
                     updateValueCounts(valueCount);
+                    if (isFlat()) {
+                        // callers never read past the end of the page, and the next page is read lazily,
+                        // so that it can be skipped without being decompressed
+                        definitionLevel = EMPTY_LEVEL_VALUE;
+                        repetitionLevel = EMPTY_LEVEL_VALUE;
+                        return;
+                    }
                     if (!readNextPage()) {
                         return;
                     }
@@ -228,6 +310,20 @@ public abstract class PrimitiveColumnReader
             return;
         }
         int valuePosition = 0;
+        if (isFlat()) {
+            // every value of a flat column is a separate row, so pages that only contain skipped rows can be dropped without being decoded
+            if (page != null && readOffset >= remainingValueCountInPage) {
+                valuePosition += remainingValueCountInPage;
+                updateValueCounts(remainingValueCountInPage);
+                definitionLevel = EMPTY_LEVEL_VALUE;
+                repetitionLevel = EMPTY_LEVEL_VALUE;
+            }
+            while (page == null && pageReader.getNextPageValueCount() > 0 && readOffset - valuePosition >= pageReader.getNextPageValueCount()) {
+                int skippedValueCount = pageReader.skipNextPage();
+                valuePosition += skippedValueCount;
+                currentValueCount += skippedValueCount;
+            }
+        }
         while (valuePosition < readOffset) {
             if (page == null) {
                 readNextPage();
@@ -239,6 +335,11 @@ public abstract class PrimitiveColumnReader
         checkArgument(valuePosition == readOffset, "valuePosition %s must be equal to readOffset %s", valuePosition, readOffset);
     }
 
+    private boolean isFlat()
+    {
+        return columnDescriptor.getMaxRepetitionLevel() == 0;
+    }
+
     private boolean readNextPage()
     {
         verify(page == null, "readNextPage has to be called when page is null");
@@ -13,6 +13,7 @@
  */
 package com.facebook.presto.parquet.reader;
 
+import com.facebook.presto.orc.TupleDomainFilter;
 import com.facebook.presto.parquet.RichColumnDescriptor;
 import com.facebook.presto.spi.block.BlockBuilder;
 import com.facebook.presto.spi.type.Type;
@@ -33,24 +34,31 @@ public class ShortDecimalColumnReader
     protected void readValue(BlockBuilder blockBuilder, Type type)
     {
         if (definitionLevel == columnDescriptor.getMaxDefinitionLevel()) {
-            long decimalValue;
-            // When decimals are encoded with primitive types Parquet stores unscaled values
-            if (columnDescriptor.getPrimitiveType().getPrimitiveTypeName().equals(INT32)) {
-                decimalValue = valuesReader.readInteger();
-            }
-            else if (columnDescriptor.getPrimitiveType().getPrimitiveTypeName().equals(INT64)) {
-                decimalValue = valuesReader.readLong();
-            }
-            else {
-                decimalValue = getShortDecimalValue(valuesReader.readBytes().getBytes());
-            }
-            type.writeLong(blockBuilder, decimalValue);
+            type.writeLong(blockBuilder, readDecimalValue());
         }
         else if (isValueNull()) {
             blockBuilder.appendNull();
         }
     }
 
+    @Override
+    protected boolean readValue(BlockBuilder blockBuilder, Type type, TupleDomainFilter filter)
+    {
+        if (definitionLevel == columnDescriptor.getMaxDefinitionLevel()) {
+            long value = readDecimalValue();
+            if (filter.testLong(value)) {
+                type.writeLong(blockBuilder, value);
+                return true;
+            }
+            return false;
+        }
+        if (filter.testNull()) {
+            blockBuilder.appendNull();
+            return true;
+        }
+        return false;
+    }
+
     @Override
     protected void skipValue()
     {
@@ -66,4 +74,16 @@ public class ShortDecimalColumnReader
             }
         }
     }
+
+    private long readDecimalValue()
+    {
+        // When decimals are encoded with primitive types Parquet stores unscaled values
+        if (columnDescriptor.getPrimitiveType().getPrimitiveTypeName().equals(INT32)) {
+            return valuesReader.readInteger();
+        }
+        if (columnDescriptor.getPrimitiveType().getPrimitiveTypeName().equals(INT64)) {
+            return valuesReader.readLong();
+        }
+        return getShortDecimalValue(valuesReader.readBytes().getBytes());
+    }
 }
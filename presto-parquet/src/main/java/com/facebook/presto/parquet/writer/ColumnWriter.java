@@ -0,0 +1,44 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer;
+
+import com.facebook.presto.spi.block.Block;
+import io.airlift.slice.OutputStreamSliceOutput;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+
+import java.io.IOException;
+
+public interface ColumnWriter
+{
+    void writeBlock(Block block)
+            throws IOException;
+
+    /**
+     * Write the buffered pages of the current row group to the output, and
+     * return the metadata of the written column chunk. The offsets in the
+     * metadata are positions in the output.
+     */
+    ColumnChunkMetaData flush(OutputStreamSliceOutput output)
+            throws IOException;
+
+    /**
+     * This method returns the size of the flushed pages plus any unflushed data.
+     * It is used to decide when to flush the row group.
+     */
+    long getBufferedBytes();
+
+    long getRetainedBytes();
+
+    void close();
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer;
+
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.type.CharType;
+import com.facebook.presto.spi.type.DecimalType;
+import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spi.type.VarcharType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+import java.util.List;
+
+import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.spi.type.DateType.DATE;
+import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.spi.type.IntegerType.INTEGER;
+import static com.facebook.presto.spi.type.RealType.REAL;
+import static com.facebook.presto.spi.type.SmallintType.SMALLINT;
+import static com.facebook.presto.spi.type.TimestampType.TIMESTAMP;
+import static com.facebook.presto.spi.type.TinyintType.TINYINT;
+import static com.facebook.presto.spi.type.VarbinaryType.VARBINARY;
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.FLOAT;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT96;
+
+/**
+ * Converts Presto types to the Parquet schema written by Hive, so that the
+ * files can be read by both Presto and Hive.
+ */
+public final class ParquetSchemaConverter
+{
+    private static final String SCHEMA_NAME = "presto_schema";
+
+    private ParquetSchemaConverter() {}
+
+    public static boolean isSupportedType(Type type)
+    {
+        return type.equals(BOOLEAN) ||
+                type.equals(TINYINT) ||
+                type.equals(SMALLINT) ||
+                type.equals(INTEGER) ||
+                type.equals(BIGINT) ||
+                type.equals(REAL) ||
+                type.equals(DOUBLE) ||
+                type.equals(DATE) ||
+                type.equals(TIMESTAMP) ||
+                type.equals(VARBINARY) ||
+                type instanceof DecimalType ||
+                type instanceof VarcharType ||
+                type instanceof CharType;
+    }
+
+    public static MessageType convert(List<String> columnNames, List<Type> types)
+    {
+        checkArgument(columnNames.size() == types.size(), "columnNames and types size mismatch");
+
+        Types.MessageTypeBuilder builder = Types.buildMessage();
+        for (int i = 0; i < columnNames.size(); i++) {
+            builder.addField(convert(columnNames.get(i), types.get(i)));
+        }
+        return builder.named(SCHEMA_NAME);
+    }
+
+    private static org.apache.parquet.schema.Type convert(String name, Type type)
+    {
+        if (type.equals(BOOLEAN)) {
+            return Types.optional(PrimitiveTypeName.BOOLEAN).named(name);
+        }
+        if (type.equals(TINYINT)) {
+            return Types.optional(INT32).as(OriginalType.INT_8).named(name);
+        }
+        if (type.equals(SMALLINT)) {
+            return Types.optional(INT32).as(OriginalType.INT_16).named(name);
+        }
+        if (type.equals(INTEGER)) {
+            return Types.optional(INT32).named(name);
+        }
+        if (type.equals(BIGINT)) {
+            return Types.optional(INT64).named(name);
+        }
+        if (type.equals(REAL)) {
+            return Types.optional(FLOAT).named(name);
+        }
+        if (type.equals(DOUBLE)) {
+            return Types.optional(PrimitiveTypeName.DOUBLE).named(name);
+        }
+        if (type.equals(DATE)) {
+            return Types.optional(INT32).as(OriginalType.DATE).named(name);
+        }
+        if (type.equals(TIMESTAMP)) {
+            return Types.optional(INT96).named(name);
+        }
+        if (type.equals(VARBINARY)) {
+            return Types.optional(BINARY).named(name);
+        }
+        if (type instanceof VarcharType || type instanceof CharType) {
+            return Types.optional(BINARY).as(OriginalType.UTF8).named(name);
+        }
+        if (type instanceof DecimalType) {
+            DecimalType decimalType = (DecimalType) type;
+            return Types.optional(FIXED_LEN_BYTE_ARRAY)
+                    .length(getDecimalTypeLength(decimalType.getPrecision()))
+                    .as(OriginalType.DECIMAL)
+                    .precision(decimalType.getPrecision())
+                    .scale(decimalType.getScale())
+                    .named(name);
+        }
+        throw new PrestoException(NOT_SUPPORTED, "Unsupported type for Parquet writer: " + type);
+    }
+
+    /**
+     * Minimum number of bytes needed to store the unscaled value of a decimal with the given precision.
+     */
+    private static int getDecimalTypeLength(int precision)
+    {
+        return (int) Math.ceil((Math.log(Math.pow(10, precision) - 1) / Math.log(2) + 1) / 8);
+    }
+}
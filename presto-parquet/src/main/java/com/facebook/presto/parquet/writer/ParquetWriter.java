@@ -0,0 +1,199 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer;
+
+import com.facebook.presto.spi.Page;
+import com.facebook.presto.spi.type.Type;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.Slice;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static io.airlift.slice.Slices.utf8Slice;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.util.Objects.requireNonNull;
+import static org.apache.parquet.column.ParquetProperties.WriterVersion.PARQUET_1_0;
+
+public class ParquetWriter
+        implements Closeable
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(ParquetWriter.class).instanceSize();
+
+    private static final Slice MAGIC = utf8Slice("PAR1");
+    private static final int CURRENT_VERSION = 1;
+    private static final ParquetMetadataConverter METADATA_CONVERTER = new ParquetMetadataConverter();
+
+    private final OutputStreamSliceOutput outputStream;
+    private final MessageType messageType;
+    private final List<ColumnWriter> columnWriters;
+    private final ParquetWriterOptions writerOptions;
+    private final Map<String, String> userMetadata;
+    private final String createdBy;
+
+    private final ImmutableList.Builder<BlockMetaData> rowGroups = ImmutableList.builder();
+    private long rowGroupRowCount;
+    private boolean closed;
+
+    public ParquetWriter(
+            OutputStream outputStream,
+            List<String> columnNames,
+            List<Type> types,
+            ParquetWriterOptions writerOptions,
+            CompressionCodecName compressionCodec,
+            Map<String, String> userMetadata,
+            String createdBy)
+    {
+        this.outputStream = new OutputStreamSliceOutput(requireNonNull(outputStream, "outputStream is null"));
+        requireNonNull(columnNames, "columnNames is null");
+        requireNonNull(types, "types is null");
+        checkArgument(columnNames.size() == types.size(), "columnNames and types size mismatch");
+        this.writerOptions = requireNonNull(writerOptions, "writerOptions is null");
+        requireNonNull(compressionCodec, "compressionCodec is null");
+        this.userMetadata = ImmutableMap.copyOf(requireNonNull(userMetadata, "userMetadata is null"));
+        this.createdBy = requireNonNull(createdBy, "createdBy is null");
+
+        this.messageType = ParquetSchemaConverter.convert(columnNames, types);
+        ParquetProperties parquetProperties = ParquetProperties.builder()
+                .withWriterVersion(PARQUET_1_0)
+                .withPageSize(toIntExact(writerOptions.getMaxPageSize().toBytes()))
+                .withDictionaryPageSize(toIntExact(writerOptions.getMaxDictionaryPageSize().toBytes()))
+                .withDictionaryEncoding(true)
+                .build();
+        this.columnWriters = ParquetWriters.createColumnWriters(messageType, types, parquetProperties, compressionCodec, writerOptions);
+
+        this.outputStream.writeBytes(MAGIC);
+    }
+
+    /**
+     * Number of bytes already flushed to the output stream.
+     */
+    public long getWrittenBytes()
+    {
+        return outputStream.longSize();
+    }
+
+    /**
+     * Number of bytes buffered in the current row group.
+     */
+    public long getBufferedBytes()
+    {
+        return columnWriters.stream().mapToLong(ColumnWriter::getBufferedBytes).sum();
+    }
+
+    public long getRetainedBytes()
+    {
+        return INSTANCE_SIZE +
+                outputStream.getRetainedSize() +
+                columnWriters.stream().mapToLong(ColumnWriter::getRetainedBytes).sum();
+    }
+
+    public void write(Page page)
+            throws IOException
+    {
+        requireNonNull(page, "page is null");
+        checkState(!closed, "writer is closed");
+        checkArgument(page.getChannelCount() == columnWriters.size(), "page does not match the number of columns");
+
+        // write the page in batches, so that page and row group sizes are checked regularly
+        int writeOffset = 0;
+        while (writeOffset < page.getPositionCount()) {
+            Page chunk = page.getRegion(writeOffset, min(page.getPositionCount() - writeOffset, writerOptions.getBatchSize()));
+            writeOffset += chunk.getPositionCount();
+
+            for (int channel = 0; channel < chunk.getChannelCount(); channel++) {
+                columnWriters.get(channel).writeBlock(chunk.getBlock(channel));
+            }
+            rowGroupRowCount += chunk.getPositionCount();
+
+            if (getBufferedBytes() >= writerOptions.getMaxRowGroupSize().toBytes()) {
+                flushRowGroup();
+            }
+        }
+    }
+
+    private void flushRowGroup()
+            throws IOException
+    {
+        if (rowGroupRowCount == 0) {
+            return;
+        }
+
+        BlockMetaData rowGroup = new BlockMetaData();
+        long totalByteSize = 0;
+        for (ColumnWriter columnWriter : columnWriters) {
+            ColumnChunkMetaData columnChunk = columnWriter.flush(outputStream);
+            rowGroup.addColumn(columnChunk);
+            totalByteSize += columnChunk.getTotalUncompressedSize();
+        }
+        rowGroup.setRowCount(rowGroupRowCount);
+        rowGroup.setTotalByteSize(totalByteSize);
+        rowGroups.add(rowGroup);
+
+        rowGroupRowCount = 0;
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try (OutputStreamSliceOutput outputStream = this.outputStream) {
+            flushRowGroup();
+            columnWriters.forEach(ColumnWriter::close);
+
+            ParquetMetadata parquetMetadata = new ParquetMetadata(new FileMetaData(messageType, userMetadata, createdBy), rowGroups.build());
+            DynamicSliceOutput footer = new DynamicSliceOutput(1024);
+            Util.writeFileMetaData(METADATA_CONVERTER.toParquetMetadata(CURRENT_VERSION, parquetMetadata), footer);
+
+            outputStream.writeBytes(footer.slice());
+            outputStream.writeInt(footer.size());
+            outputStream.writeBytes(MAGIC);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("writtenBytes", getWrittenBytes())
+                .add("bufferedBytes", getBufferedBytes())
+                .add("closed", closed)
+                .toString();
+    }
+}
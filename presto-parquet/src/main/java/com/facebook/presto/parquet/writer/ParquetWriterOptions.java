@@ -0,0 +1,99 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer;
+
+import io.airlift.units.DataSize;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static java.util.Objects.requireNonNull;
+
+public class ParquetWriterOptions
+{
+    private static final DataSize DEFAULT_MAX_ROW_GROUP_SIZE = new DataSize(128, MEGABYTE);
+    private static final DataSize DEFAULT_MAX_PAGE_SIZE = new DataSize(1, MEGABYTE);
+    private static final DataSize DEFAULT_MAX_DICTIONARY_PAGE_SIZE = new DataSize(1, MEGABYTE);
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final DataSize maxRowGroupSize;
+    private final DataSize maxPageSize;
+    private final DataSize maxDictionaryPageSize;
+    private final int batchSize;
+
+    public ParquetWriterOptions()
+    {
+        this(DEFAULT_MAX_ROW_GROUP_SIZE, DEFAULT_MAX_PAGE_SIZE, DEFAULT_MAX_DICTIONARY_PAGE_SIZE, DEFAULT_BATCH_SIZE);
+    }
+
+    private ParquetWriterOptions(DataSize maxRowGroupSize, DataSize maxPageSize, DataSize maxDictionaryPageSize, int batchSize)
+    {
+        this.maxRowGroupSize = requireNonNull(maxRowGroupSize, "maxRowGroupSize is null");
+        this.maxPageSize = requireNonNull(maxPageSize, "maxPageSize is null");
+        this.maxDictionaryPageSize = requireNonNull(maxDictionaryPageSize, "maxDictionaryPageSize is null");
+        checkArgument(batchSize >= 1, "batchSize must be at least 1");
+        this.batchSize = batchSize;
+    }
+
+    public DataSize getMaxRowGroupSize()
+    {
+        return maxRowGroupSize;
+    }
+
+    public DataSize getMaxPageSize()
+    {
+        return maxPageSize;
+    }
+
+    public DataSize getMaxDictionaryPageSize()
+    {
+        return maxDictionaryPageSize;
+    }
+
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    public ParquetWriterOptions withMaxRowGroupSize(DataSize maxRowGroupSize)
+    {
+        return new ParquetWriterOptions(maxRowGroupSize, maxPageSize, maxDictionaryPageSize, batchSize);
+    }
+
+    public ParquetWriterOptions withMaxPageSize(DataSize maxPageSize)
+    {
+        return new ParquetWriterOptions(maxRowGroupSize, maxPageSize, maxDictionaryPageSize, batchSize);
+    }
+
+    public ParquetWriterOptions withMaxDictionaryPageSize(DataSize maxDictionaryPageSize)
+    {
+        return new ParquetWriterOptions(maxRowGroupSize, maxPageSize, maxDictionaryPageSize, batchSize);
+    }
+
+    public ParquetWriterOptions withBatchSize(int batchSize)
+    {
+        return new ParquetWriterOptions(maxRowGroupSize, maxPageSize, maxDictionaryPageSize, batchSize);
+    }
+
+    @Override
+    public String toString()
+    {
+        return toStringHelper(this)
+                .add("maxRowGroupSize", maxRowGroupSize)
+                .add("maxPageSize", maxPageSize)
+                .add("maxDictionaryPageSize", maxDictionaryPageSize)
+                .add("batchSize", batchSize)
+                .toString();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer;
+
+import com.facebook.presto.parquet.writer.valuewriter.BigintValueWriter;
+import com.facebook.presto.parquet.writer.valuewriter.BinaryValueWriter;
+import com.facebook.presto.parquet.writer.valuewriter.BooleanValueWriter;
+import com.facebook.presto.parquet.writer.valuewriter.DecimalValueWriter;
+import com.facebook.presto.parquet.writer.valuewriter.DoubleValueWriter;
+import com.facebook.presto.parquet.writer.valuewriter.IntegerValueWriter;
+import com.facebook.presto.parquet.writer.valuewriter.PrimitiveValueWriter;
+import com.facebook.presto.parquet.writer.valuewriter.RealValueWriter;
+import com.facebook.presto.parquet.writer.valuewriter.TimestampValueWriter;
+import com.facebook.presto.spi.PrestoException;
+import com.facebook.presto.spi.type.CharType;
+import com.facebook.presto.spi.type.DecimalType;
+import com.facebook.presto.spi.type.Type;
+import com.facebook.presto.spi.type.VarcharType;
+import com.google.common.collect.ImmutableList;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.util.List;
+
+import static com.facebook.presto.spi.StandardErrorCode.NOT_SUPPORTED;
+import static com.facebook.presto.spi.type.BigintType.BIGINT;
+import static com.facebook.presto.spi.type.BooleanType.BOOLEAN;
+import static com.facebook.presto.spi.type.DateType.DATE;
+import static com.facebook.presto.spi.type.DoubleType.DOUBLE;
+import static com.facebook.presto.spi.type.IntegerType.INTEGER;
+import static com.facebook.presto.spi.type.RealType.REAL;
+import static com.facebook.presto.spi.type.SmallintType.SMALLINT;
+import static com.facebook.presto.spi.type.TimestampType.TIMESTAMP;
+import static com.facebook.presto.spi.type.TinyintType.TINYINT;
+import static com.facebook.presto.spi.type.VarbinaryType.VARBINARY;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.toIntExact;
+
+final class ParquetWriters
+{
+    private ParquetWriters() {}
+
+    static List<ColumnWriter> createColumnWriters(
+            MessageType messageType,
+            List<Type> types,
+            ParquetProperties parquetProperties,
+            CompressionCodecName compressionCodec,
+            ParquetWriterOptions writerOptions)
+    {
+        List<ColumnDescriptor> columns = messageType.getColumns();
+        checkArgument(columns.size() == types.size(), "schema and types size mismatch");
+
+        ImmutableList.Builder<ColumnWriter> columnWriters = ImmutableList.builder();
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnDescriptor column = columns.get(i);
+            columnWriters.add(new PrimitiveColumnWriter(
+                    column,
+                    createValueWriter(types.get(i), column, parquetProperties),
+                    parquetProperties.newDefinitionLevelWriter(column),
+                    compressionCodec,
+                    toIntExact(writerOptions.getMaxPageSize().toBytes())));
+        }
+        return columnWriters.build();
+    }
+
+    private static PrimitiveValueWriter createValueWriter(Type type, ColumnDescriptor column, ParquetProperties parquetProperties)
+    {
+        PrimitiveType parquetType = column.getPrimitiveType();
+        if (type.equals(BOOLEAN)) {
+            return new BooleanValueWriter(type, parquetType, parquetProperties.newValuesWriter(column));
+        }
+        if (type.equals(TINYINT) || type.equals(SMALLINT) || type.equals(INTEGER) || type.equals(DATE)) {
+            return new IntegerValueWriter(type, parquetType, parquetProperties.newValuesWriter(column));
+        }
+        if (type.equals(BIGINT)) {
+            return new BigintValueWriter(type, parquetType, parquetProperties.newValuesWriter(column));
+        }
+        if (type.equals(REAL)) {
+            return new RealValueWriter(type, parquetType, parquetProperties.newValuesWriter(column));
+        }
+        if (type.equals(DOUBLE)) {
+            return new DoubleValueWriter(type, parquetType, parquetProperties.newValuesWriter(column));
+        }
+        if (type.equals(TIMESTAMP)) {
+            return new TimestampValueWriter(type, parquetType, parquetProperties.newValuesWriter(column));
+        }
+        if (type instanceof DecimalType) {
+            return new DecimalValueWriter((DecimalType) type, parquetType, parquetProperties.newValuesWriter(column));
+        }
+        if (type.equals(VARBINARY) || type instanceof VarcharType || type instanceof CharType) {
+            return new BinaryValueWriter(type, parquetType, parquetProperties.newValuesWriter(column));
+        }
+        throw new PrestoException(NOT_SUPPORTED, "Unsupported type for Parquet writer: " + type);
+    }
+}
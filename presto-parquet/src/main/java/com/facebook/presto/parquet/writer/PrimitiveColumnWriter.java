@@ -0,0 +1,244 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer;
+
+import com.facebook.presto.parquet.writer.valuewriter.PrimitiveValueWriter;
+import com.facebook.presto.spi.block.Block;
+import com.google.common.collect.ImmutableSet;
+import io.airlift.slice.DynamicSliceOutput;
+import io.airlift.slice.OutputStreamSliceOutput;
+import io.airlift.slice.Slice;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.EncodingStats;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.ValuesWriter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.openjdk.jol.info.ClassLayout;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.facebook.presto.parquet.ParquetCompressionUtils.compress;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static io.airlift.slice.Slices.wrappedBuffer;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes a top level column of a primitive type. Values are buffered in the
+ * {@link ValuesWriter} selected by the Parquet properties, which starts with
+ * dictionary encoding and falls back to plain encoding when the dictionary
+ * grows too large or does not compress the data.
+ */
+public class PrimitiveColumnWriter
+        implements ColumnWriter
+{
+    private static final int INSTANCE_SIZE = ClassLayout.parseClass(PrimitiveColumnWriter.class).instanceSize();
+    private static final ParquetMetadataConverter METADATA_CONVERTER = new ParquetMetadataConverter();
+
+    // columns are never repeated, so repetition levels are not written
+    private static final Encoding REPETITION_LEVEL_ENCODING = Encoding.BIT_PACKED;
+
+    private final ColumnDescriptor columnDescriptor;
+    private final CompressionCodecName compressionCodec;
+    private final PrimitiveValueWriter valueWriter;
+    private final ValuesWriter definitionLevelWriter;
+    private final int maxPageSize;
+
+    private final List<Slice> dataPages = new ArrayList<>();
+    private final Set<Encoding> encodings = new HashSet<>();
+    private final EncodingStats.Builder encodingStats = new EncodingStats.Builder();
+    private Statistics<?> columnStatistics;
+    private int pageValueCount;
+    private long valueCount;
+    private long dataPagesSize;
+    private long totalUncompressedSize;
+    private long totalCompressedSize;
+    private boolean closed;
+
+    public PrimitiveColumnWriter(
+            ColumnDescriptor columnDescriptor,
+            PrimitiveValueWriter valueWriter,
+            ValuesWriter definitionLevelWriter,
+            CompressionCodecName compressionCodec,
+            int maxPageSize)
+    {
+        this.columnDescriptor = requireNonNull(columnDescriptor, "columnDescriptor is null");
+        checkArgument(columnDescriptor.getMaxRepetitionLevel() == 0, "repeated columns are not supported");
+        this.valueWriter = requireNonNull(valueWriter, "valueWriter is null");
+        this.definitionLevelWriter = requireNonNull(definitionLevelWriter, "definitionLevelWriter is null");
+        this.compressionCodec = requireNonNull(compressionCodec, "compressionCodec is null");
+        checkArgument(maxPageSize > 0, "maxPageSize must be positive");
+        this.maxPageSize = maxPageSize;
+        this.columnStatistics = Statistics.createStats(columnDescriptor.getPrimitiveType());
+    }
+
+    @Override
+    public void writeBlock(Block block)
+            throws IOException
+    {
+        checkState(!closed);
+
+        int maxDefinitionLevel = columnDescriptor.getMaxDefinitionLevel();
+        for (int position = 0; position < block.getPositionCount(); position++) {
+            definitionLevelWriter.writeInteger(block.isNull(position) ? maxDefinitionLevel - 1 : maxDefinitionLevel);
+        }
+        valueWriter.write(block);
+        pageValueCount += block.getPositionCount();
+
+        if (definitionLevelWriter.getBufferedSize() + valueWriter.getBufferedSize() >= maxPageSize) {
+            flushCurrentPage();
+        }
+    }
+
+    @Override
+    public ColumnChunkMetaData flush(OutputStreamSliceOutput output)
+            throws IOException
+    {
+        checkState(!closed);
+
+        flushCurrentPage();
+
+        // like parquet-mr, the data page offset is the start of the column chunk, which
+        // is where the dictionary page is, because older readers ignore the dictionary
+        // page offset and read the column chunk starting from the data page offset
+        long chunkOffset = output.longSize();
+        long dictionaryPageOffset = 0;
+        DictionaryPage dictionaryPage = valueWriter.toDictPageAndClose();
+        if (dictionaryPage != null) {
+            Slice uncompressedDictionary = wrappedBuffer(dictionaryPage.getBytes().toByteArray());
+            Slice compressedDictionary = compress(compressionCodec, uncompressedDictionary);
+
+            DynamicSliceOutput header = new DynamicSliceOutput(64);
+            METADATA_CONVERTER.writeDictionaryPageHeader(
+                    uncompressedDictionary.length(),
+                    compressedDictionary.length(),
+                    dictionaryPage.getDictionarySize(),
+                    dictionaryPage.getEncoding(),
+                    header);
+
+            dictionaryPageOffset = chunkOffset;
+            output.writeBytes(header.slice());
+            output.writeBytes(compressedDictionary);
+
+            totalUncompressedSize += header.size() + uncompressedDictionary.length();
+            totalCompressedSize += header.size() + compressedDictionary.length();
+            encodings.add(dictionaryPage.getEncoding());
+            encodingStats.addDictEncoding(dictionaryPage.getEncoding());
+            valueWriter.resetDictionary();
+        }
+
+        for (Slice dataPage : dataPages) {
+            output.writeBytes(dataPage);
+        }
+
+        ColumnChunkMetaData metadata = ColumnChunkMetaData.get(
+                ColumnPath.get(columnDescriptor.getPath()),
+                columnDescriptor.getPrimitiveType(),
+                compressionCodec,
+                encodingStats.build(),
+                ImmutableSet.copyOf(encodings),
+                columnStatistics,
+                chunkOffset,
+                dictionaryPageOffset,
+                valueCount,
+                totalCompressedSize,
+                totalUncompressedSize);
+
+        reset();
+        return metadata;
+    }
+
+    private void flushCurrentPage()
+            throws IOException
+    {
+        if (pageValueCount == 0) {
+            return;
+        }
+
+        BytesInput pageData = BytesInput.concat(definitionLevelWriter.getBytes(), valueWriter.getBytes());
+        Slice uncompressedPage = wrappedBuffer(pageData.toByteArray());
+        Slice compressedPage = compress(compressionCodec, uncompressedPage);
+
+        Statistics<?> pageStatistics = valueWriter.getStatistics();
+        DynamicSliceOutput page = new DynamicSliceOutput(compressedPage.length() + 64);
+        METADATA_CONVERTER.writeDataPageHeader(
+                uncompressedPage.length(),
+                compressedPage.length(),
+                pageValueCount,
+                pageStatistics,
+                REPETITION_LEVEL_ENCODING,
+                definitionLevelWriter.getEncoding(),
+                valueWriter.getEncoding(),
+                page);
+        int headerSize = page.size();
+        page.writeBytes(compressedPage);
+        dataPages.add(page.slice());
+
+        dataPagesSize += page.size();
+        totalUncompressedSize += headerSize + uncompressedPage.length();
+        totalCompressedSize += page.size();
+        valueCount += pageValueCount;
+        encodings.add(REPETITION_LEVEL_ENCODING);
+        encodings.add(definitionLevelWriter.getEncoding());
+        encodings.add(valueWriter.getEncoding());
+        encodingStats.addDataEncoding(valueWriter.getEncoding());
+        columnStatistics.mergeStatistics(pageStatistics);
+
+        pageValueCount = 0;
+        definitionLevelWriter.reset();
+        valueWriter.reset();
+    }
+
+    @Override
+    public long getBufferedBytes()
+    {
+        return dataPagesSize + definitionLevelWriter.getBufferedSize() + valueWriter.getBufferedSize();
+    }
+
+    @Override
+    public long getRetainedBytes()
+    {
+        return INSTANCE_SIZE + dataPagesSize + definitionLevelWriter.getAllocatedSize() + valueWriter.getAllocatedSize();
+    }
+
+    @Override
+    public void close()
+    {
+        closed = true;
+        definitionLevelWriter.close();
+        valueWriter.close();
+    }
+
+    private void reset()
+    {
+        dataPages.clear();
+        encodings.clear();
+        encodingStats.clear();
+        columnStatistics = Statistics.createStats(columnDescriptor.getPrimitiveType());
+        valueCount = 0;
+        dataPagesSize = 0;
+        totalUncompressedSize = 0;
+        totalCompressedSize = 0;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer.valuewriter;
+
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.type.DecimalType;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.ValuesWriter;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.math.BigInteger;
+
+import static com.facebook.presto.spi.type.Decimals.decodeUnscaledValue;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes decimals as big-endian two's complement unscaled values in a
+ * FIXED_LEN_BYTE_ARRAY, which is the representation used by Hive.
+ */
+public class DecimalValueWriter
+        extends PrimitiveValueWriter
+{
+    private final DecimalType decimalType;
+    private final int typeLength;
+
+    public DecimalValueWriter(DecimalType decimalType, PrimitiveType parquetType, ValuesWriter valuesWriter)
+    {
+        super(parquetType, valuesWriter);
+        this.decimalType = requireNonNull(decimalType, "decimalType is null");
+        this.typeLength = parquetType.getTypeLength();
+    }
+
+    @Override
+    protected void writeValue(Block block, int position, ValuesWriter valuesWriter, Statistics<?> statistics)
+    {
+        byte[] bytes = new byte[typeLength];
+        if (decimalType.isShort()) {
+            long value = decimalType.getLong(block, position);
+            for (int i = typeLength - 1; i >= 0; i--) {
+                bytes[i] = (byte) value;
+                value >>= Byte.SIZE;
+            }
+        }
+        else {
+            BigInteger value = decodeUnscaledValue(decimalType.getSlice(block, position));
+            byte[] unscaled = value.toByteArray();
+            // sign extend the minimal representation to the fixed length
+            byte padding = (byte) (value.signum() < 0 ? -1 : 0);
+            int paddingLength = typeLength - unscaled.length;
+            for (int i = 0; i < paddingLength; i++) {
+                bytes[i] = padding;
+            }
+            System.arraycopy(unscaled, 0, bytes, paddingLength, unscaled.length);
+        }
+
+        Binary binary = Binary.fromConstantByteArray(bytes);
+        valuesWriter.writeBytes(binary);
+        statistics.updateStats(binary);
+    }
+}
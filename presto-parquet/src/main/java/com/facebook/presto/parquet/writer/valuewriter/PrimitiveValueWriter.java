@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer.valuewriter;
+
+import com.facebook.presto.spi.block.Block;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.ValuesWriter;
+import org.apache.parquet.schema.PrimitiveType;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes the non-null values of a block to a Parquet {@link ValuesWriter},
+ * and collects the statistics of the values in the current page.
+ */
+public abstract class PrimitiveValueWriter
+{
+    private final PrimitiveType parquetType;
+    private final ValuesWriter valuesWriter;
+    private Statistics<?> statistics;
+
+    protected PrimitiveValueWriter(PrimitiveType parquetType, ValuesWriter valuesWriter)
+    {
+        this.parquetType = requireNonNull(parquetType, "parquetType is null");
+        this.valuesWriter = requireNonNull(valuesWriter, "valuesWriter is null");
+        this.statistics = Statistics.createStats(parquetType);
+    }
+
+    public void write(Block block)
+    {
+        for (int position = 0; position < block.getPositionCount(); position++) {
+            if (block.isNull(position)) {
+                statistics.incrementNumNulls();
+            }
+            else {
+                writeValue(block, position, valuesWriter, statistics);
+            }
+        }
+    }
+
+    protected abstract void writeValue(Block block, int position, ValuesWriter valuesWriter, Statistics<?> statistics);
+
+    public Statistics<?> getStatistics()
+    {
+        return statistics;
+    }
+
+    public long getBufferedSize()
+    {
+        return valuesWriter.getBufferedSize();
+    }
+
+    public long getAllocatedSize()
+    {
+        return valuesWriter.getAllocatedSize();
+    }
+
+    public BytesInput getBytes()
+    {
+        return valuesWriter.getBytes();
+    }
+
+    public Encoding getEncoding()
+    {
+        return valuesWriter.getEncoding();
+    }
+
+    /**
+     * Reset the values and the statistics of the current page.
+     */
+    public void reset()
+    {
+        valuesWriter.reset();
+        statistics = Statistics.createStats(parquetType);
+    }
+
+    public DictionaryPage toDictPageAndClose()
+    {
+        return valuesWriter.toDictPageAndClose();
+    }
+
+    public void resetDictionary()
+    {
+        valuesWriter.resetDictionary();
+    }
+
+    public void close()
+    {
+        valuesWriter.close();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.writer.valuewriter;
+
+import com.facebook.presto.spi.block.Block;
+import com.facebook.presto.spi.type.Type;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.ValuesWriter;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.floorMod;
+import static java.lang.Math.toIntExact;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes timestamps as INT96 (julian day and nanos of the day), which is the
+ * inverse of {@link com.facebook.presto.parquet.ParquetTimestampUtils#getTimestampMillis}.
+ */
+public class TimestampValueWriter
+        extends PrimitiveValueWriter
+{
+    private static final int JULIAN_EPOCH_OFFSET_DAYS = 2_440_588;
+    private static final long MILLIS_IN_DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long NANOS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int INT96_SIZE = 12;
+
+    private final Type type;
+
+    public TimestampValueWriter(Type type, PrimitiveType parquetType, ValuesWriter valuesWriter)
+    {
+        super(parquetType, valuesWriter);
+        this.type = requireNonNull(type, "type is null");
+    }
+
+    @Override
+    protected void writeValue(Block block, int position, ValuesWriter valuesWriter, Statistics<?> statistics)
+    {
+        long millis = type.getLong(block, position);
+        int julianDay = toIntExact(floorDiv(millis, MILLIS_IN_DAY) + JULIAN_EPOCH_OFFSET_DAYS);
+        long timeOfDayNanos = floorMod(millis, MILLIS_IN_DAY) * NANOS_PER_MILLISECOND;
+
+        ByteBuffer buffer = ByteBuffer.allocate(INT96_SIZE).order(LITTLE_ENDIAN);
+        buffer.putLong(timeOfDayNanos);
+        buffer.putInt(julianDay);
+        // the sort order of INT96 is undefined, so only the null count is recorded in the statistics
+        valuesWriter.writeBytes(Binary.fromConstantByteArray(buffer.array()));
+    }
+}
@@ -13,13 +13,16 @@
  */
 package com.facebook.presto.parquet;
 
+import com.facebook.presto.parquet.predicate.ColumnPageStatistics;
 import com.facebook.presto.parquet.predicate.DictionaryDescriptor;
+import com.facebook.presto.parquet.predicate.RowRanges;
 import com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate;
 import com.facebook.presto.spi.predicate.Domain;
 import com.facebook.presto.spi.predicate.TupleDomain;
 import com.facebook.presto.spi.predicate.ValueSet;
 import com.facebook.presto.spi.type.Type;
 import com.facebook.presto.spi.type.VarcharType;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.airlift.slice.Slice;
 import io.airlift.slice.Slices;
@@ -30,15 +33,21 @@ import org.apache.parquet.column.statistics.FloatStatistics;
 import org.apache.parquet.column.statistics.IntStatistics;
 import org.apache.parquet.column.statistics.LongStatistics;
 import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.format.BoundaryOrder;
+import org.apache.parquet.format.ColumnIndex;
+import org.apache.parquet.format.OffsetIndex;
+import org.apache.parquet.format.PageLocation;
 import org.apache.parquet.schema.PrimitiveType;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Optional;
 
 import static com.facebook.presto.parquet.ParquetEncoding.PLAIN_DICTIONARY;
 import static com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate.getDomain;
+import static com.facebook.presto.parquet.predicate.TupleDomainParquetPredicate.getMatchingRows;
 import static com.facebook.presto.spi.predicate.Domain.create;
 import static com.facebook.presto.spi.predicate.Domain.notNull;
 import static com.facebook.presto.spi.predicate.Domain.singleValue;
@@ -57,6 +66,7 @@ import static com.facebook.presto.spi.type.VarcharType.createVarcharType;
 import static io.airlift.slice.Slices.EMPTY_SLICE;
 import static io.airlift.slice.Slices.utf8Slice;
 import static java.lang.Float.floatToRawIntBits;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.apache.parquet.column.statistics.Statistics.getStatsBasedOnType;
@@ -340,6 +350,75 @@ public class TestTupleDomainParquetPredicate
         assertTrue(parquetPredicate.matches(singletonMap(column, new DictionaryDescriptor(column, Optional.of(page)))));
     }
 
+    @Test
+    public void testIntegerDictionary()
+    {
+        ColumnDescriptor column = new ColumnDescriptor(new String[] {"path"}, INT32, 0, 0);
+        DictionaryPage page = new DictionaryPage(Slices.wrappedBuffer(intDictionary(7, 42, -3)), 3, PLAIN_DICTIONARY);
+        DictionaryDescriptor descriptor = new DictionaryDescriptor(column, Optional.of(page));
+
+        assertEquals(getDomain(INTEGER, descriptor), create(ValueSet.of(INTEGER, -3L, 7L, 42L), true));
+        assertEquals(getDomain(BIGINT, descriptor), create(ValueSet.of(BIGINT, -3L, 7L, 42L), true));
+        // values do not fit in the type
+        DictionaryPage largePage = new DictionaryPage(Slices.wrappedBuffer(intDictionary(1, 1000)), 2, PLAIN_DICTIONARY);
+        assertEquals(getDomain(TINYINT, new DictionaryDescriptor(column, Optional.of(largePage))), Domain.all(TINYINT));
+        // unsupported type
+        assertEquals(getDomain(DOUBLE, descriptor), Domain.all(DOUBLE));
+    }
+
+    @Test
+    public void testMatchingRowsWithColumnIndex()
+            throws ParquetCorruptionException
+    {
+        ColumnIndex columnIndex = new ColumnIndex(
+                ImmutableList.of(false, false, true, false),
+                ImmutableList.of(intValue(0), intValue(100), ByteBuffer.allocate(0), intValue(50)),
+                ImmutableList.of(intValue(99), intValue(199), ByteBuffer.allocate(0), intValue(150)),
+                BoundaryOrder.UNORDERED);
+        OffsetIndex offsetIndex = new OffsetIndex(ImmutableList.of(
+                new PageLocation(4, 100, 0),
+                new PageLocation(104, 100, 10),
+                new PageLocation(204, 100, 20),
+                new PageLocation(304, 100, 30)));
+        ColumnPageStatistics pageStatistics = ColumnPageStatistics.fromColumnIndex(INT32, columnIndex, offsetIndex, 45);
+        assertEquals(pageStatistics.getPageCount(), 4);
+        assertEquals(pageStatistics.getPageRowCount(3), 15);
+
+        String column = "IntegerColumn";
+        assertEquals(getMatchingRows(singleValue(INTEGER, 10L), pageStatistics, ID, column), RowRanges.builder().add(0, 10).build());
+        assertEquals(getMatchingRows(singleValue(INTEGER, 120L), pageStatistics, ID, column), RowRanges.builder().add(10, 20).add(30, 45).build());
+        assertEquals(getMatchingRows(singleValue(INTEGER, 500L), pageStatistics, ID, column), RowRanges.empty());
+        // the number of nulls is unknown
+        assertEquals(getMatchingRows(Domain.onlyNull(INTEGER), pageStatistics, ID, column), RowRanges.all(45));
+
+        columnIndex.setNull_counts(ImmutableList.of(0L, 0L, 10L, 0L));
+        pageStatistics = ColumnPageStatistics.fromColumnIndex(INT32, columnIndex, offsetIndex, 45);
+        assertEquals(getMatchingRows(Domain.onlyNull(INTEGER), pageStatistics, ID, column), RowRanges.builder().add(20, 30).build());
+
+        OffsetIndex invalidOffsetIndex = new OffsetIndex(ImmutableList.of(
+                new PageLocation(4, 100, 0),
+                new PageLocation(104, 100, 10),
+                new PageLocation(204, 100, 10),
+                new PageLocation(304, 100, 30)));
+        assertThatExceptionOfType(ParquetCorruptionException.class)
+                .isThrownBy(() -> ColumnPageStatistics.fromColumnIndex(INT32, columnIndex, invalidOffsetIndex, 45))
+                .withMessage("Offset index has an invalid first row index for page 2: 10");
+    }
+
+    private static byte[] intDictionary(int... values)
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(LITTLE_ENDIAN);
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    private static ByteBuffer intValue(int value)
+    {
+        return ByteBuffer.wrap(intDictionary(value));
+    }
+
     private TupleDomain<ColumnDescriptor> getEffectivePredicate(RichColumnDescriptor column, VarcharType type, Slice value)
     {
         ColumnDescriptor predicateColumn = new ColumnDescriptor(column.getPath(), column.getType(), 0, 0);
@@ -0,0 +1,98 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.airlift.units.DataSize;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.airlift.units.DataSize.Unit.BYTE;
+import static io.airlift.units.DataSize.Unit.MEGABYTE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+public class TestInMemoryParquetMetadataCache
+{
+    @Test
+    public void testCache()
+            throws Exception
+    {
+        InMemoryParquetMetadataCache cache = new InMemoryParquetMetadataCache(new DataSize(1, MEGABYTE));
+        AtomicInteger loads = new AtomicInteger();
+        ParquetMetadata metadata = createParquetMetadata();
+
+        assertSame(cache.getParquetMetadata("file", 1, () -> load(loads, metadata)), metadata);
+        assertSame(cache.getParquetMetadata("file", 1, () -> load(loads, metadata)), metadata);
+        assertEquals(loads.get(), 1);
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 1);
+
+        // a modified file is loaded again
+        cache.getParquetMetadata("file", 2, () -> load(loads, metadata));
+        assertEquals(loads.get(), 2);
+        assertEquals(cache.getSize(), 2);
+    }
+
+    @Test
+    public void testEviction()
+            throws Exception
+    {
+        InMemoryParquetMetadataCache cache = new InMemoryParquetMetadataCache(new DataSize(1, BYTE));
+        AtomicInteger loads = new AtomicInteger();
+        ParquetMetadata metadata = createParquetMetadata();
+
+        cache.getParquetMetadata("file", 1, () -> load(loads, metadata));
+        cache.getParquetMetadata("file", 1, () -> load(loads, metadata));
+        assertEquals(loads.get(), 2);
+        assertEquals(cache.getSize(), 0);
+        assertEquals(cache.getEvictionCount(), 2);
+    }
+
+    @Test
+    public void testLoadFailure()
+    {
+        InMemoryParquetMetadataCache cache = new InMemoryParquetMetadataCache(new DataSize(1, MEGABYTE));
+        try {
+            cache.getParquetMetadata("file", 1, () -> {
+                throw new IOException("load failed");
+            });
+            fail("expected IOException");
+        }
+        catch (IOException e) {
+            assertEquals(e.getMessage(), "load failed");
+        }
+        assertEquals(cache.getSize(), 0);
+    }
+
+    private static ParquetMetadata load(AtomicInteger loads, ParquetMetadata metadata)
+    {
+        loads.incrementAndGet();
+        return metadata;
+    }
+
+    private static ParquetMetadata createParquetMetadata()
+    {
+        FileMetaData fileMetaData = new FileMetaData(new MessageType("test", ImmutableList.of()), ImmutableMap.of(), "test");
+        return new ParquetMetadata(fileMetaData, ImmutableList.of(new BlockMetaData()));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.facebook.presto.parquet.predicate;
+
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestRowRanges
+{
+    @Test
+    public void testBuilder()
+    {
+        RowRanges ranges = RowRanges.builder()
+                .add(0, 10)
+                .add(10, 20)
+                .add(30, 40)
+                .build();
+        assertEquals(ranges.getRangeCount(), 2);
+        assertEquals(ranges.getStart(0), 0);
+        assertEquals(ranges.getEnd(0), 20);
+        assertEquals(ranges.getStart(1), 30);
+        assertEquals(ranges.getEnd(1), 40);
+        assertEquals(ranges.getRowCount(), 30);
+        assertEquals(ranges.toString(), "[[0, 20), [30, 40)]");
+
+        assertEquals(RowRanges.builder().build(), RowRanges.empty());
+        assertEquals(RowRanges.all(0), RowRanges.empty());
+        assertEquals(RowRanges.all(5), RowRanges.builder().add(0, 5).build());
+
+        assertThatThrownBy(() -> RowRanges.builder().add(10, 20).add(5, 8))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("ranges must be added in increasing order");
+        assertThatThrownBy(() -> RowRanges.builder().add(10, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("start must be less than end");
+    }
+
+    @Test
+    public void testOverlaps()
+    {
+        RowRanges ranges = RowRanges.builder()
+                .add(10, 20)
+                .add(30, 40)
+                .build();
+        assertFalse(ranges.overlaps(0, 10));
+        assertTrue(ranges.overlaps(0, 11));
+        assertTrue(ranges.overlaps(19, 30));
+        assertFalse(ranges.overlaps(20, 30));
+        assertTrue(ranges.overlaps(25, 45));
+        assertFalse(ranges.overlaps(40, 50));
+        assertFalse(RowRanges.empty().overlaps(0, 100));
+    }
+
+    @Test
+    public void testIntersect()
+    {
+        RowRanges left = RowRanges.builder()
+                .add(0, 10)
+                .add(20, 30)
+                .add(40, 50)
+                .build();
+        RowRanges right = RowRanges.builder()
+                .add(5, 25)
+                .add(28, 45)
+                .build();
+        assertEquals(left.intersect(right), RowRanges.builder()
+                .add(5, 10)
+                .add(20, 25)
+                .add(28, 30)
+                .add(40, 45)
+                .build());
+        assertEquals(right.intersect(left), left.intersect(right));
+        assertEquals(left.intersect(RowRanges.all(100)), left);
+        assertTrue(left.intersect(RowRanges.empty()).isEmpty());
+        assertTrue(left.intersect(RowRanges.builder().add(10, 20).build()).isEmpty());
+    }
+}
@@ -28,6 +28,7 @@ import com.facebook.presto.spi.plan.PlanNodeIdAllocator;
  * All of them will be processed with the given implementation of ConnectorPlanOptimizer.
  * Each optimization is processed exactly once at the end of logical planning (i.e. right before AddExchanges).
  * TODO: currently, optimization is processed at the end of physical planning given only filter and table scan nodes are supported.
+ * As a consequence, an {@link com.facebook.presto.spi.plan.AggregationNode} in {@param maxSubplan} is usually in its PARTIAL step.
  * TODO: the connector optimization will be moved to the end of logical planning after #12828
  */
 @Experimental
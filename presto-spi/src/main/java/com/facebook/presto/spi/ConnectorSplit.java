@@ -14,6 +14,9 @@
 package com.facebook.presto.spi;
 
 import java.util.List;
+import java.util.Optional;
+
+import static java.util.Collections.emptyList;
 
 public interface ConnectorSplit
 {
@@ -21,5 +24,27 @@ public interface ConnectorSplit
 
     List<HostAddress> getAddresses();
 
+    /**
+     * Returns the nodes, among the given candidates, on which a remotely accessible split
+     * should preferably be processed, e.g. so that data cached on workers is reused.
+     * This is only a hint: the split is scheduled on other nodes when the preferred
+     * nodes are busy.
+     */
+    default List<HostAddress> getPreferredNodes(List<HostAddress> candidates)
+    {
+        return emptyList();
+    }
+
+    /**
+     * Returns a string that identifies the data read by this split, including the version of
+     * that data, so that two splits with the same identifier always produce the same rows for
+     * the same table layout and columns. Workers use it to reuse the results computed from a
+     * split by an earlier query. Returns empty if the data read by the split cannot be identified.
+     */
+    default Optional<String> getSplitIdentifier()
+    {
+        return Optional.empty();
+    }
+
     Object getInfo();
 }
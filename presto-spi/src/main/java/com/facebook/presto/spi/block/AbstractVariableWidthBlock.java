@@ -14,6 +14,7 @@
 package com.facebook.presto.spi.block;
 
 import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
 import io.airlift.slice.Slices;
 import io.airlift.slice.XxHash64;
 
@@ -127,6 +128,13 @@ public abstract class AbstractVariableWidthBlock
         blockBuilder.writeBytes(getRawSlice(position), getPositionOffset(position) + offset, length);
     }
 
+    @Override
+    public void writeBytesTo(int position, int offset, int length, SliceOutput sliceOutput)
+    {
+        checkReadablePosition(position);
+        sliceOutput.writeBytes(getRawSlice(position), getPositionOffset(position) + offset, length);
+    }
+
     @Override
     public void writePositionTo(int position, BlockBuilder blockBuilder)
     {
@@ -14,6 +14,7 @@
 package com.facebook.presto.spi.block;
 
 import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
 
 import java.util.function.BiConsumer;
 
@@ -118,6 +119,15 @@ public interface Block
         throw new UnsupportedOperationException(getClass().getName());
     }
 
+    /**
+     * Appends the byte sequences at {@code offset} in the value at {@code position}
+     * to {@code sliceOutput}.
+     */
+    default void writeBytesTo(int position, int offset, int length, SliceOutput sliceOutput)
+    {
+        sliceOutput.writeBytes(getSlice(position, offset, length));
+    }
+
     /**
      * Appends the value at {@code position} to {@code blockBuilder} and close the entry.
      */
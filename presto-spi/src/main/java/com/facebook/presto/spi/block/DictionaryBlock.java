@@ -14,6 +14,7 @@
 package com.facebook.presto.spi.block;
 
 import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
 import io.airlift.slice.Slices;
 import org.openjdk.jol.info.ClassLayout;
 
@@ -165,6 +166,12 @@ public class DictionaryBlock
         dictionary.writeBytesTo(getId(position), offset, length, blockBuilder);
     }
 
+    @Override
+    public void writeBytesTo(int position, int offset, int length, SliceOutput sliceOutput)
+    {
+        dictionary.writeBytesTo(getId(position), offset, length, sliceOutput);
+    }
+
     @Override
     public void writePositionTo(int position, BlockBuilder blockBuilder)
     {
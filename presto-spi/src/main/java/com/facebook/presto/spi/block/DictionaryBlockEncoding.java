@@ -17,6 +17,8 @@ import io.airlift.slice.SliceInput;
 import io.airlift.slice.SliceOutput;
 import io.airlift.slice.Slices;
 
+import java.util.Optional;
+
 public class DictionaryBlockEncoding
         implements BlockEncoding
 {
@@ -53,6 +55,34 @@ public class DictionaryBlockEncoding
         sliceOutput.appendLong(dictionaryBlock.getDictionarySourceId().getSequenceId());
     }
 
+    @Override
+    public Optional<Block> replacementBlockForWrite(Block block)
+    {
+        DictionaryBlock dictionaryBlock = (DictionaryBlock) block;
+        DictionaryBlock compactBlock = dictionaryBlock.compact();
+        if (compactBlock != dictionaryBlock) {
+            // the compacted block is written instead, so writeBlock does not compact the dictionary again
+            return Optional.of(compactBlock);
+        }
+        Block dictionary = dictionaryBlock.getDictionary();
+        int positionCount = dictionaryBlock.getPositionCount();
+        if (!dictionaryBlock.isCompact() || dictionary.getPositionCount() == 0) {
+            return Optional.empty();
+        }
+
+        // write the values instead when the ids take more space than the values they replace
+        long dictionarySizeInBytes = dictionary.getSizeInBytes();
+        long flatSizeInBytes = dictionarySizeInBytes * positionCount / dictionary.getPositionCount();
+        if (flatSizeInBytes > dictionarySizeInBytes + Integer.BYTES * (long) positionCount) {
+            return Optional.empty();
+        }
+        int[] positions = new int[positionCount];
+        for (int i = 0; i < positionCount; i++) {
+            positions[i] = dictionaryBlock.getId(i);
+        }
+        return Optional.of(dictionary.copyPositions(positions, 0, positionCount));
+    }
+
     @Override
     public Block readBlock(BlockEncodingSerde blockEncodingSerde, SliceInput sliceInput)
     {
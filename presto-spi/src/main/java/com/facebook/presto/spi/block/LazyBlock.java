@@ -14,6 +14,7 @@
 package com.facebook.presto.spi.block;
 
 import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
 import org.openjdk.jol.info.ClassLayout;
 
 import java.util.function.BiConsumer;
@@ -124,6 +125,13 @@ public class LazyBlock
         block.writeBytesTo(position, offset, length, blockBuilder);
     }
 
+    @Override
+    public void writeBytesTo(int position, int offset, int length, SliceOutput sliceOutput)
+    {
+        assureLoaded();
+        block.writeBytesTo(position, offset, length, sliceOutput);
+    }
+
     @Override
     public void writePositionTo(int position, BlockBuilder blockBuilder)
     {
@@ -16,6 +16,7 @@ package com.facebook.presto.spi.block;
 import com.facebook.presto.spi.predicate.Utils;
 import com.facebook.presto.spi.type.Type;
 import io.airlift.slice.Slice;
+import io.airlift.slice.SliceOutput;
 import org.openjdk.jol.info.ClassLayout;
 
 import java.util.function.BiConsumer;
@@ -236,6 +237,13 @@ public class RunLengthEncodedBlock
         value.writeBytesTo(0, offset, length, blockBuilder);
     }
 
+    @Override
+    public void writeBytesTo(int position, int offset, int length, SliceOutput sliceOutput)
+    {
+        checkReadablePosition(position);
+        value.writeBytesTo(0, offset, length, sliceOutput);
+    }
+
     @Override
     public void writePositionTo(int position, BlockBuilder blockBuilder)
     {
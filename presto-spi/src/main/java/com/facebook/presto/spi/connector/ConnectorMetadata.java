@@ -218,6 +218,16 @@ public interface ConnectorMetadata
         return Optional.empty();
     }
 
+    /**
+     * Return a token that changes whenever the data read from the specified table layout changes,
+     * or empty if the connector can not tell. Query results are only cached when every table
+     * read by the query has a version.
+     */
+    default Optional<String> getTableLayoutVersion(ConnectorSession session, ConnectorTableLayoutHandle layoutHandle)
+    {
+        return Optional.empty();
+    }
+
     /**
      * List table names, possibly filtered by schema. An empty list is returned if none match.
      *
@@ -18,6 +18,7 @@ import com.facebook.presto.spi.ConnectorPageSource;
 import com.facebook.presto.spi.ConnectorSession;
 import com.facebook.presto.spi.ConnectorSplit;
 import com.facebook.presto.spi.ConnectorTableLayoutHandle;
+import com.facebook.presto.spi.predicate.TupleDomain;
 
 import java.util.List;
 
@@ -39,4 +40,15 @@ public interface ConnectorPageSourceProvider
     {
         return createPageSource(transactionHandle, session, split, columns);
     }
+
+    /**
+     * @param columns columns that should show up in the output page, in this order
+     * @param dynamicFilter domain of the join keys collected at runtime from the build side of a join that
+     * consumes the output of this page source; rows that do not satisfy it will be discarded by the join,
+     * so the connector may use it to skip reading data, but is not required to do so
+     */
+    default ConnectorPageSource createPageSource(ConnectorTransactionHandle transactionHandle, ConnectorSession session, ConnectorSplit split, ConnectorTableLayoutHandle layout, List<ColumnHandle> columns, TupleDomain<ColumnHandle> dynamicFilter)
+    {
+        return createPageSource(transactionHandle, session, split, layout, columns);
+    }
 }
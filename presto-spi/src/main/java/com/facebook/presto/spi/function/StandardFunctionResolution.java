@@ -64,4 +64,8 @@ public interface StandardFunctionResolution
     boolean isMinFunction(FunctionHandle functionHandle);
 
     FunctionHandle minFunction(Type valueType);
+
+    boolean isSumFunction(FunctionHandle functionHandle);
+
+    FunctionHandle sumFunction(Type valueType);
 }
@@ -44,4 +44,14 @@ public abstract class PlanVisitor<R, C>
     {
         return visitPlan(node, context);
     }
+
+    public R visitProject(ProjectNode node, C context)
+    {
+        return visitPlan(node, context);
+    }
+
+    public R visitAggregation(AggregationNode node, C context)
+    {
+        return visitPlan(node, context);
+    }
 }
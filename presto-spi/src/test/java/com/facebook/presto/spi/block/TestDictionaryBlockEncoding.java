@@ -21,6 +21,7 @@ import org.testng.annotations.Test;
 import static com.facebook.presto.spi.block.TestingSession.SESSION;
 import static com.facebook.presto.spi.type.VarcharType.VARCHAR;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 public class TestDictionaryBlockEncoding
@@ -61,6 +62,55 @@ public class TestDictionaryBlockEncoding
         assertEquals(actualDictionaryBlock.getDictionarySourceId(), dictionaryBlock.getDictionarySourceId());
     }
 
+    @Test
+    public void testWriteValuesOfUniqueIds()
+    {
+        BlockBuilder dictionaryBuilder = VARCHAR.createBlockBuilder(null, 4);
+        VARCHAR.writeString(dictionaryBuilder, "alice");
+        VARCHAR.writeString(dictionaryBuilder, "bob");
+        VARCHAR.writeString(dictionaryBuilder, "charlie");
+        VARCHAR.writeString(dictionaryBuilder, "dave");
+        Block dictionary = dictionaryBuilder.build();
+
+        // every entry is referenced once, so the ids do not save any space
+        int[] ids = new int[] {3, 1, 0, 2};
+        DictionaryBlock dictionaryBlock = new DictionaryBlock(dictionary, ids);
+
+        DynamicSliceOutput sliceOutput = new DynamicSliceOutput(1024);
+        blockEncodingSerde.writeBlock(sliceOutput, dictionaryBlock);
+        Block actualBlock = blockEncodingSerde.readBlock(sliceOutput.slice().getInput());
+
+        assertFalse(actualBlock instanceof DictionaryBlock);
+        assertEquals(actualBlock.getPositionCount(), ids.length);
+        assertBlockEquals(VARCHAR, actualBlock, dictionaryBlock);
+    }
+
+    @Test
+    public void testCompactSparseDictionary()
+    {
+        BlockBuilder dictionaryBuilder = VARCHAR.createBlockBuilder(null, 4);
+        VARCHAR.writeString(dictionaryBuilder, "alice");
+        VARCHAR.writeString(dictionaryBuilder, "bob");
+        VARCHAR.writeString(dictionaryBuilder, "charlie");
+        VARCHAR.writeString(dictionaryBuilder, "dave");
+        Block dictionary = dictionaryBuilder.build();
+
+        // only two entries are referenced, many times each
+        int[] ids = new int[40];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (i % 2) * 2;
+        }
+        DictionaryBlock dictionaryBlock = new DictionaryBlock(dictionary, ids);
+
+        DynamicSliceOutput sliceOutput = new DynamicSliceOutput(1024);
+        blockEncodingSerde.writeBlock(sliceOutput, dictionaryBlock);
+        Block actualBlock = blockEncodingSerde.readBlock(sliceOutput.slice().getInput());
+
+        assertTrue(actualBlock instanceof DictionaryBlock);
+        assertEquals(((DictionaryBlock) actualBlock).getDictionary().getPositionCount(), 2);
+        assertBlockEquals(VARCHAR, actualBlock, dictionaryBlock);
+    }
+
     private static void assertBlockEquals(Type type, Block actual, Block expected)
     {
         for (int position = 0; position < actual.getPositionCount(); position++) {